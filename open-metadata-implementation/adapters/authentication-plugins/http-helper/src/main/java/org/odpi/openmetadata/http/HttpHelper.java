@@ -15,6 +15,8 @@ public class HttpHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpHelper.class);
 
+    private static volatile boolean strictSSL = true;
+
     /**
      * Allows using self signed certificates https connections
      * makes all the clients and servers trusted no matter the certificate
@@ -44,11 +46,22 @@ public class HttpHelper {
             sc.init(null, trustAllCerts, new java.security.SecureRandom());
             HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
             HttpsURLConnection.setDefaultHostnameVerifier ((hostname, session) -> true);
+            strictSSL = false;
         } catch (GeneralSecurityException e) {
             LOGGER.error("The configuration for no strict SSL went wrong");
         }
     }
 
+    /**
+     * Returns whether certificates and host names are checked on https connections.
+     * This is false once noStrictSSL has been called.
+     *
+     * @return boolean
+     */
+    public static boolean isStrictSSL() {
+        return strictSSL;
+    }
+
     /**
      * Allows using self signed certificates https connections
      * makes all the clients and servers trusted no matter the certificate
@@ -21,9 +21,11 @@ public class HttpHelperTest {
         SSLSession sslSession = Mockito.mock(SSLSession.class);
         String value = "some.hostname";
         assertFalse(HttpsURLConnection.getDefaultHostnameVerifier().verify(value,sslSession));
+        assertTrue(HttpHelper.isStrictSSL());
 
         HttpHelper.noStrictSSL();
 
+        assertFalse(HttpHelper.isStrictSSL());
         assertNotEquals(hostnameVerifier,HttpsURLConnection.getDefaultHostnameVerifier());
         assertTrue(HttpsURLConnection.getDefaultHostnameVerifier().verify(value,sslSession));
     }
@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned once to build an index of the start of each
+     * line, which is reused by readRecord() until the file changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -66,7 +66,7 @@ public interface CSVFileStore extends BasicFileStore
 
     /**
      * Return the requested data record.  The first record is record 0.  If the first line of the file is the column
-     * names then record 0 is the line following the column names.
+     * names then record 0 is the line following the column names.  Use getRecordIterator() to read every record.
      *
      * @param rowNumber long
      * @return List of strings, each string is the value from the column.
@@ -74,4 +74,16 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator that reads the data records in order, starting with record 0.  The file is read once
+     * from start to end, so this is the cheapest way to process every record.  The iterator must be closed
+     * when it is no longer needed.
+     *
+     * @return iterator over the data records
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    CSVRecordIterator getRecordIterator() throws FileException, FileReadException;
 }
@@ -12,8 +12,12 @@ import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.*;
 
 
@@ -28,6 +32,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>   columnNames       = null;
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
+    private CSVLineIndex   lineIndex         = null;
 
     /*
      * Variables used for logging and debug.
@@ -127,8 +132,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned once to build an index of the start of each
+     * line.  The index is reused until the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,31 +143,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
+        long    rowCount = getLineIndex(methodName).getLineCount();
 
-        File fileStore = getFile(methodName);
-
-        try (Scanner scanner  = new Scanner(fileStore))
+        if ((rowCount > 0) && (columnNames == null))
         {
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
-        {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -220,6 +205,105 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return an iterator that reads the data records in order, starting with record 0.  The file is read once
+     * from start to end, so this is the cheapest way to process every record.  The iterator must be closed
+     * when it is no longer needed.
+     *
+     * @return iterator over the data records
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public CSVRecordIterator getRecordIterator() throws FileException, FileReadException
+    {
+        final String  methodName = "getRecordIterator";
+
+        File fileStore = super.getFile(methodName);
+
+        try
+        {
+            BufferedReader    reader   = new BufferedReader(new InputStreamReader(new FileInputStream(fileStore), Charset.defaultCharset()));
+            CSVRecordIterator iterator = new CSVRecordIterator(reader, this::parseRecord);
+
+            /*
+             * Skip the column names.
+             */
+            if ((columnNames == null) && (iterator.hasNext()))
+            {
+                iterator.next();
+            }
+
+            return iterator;
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Return the index of the lines in the file, building it if this is the first use or the file has changed.
+     *
+     * @param methodName name of calling method
+     * @return line index
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    private synchronized CSVLineIndex getLineIndex(String  methodName) throws FileException, FileReadException
+    {
+        File fileStore = super.getFile(methodName);
+
+        if ((lineIndex != null) && (lineIndex.isCurrent(fileStore)))
+        {
+            return lineIndex;
+        }
+
+        try
+        {
+            closeLineIndex();
+            lineIndex = new CSVLineIndex(fileStore);
+
+            return lineIndex;
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Close the file held open by the line index.
+     */
+    private synchronized void closeLineIndex()
+    {
+        if (lineIndex != null)
+        {
+            try
+            {
+                lineIndex.close();
+            }
+            catch (IOException  error)
+            {
+                log.debug("Ignoring unexpected exception closing line index: " + error.getMessage());
+            }
+
+            lineIndex = null;
+        }
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -232,32 +316,20 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        CSVLineIndex index = getLineIndex(methodName);
 
-        File fileStore = super.getFile(methodName);
-
-        try (Scanner scanner = new Scanner(fileStore))
+        if ((recordLocation < 0) || (recordLocation >= index.getLineCount()))
         {
-
-            int rowCounter = 0;
-            while (scanner.hasNext())
-            {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
-            }
-
             throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
                                                                                                       Integer.toString(recordLocation)),
                                         this.getClass().getName(),
                                         methodName,
                                         fileStoreName);
+        }
 
+        try
+        {
+            return parseRecord(index.readLine(recordLocation));
         }
         catch (IOException  error)
         {
@@ -369,6 +441,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      */
     public void disconnect()
     {
+        closeLineIndex();
+
         try
         {
             super.disconnect();
@@ -0,0 +1,234 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * CSVLineIndex records the byte offset of the start of each line in a CSV file so that any line can be read
+ * without scanning the lines before it.  The index is built with a single pass over the file.  Large files
+ * are scanned through memory-mapped regions rather than copied through a heap buffer.
+ * Lines after the last line that contains anything other than white space are not counted, which matches
+ * the way the file used to be scanned.
+ */
+class CSVLineIndex implements Closeable
+{
+    private static final long mappedFileThreshold = 16L * 1024 * 1024;
+    private static final int  mappedRegionSize    = 256 * 1024 * 1024;
+    private static final int  readBufferSize      = 64 * 1024;
+
+    private final long        fileLength;
+    private final long        lastModified;
+    private final FileChannel channel;
+    private final Charset     charset = Charset.defaultCharset();
+
+    private long[] lineStarts = new long[1024];
+    private int    totalLines = 0;
+    private int    lineCount  = 0;
+
+
+    /**
+     * Build the index for the file.
+     *
+     * @param file file to index
+     * @throws IOException unable to open or read the file
+     */
+    CSVLineIndex(File file) throws IOException
+    {
+        this.lastModified = file.lastModified();
+        this.channel      = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        try
+        {
+            this.fileLength = channel.size();
+            this.indexLines();
+        }
+        catch (IOException error)
+        {
+            channel.close();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Scan the file, recording the start of each line.
+     *
+     * @throws IOException unable to read the file
+     */
+    private void indexLines() throws IOException
+    {
+        ByteBuffer heapBuffer     = fileLength < mappedFileThreshold ? ByteBuffer.allocate(readBufferSize) : null;
+        boolean    lineHasContent = false;
+        long       position       = 0;
+
+        if (fileLength > 0)
+        {
+            addLineStart(0);
+        }
+
+        while (position < fileLength)
+        {
+            ByteBuffer buffer;
+
+            if (heapBuffer == null)
+            {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mappedRegionSize, fileLength - position));
+            }
+            else
+            {
+                heapBuffer.clear();
+                if (channel.read(heapBuffer, position) < 0)
+                {
+                    break;
+                }
+                heapBuffer.flip();
+                buffer = heapBuffer;
+            }
+
+            int limit = buffer.limit();
+
+            for (int i = 0; i < limit; i++)
+            {
+                byte character = buffer.get(i);
+
+                if (character == '\n')
+                {
+                    if (lineHasContent)
+                    {
+                        lineCount = totalLines;
+                    }
+                    lineHasContent = false;
+
+                    if (position + i + 1 < fileLength)
+                    {
+                        addLineStart(position + i + 1);
+                    }
+                }
+                else if (! isWhiteSpace(character))
+                {
+                    lineHasContent = true;
+                }
+            }
+
+            position = position + limit;
+        }
+
+        if (lineHasContent)
+        {
+            lineCount = totalLines;
+        }
+    }
+
+
+    /**
+     * Add the start of a line to the index.
+     *
+     * @param lineStart byte offset of the start of the line
+     */
+    private void addLineStart(long lineStart)
+    {
+        if (totalLines == lineStarts.length)
+        {
+            lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+        }
+
+        lineStarts[totalLines] = lineStart;
+        totalLines++;
+    }
+
+
+    /**
+     * Return whether the byte is white space.
+     *
+     * @param character byte from the file
+     * @return boolean
+     */
+    private boolean isWhiteSpace(byte character)
+    {
+        return (character == ' ') || (character == '\t') || (character == '\r') || (character == '\f') || (character == 0x0B);
+    }
+
+
+    /**
+     * Return whether the index still describes the file.  The index must be rebuilt if the file has changed.
+     *
+     * @param file file that was indexed
+     * @return boolean
+     */
+    boolean isCurrent(File file)
+    {
+        return (file.length() == fileLength) && (file.lastModified() == lastModified);
+    }
+
+
+    /**
+     * Return the number of lines in the file.
+     *
+     * @return count
+     */
+    int getLineCount()
+    {
+        return lineCount;
+    }
+
+
+    /**
+     * Return the requested line, without its line terminator.  The first line is line 0.
+     *
+     * @param lineNumber line to read
+     * @return line, or null if the file does not have this line
+     * @throws IOException unable to read the file
+     */
+    String readLine(int lineNumber) throws IOException
+    {
+        if ((lineNumber < 0) || (lineNumber >= lineCount))
+        {
+            return null;
+        }
+
+        long lineStart = lineStarts[lineNumber];
+        long lineEnd   = (lineNumber + 1 < totalLines) ? lineStarts[lineNumber + 1] : fileLength;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int)(lineEnd - lineStart));
+
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, lineStart + buffer.position()) < 0)
+            {
+                break;
+            }
+        }
+        buffer.flip();
+
+        int length = buffer.limit();
+
+        while ((length > 0) && ((buffer.get(length - 1) == '\n') || (buffer.get(length - 1) == '\r')))
+        {
+            length--;
+        }
+
+        return new String(buffer.array(), 0, length, charset);
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException unable to close the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
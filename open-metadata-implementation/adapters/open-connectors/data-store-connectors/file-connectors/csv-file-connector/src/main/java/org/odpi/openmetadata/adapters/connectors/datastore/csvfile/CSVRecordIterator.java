@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+
+/**
+ * CSVRecordIterator returns the records of a CSV file in order, reading the file once from start to end.
+ * Each record is returned in the same form as CSVFileStore.readRecord().  Lines after the last line that contains
+ * anything other than white space are not returned, so the iterator returns the same number of records as
+ * CSVFileStore.getRecordCount().  The iterator must be closed to release the file.
+ * Errors reading the file are thrown as UncheckedIOException.
+ */
+public class CSVRecordIterator implements Iterator<List<String>>, Closeable
+{
+    private final BufferedReader                 reader;
+    private final Function<String, List<String>> recordParser;
+    private final Deque<String>                  pendingLines = new ArrayDeque<>();
+
+
+    /**
+     * Constructor used by the CSVFileStoreConnector.
+     *
+     * @param reader reader for the file
+     * @param recordParser function that splits a line into its column values
+     */
+    CSVRecordIterator(BufferedReader                 reader,
+                      Function<String, List<String>> recordParser)
+    {
+        this.reader       = reader;
+        this.recordParser = recordParser;
+    }
+
+
+    /**
+     * Return whether there is another record in the file.
+     *
+     * @return boolean
+     * @throws UncheckedIOException unable to read the file
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (! pendingLines.isEmpty())
+        {
+            return true;
+        }
+
+        try
+        {
+            String line = reader.readLine();
+
+            /*
+             * Blank lines are only returned if there is a line with content after them.
+             */
+            while ((line != null) && (line.trim().isEmpty()))
+            {
+                pendingLines.add(line);
+                line = reader.readLine();
+            }
+
+            if (line == null)
+            {
+                pendingLines.clear();
+                return false;
+            }
+
+            pendingLines.add(line);
+            return true;
+        }
+        catch (IOException error)
+        {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+
+    /**
+     * Return the next record.
+     *
+     * @return List of strings, each string is the value from the column, or null for an empty line.
+     * @throws NoSuchElementException there are no more records
+     * @throws UncheckedIOException unable to read the file
+     */
+    @Override
+    public List<String> next()
+    {
+        if (! hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        return recordParser.apply(pendingLines.poll());
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException unable to close the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
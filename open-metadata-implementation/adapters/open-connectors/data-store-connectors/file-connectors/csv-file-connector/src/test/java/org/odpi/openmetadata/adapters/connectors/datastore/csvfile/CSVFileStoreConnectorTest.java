@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 
 import java.util.*;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -101,6 +102,23 @@ public class CSVFileStoreConnectorTest
             assertTrue(columnNames.size() == columns.size());
         }
 
+        try (CSVRecordIterator iterator = connector.getRecordIterator())
+        {
+            int recordCount = 0;
+
+            while (iterator.hasNext())
+            {
+                assertEquals(iterator.next(), connector.readRecord(recordCount));
+                recordCount++;
+            }
+
+            assertEquals(recordCount, connector.getRecordCount());
+        }
+        catch (Exception exception)
+        {
+            assertTrue(false);
+        }
+
         try
         {
             connector.readRecord(10000);
@@ -244,6 +262,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             assertTrue(connector.getRecordCount() == 0);
+            assertFalse(connector.getRecordIterator().hasNext());
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -3,11 +3,11 @@
 package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileStoreConnector;
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVRecordIterator;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
 import org.odpi.openmetadata.frameworks.discovery.properties.*;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +31,9 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     private final static String BOOLEAN_UC_FALSE  = "FALSE";
     private final static String BOOLEAN_LC_FALSE  = "false";
 
+    private final static int    defaultChunkSize     = 1000;
+    private final static int    defaultTopValueCount = 100;
+
 
 
     /**
@@ -40,7 +43,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
      * @param newFieldValue next field value to process
      * @return new best guess
      */
-    private String getDataFieldType(String  existingType, String newFieldValue)
+    static String getDataFieldType(String  existingType, String newFieldValue)
     {
         if (STRING_TYPE_NAME.equals(existingType))
         {
@@ -72,62 +75,64 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
 
     /**
-     * Return the updated value count for this column.
+     * Return the best guess for the data field type from the guesses made for two parts of the file.
      *
-     * @param existingValueCount current value count
-     * @param newFieldValue next field value to process
-     * @return new value count
+     * @param firstType type guess from one part of the file
+     * @param secondType type guess from another part of the file
+     * @return combined guess
      */
-    private Map<String, Integer> getValueCount(Map<String, Integer> existingValueCount, String newFieldValue)
+    static String mergeDataFieldTypes(String  firstType, String secondType)
     {
-        if (existingValueCount == null)
+        if (firstType == null)
         {
-            Map<String, Integer> newValueCount = new HashMap<>();
-
-            newValueCount.put(newFieldValue, 1);
-
-            return newValueCount;
+            return secondType;
         }
 
-        Integer   countForValue = existingValueCount.get(newFieldValue);
-
-        if (countForValue == null)
-        {
-            existingValueCount.put(newFieldValue, 1);
-        }
-        else
+        if ((secondType == null) || (firstType.equals(secondType)))
         {
-            existingValueCount.put(newFieldValue, countForValue + 1);
+            return firstType;
         }
 
-        return existingValueCount;
+        return STRING_TYPE_NAME;
     }
 
 
     /**
-     * Return the updated value list.
+     * Return the value of an analysis parameter as a number, or the default value if it is not set or is invalid.
      *
-     * @param existingValueList existing value list
-     * @param newFieldValue next field value to process
-     * @return updated value list
+     * @param parameterName name of the analysis parameter
+     * @param defaultValue value to use if the parameter is not set
+     * @param minimumValue smallest valid value
+     * @param maximumValue largest valid value
+     * @return parameter value
      */
-    private List<String> getValueList(List<String> existingValueList, String newFieldValue)
+    private double getAnalysisParameter(String  parameterName,
+                                        double  defaultValue,
+                                        double  minimumValue,
+                                        double  maximumValue)
     {
-        if (existingValueList == null)
-        {
-            List<String> newValueList = new ArrayList<>();
-
-            newValueList.add(newFieldValue);
-
-            return newValueList;
-        }
+        Map<String, String> analysisParameters = discoveryContext.getAnalysisParameters();
 
-        if (! existingValueList.contains(newFieldValue))
+        if ((analysisParameters != null) && (analysisParameters.get(parameterName) != null))
         {
-            existingValueList.add(newFieldValue);
+            try
+            {
+                double value = Double.parseDouble(analysisParameters.get(parameterName).trim());
+
+                if ((value >= minimumValue) && (value <= maximumValue))
+                {
+                    return value;
+                }
+            }
+            catch (NumberFormatException invalidValue)
+            {
+                /*
+                 * Fall through to the default value.
+                 */
+            }
         }
 
-        return existingValueList;
+        return defaultValue;
     }
 
 
@@ -147,9 +152,9 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
         {
             CSVFileStoreConnector    assetConnector  = (CSVFileStoreConnector)discoveryContext.getAssetStore().getConnectorToAsset();
             DiscoveryAnnotationStore annotationStore = discoveryContext.getAnnotationStore();
-            int                      size            = 0;
+            long                     size            = 0;
             int                      delimiterCount  = 0;
-            long                     recordCount     = assetConnector.getRecordCount();
+            long                     recordCount     = 0;
 
             SchemaAnalysisAnnotation  schemaAnnotation      = new SchemaAnalysisAnnotation();
 
@@ -193,32 +198,33 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
+                /*
+                 * The records are read in a single pass over the file and profiled in parallel.
+                 */
+                int    threadCount   = (int)getAnalysisParameter(CSVDiscoveryServiceProvider.profileThreadCountParameter,
+                                                                 Runtime.getRuntime().availableProcessors(), 1, 1024);
+                int    chunkSize     = (int)getAnalysisParameter(CSVDiscoveryServiceProvider.profileChunkSizeParameter,
+                                                                 defaultChunkSize, 1, Integer.MAX_VALUE);
+                double sampleRate    = getAnalysisParameter(CSVDiscoveryServiceProvider.sampleRateParameter,
+                                                            1, Double.MIN_VALUE, 1);
+                int    topValueCount = (int)getAnalysisParameter(CSVDiscoveryServiceProvider.topValueCountParameter,
+                                                                 defaultTopValueCount, 1, Integer.MAX_VALUE);
+
+                CSVProfilingEngine profilingEngine = new CSVProfilingEngine(threadCount, chunkSize, sampleRate, topValueCount);
+                ColumnProfile[]    columnProfiles;
+
+                try (CSVRecordIterator recordIterator = assetConnector.getRecordIterator())
                 {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
-
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
-                    {
-                        int columnPosition = 0;
-                        int recordLength = 0;
-
-                        for (String fieldValue : recordValues)
-                        {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
-
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
-
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
-
-                            recordLength = recordLength + fieldValue.length();
+                    columnProfiles = profilingEngine.profile(recordIterator, dataFields.size());
+                }
 
-                            columnPosition++;
-                        }
+                recordCount = profilingEngine.getRecordCount();
+                size = size + profilingEngine.getRecordLength() + profilingEngine.getNonEmptyRecordCount() * delimiterCount;
 
-                        size = size + recordLength + delimiterCount;
-                    }
+                for (int columnNumber=0 ; columnNumber < dataFields.size(); columnNumber++)
+                {
+                    dataFields.get(columnNumber).setDataFieldType(columnProfiles[columnNumber].getDataFieldType());
+                    columnProfiles[columnNumber].setDataProfile(dataProfiles.get(columnNumber), sampleRate);
                 }
 
                 for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
@@ -228,6 +234,10 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
                     annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfiles.get(columnNumber));
                 }
             }
+            else
+            {
+                recordCount = assetConnector.getRecordCount();
+            }
 
             DataSourcePhysicalStatusAnnotation measurementAnnotation = new DataSourcePhysicalStatusAnnotation();
             Map<String, String>                measurementProperties = new HashMap<>();
@@ -237,7 +247,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             measurementAnnotation.setModifiedTime(assetConnector.getLastUpdateDate());
             measurementAnnotation.setDataSourceProperties(measurementProperties);
-            measurementAnnotation.setSize(size);
+            measurementAnnotation.setSize((int)Math.min(size, Integer.MAX_VALUE));
 
             annotationStore.addAnnotationToDiscoveryReport(measurementAnnotation);
         }
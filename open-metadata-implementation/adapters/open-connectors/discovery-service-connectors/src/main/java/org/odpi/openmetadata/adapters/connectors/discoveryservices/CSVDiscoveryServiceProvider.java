@@ -14,6 +14,14 @@ public class CSVDiscoveryServiceProvider extends DiscoveryServiceProvider
     static final String  connectorTypeName = "CSV Discovery Service Connector";
     static final String  connectorTypeDescription = "Connector supports the discovery of metadata about a CSV file.";
 
+    /*
+     * Analysis parameters that control the profiling of the columns.
+     */
+    public static final String  profileThreadCountParameter = "profileThreadCount";
+    public static final String  profileChunkSizeParameter   = "profileChunkSize";
+    public static final String  sampleRateParameter         = "sampleRate";
+    public static final String  topValueCountParameter      = "topValueCount";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
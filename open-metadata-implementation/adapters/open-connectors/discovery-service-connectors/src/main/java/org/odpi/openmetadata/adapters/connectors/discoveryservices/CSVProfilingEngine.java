@@ -0,0 +1,281 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * CSVProfilingEngine profiles the columns of a CSV file in parallel.  The calling thread reads the records in a
+ * single pass and hands them out in chunks to a pool of profiling threads.  Each profiling thread builds its own
+ * ColumnProfile for every column and these are merged once all of the records have been read.
+ * When the sample rate is below 1, only a random sample of the records is profiled; the record count and
+ * size still cover every record.
+ */
+class CSVProfilingEngine
+{
+    private static final List<List<String>> endOfRecords = new ArrayList<>();
+
+    private final int    threadCount;
+    private final int    chunkSize;
+    private final double sampleRate;
+    private final int    topValueCount;
+
+    /*
+     * The sample is seeded so that profiling the same file twice gives the same results.
+     */
+    private final Random sampler = new Random(0);
+
+    private long recordCount         = 0;
+    private long nonEmptyRecordCount = 0;
+    private long recordLength        = 0;
+
+
+    /**
+     * Constructor.
+     *
+     * @param threadCount number of profiling threads
+     * @param chunkSize number of records handed to a profiling thread at a time
+     * @param sampleRate fraction of the records to profile, between 0 (exclusive) and 1
+     * @param topValueCount number of most frequent values to keep for each column
+     */
+    CSVProfilingEngine(int    threadCount,
+                       int    chunkSize,
+                       double sampleRate,
+                       int    topValueCount)
+    {
+        this.threadCount   = threadCount;
+        this.chunkSize     = chunkSize;
+        this.sampleRate    = sampleRate;
+        this.topValueCount = topValueCount;
+    }
+
+
+    /**
+     * Profile the records.
+     *
+     * @param records iterator over the data records of the file
+     * @param columnCount number of columns
+     * @return the profile of each column
+     * @throws InterruptedException the profiling was interrupted
+     * @throws ExecutionException a profiling thread failed
+     */
+    ColumnProfile[] profile(Iterator<List<String>> records,
+                            int                    columnCount) throws InterruptedException, ExecutionException
+    {
+        BlockingQueue<List<List<String>>> chunks   = new ArrayBlockingQueue<>(threadCount * 2);
+        ExecutorService                   executor = Executors.newFixedThreadPool(threadCount, new ProfilingThreadFactory());
+
+        try
+        {
+            List<Future<ColumnProfile[]>> workers = new ArrayList<>();
+
+            for (int i = 0; i < threadCount; i++)
+            {
+                workers.add(executor.submit(() -> profileChunks(chunks, columnCount)));
+            }
+
+            List<List<String>> chunk = new ArrayList<>(chunkSize);
+
+            while (records.hasNext())
+            {
+                List<String> record = records.next();
+
+                recordCount++;
+
+                if ((record != null) && (! record.isEmpty()))
+                {
+                    nonEmptyRecordCount++;
+
+                    for (String fieldValue : record)
+                    {
+                        recordLength = recordLength + fieldValue.length();
+                    }
+
+                    if ((sampleRate >= 1) || (sampler.nextDouble() < sampleRate))
+                    {
+                        chunk.add(record);
+
+                        if (chunk.size() == chunkSize)
+                        {
+                            putChunk(chunks, chunk, workers);
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                    }
+                }
+            }
+
+            if (! chunk.isEmpty())
+            {
+                putChunk(chunks, chunk, workers);
+            }
+
+            for (int i = 0; i < threadCount; i++)
+            {
+                putChunk(chunks, endOfRecords, workers);
+            }
+
+            ColumnProfile[] columnProfiles = null;
+
+            for (Future<ColumnProfile[]> worker : workers)
+            {
+                ColumnProfile[] workerProfiles = worker.get();
+
+                if (columnProfiles == null)
+                {
+                    columnProfiles = workerProfiles;
+                }
+                else
+                {
+                    for (int column = 0; column < columnCount; column++)
+                    {
+                        columnProfiles[column].merge(workerProfiles[column]);
+                    }
+                }
+            }
+
+            return columnProfiles;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Hand a chunk to the profiling threads, checking that they are still running while the queue is full.
+     *
+     * @param chunks queue of chunks
+     * @param chunk chunk of records
+     * @param workers profiling threads
+     * @throws InterruptedException the profiling was interrupted
+     * @throws ExecutionException a profiling thread failed
+     */
+    private void putChunk(BlockingQueue<List<List<String>>> chunks,
+                          List<List<String>>                chunk,
+                          List<Future<ColumnProfile[]>>     workers) throws InterruptedException, ExecutionException
+    {
+        while (! chunks.offer(chunk, 1, TimeUnit.SECONDS))
+        {
+            for (Future<ColumnProfile[]> worker : workers)
+            {
+                if (worker.isDone())
+                {
+                    /*
+                     * A profiling thread only finishes early if it failed.
+                     */
+                    worker.get();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Profile chunks of records until the end of the records is reached.
+     *
+     * @param chunks queue of chunks
+     * @param columnCount number of columns
+     * @return the profile of each column for the records processed by this thread
+     * @throws InterruptedException the profiling was interrupted
+     */
+    private ColumnProfile[] profileChunks(BlockingQueue<List<List<String>>> chunks,
+                                          int                               columnCount) throws InterruptedException
+    {
+        ColumnProfile[] columnProfiles = new ColumnProfile[columnCount];
+
+        for (int column = 0; column < columnCount; column++)
+        {
+            columnProfiles[column] = new ColumnProfile(topValueCount);
+        }
+
+        List<List<String>> chunk = chunks.take();
+
+        while (chunk != endOfRecords)
+        {
+            for (List<String> record : chunk)
+            {
+                int column = 0;
+
+                for (String fieldValue : record)
+                {
+                    if (column < columnCount)
+                    {
+                        columnProfiles[column].add(fieldValue);
+                    }
+
+                    column++;
+                }
+            }
+
+            chunk = chunks.take();
+        }
+
+        return columnProfiles;
+    }
+
+
+    /**
+     * Return the number of records read.
+     *
+     * @return count
+     */
+    long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Return the number of records read that have at least one value.
+     *
+     * @return count
+     */
+    long getNonEmptyRecordCount()
+    {
+        return nonEmptyRecordCount;
+    }
+
+
+    /**
+     * Return the total length of the values in all of the records read.
+     *
+     * @return number of characters
+     */
+    long getRecordLength()
+    {
+        return recordLength;
+    }
+
+
+    /**
+     * Creates daemon threads with recognizable names for profiling.
+     */
+    private static class ProfilingThreadFactory implements ThreadFactory
+    {
+        private static final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "CSVDiscoveryService-profiler-" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
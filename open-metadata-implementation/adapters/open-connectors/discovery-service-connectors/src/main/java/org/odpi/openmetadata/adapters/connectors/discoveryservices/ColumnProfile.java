@@ -0,0 +1,220 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.frameworks.discovery.properties.DataProfileAnnotation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * ColumnProfile accumulates the profile of one column from the values it is given.  Each profiling thread keeps
+ * its own ColumnProfile for every column and they are merged at the end, so only fixed size sketches are held
+ * rather than every distinct value.
+ */
+class ColumnProfile
+{
+    static final String VALUE_COUNT_PROFILE       = "valueCount";
+    static final String EMPTY_COUNT_PROFILE       = "emptyValueCount";
+    static final String DISTINCT_COUNT_PROFILE    = "estimatedDistinctValueCount";
+    static final String LOWER_QUARTILE_PROFILE    = "lowerQuartile";
+    static final String MEDIAN_PROFILE            = "median";
+    static final String UPPER_QUARTILE_PROFILE    = "upperQuartile";
+    static final String SAMPLE_RATE_PROFILE       = "sampleRate";
+
+    private final HyperLogLogSketch distinctValues = new HyperLogLogSketch();
+    private final TopValuesSketch   topValues;
+    private final QuantileSketch    numericValues  = new QuantileSketch();
+
+    private String  dataFieldType = null;
+    private long    valueCount    = 0;
+    private long    emptyCount    = 0;
+    private boolean allNumeric    = true;
+    private double  numericSum    = 0;
+    private double  numericMin    = Double.MAX_VALUE;
+    private double  numericMax    = -Double.MAX_VALUE;
+    private String  minValue      = null;
+    private String  maxValue      = null;
+
+
+    /**
+     * Constructor.
+     *
+     * @param topValueCount number of most frequent values to keep
+     */
+    ColumnProfile(int topValueCount)
+    {
+        this.topValues = new TopValuesSketch(topValueCount);
+    }
+
+
+    /**
+     * Add a value from the column.
+     *
+     * @param fieldValue value
+     */
+    void add(String fieldValue)
+    {
+        dataFieldType = CSVDiscoveryService.getDataFieldType(dataFieldType, fieldValue);
+        valueCount++;
+
+        distinctValues.add(fieldValue);
+        topValues.add(fieldValue);
+
+        if (fieldValue.isEmpty())
+        {
+            emptyCount++;
+            return;
+        }
+
+        if ((minValue == null) || (fieldValue.compareTo(minValue) < 0))
+        {
+            minValue = fieldValue;
+        }
+
+        if ((maxValue == null) || (fieldValue.compareTo(maxValue) > 0))
+        {
+            maxValue = fieldValue;
+        }
+
+        if (allNumeric)
+        {
+            Double numericValue = getNumericValue(fieldValue);
+
+            if (numericValue == null)
+            {
+                allNumeric = false;
+            }
+            else
+            {
+                numericSum = numericSum + numericValue;
+                numericMin = Math.min(numericMin, numericValue);
+                numericMax = Math.max(numericMax, numericValue);
+                numericValues.add(numericValue);
+            }
+        }
+    }
+
+
+    /**
+     * Return the value as a number, or null if it is not a number.
+     *
+     * @param fieldValue non-empty value
+     * @return number or null
+     */
+    private Double getNumericValue(String fieldValue)
+    {
+        char firstCharacter = fieldValue.charAt(0);
+
+        /*
+         * Avoid the cost of an exception for values that obviously are not numbers.
+         */
+        if ((! Character.isDigit(firstCharacter)) && (firstCharacter != '-') && (firstCharacter != '+') && (firstCharacter != '.'))
+        {
+            return null;
+        }
+
+        try
+        {
+            double numericValue = Double.parseDouble(fieldValue);
+
+            return Double.isFinite(numericValue) ? numericValue : null;
+        }
+        catch (NumberFormatException notNumeric)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Combine the values of another profile of the same column into this one.
+     *
+     * @param other profile to merge
+     */
+    void merge(ColumnProfile other)
+    {
+        dataFieldType = CSVDiscoveryService.mergeDataFieldTypes(dataFieldType, other.dataFieldType);
+        valueCount    = valueCount + other.valueCount;
+        emptyCount    = emptyCount + other.emptyCount;
+        allNumeric    = allNumeric && other.allNumeric;
+        numericSum    = numericSum + other.numericSum;
+        numericMin    = Math.min(numericMin, other.numericMin);
+        numericMax    = Math.max(numericMax, other.numericMax);
+
+        if ((other.minValue != null) && ((minValue == null) || (other.minValue.compareTo(minValue) < 0)))
+        {
+            minValue = other.minValue;
+        }
+
+        if ((other.maxValue != null) && ((maxValue == null) || (other.maxValue.compareTo(maxValue) > 0)))
+        {
+            maxValue = other.maxValue;
+        }
+
+        distinctValues.merge(other.distinctValues);
+        topValues.merge(other.topValues);
+        numericValues.merge(other.numericValues);
+    }
+
+
+    /**
+     * Return the best guess for the data field type.
+     *
+     * @return type name
+     */
+    String getDataFieldType()
+    {
+        return dataFieldType;
+    }
+
+
+    /**
+     * Fill in the data profile annotation from the accumulated profile.
+     *
+     * @param dataProfile annotation to fill in
+     * @param sampleRate fraction of the records that were profiled
+     */
+    void setDataProfile(DataProfileAnnotation dataProfile, double sampleRate)
+    {
+        Map<String, Long>    profileCounts     = new HashMap<>();
+        Map<String, String>  profileProperties = new HashMap<>();
+        Map<String, Integer> valueCounts       = topValues.getTopValues();
+
+        profileCounts.put(VALUE_COUNT_PROFILE, valueCount);
+        profileCounts.put(EMPTY_COUNT_PROFILE, emptyCount);
+        profileCounts.put(DISTINCT_COUNT_PROFILE, distinctValues.getEstimate());
+        profileProperties.put(SAMPLE_RATE_PROFILE, Double.toString(sampleRate));
+
+        dataProfile.setValueCount(valueCounts);
+        dataProfile.setValueList(new ArrayList<>(valueCounts.keySet()));
+
+        long numericCount = valueCount - emptyCount;
+
+        if ((allNumeric) && (numericCount > 0))
+        {
+            double[] quartiles = numericValues.getQuantiles(0.25, 0.5, 0.75);
+
+            dataProfile.setValueRangeFrom(Double.toString(numericMin));
+            dataProfile.setValueRangeTo(Double.toString(numericMax));
+            dataProfile.setAverageValue(Double.toString(numericSum / numericCount));
+
+            if (quartiles != null)
+            {
+                profileProperties.put(LOWER_QUARTILE_PROFILE, Double.toString(quartiles[0]));
+                profileProperties.put(MEDIAN_PROFILE, Double.toString(quartiles[1]));
+                profileProperties.put(UPPER_QUARTILE_PROFILE, Double.toString(quartiles[2]));
+            }
+        }
+        else
+        {
+            dataProfile.setValueRangeFrom(minValue);
+            dataProfile.setValueRangeTo(maxValue);
+        }
+
+        dataProfile.setProfileCounts(profileCounts);
+        dataProfile.setProfileProperties(profileProperties);
+    }
+}
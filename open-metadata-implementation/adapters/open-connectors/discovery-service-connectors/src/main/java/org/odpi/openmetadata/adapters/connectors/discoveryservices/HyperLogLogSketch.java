@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+
+/**
+ * HyperLogLogSketch estimates the number of distinct values in a column using a fixed amount of memory.
+ * The relative standard error is 1.04 / sqrt(registerCount), which is around 1.6%.  Sketches built from different
+ * parts of a file are combined with merge(); the merged sketch is the same as a sketch built from all of the values.
+ */
+class HyperLogLogSketch
+{
+    static final int precision     = 12;
+    static final int registerCount = 1 << precision;
+
+    private final byte[] registers = new byte[registerCount];
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value field value
+     */
+    void add(String value)
+    {
+        long hash          = hash(value);
+        int  registerIndex = (int)(hash >>> (Long.SIZE - precision));
+        byte rank          = (byte)(Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+
+        if (rank > registers[registerIndex])
+        {
+            registers[registerIndex] = rank;
+        }
+    }
+
+
+    /**
+     * Combine the values of another sketch into this one.
+     *
+     * @param other sketch to merge
+     */
+    void merge(HyperLogLogSketch other)
+    {
+        for (int i = 0; i < registerCount; i++)
+        {
+            if (other.registers[i] > registers[i])
+            {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+
+    /**
+     * Return the estimated number of distinct values.
+     *
+     * @return estimate
+     */
+    long getEstimate()
+    {
+        double sum         = 0;
+        int    emptyCount  = 0;
+
+        for (byte register : registers)
+        {
+            sum = sum + 1.0 / (1L << register);
+
+            if (register == 0)
+            {
+                emptyCount++;
+            }
+        }
+
+        double alpha    = 0.7213 / (1 + 1.079 / registerCount);
+        double estimate = alpha * registerCount * registerCount / sum;
+
+        /*
+         * Linear counting is more accurate for small numbers of distinct values.
+         */
+        if ((estimate <= 2.5 * registerCount) && (emptyCount > 0))
+        {
+            estimate = registerCount * Math.log((double)registerCount / emptyCount);
+        }
+
+        return Math.round(estimate);
+    }
+
+
+    /**
+     * Return a 64-bit hash of the value (FNV-1a followed by the MurmurHash3 finalizer to spread the bits).
+     *
+     * @param value field value
+     * @return hash
+     */
+    private long hash(String value)
+    {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+        return hash ^ (hash >>> 33);
+    }
+}
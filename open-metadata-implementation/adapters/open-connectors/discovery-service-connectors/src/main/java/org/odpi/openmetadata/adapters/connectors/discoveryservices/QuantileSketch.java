@@ -0,0 +1,167 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * QuantileSketch estimates the distribution of the numeric values of a column in a bounded amount of memory.
+ * Values are kept in levels: a value at level h stands for 2^h values of the column.  When a level fills up
+ * it is sorted and every other value is promoted to the next level.  Sketches built from different parts of a
+ * file are combined with merge().  Each compaction of level h moves the rank of any value by at most 2^h, so
+ * after n values the estimated rank of a quantile is within (log2(n / levelCapacity) + 2) / levelCapacity of the
+ * requested rank, whether or not the sketch was merged.
+ */
+class QuantileSketch
+{
+    static final int levelCapacity = 256;
+
+    private final List<double[]> levels     = new ArrayList<>();
+    private final List<Integer>  levelSizes = new ArrayList<>();
+    private       boolean        promoteOdd = false;
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value numeric field value
+     */
+    void add(double value)
+    {
+        addToLevel(0, value);
+    }
+
+
+    /**
+     * Add a value to a level, compacting the level if it is full.
+     *
+     * @param level level to add to
+     * @param value value
+     */
+    private void addToLevel(int level, double value)
+    {
+        if (level == levels.size())
+        {
+            levels.add(new double[levelCapacity]);
+            levelSizes.add(0);
+        }
+
+        double[] levelValues = levels.get(level);
+        int      levelSize   = levelSizes.get(level);
+
+        levelValues[levelSize] = value;
+        levelSize++;
+
+        if (levelSize == levelCapacity)
+        {
+            /*
+             * Alternate which half is promoted so that the estimates are not biased up or down.
+             */
+            Arrays.sort(levelValues, 0, levelSize);
+            levelSizes.set(level, 0);
+            promoteOdd = ! promoteOdd;
+
+            for (int i = promoteOdd ? 1 : 0; i < levelSize; i = i + 2)
+            {
+                addToLevel(level + 1, levelValues[i]);
+            }
+        }
+        else
+        {
+            levelSizes.set(level, levelSize);
+        }
+    }
+
+
+    /**
+     * Combine the values of another sketch into this one.
+     *
+     * @param other sketch to merge
+     */
+    void merge(QuantileSketch other)
+    {
+        for (int level = 0; level < other.levels.size(); level++)
+        {
+            double[] otherValues = other.levels.get(level);
+
+            for (int i = 0; i < other.levelSizes.get(level); i++)
+            {
+                addToLevel(level, otherValues[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Return the estimated value at each of the requested ranks.
+     *
+     * @param ranks ranks between 0 and 1, for example 0.5 for the median
+     * @return estimated values, or null if the sketch is empty
+     */
+    double[] getQuantiles(double... ranks)
+    {
+        int retainedCount = 0;
+
+        for (int size : levelSizes)
+        {
+            retainedCount = retainedCount + size;
+        }
+
+        if (retainedCount == 0)
+        {
+            return null;
+        }
+
+        double[] values      = new double[retainedCount];
+        long[]   weights     = new long[retainedCount];
+        long     totalWeight = 0;
+        int      index       = 0;
+
+        for (int level = 0; level < levels.size(); level++)
+        {
+            for (int i = 0; i < levelSizes.get(level); i++)
+            {
+                values[index]  = levels.get(level)[i];
+                weights[index] = 1L << level;
+                totalWeight    = totalWeight + weights[index];
+                index++;
+            }
+        }
+
+        Integer[] order = new Integer[retainedCount];
+
+        for (int i = 0; i < retainedCount; i++)
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (first, second) -> Double.compare(values[first], values[second]));
+
+        double[] quantiles = new double[ranks.length];
+
+        for (int r = 0; r < ranks.length; r++)
+        {
+            long   targetWeight     = (long)Math.ceil(ranks[r] * totalWeight);
+            long   cumulativeWeight = 0;
+            double quantile         = values[order[retainedCount - 1]];
+
+            for (Integer position : order)
+            {
+                cumulativeWeight = cumulativeWeight + weights[position];
+
+                if (cumulativeWeight >= targetWeight)
+                {
+                    quantile = values[position];
+                    break;
+                }
+            }
+
+            quantiles[r] = quantile;
+        }
+
+        return quantiles;
+    }
+}
@@ -0,0 +1,118 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * TopValuesSketch keeps the most frequent values of a column using the Space-Saving algorithm.  It tracks at most
+ * capacity values.  When a new value arrives and the sketch is full, the least frequent value is replaced and
+ * the new value inherits its count.  The counts are exact while the column has no more distinct values than
+ * the capacity.  Otherwise, after n values, a count is at most n / capacity above the true count and every value
+ * that occurs more than n / capacity times is kept.  Merging can also lose the occurrences a value had in a sketch
+ * that did not keep it, so after merging a count is within 2n / capacity of the true count and every value that
+ * occurs more than 2n / capacity times is kept.
+ */
+class TopValuesSketch
+{
+    private final int               capacity;
+    private final Map<String, Long> counts = new HashMap<>();
+
+
+    /**
+     * Constructor.
+     *
+     * @param capacity number of values to track
+     */
+    TopValuesSketch(int capacity)
+    {
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value field value
+     */
+    void add(String value)
+    {
+        add(value, 1);
+    }
+
+
+    /**
+     * Add a number of occurrences of a value to the sketch.
+     *
+     * @param value field value
+     * @param count number of occurrences
+     */
+    private void add(String value, long count)
+    {
+        Long existingCount = counts.get(value);
+
+        if (existingCount != null)
+        {
+            counts.put(value, existingCount + count);
+        }
+        else if (counts.size() < capacity)
+        {
+            counts.put(value, count);
+        }
+        else
+        {
+            String leastFrequentValue = null;
+            long   leastCount         = Long.MAX_VALUE;
+
+            for (Map.Entry<String, Long> entry : counts.entrySet())
+            {
+                if (entry.getValue() < leastCount)
+                {
+                    leastFrequentValue = entry.getKey();
+                    leastCount         = entry.getValue();
+                }
+            }
+
+            counts.remove(leastFrequentValue);
+            counts.put(value, leastCount + count);
+        }
+    }
+
+
+    /**
+     * Combine the values of another sketch into this one.
+     *
+     * @param other sketch to merge
+     */
+    void merge(TopValuesSketch other)
+    {
+        other.counts.forEach(this::add);
+    }
+
+
+    /**
+     * Return the tracked values and their counts, most frequent first.
+     *
+     * @return map of value to count
+     */
+    Map<String, Integer> getTopValues()
+    {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Integer> topValues = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Long> entry : entries)
+        {
+            topValues.put(entry.getKey(), (int)Math.min(entry.getValue(), Integer.MAX_VALUE));
+        }
+
+        return topValues;
+    }
+}
@@ -0,0 +1,138 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.frameworks.discovery.properties.DataProfileAnnotation;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that CSVProfilingEngine gives the same column profiles whatever the number of threads and chunk size,
+ * and that sampling only profiles the expected fraction of the records.
+ */
+public class CSVProfilingEngineTest
+{
+    private static final int recordCount = 10000;
+    private static final int columnCount = 3;
+
+
+    @DataProvider
+    public Object[][] engineSettings()
+    {
+        return new Object[][] { { 1, 1000 }, { 3, 7 }, { 4, 10000 }, { 2, 20000 } };
+    }
+
+
+    @Test(dataProvider = "engineSettings")
+    public void testProfilesMatchSingleThread(int threadCount, int chunkSize) throws InterruptedException, ExecutionException
+    {
+        List<List<String>> records = getRecords();
+        CSVProfilingEngine engine  = new CSVProfilingEngine(threadCount, chunkSize, 1, 100);
+        ColumnProfile[]    profiles = engine.profile(records.iterator(), columnCount);
+
+        assertEquals(engine.getRecordCount(), recordCount + 1);
+        assertEquals(engine.getNonEmptyRecordCount(), recordCount);
+
+        long recordLength = 0;
+
+        for (List<String> record : records)
+        {
+            for (String fieldValue : record)
+            {
+                recordLength = recordLength + fieldValue.length();
+            }
+        }
+
+        assertEquals(engine.getRecordLength(), recordLength);
+
+        for (int column = 0; column < columnCount; column++)
+        {
+            ColumnProfile expected = new ColumnProfile(100);
+
+            for (List<String> record : records)
+            {
+                if (column < record.size())
+                {
+                    expected.add(record.get(column));
+                }
+            }
+
+            DataProfileAnnotation expectedProfile = ColumnProfileTest.getDataProfile(expected);
+            DataProfileAnnotation actualProfile   = ColumnProfileTest.getDataProfile(profiles[column]);
+
+            assertEquals(profiles[column].getDataFieldType(), expected.getDataFieldType());
+            assertEquals(actualProfile.getProfileCounts(), expectedProfile.getProfileCounts());
+
+            /*
+             * The top values are only exact for the columns with no more distinct values than the top value count.
+             */
+            if (column > 0)
+            {
+                assertEquals(actualProfile.getValueCount(), expectedProfile.getValueCount());
+            }
+
+            assertEquals(actualProfile.getValueRangeFrom(), expectedProfile.getValueRangeFrom());
+            assertEquals(actualProfile.getValueRangeTo(), expectedProfile.getValueRangeTo());
+        }
+    }
+
+
+    @Test
+    public void testSampleRate() throws InterruptedException, ExecutionException
+    {
+        double             sampleRate = 0.25;
+        CSVProfilingEngine engine     = new CSVProfilingEngine(2, 100, sampleRate, 100);
+        ColumnProfile[]    profiles   = engine.profile(getRecords().iterator(), columnCount);
+
+        /*
+         * The record count covers every record, while the profiles cover about a quarter of them: allow four
+         * standard deviations of the binomial sample size.
+         */
+        assertEquals(engine.getRecordCount(), recordCount + 1);
+
+        long   profiledCount = ColumnProfileTest.getDataProfile(profiles[0]).getProfileCounts().get(ColumnProfile.VALUE_COUNT_PROFILE);
+        double deviation     = Math.sqrt(recordCount * sampleRate * (1 - sampleRate));
+
+        assertTrue(Math.abs(profiledCount - recordCount * sampleRate) <= 4 * deviation, Long.toString(profiledCount));
+    }
+
+
+    /**
+     * Return the test records: a numeric column, a column of repeating names and a column with empty values and
+     * short records.  An empty record is included, which counts as a record but is not profiled.
+     *
+     * @return records
+     */
+    private List<List<String>> getRecords()
+    {
+        List<List<String>> records = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            if (i % 13 == 0)
+            {
+                records.add(Arrays.asList(Integer.toString(i), "Name " + (i % 37)));
+            }
+            else
+            {
+                records.add(Arrays.asList(Integer.toString(i), "Name " + (i % 37), i % 5 == 0 ? "" : "Value " + (i % 50)));
+            }
+
+            if (i == recordCount / 2)
+            {
+                records.add(Collections.emptyList());
+            }
+        }
+
+        return records;
+    }
+}
@@ -0,0 +1,158 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.odpi.openmetadata.frameworks.discovery.properties.DataProfileAnnotation;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the profile produced by ColumnProfile and that merging the profiles of parts of a column gives the
+ * same profile as profiling the whole column.
+ */
+public class ColumnProfileTest
+{
+    @Test
+    public void testNumericProfile()
+    {
+        ColumnProfile profile = new ColumnProfile(10);
+
+        for (String value : new String[] { "4", "2", "", "3", "1", "4" })
+        {
+            profile.add(value);
+        }
+
+        DataProfileAnnotation dataProfile = getDataProfile(profile);
+
+        assertEquals(profile.getDataFieldType(), "string");
+        assertEquals(dataProfile.getProfileCounts().get(ColumnProfile.VALUE_COUNT_PROFILE), Long.valueOf(6));
+        assertEquals(dataProfile.getProfileCounts().get(ColumnProfile.EMPTY_COUNT_PROFILE), Long.valueOf(1));
+        assertEquals(dataProfile.getProfileCounts().get(ColumnProfile.DISTINCT_COUNT_PROFILE), Long.valueOf(5));
+        assertEquals(dataProfile.getValueRangeFrom(), "1.0");
+        assertEquals(dataProfile.getValueRangeTo(), "4.0");
+        assertEquals(dataProfile.getAverageValue(), "2.8");
+        assertEquals(dataProfile.getProfileProperties().get(ColumnProfile.MEDIAN_PROFILE), "3.0");
+        assertEquals(dataProfile.getProfileProperties().get(ColumnProfile.SAMPLE_RATE_PROFILE), "1.0");
+        assertEquals(dataProfile.getValueCount().get("4"), Integer.valueOf(2));
+        assertEquals(dataProfile.getValueList().get(0), "4");
+    }
+
+
+    @Test
+    public void testStringProfile()
+    {
+        ColumnProfile profile = new ColumnProfile(10);
+
+        for (String value : new String[] { "true", "FALSE", "true" })
+        {
+            profile.add(value);
+        }
+
+        DataProfileAnnotation dataProfile = getDataProfile(profile);
+
+        assertEquals(profile.getDataFieldType(), "boolean");
+        assertEquals(dataProfile.getValueRangeFrom(), "FALSE");
+        assertEquals(dataProfile.getValueRangeTo(), "true");
+        assertEquals(dataProfile.getAverageValue(), null);
+        assertFalse(dataProfile.getProfileProperties().containsKey(ColumnProfile.MEDIAN_PROFILE));
+        assertEquals(dataProfile.getValueCount().get("true"), Integer.valueOf(2));
+    }
+
+
+    @Test
+    public void testMergeMatchesSingleProfile()
+    {
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++)
+        {
+            values.add(i % 10 == 0 ? "" : Integer.toString(i % 700));
+        }
+
+        ColumnProfile       whole = new ColumnProfile(1000);
+        List<ColumnProfile> parts = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+        {
+            parts.add(new ColumnProfile(1000));
+        }
+
+        for (int i = 0; i < values.size(); i++)
+        {
+            whole.add(values.get(i));
+            parts.get((i / 500) % parts.size()).add(values.get(i));
+        }
+
+        ColumnProfile merged = parts.get(0);
+
+        merged.merge(parts.get(1));
+        merged.merge(parts.get(2));
+
+        DataProfileAnnotation wholeProfile  = getDataProfile(whole);
+        DataProfileAnnotation mergedProfile = getDataProfile(merged);
+
+        /*
+         * The counts, ranges, average, distinct estimate and the top values (there are fewer distinct values than
+         * the top value count) are exact after merging.
+         */
+        assertEquals(merged.getDataFieldType(), whole.getDataFieldType());
+        assertEquals(mergedProfile.getProfileCounts(), wholeProfile.getProfileCounts());
+        assertEquals(mergedProfile.getValueRangeFrom(), wholeProfile.getValueRangeFrom());
+        assertEquals(mergedProfile.getValueRangeTo(), wholeProfile.getValueRangeTo());
+        assertEquals(Double.parseDouble(mergedProfile.getAverageValue()), Double.parseDouble(wholeProfile.getAverageValue()), 1e-9);
+        assertEquals(mergedProfile.getValueCount(), wholeProfile.getValueCount());
+
+        /*
+         * The quartiles are estimates from a different compaction of the values, so they only agree within the
+         * rank error bound of the quantile sketch.  Each of the 700 numbers makes up 1/700 of the non-empty values.
+         */
+        double rankErrorBound = (Math.log(values.size() / (double) QuantileSketch.levelCapacity) / Math.log(2) + 2) / QuantileSketch.levelCapacity;
+
+        for (String quartile : new String[] { ColumnProfile.LOWER_QUARTILE_PROFILE, ColumnProfile.MEDIAN_PROFILE, ColumnProfile.UPPER_QUARTILE_PROFILE })
+        {
+            double mergedValue = Double.parseDouble(mergedProfile.getProfileProperties().get(quartile));
+            double wholeValue  = Double.parseDouble(wholeProfile.getProfileProperties().get(quartile));
+
+            assertTrue(Math.abs(mergedValue - wholeValue) / 700 <= 2 * rankErrorBound + 1.0 / 700, quartile);
+        }
+    }
+
+
+    @Test
+    public void testMergeEmptyProfile()
+    {
+        ColumnProfile profile = new ColumnProfile(10);
+
+        profile.add("text");
+        profile.merge(new ColumnProfile(10));
+
+        DataProfileAnnotation dataProfile = getDataProfile(profile);
+
+        assertEquals(profile.getDataFieldType(), "string");
+        assertEquals(dataProfile.getProfileCounts().get(ColumnProfile.VALUE_COUNT_PROFILE), Long.valueOf(1));
+        assertEquals(dataProfile.getValueRangeFrom(), "text");
+        assertEquals(dataProfile.getValueRangeTo(), "text");
+    }
+
+
+    /**
+     * Return the data profile annotation filled in from the profile.
+     *
+     * @param profile column profile
+     * @return annotation
+     */
+    static DataProfileAnnotation getDataProfile(ColumnProfile profile)
+    {
+        DataProfileAnnotation dataProfile = new DataProfileAnnotation();
+
+        profile.setDataProfile(dataProfile, 1.0);
+
+        return dataProfile;
+    }
+}
@@ -0,0 +1,97 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the distinct value estimates of HyperLogLogSketch stay within four standard errors of the true
+ * count and that merging sketches gives the same estimate as a single sketch.
+ */
+public class HyperLogLogSketchTest
+{
+    /*
+     * Four times the relative standard error of 1.04 / sqrt(registerCount).
+     */
+    private static final double relativeErrorBound = 4 * 1.04 / Math.sqrt(HyperLogLogSketch.registerCount);
+
+
+    @DataProvider
+    public Object[][] distinctCounts()
+    {
+        return new Object[][] { { 1 }, { 10 }, { 1000 }, { HyperLogLogSketch.registerCount }, { 10000 }, { 25000 }, { 200000 } };
+    }
+
+
+    @Test(dataProvider = "distinctCounts")
+    public void testEstimateWithinErrorBound(int distinctCount)
+    {
+        HyperLogLogSketch sketch = new HyperLogLogSketch();
+
+        for (int i = 0; i < distinctCount; i++)
+        {
+            /*
+             * Duplicates do not change the estimate.
+             */
+            sketch.add("Value " + i);
+            sketch.add("Value " + i);
+        }
+
+        assertWithinBound(sketch.getEstimate(), distinctCount);
+    }
+
+
+    @Test
+    public void testEmptySketch()
+    {
+        assertEquals(new HyperLogLogSketch().getEstimate(), 0);
+    }
+
+
+    @Test
+    public void testMergeMatchesSingleSketch()
+    {
+        HyperLogLogSketch whole  = new HyperLogLogSketch();
+        HyperLogLogSketch first  = new HyperLogLogSketch();
+        HyperLogLogSketch second = new HyperLogLogSketch();
+
+        /*
+         * The two parts overlap, so the merged estimate must not count the shared values twice.
+         */
+        for (int i = 0; i < 60000; i++)
+        {
+            whole.add("Value " + i);
+            first.add("Value " + i);
+        }
+
+        for (int i = 40000; i < 100000; i++)
+        {
+            whole.add("Value " + i);
+            second.add("Value " + i);
+        }
+
+        first.merge(second);
+
+        assertEquals(first.getEstimate(), whole.getEstimate());
+        assertWithinBound(first.getEstimate(), 100000);
+    }
+
+
+    /**
+     * Check an estimate against the true count.
+     *
+     * @param estimate estimated distinct count
+     * @param distinctCount true distinct count
+     */
+    private void assertWithinBound(long estimate, int distinctCount)
+    {
+        double relativeError = Math.abs(estimate - distinctCount) / (double) distinctCount;
+
+        assertTrue(relativeError <= relativeErrorBound,
+                   "estimate " + estimate + " for " + distinctCount + " distinct values has relative error " + relativeError);
+    }
+}
@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the quantiles estimated by QuantileSketch, with and without merging, are within the rank error
+ * bound of (log2(n / levelCapacity) + 2) / levelCapacity.
+ */
+public class QuantileSketchTest
+{
+    private static final double[] ranks = { 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0 };
+
+
+    @DataProvider
+    public Object[][] valueCounts()
+    {
+        return new Object[][] { { 1 }, { 100 }, { QuantileSketch.levelCapacity }, { 10000 }, { 200000 } };
+    }
+
+
+    @Test(dataProvider = "valueCounts")
+    public void testQuantilesWithinErrorBound(int valueCount)
+    {
+        QuantileSketch sketch = new QuantileSketch();
+
+        for (int value : getShuffledValues(valueCount, 42))
+        {
+            sketch.add(value);
+        }
+
+        assertWithinBound(sketch.getQuantiles(ranks), valueCount);
+    }
+
+
+    @Test
+    public void testExactBelowLevelCapacity()
+    {
+        QuantileSketch sketch = new QuantileSketch();
+
+        for (int value : getShuffledValues(100, 7))
+        {
+            sketch.add(value);
+        }
+
+        double[] quantiles = sketch.getQuantiles(0.25, 0.5, 0.75);
+
+        assertEquals(quantiles[0], 24.0);
+        assertEquals(quantiles[1], 49.0);
+        assertEquals(quantiles[2], 74.0);
+    }
+
+
+    @Test
+    public void testEmptySketch()
+    {
+        assertNull(new QuantileSketch().getQuantiles(0.5));
+    }
+
+
+    @Test
+    public void testMergeWithinErrorBound()
+    {
+        int                  valueCount = 200000;
+        List<QuantileSketch> sketches   = new ArrayList<>();
+        List<Integer>        values     = getShuffledValues(valueCount, 3);
+
+        for (int i = 0; i < 7; i++)
+        {
+            sketches.add(new QuantileSketch());
+        }
+
+        /*
+         * Uneven parts, as the profiling threads take different numbers of chunks.
+         */
+        for (int i = 0; i < valueCount; i++)
+        {
+            sketches.get((i / 1000) % (i < valueCount / 2 ? 3 : 7)).add(values.get(i));
+        }
+
+        QuantileSketch merged = sketches.get(0);
+
+        for (int i = 1; i < sketches.size(); i++)
+        {
+            merged.merge(sketches.get(i));
+        }
+
+        assertWithinBound(merged.getQuantiles(ranks), valueCount);
+    }
+
+
+    /**
+     * Return the values 0 to valueCount - 1 in a random order.
+     *
+     * @param valueCount number of values
+     * @param seed random seed
+     * @return values
+     */
+    private List<Integer> getShuffledValues(int valueCount, long seed)
+    {
+        List<Integer> values = new ArrayList<>();
+
+        for (int i = 0; i < valueCount; i++)
+        {
+            values.add(i);
+        }
+
+        Collections.shuffle(values, new Random(seed));
+
+        return values;
+    }
+
+
+    /**
+     * Check that the true rank of each estimated quantile is close to the requested rank.  Since the values are
+     * 0 to valueCount - 1, the true rank of value v is (v + 1) / valueCount.
+     *
+     * @param quantiles estimated quantiles for ranks
+     * @param valueCount number of values
+     */
+    private void assertWithinBound(double[] quantiles, int valueCount)
+    {
+        double rankErrorBound = (Math.log((double) valueCount / QuantileSketch.levelCapacity) / Math.log(2) + 2) / QuantileSketch.levelCapacity;
+
+        for (int i = 0; i < ranks.length; i++)
+        {
+            double trueRank  = (quantiles[i] + 1) / valueCount;
+            double rankError = Math.abs(trueRank - ranks[i]);
+
+            /*
+             * With few values the rank can only be a multiple of 1 / valueCount.
+             */
+            assertTrue(rankError <= Math.max(rankErrorBound, 1.0 / valueCount),
+                       "rank " + ranks[i] + " estimated as " + quantiles[i] + " of " + valueCount + " values, rank error " + rankError);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the Space-Saving guarantees of TopValuesSketch: counts at most n / capacity too high and every value that
+ * occurs more than n / capacity times kept, or 2n / capacity once sketches have been merged.
+ */
+public class TopValuesSketchTest
+{
+    private static final int capacity      = 50;
+    private static final int valueCount    = 100000;
+    private static final int distinctCount = 2000;
+
+
+    @Test
+    public void testCountsWithinErrorBound()
+    {
+        List<String>         values      = getSkewedValues(1);
+        Map<String, Integer> trueCounts  = getTrueCounts(values);
+        TopValuesSketch      sketch      = new TopValuesSketch(capacity);
+        long                 errorBound  = valueCount / capacity;
+
+        for (String value : values)
+        {
+            sketch.add(value);
+        }
+
+        Map<String, Integer> topValues = sketch.getTopValues();
+
+        assertEquals(topValues.size(), capacity);
+
+        for (Map.Entry<String, Integer> entry : topValues.entrySet())
+        {
+            long trueCount = trueCounts.get(entry.getKey());
+
+            assertTrue(entry.getValue() >= trueCount, entry.getKey());
+            assertTrue(entry.getValue() <= trueCount + errorBound, entry.getKey());
+        }
+
+        assertFrequentValuesKept(topValues, trueCounts, errorBound);
+        assertSortedByCount(topValues);
+    }
+
+
+    @Test
+    public void testMergedCountsWithinErrorBound()
+    {
+        List<String>          values     = getSkewedValues(2);
+        Map<String, Integer>  trueCounts = getTrueCounts(values);
+        List<TopValuesSketch> sketches   = new ArrayList<>();
+        long                  errorBound = 2L * valueCount / capacity;
+
+        for (int i = 0; i < 4; i++)
+        {
+            sketches.add(new TopValuesSketch(capacity));
+        }
+
+        for (int i = 0; i < values.size(); i++)
+        {
+            sketches.get((i / 1000) % sketches.size()).add(values.get(i));
+        }
+
+        TopValuesSketch merged = sketches.get(0);
+
+        for (int i = 1; i < sketches.size(); i++)
+        {
+            merged.merge(sketches.get(i));
+        }
+
+        Map<String, Integer> topValues = merged.getTopValues();
+
+        for (Map.Entry<String, Integer> entry : topValues.entrySet())
+        {
+            long trueCount = trueCounts.get(entry.getKey());
+
+            assertTrue(Math.abs(entry.getValue() - trueCount) <= errorBound, entry.getKey() + " " + entry.getValue() + " " + trueCount);
+        }
+
+        assertFrequentValuesKept(topValues, trueCounts, errorBound);
+        assertSortedByCount(topValues);
+    }
+
+
+    @Test
+    public void testExactWithinCapacity()
+    {
+        TopValuesSketch first  = new TopValuesSketch(capacity);
+        TopValuesSketch second = new TopValuesSketch(capacity);
+
+        for (int i = 0; i < capacity; i++)
+        {
+            for (int j = 0; j <= i; j++)
+            {
+                (j % 2 == 0 ? first : second).add("Value " + i);
+            }
+        }
+
+        first.merge(second);
+
+        Map<String, Integer> topValues = first.getTopValues();
+
+        assertEquals(topValues.size(), capacity);
+
+        for (int i = 0; i < capacity; i++)
+        {
+            assertEquals(topValues.get("Value " + i), Integer.valueOf(i + 1));
+        }
+
+        assertSortedByCount(topValues);
+    }
+
+
+    /**
+     * Return values with a skewed distribution: value i is chosen with a probability proportional to 1 / (i + 1).
+     *
+     * @param seed random seed
+     * @return values
+     */
+    private List<String> getSkewedValues(long seed)
+    {
+        Random   random     = new Random(seed);
+        double[] cumulative = new double[distinctCount];
+        double   total      = 0;
+
+        for (int i = 0; i < distinctCount; i++)
+        {
+            total         = total + 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < valueCount; i++)
+        {
+            double target = random.nextDouble() * total;
+            int    index  = 0;
+
+            while (cumulative[index] < target)
+            {
+                index++;
+            }
+
+            values.add("Value " + index);
+        }
+
+        return values;
+    }
+
+
+    /**
+     * Count the occurrences of each value.
+     *
+     * @param values values
+     * @return map of value to count
+     */
+    private Map<String, Integer> getTrueCounts(List<String> values)
+    {
+        Map<String, Integer> trueCounts = new HashMap<>();
+
+        for (String value : values)
+        {
+            trueCounts.merge(value, 1, Integer::sum);
+        }
+
+        return trueCounts;
+    }
+
+
+    /**
+     * Check that every value occurring more often than the error bound is kept.
+     *
+     * @param topValues values kept by the sketch
+     * @param trueCounts true counts
+     * @param errorBound error bound of the counts
+     */
+    private void assertFrequentValuesKept(Map<String, Integer> topValues,
+                                          Map<String, Integer> trueCounts,
+                                          long                 errorBound)
+    {
+        int frequentValueCount = 0;
+
+        for (Map.Entry<String, Integer> entry : trueCounts.entrySet())
+        {
+            if (entry.getValue() > errorBound)
+            {
+                frequentValueCount++;
+                assertNotNull(topValues.get(entry.getKey()), entry.getKey() + " occurs " + entry.getValue() + " times");
+            }
+        }
+
+        /*
+         * The distribution is skewed enough that the check is not empty.
+         */
+        assertTrue(frequentValueCount > 0);
+    }
+
+
+    /**
+     * Check that the values are returned most frequent first.
+     *
+     * @param topValues values kept by the sketch
+     */
+    private void assertSortedByCount(Map<String, Integer> topValues)
+    {
+        int previousCount = Integer.MAX_VALUE;
+
+        for (Integer count : topValues.values())
+        {
+            assertTrue(count <= previousCount);
+            previousCount = count;
+        }
+    }
+}
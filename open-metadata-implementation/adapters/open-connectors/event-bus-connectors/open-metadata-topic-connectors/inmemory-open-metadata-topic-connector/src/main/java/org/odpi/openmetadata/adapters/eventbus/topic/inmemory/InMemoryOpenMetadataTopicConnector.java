@@ -3,20 +3,21 @@
 package org.odpi.openmetadata.adapters.eventbus.topic.inmemory;
 
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
  * InMemoryOpenMetadataTopicConnector provides a concrete implementation of the OpenMetadataTopicConnector that
- * uses an in-memory list as the event/messaging infrastructure.  This connector is used internally
- * in the OMRS to pass events received on the OMRS Topic to the OMAS Topic Listeners.
+ * uses an in-memory queue as the event/messaging infrastructure.  This connector is used internally
+ * in the OMRS to pass events received on the OMRS Topic to the OMAS Topic Listeners.  Each event is delivered
+ * straight to the incoming event queue of the superclass so the listener thread is woken as soon as it is sent.
  */
 public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 {
-    private volatile List<String> inMemoryOMRSTopic = new ArrayList<>();
+    private final AtomicLong eventSequenceNumber = new AtomicLong(0);
 
     /**
      * Constructor
@@ -27,53 +28,18 @@ public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnect
     }
 
     /**
-     * Supports putting events to the in memory OMRS Topic
-     *
-     * @param newEvent  event to publish
-     */
-    private synchronized void putEvent(String  newEvent)
-    {
-        inMemoryOMRSTopic.add(newEvent);
-    }
-
-
-    /**
-     * Returns all the events found on the in memory OMRS Topic.
-     *
-     * @return list of received events.
-     */
-    private synchronized List<String> getEvents()
-    {
-        List<String>   receivedEvents = inMemoryOMRSTopic;
-        inMemoryOMRSTopic = new ArrayList<>();
-
-        return receivedEvents;
-    }
-
-
-    /**
-     * Sends the supplied event to the topic.
+     * Sends the supplied event to the topic.  Each event is given the next number in sequence as its message id.
+     * If the incoming event queue is full, the caller waits until the listener thread has made space for the event.
      *
      * @param event  OMRSEvent object containing the event properties.
      */
     @Override
     public void sendEvent(String event)
     {
-        this.putEvent(event);
-
-    }
-
-
-    /**
-     * Look to see if there is one of more new events to process.
-     *
-     * @return a list of received events or null
-     */
-    @SuppressWarnings(value = "deprecation")
-    @Override
-    protected List<String> checkForEvents()
-    {
-        return this.getEvents();
+        if (event != null)
+        {
+            super.deliverEvent(new IncomingEvent(event, Long.toString(eventSequenceNumber.incrementAndGet())));
+        }
     }
 
 
@@ -9,6 +9,12 @@ import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.Inc
  */
 public class KafkaIncomingEvent extends IncomingEvent
 {
+    /**
+     * Name of the record header that identifies the content type of a binary event.  Events without
+     * this header are UTF-8 text.
+     */
+    public static final String contentTypeHeader = "content-type";
+
     private final long offset;
     
     /**
@@ -24,6 +30,20 @@ public class KafkaIncomingEvent extends IncomingEvent
         this.offset = offset;
     }
 
+
+    /**
+     * Constructor for a binary event.
+     *
+     * @param payload message content
+     * @param contentType content type from the record header
+     * @param offset the kafka offset of the message
+     */
+    public KafkaIncomingEvent(byte[] payload, String contentType, long offset)
+    {
+        super(payload, contentType, String.valueOf(offset));
+        this.offset = offset;
+    }
+
     /**
      * Gets the kafka offset of this message
      * 
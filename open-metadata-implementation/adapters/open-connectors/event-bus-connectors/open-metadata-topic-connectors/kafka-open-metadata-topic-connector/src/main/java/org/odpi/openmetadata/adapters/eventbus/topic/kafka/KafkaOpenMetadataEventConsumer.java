@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.BlockingDeque;
@@ -13,6 +14,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.kafka.clients.consumer.*;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +36,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     private final long pollTimeout;
     private final long maxQueueSize;
 
-    private              KafkaConsumer<String, String>   consumer;
+    private              KafkaConsumer<String, byte[]>   consumer;
     private final              String                    topicToSubscribe;
     private final              String                    localServerId;
 
@@ -161,7 +163,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             
                 	
             	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
-            	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
+            	if (! pollRequired && ((nUnprocessedEvents > maxQueueSize) || (connector.isEventQueueFull())))
             	{
             		//The connector queue is too big.  Wait until the size goes down until
             		//polling again.  If we let the events just accumulate, we will
@@ -175,18 +177,18 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             	updateNextMaxPollTimestamp();
 
                 final Duration pollDuration = Duration.ofMillis(pollTimeout);
-                final ConsumerRecords<String, String> records = consumer.poll(pollDuration);
+                final ConsumerRecords<String, byte[]> records = consumer.poll(pollDuration);
                 
                 log.debug("Found records: {}", records.count());
-                for (ConsumerRecord<String, String> consumerRecord : records)
+                for (ConsumerRecord<String, byte[]> consumerRecord : records)
                 {
-                    String json = consumerRecord.value();
+                    final KafkaIncomingEvent event = getIncomingEvent(consumerRecord);
+                    String json = event.getJson();
                     log.debug("Received message: {}" ,json);
                     countReceivedMessages++;
                     log.debug("Metrics: receivedMessages: {}", countReceivedMessages);
-                    final KafkaIncomingEvent event = new KafkaIncomingEvent(json, consumerRecord.offset());
                     final String recordKey=consumerRecord.key();
-                    final String recordValue=consumerRecord.value();
+                    final String recordValue=json;
                     if (! localServerId.equals(recordKey))
                     {
                         try
@@ -317,6 +319,26 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
     }
 
+    /**
+     * Build the incoming event from a consumer record.  Records with a content-type header are binary
+     * events; the others are UTF-8 text.
+     *
+     * @param consumerRecord record received from Kafka
+     * @return incoming event
+     */
+    private static KafkaIncomingEvent getIncomingEvent(ConsumerRecord<String, byte[]> consumerRecord)
+    {
+        byte[] value = consumerRecord.value();
+        Header contentType = consumerRecord.headers().lastHeader(KafkaIncomingEvent.contentTypeHeader);
+
+        if ((contentType != null) && (contentType.value() != null) && (value != null))
+        {
+            return new KafkaIncomingEvent(value, new String(contentType.value(), StandardCharsets.UTF_8), consumerRecord.offset());
+        }
+
+        return new KafkaIncomingEvent(value == null ? null : new String(value, StandardCharsets.UTF_8), consumerRecord.offset());
+    }
+
     private void addUnprocessedEvent(int partition, String topic, KafkaIncomingEvent event) {
         if (isAutoCommitEnabled) {
             return;
@@ -5,18 +5,26 @@ package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.InterruptException;
 import org.apache.kafka.common.errors.RetriableException;
 import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,22 +34,44 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ * <p>
+ * Events wait in a bounded buffer until the sending thread picks them up.  In synchronous mode, the sending thread waits for
+ * Kafka to acknowledge each event before sending the next.  In pipelined mode, it passes events to Kafka without waiting so that
+ * Kafka can batch them, and processes the acknowledgements in the order the events were sent.  Pipelined mode uses an idempotent
+ * Kafka producer, which keeps the events in order while it retries them itself.  If Kafka still reports a failure, no new events
+ * are sent until the failed events have been sent again, one at a time, in their original order.  Events that fail with a
+ * retryable error are sent again, ahead of any later events, in both modes.
+ * <p>
+ * Event values are sent as bytes.  Text events are sent as UTF-8 without a header so they can be read by
+ * consumers that use a string deserializer.  Binary events carry a content-type header so that the receiving
+ * consumer can tell how they are encoded.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
+    private static final long pollTimeMs = 1000;
+    private final BlockingQueue<PendingEvent> sendBuffer;
+    private final Deque<PendingEvent> retryQueue = new ArrayDeque<>();
+    private final Deque<PendingEvent> inFlight = new ArrayDeque<>();
     private final AuditLog auditLog;
     private final String topicName;
     private final String localServerId;
     private final Properties producerProperties;
+    private final boolean pipelined;
+    private final int maxBufferedEvents;
+    private final int maxInFlightEvents;
+    private final int maxSendRetries;
     private volatile boolean running = true;
-    private Producer<String, String> producer = null;
-    private long messageSendCount = 0;
-    private long kafkaSendAttemptCount = 0;
-    private long messagePublishRequestCount = 0;
-    private long inmemoryPutMessageCount = 0;
-    private long kafkaSendFailCount = 0;
-    private long messageFailedSendCount = 0;
+    private volatile boolean sendBufferFullReported = false;
+    private Producer<String, byte[]> producer = null;
+    private volatile long messageSendCount = 0;
+    private volatile long kafkaSendAttemptCount = 0;
+    private volatile long messagePublishRequestCount = 0;
+    private volatile long inmemoryPutMessageCount = 0;
+    private volatile long kafkaSendFailCount = 0;
+    private volatile long messageFailedSendCount = 0;
+    private volatile long sendRate = 0;
+    private long sendRateIntervalStart = System.currentTimeMillis();
+    private long sendRateIntervalCount = 0;
 
 
     /**
@@ -50,14 +80,20 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
      * @param topicName          name of the topic to listen on.
      * @param localServerId      identifier to enable receiver to identify that an event came from this server.
      * @param producerProperties properties for the consumer.
+     * @param producerConfig     configuration of the way this producer sends events.
      * @param auditLog           audit log for this component.
      */
     KafkaOpenMetadataEventProducer(String topicName, String localServerId, Properties producerProperties,
-                                   AuditLog auditLog) {
+                                   KafkaOpenMetadataEventProducerConfiguration producerConfig, AuditLog auditLog) {
         this.auditLog = auditLog;
         this.topicName = topicName;
         this.localServerId = localServerId;
         this.producerProperties = producerProperties;
+        this.pipelined = producerConfig.isPipelined();
+        this.maxBufferedEvents = Math.max(1, producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BUFFERED_EVENTS));
+        this.maxInFlightEvents = Math.max(1, producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_EVENTS));
+        this.maxSendRetries = producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_RETRIES);
+        this.sendBuffer = new LinkedBlockingQueue<>(maxBufferedEvents);
 
         final String           actionDescription = "new producer";
 
@@ -71,25 +107,17 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
 
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Create the Kafka producer if it is not already connected.
      *
-     * @param event object containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
-    private void publishEvent(String event) throws ConnectorCheckedException {
-        final String methodName = "publishEvent";
-        final String messageFailedCountString = "Metrics: messageFailedSendCount {}";
-
-        boolean eventSent = false;
-        long eventRetryCount = 0;
-
-        messagePublishRequestCount++;
-        log.debug("Metrics: messagePublishRequestCount {}", messagePublishRequestCount);
+    private void connectProducer() throws ConnectorCheckedException {
+        final String methodName = "connectProducer";
 
         if (producer == null) {
             try {
                 log.debug("Creating new producer for topic {}", topicName);
-                producer = new KafkaProducer<>(producerProperties);
+                producer = createProducer();
             } catch (Exception error) {
                 if (auditLog != null) {
                     auditLog.logException(methodName,
@@ -102,16 +130,46 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
                                 error.getMessage()), this.getClass().getName(), methodName, error);
             }
         }
+    }
+
+
+    /**
+     * Create the Kafka producer from the producer properties.
+     *
+     * @return new producer
+     */
+    Producer<String, byte[]> createProducer() {
+        return new KafkaProducer<>(producerProperties);
+    }
+
+
+    /**
+     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     *
+     * @param event object containing the event properties.
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    private void publishEvent(PendingEvent event) throws ConnectorCheckedException {
+        final String methodName = "publishEvent";
+        final String messageFailedCountString = "Metrics: messageFailedSendCount {}";
+
+        boolean eventSent = false;
+        long eventRetryCount = 0;
+
+        messagePublishRequestCount++;
+        log.debug("Metrics: messagePublishRequestCount {}", messagePublishRequestCount);
+
+        connectProducer();
+
         while (!eventSent) {
             try {
                 log.debug("Sending message try {} [0 based] : {}", eventRetryCount,event);
-                ProducerRecord<String, String> producerRecord = new ProducerRecord<>(topicName, localServerId, event);
+                ProducerRecord<String, byte[]> producerRecord = getProducerRecord(event);
                 kafkaSendAttemptCount++;
                 log.debug("Metrics: kafkaSendAttemptCount {}", kafkaSendAttemptCount);
                 producer.send(producerRecord).get();
                 eventSent = true;
-                messageSendCount++;
-                log.debug("Metrics: messageSendCount {}", messageSendCount);
+                recordEventSent();
             } catch (ExecutionException error) {
                 kafkaSendFailCount++;
                 log.debug("Metrics: kafkaSendFailCount {}", kafkaSendFailCount);
@@ -136,7 +194,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
                                     error.getClass().getName(), topicName, error.getMessage()),
                             this.getClass().getName(), methodName, error);
                 }
-                if (eventRetryCount == 10) {
+                if (eventRetryCount == maxSendRetries) {
                     /* we've retried now let the caller retry */
                     producer.close();
                     producer = null;
@@ -147,12 +205,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
                 } else {
                     if (eventRetryCount == 0) {
                         log.debug("Retrying event warning - count is {}", eventRetryCount);
-                        if (auditLog != null) {
-                            auditLog.logMessage(methodName,
-                                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(
-                                                        topicName, Long.toString(messageSendCount),
-                                                        Long.toString(this.getSendBufferSize()), error.getMessage()));
-                        }
+                        logSendErrorLoop(methodName, error);
                     }
 
                     eventRetryCount++;
@@ -183,6 +236,276 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
     }
 
 
+    /**
+     * Passes the next waiting event to Kafka without waiting for it to be acknowledged.  Acknowledgements that have
+     * arrived are processed first, in the order that the events were sent.  Events being retried are sent before new events,
+     * one at a time, so that no later event can overtake them.
+     *
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted while waiting for events
+     */
+    private void publishPipelinedEvents() throws ConnectorCheckedException, InterruptedException {
+        completeInFlightEvents();
+
+        PendingEvent pendingEvent = retryQueue.pollFirst();
+
+        if (pendingEvent == null) {
+            /*
+             * Wait for a short time if acknowledgements are expected so that they are processed promptly.
+             */
+            pendingEvent = sendBuffer.poll(getInFlightCount() == 0 ? pollTimeMs : 10, TimeUnit.MILLISECONDS);
+
+            if (pendingEvent == null) {
+                return;
+            }
+
+            messagePublishRequestCount++;
+        }
+
+        boolean resending = (pendingEvent.retryCount > 0);
+
+        connectProducer();
+        waitForInFlightCount(resending ? 0 : maxInFlightEvents - 1);
+
+        ProducerRecord<String, byte[]> producerRecord = getProducerRecord(pendingEvent);
+        final PendingEvent sentEvent = pendingEvent;
+
+        synchronized (inFlight) {
+            inFlight.addLast(sentEvent);
+        }
+
+        kafkaSendAttemptCount++;
+
+        try {
+            producer.send(producerRecord, (metadata, exception) -> completeSend(sentEvent, exception));
+        } catch (InterruptException error) {
+            completeSend(sentEvent, error);
+            throw new InterruptedException(error.getMessage());
+        } catch (Exception error) {
+            /*
+             * The event was not accepted by the producer (for example its buffer is full) - treat it as a failed send
+             * so it is retried in order.
+             */
+            completeSend(sentEvent, error);
+        }
+
+        if (resending) {
+            /*
+             * Wait for the acknowledgement so that a repeated failure is queued for retry before any new event is sent.
+             */
+            waitForInFlightCount(0);
+        }
+    }
+
+
+    /**
+     * Build the Kafka record for an event.  Binary events are labelled with their content type.
+     *
+     * @param pendingEvent event to send
+     * @return record to pass to the producer
+     */
+    private ProducerRecord<String, byte[]> getProducerRecord(PendingEvent pendingEvent) {
+        ProducerRecord<String, byte[]> producerRecord = new ProducerRecord<>(topicName, localServerId, pendingEvent.payload);
+
+        if (pendingEvent.contentType != null) {
+            producerRecord.headers().add(new RecordHeader(KafkaIncomingEvent.contentTypeHeader,
+                                                          pendingEvent.contentType.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return producerRecord;
+    }
+
+
+    /**
+     * Called by Kafka (or the sending thread) when the send of an event is complete.
+     *
+     * @param pendingEvent event that was sent
+     * @param error exception if the send failed, otherwise null
+     */
+    private void completeSend(PendingEvent pendingEvent, Exception error) {
+        synchronized (inFlight) {
+            pendingEvent.error = error;
+            pendingEvent.complete = true;
+            inFlight.notifyAll();
+        }
+    }
+
+
+    /**
+     * Wait until no more than the requested number of events are waiting for acknowledgement.
+     *
+     * @param maxCount number of events that may still be waiting
+     * @throws ConnectorCheckedException a send has failed with an error that can not be retried
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private void waitForInFlightCount(int maxCount) throws ConnectorCheckedException, InterruptedException {
+        while (getInFlightCount() > maxCount) {
+            synchronized (inFlight) {
+                PendingEvent oldestEvent = inFlight.peekFirst();
+
+                if ((oldestEvent != null) && (!oldestEvent.complete)) {
+                    inFlight.wait(pollTimeMs);
+                }
+            }
+
+            completeInFlightEvents();
+        }
+    }
+
+
+    /**
+     * Process the acknowledgements that have arrived, in the order that the events were sent.  Processing stops at the first
+     * event that has not been acknowledged.  If an event has failed, all outstanding events are allowed to complete and
+     * those that failed are queued for retry in their original order.
+     *
+     * @throws ConnectorCheckedException a send has failed with an error that can not be retried
+     */
+    private void completeInFlightEvents() throws ConnectorCheckedException {
+        List<PendingEvent> failedEvents = new ArrayList<>();
+
+        removeCompletedEvents(failedEvents);
+
+        if (failedEvents.isEmpty()) {
+            return;
+        }
+
+        /*
+         * Let the events sent after the failure complete so that the events to retry are known and
+         * can be resent in order.
+         */
+        if (producer != null) {
+            producer.flush();
+        }
+
+        removeCompletedEvents(failedEvents);
+
+        handleFailedEvents(failedEvents);
+    }
+
+
+    /**
+     * Remove the completed events from the front of the in-flight queue.
+     *
+     * @param failedEvents list to add the events that failed to
+     */
+    private void removeCompletedEvents(List<PendingEvent> failedEvents) {
+        synchronized (inFlight) {
+            PendingEvent oldestEvent = inFlight.peekFirst();
+
+            while ((oldestEvent != null) && (oldestEvent.complete)) {
+                inFlight.removeFirst();
+
+                if (oldestEvent.error == null) {
+                    recordEventSent();
+                } else {
+                    kafkaSendFailCount++;
+                    failedEvents.add(oldestEvent);
+                }
+
+                oldestEvent = inFlight.peekFirst();
+            }
+        }
+    }
+
+
+    /**
+     * Decide what to do with the events that failed.  Events with retryable errors go back to the front of the queue
+     * in their original order until they have been retried the maximum number of times.
+     *
+     * @param failedEvents events that failed, in the order they were sent
+     * @throws ConnectorCheckedException an event failed with an error that can not be retried
+     */
+    private void handleFailedEvents(List<PendingEvent> failedEvents) throws ConnectorCheckedException {
+        final String methodName = "handleFailedEvents";
+        final String messageFailedCountString = "Metrics: messageFailedSendCount {}";
+
+        List<PendingEvent> eventsToRetry = new ArrayList<>();
+        Exception          fatalError    = null;
+
+        for (PendingEvent failedEvent : failedEvents) {
+            log.debug("Kafka had trouble sending event: {} : Exception  message is {}", failedEvent, failedEvent.error.getMessage());
+
+            if ((fatalError == null) && (!isExceptionRetryable(new ExecutionException(failedEvent.error)))) {
+                /* kafka thinks this isn't a retryable problem so the event is dropped */
+                fatalError = failedEvent.error;
+                messageFailedSendCount++;
+                log.warn(messageFailedCountString, messageFailedSendCount);
+            } else if (failedEvent.retryCount >= maxSendRetries) {
+                messageFailedSendCount++;
+                log.warn(messageFailedCountString, messageFailedSendCount);
+                log.error("Retryable Exception dropped event after {} tries", failedEvent.retryCount);
+            } else {
+                if (failedEvent.retryCount == 0) {
+                    logSendErrorLoop(methodName, failedEvent.error);
+                }
+
+                failedEvent.retryCount++;
+                failedEvent.complete = false;
+                failedEvent.error = null;
+                eventsToRetry.add(failedEvent);
+            }
+        }
+
+        for (int i = eventsToRetry.size() - 1; i >= 0; i--) {
+            retryQueue.addFirst(eventsToRetry.get(i));
+        }
+
+        if (fatalError != null) {
+            log.debug("Exception not retryable, closing producer");
+            producer.close();
+            producer = null;
+
+            throw new ConnectorCheckedException(
+                    KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(
+                            fatalError.getClass().getName(), topicName, fatalError.getMessage()),
+                    this.getClass().getName(), methodName, fatalError);
+        }
+    }
+
+
+    /**
+     * Log that events are failing and being retried.
+     *
+     * @param methodName calling method
+     * @param error latest error
+     */
+    private void logSendErrorLoop(String methodName, Exception error) {
+        if (auditLog != null) {
+            auditLog.logMessage(methodName,
+                                KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(
+                                        topicName, Long.toString(messageSendCount),
+                                        Long.toString(this.getSendBufferSize()), error.getMessage()));
+        }
+    }
+
+
+    /**
+     * Update the metrics once an event has been acknowledged.
+     */
+    private void recordEventSent() {
+        messageSendCount++;
+        sendRateIntervalCount++;
+        log.debug("Metrics: messageSendCount {}", messageSendCount);
+        updateSendRate();
+    }
+
+
+    /**
+     * Recalculate the send rate once a second.
+     */
+    private void updateSendRate() {
+        long now = System.currentTimeMillis();
+        long elapsedTime = now - sendRateIntervalStart;
+
+        if (elapsedTime >= pollTimeMs) {
+            sendRate = (sendRateIntervalCount * 1000) / elapsedTime;
+            sendRateIntervalCount = 0;
+            sendRateIntervalStart = now;
+            log.debug("Metrics: sendRate {} inFlightCount {} sendBufferSize {}", sendRate, getInFlightCount(), getSendBufferSize());
+        }
+    }
+
+
     /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -203,27 +526,28 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
                                 this.producerProperties.toString());
         }
 
-        log.info("Main loop started for topic {}", topicName);
-        int sleepTime = 1000;
+        log.info("Main loop started for topic {} in {} send mode", topicName, pipelined ? "pipelined" : "synchronous");
         while (isRunning()) {
             try {
-                String bufferedEvent = this.getEvent();
-
-                /*
-                 * If there are no events waiting then sleep
-                 */
-                if (bufferedEvent == null) {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
+                if (pipelined) {
+                    publishPipelinedEvents();
                 } else {
-                    log.debug("Processing buffered events");
                     /*
-                     * Send all waiting events
+                     * Wait for an event and then send all waiting events
                      */
-                    while (bufferedEvent != null) {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
+                    PendingEvent bufferedEvent = sendBuffer.poll(pollTimeMs, TimeUnit.MILLISECONDS);
+
+                    if (bufferedEvent != null) {
+                        log.debug("Processing buffered events");
+
+                        while (bufferedEvent != null) {
+                            publishEvent(bufferedEvent);
+                            bufferedEvent = this.getEvent();
+                        }
                     }
                 }
+
+                updateSendRate();
             } catch (InterruptedException error) {
                 log.debug("Woken up from sleep ");
                 Thread.currentThread().interrupt();
@@ -245,29 +569,64 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
         /* producer may have already closed by exception handler in publishEvent */
         if (producer != null) {
             log.debug("");
+            /* closing the producer waits for the acknowledgement of the events in flight */
             producer.close();
             producer = null;
         }
 
+        if (pipelined) {
+            List<PendingEvent> failedEvents = new ArrayList<>();
+
+            removeCompletedEvents(failedEvents);
+            messageFailedSendCount = messageFailedSendCount + failedEvents.size();
+        }
+
         if (auditLog != null) {
             auditLog.logMessage(actionDescription,
                                 KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_SHUTDOWN.getMessageDefinition(
-                                        topicName, Integer.toString(getSendBufferSize()),
+                                        topicName, Integer.toString(getSendBufferSize() + retryQueue.size() + getInFlightCount()),
                                         Long.toString(messageSendCount)), this.producerProperties.toString());
         }
     }
 
 
     /**
-     * Supports putting events to the in memory OMRS Topic
+     * Supports putting events to the in memory OMRS Topic.  If the buffer is full, the caller waits for space.
      *
      * @param newEvent event to publish
+     * @throws ConnectorCheckedException the caller was interrupted while waiting for space in the buffer
      */
-    private void putEvent(String newEvent) {
+    private void putEvent(PendingEvent newEvent) throws ConnectorCheckedException {
+        final String methodName = "putEvent";
+
         inmemoryPutMessageCount++;
         log.debug("Metrics: inmemoryPutMessageCount {}", inmemoryPutMessageCount);
         log.debug("Metrics: sendBufferSize {}", sendBuffer.size());
-        sendBuffer.add(newEvent);
+
+        if (!sendBuffer.offer(newEvent)) {
+            if (!sendBufferFullReported) {
+                sendBufferFullReported = true;
+
+                if (auditLog != null) {
+                    auditLog.logMessage(methodName,
+                                        KafkaOpenMetadataTopicConnectorAuditCode.SEND_BUFFER_FULL.getMessageDefinition(
+                                                topicName, Integer.toString(getSendBufferSize()), Integer.toString(getInFlightCount())));
+                }
+            }
+
+            try {
+                sendBuffer.put(newEvent);
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+
+                throw new ConnectorCheckedException(
+                        KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(
+                                error.getClass().getName(), topicName, error.getMessage()), this.getClass().getName(),
+                        methodName, error);
+            }
+        } else if ((sendBufferFullReported) && (sendBuffer.size() < maxBufferedEvents / 2)) {
+            sendBufferFullReported = false;
+        }
     }
 
 
@@ -282,16 +641,24 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
 
 
     /**
-     * Returns all the events found on the in memory OMRS Topic.
+     * Returns the number of events passed to Kafka that are waiting for acknowledgement.
      *
-     * @return list of received events.
+     * @return int
      */
-    private String getEvent() {
-        if (sendBuffer.isEmpty()) {
-            return null;
+    private int getInFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
         }
+    }
 
-        return sendBuffer.remove(0);
+
+    /**
+     * Returns the next event found on the in memory OMRS Topic.
+     *
+     * @return event or null if there are no events waiting.
+     */
+    private PendingEvent getEvent() {
+        return sendBuffer.poll();
     }
 
 
@@ -299,9 +666,48 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
      * Sends the supplied event to the topic.
      *
      * @param event OMRSEvent object containing the event properties.
+     * @throws ConnectorCheckedException the caller was interrupted while waiting for space in the buffer
+     */
+    public void sendEvent(String event) throws ConnectorCheckedException {
+        this.putEvent(new PendingEvent(event.getBytes(StandardCharsets.UTF_8), null));
+    }
+
+
+    /**
+     * Sends the supplied binary event to the topic with a header describing its content type.
+     *
+     * @param event encoded event
+     * @param contentType content type of the encoded event
+     * @throws ConnectorCheckedException the caller was interrupted while waiting for space in the buffer
+     */
+    public void sendEvent(byte[] event, String contentType) throws ConnectorCheckedException {
+        this.putEvent(new PendingEvent(event, contentType));
+    }
+
+
+    /**
+     * Returns the metrics for this producer.  The send rate is the number of events acknowledged per second
+     * over the last interval measured.  The buffer occupancy is the percentage of the send buffer in use.
+     *
+     * @return map of metric name to value
      */
-    public void sendEvent(String event) {
-        this.putEvent(event);
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+
+        int sendBufferSize = getSendBufferSize();
+
+        metrics.put("messagePublishRequestCount", messagePublishRequestCount);
+        metrics.put("messageSendCount", messageSendCount);
+        metrics.put("messageFailedSendCount", messageFailedSendCount);
+        metrics.put("kafkaSendAttemptCount", kafkaSendAttemptCount);
+        metrics.put("kafkaSendFailCount", kafkaSendFailCount);
+        metrics.put("sendRate", sendRate);
+        metrics.put("inFlightCount", (long) getInFlightCount());
+        metrics.put("sendBufferSize", (long) sendBufferSize);
+        metrics.put("sendBufferCapacity", (long) maxBufferedEvents);
+        metrics.put("sendBufferOccupancyPercent", ((long) sendBufferSize * 100) / maxBufferedEvents);
+
+        return metrics;
     }
 
 
@@ -346,20 +752,54 @@ public class KafkaOpenMetadataEventProducer implements Runnable {
         running = false;
     }
 
+    /**
+     * Return whether Kafka reports the cause of an error as one that may succeed if the send is retried.
+     *
+     * @param error exception from sending an event
+     * @return boolean
+     */
     private boolean isExceptionRetryable(Exception error) {
+        Throwable nested = error.getCause();
 
-        /*
-        This code would probably be more elegant if it used Throwables
-        however I don't want to add Throwabales to the search and I didn't want to cast
-         */
-        Throwable nested = null;
-        while ((nested = error.getCause()) != null) {
+        while (nested != null) {
             if (nested instanceof RetriableException) {
                 return true;
             }
 
-            error = new Exception(error.getCause());
+            nested = nested.getCause();
         }
         return false;
     }
+
+
+    /**
+     * An event waiting to be sent.  In pipelined mode, the completion fields are set by the Kafka callback
+     * and read by the sending thread while holding the in-flight queue's lock.
+     */
+    private static class PendingEvent {
+        private final byte[] payload;
+        private final String contentType;
+        private int retryCount = 0;
+        private boolean complete = false;
+        private Exception error = null;
+
+        PendingEvent(byte[] payload, String contentType) {
+            this.payload = payload;
+            this.contentType = contentType;
+        }
+
+        /**
+         * Return the event in a form suitable for logging.
+         *
+         * @return text event or a description of a binary one
+         */
+        @Override
+        public String toString() {
+            if (contentType == null) {
+                return new String(payload, StandardCharsets.UTF_8);
+            }
+
+            return contentType + " event of " + payload.length + " bytes";
+        }
+    }
 }
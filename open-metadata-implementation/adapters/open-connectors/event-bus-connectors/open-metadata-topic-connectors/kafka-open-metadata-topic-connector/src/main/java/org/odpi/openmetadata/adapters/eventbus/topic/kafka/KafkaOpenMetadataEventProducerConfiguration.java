@@ -0,0 +1,177 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+
+/**
+ * Configuration for the {@link KafkaOpenMetadataEventProducer}
+ * 
+ *
+ */
+public class KafkaOpenMetadataEventProducerConfiguration
+{
+	private final Properties properties;
+	private final AuditLog   auditLog;
+
+	KafkaOpenMetadataEventProducerConfiguration(Properties properties,
+												AuditLog   auditLog)
+	{
+		this.properties = properties;
+		this.auditLog = auditLog;
+	}
+
+
+	/**
+	 * Gets the value of property whose value is an integer
+	 * 
+	 * @param property property object
+	 * @return property value
+	 */
+	int getIntProperty(KafkaOpenMetadataEventProducerProperty property)
+	{
+		return Integer.parseInt(getProperty(property));		
+	}
+
+
+	/**
+	 * Returns whether events are sent in pipelined mode.
+	 *
+	 * @return boolean
+	 */
+	boolean isPipelined()
+	{
+		return KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE.equalsIgnoreCase(getProperty(KafkaOpenMetadataEventProducerProperty.SEND_MODE).trim());
+	}
+
+
+	/**
+	 * Make the producer idempotent when events are pipelined.  Kafka retries a failed batch while later batches are
+	 * in flight, and only an idempotent producer with at most 5 requests in flight per connection keeps the batches
+	 * of a partition in order when it does.  Configured values that would break this are replaced and logged.
+	 *
+	 * @param producerProperties properties for the Kafka producer
+	 * @param topicName name of the topic the producer sends to
+	 * @return names of the properties that were replaced
+	 */
+	List<String> enforcePipelinedProducerProperties(Properties producerProperties,
+													String     topicName)
+	{
+		List<String> replacedProperties = new ArrayList<>();
+
+		if (! isPipelined())
+		{
+			return replacedProperties;
+		}
+
+		setRequiredProperty(producerProperties, "enable.idempotence", "true", replacedProperties);
+		setRequiredProperty(producerProperties, "acks", "all", replacedProperties);
+
+		if (getLongProperty(producerProperties, "max.in.flight.requests.per.connection", 5) > 5)
+		{
+			setRequiredProperty(producerProperties, "max.in.flight.requests.per.connection", "5", replacedProperties);
+		}
+
+		if (getLongProperty(producerProperties, "retries", 1) < 1)
+		{
+			setRequiredProperty(producerProperties, "retries", "1", replacedProperties);
+		}
+
+		if ((! replacedProperties.isEmpty()) && (auditLog != null))
+		{
+			final String actionDescription = "enforcePipelinedProducerProperties";
+
+			auditLog.logMessage(actionDescription,
+								KafkaOpenMetadataTopicConnectorAuditCode.PIPELINED_PRODUCER_PROPERTIES_REPLACED.getMessageDefinition(topicName,
+																																	  replacedProperties.toString()));
+		}
+
+		return replacedProperties;
+	}
+
+
+	/**
+	 * Set a producer property to the value that pipelining needs, remembering whether a different value was configured.
+	 *
+	 * @param producerProperties properties for the Kafka producer
+	 * @param propertyName name of the property
+	 * @param requiredValue value needed
+	 * @param replacedProperties names of the properties whose configured values were replaced
+	 */
+	private void setRequiredProperty(Properties   producerProperties,
+									 String       propertyName,
+									 String       requiredValue,
+									 List<String> replacedProperties)
+	{
+		Object configuredValue = producerProperties.get(propertyName);
+
+		if ((configuredValue != null) && (! requiredValue.equalsIgnoreCase(String.valueOf(configuredValue).trim())))
+		{
+			replacedProperties.add(propertyName);
+		}
+
+		producerProperties.put(propertyName, requiredValue);
+	}
+
+
+	/**
+	 * Return the numeric value of a producer property.  Values that are not numbers are treated as unset.
+	 *
+	 * @param producerProperties properties for the Kafka producer
+	 * @param propertyName name of the property
+	 * @param defaultValue value to use if the property is not set
+	 * @return property value
+	 */
+	private long getLongProperty(Properties producerProperties,
+								 String     propertyName,
+								 long       defaultValue)
+	{
+		Object configuredValue = producerProperties.get(propertyName);
+
+		if (configuredValue == null)
+		{
+			return defaultValue;
+		}
+
+		try
+		{
+			return Long.parseLong(String.valueOf(configuredValue).trim());
+		}
+		catch (NumberFormatException error)
+		{
+			return Long.MAX_VALUE;
+		}
+	}
+
+
+	/**
+	 * Gets the value of a property whose value is a String.
+	 * 
+	 * @param property property object
+	 * @return property value
+	 */
+	public String getProperty(KafkaOpenMetadataEventProducerProperty property)
+	{
+		String value = properties.getProperty(property.getPropertyName(), property.getDefaultValue());
+
+		if (value == null || value.trim().length() == 0)
+		{
+			final String actionDescription = "getProperty";
+
+			if (auditLog != null)
+			{
+				auditLog.logMessage(actionDescription,
+									KafkaOpenMetadataTopicConnectorAuditCode.MISSING_PROPERTY.getMessageDefinition(property.getPropertyName()));
+			}
+
+			return "0";
+		}
+
+		return value;
+	}
+}
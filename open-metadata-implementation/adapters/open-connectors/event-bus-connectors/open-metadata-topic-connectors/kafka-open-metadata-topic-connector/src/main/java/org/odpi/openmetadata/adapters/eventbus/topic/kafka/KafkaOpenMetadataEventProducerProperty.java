@@ -0,0 +1,57 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer
+ *
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * Controls how events are sent.  "synchronous" waits for Kafka to acknowledge each event
+	 * before sending the next.  "pipelined" sends events without waiting so that Kafka can
+	 * batch them (see the linger.ms and batch.size producer properties).  The acknowledgements
+	 * are processed in the order the events were sent.
+	 */
+	SEND_MODE("send_mode", "synchronous"),
+
+	/*
+	 * Controls the maximum number of events waiting to be sent.  When this size is reached,
+	 * the caller sending a new event waits until there is space.
+	 */
+	MAX_BUFFERED_EVENTS("max_buffered_events", "10000"),
+
+	/*
+	 * Controls the maximum number of events that have been passed to Kafka in pipelined mode
+	 * and are waiting for an acknowledgement.
+	 */
+	MAX_IN_FLIGHT_EVENTS("max_in_flight_events", "1000"),
+
+	/*
+	 * The number of times an event is retried when Kafka reports a retryable error.
+	 */
+	MAX_SEND_RETRIES("max_send_retries", "10");
+
+	public static final String SYNCHRONOUS_SEND_MODE = "synchronous";
+	public static final String PIPELINED_SEND_MODE   = "pipelined";
+
+	private final String propertyName;
+	private final String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+	
+	public String getPropertyName() {
+		return propertyName;
+	}
+	
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+
+}
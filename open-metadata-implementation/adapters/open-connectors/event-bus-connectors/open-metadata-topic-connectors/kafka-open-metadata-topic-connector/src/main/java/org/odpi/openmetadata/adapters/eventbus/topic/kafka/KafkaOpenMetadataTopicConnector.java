@@ -15,10 +15,8 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -39,6 +37,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private final Properties producerProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
@@ -49,9 +48,6 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     private String       topicName          = null;
     private String       serverId           = null;
 
-    /* this buffer is for consumed events */
-    private final List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
-
     private KafkaConsumerExecutor consumerExecutor = null;
     private KafkaProducerExecutor producerExecutor = null;
 
@@ -121,7 +117,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("linger.ms", 0);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
         producerProperties.put("bring.up.retries", "10");
         producerProperties.put("bring.up.minSleepTime", "5000");
 
@@ -132,7 +128,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerProperties.put("session.timeout.ms", "30000");
         consumerProperties.put("max.partition.fetch.bytes",	10485760);
         consumerProperties.put("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
-        consumerProperties.put("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        consumerProperties.put("value.deserializer", "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         consumerProperties.put("bring.up.retries", "10");
         consumerProperties.put("bring.up.minSleepTime", "5000");
     }
@@ -214,6 +210,19 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         {
             Object              propertiesObject;
 
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
+
+            /*
+             * When events are pipelined, the producer is given time to batch them.  This can be overridden in the
+             * producer properties.  The settings that keep pipelined events in order are applied when the producer is created.
+             */
+            if (KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE.equalsIgnoreCase(
+                    producerEgeriaProperties.getProperty(KafkaOpenMetadataEventProducerProperty.SEND_MODE.getPropertyName())))
+            {
+                producerProperties.put("linger.ms", "5");
+            }
+
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.producerPropertyName);
             copyProperties(propertiesObject, producerProperties);
 
@@ -222,6 +231,14 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaConsumerPropertyName);
             copyProperties(propertiesObject, consumerEgeriaProperties);
+
+            /*
+             * Event values are always sent and received as bytes so that binary encodings can be carried.
+             * Existing configurations often name the string (de)serializers so these are replaced.  Text events
+             * are still sent as UTF-8 so servers that use the string deserializer can read them.
+             */
+            producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
+            consumerProperties.put("value.deserializer", "org.apache.kafka.common.serialization.ByteArrayDeserializer");
         }
         catch (Exception   error)
         {
@@ -322,7 +339,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private void initializeProducerAndProducerThread() {
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, auditLog);
+        KafkaOpenMetadataEventProducerConfiguration producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties, auditLog);
+        producerConfig.enforcePipelinedProducerProperties(producerProperties, topicName);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, producerConfig, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
     }
 
@@ -344,39 +363,50 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
 
     /**
-     * Look to see if there is one of more new events to process.
+     * Sends the supplied binary event to the topic.  The content type travels in a record header so the
+     * receiving consumer can decode the event.
      *
-     * @return a list of received events or null
+     * @param event encoded event
+     * @param contentType content type of the encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
     @Override
-    protected List<IncomingEvent> checkForIncomingEvents()
+    public void sendEvent(byte[] event, String contentType) throws ConnectorCheckedException
     {
-        List<IncomingEvent> newEvents = null;
+        if (producer != null)
+        {
+            producer.sendEvent(event, contentType);
+        }
+    }
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
 
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
+    /**
+     * Return the current metrics of the producer sending events to the topic, such as the number of events sent,
+     * the send rate and the number of events waiting to be sent.
+     *
+     * @return map of metric name to value (empty if the connector has not started)
+     */
+    public Map<String, Long> getProducerMetrics()
+    {
+        if (producer != null)
         {
-            log.debug("Checking for events.  Number of found events: {}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
+            return producer.getMetrics();
         }
 
-        return newEvents;
+        return new HashMap<>();
     }
 
+
     /**
-     * Distribute events to other listeners.
+     * Distribute events to other listeners.  The event is passed to the listener thread managed by
+     * OpenMetadataTopicConnector (superclass) which is woken as soon as the event arrives.
      *
      * @param event object containing the event properties.
      */
     void distributeToListeners(IncomingEvent event)
     {
         log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+        super.deliverEvent(event);
     }
 
 
@@ -452,7 +482,17 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
      * @return int
      */
     int getNumberOfUnprocessedEvents() {
-    	return incomingEventsList.size();
+    	return super.getIncomingEventQueueDepth();
+    }
+
+
+    /**
+     * Returns whether the listener thread has reached its limit of unprocessed events.
+     *
+     * @return boolean
+     */
+    boolean isEventQueueFull() {
+        return super.isIncomingEventQueueFull();
     }
 
     private class KafkaStatusChecker {
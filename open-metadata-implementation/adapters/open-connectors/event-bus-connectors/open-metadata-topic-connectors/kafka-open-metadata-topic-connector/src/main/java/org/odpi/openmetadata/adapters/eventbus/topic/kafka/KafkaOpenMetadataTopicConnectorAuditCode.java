@@ -141,6 +141,20 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Check the  Kafka error logs for related messages that could " +
                     "indicate the cause of this error.  Work to clear the underlying error.  " +
                     "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    SEND_BUFFER_FULL("OCF-KAFKA-TOPIC-CONNECTOR-0020",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The Apache Kafka producer for topic {0} has {1} events waiting to be sent and {2} events waiting for acknowledgement; new events must wait for space",
+            "The threads sending events wait until the buffered events have been sent to Kafka.",
+            "Check that Apache Kafka is running and able to keep up with the events being sent.  If this happens often, consider " +
+                    "the pipelined send mode or a larger max_buffered_events value in the egeria_kafka_producer properties."),
+
+    PIPELINED_PRODUCER_PROPERTIES_REPLACED("OCF-KAFKA-TOPIC-CONNECTOR-0021",
+            OMRSAuditLogRecordSeverity.DECISION,
+            "The Apache Kafka producer for topic {0} sends events in pipelined mode so the configured values of producer properties {1} have been replaced",
+            "Pipelined events are only kept in order by an idempotent producer with at most 5 requests in flight per connection.  " +
+                    "The producer uses enable.idempotence=true, acks=all, max.in.flight.requests.per.connection of at most 5 and retries of at least 1.",
+            "Remove the conflicting values from the producer properties of the event bus configuration, or use the synchronous send mode."),
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
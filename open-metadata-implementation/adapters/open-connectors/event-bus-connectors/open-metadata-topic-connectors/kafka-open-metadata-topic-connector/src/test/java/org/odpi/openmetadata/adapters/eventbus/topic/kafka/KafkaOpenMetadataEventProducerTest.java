@@ -0,0 +1,279 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that KafkaOpenMetadataEventProducer keeps events in order when Kafka reports failures, and that pipelined
+ * mode always uses an idempotent Kafka producer.
+ */
+public class KafkaOpenMetadataEventProducerTest {
+    private static final String topicName = "testTopic";
+    private static final long   waitTimeMs = 10000;
+
+
+    @Test
+    public void testSynchronousSendsInOrder() throws Exception {
+        MockProducer<String, byte[]> mockProducer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaOpenMetadataEventProducer eventProducer = getEventProducer(mockProducer, KafkaOpenMetadataEventProducerProperty.SYNCHRONOUS_SEND_MODE);
+        Thread producerThread = new Thread(eventProducer);
+
+        producerThread.start();
+
+        try {
+            sendEvents(eventProducer, "e1", "e2", "e3");
+
+            waitFor(() -> mockProducer.history().size() == 3);
+
+            assertEquals(getSentEvents(mockProducer), Arrays.asList("e1", "e2", "e3"));
+            waitFor(() -> eventProducer.getMetrics().get("messageSendCount") == 3);
+        } finally {
+            stopProducer(eventProducer, producerThread);
+        }
+    }
+
+
+    @Test
+    public void testPipelinedFailureResentBeforeLaterEvents() throws Exception {
+        MockProducer<String, byte[]> mockProducer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        KafkaOpenMetadataEventProducer eventProducer = getEventProducer(mockProducer, KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE);
+        Thread producerThread = new Thread(eventProducer);
+
+        producerThread.start();
+
+        try {
+            sendEvents(eventProducer, "e1", "e2", "e3");
+
+            /*
+             * The events are passed to Kafka without waiting for their acknowledgements.
+             */
+            waitFor(() -> mockProducer.history().size() == 3);
+
+            assertTrue(mockProducer.errorNext(new TimeoutException("test timeout")));
+
+            /*
+             * The producer lets the events after the failure complete and then sends the failed event again on its own.
+             */
+            waitFor(() -> mockProducer.history().size() == 4);
+
+            sendEvents(eventProducer, "e4", "e5");
+
+            Thread.sleep(200);
+
+            assertEquals(getSentEvents(mockProducer), Arrays.asList("e1", "e2", "e3", "e1"));
+
+            /*
+             * New events are only sent once the resent event is acknowledged.
+             */
+            assertTrue(mockProducer.completeNext());
+
+            waitFor(() -> mockProducer.history().size() == 6);
+
+            assertEquals(getSentEvents(mockProducer), Arrays.asList("e1", "e2", "e3", "e1", "e4", "e5"));
+
+            mockProducer.completeNext();
+            mockProducer.completeNext();
+
+            waitFor(() -> eventProducer.getMetrics().get("messageSendCount") == 5);
+            assertEquals(eventProducer.getMetrics().get("kafkaSendFailCount"), Long.valueOf(1));
+            assertEquals(eventProducer.getMetrics().get("messageFailedSendCount"), Long.valueOf(0));
+        } finally {
+            stopProducer(eventProducer, producerThread);
+        }
+    }
+
+
+    @Test
+    public void testPipelinedFatalErrorStopsProducer() throws Exception {
+        MockProducer<String, byte[]> mockProducer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        KafkaOpenMetadataEventProducer eventProducer = getEventProducer(mockProducer, KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE);
+        Thread producerThread = new Thread(eventProducer);
+
+        producerThread.start();
+
+        try {
+            sendEvents(eventProducer, "e1", "e2");
+
+            waitFor(() -> mockProducer.history().size() == 2);
+
+            assertTrue(mockProducer.errorNext(new IllegalStateException("test error")));
+
+            /*
+             * An error that can not be retried stops the producer rather than sending later events ahead of the lost one.
+             */
+            producerThread.join(waitTimeMs);
+
+            assertFalse(producerThread.isAlive());
+            assertEquals(mockProducer.history().size(), 2);
+            assertEquals(eventProducer.getMetrics().get("messageFailedSendCount"), Long.valueOf(1));
+        } finally {
+            stopProducer(eventProducer, producerThread);
+        }
+    }
+
+
+    @Test
+    public void testPipelinedProducerIsIdempotent() {
+        Properties producerProperties = new Properties();
+
+        producerProperties.put("enable.idempotence", "false");
+        producerProperties.put("acks", "1");
+        producerProperties.put("max.in.flight.requests.per.connection", "10");
+        producerProperties.put("retries", 3);
+
+        List<String> replacedProperties = getConfiguration(KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE)
+                .enforcePipelinedProducerProperties(producerProperties, topicName);
+
+        assertEquals(replacedProperties, Arrays.asList("enable.idempotence", "acks", "max.in.flight.requests.per.connection"));
+        assertEquals(producerProperties.get("enable.idempotence"), "true");
+        assertEquals(producerProperties.get("acks"), "all");
+        assertEquals(producerProperties.get("max.in.flight.requests.per.connection"), "5");
+        assertEquals(producerProperties.get("retries"), 3);
+
+        /*
+         * Compatible values are kept and missing values are added.
+         */
+        producerProperties = new Properties();
+
+        producerProperties.put("max.in.flight.requests.per.connection", "2");
+        producerProperties.put("acks", "ALL");
+
+        replacedProperties = getConfiguration(KafkaOpenMetadataEventProducerProperty.PIPELINED_SEND_MODE)
+                .enforcePipelinedProducerProperties(producerProperties, topicName);
+
+        assertTrue(replacedProperties.isEmpty());
+        assertEquals(producerProperties.get("enable.idempotence"), "true");
+        assertEquals(producerProperties.get("max.in.flight.requests.per.connection"), "2");
+
+        /*
+         * Synchronous mode leaves the properties alone.
+         */
+        producerProperties = new Properties();
+
+        producerProperties.put("enable.idempotence", "false");
+
+        replacedProperties = getConfiguration(KafkaOpenMetadataEventProducerProperty.SYNCHRONOUS_SEND_MODE)
+                .enforcePipelinedProducerProperties(producerProperties, topicName);
+
+        assertTrue(replacedProperties.isEmpty());
+        assertEquals(producerProperties.get("enable.idempotence"), "false");
+    }
+
+
+    /**
+     * Return the producer configuration for a send mode.
+     *
+     * @param sendMode synchronous or pipelined
+     * @return configuration
+     */
+    private KafkaOpenMetadataEventProducerConfiguration getConfiguration(String sendMode) {
+        Properties egeriaProperties = new Properties();
+
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.SEND_MODE.getPropertyName(), sendMode);
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_EVENTS.getPropertyName(), "10");
+        egeriaProperties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_RETRIES.getPropertyName(), "3");
+
+        return new KafkaOpenMetadataEventProducerConfiguration(egeriaProperties, null);
+    }
+
+
+    /**
+     * Return an event producer that sends to the mock producer.
+     *
+     * @param mockProducer Kafka producer used by the test
+     * @param sendMode synchronous or pipelined
+     * @return event producer
+     */
+    private KafkaOpenMetadataEventProducer getEventProducer(MockProducer<String, byte[]> mockProducer, String sendMode) {
+        return new KafkaOpenMetadataEventProducer(topicName, "testServer", new Properties(), getConfiguration(sendMode), null) {
+            @Override
+            Producer<String, byte[]> createProducer() {
+                return mockProducer;
+            }
+
+            @Override
+            protected void recoverAfterError() {
+                /* no need to wait in the tests */
+            }
+        };
+    }
+
+
+    /**
+     * Pass text events to the event producer.
+     *
+     * @param eventProducer event producer
+     * @param events events to send
+     * @throws Exception the events could not be buffered
+     */
+    private void sendEvents(KafkaOpenMetadataEventProducer eventProducer, String... events) throws Exception {
+        for (String event : events) {
+            eventProducer.sendEvent(event);
+        }
+    }
+
+
+    /**
+     * Return the events that have been passed to the mock producer in the order they were sent.
+     *
+     * @param mockProducer Kafka producer used by the test
+     * @return text of the events
+     */
+    private List<String> getSentEvents(MockProducer<String, byte[]> mockProducer) {
+        List<String> sentEvents = new ArrayList<>();
+
+        for (ProducerRecord<String, byte[]> producerRecord : mockProducer.history()) {
+            sentEvents.add(new String(producerRecord.value(), StandardCharsets.UTF_8));
+        }
+
+        return sentEvents;
+    }
+
+
+    /**
+     * Wait for a condition to become true.
+     *
+     * @param condition condition to test
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitTimeMs;
+
+        while ((!condition.getAsBoolean()) && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+
+
+    /**
+     * Stop the producer thread.
+     *
+     * @param eventProducer event producer
+     * @param producerThread thread running it
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void stopProducer(KafkaOpenMetadataEventProducer eventProducer, Thread producerThread) throws InterruptedException {
+        eventProducer.safeCloseProducer();
+        producerThread.join(waitTimeMs);
+    }
+}
@@ -0,0 +1,191 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Applies a group of graph mutations with one commit per batch instead of one commit per mutation. A batch is
+ * committed when it reaches the maximum number of mutations or has been open for longer than the maximum batch
+ * time. If a batch fails it is rolled back and its mutations are retried one by one, so only the mutations that
+ * fail on their own are reported to the error handler.
+ */
+public class BatchedGraphWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchedGraphWriter.class);
+
+    private final GraphHelper graphHelper;
+    private final int batchSize;
+    private final long maxBatchTimeNanos;
+
+    private final long startTime = System.nanoTime();
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder failedMutations = new LongAdder();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private final LongAccumulator maxCommitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param graphHelper        graph helper
+     * @param batchSize          maximum number of mutations committed together, 1 commits every mutation on its own
+     * @param maxBatchTimeMillis maximum time in milliseconds a batch is kept open before it is committed
+     */
+    public BatchedGraphWriter(GraphHelper graphHelper, int batchSize, long maxBatchTimeMillis) {
+        this.graphHelper = graphHelper;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchTimeMillis);
+    }
+
+    /**
+     * Apply the consumer to all the arguments, committing them in batches.
+     *
+     * @param consumer     must accept a GraphTraversalSource as the first parameter and has a second parameter
+     * @param arguments    the second arguments of the consumer, one for each mutation
+     * @param errorHandler function that is called when a mutation fails on its own
+     * @param <U>          type of the second parameter of the consumer
+     */
+    public <U> void write(BiConsumer<GraphTraversalSource, U> consumer, Collection<U> arguments, Consumer<Exception> errorHandler) {
+        GraphTraversalSource g = graphHelper.getGraphTraversalSource();
+        List<U> batch = new ArrayList<>();
+        long batchStart = System.nanoTime();
+        RuntimeException firstFailure = null;
+
+        for (U argument : arguments) {
+            batch.add(argument);
+            if (batch.size() >= batchSize || System.nanoTime() - batchStart >= maxBatchTimeNanos) {
+                firstFailure = getFirstFailure(firstFailure, commitBatch(g, consumer, batch, errorHandler));
+                batch.clear();
+                batchStart = System.nanoTime();
+            }
+        }
+        if (!batch.isEmpty()) {
+            firstFailure = getFirstFailure(firstFailure, commitBatch(g, consumer, batch, errorHandler));
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    private <U> RuntimeException commitBatch(GraphTraversalSource g, BiConsumer<GraphTraversalSource, U> consumer,
+                                             List<U> batch, Consumer<Exception> errorHandler) {
+        long commitStart = System.nanoTime();
+        try {
+            batch.forEach(argument -> consumer.accept(g, argument));
+            if (graphHelper.isSupportingTransactions()) {
+                g.tx().commit();
+            }
+            recordCommit(System.nanoTime() - commitStart, batch.size());
+            return null;
+        } catch (Exception e) {
+            g.tx().rollback();
+            failedBatches.increment();
+            log.debug("Batch of {} lineage graph mutations failed, retrying them one by one", batch.size(), e);
+            return retryOneByOne(consumer, batch, errorHandler);
+        }
+    }
+
+    private <U> RuntimeException retryOneByOne(BiConsumer<GraphTraversalSource, U> consumer, List<U> batch,
+                                               Consumer<Exception> errorHandler) {
+        RuntimeException firstFailure = null;
+        for (U argument : batch) {
+            long commitStart = System.nanoTime();
+            try {
+                graphHelper.commit(consumer, argument, errorHandler);
+                recordCommit(System.nanoTime() - commitStart, 1);
+            } catch (RuntimeException e) {
+                failedMutations.increment();
+                firstFailure = getFirstFailure(firstFailure, e);
+            }
+        }
+        return firstFailure;
+    }
+
+    private RuntimeException getFirstFailure(RuntimeException firstFailure, RuntimeException failure) {
+        return firstFailure == null ? failure : firstFailure;
+    }
+
+    private void recordCommit(long commitNanos, int batchMutations) {
+        mutations.add(batchMutations);
+        commits.increment();
+        totalCommitNanos.addAndGet(commitNanos);
+        maxCommitNanos.accumulate(commitNanos);
+    }
+
+    /**
+     * @return number of mutations committed
+     */
+    public long getMutationCount() {
+        return mutations.sum();
+    }
+
+    /**
+     * @return number of commits
+     */
+    public long getCommitCount() {
+        return commits.sum();
+    }
+
+    /**
+     * @return number of batches that failed and were retried one mutation at a time
+     */
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * @return number of mutations that failed on their own
+     */
+    public long getFailedMutationCount() {
+        return failedMutations.sum();
+    }
+
+    /**
+     * @return mutations committed per second since the writer was created
+     */
+    public double getMutationsPerSecond() {
+        long elapsedNanos = System.nanoTime() - startTime;
+        return elapsedNanos <= 0 ? 0 : getMutationCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @return average time in milliseconds taken by a commit, including applying its mutations
+     */
+    public double getAverageCommitLatencyMillis() {
+        long commitCount = getCommitCount();
+        return commitCount == 0 ? 0 : totalCommitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1) / commitCount;
+    }
+
+    /**
+     * @return longest time in milliseconds taken by a commit, including applying its mutations
+     */
+    public double getMaxCommitLatencyMillis() {
+        return maxCommitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedGraphWriter{" +
+                "batchSize=" + batchSize +
+                ", mutations=" + getMutationCount() +
+                ", commits=" + getCommitCount() +
+                ", failedBatches=" + getFailedBatchCount() +
+                ", failedMutations=" + getFailedMutationCount() +
+                ", mutationsPerSecond=" + getMutationsPerSecond() +
+                ", averageCommitLatencyMillis=" + getAverageCommitLatencyMillis() +
+                ", maxCommitLatencyMillis=" + getMaxCommitLatencyMillis() +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.SUB_GRAPH;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+
+/**
+ * Walks the lineage edges of the graph one level at a time, starting from the queried vertex. Each walk stops when
+ * it reaches the maximum depth or has visited the maximum number of vertices. The lineage found so far is kept
+ * and the traversal is marked as truncated, so large lineage graphs return a partial result instead of timing out.
+ */
+public class BoundedLineageTraversal {
+
+    private final int maxDepth;
+    private final int maxVertices;
+
+    private final Set<Object> edgeIds = new LinkedHashSet<>();
+    private final Set<Object> ultimateVertexIds = new LinkedHashSet<>();
+    private final Set<Object> visitedVertexIds = new HashSet<>();
+    private boolean truncated = false;
+
+    private Graph subgraph;
+    private List<Vertex> ultimateVertices = Collections.emptyList();
+    private Set<String> visitedGuids = Collections.emptySet();
+
+    /**
+     * @param maxDepth    maximum number of edges followed from the queried vertex in each walk
+     * @param maxVertices maximum number of vertices visited in each walk
+     */
+    public BoundedLineageTraversal(int maxDepth, int maxVertices) {
+        this.maxDepth = maxDepth;
+        this.maxVertices = maxVertices;
+    }
+
+    /**
+     * Follow the edges with the given labels from the start vertex until there are no more edges or the budget is
+     * spent. The vertices that have no more edges to follow are the ultimate vertices of the walk.
+     *
+     * @param g             graph traversal source
+     * @param startVertexId id of the queried vertex
+     * @param direction     IN to walk towards the sources, OUT to walk towards the destinations
+     * @param edgeLabels    labels of the edges to follow
+     */
+    public void walk(GraphTraversalSource g, Object startVertexId, Direction direction, String... edgeLabels) {
+        Set<Object> visited = new HashSet<>();
+        visited.add(startVertexId);
+        List<Object> frontier = Collections.singletonList(startVertexId);
+        int depth = 0;
+
+        while (!frontier.isEmpty()) {
+            List<Edge> edges = g.V(frontier.toArray()).toE(direction, edgeLabels).toList();
+            Set<Object> expandedVertexIds = new HashSet<>();
+            List<Object> nextFrontier = new ArrayList<>();
+
+            for (Edge edge : edges) {
+                Object nearVertexId = direction == Direction.IN ? edge.inVertex().id() : edge.outVertex().id();
+                Object farVertexId = direction == Direction.IN ? edge.outVertex().id() : edge.inVertex().id();
+                expandedVertexIds.add(nearVertexId);
+
+                if (depth >= maxDepth) {
+                    truncated = true;
+                } else if (visited.contains(farVertexId)) {
+                    edgeIds.add(edge.id());
+                } else if (visited.size() >= maxVertices) {
+                    truncated = true;
+                } else {
+                    visited.add(farVertexId);
+                    nextFrontier.add(farVertexId);
+                    edgeIds.add(edge.id());
+                }
+            }
+
+            frontier.stream().filter(vertexId -> !expandedVertexIds.contains(vertexId)).forEach(ultimateVertexIds::add);
+            frontier = depth >= maxDepth ? Collections.emptyList() : nextFrontier;
+            depth++;
+        }
+        visitedVertexIds.addAll(visited);
+    }
+
+    /**
+     * Load the results of the walks from the graph: the subgraph of the edges followed, the ultimate vertices and
+     * the guids of all visited vertices.
+     *
+     * @param g            graph traversal source
+     * @param loadSubgraph whether the subgraph of the followed edges is needed
+     */
+    public void load(GraphTraversalSource g, boolean loadSubgraph) {
+        if (loadSubgraph && !edgeIds.isEmpty()) {
+            subgraph = (Graph) g.E(edgeIds.toArray()).subgraph(SUB_GRAPH).cap(SUB_GRAPH).next();
+        }
+        if (!ultimateVertexIds.isEmpty()) {
+            ultimateVertices = g.V(ultimateVertexIds.toArray()).toList();
+        }
+        if (!visitedVertexIds.isEmpty()) {
+            visitedGuids = new HashSet<>(g.V(visitedVertexIds.toArray()).<String>values(PROPERTY_KEY_ENTITY_GUID).toList());
+        }
+    }
+
+    /**
+     * @return subgraph of the followed edges, or null if no edges were followed or the subgraph was not loaded
+     */
+    public Graph getSubgraph() {
+        return subgraph;
+    }
+
+    /**
+     * @return vertices where a walk ended because there were no more edges to follow
+     */
+    public List<Vertex> getUltimateVertices() {
+        return ultimateVertices;
+    }
+
+    /**
+     * @return guids of all the vertices visited by the walks
+     */
+    public Set<String> getVisitedGuids() {
+        return visitedGuids;
+    }
+
+    /**
+     * @return true if a walk stopped because it reached the maximum depth or number of vertices
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -14,6 +14,19 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlinea
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_LINEAGE_CACHE_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_MAX_LINEAGE_DEPTH;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_MAX_LINEAGE_VERTICES;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_WRITE_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_WRITE_MAX_BATCH_TIME;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.LINEAGE_CACHE_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.MAX_LINEAGE_DEPTH;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.MAX_LINEAGE_VERTICES;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.WRITE_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.WRITE_MAX_BATCH_TIME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.GRAPH_DISCONNECT_ERROR;
 
 @EqualsAndHashCode(callSuper = true)
@@ -31,6 +44,7 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
     private GraphHelper graphHelper;
     private LineageGraphStorageService graphStorageHelper;
     private LineageGraphQueryService lineageGraphQueryService;
+    private LineageResultCache lineageResultCache;
     private AuditLog auditLog;
 
     /**
@@ -41,11 +55,24 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
         try {
             this.graphHelper = new GraphHelper();
 
+            Map<String, Object> graphProperties = new HashMap<>();
+            if (connectionProperties.getConfigurationProperties() != null) {
+                graphProperties.putAll(connectionProperties.getConfigurationProperties());
+            }
+            int maxLineageDepth = getIntegerProperty(graphProperties.remove(MAX_LINEAGE_DEPTH), DEFAULT_MAX_LINEAGE_DEPTH);
+            int maxLineageVertices = getIntegerProperty(graphProperties.remove(MAX_LINEAGE_VERTICES), DEFAULT_MAX_LINEAGE_VERTICES);
+            int lineageCacheSize = getIntegerProperty(graphProperties.remove(LINEAGE_CACHE_SIZE), DEFAULT_LINEAGE_CACHE_SIZE);
+            int writeBatchSize = getIntegerProperty(graphProperties.remove(WRITE_BATCH_SIZE), DEFAULT_WRITE_BATCH_SIZE);
+            int writeMaxBatchTime = getIntegerProperty(graphProperties.remove(WRITE_MAX_BATCH_TIME), DEFAULT_WRITE_MAX_BATCH_TIME);
+
             this.graphHelper.openGraph(connectionProperties.getConnectorType().getConnectorProviderClassName(),
-                    connectionProperties.getConfigurationProperties(), auditLog);
+                    graphProperties, auditLog);
 
-            this.graphStorageHelper = new LineageGraphStorageService(graphHelper, auditLog);
-            this.lineageGraphQueryService = new LineageGraphQueryService(graphHelper, auditLog);
+            this.lineageResultCache = new LineageResultCache(lineageCacheSize);
+            this.graphStorageHelper = new LineageGraphStorageService(graphHelper, auditLog, lineageResultCache,
+                    new BatchedGraphWriter(graphHelper, writeBatchSize, writeMaxBatchTime));
+            this.lineageGraphQueryService = new LineageGraphQueryService(graphHelper, auditLog, lineageResultCache,
+                    maxLineageDepth, maxLineageVertices);
 
         } catch (JanusConnectorException error) {
             log.error(THE_LINEAGE_GRAPH_COULD_NOT_BE_INITIALIZED_DUE_TO_AN_ERROR, error);
@@ -55,9 +82,34 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
     }
 
 
+    /**
+     * Returns the value of an integer configuration property.
+     *
+     * @param value        value from the configuration properties, may be a number or a string
+     * @param defaultValue value to use if the property is not set
+     * @return the integer value
+     */
+    private int getIntegerProperty(Object value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value {} for lineage graph property, using {}", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Override
     public synchronized void disconnect() throws ConnectorCheckedException {
         try {
+            if (graphStorageHelper != null) {
+                log.info("Lineage graph write statistics: {}", graphStorageHelper.getBatchedGraphWriter());
+            }
             graphHelper.closeGraph();
             super.disconnect();
         } catch (ConnectorCheckedException e) {
@@ -71,6 +123,7 @@ public class LineageGraphConnector extends ConnectorBase implements OpenLineageG
     public void performLineageGraphJob() {
         LineageJobHelper lineageJobHelper = new LineageJobHelper(graphHelper, auditLog);
         lineageJobHelper.performLineageGraphJob();
+        lineageResultCache.invalidateAll();
     }
     @Override
     public OpenLineageQueryService getLineageQueryService(){
@@ -11,6 +11,28 @@ public class LineageGraphConnectorProvider extends LineageGraphProviderBase {
     static final String CONNECTOR_TYPE_NAME = "Janus Graph Connector";
     static final String CONNECTOR_TYPE_DESCRIPTION = "Connector supports storing and retrieving entities for lineage from Janus Graph.";
 
+    /*
+     * Configuration properties that bound the lineage queries and size the cache of lineage results.
+     * They apply to both the embedded and the remote graph and are not passed on to the graph itself.
+     */
+    public static final String MAX_LINEAGE_DEPTH = "lineage.query.maxDepth";
+    public static final String MAX_LINEAGE_VERTICES = "lineage.query.maxVertices";
+    public static final String LINEAGE_CACHE_SIZE = "lineage.query.cacheSize";
+
+    public static final int DEFAULT_MAX_LINEAGE_DEPTH = 100;
+    public static final int DEFAULT_MAX_LINEAGE_VERTICES = 10000;
+    public static final int DEFAULT_LINEAGE_CACHE_SIZE = 100;
+
+    /*
+     * Configuration properties that bound the batches in which the mutations of a lineage event are committed.
+     * The maximum batch time is in milliseconds.
+     */
+    public static final String WRITE_BATCH_SIZE = "lineage.write.batchSize";
+    public static final String WRITE_MAX_BATCH_TIME = "lineage.write.maxBatchTime";
+
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 100;
+    public static final int DEFAULT_WRITE_MAX_BATCH_TIME = 1000;
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * registry store implementation.
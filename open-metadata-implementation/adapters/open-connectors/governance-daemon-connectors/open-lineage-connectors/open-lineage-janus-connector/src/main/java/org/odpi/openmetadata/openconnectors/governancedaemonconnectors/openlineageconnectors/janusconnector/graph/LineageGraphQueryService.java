@@ -8,6 +8,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -56,6 +57,9 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.until;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_ENTITY_NOT_FOUND;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_LINEAGE_NOT_FOUND;
 import static org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageServerErrorCode.ERROR_TYPES_NOT_FOUND;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_LINEAGE_CACHE_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_MAX_LINEAGE_DEPTH;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_MAX_LINEAGE_VERTICES;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.CLASSIFICATION_NOT_FOUND;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.COULD_NOT_RETRIEVE_VERTEX;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.HIERARCHY_ERROR;
@@ -131,11 +135,30 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
     private final GraphHelper graphHelper;
     private final LineageGraphQueryHelper lineageGraphQueryHelper;
     private final AuditLog auditLog;
+    private final LineageResultCache lineageResultCache;
+    private final int maxLineageDepth;
+    private final int maxLineageVertices;
 
     public LineageGraphQueryService(GraphHelper graphHelper, AuditLog auditLog) {
+        this(graphHelper, auditLog, new LineageResultCache(DEFAULT_LINEAGE_CACHE_SIZE), DEFAULT_MAX_LINEAGE_DEPTH,
+                DEFAULT_MAX_LINEAGE_VERTICES);
+    }
+
+    /**
+     * @param graphHelper        graph helper
+     * @param auditLog           audit log
+     * @param lineageResultCache cache of lineage results, shared with the storage service that invalidates it
+     * @param maxLineageDepth    maximum number of edges followed from the queried entity in each direction
+     * @param maxLineageVertices maximum number of vertices visited in each direction
+     */
+    public LineageGraphQueryService(GraphHelper graphHelper, AuditLog auditLog, LineageResultCache lineageResultCache,
+                                    int maxLineageDepth, int maxLineageVertices) {
         this.graphHelper = graphHelper;
         this.auditLog = auditLog;
         this.lineageGraphQueryHelper = new LineageGraphQueryHelper(graphHelper);
+        this.lineageResultCache = lineageResultCache;
+        this.maxLineageDepth = maxLineageDepth;
+        this.maxLineageVertices = maxLineageVertices;
     }
 
     /**
@@ -195,7 +218,8 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      * Returns the end to end graph of queried entity, which can be a column or a table. In case of tables, relationships
      * of type DataFlow will be traversed backwards and forwards, all the way to the source and the destination,
      * respectively. If no vertices are found, then DataFlow relationships are used for traversal. In case of columns,
-     * DataFlow relationships are directly used
+     * DataFlow relationships are directly used. The traversal stops at the configured depth and vertex limits, in
+     * which case the returned graph is marked as truncated. Results are cached until the lineage graph changes.
      *
      * @param guid             queried entity
      * @param includeProcesses include processes
@@ -203,6 +227,12 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      */
     public Optional<LineageVerticesAndEdges> endToEnd(String guid, boolean includeProcesses) {
 
+        Optional<LineageVerticesAndEdges> cachedLineage = lineageResultCache.get(guid, Scope.END_TO_END, includeProcesses);
+        if (cachedLineage.isPresent()) {
+            return cachedLineage;
+        }
+        long cacheGeneration = lineageResultCache.getGeneration();
+
         Vertex queriedVertex = this.graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
 
@@ -212,7 +242,12 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
 
-        Graph endToEndGraph = this.graphHelper.getResult(this::queryEndToEnd, guid, edgeLabels, this::handleLineageNotFoundException);
+        BoundedLineageTraversal traversal = this.graphHelper.getResult(this::traverseEndToEnd, guid, edgeLabels,
+                this::handleLineageNotFoundException);
+        if (traversal == null) {
+            return Optional.empty();
+        }
+        Graph endToEndGraph = traversal.getSubgraph();
         if (endToEndGraph == null || !endToEndGraph.vertices().hasNext()) {
             return Optional.empty();
         }
@@ -220,9 +255,44 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
         LineageVerticesAndEdges lineageVerticesAndEdges = this.lineageGraphQueryHelper.getLineageVerticesAndEdges(endToEndGraph, includeProcesses);
         addIncompleteClassifications(lineageVerticesAndEdges);
         this.lineageGraphQueryHelper.addColumnProperties(lineageVerticesAndEdges);
+        lineageVerticesAndEdges.setTruncated(traversal.isTruncated());
+        lineageResultCache.put(guid, Scope.END_TO_END, includeProcesses, lineageVerticesAndEdges, traversal.getVisitedGuids(),
+                cacheGeneration);
         return Optional.of(lineageVerticesAndEdges);
     }
 
+    /**
+     * Walks the graph backwards and forwards from the queried entity, within the depth and vertex limits
+     *
+     * @param guid       queried entity
+     * @param edgeLabels edge type to traverse
+     * @return traversal holding the subgraph of the edges followed
+     */
+    private BoundedLineageTraversal traverseEndToEnd(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        return traverse(g, guid, edgeLabels, true, Direction.IN, Direction.OUT);
+    }
+
+    /**
+     * Walks the graph from the queried entity in each of the directions, within the depth and vertex limits
+     *
+     * @param guid         queried entity
+     * @param edgeLabels   edge type to traverse
+     * @param loadSubgraph whether the subgraph of the edges followed is needed
+     * @param directions   directions to walk
+     * @return traversal holding the results of the walks
+     */
+    private BoundedLineageTraversal traverse(GraphTraversalSource g, String guid, List<String> edgeLabels, boolean loadSubgraph,
+                                             Direction... directions) {
+        String[] labels = edgeLabels.toArray(new String[0]);
+        Object queriedVertexId = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).id().next();
+        BoundedLineageTraversal traversal = new BoundedLineageTraversal(maxLineageDepth, maxLineageVertices);
+        for (Direction direction : directions) {
+            traversal.walk(g, queriedVertexId, direction, labels);
+        }
+        traversal.load(g, loadSubgraph);
+        return traversal;
+    }
+
     /**
      * Queries graph for end to end
      *
@@ -257,13 +327,20 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      * Returns the ultimate source graph of queried entity, which can be a column or a table. In case of tables,
      * relationships of type DataFlow will be traversed backwards, all the way to the source. If no vertices are
      * found, then DataFlow relationships are used for traversal. In case of columns, DataFlow relationships are
-     * directly used
+     * directly used. The traversal stops at the configured depth and vertex limits, in which case the returned graph
+     * is marked as truncated. Results are cached until the lineage graph changes.
      *
      * @param guid queried entity
      * @return graph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> ultimateSource(String guid) {
 
+        Optional<LineageVerticesAndEdges> cachedLineage = lineageResultCache.get(guid, Scope.ULTIMATE_SOURCE, false);
+        if (cachedLineage.isPresent()) {
+            return cachedLineage;
+        }
+        long cacheGeneration = lineageResultCache.getGeneration();
+
         Vertex queriedVertex = this.graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
 
@@ -273,9 +350,9 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
             return Optional.empty();
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
-        List<Vertex> sourcesList = this.graphHelper.getResult(this::querySources, guid, edgeLabels, this::handleLineageNotFoundException);
-        Set<LineageVertex> lineageVertices = this.lineageGraphQueryHelper.getLineageVertices(sourcesList);
-        return Optional.of(getCondensedLineage(queriedVertex, lineageVertices, SOURCE_CONDENSATION));
+        BoundedLineageTraversal traversal = this.graphHelper.getResult(this::querySources, guid, edgeLabels,
+                this::handleLineageNotFoundException);
+        return getCondensedLineage(guid, Scope.ULTIMATE_SOURCE, queriedVertex, traversal, SOURCE_CONDENSATION, cacheGeneration);
     }
 
     /**
@@ -283,27 +360,29 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      *
      * @param guid       entity
      * @param edgeLabels edge type to traverse
-     * @return sources
+     * @return traversal holding the sources
      */
-    private List<Vertex> querySources(GraphTraversalSource g, String guid, List<String> edgeLabels) {
-        String[] labels = edgeLabels.toArray(new String[0]);
-        List<Vertex> sourceList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                until(inE(labels).count().is(0)).
-                repeat(inE(labels).outV().simplePath().dedup()).
-                dedup().toList();
-        return sourceList;
+    private BoundedLineageTraversal querySources(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        return traverse(g, guid, edgeLabels, false, Direction.IN);
     }
 
     /**
      * Returns the ultimate destination graph of queried entity, which can be a column or a table. In case of tables,
      * relationships of type DataFlow will be traversed forwards, all the way to the destination. If no vertices
      * are found, then DataFlow relationships are used for traversal. In case of columns, DataFlow relationships are
-     * directly used
+     * directly used. The traversal stops at the configured depth and vertex limits, in which case the returned graph
+     * is marked as truncated. Results are cached until the lineage graph changes.
      *
      * @param guid queried entity
      * @return graph in an Open Lineage specific format
      */
     public Optional<LineageVerticesAndEdges> ultimateDestination(String guid) {
+        Optional<LineageVerticesAndEdges> cachedLineage = lineageResultCache.get(guid, Scope.ULTIMATE_DESTINATION, false);
+        if (cachedLineage.isPresent()) {
+            return cachedLineage;
+        }
+        long cacheGeneration = lineageResultCache.getGeneration();
+
         Vertex queriedVertex = graphHelper.getResult(this::getQueriedVertex, guid, this::handleGetQueriedVertexException);
         String label = queriedVertex.label();
         Optional<List<String>> edgeLabelsOptional = getEdgeLabelsForDataFlow(label);
@@ -311,10 +390,10 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
             return Optional.empty();
         }
         List<String> edgeLabels = edgeLabelsOptional.get();
-        List<Vertex> destinationsList = graphHelper.getResult(this::queryDestinations, guid, edgeLabels, this::handleLineageNotFoundException);
-        Set<LineageVertex> lineageVertices = this.lineageGraphQueryHelper.getLineageVertices(destinationsList);
-        return Optional.of(getCondensedLineage(queriedVertex, lineageVertices, DESTINATION_CONDENSATION));
-
+        BoundedLineageTraversal traversal = graphHelper.getResult(this::queryDestinations, guid, edgeLabels,
+                this::handleLineageNotFoundException);
+        return getCondensedLineage(guid, Scope.ULTIMATE_DESTINATION, queriedVertex, traversal, DESTINATION_CONDENSATION,
+                cacheGeneration);
     }
 
     /**
@@ -322,16 +401,34 @@ public class LineageGraphQueryService implements OpenLineageQueryService {
      *
      * @param guid       entity
      * @param edgeLabels edge type to traverse
-     * @return sources
+     * @return traversal holding the destinations
      */
-    private List<Vertex> queryDestinations(GraphTraversalSource g, String guid, List<String> edgeLabels) {
-        String[] labels = edgeLabels.toArray(new String[0]);
-        List<Vertex> destinationList = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).
-                until(outE(labels).count().is(0)).
-                repeat(outE(labels).inV().simplePath().dedup()).
-                dedup().toList();
+    private BoundedLineageTraversal queryDestinations(GraphTraversalSource g, String guid, List<String> edgeLabels) {
+        return traverse(g, guid, edgeLabels, false, Direction.OUT);
+    }
 
-        return destinationList;
+    /**
+     * Condenses the ultimate vertices found by the traversal and caches the result
+     *
+     * @param guid             queried entity
+     * @param scope            scope of the lineage
+     * @param queriedVertex    the starting vertex
+     * @param traversal        traversal holding the ultimate vertices
+     * @param condensationType the type of the condensation
+     * @param cacheGeneration  generation of the cache read before the traversal
+     * @return the subgraph in an Open Lineage specific format
+     */
+    private Optional<LineageVerticesAndEdges> getCondensedLineage(String guid, Scope scope, Vertex queriedVertex,
+                                                                  BoundedLineageTraversal traversal, String condensationType,
+                                                                  long cacheGeneration) {
+        if (traversal == null) {
+            return Optional.of(getCondensedLineage(queriedVertex, new HashSet<>(), condensationType));
+        }
+        Set<LineageVertex> lineageVertices = this.lineageGraphQueryHelper.getLineageVertices(traversal.getUltimateVertices());
+        LineageVerticesAndEdges lineageVerticesAndEdges = getCondensedLineage(queriedVertex, lineageVertices, condensationType);
+        lineageVerticesAndEdges.setTruncated(traversal.isTruncated());
+        lineageResultCache.put(guid, scope, false, lineageVerticesAndEdges, traversal.getVisitedGuids(), cacheGeneration);
+        return Optional.of(lineageVerticesAndEdges);
     }
 
     /**
@@ -22,6 +22,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,9 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inE;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inV;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outV;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.unfold;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_LINEAGE_CACHE_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_WRITE_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider.DEFAULT_WRITE_MAX_BATCH_TIME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.COULD_NOT_RETRIEVE_LAST_UPDATE_TIME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.COULD_NOT_SAVE_LAST_UPDATE_TIME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.DELETE_CLASSIFICATION_EXCEPTION;
@@ -84,13 +89,61 @@ public class LineageGraphStorageService implements LineageGraph {
     private LineageGraphQueryService helper;
     private GraphHelper graphHelper;
     private AuditLog auditLog;
+    private LineageResultCache lineageResultCache;
+    private BatchedGraphWriter batchedGraphWriter;
 
     public LineageGraphStorageService(GraphHelper graphHelper, AuditLog auditLog) {
+        this(graphHelper, auditLog, new LineageResultCache(DEFAULT_LINEAGE_CACHE_SIZE),
+                new BatchedGraphWriter(graphHelper, DEFAULT_WRITE_BATCH_SIZE, DEFAULT_WRITE_MAX_BATCH_TIME));
+    }
+
+    /**
+     * @param graphHelper        graph helper
+     * @param auditLog           audit log
+     * @param lineageResultCache cache of lineage results, invalidated when the vertices it visited are written to
+     * @param batchedGraphWriter writer that commits the mutations of a lineage event in batches
+     */
+    public LineageGraphStorageService(GraphHelper graphHelper, AuditLog auditLog, LineageResultCache lineageResultCache,
+                                      BatchedGraphWriter batchedGraphWriter) {
         this.graphHelper = graphHelper;
         this.auditLog = auditLog;
+        this.lineageResultCache = lineageResultCache;
+        this.batchedGraphWriter = batchedGraphWriter;
         this.helper = new LineageGraphQueryService(graphHelper, auditLog);
     }
 
+    /**
+     * Returns the writer used to commit the mutations, with its throughput and commit latency statistics
+     *
+     * @return batched graph writer
+     */
+    public BatchedGraphWriter getBatchedGraphWriter() {
+        return batchedGraphWriter;
+    }
+
+    /**
+     * Drops the cached lineage results that visited any of the entities
+     *
+     * @param guids guids of the entities written to
+     */
+    private void invalidateLineage(String... guids) {
+        lineageResultCache.invalidate(Arrays.asList(guids));
+    }
+
+    /**
+     * Drops the cached lineage results that visited any of the entities of the graph contexts
+     *
+     * @param graphContext graph contexts written to
+     */
+    private void invalidateLineage(Set<GraphContext> graphContext) {
+        Set<String> guids = new HashSet<>();
+        graphContext.forEach(context -> {
+            guids.add(context.getFromVertex().getGuid());
+            guids.add(context.getToVertex().getGuid());
+        });
+        lineageResultCache.invalidate(guids);
+    }
+
     /**
      * Creates vertices and the relationships between them
      *
@@ -98,7 +151,12 @@ public class LineageGraphStorageService implements LineageGraph {
      */
     @Override
     public void storeToGraph(Set<GraphContext> graphContext) {
-        graphContext.stream().map(this::getGraphRelationship).forEach(this::storeRelationship);
+        List<GraphRelationship> relationships = graphContext.stream().map(this::getGraphRelationship).collect(Collectors.toList());
+        try {
+            batchedGraphWriter.write(this::upsertToGraph, relationships, this::handleStoreRelationshipError);
+        } finally {
+            invalidateLineage(graphContext);
+        }
     }
 
     private GraphRelationship getGraphRelationship(GraphContext entry) {
@@ -107,11 +165,6 @@ public class LineageGraphStorageService implements LineageGraph {
         return new GraphRelationship(fromEntity, toEntity, entry.getRelationshipType(), entry.getRelationshipGuid());
     }
 
-    private void storeRelationship(GraphRelationship relationship) {
-        BiConsumer<GraphTraversalSource, GraphRelationship> upsertToGraph = this::upsertToGraph;
-        graphHelper.commit(upsertToGraph, relationship, this::handleStoreRelationshipError);
-    }
-
     private void handleStoreRelationshipError(Exception e) throws JanusConnectorException {
         this.auditLog.logException(VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION.getErrorMessage(),
                 VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION.getMessageDefinition(), e);
@@ -171,6 +224,8 @@ public class LineageGraphStorageService implements LineageGraph {
                 this.graphHelper.getResult(this::getAllNeighbours, syncUpdateContext.getEntityGUID(), this::handleErrorGetAllNeighbours);
         if (isDifferentGraphContext(syncUpdateContext.getNeighboursGUID(), existingNeighboursGUIDs)) {
             this.graphHelper.commit(this::removeObsoleteEdges, syncUpdateContext, existingNeighboursGUIDs, this::handleErrorRemoveObsoleteEdges);
+            invalidateLineage(syncUpdateContext.getEntityGUID());
+            lineageResultCache.invalidate(existingNeighboursGUIDs);
         }
     }
 
@@ -229,7 +284,7 @@ public class LineageGraphStorageService implements LineageGraph {
     @Override
     public void updateEntity(LineageEntity lineageEntity) {
         this.graphHelper.commit(this::updateEntityInGraph, lineageEntity, this::handleUpdateEntityError);
-
+        invalidateLineage(lineageEntity.getGuid());
     }
 
     private void updateEntityInGraph(GraphTraversalSource g, LineageEntity entity) {
@@ -271,19 +326,23 @@ public class LineageGraphStorageService implements LineageGraph {
     /**
      * Create or update the relationship between two edges
      * In case the vertexes are not created, they are firstly created
+     * The vertices, the edge and its properties are written in the same transaction. A failure to write the
+     * properties is still reported as a properties edge error.
      *
      * @param lineageRelationship relationship to be updated or created
      */
     @Override
     public void upsertRelationship(LineageRelationship lineageRelationship) {
-
-        GraphRelationship graphRelationship = new GraphRelationship(lineageRelationship);
-
-        BiConsumer<GraphTraversalSource, GraphRelationship> upsertToGraph = this::upsertToGraph;
-        graphHelper.commit(upsertToGraph, graphRelationship, this::handleStoreRelationshipError);
-
-        BiConsumer<GraphTraversalSource, LineageRelationship> addOrUpdatePropertiesEdge = this::addOrUpdatePropertiesEdge;
-        graphHelper.commit(addOrUpdatePropertiesEdge, lineageRelationship, this::handlePropertiesEdgeException);
+        BiConsumer<GraphTraversalSource, LineageRelationship> upsertRelationship = (g, relationship) -> {
+            upsertToGraph(g, new GraphRelationship(relationship));
+            try {
+                addOrUpdatePropertiesEdge(g, relationship);
+            } catch (Exception e) {
+                throw new PropertiesEdgeException(e);
+            }
+        };
+        graphHelper.commit(upsertRelationship, lineageRelationship, this::handleUpsertRelationshipError);
+        invalidateLineage(lineageRelationship.getSourceEntity().getGuid(), lineageRelationship.getTargetEntity().getGuid());
     }
 
     /**
@@ -319,6 +378,24 @@ public class LineageGraphStorageService implements LineageGraph {
                         .property(__.select(KV).by(Column.keys), __.select(KV).by(Column.values))).iterate();
     }
 
+    private void handleUpsertRelationshipError(Exception e) {
+        if (e instanceof PropertiesEdgeException) {
+            handlePropertiesEdgeException((Exception) e.getCause());
+        } else {
+            handleStoreRelationshipError(e);
+        }
+    }
+
+    /**
+     * Marks a failure to write the properties of the edge, so that the rollback of the whole upsert
+     * reports it with the properties edge error.
+     */
+    private static class PropertiesEdgeException extends RuntimeException {
+        private PropertiesEdgeException(Exception cause) {
+            super(cause);
+        }
+    }
+
     private void handlePropertiesEdgeException(Exception e) {
         this.auditLog.logException(UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE.getErrorMessage(),
                 UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE.getMessageDefinition(), e);
@@ -334,6 +411,7 @@ public class LineageGraphStorageService implements LineageGraph {
     public void updateRelationship(LineageRelationship lineageRelationship) {
         BiConsumer<GraphTraversalSource, LineageRelationship> updateEdgeIfItExists = this::updateEdgeIfItExists;
         this.graphHelper.commit(updateEdgeIfItExists, lineageRelationship, this::handlePropertiesEdgeException);
+        invalidateLineage(lineageRelationship.getSourceEntity().getGuid(), lineageRelationship.getTargetEntity().getGuid());
     }
 
     private void updateEdgeIfItExists(GraphTraversalSource g, LineageRelationship lineageRelationship) {
@@ -352,7 +430,11 @@ public class LineageGraphStorageService implements LineageGraph {
      */
     @Override
     public void updateClassification(Set<GraphContext> classificationContext) {
-        classificationContext.forEach(context -> this.graphHelper.commit(this::updateClassification, context, this::handleUpdateClassificationException));
+        try {
+            batchedGraphWriter.write(this::updateClassification, classificationContext, this::handleUpdateClassificationException);
+        } finally {
+            invalidateLineage(classificationContext);
+        }
     }
 
     private void updateClassification(GraphTraversalSource g, GraphContext graphContext) {
@@ -385,7 +467,11 @@ public class LineageGraphStorageService implements LineageGraph {
     @Override
     public void deleteClassification(Set<GraphContext> classificationContext) {
         BiConsumer<GraphTraversalSource, GraphContext> deleteClassification = this::deleteClassification;
-        classificationContext.forEach(classification -> graphHelper.commit(deleteClassification, classification, this::handleDeleteClassificationException));
+        try {
+            batchedGraphWriter.write(deleteClassification, classificationContext, this::handleDeleteClassificationException);
+        } finally {
+            invalidateLineage(classificationContext);
+        }
     }
 
     private void deleteClassification(GraphTraversalSource g, GraphContext context) {
@@ -419,16 +505,20 @@ public class LineageGraphStorageService implements LineageGraph {
 
     @Override
     public void deleteRelationship(String guid) {
+        List<String> endGuids = new ArrayList<>();
         BiConsumer<GraphTraversalSource, String> deleteRelationship = (g, edgeGuid) -> {
             Iterator<Edge> edge = g.E().has(PROPERTY_KEY_RELATIONSHIP_GUID, edgeGuid);
             if (!edge.hasNext()) {
                 log.debug(EDGE_WITH_GUID_DID_NOT_DELETE, edgeGuid);
                 return;
             }
-            g.E(edge.next().id()).drop().iterate();
+            Object edgeId = edge.next().id();
+            endGuids.addAll(g.E(edgeId).bothV().<String>values(PROPERTY_KEY_ENTITY_GUID).toList());
+            g.E(edgeId).drop().iterate();
             log.debug(EDGE_WITH_GUID_DELETED, edgeGuid);
         };
         graphHelper.commit(deleteRelationship, guid, this::handleDeleteRelationshipException);
+        lineageResultCache.invalidate(endGuids);
     }
 
     private void handleDeleteRelationshipException(Exception e) {
@@ -445,6 +535,7 @@ public class LineageGraphStorageService implements LineageGraph {
          * */
         BiConsumer<GraphTraversalSource, String> deleteEntity = this::deleteEntity;
         this.graphHelper.commit(deleteEntity, guid, this::handleDeleteEntityException);
+        invalidateLineage(guid);
         log.debug(VERTEX_WITH_GUID_DELETED, guid);
     }
 
@@ -0,0 +1,153 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the most recently used lineage results, keyed by queried guid, scope and includeProcesses. Each result
+ * records the guids of the vertices visited to build it, and is dropped when the storage service writes to any of
+ * those vertices. A result computed while a write was happening is not kept, because it may already be out of date.
+ */
+public class LineageResultCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, CachedLineage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByGuid = new HashMap<>();
+    private long generation = 0;
+
+    /**
+     * @param maxEntries maximum number of lineage results kept, 0 turns the cache off
+     */
+    public LineageResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Return the current generation of the cache. It changes on every invalidation and must be read before the
+     * lineage is computed, then passed to {@link #put}.
+     *
+     * @return generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Return the cached lineage for the query.
+     *
+     * @param guid             queried entity
+     * @param scope            scope of the lineage
+     * @param includeProcesses include processes
+     * @return cached lineage, if any
+     */
+    public synchronized Optional<LineageVerticesAndEdges> get(String guid, Scope scope, boolean includeProcesses) {
+        CachedLineage cachedLineage = entries.get(getKey(guid, scope, includeProcesses));
+        return cachedLineage == null ? Optional.empty() : Optional.of(cachedLineage.lineage);
+    }
+
+    /**
+     * Save the lineage for the query, unless the cache has been invalidated since the generation was read.
+     *
+     * @param guid             queried entity
+     * @param scope            scope of the lineage
+     * @param includeProcesses include processes
+     * @param lineage          lineage returned for the query
+     * @param visitedGuids     guids of the vertices visited to build the lineage
+     * @param queryGeneration  generation read before the lineage was computed
+     */
+    public synchronized void put(String guid, Scope scope, boolean includeProcesses, LineageVerticesAndEdges lineage,
+                                 Set<String> visitedGuids, long queryGeneration) {
+        if (maxEntries <= 0 || queryGeneration != generation) {
+            return;
+        }
+        String key = getKey(guid, scope, includeProcesses);
+        Set<String> guids = new HashSet<>(visitedGuids);
+        guids.add(guid);
+
+        remove(key);
+        entries.put(key, new CachedLineage(lineage, guids));
+        guids.forEach(visitedGuid -> keysByGuid.computeIfAbsent(visitedGuid, k -> new HashSet<>()).add(key));
+
+        Iterator<Map.Entry<String, CachedLineage>> eldestEntries = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldestEntries.hasNext()) {
+            Map.Entry<String, CachedLineage> eldestEntry = eldestEntries.next();
+            eldestEntries.remove();
+            unindex(eldestEntry.getKey(), eldestEntry.getValue().visitedGuids);
+        }
+    }
+
+    /**
+     * Drop the cached lineage that visited any of the vertices.
+     *
+     * @param guids guids of the vertices written to
+     */
+    public synchronized void invalidate(Collection<String> guids) {
+        generation++;
+        for (String guid : guids) {
+            Set<String> keys = keysByGuid.remove(guid);
+            if (keys != null) {
+                keys.forEach(this::remove);
+            }
+        }
+    }
+
+    /**
+     * Drop all cached lineage.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        keysByGuid.clear();
+    }
+
+    /**
+     * @return number of cached lineage results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        CachedLineage cachedLineage = entries.remove(key);
+        if (cachedLineage != null) {
+            unindex(key, cachedLineage.visitedGuids);
+        }
+    }
+
+    private void unindex(String key, Set<String> visitedGuids) {
+        for (String guid : visitedGuids) {
+            Set<String> keys = keysByGuid.get(guid);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByGuid.remove(guid);
+                }
+            }
+        }
+    }
+
+    private String getKey(String guid, Scope scope, boolean includeProcesses) {
+        return guid + "|" + scope + "|" + includeProcesses;
+    }
+
+    private static class CachedLineage {
+        private final LineageVerticesAndEdges lineage;
+        private final Set<String> visitedGuids;
+
+        private CachedLineage(LineageVerticesAndEdges lineage, Set<String> visitedGuids) {
+            this.lineage = lineage;
+            this.visitedGuids = visitedGuids;
+        }
+    }
+}
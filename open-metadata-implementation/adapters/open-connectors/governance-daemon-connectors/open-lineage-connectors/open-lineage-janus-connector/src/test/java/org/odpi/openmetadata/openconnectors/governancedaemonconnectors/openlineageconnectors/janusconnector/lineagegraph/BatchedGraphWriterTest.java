@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.BatchedGraphWriter;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.GraphHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+
+public class BatchedGraphWriterTest {
+
+    private static final String CONNECTOR_PROVIDER_NAME = "org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider";
+    private static final String FAILING_GUID = "failing";
+
+    private GraphHelper graphHelper;
+
+    private final BiConsumer<GraphTraversalSource, String> addVertex = (g, guid) -> {
+        if (FAILING_GUID.equals(guid)) {
+            throw new IllegalStateException(guid);
+        }
+        g.addV("Test").property(PROPERTY_KEY_ENTITY_GUID, guid).next();
+    };
+
+    @BeforeEach
+    public void beforeEach() throws JanusConnectorException, OpenLineageException {
+        graphHelper = new GraphHelper();
+        graphHelper.openGraph(CONNECTOR_PROVIDER_NAME, Collections.singletonMap("storage.backend", "inmemory"), null);
+    }
+
+    @Test
+    void writeCommitsInBatches() {
+        BatchedGraphWriter batchedGraphWriter = new BatchedGraphWriter(graphHelper, 2, 60000);
+        List<String> guids = Arrays.asList("v1", "v2", "v3", "v4", "v5");
+
+        batchedGraphWriter.write(addVertex, guids, e -> {
+            throw new IllegalStateException(e);
+        });
+
+        assertEquals(5, batchedGraphWriter.getMutationCount());
+        assertEquals(3, batchedGraphWriter.getCommitCount());
+        assertEquals(0, batchedGraphWriter.getFailedBatchCount());
+        assertEquals(5, graphHelper.getGraphTraversalSource().V().has(PROPERTY_KEY_ENTITY_GUID).count().next());
+    }
+
+    @Test
+    void writeRetriesFailedBatchOneByOne() {
+        BatchedGraphWriter batchedGraphWriter = new BatchedGraphWriter(graphHelper, 10, 60000);
+        List<String> guids = Arrays.asList("v1", FAILING_GUID, "v2");
+
+        assertThrows(IllegalArgumentException.class, () -> batchedGraphWriter.write(addVertex, guids, e -> {
+            throw new IllegalArgumentException(e);
+        }));
+
+        assertEquals(1, batchedGraphWriter.getFailedBatchCount());
+        assertEquals(1, batchedGraphWriter.getFailedMutationCount());
+        assertEquals(2, batchedGraphWriter.getMutationCount());
+        assertEquals(2, graphHelper.getGraphTraversalSource().V().has(PROPERTY_KEY_ENTITY_GUID).count().next());
+    }
+}
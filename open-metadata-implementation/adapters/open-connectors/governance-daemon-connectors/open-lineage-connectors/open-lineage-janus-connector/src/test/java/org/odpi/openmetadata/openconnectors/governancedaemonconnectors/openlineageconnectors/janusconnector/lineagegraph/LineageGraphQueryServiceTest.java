@@ -20,6 +20,7 @@ import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageSear
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageTypesResponse;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.GraphHelper;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphQueryService;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageResultCache;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
 
 import java.util.Arrays;
@@ -29,7 +30,10 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ASSET_SCHEMA_TYPE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.ATTRIBUTE_FOR_SCHEMA;
@@ -69,11 +73,12 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class LineageGraphQueryServiceTest {
 
     static LineageGraphQueryService lineageGraphQueryService;
+    static GraphHelper graphHelper;
     private static final String CONNECTOR_PROVIDER_NAME = "org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider";
 
     @BeforeAll
     public static void beforeClass() throws JanusConnectorException, OpenLineageException {
-        GraphHelper graphHelper = new GraphHelper();
+        graphHelper = new GraphHelper();
         graphHelper.openGraph(CONNECTOR_PROVIDER_NAME, Collections.singletonMap("storage.backend", "inmemory"), null);
         lineageGraphQueryService = new LineageGraphQueryService(graphHelper, null);
         addColumnLineageData(graphHelper.getGraphTraversalSource());
@@ -134,6 +139,38 @@ public class LineageGraphQueryServiceTest {
         validateResponse(expectedNodeIDs, lineageVertices);
     }
 
+    @Test
+    void endToEndColumnLevelTruncated() {
+        HashSet<String> expectedNodeIDs = new HashSet<>();
+        final String queriedNodeID = "c22";
+        expectedNodeIDs.add("c22");
+        expectedNodeIDs.add("sp2");
+        expectedNodeIDs.add("sp3");
+
+        LineageGraphQueryService boundedQueryService = new LineageGraphQueryService(graphHelper, null,
+                new LineageResultCache(0), 1, 100);
+        LineageVerticesAndEdges lineageVerticesAndEdges = boundedQueryService.endToEnd(queriedNodeID, true).get();
+
+        assertTrue(lineageVerticesAndEdges.isTruncated());
+        validateResponse(expectedNodeIDs, lineageVerticesAndEdges.getLineageVertices());
+        assertFalse(lineageGraphQueryService.endToEnd(queriedNodeID, true).get().isTruncated());
+    }
+
+    @Test
+    void endToEndColumnLevelCached() {
+        LineageResultCache lineageResultCache = new LineageResultCache(10);
+        LineageGraphQueryService cachedQueryService = new LineageGraphQueryService(graphHelper, null,
+                lineageResultCache, 100, 100);
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = cachedQueryService.endToEnd("c22", true).get();
+        assertSame(lineageVerticesAndEdges, cachedQueryService.endToEnd("c22", true).get());
+        assertEquals(1, lineageResultCache.size());
+
+        lineageResultCache.invalidate(Collections.singletonList("c41"));
+        assertEquals(0, lineageResultCache.size());
+        assertNotSame(lineageVerticesAndEdges, cachedQueryService.endToEnd("c22", true).get());
+    }
+
     @Test
     void verticalLineage() {
         HashSet<String> expectedNodeIDs = new HashSet<>();
@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.lineagegraph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageRelationship;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.GraphHelper;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphStorageService;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode.VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_GUID;
+
+public class LineageGraphStorageServiceTest {
+
+    private static final String CONNECTOR_PROVIDER_NAME = "org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.graph.LineageGraphConnectorProvider";
+
+    private GraphHelper graphHelper;
+    private AuditLog auditLog;
+    private LineageGraphStorageService lineageGraphStorageService;
+
+    @BeforeEach
+    public void beforeEach() throws JanusConnectorException, OpenLineageException {
+        graphHelper = new GraphHelper();
+        graphHelper.openGraph(CONNECTOR_PROVIDER_NAME, Collections.singletonMap("storage.backend", "inmemory"), null);
+        auditLog = mock(AuditLog.class);
+        lineageGraphStorageService = new LineageGraphStorageService(graphHelper, auditLog);
+    }
+
+    @Test
+    void upsertRelationshipReportsPropertiesEdgeError() {
+        LineageRelationship lineageRelationship = getLineageRelationship(entity("source"), entity("target"));
+        lineageRelationship.setProperties(null);
+
+        JanusConnectorException exception = assertThrows(JanusConnectorException.class,
+                () -> lineageGraphStorageService.upsertRelationship(lineageRelationship));
+
+        assertEquals(UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE.getErrorMessage(), exception.getMessage());
+        verify(auditLog).logException(eq(UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE.getErrorMessage()),
+                eq(UNABLE_TO_ADD_PROPERTIES_ON_EDGE_FROM_RELATIONSHIP_WITH_TYPE.getMessageDefinition()), any(NullPointerException.class));
+        assertEquals(0, graphHelper.getGraphTraversalSource().V().has(PROPERTY_KEY_ENTITY_GUID).count().next());
+    }
+
+    @Test
+    void upsertRelationshipReportsVertexError() {
+        LineageEntity source = entity("source");
+        source.setProperties(null);
+        LineageRelationship lineageRelationship = getLineageRelationship(source, entity("target"));
+
+        JanusConnectorException exception = assertThrows(JanusConnectorException.class,
+                () -> lineageGraphStorageService.upsertRelationship(lineageRelationship));
+
+        assertEquals(VERTICES_AND_RELATIONSHIP_CREATION_EXCEPTION.getErrorMessage(), exception.getMessage());
+        assertEquals(0, graphHelper.getGraphTraversalSource().V().has(PROPERTY_KEY_ENTITY_GUID).count().next());
+    }
+
+    @Test
+    void upsertRelationshipStoresVerticesAndEdge() {
+        LineageRelationship lineageRelationship = getLineageRelationship(entity("source"), entity("target"));
+
+        lineageGraphStorageService.upsertRelationship(lineageRelationship);
+
+        assertEquals(2, graphHelper.getGraphTraversalSource().V().has(PROPERTY_KEY_ENTITY_GUID).count().next());
+        assertEquals(1, graphHelper.getGraphTraversalSource().E().hasLabel("DataFlow").count().next());
+    }
+
+    private LineageRelationship getLineageRelationship(LineageEntity source, LineageEntity target) {
+        LineageRelationship lineageRelationship = new LineageRelationship();
+        lineageRelationship.setGuid("relationship");
+        lineageRelationship.setTypeDefName("DataFlow");
+        lineageRelationship.setProperties(new HashMap<>());
+        lineageRelationship.setSourceEntity(source);
+        lineageRelationship.setTargetEntity(target);
+        return lineageRelationship;
+    }
+
+    private LineageEntity entity(String guid) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName("Process");
+        lineageEntity.setProperties(new HashMap<>());
+        return lineageEntity;
+    }
+}
@@ -0,0 +1,558 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import org.odpi.openmetadata.adapters.connectors.integration.elasticsearch.ffdc.ElasticsearchIntegrationConnectorAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * ElasticsearchBulkIndexer sends documents to an Elasticsearch index in bulk requests.  Documents are passed to one of a
+ * fixed number of lanes, chosen from the document's id.  Each lane has its own queue and thread, and collects documents
+ * into a batch until the batch reaches its maximum number of documents or bytes, or the flush interval has passed since the
+ * first document was added.  The lanes send their bulk requests in parallel.  Since all the versions of a document go
+ * through the same lane, they reach the index in the order they were passed to the indexer.
+ * <p>
+ * The lane queues are bounded.  When a lane's queue is full, the caller waits until there is room, so a caller producing
+ * documents faster than the cluster can index them is slowed down rather than running out of memory.
+ * <p>
+ * The items in a bulk request that fail with a status that indicates the cluster is busy or unavailable are sent again,
+ * with an increasing delay, until the maximum number of retries is reached.  Items that fail for any other reason are not
+ * retried.  An unexpected error while sending a batch fails the documents in that batch; the lane carries on with the
+ * next batch.  If a lane does stop, documents for it are refused rather than leaving the caller waiting for room in
+ * its queue.
+ */
+class ElasticsearchBulkIndexer {
+    private static final Logger log = LoggerFactory.getLogger(ElasticsearchBulkIndexer.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int BAD_GATEWAY = 502;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final int GATEWAY_TIMEOUT = 504;
+
+    private final ElasticsearchClient client;
+    private final String indexName;
+    private final int maxActions;
+    private final long maxBytes;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final String connectorName;
+    private final AuditLog auditLog;
+    private final Runnable progressListener;
+    private final List<Lane> lanes = new ArrayList<>();
+
+    private final AtomicLong documentsQueued = new AtomicLong(0);
+    private final AtomicLong documentsIndexed = new AtomicLong(0);
+    private final AtomicLong documentsFailed = new AtomicLong(0);
+    private final AtomicLong bulkRequests = new AtomicLong(0);
+    private final AtomicLong documentsRetried = new AtomicLong(0);
+
+    private final Object pendingLock = new Object();
+    private long pendingDocuments = 0;
+
+    private volatile boolean running = true;
+
+
+    /**
+     * Create the indexer and start its lanes.
+     *
+     * @param client client for the Elasticsearch cluster
+     * @param indexName name of the index to write to
+     * @param concurrentRequests number of lanes, which is the maximum number of bulk requests in flight at once
+     * @param queueCapacity total number of documents that may be waiting to be sent before callers are made to wait
+     * @param maxActions maximum number of documents in a bulk request
+     * @param maxBytes maximum size of the documents in a bulk request
+     * @param flushIntervalMs maximum time a document waits for its batch to fill
+     * @param maxRetries number of times a failed item is sent again
+     * @param retryBackoffMs delay before the first retry; it doubles for each further retry
+     * @param connectorName name of the connector using the indexer
+     * @param auditLog logging destination
+     * @param progressListener called after each bulk request completes, or null
+     */
+    ElasticsearchBulkIndexer(ElasticsearchClient client,
+                             String indexName,
+                             int concurrentRequests,
+                             int queueCapacity,
+                             int maxActions,
+                             long maxBytes,
+                             long flushIntervalMs,
+                             int maxRetries,
+                             long retryBackoffMs,
+                             String connectorName,
+                             AuditLog auditLog,
+                             Runnable progressListener) {
+        this.client = client;
+        this.indexName = indexName;
+        this.maxActions = Math.max(1, maxActions);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.connectorName = connectorName;
+        this.auditLog = auditLog;
+        this.progressListener = progressListener;
+
+        int laneCount = Math.max(1, concurrentRequests);
+        int laneCapacity = Math.max(this.maxActions, queueCapacity / laneCount);
+
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane(laneCapacity);
+            Thread laneThread = new Thread(lane, "ElasticsearchBulkIndexer-" + connectorName + "-" + (i + 1));
+
+            laneThread.setDaemon(true);
+            lane.thread = laneThread;
+            lanes.add(lane);
+            laneThread.start();
+        }
+    }
+
+
+    /**
+     * Queue a document for indexing.  The call waits if the queue for the document's lane is full.
+     *
+     * @param id unique identifier of the document in the index
+     * @param json content of the document
+     * @return false if the indexer has been closed, or the document's lane has stopped, so the document was not queued
+     * @throws InterruptedException the caller was interrupted while waiting for room in the queue
+     */
+    boolean index(String id, String json) throws InterruptedException {
+        if (!running) {
+            return false;
+        }
+
+        Lane lane = lanes.get(Math.floorMod(id.hashCode(), lanes.size()));
+        Document document = new Document(id, json);
+
+        synchronized (pendingLock) {
+            pendingDocuments++;
+        }
+
+        try {
+            while (!lane.queue.offer(document, flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                if ((!running) || (lane.stopped)) {
+                    documentsComplete(1);
+                    return false;
+                }
+            }
+        } catch (InterruptedException interrupted) {
+            documentsComplete(1);
+            throw interrupted;
+        }
+
+        /*
+         * The lane may have stopped and emptied its queue just before the document was added.
+         */
+        if ((lane.stopped) && (lane.queue.remove(document))) {
+            documentsComplete(1);
+            return false;
+        }
+
+        documentsQueued.incrementAndGet();
+        return true;
+    }
+
+
+    /**
+     * Wait until all the documents queued so far have been indexed or have failed.
+     *
+     * @param timeoutMs maximum time to wait
+     * @return true if all the documents were processed before the timeout
+     * @throws InterruptedException the caller was interrupted while waiting
+     */
+    boolean flush(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        synchronized (pendingLock) {
+            while (pendingDocuments > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                pendingLock.wait(remaining);
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Send the queued documents, waiting at most the timeout, and then stop the lanes.  Documents still queued
+     * after the timeout are discarded.
+     *
+     * @param timeoutMs maximum time to wait for the queued documents to be sent
+     */
+    void close(long timeoutMs) {
+        if (!running) {
+            return;
+        }
+
+        try {
+            if (!flush(timeoutMs)) {
+                log.warn("Closing the bulk indexer for connector {} with {} documents not indexed", connectorName, getPendingDocuments());
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+
+    /**
+     * Return the number of documents that have been queued.
+     *
+     * @return count
+     */
+    long getDocumentsQueued() {
+        return documentsQueued.get();
+    }
+
+
+    /**
+     * Return the number of documents that have been indexed.
+     *
+     * @return count
+     */
+    long getDocumentsIndexed() {
+        return documentsIndexed.get();
+    }
+
+
+    /**
+     * Return the number of documents that could not be indexed.
+     *
+     * @return count
+     */
+    long getDocumentsFailed() {
+        return documentsFailed.get();
+    }
+
+
+    /**
+     * Return the number of bulk requests sent, including retries.
+     *
+     * @return count
+     */
+    long getBulkRequests() {
+        return bulkRequests.get();
+    }
+
+
+    /**
+     * Return the number of times a document has been sent again after a failure.
+     *
+     * @return count
+     */
+    long getDocumentsRetried() {
+        return documentsRetried.get();
+    }
+
+
+    /**
+     * Return the number of documents that are queued or in flight.
+     *
+     * @return count
+     */
+    long getPendingDocuments() {
+        synchronized (pendingLock) {
+            return pendingDocuments;
+        }
+    }
+
+
+    /**
+     * Record that documents have been indexed or have failed, waking any callers waiting in flush.
+     *
+     * @param documentCount number of documents
+     */
+    private void documentsComplete(int documentCount) {
+        synchronized (pendingLock) {
+            pendingDocuments -= documentCount;
+
+            if (pendingDocuments <= 0) {
+                pendingLock.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * Return whether a failed item should be sent again.
+     *
+     * @param status HTTP status of the failure
+     * @return true if the failure is likely to be temporary
+     */
+    private static boolean isRetryable(int status) {
+        return (status == TOO_MANY_REQUESTS) || (status == BAD_GATEWAY) || (status == SERVICE_UNAVAILABLE) || (status == GATEWAY_TIMEOUT);
+    }
+
+
+    /**
+     * Send a batch of documents, retrying the items that fail with a retryable status.
+     *
+     * @param batch documents to send
+     * @throws InterruptedException the lane was stopped while waiting to retry
+     */
+    private void sendBatch(List<Document> batch) throws InterruptedException {
+        final String methodName = "sendBatch";
+
+        List<Document> documents = batch;
+        String lastError = null;
+        int attempt = 0;
+
+        try {
+            while (!documents.isEmpty()) {
+                List<Document> retryDocuments = new ArrayList<>();
+
+                try {
+                    BulkResponse response = client.bulk(buildRequest(documents));
+                    List<BulkResponseItem> items = response.items();
+                    int indexed = 0;
+                    int failed = 0;
+
+                    bulkRequests.incrementAndGet();
+
+                    for (int i = 0; i < documents.size(); i++) {
+                        BulkResponseItem item = (i < items.size()) ? items.get(i) : null;
+
+                        if ((item == null) || (item.error() == null)) {
+                            indexed++;
+                        } else if (isRetryable(item.status())) {
+                            lastError = item.status() + " " + item.error().type() + ": " + item.error().reason();
+                            retryDocuments.add(documents.get(i));
+                        } else {
+                            lastError = item.status() + " " + item.error().type() + ": " + item.error().reason();
+                            failed++;
+                            log.debug("Elasticsearch rejected document {}: {}", documents.get(i).id, lastError);
+                        }
+                    }
+
+                    documentsIndexed.addAndGet(indexed);
+                    documentsFailed.addAndGet(failed);
+                } catch (ElasticsearchException error) {
+                    bulkRequests.incrementAndGet();
+                    lastError = error.getMessage();
+
+                    if (isRetryable(error.status())) {
+                        retryDocuments = documents;
+                    } else {
+                        documentsFailed.addAndGet(documents.size());
+                    }
+                } catch (IOException error) {
+                    lastError = error.getClass().getName() + ": " + error.getMessage();
+                    retryDocuments = documents;
+                } catch (RuntimeException error) {
+                    /*
+                     * The request could not be built or the response could not be read, so the outcome of the
+                     * documents is not known.  Sending them again is unlikely to help.
+                     */
+                    documentsFailed.addAndGet(documents.size());
+                    log.error("Unexpected error sending a bulk request for connector {}", connectorName, error);
+
+                    if (auditLog != null) {
+                        auditLog.logMessage(methodName,
+                                ElasticsearchIntegrationConnectorAuditCode.BULK_REQUEST_FAILED.getMessageDefinition(connectorName,
+                                        Integer.toString(documents.size()),
+                                        indexName,
+                                        Integer.toString(attempt + 1),
+                                        error.getClass().getName() + ": " + error.getMessage()));
+                    }
+                    break;
+                }
+
+                if (retryDocuments.isEmpty()) {
+                    break;
+                }
+
+                if ((attempt >= maxRetries) || (!running)) {
+                    documentsFailed.addAndGet(retryDocuments.size());
+
+                    if (auditLog != null) {
+                        auditLog.logMessage(methodName,
+                                ElasticsearchIntegrationConnectorAuditCode.BULK_REQUEST_FAILED.getMessageDefinition(connectorName,
+                                        Integer.toString(retryDocuments.size()),
+                                        indexName,
+                                        Integer.toString(attempt + 1),
+                                        lastError));
+                    }
+                    break;
+                }
+
+                Thread.sleep(retryBackoffMs << Math.min(attempt, 16));
+
+                attempt++;
+                documentsRetried.addAndGet(retryDocuments.size());
+                documents = retryDocuments;
+            }
+        } finally {
+            documentsComplete(batch.size());
+
+            if (progressListener != null) {
+                progressListener.run();
+            }
+        }
+    }
+
+
+    /**
+     * Build the bulk request for a list of documents.
+     *
+     * @param documents documents to index
+     * @return bulk request
+     */
+    private BulkRequest buildRequest(List<Document> documents) {
+        BulkRequest.Builder builder = new BulkRequest.Builder().index(indexName);
+
+        for (Document document : documents) {
+            builder.operations(operation -> operation.index(index -> index.id(document.id).document(JsonData.fromJson(document.json))));
+        }
+
+        return builder.build();
+    }
+
+
+    /**
+     * Document is a document waiting to be indexed.
+     */
+    private static class Document {
+        private final String id;
+        private final String json;
+        private final long size;
+
+
+        /**
+         * Constructor
+         *
+         * @param id unique identifier of the document in the index
+         * @param json content of the document
+         */
+        Document(String id, String json) {
+            this.id = id;
+            this.json = json;
+            this.size = json.getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+
+
+    /**
+     * Lane collects the documents from its queue into batches and sends them.
+     */
+    private class Lane implements Runnable {
+        private final BlockingQueue<Document> queue;
+        private Thread thread = null;
+        private volatile boolean stopped = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param capacity maximum number of documents waiting in the queue
+         */
+        Lane(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+
+        /**
+         * Send batches until the indexer is closed.  An unexpected error from one batch does not stop the lane.  When
+         * the lane does stop, the documents left in its queue are counted as failed.
+         */
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    Document first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+
+                    if (first != null) {
+                        try {
+                            sendBatch(fillBatch(first));
+                        } catch (RuntimeException error) {
+                            log.error("Bulk indexer lane {} had an unexpected error", thread.getName(), error);
+                        }
+                    }
+                }
+            } catch (InterruptedException interrupted) {
+                log.debug("Bulk indexer lane {} stopping", thread.getName());
+            } finally {
+                stopped = true;
+
+                List<Document> discarded = new ArrayList<>();
+
+                queue.drainTo(discarded);
+                if (!discarded.isEmpty()) {
+                    documentsFailed.addAndGet(discarded.size());
+                    documentsComplete(discarded.size());
+                }
+            }
+        }
+
+
+        /**
+         * Collect a batch, starting with the supplied document, until the batch is full or the flush interval has passed.
+         *
+         * @param first first document in the batch
+         * @return batch
+         * @throws InterruptedException the lane was stopped
+         */
+        private List<Document> fillBatch(Document first) throws InterruptedException {
+            List<Document> batch = new ArrayList<>();
+            long batchBytes = first.size;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+            batch.add(first);
+
+            while ((batch.size() < maxActions) && (batchBytes < maxBytes)) {
+                long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    break;
+                }
+
+                Document next;
+
+                try {
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException interrupted) {
+                    documentsFailed.addAndGet(batch.size());
+                    documentsComplete(batch.size());
+                    throw interrupted;
+                }
+
+                if (next == null) {
+                    break;
+                }
+
+                batch.add(next);
+                batchBytes += next.size;
+            }
+
+            return batch;
+        }
+    }
+}
@@ -13,37 +13,112 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.http.HttpHost;
 import org.elasticsearch.client.RestClient;
 import org.odpi.openmetadata.accessservices.assetcatalog.model.AssetCatalogEvent;
+import org.odpi.openmetadata.accessservices.assetcatalog.model.Elements;
 import org.odpi.openmetadata.adapters.connectors.integration.elasticsearch.ffdc.ElasticsearchIntegrationConnectorAuditCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ElementType;
 import org.odpi.openmetadata.integrationservices.search.connector.SearchIntegratorConnector;
 import org.odpi.openmetadata.integrationservices.search.connector.SearchIntegratorContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.odpi.openmetadata.adapters.connectors.integration.elasticsearch.ffdc.ElasticsearchIntegratorErrorCode.BAD_CONFIG;
 
 
 /**
  * ElasticsearchIntegrationConnector provides common methods for the connector in this module.
+ * <p>
+ * The assets received from the Asset Catalog OMAS are passed to an ElasticsearchBulkIndexer, which sends them to
+ * Elasticsearch in bulk requests so that the out topic listener is not held up by a call to the cluster for each event.
+ * When the reindexOnRefresh configuration property is true, the first refresh of the connector pages through all the assets
+ * known to the Asset Catalog OMAS and indexes them again.  Later refreshes only re-index if the previous attempt did not
+ * complete.  The progress of the indexing is published in the
+ * connector's statistics, which are returned in the integration connector report.
  */
 public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector {
     private static final Logger log = LoggerFactory.getLogger(ElasticsearchIntegrationConnector.class);
     private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writer();
-    private static final String INDEX_NAME = "indexName";
     private static final String ASSETS_INDEX_NAME = "assets";
 
+    private static final int DEFAULT_BULK_MAX_ACTIONS = 1000;
+    private static final long DEFAULT_BULK_MAX_BYTES = 5 * 1024 * 1024;
+    private static final long DEFAULT_BULK_FLUSH_INTERVAL_MS = 1000;
+    private static final int DEFAULT_BULK_CONCURRENT_REQUESTS = 2;
+    private static final int DEFAULT_BULK_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_BULK_MAX_RETRIES = 3;
+    private static final long DEFAULT_BULK_RETRY_BACKOFF_MS = 500;
+    private static final String DEFAULT_REINDEX_ASSET_TYPE = "Asset";
+    private static final int DEFAULT_REINDEX_PAGE_SIZE = 500;
+
+    private static final long DISCONNECT_FLUSH_TIMEOUT_MS = 30000;
+    private static final long REINDEX_FLUSH_TIMEOUT_MS = 600000;
+
+    private static final String QUALIFIED_NAME_PROPERTY_NAME = "qualifiedName";
+    private static final String DISPLAY_NAME_PROPERTY_NAME = "name";
+    private static final String DESCRIPTION_PROPERTY_NAME = "description";
+    private static final String OWNER_PROPERTY_NAME = "owner";
+
+    private static final String ASSETS_QUEUED_STATISTIC = "assetsQueued";
+    private static final String ASSETS_INDEXED_STATISTIC = "assetsIndexed";
+    private static final String ASSETS_FAILED_STATISTIC = "assetsFailed";
+    private static final String ASSETS_RETRIED_STATISTIC = "assetsRetried";
+    private static final String BULK_REQUESTS_STATISTIC = "bulkRequests";
+    private static final String REINDEX_STATUS_STATISTIC = "reindexStatus";
+    private static final String REINDEX_ASSETS_READ_STATISTIC = "reindexAssetsRead";
+    private static final String REINDEX_START_TIME_STATISTIC = "reindexStartTime";
+    private static final String REINDEX_END_TIME_STATISTIC = "reindexEndTime";
+
+    private static final String REINDEX_RUNNING = "RUNNING";
+    private static final String REINDEX_COMPLETE = "COMPLETE";
+    private static final String REINDEX_FAILED = "FAILED";
+
     private String targetRootURL = null;
     private String targetRootProtocol = null;
     private SearchIntegratorContext myContext = null;
     private ElasticsearchClient client;
     private String indexName = "test";
 
+    private int bulkMaxActions = DEFAULT_BULK_MAX_ACTIONS;
+    private long bulkMaxBytes = DEFAULT_BULK_MAX_BYTES;
+    private long bulkFlushIntervalMs = DEFAULT_BULK_FLUSH_INTERVAL_MS;
+    private int bulkConcurrentRequests = DEFAULT_BULK_CONCURRENT_REQUESTS;
+    private int bulkQueueCapacity = DEFAULT_BULK_QUEUE_CAPACITY;
+    private int bulkMaxRetries = DEFAULT_BULK_MAX_RETRIES;
+    private long bulkRetryBackoffMs = DEFAULT_BULK_RETRY_BACKOFF_MS;
+    private final AtomicBoolean reindexOnRefresh = new AtomicBoolean(false);
+    private String reindexAssetType = DEFAULT_REINDEX_ASSET_TYPE;
+    private int reindexPageSize = DEFAULT_REINDEX_PAGE_SIZE;
+
+    private volatile ElasticsearchBulkIndexer bulkIndexer = null;
+    private volatile boolean stopping = false;
+
+    /*
+     * The GUIDs of the assets received from the out topic while a re-index is running.  The copies of these assets read
+     * by the re-index may be older than the events, so they are not indexed.
+     */
+    private final AtomicBoolean reindexRunning = new AtomicBoolean(false);
+    private final Set<String> updatedDuringReindex = ConcurrentHashMap.newKeySet();
+    private volatile long reindexAssetsRead = 0;
+    private volatile String reindexStatus = null;
+    private volatile Date reindexStartTime = null;
+    private volatile Date reindexEndTime = null;
+
+    private final Object statisticsLock = new Object();
+
     /**
      * Initialize the connector.
      *
@@ -64,8 +139,34 @@ public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector
 
         Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
 
-        String configuredIndexName = (String) configurationProperties.get(INDEX_NAME);
+        if (configurationProperties == null) {
+            configurationProperties = new HashMap<>();
+        }
+
+        String configuredIndexName = (String) configurationProperties.get(ElasticsearchIntegrationProvider.INDEX_NAME_CONFIGURATION_PROPERTY);
         this.indexName = Objects.requireNonNullElse(configuredIndexName, ASSETS_INDEX_NAME);
+
+        bulkMaxActions = (int) getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_MAX_ACTIONS_CONFIGURATION_PROPERTY, DEFAULT_BULK_MAX_ACTIONS);
+        bulkMaxBytes = getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_MAX_BYTES_CONFIGURATION_PROPERTY, DEFAULT_BULK_MAX_BYTES);
+        bulkFlushIntervalMs = getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_FLUSH_INTERVAL_CONFIGURATION_PROPERTY, DEFAULT_BULK_FLUSH_INTERVAL_MS);
+        bulkConcurrentRequests = (int) getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_CONCURRENT_REQUESTS_CONFIGURATION_PROPERTY, DEFAULT_BULK_CONCURRENT_REQUESTS);
+        bulkQueueCapacity = (int) getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_QUEUE_CAPACITY_CONFIGURATION_PROPERTY, DEFAULT_BULK_QUEUE_CAPACITY);
+        bulkMaxRetries = (int) getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_MAX_RETRIES_CONFIGURATION_PROPERTY, DEFAULT_BULK_MAX_RETRIES);
+        bulkRetryBackoffMs = getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.BULK_RETRY_BACKOFF_CONFIGURATION_PROPERTY, DEFAULT_BULK_RETRY_BACKOFF_MS);
+        reindexPageSize = (int) getLongProperty(configurationProperties,
+                ElasticsearchIntegrationProvider.REINDEX_PAGE_SIZE_CONFIGURATION_PROPERTY, DEFAULT_REINDEX_PAGE_SIZE);
+        reindexOnRefresh.set(Boolean.parseBoolean(String.valueOf(configurationProperties.get(
+                ElasticsearchIntegrationProvider.REINDEX_ON_REFRESH_CONFIGURATION_PROPERTY))));
+
+        String configuredAssetType = (String) configurationProperties.get(ElasticsearchIntegrationProvider.REINDEX_ASSET_TYPE_CONFIGURATION_PROPERTY);
+        this.reindexAssetType = Objects.requireNonNullElse(configuredAssetType, DEFAULT_REINDEX_ASSET_TYPE);
     }
 
 
@@ -81,20 +182,132 @@ public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector
 
         final String methodName = "start";
 
+        stopping = false;
         initializeElasticSearchClient(methodName);
 
         myContext = super.getContext();
 
+        bulkIndexer = new ElasticsearchBulkIndexer(client,
+                indexName,
+                bulkConcurrentRequests,
+                bulkQueueCapacity,
+                bulkMaxActions,
+                bulkMaxBytes,
+                bulkFlushIntervalMs,
+                bulkMaxRetries,
+                bulkRetryBackoffMs,
+                connectorName,
+                auditLog,
+                this::publishStatistics);
+
+        publishStatistics();
     }
 
     /**
-     * <p>
+     * Re-index all the assets from the Asset Catalog OMAS if the connector is configured to do so.  The re-index runs
+     * once; it is only attempted again on the next refresh if it did not complete.
+     * The refresh is not synchronized so that the out topic listener and disconnect are not held up by a long re-index.
      *
      * @throws ConnectorCheckedException there is a problem with the connector.  It is not able to refresh the metadata.
      */
     @Override
-    public synchronized void refresh() throws ConnectorCheckedException {
-        final String methodName = "refresh";
+    public void refresh() throws ConnectorCheckedException {
+        if (reindexOnRefresh.compareAndSet(true, false) && (!reindex())) {
+            reindexOnRefresh.set(true);
+        }
+    }
+
+
+    /**
+     * Page through the assets known to the Asset Catalog OMAS and send them to the bulk indexer.  The call returns
+     * when the assets have been indexed.  Only one re-index runs at a time; a call made while a re-index is running
+     * returns straight away.
+     *
+     * @return true if the re-index ran to completion
+     */
+    public boolean reindex() {
+        final String methodName = "reindex";
+
+        ElasticsearchBulkIndexer indexer = bulkIndexer;
+
+        if ((indexer == null) || (!reindexRunning.compareAndSet(false, true))) {
+            return false;
+        }
+
+        long startTime = System.currentTimeMillis();
+        long failedBefore = indexer.getDocumentsFailed();
+
+        reindexAssetsRead = 0;
+        reindexStatus = REINDEX_RUNNING;
+        reindexStartTime = new Date(startTime);
+        reindexEndTime = null;
+        publishStatistics();
+
+        if (auditLog != null) {
+            auditLog.logMessage(methodName,
+                    ElasticsearchIntegrationConnectorAuditCode.REINDEX_STARTING.getMessageDefinition(connectorName, reindexAssetType, indexName));
+        }
+
+        try {
+            int startFrom = 0;
+
+            while (!stopping) {
+                List<Elements> assets = myContext.getAssets(reindexAssetType, startFrom, reindexPageSize);
+
+                if ((assets == null) || (assets.isEmpty())) {
+                    break;
+                }
+
+                for (Elements element : assets) {
+                    if ((element != null) && (element.getGuid() != null) && (!updatedDuringReindex.contains(element.getGuid()))) {
+                        if (!indexer.index(element.getGuid(), OBJECT_WRITER.writeValueAsString(getAsset(element)))) {
+                            break;
+                        }
+                    }
+                }
+
+                startFrom += assets.size();
+                reindexAssetsRead = startFrom;
+                publishStatistics();
+            }
+
+            indexer.flush(REINDEX_FLUSH_TIMEOUT_MS);
+
+            long duration = System.currentTimeMillis() - startTime;
+
+            reindexStatus = REINDEX_COMPLETE;
+
+            if (auditLog != null) {
+                auditLog.logMessage(methodName,
+                        ElasticsearchIntegrationConnectorAuditCode.REINDEX_COMPLETE.getMessageDefinition(connectorName,
+                                Long.toString(reindexAssetsRead),
+                                indexName,
+                                Long.toString(duration),
+                                Long.toString(indexer.getDocumentsFailed() - failedBefore)));
+            }
+        } catch (InvalidParameterException | PropertyServerException | IOException error) {
+            reindexStatus = REINDEX_FAILED;
+
+            if (auditLog != null) {
+                auditLog.logException(methodName,
+                        ElasticsearchIntegrationConnectorAuditCode.REINDEX_FAILED.getMessageDefinition(connectorName,
+                                indexName,
+                                Long.toString(reindexAssetsRead),
+                                error.getClass().getName(),
+                                error.getMessage()),
+                        error);
+            }
+        } catch (InterruptedException interrupted) {
+            reindexStatus = REINDEX_FAILED;
+            Thread.currentThread().interrupt();
+        } finally {
+            reindexEndTime = new Date();
+            updatedDuringReindex.clear();
+            reindexRunning.set(false);
+            publishStatistics();
+        }
+
+        return REINDEX_COMPLETE.equals(reindexStatus);
     }
 
 
@@ -108,6 +321,21 @@ public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector
         final String methodName = "disconnect";
 
         log.debug("disconnecting");
+        stopping = true;
+
+        if (bulkIndexer != null) {
+            bulkIndexer.close(DISCONNECT_FLUSH_TIMEOUT_MS);
+            publishStatistics();
+        }
+
+        if (client != null) {
+            try {
+                client._transport().close();
+            } catch (IOException ioException) {
+                log.debug("received exception closing the Elasticsearch client " + ioException.getMessage());
+            }
+        }
+
         if (auditLog != null) {
             auditLog.logMessage(methodName,
                     ElasticsearchIntegrationConnectorAuditCode.CONNECTOR_STOPPING.getMessageDefinition(connectorName));
@@ -134,12 +362,15 @@ public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector
     }
 
     /**
-     * Save the events received from asset catalog to the Elasticsearch service
+     * Save the events received from asset catalog to the Elasticsearch service.  The asset is queued for the bulk
+     * indexer, so the call only waits if the indexer's queue is full.
      *
      * @param assetCatalogEvent the event which contains the asset
      */
     @Override
     public void saveAsset(AssetCatalogEvent assetCatalogEvent) {
+        final String methodName = "saveAsset";
+
         Asset asset = assetCatalogEvent.getAsset();
         if (asset == null) {
             return;
@@ -147,14 +378,132 @@ public class ElasticsearchIntegrationConnector extends SearchIntegratorConnector
         if (asset.getGUID() == null) {
             return;
         }
+
+        ElasticsearchBulkIndexer indexer = bulkIndexer;
+        if (indexer == null) {
+            log.debug("ignoring asset {} because the connector is not started", asset.getGUID());
+            return;
+        }
+
         log.debug("saving to elasticsearch {}", asset);
+        if (reindexRunning.get()) {
+            updatedDuringReindex.add(asset.getGUID());
+        }
+
         try {
             String jsonAsset = OBJECT_WRITER.writeValueAsString(asset);
-            client.index(s-> s.index(jsonAsset).index(indexName).id(asset.getGUID()));
 
+            if (!indexer.index(asset.getGUID(), jsonAsset)) {
+                log.debug("ignoring asset {} because the connector is stopping", asset.getGUID());
+            }
         } catch (IOException ioException) {
-            String actionDescription = "The client could not write to the Elasticsearch cluster";
-            auditLog.logException(actionDescription, ElasticsearchIntegrationConnectorAuditCode.IO_EXCEPTION.getMessageDefinition(), ioException);
+            auditLog.logException(methodName, ElasticsearchIntegrationConnectorAuditCode.IO_EXCEPTION.getMessageDefinition(connectorName), ioException);
+        } catch (InterruptedException interrupted) {
+            log.debug("interrupted while queuing asset {}", asset.getGUID());
+            Thread.currentThread().interrupt();
         }
     }
+
+
+    /**
+     * Build the document for an asset retrieved from the Asset Catalog OMAS.  It has the same layout as the
+     * assets received in events.  The properties that are not part of the asset bean are stored in its extended properties.
+     *
+     * @param element asset from the Asset Catalog OMAS
+     * @return asset bean
+     */
+    private Asset getAsset(Elements element) {
+        Asset asset = new Asset();
+
+        asset.setGUID(element.getGuid());
+
+        if (element.getType() != null) {
+            ElementType type = new ElementType();
+
+            type.setTypeName(element.getType().getName());
+            if (element.getType().getVersion() != null) {
+                type.setTypeVersion(element.getType().getVersion());
+            }
+            asset.setType(type);
+        }
+
+        if (element.getProperties() != null) {
+            Map<String, Object> extendedProperties = new HashMap<>(element.getProperties());
+
+            asset.setQualifiedName((String) extendedProperties.remove(QUALIFIED_NAME_PROPERTY_NAME));
+            asset.setDisplayName((String) extendedProperties.remove(DISPLAY_NAME_PROPERTY_NAME));
+            asset.setDescription((String) extendedProperties.remove(DESCRIPTION_PROPERTY_NAME));
+            asset.setOwner((String) extendedProperties.remove(OWNER_PROPERTY_NAME));
+
+            if (!extendedProperties.isEmpty()) {
+                asset.setExtendedProperties(extendedProperties);
+            }
+        }
+
+        asset.setAdditionalProperties(element.getAdditionalProperties());
+
+        return asset;
+    }
+
+
+    /**
+     * Publish the progress of the indexing in the connector's statistics so that it is returned in the integration
+     * connector report.  The statistics are updated by the bulk indexer's threads, so they use their own lock rather than
+     * the connector's, which is held by disconnect while it waits for the indexer to finish.
+     */
+    private void publishStatistics() {
+        final String methodName = "publishStatistics";
+
+        ElasticsearchBulkIndexer indexer = bulkIndexer;
+
+        synchronized (statisticsLock) {
+            try {
+                if (indexer != null) {
+                    initializeStatisticCounter(ASSETS_QUEUED_STATISTIC, (int) indexer.getDocumentsQueued(), methodName);
+                    initializeStatisticCounter(ASSETS_INDEXED_STATISTIC, (int) indexer.getDocumentsIndexed(), methodName);
+                    initializeStatisticCounter(ASSETS_FAILED_STATISTIC, (int) indexer.getDocumentsFailed(), methodName);
+                    initializeStatisticCounter(ASSETS_RETRIED_STATISTIC, (int) indexer.getDocumentsRetried(), methodName);
+                    initializeStatisticCounter(BULK_REQUESTS_STATISTIC, (int) indexer.getBulkRequests(), methodName);
+                }
+
+                if (reindexStatus != null) {
+                    setStatisticProperty(REINDEX_STATUS_STATISTIC, reindexStatus, methodName);
+                    initializeStatisticCounter(REINDEX_ASSETS_READ_STATISTIC, (int) reindexAssetsRead, methodName);
+                    setStatisticTimestamp(REINDEX_START_TIME_STATISTIC, reindexStartTime, methodName);
+
+                    if (reindexEndTime != null) {
+                        setStatisticTimestamp(REINDEX_END_TIME_STATISTIC, reindexEndTime, methodName);
+                    }
+                }
+            } catch (InvalidParameterException error) {
+                log.debug("unable to publish statistic: " + error.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * Return the value of a numeric configuration property.  The value may be a number or a string.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a number
+     * @return value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties, String propertyName, long defaultValue) {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number) {
+            return ((Number) propertyValue).longValue();
+        } else if (propertyValue != null) {
+            try {
+                return Long.parseLong(propertyValue.toString().trim());
+            } catch (NumberFormatException error) {
+                log.warn("Ignoring configuration property {} with value {} because it is not a number; using {}.",
+                        propertyName, propertyValue, defaultValue);
+            }
+        }
+
+        return defaultValue;
+    }
 }
@@ -20,7 +20,18 @@ public class ElasticsearchIntegrationProvider extends ConnectorProviderBase
     private static final String connectorTypeDisplayName   = "Search Integration Connector";
     private static final String connectorTypeDescription   = "Connector used to connect to a Elasticsearch instance and store metadata for search operations";
 
-    static final String TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY = "templateQualifiedName";
+    static final String TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY  = "templateQualifiedName";
+    static final String INDEX_NAME_CONFIGURATION_PROPERTY               = "indexName";
+    static final String BULK_MAX_ACTIONS_CONFIGURATION_PROPERTY         = "bulkMaxActions";
+    static final String BULK_MAX_BYTES_CONFIGURATION_PROPERTY           = "bulkMaxBytes";
+    static final String BULK_FLUSH_INTERVAL_CONFIGURATION_PROPERTY      = "bulkFlushIntervalMs";
+    static final String BULK_CONCURRENT_REQUESTS_CONFIGURATION_PROPERTY = "bulkConcurrentRequests";
+    static final String BULK_QUEUE_CAPACITY_CONFIGURATION_PROPERTY      = "bulkQueueCapacity";
+    static final String BULK_MAX_RETRIES_CONFIGURATION_PROPERTY         = "bulkMaxRetries";
+    static final String BULK_RETRY_BACKOFF_CONFIGURATION_PROPERTY       = "bulkRetryBackoffMs";
+    static final String REINDEX_ON_REFRESH_CONFIGURATION_PROPERTY       = "reindexOnRefresh";
+    static final String REINDEX_ASSET_TYPE_CONFIGURATION_PROPERTY       = "reindexAssetType";
+    static final String REINDEX_PAGE_SIZE_CONFIGURATION_PROPERTY        = "reindexPageSize";
 
 
     /**
@@ -43,6 +54,17 @@ public class ElasticsearchIntegrationProvider extends ConnectorProviderBase
 
         List<String> recognizedConfigurationProperties = new ArrayList<>();
         recognizedConfigurationProperties.add(TEMPLATE_QUALIFIED_NAME_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(INDEX_NAME_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_MAX_ACTIONS_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_MAX_BYTES_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_FLUSH_INTERVAL_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_CONCURRENT_REQUESTS_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_QUEUE_CAPACITY_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_MAX_RETRIES_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(BULK_RETRY_BACKOFF_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(REINDEX_ON_REFRESH_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(REINDEX_ASSET_TYPE_CONFIGURATION_PROPERTY);
+        recognizedConfigurationProperties.add(REINDEX_PAGE_SIZE_CONFIGURATION_PROPERTY);
 
         connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
@@ -34,7 +34,37 @@ public enum ElasticsearchIntegrationConnectorAuditCode implements AuditLogMessag
             OMRSAuditLogRecordSeverity.ERROR,
             "The {0} integration connector could not save data to Elasticsearch",
             "The connector is disconnecting.",
-            "Verify the integrity of the ElasticSearch cluster and the client connection.");
+            "Verify the integrity of the ElasticSearch cluster and the client connection."),
+
+
+    BULK_REQUEST_FAILED("ELASTICSEARCH-INTEGRATION-CONNECTOR-0003",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The {0} integration connector could not index {1} assets in Elasticsearch index {2} after {3} attempts; the last error was: {4}",
+            "The assets are not added to the index.  The connector continues to index the assets it receives.",
+            "Use the error to diagnose the problem with the Elasticsearch cluster.  Once it is fixed, the assets are indexed the next " +
+                    "time they change or when the connector re-indexes the catalog."),
+
+
+    REINDEX_STARTING("ELASTICSEARCH-INTEGRATION-CONNECTOR-0004",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The {0} integration connector is re-indexing the assets of type {1} from the Asset Catalog OMAS into Elasticsearch index {2}",
+            "The connector pages through the assets known to the Asset Catalog OMAS and sends them to Elasticsearch in bulk requests.  " +
+                    "The progress is shown in the connector's statistics in the integration connector report.",
+            "No action is required."),
+
+
+    REINDEX_COMPLETE("ELASTICSEARCH-INTEGRATION-CONNECTOR-0005",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The {0} integration connector has re-indexed {1} assets into Elasticsearch index {2} in {3} milliseconds; {4} assets could not be indexed",
+            "The re-index is complete.  The connector continues to index the assets it receives from the Asset Catalog OMAS.",
+            "If some assets could not be indexed, look for earlier messages from the connector describing the errors."),
+
+
+    REINDEX_FAILED("ELASTICSEARCH-INTEGRATION-CONNECTOR-0006",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The {0} integration connector stopped re-indexing Elasticsearch index {1} after reading {2} assets because of a {3} exception with message {4}",
+            "The assets read so far are indexed.  The rest of the assets are not re-indexed.",
+            "Use the exception to diagnose the problem with the Asset Catalog OMAS.  Once it is fixed, refresh the connector to run the re-index again.");
     private String logMessageId;
     private OMRSAuditLogRecordSeverity severity;
     private String logMessage;
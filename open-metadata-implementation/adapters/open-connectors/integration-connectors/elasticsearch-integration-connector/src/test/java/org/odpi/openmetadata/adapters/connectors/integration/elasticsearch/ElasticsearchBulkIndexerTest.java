@@ -0,0 +1,340 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.TransportOptions;
+import org.odpi.openmetadata.adapters.connectors.integration.elasticsearch.ffdc.ElasticsearchIntegrationConnectorAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that ElasticsearchBulkIndexer batches documents, resends the items the cluster was too busy to index, and keeps
+ * its lanes working after an unexpected error.  The Elasticsearch cluster is replaced by a stub transport.
+ */
+public class ElasticsearchBulkIndexerTest {
+    private static final long waitTimeMs = 10000;
+    private static final String json = "{\"name\":\"test\"}";
+
+    private final List<AuditLogMessageDefinition> auditMessages = Collections.synchronizedList(new ArrayList<>());
+
+
+    @Test(timeOut = 30000)
+    public void testDocumentsIndexedInBatches() throws Exception {
+        StubTransport transport = new StubTransport(request -> getResponse(request, 0));
+        ElasticsearchBulkIndexer indexer = getIndexer(transport, 2);
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(indexer.index("doc" + i, json));
+            }
+
+            assertTrue(indexer.flush(waitTimeMs));
+
+            assertEquals(indexer.getDocumentsQueued(), 5);
+            assertEquals(indexer.getDocumentsIndexed(), 5);
+            assertEquals(indexer.getDocumentsFailed(), 0);
+
+            /*
+             * The documents from one lane reach the index in the order they were queued.
+             */
+            List<String> sentIds = new ArrayList<>();
+
+            for (BulkRequest request : transport.getRequests()) {
+                assertTrue(request.operations().size() <= 2);
+
+                for (BulkOperation operation : request.operations()) {
+                    sentIds.add(operation.index().id());
+                }
+            }
+
+            assertEquals(sentIds, List.of("doc0", "doc1", "doc2", "doc3", "doc4"));
+        } finally {
+            indexer.close(waitTimeMs);
+        }
+    }
+
+
+    @Test(timeOut = 30000)
+    public void testBusyItemsResent() throws Exception {
+        AtomicInteger calls = new AtomicInteger(0);
+        StubTransport transport = new StubTransport(request -> getResponse(request, (calls.incrementAndGet() == 1) ? 429 : 0));
+        ElasticsearchBulkIndexer indexer = getIndexer(transport, 10);
+
+        try {
+            assertTrue(indexer.index("doc0", json));
+            assertTrue(indexer.flush(waitTimeMs));
+
+            assertEquals(transport.getRequests().size(), 2);
+            assertEquals(indexer.getDocumentsRetried(), 1);
+            assertEquals(indexer.getDocumentsIndexed(), 1);
+            assertEquals(indexer.getDocumentsFailed(), 0);
+        } finally {
+            indexer.close(waitTimeMs);
+        }
+    }
+
+
+    @Test(timeOut = 30000)
+    public void testRejectedItemsNotResent() throws Exception {
+        StubTransport transport = new StubTransport(request -> getResponse(request, 400));
+        ElasticsearchBulkIndexer indexer = getIndexer(transport, 10);
+
+        try {
+            assertTrue(indexer.index("doc0", json));
+            assertTrue(indexer.flush(waitTimeMs));
+
+            assertEquals(transport.getRequests().size(), 1);
+            assertEquals(indexer.getDocumentsRetried(), 0);
+            assertEquals(indexer.getDocumentsFailed(), 1);
+        } finally {
+            indexer.close(waitTimeMs);
+        }
+    }
+
+
+    @Test(timeOut = 30000)
+    public void testUnexpectedErrorDoesNotStopLane() throws Exception {
+        AtomicInteger calls = new AtomicInteger(0);
+        StubTransport transport = new StubTransport(request -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("test error");
+            }
+
+            return getResponse(request, 0);
+        });
+        ElasticsearchBulkIndexer indexer = getIndexer(transport, 1);
+
+        try {
+            /*
+             * The lane's queue holds one document, so these calls would wait forever if the error stopped the lane.
+             */
+            for (int i = 0; i < 3; i++) {
+                assertTrue(indexer.index("doc" + i, json));
+            }
+
+            assertTrue(indexer.flush(waitTimeMs));
+
+            assertEquals(indexer.getDocumentsFailed(), 1);
+            assertEquals(indexer.getDocumentsIndexed(), 2);
+            assertEquals(getAuditMessages(ElasticsearchIntegrationConnectorAuditCode.BULK_REQUEST_FAILED).size(), 1);
+        } finally {
+            indexer.close(waitTimeMs);
+        }
+    }
+
+
+    @Test(timeOut = 30000)
+    public void testIndexRefusedWhenLaneStopped() throws Exception {
+        StubTransport transport = new StubTransport(request -> {
+            throw new AssertionError("test error that stops the lane");
+        });
+        ElasticsearchBulkIndexer indexer = getIndexer(transport, 1);
+
+        try {
+            long deadline = System.currentTimeMillis() + waitTimeMs;
+            boolean queued = true;
+
+            /*
+             * Documents queued before the lane stops are counted as failed; after that they are refused.
+             */
+            while ((queued) && (System.currentTimeMillis() < deadline)) {
+                queued = indexer.index("doc0", json);
+            }
+
+            assertFalse(queued);
+            assertTrue(indexer.flush(waitTimeMs));
+            assertEquals(indexer.getPendingDocuments(), 0);
+            assertEquals(indexer.getDocumentsIndexed(), 0);
+        } finally {
+            indexer.close(waitTimeMs);
+        }
+    }
+
+
+    /**
+     * Return an indexer with one lane that sends its requests to the stub transport.
+     *
+     * @param transport stub transport
+     * @param maxActions maximum number of documents in a bulk request; also the capacity of the lane's queue
+     * @return indexer
+     */
+    private ElasticsearchBulkIndexer getIndexer(StubTransport transport, int maxActions) {
+        AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, "Test", "Test", null) {
+            @Override
+            public void logMessage(String actionDescription, AuditLogMessageDefinition messageDefinition) {
+                auditMessages.add(messageDefinition);
+            }
+        };
+
+        auditMessages.clear();
+
+        return new ElasticsearchBulkIndexer(new ElasticsearchClient(transport),
+                "testIndex",
+                1,
+                maxActions,
+                maxActions,
+                1024 * 1024,
+                50,
+                3,
+                1,
+                "TestConnector",
+                auditLog,
+                null);
+    }
+
+
+    /**
+     * Return a response to a bulk request.
+     *
+     * @param request bulk request
+     * @param firstItemStatus status of an error for the first document, or 0 if all the documents are indexed
+     * @return response
+     */
+    private static BulkResponse getResponse(BulkRequest request, int firstItemStatus) {
+        List<BulkResponseItem> items = new ArrayList<>();
+
+        for (BulkOperation operation : request.operations()) {
+            if ((items.isEmpty()) && (firstItemStatus != 0)) {
+                items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index)
+                        .index("testIndex")
+                        .id(operation.index().id())
+                        .status(firstItemStatus)
+                        .error(error -> error.type("test_exception").reason("test failure"))));
+            } else {
+                items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index)
+                        .index("testIndex")
+                        .id(operation.index().id())
+                        .status(201)));
+            }
+        }
+
+        return BulkResponse.of(response -> response.errors(firstItemStatus != 0).took(1).items(items));
+    }
+
+
+    /**
+     * Return the audit log messages of one type.
+     *
+     * @param auditCode type of message
+     * @return messages
+     */
+    private List<AuditLogMessageDefinition> getAuditMessages(ElasticsearchIntegrationConnectorAuditCode auditCode) {
+        List<AuditLogMessageDefinition> messages = new ArrayList<>();
+        String messageId = auditCode.getMessageDefinition().getMessageId();
+
+        synchronized (auditMessages) {
+            for (AuditLogMessageDefinition messageDefinition : auditMessages) {
+                if (messageId.equals(messageDefinition.getMessageId())) {
+                    messages.add(messageDefinition);
+                }
+            }
+        }
+
+        return messages;
+    }
+
+
+    /**
+     * BulkHandler supplies the stub transport's response to a bulk request.
+     */
+    private interface BulkHandler {
+        BulkResponse bulk(BulkRequest request) throws IOException;
+    }
+
+
+    /**
+     * StubTransport passes bulk requests to a handler rather than to an Elasticsearch cluster.
+     */
+    private static class StubTransport implements ElasticsearchTransport {
+        private final BulkHandler handler;
+        private final List<BulkRequest> requests = Collections.synchronizedList(new ArrayList<>());
+        private final JsonpMapper jsonpMapper = new JacksonJsonpMapper();
+
+
+        /**
+         * Constructor
+         *
+         * @param handler supplies the responses
+         */
+        StubTransport(BulkHandler handler) {
+            this.handler = handler;
+        }
+
+
+        /**
+         * Return the bulk requests received so far.
+         *
+         * @return requests
+         */
+        List<BulkRequest> getRequests() {
+            synchronized (requests) {
+                return new ArrayList<>(requests);
+            }
+        }
+
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <RequestT, ResponseT, ErrorT> ResponseT performRequest(RequestT request,
+                                                                      Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+                                                                      TransportOptions options) throws IOException {
+            if (!(request instanceof BulkRequest)) {
+                throw new UnsupportedOperationException(String.valueOf(request));
+            }
+
+            requests.add((BulkRequest) request);
+
+            return (ResponseT) handler.bulk((BulkRequest) request);
+        }
+
+
+        @Override
+        public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(RequestT request,
+                                                                                             Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+                                                                                             TransportOptions options) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException(String.valueOf(request)));
+        }
+
+
+        @Override
+        public JsonpMapper jsonpMapper() {
+            return jsonpMapper;
+        }
+
+
+        @Override
+        public TransportOptions options() {
+            return null;
+        }
+
+
+        @Override
+        public void close() {
+            /* nothing to close */
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.integration.elasticsearch;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Verify that the reindexOnRefresh configuration property re-indexes the catalog once rather than on every refresh.
+ */
+public class ElasticsearchIntegrationConnectorTest {
+
+    @Test
+    public void testReindexOnFirstRefreshOnly() throws Exception {
+        TestConnector connector = getConnector(true, true);
+
+        connector.refresh();
+        connector.refresh();
+        connector.refresh();
+
+        assertEquals(connector.reindexCount, 1);
+    }
+
+
+    @Test
+    public void testReindexRepeatedUntilComplete() throws Exception {
+        TestConnector connector = getConnector(true, false, false, true);
+
+        for (int i = 0; i < 5; i++) {
+            connector.refresh();
+        }
+
+        assertEquals(connector.reindexCount, 3);
+    }
+
+
+    @Test
+    public void testNoReindexUnlessConfigured() throws Exception {
+        TestConnector connector = getConnector(false, true);
+
+        connector.refresh();
+
+        assertEquals(connector.reindexCount, 0);
+    }
+
+
+    /**
+     * Return a connector that records its re-index requests rather than calling the Asset Catalog OMAS.
+     *
+     * @param reindexOnRefresh value of the reindexOnRefresh configuration property
+     * @param reindexResults results of the calls to reindex, in order
+     * @return initialized connector
+     */
+    private TestConnector getConnector(boolean reindexOnRefresh, Boolean... reindexResults) {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        Connection connection = new Connection();
+        TestConnector connector = new TestConnector(List.of(reindexResults));
+
+        configurationProperties.put(ElasticsearchIntegrationProvider.REINDEX_ON_REFRESH_CONFIGURATION_PROPERTY, Boolean.toString(reindexOnRefresh));
+        connection.setConfigurationProperties(configurationProperties);
+
+        connector.initialize("TestConnector", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    /**
+     * TestConnector counts the calls to reindex and returns the supplied results.
+     */
+    private static class TestConnector extends ElasticsearchIntegrationConnector {
+        private final Deque<Boolean> reindexResults;
+        private int reindexCount = 0;
+
+
+        /**
+         * Constructor
+         *
+         * @param reindexResults results of the calls to reindex, in order
+         */
+        TestConnector(List<Boolean> reindexResults) {
+            this.reindexResults = new ArrayDeque<>(reindexResults);
+        }
+
+
+        @Override
+        public boolean reindex() {
+            reindexCount++;
+
+            return reindexResults.isEmpty() || reindexResults.removeFirst();
+        }
+    }
+}
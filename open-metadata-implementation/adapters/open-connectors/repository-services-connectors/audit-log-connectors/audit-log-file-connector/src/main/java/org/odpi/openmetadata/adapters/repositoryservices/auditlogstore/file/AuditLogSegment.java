@@ -0,0 +1,589 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AuditLogSegment manages one segment of the file based audit log.  A segment is a pair of append-only files:
+ * <ul>
+ *     <li>The data file (.log) holds the JSON version of each audit log record on its own line.</li>
+ *     <li>The index file (.idx) has one tab separated line for each record giving its time stamp, the offset and
+ *     length of the record in the data file, its severity, reporting component and unique identifier.</li>
+ * </ul>
+ * The segment also keeps a summary of its content in memory (time range, severities and components) so
+ * that queries can skip the segments that can not contain matching records without reading their index.
+ * <p>
+ * Only the writer thread of the AuditLogSegmentStore appends to a segment.  Queries may run at the same time and
+ * only read the part of the index that has been flushed.  While a segment is being written, its index is also
+ * kept in memory so queries do not need to read the index file.  This copy is released when the segment is closed.
+ * </p>
+ */
+class AuditLogSegment
+{
+    static final String segmentFilePrefix = "audit-log-";
+    static final String dataFileSuffix    = ".log";
+    static final String indexFileSuffix   = ".idx";
+
+    private static final char fieldSeparator = '\t';
+
+    private final String      segmentName;
+    private final File        dataFile;
+    private final File        indexFile;
+    private final long        createTime;
+    private final Set<String> severities = ConcurrentHashMap.newKeySet();
+    private final Set<String> components = ConcurrentHashMap.newKeySet();
+
+    private volatile long firstTimeStamp     = Long.MAX_VALUE;
+    private volatile long lastTimeStamp      = Long.MIN_VALUE;
+    private volatile long committedIndexSize = 0;
+
+    private volatile List<IndexEntry> indexCache = null;
+    private int                       committedIndexEntries = 0;
+
+    private long dataSize  = 0;
+    private long indexSize = 0;
+
+    private FileOutputStream     dataFileStream  = null;
+    private FileOutputStream     indexFileStream = null;
+    private BufferedOutputStream dataStream      = null;
+    private BufferedOutputStream indexStream     = null;
+
+
+    /**
+     * An entry from the index file.
+     */
+    static class IndexEntry
+    {
+        final long   timeStamp;
+        final long   offset;
+        final int    length;
+        final String severity;
+        final String component;
+        final String guid;
+
+
+        /**
+         * Constructor
+         *
+         * @param timeStamp time that the record was created
+         * @param offset offset of the record in the data file
+         * @param length length of the record in bytes
+         * @param severity severity of the record
+         * @param component name of the component that created the record
+         * @param guid unique identifier of the record
+         */
+        IndexEntry(long   timeStamp,
+                   long   offset,
+                   int    length,
+                   String severity,
+                   String component,
+                   String guid)
+        {
+            this.timeStamp = timeStamp;
+            this.offset    = offset;
+            this.length    = length;
+            this.severity  = severity;
+            this.component = component;
+            this.guid      = guid;
+        }
+    }
+
+
+    /**
+     * Constructor for a new, or existing segment.
+     *
+     * @param directory directory where the audit log is stored
+     * @param segmentName name of the segment - the file names are derived from this
+     * @param createTime time that the segment was created
+     */
+    private AuditLogSegment(File   directory,
+                            String segmentName,
+                            long   createTime)
+    {
+        this.segmentName = segmentName;
+        this.dataFile    = new File(directory, segmentName + dataFileSuffix);
+        this.indexFile   = new File(directory, segmentName + indexFileSuffix);
+        this.createTime  = createTime;
+    }
+
+
+    /**
+     * Create a new segment ready to receive records.
+     *
+     * @param directory directory where the audit log is stored
+     * @param createTime time that the segment is created
+     * @param sequenceNumber number that distinguishes segments created in the same millisecond
+     * @return new segment
+     * @throws IOException unable to create the files
+     */
+    static AuditLogSegment createSegment(File directory,
+                                         long createTime,
+                                         int  sequenceNumber) throws IOException
+    {
+        String          segmentName = String.format("%s%013d-%04d", segmentFilePrefix, createTime, sequenceNumber);
+        AuditLogSegment segment     = new AuditLogSegment(directory, segmentName, createTime);
+
+        segment.dataFileStream  = new FileOutputStream(segment.dataFile, true);
+        segment.indexFileStream = new FileOutputStream(segment.indexFile, true);
+        segment.dataStream      = new BufferedOutputStream(segment.dataFileStream);
+        segment.indexStream     = new BufferedOutputStream(segment.indexFileStream);
+        segment.indexCache      = new ArrayList<>();
+
+        return segment;
+    }
+
+
+    /**
+     * Load the summary of an existing segment from its index file.  An incomplete line at the end of the index
+     * (left by a server that stopped while writing) is ignored.
+     *
+     * @param directory directory where the audit log is stored
+     * @param dataFileName name of the segment's data file
+     * @return segment or null if the file name is not a segment or it has no index
+     * @throws IOException unable to read the index
+     */
+    static AuditLogSegment loadSegment(File   directory,
+                                       String dataFileName) throws IOException
+    {
+        if ((! dataFileName.startsWith(segmentFilePrefix)) || (! dataFileName.endsWith(dataFileSuffix)))
+        {
+            return null;
+        }
+
+        String segmentName = dataFileName.substring(0, dataFileName.length() - dataFileSuffix.length());
+        long   createTime;
+
+        try
+        {
+            createTime = Long.parseLong(segmentName.substring(segmentFilePrefix.length(), segmentName.indexOf('-', segmentFilePrefix.length())));
+        }
+        catch (RuntimeException notSegment)
+        {
+            return null;
+        }
+
+        AuditLogSegment segment = new AuditLogSegment(directory, segmentName, createTime);
+
+        if (! segment.indexFile.exists())
+        {
+            return null;
+        }
+
+        byte[] index         = Files.readAllBytes(segment.indexFile.toPath());
+        int    completeBytes = index.length;
+
+        while ((completeBytes > 0) && (index[completeBytes - 1] != '\n'))
+        {
+            completeBytes--;
+        }
+
+        segment.committedIndexSize = completeBytes;
+        segment.indexSize          = completeBytes;
+        segment.dataSize           = segment.dataFile.length();
+
+        for (IndexEntry entry : segment.readIndex())
+        {
+            segment.addToSummary(entry.timeStamp, entry.severity, entry.component);
+        }
+
+        return segment;
+    }
+
+
+    /**
+     * Append a record to the segment.  The record is not visible to queries until flush is called.
+     *
+     * @param guid unique identifier of the record
+     * @param timeStamp time the record was created
+     * @param severity severity of the record
+     * @param component name of the component that created the record
+     * @param jsonRecord JSON version of the record
+     * @throws IOException unable to write to the files
+     */
+    void append(String guid,
+                long   timeStamp,
+                String severity,
+                String component,
+                String jsonRecord) throws IOException
+    {
+        byte[] recordBytes = jsonRecord.getBytes(StandardCharsets.UTF_8);
+
+        dataStream.write(recordBytes);
+        dataStream.write('\n');
+
+        String indexLine = Long.toString(timeStamp) + fieldSeparator +
+                           dataSize + fieldSeparator +
+                           recordBytes.length + fieldSeparator +
+                           getIndexField(severity) + fieldSeparator +
+                           getIndexField(component) + fieldSeparator +
+                           getIndexField(guid) + '\n';
+        byte[] indexBytes = indexLine.getBytes(StandardCharsets.UTF_8);
+
+        indexStream.write(indexBytes);
+
+        List<IndexEntry> cache = indexCache;
+
+        if (cache != null)
+        {
+            synchronized (cache)
+            {
+                cache.add(new IndexEntry(timeStamp, dataSize, recordBytes.length, getIndexValue(getIndexField(severity)),
+                                         getIndexValue(getIndexField(component)), getIndexValue(getIndexField(guid))));
+            }
+        }
+
+        dataSize  = dataSize + recordBytes.length + 1;
+        indexSize = indexSize + indexBytes.length;
+
+        addToSummary(timeStamp, severity, component);
+    }
+
+
+    /**
+     * Write the appended records to disk and make them visible to queries.  The data is forced to disk
+     * before the index so the index never refers to data that is missing after a crash.
+     *
+     * @throws IOException unable to write to the files
+     */
+    void flush() throws IOException
+    {
+        if (committedIndexSize != indexSize)
+        {
+            dataStream.flush();
+            dataFileStream.getChannel().force(false);
+            indexStream.flush();
+            indexFileStream.getChannel().force(false);
+
+            committedIndexSize = indexSize;
+
+            List<IndexEntry> cache = indexCache;
+
+            if (cache != null)
+            {
+                synchronized (cache)
+                {
+                    committedIndexEntries = cache.size();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Flush and close the files.  The segment can still be queried.  The files are closed even if the
+     * flush fails.
+     *
+     * @throws IOException unable to write to the files
+     */
+    void close() throws IOException
+    {
+        if (dataStream != null)
+        {
+            try
+            {
+                flush();
+            }
+            finally
+            {
+                BufferedOutputStream closingDataStream  = dataStream;
+                BufferedOutputStream closingIndexStream = indexStream;
+
+                dataStream  = null;
+                indexStream = null;
+                indexCache  = null;
+
+                try
+                {
+                    closingDataStream.close();
+                }
+                finally
+                {
+                    closingIndexStream.close();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Close and remove the files for the segment.
+     *
+     * @return whether the files were removed
+     */
+    boolean delete()
+    {
+        try
+        {
+            close();
+        }
+        catch (IOException  error)
+        {
+            /*
+             * The segment is being removed so the content does not matter.
+             */
+        }
+
+        boolean dataDeleted  = dataFile.delete();
+        boolean indexDeleted = indexFile.delete();
+
+        return dataDeleted && indexDeleted;
+    }
+
+
+    /**
+     * Return the entries from the committed part of the index.
+     *
+     * @return list of index entries in the order the records were written
+     * @throws IOException unable to read the index
+     */
+    List<IndexEntry> readIndex() throws IOException
+    {
+        List<IndexEntry> cache = indexCache;
+
+        if (cache != null)
+        {
+            synchronized (cache)
+            {
+                return new ArrayList<>(cache.subList(0, committedIndexEntries));
+            }
+        }
+
+        List<IndexEntry> entries = new ArrayList<>();
+        long             size    = committedIndexSize;
+
+        if (size > 0)
+        {
+            byte[] index = new byte[(int) size];
+
+            try (RandomAccessFile indexReader = new RandomAccessFile(indexFile, "r"))
+            {
+                indexReader.readFully(index);
+            }
+
+            try (BufferedReader lineReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(index), StandardCharsets.UTF_8)))
+            {
+                String line;
+
+                while ((line = lineReader.readLine()) != null)
+                {
+                    String[] fields = line.split(String.valueOf(fieldSeparator), -1);
+
+                    if (fields.length == 6)
+                    {
+                        entries.add(new IndexEntry(Long.parseLong(fields[0]),
+                                                   Long.parseLong(fields[1]),
+                                                   Integer.parseInt(fields[2]),
+                                                   getIndexValue(fields[3]),
+                                                   getIndexValue(fields[4]),
+                                                   getIndexValue(fields[5])));
+                    }
+                }
+            }
+        }
+
+        return entries;
+    }
+
+
+    /**
+     * Read the JSON version of the records for the supplied index entries.
+     *
+     * @param entries entries from this segment's index
+     * @return list of JSON records in the same order as the entries
+     * @throws IOException unable to read the data file
+     */
+    List<String> readRecords(List<IndexEntry> entries) throws IOException
+    {
+        List<String> records = new ArrayList<>();
+
+        if (! entries.isEmpty())
+        {
+            try (RandomAccessFile dataReader = new RandomAccessFile(dataFile, "r"))
+            {
+                for (IndexEntry entry : entries)
+                {
+                    byte[] recordBytes = new byte[entry.length];
+
+                    dataReader.seek(entry.offset);
+                    dataReader.readFully(recordBytes);
+
+                    records.add(new String(recordBytes, StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return records;
+    }
+
+
+    /**
+     * Could this segment contain records that match the query?  This test uses the in-memory summary only.
+     *
+     * @param startTime start of the time period
+     * @param endTime end of the time period
+     * @param severity required severity or null for any
+     * @param component required component or null for any
+     * @return boolean flag
+     */
+    boolean mayContain(long   startTime,
+                       long   endTime,
+                       String severity,
+                       String component)
+    {
+        if ((firstTimeStamp > endTime) || (lastTimeStamp < startTime))
+        {
+            return false;
+        }
+
+        if ((severity != null) && (! severities.contains(severity)))
+        {
+            return false;
+        }
+
+        return (component == null) || (components.contains(component));
+    }
+
+
+    /**
+     * Return the name of the segment.
+     *
+     * @return file name without suffix
+     */
+    String getSegmentName()
+    {
+        return segmentName;
+    }
+
+
+    /**
+     * Return the time that the segment was created.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getCreateTime()
+    {
+        return createTime;
+    }
+
+
+    /**
+     * Return the time stamp of the newest record in the segment.
+     *
+     * @return milliseconds since the epoch - Long.MIN_VALUE if the segment is empty
+     */
+    long getLastTimeStamp()
+    {
+        return lastTimeStamp;
+    }
+
+
+    /**
+     * Return the number of bytes in the data and index files.
+     *
+     * @return size in bytes
+     */
+    long getSize()
+    {
+        return dataSize + indexSize;
+    }
+
+
+    /**
+     * Update the summary of the segment's content.
+     *
+     * @param timeStamp time stamp of a record
+     * @param severity severity of a record
+     * @param component component of a record
+     */
+    private void addToSummary(long   timeStamp,
+                              String severity,
+                              String component)
+    {
+        if (timeStamp < firstTimeStamp)
+        {
+            firstTimeStamp = timeStamp;
+        }
+
+        if (timeStamp > lastTimeStamp)
+        {
+            lastTimeStamp = timeStamp;
+        }
+
+        if (severity != null)
+        {
+            severities.add(severity);
+        }
+
+        if (component != null)
+        {
+            components.add(component);
+        }
+    }
+
+
+    /**
+     * Make a value safe to store in the index.  Null is stored as an empty field.
+     *
+     * @param value value to store
+     * @return value without tabs or line breaks
+     */
+    private static String getIndexField(String value)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+
+    /**
+     * Convert a field from the index back to a value.
+     *
+     * @param field field from the index
+     * @return value or null
+     */
+    private static String getIndexValue(String field)
+    {
+        if (field.isEmpty())
+        {
+            return null;
+        }
+
+        return field;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AuditLogSegment{" +
+                "segmentName='" + segmentName + '\'' +
+                ", firstTimeStamp=" + firstTimeStamp +
+                ", lastTimeStamp=" + lastTimeStamp +
+                ", severities=" + severities +
+                ", components=" + components +
+                ", size=" + getSize() +
+                '}';
+    }
+}
@@ -0,0 +1,562 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditLogSegmentStore manages a directory of AuditLogSegments.  Records are passed to a writer thread
+ * through a bounded queue.  The writer appends the records to the current segment in batches and forces
+ * each batch to disk once, rather than once per record.  It starts a new segment when the current segment
+ * reaches its maximum size or age, and removes the segments whose newest record is older than the
+ * retention period.
+ * <p>
+ * Queries use the in-memory summary of each segment to select the segments that may hold matching records,
+ * and then the segment's index to locate the records within it.  The index of the segment being written is
+ * kept in memory since it is the one that most queries read.
+ * </p>
+ * <p>
+ * A batch that fails to be written is logged and the writer moves on to a new segment.  The writer thread does not
+ * stop until the store is closed, so callers waiting for space in the queue, or for their records to be written,
+ * are not left waiting.
+ * </p>
+ */
+class AuditLogSegmentStore implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(AuditLogSegmentStore.class);
+
+    private static final int  maxBatchSize        = 500;
+    private static final long maxQueryWaitTime    = 10000;
+    private static final long writerPollInterval  = 1000;
+
+    private final File          directory;
+    private final long          maxSegmentSize;
+    private final long          segmentDuration;
+    private final long          retentionPeriod;
+    private final BlockingQueue<PendingRecord>  pendingRecords;
+    private final List<AuditLogSegment>         segments = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong queuedRecordCount  = new AtomicLong(0);
+    private long             writtenRecordCount = 0;
+
+    private volatile boolean  running        = false;
+    private volatile Thread   writerThread   = null;
+    private AuditLogSegment   currentSegment = null;
+    private int               segmentSequenceNumber = 0;
+
+
+    /**
+     * A record waiting to be written.
+     */
+    private static class PendingRecord
+    {
+        final String guid;
+        final long   timeStamp;
+        final String severity;
+        final String component;
+        final String jsonRecord;
+
+
+        /**
+         * Constructor
+         *
+         * @param guid unique identifier of the record
+         * @param timeStamp time the record was created
+         * @param severity severity of the record
+         * @param component name of the component that created the record
+         * @param jsonRecord JSON version of the record
+         */
+        PendingRecord(String guid,
+                      long   timeStamp,
+                      String severity,
+                      String component,
+                      String jsonRecord)
+        {
+            this.guid       = guid;
+            this.timeStamp  = timeStamp;
+            this.severity   = severity;
+            this.component  = component;
+            this.jsonRecord = jsonRecord;
+        }
+    }
+
+
+    /**
+     * Constructor supplies the configuration of the store.
+     *
+     * @param directoryName name of the directory where the segments are stored
+     * @param maxSegmentSize size in bytes that causes a new segment to be started
+     * @param segmentDuration time in milliseconds that causes a new segment to be started
+     * @param retentionPeriod time in milliseconds that records are kept - 0 means keep forever
+     * @param maxQueuedRecords maximum number of records waiting to be written before callers have to wait
+     */
+    AuditLogSegmentStore(String directoryName,
+                         long   maxSegmentSize,
+                         long   segmentDuration,
+                         long   retentionPeriod,
+                         int    maxQueuedRecords)
+    {
+        this.directory       = new File(directoryName);
+        this.maxSegmentSize  = maxSegmentSize;
+        this.segmentDuration = segmentDuration;
+        this.retentionPeriod = retentionPeriod;
+        this.pendingRecords  = new ArrayBlockingQueue<>(maxQueuedRecords);
+    }
+
+
+    /**
+     * Load the summaries of the existing segments and start the writer thread.  New records are
+     * always written to a new segment.
+     *
+     * @throws IOException the directory is not usable
+     */
+    synchronized void open() throws IOException
+    {
+        if (! directory.isDirectory())
+        {
+            if (! directory.mkdirs())
+            {
+                throw new IOException("Unable to create audit log directory " + directory.getAbsolutePath());
+            }
+        }
+
+        String[] fileNames = directory.list();
+
+        if (fileNames != null)
+        {
+            Arrays.sort(fileNames);
+
+            for (String fileName : fileNames)
+            {
+                try
+                {
+                    AuditLogSegment segment = AuditLogSegment.loadSegment(directory, fileName);
+
+                    if (segment != null)
+                    {
+                        segments.add(segment);
+                    }
+                }
+                catch (IOException error)
+                {
+                    log.error("Unable to load audit log segment " + fileName, error);
+                }
+            }
+        }
+
+        this.removeExpiredSegments();
+
+        running = true;
+        writerThread = new Thread(this, "FileBasedAuditLogWriter: " + directory.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Queue a record for writing.  The caller waits if the queue is full.
+     *
+     * @param guid unique identifier of the record
+     * @param timeStamp time the record was created
+     * @param severity severity of the record
+     * @param component name of the component that created the record
+     * @param jsonRecord JSON version of the record
+     * @throws IOException the writer thread has stopped so the record can not be stored
+     * @throws InterruptedException the caller was interrupted while waiting for space in the queue
+     */
+    void store(String guid,
+               long   timeStamp,
+               String severity,
+               String component,
+               String jsonRecord) throws IOException, InterruptedException
+    {
+        PendingRecord pendingRecord = new PendingRecord(guid, timeStamp, severity, component, jsonRecord);
+
+        while (! pendingRecords.offer(pendingRecord, writerPollInterval, TimeUnit.MILLISECONDS))
+        {
+            if (! this.isWriterAlive())
+            {
+                throw new IOException("Audit log writer for " + directory.getAbsolutePath() + " has stopped");
+            }
+        }
+
+        queuedRecordCount.incrementAndGet();
+    }
+
+
+    /**
+     * Return the JSON records that match the query in the order they were written.
+     *
+     * @param startTime start of the time period (inclusive)
+     * @param endTime end of the time period (inclusive)
+     * @param severity required severity or null for any
+     * @param component required component or null for any
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return - 0 means no limit
+     * @return list of JSON records
+     * @throws IOException unable to read the segments
+     */
+    List<String> findRecords(long   startTime,
+                             long   endTime,
+                             String severity,
+                             String component,
+                             int    offset,
+                             int    maximumRecords) throws IOException
+    {
+        this.waitForQueuedRecords();
+
+        List<String> results = new ArrayList<>();
+        int          skipped = 0;
+
+        for (AuditLogSegment segment : segments)
+        {
+            if (segment.mayContain(startTime, endTime, severity, component))
+            {
+                List<AuditLogSegment.IndexEntry> matchingEntries = new ArrayList<>();
+
+                for (AuditLogSegment.IndexEntry entry : this.readIndex(segment))
+                {
+                    if ((entry.timeStamp >= startTime) && (entry.timeStamp <= endTime) &&
+                        ((severity == null) || (severity.equals(entry.severity))) &&
+                        ((component == null) || (component.equals(entry.component))))
+                    {
+                        if (skipped < offset)
+                        {
+                            skipped++;
+                        }
+                        else if ((maximumRecords == 0) || (results.size() + matchingEntries.size() < maximumRecords))
+                        {
+                            matchingEntries.add(entry);
+                        }
+                        else
+                        {
+                            break;
+                        }
+                    }
+                }
+
+                results.addAll(segment.readRecords(matchingEntries));
+
+                if ((maximumRecords != 0) && (results.size() >= maximumRecords))
+                {
+                    break;
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the JSON version of a specific record.  The newest segments are searched first.
+     *
+     * @param guid unique identifier of the record
+     * @return JSON record or null if not found
+     * @throws IOException unable to read the segments
+     */
+    String findRecord(String guid) throws IOException
+    {
+        this.waitForQueuedRecords();
+
+        List<AuditLogSegment> segmentsToSearch = new ArrayList<>(segments);
+
+        for (int i = segmentsToSearch.size() - 1; i >= 0; i--)
+        {
+            AuditLogSegment segment = segmentsToSearch.get(i);
+
+            for (AuditLogSegment.IndexEntry entry : this.readIndex(segment))
+            {
+                if (guid.equals(entry.guid))
+                {
+                    return segment.readRecords(List.of(entry)).get(0);
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Stop the writer thread once it has written the queued records.
+     */
+    void close()
+    {
+        running = false;
+
+        if (writerThread != null)
+        {
+            try
+            {
+                writerThread.join(maxQueryWaitTime);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * Is the writer thread still running?
+     *
+     * @return boolean flag
+     */
+    private boolean isWriterAlive()
+    {
+        return (writerThread != null) && (writerThread.isAlive());
+    }
+
+
+    /**
+     * Return the number of segments.
+     *
+     * @return count
+     */
+    int getSegmentCount()
+    {
+        return segments.size();
+    }
+
+
+    /**
+     * The writer thread takes batches of records from the queue and writes them to the current segment.
+     */
+    @Override
+    public void run()
+    {
+        List<PendingRecord> batch = new ArrayList<>();
+
+        while (running || (! pendingRecords.isEmpty()))
+        {
+            try
+            {
+                PendingRecord firstRecord = pendingRecords.poll(writerPollInterval, TimeUnit.MILLISECONDS);
+
+                if (firstRecord != null)
+                {
+                    batch.add(firstRecord);
+                    pendingRecords.drainTo(batch, maxBatchSize - 1);
+
+                    this.writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                log.debug("Audit log writer interrupted");
+            }
+        }
+
+        try
+        {
+            if (currentSegment != null)
+            {
+                currentSegment.close();
+            }
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to close audit log segment " + currentSegment.getSegmentName(), error);
+        }
+    }
+
+
+    /**
+     * Write a batch of records to the current segment, starting new segments as needed, and then
+     * let any waiting queries know that the records are visible.  Any error is logged so the writer
+     * thread keeps running.
+     *
+     * @param batch records to write
+     */
+    private void writeBatch(List<PendingRecord> batch)
+    {
+        try
+        {
+            for (PendingRecord record : batch)
+            {
+                if (this.isRollNeeded())
+                {
+                    this.rollSegment();
+                }
+
+                currentSegment.append(record.guid, record.timeStamp, record.severity, record.component, record.jsonRecord);
+            }
+
+            currentSegment.flush();
+        }
+        catch (IOException | RuntimeException error)
+        {
+            log.error("Unable to write " + batch.size() + " audit log records to " + directory.getAbsolutePath(), error);
+
+            /*
+             * Start a new segment for the next batch in case the problem is with the current files.
+             */
+            this.abandonCurrentSegment();
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                writtenRecordCount = writtenRecordCount + batch.size();
+                this.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * Close the current segment after a failed write so that the next batch starts a new one.  The records
+     * that were written before the failure remain available to queries.
+     */
+    private void abandonCurrentSegment()
+    {
+        if (currentSegment != null)
+        {
+            try
+            {
+                currentSegment.close();
+            }
+            catch (IOException | RuntimeException error)
+            {
+                log.debug("Unable to close audit log segment " + currentSegment.getSegmentName() + ": " + error.getMessage());
+            }
+
+            currentSegment = null;
+        }
+    }
+
+
+    /**
+     * Should the current segment be closed and a new one started?
+     *
+     * @return boolean flag
+     */
+    private boolean isRollNeeded()
+    {
+        if (currentSegment == null)
+        {
+            return true;
+        }
+
+        return (currentSegment.getSize() >= maxSegmentSize) ||
+               (System.currentTimeMillis() - currentSegment.getCreateTime() >= segmentDuration);
+    }
+
+
+    /**
+     * Close the current segment, start a new one and remove the expired segments.
+     *
+     * @throws IOException unable to create the new segment
+     */
+    private void rollSegment() throws IOException
+    {
+        if (currentSegment != null)
+        {
+            currentSegment.close();
+        }
+
+        currentSegment = AuditLogSegment.createSegment(directory, System.currentTimeMillis(), segmentSequenceNumber++ % 10000);
+        segments.add(currentSegment);
+
+        log.debug("Started audit log segment " + currentSegment.getSegmentName());
+
+        this.removeExpiredSegments();
+    }
+
+
+    /**
+     * Remove the segments whose newest record is older than the retention period.  The current segment is never removed.
+     */
+    private void removeExpiredSegments()
+    {
+        if (retentionPeriod > 0)
+        {
+            long expiryTime = System.currentTimeMillis() - retentionPeriod;
+
+            for (AuditLogSegment segment : segments)
+            {
+                if ((segment != currentSegment) && (segment.getLastTimeStamp() < expiryTime))
+                {
+                    segments.remove(segment);
+
+                    if (! segment.delete())
+                    {
+                        log.debug("Unable to delete all of the files for audit log segment " + segment.getSegmentName());
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Read the index of a segment.  A segment that has been removed by the retention processing
+     * while the query was running is treated as empty.
+     *
+     * @param segment segment to read
+     * @return index entries
+     * @throws IOException unable to read the index
+     */
+    private List<AuditLogSegment.IndexEntry> readIndex(AuditLogSegment segment) throws IOException
+    {
+        try
+        {
+            return segment.readIndex();
+        }
+        catch (IOException error)
+        {
+            if (segments.contains(segment))
+            {
+                throw error;
+            }
+
+            return new ArrayList<>();
+        }
+    }
+
+
+    /**
+     * Wait for the records queued before the query to be written so the query sees them.
+     */
+    private synchronized void waitForQueuedRecords()
+    {
+        long queuedRecords = queuedRecordCount.get();
+        long waitUntil     = System.currentTimeMillis() + maxQueryWaitTime;
+
+        while ((running) && (this.isWriterAlive()) && (writtenRecordCount < queuedRecords))
+        {
+            long waitTime = waitUntil - System.currentTimeMillis();
+
+            if (waitTime <= 0)
+            {
+                log.debug("Audit log query is running before all queued records are written");
+                break;
+            }
+
+            try
+            {
+                this.wait(waitTime);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+}
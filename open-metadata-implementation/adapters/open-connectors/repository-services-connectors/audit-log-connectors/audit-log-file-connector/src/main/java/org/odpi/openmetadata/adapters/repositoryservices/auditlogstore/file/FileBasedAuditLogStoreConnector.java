@@ -3,9 +3,11 @@
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
@@ -15,15 +17,19 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a series of append-only segments.  Each segment has a data file
+ * holding the JSON version of its audit log records (one per line) and an index file that supports the queries by
+ * time stamp, severity and reporting component.  Records are written in batches by a background thread.
+ * A new segment is started when the current segment reaches its maximum size or age, and segments are removed once
+ * all of their records are older than the retention period.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
@@ -31,9 +37,17 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writer();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader OBJECT_READER = OBJECT_MAPPER.reader();
+    private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
 
-    private String logStoreTemplateName = null;
+    private static final long defaultMaxSegmentSize  = 64L * 1024 * 1024;
+    private static final long defaultSegmentDuration = 60;
+    private static final long defaultRetentionPeriod = 168;
+    private static final int  defaultWriteQueueSize  = 10000;
+
+    private String               logStoreTemplateName = null;
+    private AuditLogSegmentStore segmentStore         = null;
 
 
     /**
@@ -66,19 +80,67 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             logStoreTemplateName = defaultDirectoryTemplate;
         }
 
-        try
+        long maxSegmentSize  = defaultMaxSegmentSize;
+        long segmentDuration = defaultSegmentDuration;
+        long retentionPeriod = defaultRetentionPeriod;
+        int  writeQueueSize  = defaultWriteQueueSize;
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
         {
-            File         auditLogStoreDirectory = new File(logStoreTemplateName);
+            maxSegmentSize  = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.MAX_SEGMENT_SIZE_PROPERTY, maxSegmentSize);
+            segmentDuration = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.SEGMENT_DURATION_PROPERTY, segmentDuration);
+            retentionPeriod = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.RETENTION_PERIOD_PROPERTY, retentionPeriod);
+            writeQueueSize  = (int) getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.WRITE_QUEUE_SIZE_PROPERTY, writeQueueSize);
+        }
 
-            FileUtils.forceMkdir(auditLogStoreDirectory);
+        try
+        {
+            segmentStore = new AuditLogSegmentStore(logStoreTemplateName,
+                                                    maxSegmentSize,
+                                                    segmentDuration * 60 * 1000,
+                                                    retentionPeriod * 60 * 60 * 1000,
+                                                    writeQueueSize);
+            segmentStore.open();
         }
         catch (IOException ioException)
         {
+            segmentStore = null;
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
     }
 
 
+    /**
+     * Return the value of a numeric configuration property.  Zero and negative values are only accepted for the
+     * retention period (where they mean keep the records forever).
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            long value = ((Number)propertyValue).longValue();
+
+            if ((value > 0) || (FileBasedAuditLogStoreProvider.RETENTION_PERIOD_PROPERTY.equals(propertyName)))
+            {
+                return value;
+            }
+        }
+
+        return defaultValue;
+    }
+
+
     /**
      * Store the audit log record in the audit log store.
      *
@@ -93,20 +155,29 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
         super.validateLogRecord(logRecord, methodName);
 
-        if (isSupportedSeverity(logRecord))
+        if ((isSupportedSeverity(logRecord)) && (segmentStore != null))
         {
             try
             {
-                File configStoreFile =
-                        new File(logStoreTemplateName + "/log-record-" + logRecord.getGUID());
-
-                String configStoreFileContents = OBJECT_WRITER.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                String                     jsonRecord = OBJECT_WRITER.writeValueAsString(logRecord);
+                AuditLogReportingComponent component  = logRecord.getOriginatorComponent();
+                Date                       timeStamp  = logRecord.getTimeStamp();
+
+                segmentStore.store(logRecord.getGUID(),
+                                   (timeStamp == null) ? System.currentTimeMillis() : timeStamp.getTime(),
+                                   logRecord.getSeverity(),
+                                   component.getComponentName(),
+                                   jsonRecord);
             }
             catch (IOException ioException)
             {
                 log.error("Unusable Server Audit Log Store :(", ioException);
             }
+            catch (InterruptedException interrupted)
+            {
+                log.error("Audit log record " + logRecord.getGUID() + " not stored because the caller was interrupted");
+                Thread.currentThread().interrupt();
+            }
         }
 
         return logRecord.getGUID();
@@ -127,6 +198,25 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecord";
 
+        if (logRecordId == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            String jsonRecord = this.getSegmentStore(methodName).findRecord(logRecordId);
+
+            if (jsonRecord != null)
+            {
+                return OBJECT_READER.readValue(jsonRecord, OMRSAuditLogRecord.class);
+            }
+        }
+        catch (IOException ioException)
+        {
+            this.throwStoreNotAvailable(methodName, ioException);
+        }
+
         return null;
     }
 
@@ -154,7 +244,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return this.findRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -183,7 +273,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsBySeverity";
 
-        return null;
+        return this.findRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -212,7 +302,121 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByComponent";
 
-        return null;
+        return this.findRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
+    }
+
+
+    /**
+     * Run a query against the segment store.  A null start or end date leaves that end of the time period open.
+     *
+     * @param severity required severity or null for any
+     * @param component required component or null for any
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return - 0 means no limit
+     * @param methodName calling method
+     * @return list of log records in the order they were written
+     * @throws PagingErrorException indicates that the offset or the maximumRecords parameters are invalid.
+     * @throws RepositoryErrorException indicates that the audit log store is not available or has an error.
+     */
+    private List<OMRSAuditLogRecord> findRecords(String severity,
+                                                 String component,
+                                                 Date   startDate,
+                                                 Date   endDate,
+                                                 int    offset,
+                                                 int    maximumRecords,
+                                                 String methodName) throws PagingErrorException,
+                                                                           RepositoryErrorException
+    {
+        this.validatePaging(offset, "offset", methodName);
+        this.validatePaging(maximumRecords, "maximumRecords", methodName);
+
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+
+        try
+        {
+            List<String> jsonRecords = this.getSegmentStore(methodName).findRecords((startDate == null) ? Long.MIN_VALUE : startDate.getTime(),
+                                                                                    (endDate == null) ? Long.MAX_VALUE : endDate.getTime(),
+                                                                                    severity,
+                                                                                    component,
+                                                                                    offset,
+                                                                                    maximumRecords);
+
+            for (String jsonRecord : jsonRecords)
+            {
+                results.add(OBJECT_READER.readValue(jsonRecord, OMRSAuditLogRecord.class));
+            }
+        }
+        catch (IOException ioException)
+        {
+            this.throwStoreNotAvailable(methodName, ioException);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Validate a paging parameter.
+     *
+     * @param value value supplied by the caller
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws PagingErrorException the value is negative
+     */
+    private void validatePaging(int    value,
+                                String parameterName,
+                                String methodName) throws PagingErrorException
+    {
+        if (value < 0)
+        {
+            throw new PagingErrorException(OMRSErrorCode.NEGATIVE_AUDIT_LOG_PAGING.getMessageDefinition(super.getDestinationName(),
+                                                                                                        Integer.toString(value),
+                                                                                                        parameterName,
+                                                                                                        methodName),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+    }
+
+
+    /**
+     * Return the segment store, checking that it started successfully.
+     *
+     * @param methodName calling method
+     * @return segment store
+     * @throws RepositoryErrorException the store is not available
+     */
+    private AuditLogSegmentStore getSegmentStore(String methodName) throws RepositoryErrorException
+    {
+        if (segmentStore == null)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                                "directory " + logStoreTemplateName + " is not usable"),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        return segmentStore;
+    }
+
+
+    /**
+     * Throw an exception to report that the audit log files could not be read.
+     *
+     * @param methodName calling method
+     * @param ioException exception from reading the files
+     * @throws RepositoryErrorException the exception that describes the problem
+     */
+    private void throwStoreNotAvailable(String      methodName,
+                                        IOException ioException) throws RepositoryErrorException
+    {
+        throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                            ioException.getMessage()),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           ioException);
     }
 
 
@@ -224,6 +428,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (segmentStore != null)
+        {
+            segmentStore.close();
+        }
+
         super.disconnect();
     }
 }
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
  */
@@ -20,7 +22,27 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
      */
     private static final String connectorQualifiedName = "Egeria:AuditLogDestinationConnector:Files";
     private static final String connectorDisplayName   = "File-based Audit Log Destination Connector";
-    private static final String connectorDescription   = "Connector supports the distribution of audit log record to a directory where each file is a JSON formatted log record.";
+    private static final String connectorDescription   = "Connector supports the distribution of audit log records to a directory of rolling, indexed segment files holding JSON formatted log records.";
+
+    /**
+     * Size in bytes of a segment's files that causes a new segment to be started.  The default is 64MB.
+     */
+    public static final String MAX_SEGMENT_SIZE_PROPERTY = "maxSegmentSize";
+
+    /**
+     * Age in minutes of a segment that causes a new segment to be started.  The default is 60.
+     */
+    public static final String SEGMENT_DURATION_PROPERTY = "segmentDuration";
+
+    /**
+     * Number of hours that audit log records are kept.  The default is 168 (one week).  Zero means keep them forever.
+     */
+    public static final String RETENTION_PERIOD_PROPERTY = "retentionPeriod";
+
+    /**
+     * Maximum number of audit log records waiting to be written before callers have to wait.  The default is 10000.
+     */
+    public static final String WRITE_QUEUE_SIZE_PROPERTY = "writeQueueSize";
 
     /*
      * Class of the connector.
@@ -51,7 +73,13 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDisplayName(connectorDisplayName);
         connectorType.setDescription(connectorDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
-        connectorType.setRecognizedConfigurationProperties(super.getRecognizedConfigurationProperties());
+
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+        recognizedConfigurationProperties.add(MAX_SEGMENT_SIZE_PROPERTY);
+        recognizedConfigurationProperties.add(SEGMENT_DURATION_PROPERTY);
+        recognizedConfigurationProperties.add(RETENTION_PERIOD_PROPERTY);
+        recognizedConfigurationProperties.add(WRITE_QUEUE_SIZE_PROPERTY);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
         super.connectorTypeBean = connectorType;
     }
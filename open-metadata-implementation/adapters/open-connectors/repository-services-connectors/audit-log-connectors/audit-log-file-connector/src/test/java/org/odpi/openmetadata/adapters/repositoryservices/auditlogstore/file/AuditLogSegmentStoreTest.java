@@ -0,0 +1,223 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate the writing, rolling and querying of the segments of the file based audit log.
+ */
+public class AuditLogSegmentStoreTest
+{
+    private static final long ONE_HOUR = 60L * 60 * 1000;
+
+
+    @Test
+    void testQueriesAcrossSegments() throws IOException, InterruptedException
+    {
+        File directory = Files.createTempDirectory("auditlog").toFile();
+
+        /*
+         * The small segment size causes the records to be spread over many segments.
+         */
+        AuditLogSegmentStore store = new AuditLogSegmentStore(directory.getPath(), 500, ONE_HOUR, 0, 100);
+
+        store.open();
+
+        for (int i = 0; i < 100; i++)
+        {
+            store.store("guid-" + i,
+                        1000L + i,
+                        (i % 10 == 0) ? "Error" : "Information",
+                        (i % 2 == 0) ? "OMRS" : "Asset Manager OMAS",
+                        "{\"guid\":\"guid-" + i + "\"}");
+        }
+
+        assertEquals(store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 0).size(), 100);
+        assertEquals(store.findRecords(1010, 1019, null, null, 0, 0).size(), 10);
+        assertEquals(store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, "Error", null, 0, 0).size(), 10);
+        assertEquals(store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, "OMRS", 0, 0).size(), 50);
+        assertEquals(store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, "Unknown", null, 0, 0).size(), 0);
+
+        List<String> page = store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, "Information", "OMRS", 5, 3);
+
+        assertEquals(page, List.of("{\"guid\":\"guid-14\"}", "{\"guid\":\"guid-16\"}", "{\"guid\":\"guid-18\"}"));
+        assertEquals(store.findRecord("guid-42"), "{\"guid\":\"guid-42\"}");
+        assertNull(store.findRecord("guid-999"));
+        assertTrue(store.getSegmentCount() > 1);
+
+        store.close();
+
+        /*
+         * The content is still available after a restart.
+         */
+        AuditLogSegmentStore restartedStore = new AuditLogSegmentStore(directory.getPath(), 500, ONE_HOUR, 0, 100);
+
+        restartedStore.open();
+
+        assertEquals(restartedStore.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 0).size(), 100);
+        assertEquals(restartedStore.findRecord("guid-7"), "{\"guid\":\"guid-7\"}");
+
+        restartedStore.close();
+    }
+
+
+    @Test
+    void testRetention() throws IOException, InterruptedException
+    {
+        File directory = Files.createTempDirectory("auditlog").toFile();
+        long now       = System.currentTimeMillis();
+
+        AuditLogSegmentStore store = new AuditLogSegmentStore(directory.getPath(), 1, ONE_HOUR, ONE_HOUR, 100);
+
+        store.open();
+        store.store("old-guid", now - (2 * ONE_HOUR), "Information", "OMRS", "{}");
+        store.store("new-guid", now, "Information", "OMRS", "{}");
+        store.store("newer-guid", now, "Information", "OMRS", "{}");
+
+        /*
+         * Each record has its own segment.  The first is removed when the third segment is started.
+         */
+        assertNull(store.findRecord("old-guid"));
+        assertEquals(store.findRecord("new-guid"), "{}");
+        assertEquals(store.getSegmentCount(), 2);
+
+        store.close();
+    }
+
+
+    @Test
+    void testPagingAcrossSegments() throws IOException, InterruptedException
+    {
+        File directory = Files.createTempDirectory("auditlog").toFile();
+
+        AuditLogSegmentStore store = new AuditLogSegmentStore(directory.getPath(), 300, ONE_HOUR, 0, 100);
+
+        store.open();
+
+        for (int i = 0; i < 40; i++)
+        {
+            store.store("guid-" + i, 1000L + i, "Information", "OMRS", "{\"guid\":\"guid-" + i + "\"}");
+        }
+
+        /*
+         * Reading page by page returns every record once, in the order written, whatever the segment boundaries.
+         */
+        List<String> allRecords = new ArrayList<>();
+
+        for (int offset = 0; offset < 50; offset = offset + 7)
+        {
+            List<String> page = store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, offset, 7);
+
+            assertTrue(page.size() <= 7);
+            allRecords.addAll(page);
+        }
+
+        assertEquals(allRecords.size(), 40);
+        assertTrue(store.getSegmentCount() > 3);
+
+        for (int i = 0; i < 40; i++)
+        {
+            assertEquals(allRecords.get(i), "{\"guid\":\"guid-" + i + "\"}");
+        }
+
+        assertEquals(store.findRecords(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 40, 10).size(), 0);
+        assertEquals(store.findRecords(1035, 1100, null, null, 0, 0).size(), 5);
+        assertEquals(store.findRecords(1005, 1004, null, null, 0, 0).size(), 0);
+
+        store.close();
+    }
+
+
+    @Test
+    void testWriterSurvivesFailedBatch() throws IOException, InterruptedException
+    {
+        File directory = Files.createTempDirectory("auditlog").toFile();
+
+        AuditLogSegmentStore store = new AuditLogSegmentStore(directory.getPath(), 100000, ONE_HOUR, 0, 2);
+
+        store.open();
+        store.store("guid-0", 1000L, "Information", "OMRS", "{}");
+
+        /*
+         * A record without content causes a runtime exception in the writer.
+         */
+        store.store("bad-guid", 1001L, "Information", "OMRS", null);
+
+        assertNull(store.findRecord("bad-guid"));
+
+        /*
+         * More records than the queue can hold are written after the failure so the writer must still be running.
+         */
+        for (int i = 1; i < 10; i++)
+        {
+            store.store("guid-" + i, 1000L + i, "Information", "OMRS", "{\"guid\":\"guid-" + i + "\"}");
+        }
+
+        assertEquals(store.findRecord("guid-9"), "{\"guid\":\"guid-9\"}");
+        assertEquals(store.findRecords(1002, 1009, null, null, 0, 0).size(), 8);
+
+        store.close();
+    }
+
+
+    @Test
+    void testCurrentSegmentIndex() throws IOException
+    {
+        File            directory = Files.createTempDirectory("auditlog").toFile();
+        AuditLogSegment segment   = AuditLogSegment.createSegment(directory, System.currentTimeMillis(), 0);
+
+        segment.append("guid-1", 1000L, "Error", "OMRS", "{\"guid\":\"guid-1\"}");
+
+        /*
+         * Records are not visible to queries until they are flushed.
+         */
+        assertTrue(segment.readIndex().isEmpty());
+
+        segment.flush();
+        segment.append("guid-2", 1001L, null, "OMRS", "{\"guid\":\"guid-2\"}");
+
+        List<AuditLogSegment.IndexEntry> index = segment.readIndex();
+
+        assertEquals(index.size(), 1);
+        assertEquals(index.get(0).guid, "guid-1");
+        assertEquals(index.get(0).severity, "Error");
+
+        /*
+         * While the segment is being written, the index is served from memory rather than from the file.
+         */
+        File indexFile = new File(directory, segment.getSegmentName() + AuditLogSegment.indexFileSuffix);
+
+        assertTrue(indexFile.delete());
+        assertEquals(segment.readIndex().size(), 1);
+
+        segment.flush();
+
+        index = segment.readIndex();
+
+        assertEquals(index.size(), 2);
+        assertNull(index.get(1).severity);
+        assertEquals(segment.readRecords(index), List.of("{\"guid\":\"guid-1\"}", "{\"guid\":\"guid-2\"}"));
+
+        /*
+         * Once closed, the segment is read from its files.
+         */
+        segment.close();
+
+        assertFalse(indexFile.exists());
+        assertThrows(IOException.class, segment::readIndex);
+    }
+}
@@ -11,15 +11,31 @@ import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperti
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.apache.commons.io.FileUtils;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamHandler;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.StreamingOpenMetadataArchiveStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-
-public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * FileBasedOpenMetadataArchiveStoreConnector stores an open metadata archive as a JSON file.  The file may be compressed
+ * with gzip.  Compressed files are detected when they are read and a file is compressed when it is written if its name ends in ".gz".
+ * The archive can be read all at once or streamed to a handler so that large archives do not need to fit in memory.
+ */
+public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector implements StreamingOpenMetadataArchiveStore
 {
+    /*
+     * Files with this extension are compressed when they are written.
+     */
+    private static final String compressedFileExtension = ".gz";
+
     /*
      * This is the default name of the open metadata archive file that is used if there is no file name in the connection.
      */
@@ -95,9 +111,10 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
                                     FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
             }
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
-
-            newOpenMetadataArchive = OBJECT_READER.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            try (InputStream archiveStream = OpenMetadataArchiveStreamReader.getArchiveInputStream(FileUtils.openInputStream(archiveStoreFile)))
+            {
+                newOpenMetadataArchive = OBJECT_READER.readValue(archiveStream, OpenMetadataArchive.class);
+            }
         }
         catch (IOException ioException)
         {
@@ -125,6 +142,33 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Read the archive, passing its contents to the handler.
+     *
+     * @param handler receiver of the contents of the archive
+     * @param chunkSize maximum number of instances passed to the handler in each call
+     * @throws IOException the archive could not be read.  Some of the contents may have been passed to the handler.
+     */
+    @Override
+    public void processArchiveContents(OpenMetadataArchiveStreamHandler handler,
+                                       int                              chunkSize) throws IOException
+    {
+        log.debug("Streaming open metadata archive from file");
+
+        if (auditLog != null)
+        {
+            final String actionDescription = "Opening open metadata archive";
+
+            auditLog.logMessage(actionDescription,
+                                FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
+        }
+
+        OpenMetadataArchiveStreamReader archiveReader = new OpenMetadataArchiveStreamReader(chunkSize);
+
+        archiveReader.readArchive(FileUtils.openInputStream(new File(archiveStoreName)), handler);
+    }
+
+
     /**
      * Set new contents into the archive.  This overrides any content previously stored.
      *
@@ -145,9 +189,20 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                String archiveStoreFileContents = OBJECT_WRITER.writeValueAsString(archiveContents);
-
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+                try (OutputStream archiveStream = FileUtils.openOutputStream(archiveStoreFile, false))
+                {
+                    if (archiveStoreName.endsWith(compressedFileExtension))
+                    {
+                        try (OutputStream compressedStream = new GZIPOutputStream(archiveStream))
+                        {
+                            OBJECT_WRITER.writeValue(compressedStream, archiveContents);
+                        }
+                    }
+                    else
+                    {
+                        OBJECT_WRITER.writeValue(archiveStream, archiveContents);
+                    }
+                }
             }
         }
         catch (IOException   ioException)
@@ -1281,12 +1281,24 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         else
         {
             // If there are no dups in property maps perform a delegated query.
+            // Push the status filtering, sequencing and paging into the graph traversal if possible.
+            queryPlan.planSequencingAndPaging(repositoryName,
+                                              repositoryHelper,
+                                              TypeDefCategory.ENTITY_DEF,
+                                              limitResultsByStatus,
+                                              limitResultsByClassification != null,
+                                              sequencingProperty,
+                                              sequencingOrder,
+                                              fromEntityElement,
+                                              pageSize);
+
             foundEntities = graphStore.findEntitiesByPropertyForTypes(validTypeNames,
                                                                       filterTypeName,
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
                                                                       matchProperties,
-                                                                      matchCriteria);
+                                                                      matchCriteria,
+                                                                      queryPlan);
         }
         // Process list of returned entities from sub-methods
         if (foundEntities != null)
@@ -1307,8 +1319,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            entities = formatEntityResults(queryPlan, retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -1319,6 +1330,54 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
 
 
+    // formatEntityResults
+    /*
+     * If the graph traversal has already filtered, sequenced and paged the results (see GraphOMRSQueryPlan) they are
+     * returned as they are, otherwise the repository helper sequences and pages them in memory.
+     */
+    private List<EntityDetail> formatEntityResults(GraphOMRSQueryPlan   queryPlan,
+                                                   List<EntityDetail>   retainedEntities,
+                                                   int                  fromEntityElement,
+                                                   String               sequencingProperty,
+                                                   SequencingOrder      sequencingOrder,
+                                                   int                  pageSize)
+    throws
+    PagingErrorException,
+    PropertyErrorException
+    {
+        if (queryPlan.isPagingPushedDown())
+        {
+            return retainedEntities.isEmpty() ? null : retainedEntities;
+        }
+
+        return repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+    // formatRelationshipResults
+    /*
+     * If the graph traversal has already filtered, sequenced and paged the results (see GraphOMRSQueryPlan) they are
+     * returned as they are, otherwise the repository helper sequences and pages them in memory.
+     */
+    private List<Relationship> formatRelationshipResults(GraphOMRSQueryPlan   queryPlan,
+                                                         List<Relationship>   retainedRelationships,
+                                                         int                  fromRelationshipElement,
+                                                         String               sequencingProperty,
+                                                         SequencingOrder      sequencingOrder,
+                                                         int                  pageSize)
+    throws
+    PagingErrorException,
+    PropertyErrorException
+    {
+        if (queryPlan.isPagingPushedDown())
+        {
+            return retainedRelationships.isEmpty() ? null : retainedRelationships;
+        }
+
+        return repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
     // findEntitiesByPropertyIteratively
     public List<EntityDetail> findEntitiesByPropertyIteratively(List<String>                  validTypeNames,
                                                                 InstanceProperties            matchProperties,
@@ -1576,12 +1635,24 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         else
         {
             // If there are no dups in property maps perform a delegated query.
+            // Push the status filtering, sequencing and paging into the graph traversal if possible.
+            queryPlan.planSequencingAndPaging(repositoryName,
+                                              repositoryHelper,
+                                              TypeDefCategory.RELATIONSHIP_DEF,
+                                              limitResultsByStatus,
+                                              false,
+                                              sequencingProperty,
+                                              sequencingOrder,
+                                              fromRelationshipElement,
+                                              pageSize);
+
             foundRelationships = graphStore.findRelationshipsByPropertyForTypes(validTypeNames,
                                                                                 filterTypeName,
                                                                                 qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                 shortPropertyNameToQualifiedPropertyNames,
                                                                                 matchProperties,
-                                                                                matchCriteria);
+                                                                                matchCriteria,
+                                                                                queryPlan);
         }
 
         List<Relationship> relationships = null;
@@ -1602,8 +1673,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            relationships = formatRelationshipResults(queryPlan, retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -2036,11 +2106,23 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         else
         {
             // If there are no dups in property maps perform a delegated query.
+            // Push the status filtering, sequencing and paging into the graph traversal if possible.
+            queryPlan.planSequencingAndPaging(repositoryName,
+                                              repositoryHelper,
+                                              TypeDefCategory.ENTITY_DEF,
+                                              limitResultsByStatus,
+                                              matchClassifications != null,
+                                              sequencingProperty,
+                                              sequencingOrder,
+                                              fromEntityElement,
+                                              pageSize);
+
             foundEntities = graphStore.findEntitiesForTypes(validTypeNames,
                                                             filterTypeName,
                                                             qualifiedPropertyNameToTypeDefinedAttribute,
                                                             shortPropertyNameToQualifiedPropertyNames,
-                                                            matchProperties);
+                                                            matchProperties,
+                                                            queryPlan);
         }
 
 
@@ -2063,7 +2145,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            entities = formatEntityResults(queryPlan, retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -2198,11 +2280,23 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         else
         {
             // If there are no dups in property maps perform a delegated query.
+            // Push the status filtering, sequencing and paging into the graph traversal if possible.
+            queryPlan.planSequencingAndPaging(repositoryName,
+                                              repositoryHelper,
+                                              TypeDefCategory.RELATIONSHIP_DEF,
+                                              limitResultsByStatus,
+                                              false,
+                                              sequencingProperty,
+                                              sequencingOrder,
+                                              fromRelationshipElement,
+                                              pageSize);
+
             foundRelationships = graphStore.findRelationshipsForTypes(validTypeNames,
                                                                       filterTypeName,
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
-                                                                      matchProperties);
+                                                                      matchProperties,
+                                                                      queryPlan);
         }
 
 
@@ -2226,7 +2320,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            relationships = formatRelationshipResults(queryPlan, retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -4301,6 +4395,37 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            EntityConflictException,
+            RelationshipConflictException,
+            InvalidEntityException,
+            InvalidRelationshipException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "saveInstanceReferenceCopies";
+
+        /*
+         * Validate parameters - instances from the local metadata collection are skipped
+         */
+        InstanceGraph validInstances = super.referenceInstancesParameterValidation(userId, instances, methodName);
+
+
+        /*
+         * Save all of the instances in one graph transaction
+         */
+        graphStore.saveInstanceReferenceCopiesToStore(validInstances.getEntities(), validInstances.getRelationships());
+    }
+
+
     @Override
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
@@ -7,12 +7,12 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
-import org.janusgraph.core.attribute.Text;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
@@ -115,6 +115,13 @@ class GraphOMRSMetadataStore {
     private final GraphOMRSRelationshipMapper relationshipMapper;
     private final GraphOMRSEntityMapper entityMapper;
     private final GraphOMRSClassificationMapper classificationMapper;
+    private final GraphOMRSSearchStringCompiler searchStringCompiler;
+
+    /*
+     * Set while a batch of reference copies is being saved.  The save methods then add their changes to the
+     * batch's transaction instead of committing their own.  It is only changed while the store's lock is held.
+     */
+    private boolean batchInProgress = false;
 
 
     /**
@@ -160,6 +167,7 @@ class GraphOMRSMetadataStore {
         this.relationshipMapper = new GraphOMRSRelationshipMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
+        this.searchStringCompiler = new GraphOMRSSearchStringCompiler(repositoryName, repositoryHelper);
 
     }
 
@@ -348,7 +356,7 @@ class GraphOMRSMetadataStore {
                     methodName, e);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
     }
 
@@ -486,7 +494,7 @@ class GraphOMRSMetadataStore {
         }
 
 
-        g.tx().commit();
+        commitTransaction(g);
     }
 
 
@@ -1148,7 +1156,77 @@ class GraphOMRSMetadataStore {
         }
 
         log.debug("{} Commit tx containing creation or update of edge", methodName);
-        g.tx().commit();
+        commitTransaction(g);
+    }
+
+
+    /*
+     *  Save a batch of entity and relationship reference copies in a single graph transaction.
+     *  The entities are saved first so that the relationships can connect to them.  If any instance
+     *  can not be saved, the whole batch is rolled back and the exception is passed to the caller.
+     */
+    synchronized void saveInstanceReferenceCopiesToStore(List<EntityDetail>  entities,
+                                                         List<Relationship>  relationships)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        boolean committed = false;
+
+        batchInProgress = true;
+
+        try
+        {
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    saveEntityReferenceCopyToStore(entity);
+                }
+            }
+
+            if (relationships != null)
+            {
+                for (Relationship relationship : relationships)
+                {
+                    saveRelationshipReferenceCopyToStore(relationship);
+                }
+            }
+
+            batchInProgress = false;
+
+            log.debug("{} Commit tx containing {} entities and {} relationships", methodName,
+                      entities == null ? 0 : entities.size(),
+                      relationships == null ? 0 : relationships.size());
+            g.tx().commit();
+            committed = true;
+        }
+        finally
+        {
+            batchInProgress = false;
+
+            if (! committed)
+            {
+                g.tx().rollback();
+            }
+        }
+    }
+
+
+    /*
+     *  Commit the current transaction unless it is part of a batch, in which case the batch commits it.
+     */
+    private void commitTransaction(GraphTraversalSource g)
+    {
+        if (! batchInProgress)
+        {
+            g.tx().commit();
+        }
     }
 
 
@@ -1930,28 +2008,7 @@ class GraphOMRSMetadataStore {
 
                                 // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                {
-                                    t = t.has(propNameToSearch, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                }
-                                else
-                                {
-                                    if (!fullMatch)
-                                    {
-                                        // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                        String ANYCHARS = ".*";
-                                        t = t.has(propNameToSearch, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                    }
-                                    else
-                                    {
-                                        // Must be a full match...
-                                        t = t.has(propNameToSearch, Text.textRegex(searchString));
-                                    }
-                                }
+                                t = t.has(propNameToSearch, searchStringCompiler.compile(propNameToSearch, (String) primValue, mapping, fullMatch));
                                 break;
 
                             case OM_PRIMITIVE_TYPE_DATE:
@@ -2085,7 +2142,8 @@ class GraphOMRSMetadataStore {
                                                       Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                       Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                       InstanceProperties             matchProperties,
-                                                      MatchCriteria                  matchCriteria)
+                                                      MatchCriteria                  matchCriteria,
+                                                      GraphOMRSQueryPlan             queryPlan)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -2353,34 +2411,7 @@ class GraphOMRSMetadataStore {
 
                                     // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                    String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                    log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                    {
-                                        t = t.has(thisMatchedPropName, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                    }
-                                    else
-                                    {
-                                        /*
-                                         * I know this looks weird - hard-coding the value of fullMatch immediately before testing it and never
-                                         * using the 'false' case - but hopefully it is instructive as to the effect on the graph traversal if
-                                         * in future, it becomes necessary to perform a graph traversal that does NOT perform a full match.
-                                         */
-                                        boolean fullMatch = true;
-                                        if (!fullMatch)
-                                        {
-                                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                            String ANYCHARS = ".*";
-                                            t = t.has(thisMatchedPropName, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                        }
-                                        else
-                                        {
-                                            // Must be a full match...
-                                            t = t.has(thisMatchedPropName, Text.textRegex(searchString));
-                                        }
-                                    }
+                                    t = t.has(thisMatchedPropName, searchStringCompiler.compile(thisMatchedPropName, (String) primValue, mapping, true));
                                     break;
 
                                 case OM_PRIMITIVE_TYPE_DATE:
@@ -2490,6 +2521,12 @@ class GraphOMRSMetadataStore {
             gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(entityTypeNames));
         }
 
+        /*
+         * Optionally filter, sequence and page the results in the traversal
+         */
+        gt = applyQueryPlanPaging(gt, queryPlan, PROPERTY_KEY_ENTITY_CURRENT_STATUS);
+
+
 
         /*
          * Iterate the traversal
@@ -2814,34 +2851,7 @@ class GraphOMRSMetadataStore {
 
                                     // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                    String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                    log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                    {
-                                        t = t.has(thisMatchedPropName, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                    }
-                                    else
-                                    {
-                                        /*
-                                         * I know this looks weird - hard-coding the value of fullMatch immediately before testing it and never
-                                         * using the 'false' case - but hopefully it is instructive as to the effect on the graph traversal if
-                                         * in future, it becomes necessary to perform a graph traversal that does NOT perform a full match.
-                                         */
-                                        boolean fullMatch = true;
-                                        if (!fullMatch)
-                                        {
-                                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                            String ANYCHARS = ".*";
-                                            t = t.has(thisMatchedPropName, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                        }
-                                        else
-                                        {
-                                            // Must be a full match...
-                                            t = t.has(thisMatchedPropName, Text.textRegex(searchString));
-                                        }
-                                    }
+                                    t = t.has(thisMatchedPropName, searchStringCompiler.compile(thisMatchedPropName, (String) primValue, mapping, true));
                                     break;
 
                                 case OM_PRIMITIVE_TYPE_DATE:
@@ -3247,28 +3257,7 @@ class GraphOMRSMetadataStore {
 
                                 // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                {
-                                    t = t.has(propNameToSearch, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                }
-                                else
-                                {
-                                    if (!fullMatch)
-                                    {
-                                        // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                        String ANYCHARS = ".*";
-                                        t = t.has(propNameToSearch, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                    }
-                                    else
-                                    {
-                                        // Must be a full match...
-                                        t = t.has(propNameToSearch, Text.textRegex(searchString));
-                                    }
-                                }
+                                t = t.has(propNameToSearch, searchStringCompiler.compile(propNameToSearch, (String) primValue, mapping, fullMatch));
                                 break;
 
                             case OM_PRIMITIVE_TYPE_DATE:
@@ -3431,7 +3420,8 @@ class GraphOMRSMetadataStore {
                                                            Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                            Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                            InstanceProperties             matchProperties,
-                                                           MatchCriteria                  matchCriteria)
+                                                           MatchCriteria                  matchCriteria,
+                                                           GraphOMRSQueryPlan             queryPlan)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -3694,34 +3684,7 @@ class GraphOMRSMetadataStore {
 
                                     // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                    String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                    log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                    {
-                                        t = t.has(thisMatchedPropName, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                    }
-                                    else
-                                    {
-                                        /*
-                                         * I know this looks weird - hard-coding the value of fullMatch immediately before testing it and never
-                                         * using the 'false' case - but hopefully it is instructive as to the effect on the graph traversal if
-                                         * in future, it becomes necessary to perform a graph traversal that does NOT perform a full match.
-                                         */
-                                        boolean fullMatch = true;
-                                        if (!fullMatch)
-                                        {
-                                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                            String ANYCHARS = ".*";
-                                            t = t.has(thisMatchedPropName, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                        }
-                                        else
-                                        {
-                                            // Must be a full match...
-                                            t = t.has(thisMatchedPropName, Text.textRegex(searchString));
-                                        }
-                                    }
+                                    t = t.has(thisMatchedPropName, searchStringCompiler.compile(thisMatchedPropName, (String) primValue, mapping, true));
                                     break;
 
                                 case OM_PRIMITIVE_TYPE_DATE:
@@ -3831,6 +3794,12 @@ class GraphOMRSMetadataStore {
             gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, within(relationshipTypeNames));
         }
 
+        /*
+         * Optionally filter, sequence and page the results in the traversal
+         */
+        gt = applyQueryPlanPaging(gt, queryPlan, PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS);
+
+
 
         /*
          * Iterate the traversal
@@ -4165,34 +4134,7 @@ class GraphOMRSMetadataStore {
 
                                     // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                    String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                    log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                    {
-                                        t = t.has(thisMatchedPropName, Text.textContainsRegex(searchString));     // for a field indexed using Text mapping use textContains or textContainsRegex
-                                    }
-                                    else
-                                    {
-                                        /*
-                                         * I know this looks weird - hard-coding the value of fullMatch immediately before testing it and never
-                                         * using the 'false' case - but hopefully it is instructive as to the effect on the graph traversal if
-                                         * in future, it becomes necessary to perform a graph traversal that does NOT perform a full match.
-                                         */
-                                        boolean fullMatch = true;
-                                        if (!fullMatch)
-                                        {
-                                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                            String ANYCHARS = ".*";
-                                            t = t.has(thisMatchedPropName, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                        }
-                                        else
-                                        {
-                                            // Must be a full match...
-                                            t = t.has(thisMatchedPropName, Text.textRegex(searchString));
-                                        }
-                                    }
+                                    t = t.has(thisMatchedPropName, searchStringCompiler.compile(thisMatchedPropName, (String) primValue, mapping, true));
                                     break;
 
                                 case OM_PRIMITIVE_TYPE_DATE:
@@ -4363,208 +4305,6 @@ class GraphOMRSMetadataStore {
 
 
 
-    /*
-     * This method converts an Egeria regex into an expression that can be used with the JanusGraph
-     * text predicates.
-     */
-    private String convertSearchStringToJanusRegex(String str)
-    {
-
-        if (str == null || str.length() == 0)
-            return null;
-
-        boolean caseInsensitive = false;
-
-        if (str.startsWith("(?i)"))
-        {
-            caseInsensitive = true;
-            str = str.substring(4);
-        }
-
-        boolean prefixed = false;
-
-        /*
-         * A string may consist only of '.*' in which case it is referred to as suffixed rather than prefixed
-         * This is to ensure that we don't double the prefix/suffix in the resultant string
-         */
-
-        boolean suffixed = str.endsWith(".*");
-        if (!suffixed || str.length() > 2)
-        {
-            prefixed = str.startsWith(".*");
-        }
-
-        String innerString = str;
-        if (suffixed)
-        {
-            innerString = innerString.substring(0, innerString.length() - 2);
-        }
-        if (prefixed)
-        {
-            innerString = innerString.substring(2);
-        }
-        if (innerString.length() == 0)
-        {
-            /*
-             * There is nothing left after removing any suffix and prefix - return the original string
-             */
-            return str;
-        }
-
-        /*
-         * There is at least some some substance to the inner string.
-         * Check whether it has been entirely literalised
-         */
-
-        String outputString;
-
-        boolean literalized = false;
-        if (repositoryHelper.isExactMatchRegex(innerString))
-        {
-            if (innerString.length() == 4)
-            {
-                /*
-                 * Although the innerString is wrapped as by exact match qualifiers, there is nothing else
-                 */
-                return null;
-            }
-            else
-            {
-                literalized = true;
-                innerString = innerString.substring(2, innerString.length() - 2);
-            }
-        }
-
-        /*
-         * innerString now contains just the string that may need to be made case-insensitive and/or literalized
-         */
-        if (!caseInsensitive && !literalized)
-        {
-            /*
-             * There is nothing more to do - just use the innerString as-is...
-             */
-            outputString = innerString;
-        }
-        else
-        {
-            /*
-             * There is at least some work to do; characters may need to be literalized and/or makde case-insensitive
-             */
-            StringBuilder outputStringBldr = new StringBuilder();
-
-            // Process chars
-            for (int i = 0; i < innerString.length(); i++)
-            {
-                Character c = innerString.charAt(i);
-                /*
-                 * No need to escape a '-' char as it is only significant if inside '[]' brackets, and these will be escaped,
-                 * so the '-' character has no special meaning
-                 */
-
-                /*
-                 * Handle case where neither literalized nor case-insensitive are active
-                 */
-                if (!literalized && !caseInsensitive)
-                {
-                    outputStringBldr.append(c);
-                }
-
-                else
-                {
-                    /*
-                     * At least one of literalized or caseInsensitive is active
-                     */
-
-                    /*
-                     * Handle special chars - disjoint from alphas
-                     */
-                    switch (c)
-                    {
-                        case '.':
-                        case '[':
-                        case ']':
-                        case '^':
-                        case '*':
-                        case '(':
-                        case ')':
-                        case '$':
-                        case '{':
-                        case '}':
-                        case '|':
-                        case '+':
-                        case '?':
-                        case '#':
-                        case '&':
-                        case '<':
-                        case '\\':  // single backslash escaped for Java
-                            if (literalized)
-                            {
-                                outputStringBldr.append('\\').append(c);
-                            }
-                            else
-                            {
-                                outputStringBldr.append(c);
-                            }
-                            continue;  // process the next character
-                    }
-
-                    /*
-                     * Handle alphas - disjoint from specials
-                     */
-                    if (c >= 'a' && c <= 'z')
-                    {
-                        if (caseInsensitive)
-                        {
-                            outputStringBldr.append("[").append(c).append(Character.toUpperCase(c)).append("]");
-                        }
-                        else
-                        {
-                            outputStringBldr.append(c);
-                        }
-                    }
-                    else if (c >= 'A' && c <= 'Z')
-                    {
-                        if (caseInsensitive)
-                        {
-                            outputStringBldr.append("[").append(Character.toLowerCase(c)).append(c).append("]");
-                        }
-                        else
-                        {
-                            outputStringBldr.append(c);
-                        }
-                    }
-                    else
-                    {
-                        /*
-                         * The character is not special, not an alpha, just append it...
-                         */
-                        outputStringBldr.append(c);
-                    }
-                }
-            }
-            outputString = outputStringBldr.toString();
-        }
-
-
-        /*
-         * Re-frame depending on whether suffixed or prefixed
-         */
-        if (suffixed)
-        {
-            outputString = outputString + ".*";
-        }
-        if (prefixed)
-        {
-            outputString = ".*" + outputString;
-        }
-
-        return outputString;
-
-    }
-
-
-
-
 
     /*
      * If performTypeFiltering is true iterate over the types in validTypeNames and construct a MatchProperties containing all their string
@@ -5144,28 +4884,7 @@ class GraphOMRSMetadataStore {
 
                                     // The graph connector has to map from Egeria's internal regex convention to a format that is supported by JanusGraph.
 
-                                    String searchString = convertSearchStringToJanusRegex((String) primValue);
-                                    log.debug("{} primitive match property search string {}", methodName, searchString);
-
-                                    // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-                                    if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-                                    {
-                                        t = t.has(propNameToSearch, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
-                                    }
-                                    else
-                                    {
-                                        if (!fullMatch)
-                                        {
-                                            // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                                            String ANYCHARS = ".*";
-                                            t = t.has(propNameToSearch, Text.textRegex(ANYCHARS + searchString + ANYCHARS));         // for a field indexed using String mapping use textRegex
-                                        }
-                                        else
-                                        {
-                                            // Must be a full match...
-                                            t =t.has(propNameToSearch, Text.textRegex(searchString));
-                                        }
-                                    }
+                                    t = t.has(propNameToSearch, searchStringCompiler.compile(propNameToSearch, (String) primValue, mapping, fullMatch));
                                     break;
 
                                 case OM_PRIMITIVE_TYPE_DATE:
@@ -6215,12 +5934,67 @@ class GraphOMRSMetadataStore {
 
 
 
+
+    /*
+     *  If the query plan has pushed the paging down to the graph, add the status filtering, sequencing and paging
+     *  steps to the traversal so that only the requested page of instances is retrieved and mapped.  Otherwise the
+     *  traversal is returned unchanged and the caller sequences and pages the results in memory.
+     */
+    static <E extends Element> GraphTraversal<E, E> applyQueryPlanPaging(GraphTraversal<E, E> gt,
+                                                                        GraphOMRSQueryPlan   queryPlan,
+                                                                        String               statusPropertyKey)
+    {
+        if (queryPlan == null || !queryPlan.isPagingPushedDown())
+        {
+            return gt;
+        }
+
+        /*
+         * Status filtering must precede paging. With no status list, only DELETED instances are excluded.
+         */
+        List<InstanceStatus> limitResultsByStatus = queryPlan.getLimitResultsByStatus();
+
+        if (limitResultsByStatus == null)
+        {
+            gt = gt.not(__.has(statusPropertyKey, InstanceStatus.DELETED.getOrdinal()));
+        }
+        else
+        {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus)
+            {
+                if (status != null)
+                {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(statusPropertyKey, within(statusOrdinals));
+        }
+
+        /*
+         * Instances with no value for the sequencing property are ordered using a marker value.
+         */
+        String sequencingPropertyKey = queryPlan.getSequencingPropertyKey();
+
+        if (sequencingPropertyKey != null)
+        {
+            gt = gt.order().by(__.coalesce(__.values(sequencingPropertyKey), __.constant(GraphOMRSQueryPlan.NO_SEQUENCING_VALUE)),
+                               queryPlan.getSequencingComparator());
+        }
+
+        long fromElement = queryPlan.getFromElement();
+
+        return gt.range(fromElement, fromElement + queryPlan.getPageSize());
+    }
+
+
     // findEntitiesForTypes
     List<EntityDetail> findEntitiesForTypes(List<String>                   validTypeNames,
                                             String                         filterTypeName,
                                             Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                             Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                            SearchProperties               searchProperties)
+                                            SearchProperties               searchProperties,
+                                            GraphOMRSQueryPlan             queryPlan)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6390,6 +6164,12 @@ class GraphOMRSMetadataStore {
             gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(validTypeNames));
         }
 
+        /*
+         * Optionally filter, sequence and page the results in the traversal
+         */
+        gt = applyQueryPlanPaging(gt, queryPlan, PROPERTY_KEY_ENTITY_CURRENT_STATUS);
+
+
 
         List<EntityDetail> entities = new ArrayList<>();
 
@@ -6443,7 +6223,8 @@ class GraphOMRSMetadataStore {
                                                  String                         filterTypeName,
                                                  Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                  Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                                 SearchProperties               searchProperties)
+                                                 SearchProperties               searchProperties,
+                                                 GraphOMRSQueryPlan             queryPlan)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6574,6 +6355,12 @@ class GraphOMRSMetadataStore {
             gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, within(validTypeNames));
         }
 
+        /*
+         * Optionally filter, sequence and page the results in the traversal
+         */
+        gt = applyQueryPlanPaging(gt, queryPlan, PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS);
+
+
 
         List<Relationship> relationships = new ArrayList<>();
 
@@ -9420,27 +9207,7 @@ class GraphOMRSMetadataStore {
          */
         if (operator == LIKE)
         {
-            String searchString = convertSearchStringToJanusRegex((String) primValue);
-            log.debug("{} primitive match property search string {}", methodName, searchString);
-
-            // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-            if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-            {
-                t = t.has(propNameInGraph, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
-            }
-            else
-            {
-                if (!fullMatch)
-                {
-                    // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                    String ANYCHARS = ".*";
-                    t = t.has(propNameInGraph, Text.textRegex(ANYCHARS + searchString + ANYCHARS));   // for a field indexed using String mapping use textRegex
-                }
-                else // Must be a full match...
-                {
-                    t = t.has(propNameInGraph, Text.textRegex(searchString));
-                }
-            }
+            t = t.has(propNameInGraph, searchStringCompiler.compile(propNameInGraph, (String) primValue, mapping, fullMatch));
         }
         else
         {
@@ -9570,27 +9337,7 @@ class GraphOMRSMetadataStore {
          */
         if (operator == LIKE)
         {
-            String searchString = convertSearchStringToJanusRegex((String) primValue);
-            log.debug("{} primitive match property search string {}", methodName, searchString);
-
-            // NB This is using a JG specific approach to text predicates - see the static import above. From TP 3.4.0 try to use the TP text predicates.
-            if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
-            {
-                t = t.has(propNameInGraph, Text.textContainsRegex(searchString)); // for a field indexed using Text mapping use textContains or textContainsRegex
-            }
-            else
-            {
-                if (!fullMatch)
-                {
-                    // A partial match is sufficient...i.e. a value containing the search value as a substring will match
-                    String ANYCHARS = ".*";
-                    t = t.has(propNameInGraph, Text.textRegex(ANYCHARS + searchString + ANYCHARS));   // for a field indexed using String mapping use textRegex
-                }
-                else // Must be a full match...
-                {
-                    t = t.has(propNameInGraph, Text.textRegex(searchString));
-                }
-            }
+            t = t.has(propNameInGraph, searchStringCompiler.compile(propNameInGraph, (String) primValue, mapping, fullMatch));
         }
         else
         {
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
@@ -11,6 +12,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
@@ -23,11 +28,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.getPropertyKeyEntity;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.getPropertyKeyRelationship;
+
 
 public class GraphOMRSQueryPlan {
 
@@ -46,6 +62,35 @@ public class GraphOMRSQueryPlan {
     private List<String>                  validTypeNames;
     private String                        filterTypeName;
 
+    /*
+     * Status filtering, sequencing and paging that the graph traversal performs when pagingPushedDown is set.
+     * Otherwise the caller must filter, sequence and page the results in memory.
+     */
+    private boolean                       pagingPushedDown = false;
+    private List<InstanceStatus>          limitResultsByStatus;
+    private String                        sequencingPropertyKey;
+    private Comparator<Object>            sequencingComparator;
+    private int                           fromElement;
+    private int                           pageSize;
+
+    /*
+     * Marks an instance that has no value for the sequencing property.
+     */
+    static final Object NO_SEQUENCING_VALUE = new Object();
+
+    /*
+     * Primitive types whose graph property values sort in the same way as the in-memory sort of the OMRS beans.
+     */
+    private static final Set<PrimitiveDefCategory> sortablePrimitiveCategories = Set.of(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BOOLEAN,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BYTE,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_CHAR,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_SHORT,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_FLOAT,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DOUBLE,
+                                                                                        PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+
 
 
 
@@ -171,6 +216,217 @@ public class GraphOMRSQueryPlan {
         return filterTypeName;
     }
 
+    public boolean isPagingPushedDown()
+    {
+        return pagingPushedDown;
+    }
+
+    public List<InstanceStatus> getLimitResultsByStatus()
+    {
+        return limitResultsByStatus;
+    }
+
+    public String getSequencingPropertyKey()
+    {
+        return sequencingPropertyKey;
+    }
+
+    public Comparator<Object> getSequencingComparator()
+    {
+        return sequencingComparator;
+    }
+
+    public int getFromElement()
+    {
+        return fromElement;
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+
+    /*
+     * Decide whether the status filtering, sequencing and paging of the results can be added to the graph traversal.
+     * This avoids retrieving and mapping every matching instance when only one page is wanted.  The results are
+     * filtered, sequenced and paged in memory (by the caller) unless all of the following are true:
+     *   - the query is delegated (rather than iterated over the types)
+     *   - there is no further filtering performed in memory (for example, on classifications)
+     *   - a page size is requested
+     *   - the sequencing order is ANY/null, or it sequences on an indexed core property (guid, createTime,
+     *     updateTime), or on a primitive type-defined attribute that maps to a single (indexed) graph property key
+     *     across all of the valid types.
+     *
+     * The graph traversal orders the instances in the same way as the in-memory sort - instances with no value for
+     * the sequencing property come first in ascending order and last in descending order.
+     */
+    void planSequencingAndPaging(String                repositoryName,
+                                 OMRSRepositoryHelper  repositoryHelper,
+                                 TypeDefCategory       typeDefCategory,
+                                 List<InstanceStatus>  limitResultsByStatus,
+                                 boolean               filteredInMemory,
+                                 String                sequencingProperty,
+                                 SequencingOrder       sequencingOrder,
+                                 int                   fromElement,
+                                 int                   pageSize)
+    {
+        final String methodName = "planSequencingAndPaging";
+
+        pagingPushedDown = false;
+
+        if (queryStrategy != QueryStrategy.Delegate || filteredInMemory || pageSize <= 0)
+        {
+            return;
+        }
+
+        boolean isEntity   = (typeDefCategory == TypeDefCategory.ENTITY_DEF);
+        boolean descending = false;
+        String  propertyKey;
+
+        if (sequencingOrder == null)
+        {
+            sequencingOrder = SequencingOrder.ANY;
+        }
+
+        switch (sequencingOrder)
+        {
+            case ANY:
+                propertyKey = null;
+                break;
+
+            case GUID:
+                propertyKey = isEntity ? PROPERTY_KEY_ENTITY_GUID : PROPERTY_KEY_RELATIONSHIP_GUID;
+                break;
+
+            case CREATION_DATE_RECENT:
+                descending = true;
+                /* fall through */
+            case CREATION_DATE_OLDEST:
+                propertyKey = isEntity ? PROPERTY_KEY_ENTITY_CREATE_TIME : PROPERTY_KEY_RELATIONSHIP_CREATE_TIME;
+                break;
+
+            case LAST_UPDATE_RECENT:
+                descending = true;
+                /* fall through */
+            case LAST_UPDATE_OLDEST:
+                propertyKey = isEntity ? PROPERTY_KEY_ENTITY_UPDATE_TIME : PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME;
+                break;
+
+            case PROPERTY_DESCENDING:
+                descending = true;
+                /* fall through */
+            case PROPERTY_ASCENDING:
+                String qualifiedPropertyName = getSortableQualifiedPropertyName(repositoryName,
+                                                                                repositoryHelper,
+                                                                                sequencingProperty);
+                if (qualifiedPropertyName == null)
+                {
+                    log.debug("{} property {} can not be sequenced by the graph", methodName, sequencingProperty);
+                    return;
+                }
+                propertyKey = isEntity ? getPropertyKeyEntity(qualifiedPropertyName) : getPropertyKeyRelationship(qualifiedPropertyName);
+                break;
+
+            default:
+                return;
+        }
+
+        this.pagingPushedDown      = true;
+        this.limitResultsByStatus  = limitResultsByStatus;
+        this.sequencingPropertyKey = propertyKey;
+        this.fromElement           = fromElement;
+        this.pageSize              = pageSize;
+
+        if (propertyKey != null)
+        {
+            Comparator<Object> comparator = GraphOMRSQueryPlan::compareSequencingValues;
+            this.sequencingComparator = descending ? comparator.reversed() : comparator;
+        }
+
+        log.debug("{} paging pushed down to graph with sequencing property key {}", methodName, propertyKey);
+    }
+
+
+    /*
+     * Return the qualified name of the named type-defined attribute if it has the same qualified name in every valid type
+     * that defines it and its type sorts in the graph in the same way as in memory.  Otherwise return null.
+     */
+    private String getSortableQualifiedPropertyName(String                repositoryName,
+                                                    OMRSRepositoryHelper  repositoryHelper,
+                                                    String                propertyName)
+    {
+        if (propertyName == null)
+        {
+            return null;
+        }
+
+        GraphOMRSMapperUtils mapperUtils           = new GraphOMRSMapperUtils();
+        Set<String>          qualifiedNames        = new HashSet<>();
+        TypeDefAttribute     propertyDef           = null;
+
+        for (TypeDef typeDef : repositoryHelper.getActiveTypeDefGallery().getTypeDefs())
+        {
+            if (validTypeNames.contains(typeDef.getName()))
+            {
+                String qualifiedName = mapperUtils.getQualifiedPropertyNamesForTypeDef(typeDef, repositoryName, repositoryHelper).get(propertyName);
+
+                if (qualifiedName != null)
+                {
+                    qualifiedNames.add(qualifiedName);
+                    propertyDef = mapperUtils.getUniquePropertyDefsForTypeDef(repositoryName, typeDef, repositoryHelper).get(propertyName);
+                }
+            }
+        }
+
+        if (qualifiedNames.size() != 1 || propertyDef == null)
+        {
+            return null;
+        }
+
+        AttributeTypeDef attributeType = propertyDef.getAttributeType();
+
+        if (attributeType == null
+                || attributeType.getCategory() != AttributeTypeDefCategory.PRIMITIVE
+                || ! sortablePrimitiveCategories.contains(((PrimitiveDef) attributeType).getPrimitiveDefCategory()))
+        {
+            return null;
+        }
+
+        return qualifiedNames.iterator().next();
+    }
+
+
+    /*
+     * Ascending comparison of sequencing values, matching the in-memory sort of the OMRS beans: a missing value sorts
+     * before any value, and values of different types are considered equal.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareSequencingValues(Object one, Object two)
+    {
+        boolean oneMissing = (one == null || one == NO_SEQUENCING_VALUE);
+        boolean twoMissing = (two == null || two == NO_SEQUENCING_VALUE);
+
+        if (oneMissing && twoMissing)
+        {
+            return 0;
+        }
+        else if (oneMissing)
+        {
+            return -1;
+        }
+        else if (twoMissing)
+        {
+            return 1;
+        }
+        else if (one.getClass() != two.getClass() || ! (one instanceof Comparable))
+        {
+            return 0;
+        }
+
+        return ((Comparable<Object>) one).compareTo(two);
+    }
+
 
 
     private void generateQueryPlan(String                repositoryName,
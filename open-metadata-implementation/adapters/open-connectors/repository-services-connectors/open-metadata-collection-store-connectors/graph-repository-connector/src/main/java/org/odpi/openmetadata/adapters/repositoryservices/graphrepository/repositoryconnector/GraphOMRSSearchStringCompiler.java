@@ -0,0 +1,387 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.janusgraph.core.attribute.Text;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * GraphOMRSSearchStringCompiler turns the search strings passed to the find methods into JanusGraph predicates.
+ * Search strings follow Egeria's regex conventions.  Most of them are built by the repository helper as exact,
+ * starts-with, ends-with or contains matches on a literal value, optionally case-insensitive.  A regex predicate
+ * can not be answered from an index, so each search string is compiled to the cheapest predicate that gives the
+ * same result:
+ * <ul>
+ *     <li>A case-sensitive exact match is an equality test, which the index answers directly.</li>
+ *     <li>A case-sensitive starts-with match is a prefix test, which the index answers with a range scan.</li>
+ *     <li>A contains or ends-with match on a literal is converted to a regex with a leading wildcard.</li>
+ *     <li>Any other search string is converted to a regex.  A property with a Text mapping is matched against
+ *     the tokens of its value.</li>
+ * </ul>
+ * Contains and ends-with matches can not be turned into a token test such as textContains.  String properties
+ * are indexed with the String mapping so that their values are not split at punctuation, and the String mapping
+ * only supports equality, prefix, regex and fuzzy tests.  Even on a Text mapping, a token test would not find a
+ * literal that spans tokens or sits inside a token, so its results would differ from the regex.  These matches
+ * therefore remain regexes that the index backend evaluates against every indexed value.
+ * <p>
+ * The chosen strategy is logged at debug level so the query for a search string can be explained.
+ * </p>
+ */
+class GraphOMRSSearchStringCompiler
+{
+    private static final Logger log = LoggerFactory.getLogger(GraphOMRSSearchStringCompiler.class);
+
+    private static final String ANY_CHARS = ".*";
+
+    /*
+     * The ways in which a search string can be matched against a property value.
+     */
+    enum MatchStrategy
+    {
+        EXACT_MATCH,
+        PREFIX_MATCH,
+        CONTAINS_REGEX,
+        SUFFIX_REGEX,
+        TOKEN_REGEX,
+        REGEX
+    }
+
+
+    private final String               repositoryName;
+    private final OMRSRepositoryHelper repositoryHelper;
+
+
+    /**
+     * Typical constructor
+     *
+     * @param repositoryName   name of this repository
+     * @param repositoryHelper utilities
+     */
+    GraphOMRSSearchStringCompiler(String               repositoryName,
+                                  OMRSRepositoryHelper repositoryHelper)
+    {
+        this.repositoryName = repositoryName;
+        this.repositoryHelper = repositoryHelper;
+    }
+
+
+    /**
+     * Choose how a search string is to be matched against a property.
+     *
+     * @param searchString search string using Egeria's regex conventions
+     * @param mapping      mixed index mapping of the property (null if it is not indexed)
+     * @param fullMatch    whether the search string must match the whole value
+     * @return match strategy
+     */
+    MatchStrategy getMatchStrategy(String                                  searchString,
+                                   GraphOMRSGraphFactory.MixedIndexMapping mapping,
+                                   boolean                                 fullMatch)
+    {
+        if (mapping == GraphOMRSGraphFactory.MixedIndexMapping.Text)
+        {
+            return MatchStrategy.TOKEN_REGEX;
+        }
+
+        /*
+         * Only a full, case-sensitive match on a non-empty literal can be turned into an equality or prefix test.
+         * An empty literal is left to the regex so that its results do not change.
+         */
+        if ((fullMatch) && (searchString != null) && (! repositoryHelper.isCaseInsensitiveRegex(searchString)))
+        {
+            boolean exactMatch = repositoryHelper.isExactMatchRegex(searchString, false);
+
+            if ((exactMatch) || (repositoryHelper.isStartsWithRegex(searchString, false)))
+            {
+                String literal = repositoryHelper.getUnqualifiedLiteralString(searchString);
+
+                if ((literal != null) && (! literal.isEmpty()))
+                {
+                    return exactMatch ? MatchStrategy.EXACT_MATCH : MatchStrategy.PREFIX_MATCH;
+                }
+            }
+        }
+
+        /*
+         * These still compile to a regex; they are identified so the debug log shows why.
+         */
+        if (repositoryHelper.isContainsRegex(searchString))
+        {
+            return MatchStrategy.CONTAINS_REGEX;
+        }
+        else if (repositoryHelper.isEndsWithRegex(searchString))
+        {
+            return MatchStrategy.SUFFIX_REGEX;
+        }
+
+        return MatchStrategy.REGEX;
+    }
+
+
+    /**
+     * Compile a search string into the predicate to use for a property in a traversal.
+     *
+     * @param propertyKey  name of the property in the graph - used for logging
+     * @param searchString search string using Egeria's regex conventions
+     * @param mapping      mixed index mapping of the property (null if it is not indexed)
+     * @param fullMatch    whether the search string must match the whole value
+     * @return predicate
+     */
+    P<?> compile(String                                  propertyKey,
+                 String                                  searchString,
+                 GraphOMRSGraphFactory.MixedIndexMapping mapping,
+                 boolean                                 fullMatch)
+    {
+        final String methodName = "compile";
+
+        MatchStrategy matchStrategy = getMatchStrategy(searchString, mapping, fullMatch);
+        P<?>          predicate;
+
+        switch (matchStrategy)
+        {
+            case EXACT_MATCH:
+                predicate = P.eq(repositoryHelper.getUnqualifiedLiteralString(searchString));
+                break;
+
+            case PREFIX_MATCH:
+                predicate = Text.textPrefix(repositoryHelper.getUnqualifiedLiteralString(searchString));
+                break;
+
+            case TOKEN_REGEX:
+                // for a field indexed using Text mapping match the regex against the tokens of the value
+                String tokenRegex = convertSearchStringToJanusRegex(searchString);
+
+                predicate = Text.textContainsRegex(tokenRegex == null ? ANY_CHARS : tokenRegex);
+                break;
+
+            default:
+                String janusRegex = convertSearchStringToJanusRegex(searchString);
+
+                if (janusRegex == null)
+                {
+                    /*
+                     * The search string is empty, or an empty literal.  JanusGraph rejects an empty regex, so match
+                     * the empty value directly - or any value if a partial match is sufficient.
+                     */
+                    predicate = fullMatch ? P.eq("") : Text.textRegex(ANY_CHARS);
+                    break;
+                }
+
+                if (! fullMatch)
+                {
+                    // A partial match is sufficient...i.e. a value containing the search value as a substring will match
+                    janusRegex = ANY_CHARS + janusRegex + ANY_CHARS;
+                }
+                predicate = Text.textRegex(janusRegex);
+                break;
+        }
+
+        log.debug("{} {} search string {} for property {} (mapping {}, fullMatch {}) compiled to {} predicate {}",
+                  methodName, repositoryName, searchString, propertyKey, mapping, fullMatch, matchStrategy, predicate);
+
+        return predicate;
+    }
+
+
+    /*
+     * This method converts an Egeria regex into an expression that can be used with the JanusGraph
+     * text predicates.
+     */
+    String convertSearchStringToJanusRegex(String str)
+    {
+
+        if (str == null || str.length() == 0)
+            return null;
+
+        boolean caseInsensitive = false;
+
+        if (str.startsWith("(?i)"))
+        {
+            caseInsensitive = true;
+            str = str.substring(4);
+        }
+
+        boolean prefixed = false;
+
+        /*
+         * A string may consist only of '.*' in which case it is referred to as suffixed rather than prefixed
+         * This is to ensure that we don't double the prefix/suffix in the resultant string
+         */
+
+        boolean suffixed = str.endsWith(".*");
+        if (!suffixed || str.length() > 2)
+        {
+            prefixed = str.startsWith(".*");
+        }
+
+        String innerString = str;
+        if (suffixed)
+        {
+            innerString = innerString.substring(0, innerString.length() - 2);
+        }
+        if (prefixed)
+        {
+            innerString = innerString.substring(2);
+        }
+        if (innerString.length() == 0)
+        {
+            /*
+             * There is nothing left after removing any suffix and prefix - return the original string
+             */
+            return str;
+        }
+
+        /*
+         * There is at least some some substance to the inner string.
+         * Check whether it has been entirely literalised
+         */
+
+        String outputString;
+
+        boolean literalized = false;
+        if (repositoryHelper.isExactMatchRegex(innerString))
+        {
+            if (innerString.length() == 4)
+            {
+                /*
+                 * Although the innerString is wrapped as by exact match qualifiers, there is nothing else
+                 */
+                return null;
+            }
+            else
+            {
+                literalized = true;
+                innerString = innerString.substring(2, innerString.length() - 2);
+            }
+        }
+
+        /*
+         * innerString now contains just the string that may need to be made case-insensitive and/or literalized
+         */
+        if (!caseInsensitive && !literalized)
+        {
+            /*
+             * There is nothing more to do - just use the innerString as-is...
+             */
+            outputString = innerString;
+        }
+        else
+        {
+            /*
+             * There is at least some work to do; characters may need to be literalized and/or makde case-insensitive
+             */
+            StringBuilder outputStringBldr = new StringBuilder();
+
+            // Process chars
+            for (int i = 0; i < innerString.length(); i++)
+            {
+                Character c = innerString.charAt(i);
+                /*
+                 * No need to escape a '-' char as it is only significant if inside '[]' brackets, and these will be escaped,
+                 * so the '-' character has no special meaning
+                 */
+
+                /*
+                 * Handle case where neither literalized nor case-insensitive are active
+                 */
+                if (!literalized && !caseInsensitive)
+                {
+                    outputStringBldr.append(c);
+                }
+
+                else
+                {
+                    /*
+                     * At least one of literalized or caseInsensitive is active
+                     */
+
+                    /*
+                     * Handle special chars - disjoint from alphas
+                     */
+                    switch (c)
+                    {
+                        case '.':
+                        case '[':
+                        case ']':
+                        case '^':
+                        case '*':
+                        case '(':
+                        case ')':
+                        case '$':
+                        case '{':
+                        case '}':
+                        case '|':
+                        case '+':
+                        case '?':
+                        case '#':
+                        case '&':
+                        case '<':
+                        case '\\':  // single backslash escaped for Java
+                            if (literalized)
+                            {
+                                outputStringBldr.append('\\').append(c);
+                            }
+                            else
+                            {
+                                outputStringBldr.append(c);
+                            }
+                            continue;  // process the next character
+                    }
+
+                    /*
+                     * Handle alphas - disjoint from specials
+                     */
+                    if (c >= 'a' && c <= 'z')
+                    {
+                        if (caseInsensitive)
+                        {
+                            outputStringBldr.append("[").append(c).append(Character.toUpperCase(c)).append("]");
+                        }
+                        else
+                        {
+                            outputStringBldr.append(c);
+                        }
+                    }
+                    else if (c >= 'A' && c <= 'Z')
+                    {
+                        if (caseInsensitive)
+                        {
+                            outputStringBldr.append("[").append(Character.toLowerCase(c)).append(c).append("]");
+                        }
+                        else
+                        {
+                            outputStringBldr.append(c);
+                        }
+                    }
+                    else
+                    {
+                        /*
+                         * The character is not special, not an alpha, just append it...
+                         */
+                        outputStringBldr.append(c);
+                    }
+                }
+            }
+            outputString = outputStringBldr.toString();
+        }
+
+
+        /*
+         * Re-frame depending on whether suffixed or prefixed
+         */
+        if (suffixed)
+        {
+            outputString = outputString + ".*";
+        }
+        if (prefixed)
+        {
+            outputString = ".*" + outputString;
+        }
+
+        return outputString;
+
+    }
+}
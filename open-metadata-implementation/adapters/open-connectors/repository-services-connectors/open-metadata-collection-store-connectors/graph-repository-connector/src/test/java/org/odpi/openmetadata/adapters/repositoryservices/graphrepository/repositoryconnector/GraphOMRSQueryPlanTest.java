@@ -0,0 +1,388 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EnumDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.QUALIFIED_PROPERTY_SEPARATOR;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.getPropertyKeyEntity;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the paging plan made by GraphOMRSQueryPlan.planSequencingAndPaging and the traversal steps added for it by
+ * GraphOMRSMetadataStore.applyQueryPlanPaging.  The traversals run against an in-memory TinkerGraph.
+ */
+public class GraphOMRSQueryPlanTest
+{
+    private static final String repositoryName       = "TestRepository";
+    private static final String metadataCollectionId = "TestMetadataCollection";
+    private static final String entityTypeName       = "Widget";
+
+    private static final String namePropertyKey = getPropertyKeyEntity(entityTypeName + QUALIFIED_PROPERTY_SEPARATOR + "name");
+
+    /*
+     * Names for each of the test entities; the entity at position 3 has no name and the one at position 5 is deleted.
+     */
+    private static final String[] entityNames = { "delta", "alpha", "foxtrot", null, "charlie", "echo", "bravo" };
+    private static final int      deletedEntity = 5;
+
+    private OMRSRepositoryHelper repositoryHelper;
+    private TinkerGraph          graph;
+
+
+    @BeforeClass
+    public void setUp()
+    {
+        EntityDef widget = new EntityDef();
+        widget.setName(entityTypeName);
+        widget.setGUID("widget-type-guid");
+        widget.setPropertiesDefinition(List.of(getAttribute("name", new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING)),
+                                               getAttribute("colour", new EnumDef())));
+
+        RelationshipDef link = new RelationshipDef();
+        link.setName("WidgetLink");
+        link.setGUID("widget-link-type-guid");
+
+        TypeDefGallery gallery = new TypeDefGallery();
+        gallery.setTypeDefs(List.of(widget, link));
+
+        repositoryHelper = mock(OMRSRepositoryHelper.class);
+        when(repositoryHelper.getActiveTypeDefGallery()).thenReturn(gallery);
+
+        graph = TinkerGraph.open();
+
+        for (int i = 0; i < entityNames.length; i++)
+        {
+            Vertex vertex = graph.addVertex("Entity");
+
+            vertex.property(PROPERTY_KEY_ENTITY_GUID, "guid-" + i);
+            vertex.property(PROPERTY_KEY_ENTITY_CREATE_TIME, new Date(1000L * ((i * 3) % entityNames.length)));
+            vertex.property(PROPERTY_KEY_ENTITY_UPDATE_TIME, new Date(2000L * ((i * 5) % entityNames.length)));
+            vertex.property(PROPERTY_KEY_ENTITY_CURRENT_STATUS, (i == deletedEntity) ? InstanceStatus.DELETED.getOrdinal()
+                                                                                     : InstanceStatus.ACTIVE.getOrdinal());
+
+            if (entityNames[i] != null)
+            {
+                vertex.property(namePropertyKey, entityNames[i]);
+            }
+        }
+    }
+
+
+    @AfterClass
+    public void tearDown()
+    {
+        graph.close();
+    }
+
+
+    /**
+     * Create a type-defined attribute.
+     *
+     * @param name attribute name
+     * @param attributeType type of the attribute
+     * @return attribute definition
+     */
+    private static TypeDefAttribute getAttribute(String name, AttributeTypeDef attributeType)
+    {
+        TypeDefAttribute attribute = new TypeDefAttribute();
+
+        attribute.setAttributeName(name);
+        attribute.setAttributeType(attributeType);
+
+        return attribute;
+    }
+
+
+    /**
+     * Create a query plan for the test types and plan its paging.
+     *
+     * @param typeDefCategory entities or relationships
+     * @param limitResultsByStatus status filter
+     * @param sequencingProperty property to sequence on
+     * @param sequencingOrder order of the results
+     * @param fromElement first element of the page
+     * @param pageSize size of the page
+     * @return query plan
+     * @throws Exception the plan could not be created
+     */
+    private GraphOMRSQueryPlan getQueryPlan(TypeDefCategory      typeDefCategory,
+                                            List<InstanceStatus> limitResultsByStatus,
+                                            String               sequencingProperty,
+                                            SequencingOrder      sequencingOrder,
+                                            int                  fromElement,
+                                            int                  pageSize) throws Exception
+    {
+        GraphOMRSQueryPlan queryPlan = new GraphOMRSQueryPlan(repositoryName,
+                                                              metadataCollectionId,
+                                                              repositoryHelper,
+                                                              typeDefCategory,
+                                                              null,
+                                                              null);
+
+        queryPlan.planSequencingAndPaging(repositoryName,
+                                          repositoryHelper,
+                                          typeDefCategory,
+                                          limitResultsByStatus,
+                                          false,
+                                          sequencingProperty,
+                                          sequencingOrder,
+                                          fromElement,
+                                          pageSize);
+
+        return queryPlan;
+    }
+
+
+    /**
+     * Run the paged traversal and return the GUIDs of the entities it selects, in order.
+     *
+     * @param queryPlan plan to apply
+     * @return guids
+     */
+    private List<Object> getPage(GraphOMRSQueryPlan queryPlan)
+    {
+        GraphTraversalSource g = graph.traversal();
+
+        return GraphOMRSMetadataStore.applyQueryPlanPaging(g.V(), queryPlan, PROPERTY_KEY_ENTITY_CURRENT_STATUS)
+                                     .values(PROPERTY_KEY_ENTITY_GUID)
+                                     .toList();
+    }
+
+
+    /**
+     * Work out the expected GUIDs by filtering and sorting the entities in memory.
+     *
+     * @param sequencingPropertyKey graph property to sort on
+     * @param descending whether the sort is reversed
+     * @return guids of the active entities in order
+     */
+    private List<Object> getExpectedOrder(String  sequencingPropertyKey,
+                                          boolean descending)
+    {
+        GraphTraversalSource g        = graph.traversal();
+        List<Vertex>         vertices = g.V().not(__.has(PROPERTY_KEY_ENTITY_CURRENT_STATUS, InstanceStatus.DELETED.getOrdinal())).toList();
+
+        /*
+         * Missing values sort first in ascending order.
+         */
+        Comparator<Vertex> comparator = Comparator.comparing(vertex -> vertex.<Comparable<Object>>property(sequencingPropertyKey).orElse(null),
+                                                             Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        vertices.sort(descending ? comparator.reversed() : comparator);
+
+        List<Object> guids = new ArrayList<>();
+
+        for (Vertex vertex : vertices)
+        {
+            guids.add(vertex.value(PROPERTY_KEY_ENTITY_GUID));
+        }
+
+        return guids;
+    }
+
+
+    @DataProvider
+    public Object[][] sequencingOrders()
+    {
+        return new Object[][]
+                {
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.GUID,                 PROPERTY_KEY_ENTITY_GUID,              false },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.CREATION_DATE_OLDEST, PROPERTY_KEY_ENTITY_CREATE_TIME,       false },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.CREATION_DATE_RECENT, PROPERTY_KEY_ENTITY_CREATE_TIME,       true  },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.LAST_UPDATE_OLDEST,   PROPERTY_KEY_ENTITY_UPDATE_TIME,       false },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.LAST_UPDATE_RECENT,   PROPERTY_KEY_ENTITY_UPDATE_TIME,       true  },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.PROPERTY_ASCENDING,   namePropertyKey,                       false },
+                        { TypeDefCategory.ENTITY_DEF,       SequencingOrder.PROPERTY_DESCENDING,  namePropertyKey,                       true  },
+                        { TypeDefCategory.RELATIONSHIP_DEF, SequencingOrder.GUID,                 PROPERTY_KEY_RELATIONSHIP_GUID,        false },
+                        { TypeDefCategory.RELATIONSHIP_DEF, SequencingOrder.CREATION_DATE_RECENT, PROPERTY_KEY_RELATIONSHIP_CREATE_TIME, true  },
+                        { TypeDefCategory.RELATIONSHIP_DEF, SequencingOrder.LAST_UPDATE_OLDEST,   PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME, false },
+                };
+    }
+
+
+    @Test(dataProvider = "sequencingOrders")
+    public void testPlanSequencing(TypeDefCategory typeDefCategory,
+                                   SequencingOrder sequencingOrder,
+                                   String          expectedPropertyKey,
+                                   boolean         descending) throws Exception
+    {
+        GraphOMRSQueryPlan queryPlan = getQueryPlan(typeDefCategory, null, "name", sequencingOrder, 10, 5);
+
+        assertTrue(queryPlan.isPagingPushedDown());
+        assertEquals(queryPlan.getSequencingPropertyKey(), expectedPropertyKey);
+        assertEquals(queryPlan.getFromElement(), 10);
+        assertEquals(queryPlan.getPageSize(), 5);
+
+        /*
+         * Missing values come first in ascending order and last in descending order.
+         */
+        int comparison = queryPlan.getSequencingComparator().compare(GraphOMRSQueryPlan.NO_SEQUENCING_VALUE, "alpha");
+
+        assertEquals(comparison < 0, ! descending);
+        assertEquals(queryPlan.getSequencingComparator().compare("alpha", "bravo") < 0, ! descending);
+    }
+
+
+    @Test
+    public void testPlanAnyOrder() throws Exception
+    {
+        for (SequencingOrder sequencingOrder : new SequencingOrder[]{ SequencingOrder.ANY, null })
+        {
+            GraphOMRSQueryPlan queryPlan = getQueryPlan(TypeDefCategory.ENTITY_DEF, null, null, sequencingOrder, 0, 5);
+
+            assertTrue(queryPlan.isPagingPushedDown());
+            assertNull(queryPlan.getSequencingPropertyKey());
+        }
+    }
+
+
+    @Test
+    public void testPlanNotPushedDown() throws Exception
+    {
+        /*
+         * No page size.
+         */
+        assertFalse(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, null, SequencingOrder.GUID, 0, 0).isPagingPushedDown());
+
+        /*
+         * The property is not a primitive, or is not defined by the types.
+         */
+        assertFalse(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "colour", SequencingOrder.PROPERTY_ASCENDING, 0, 5).isPagingPushedDown());
+        assertFalse(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "size", SequencingOrder.PROPERTY_ASCENDING, 0, 5).isPagingPushedDown());
+        assertFalse(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, null, SequencingOrder.PROPERTY_DESCENDING, 0, 5).isPagingPushedDown());
+
+        /*
+         * The results are filtered in memory, so the graph can not page them.
+         */
+        GraphOMRSQueryPlan queryPlan = getQueryPlan(TypeDefCategory.ENTITY_DEF, null, null, SequencingOrder.GUID, 0, 5);
+
+        queryPlan.planSequencingAndPaging(repositoryName,
+                                          repositoryHelper,
+                                          TypeDefCategory.ENTITY_DEF,
+                                          null,
+                                          true,
+                                          null,
+                                          SequencingOrder.GUID,
+                                          0,
+                                          5);
+
+        assertFalse(queryPlan.isPagingPushedDown());
+
+        /*
+         * A traversal is left unchanged when the paging is not pushed down.
+         */
+        assertEquals(getPage(queryPlan).size(), entityNames.length);
+        assertEquals(getPage(null).size(), entityNames.length);
+    }
+
+
+    @DataProvider
+    public Object[][] pagedOrders()
+    {
+        return new Object[][]
+                {
+                        { SequencingOrder.GUID,                 PROPERTY_KEY_ENTITY_GUID,        false },
+                        { SequencingOrder.CREATION_DATE_OLDEST, PROPERTY_KEY_ENTITY_CREATE_TIME, false },
+                        { SequencingOrder.CREATION_DATE_RECENT, PROPERTY_KEY_ENTITY_CREATE_TIME, true  },
+                        { SequencingOrder.LAST_UPDATE_OLDEST,   PROPERTY_KEY_ENTITY_UPDATE_TIME, false },
+                        { SequencingOrder.LAST_UPDATE_RECENT,   PROPERTY_KEY_ENTITY_UPDATE_TIME, true  },
+                        { SequencingOrder.PROPERTY_ASCENDING,   namePropertyKey,                 false },
+                        { SequencingOrder.PROPERTY_DESCENDING,  namePropertyKey,                 true  },
+                };
+    }
+
+
+    @Test(dataProvider = "pagedOrders")
+    public void testPaging(SequencingOrder sequencingOrder,
+                           String          sequencingPropertyKey,
+                           boolean         descending) throws Exception
+    {
+        List<Object> expected   = getExpectedOrder(sequencingPropertyKey, descending);
+        int          activeSize = entityNames.length - 1;
+
+        assertEquals(expected.size(), activeSize);
+
+        /*
+         * The pages of two cover the active entities in order, with a short last page.
+         */
+        List<Object> allPages = new ArrayList<>();
+
+        for (int fromElement = 0; fromElement < activeSize; fromElement += 2)
+        {
+            List<Object> page = getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "name", sequencingOrder, fromElement, 2));
+
+            assertEquals(page, expected.subList(fromElement, Math.min(fromElement + 2, activeSize)));
+            allPages.addAll(page);
+        }
+
+        assertEquals(allPages, expected);
+
+        /*
+         * A page larger than the results returns them all; a page starting at or beyond the end is empty.
+         */
+        assertEquals(getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "name", sequencingOrder, 0, 100)), expected);
+        assertEquals(getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "name", sequencingOrder, activeSize - 1, 100)),
+                     expected.subList(activeSize - 1, activeSize));
+        assertTrue(getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "name", sequencingOrder, activeSize, 2)).isEmpty());
+        assertTrue(getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, "name", sequencingOrder, 100, 2)).isEmpty());
+    }
+
+
+    @Test
+    public void testPagingByStatus() throws Exception
+    {
+        List<Object> page = getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF,
+                                                 List.of(InstanceStatus.DELETED),
+                                                 null,
+                                                 SequencingOrder.GUID,
+                                                 0,
+                                                 5));
+
+        assertEquals(page, List.of("guid-" + deletedEntity));
+
+        /*
+         * With no sequencing the page still respects its size and the status filter.
+         */
+        page = getPage(getQueryPlan(TypeDefCategory.ENTITY_DEF, null, null, SequencingOrder.ANY, 0, 3));
+
+        assertEquals(page.size(), 3);
+        assertFalse(page.contains("guid-" + deletedEntity));
+    }
+}
@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * GraphOMRSSearchStringCompilerBenchmark compares the cost of evaluating the predicate compiled for each form of
+ * search string against a set of property values.  This is the work done when a predicate is evaluated in memory
+ * rather than answered from an index.  It is not part of the unit tests since the timings depend on the machine.
+ * Run it from the IDE or with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.mainClass=org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSSearchStringCompilerBenchmark -Dexec.classpathScope=test
+ * </pre>
+ */
+public class GraphOMRSSearchStringCompilerBenchmark
+{
+    private static final int BENCHMARK_VALUES     = 10000;
+    private static final int BENCHMARK_ITERATIONS = 20;
+
+
+    /**
+     * Run the benchmark and print the results.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args)
+    {
+        OMRSRepositoryHelper          repositoryHelper = GraphOMRSSearchStringCompilerTest.repositoryHelper;
+        GraphOMRSSearchStringCompiler compiler         = new GraphOMRSSearchStringCompiler("BenchmarkRepository", repositoryHelper);
+        List<String>                  values           = new ArrayList<>();
+
+        for (int i = 0; i < BENCHMARK_VALUES; i++)
+        {
+            values.add("Glossary Term " + i + " for the Sales.Orders data set");
+        }
+
+        String[] searchStrings = { repositoryHelper.getExactMatchRegex("Glossary Term 5000 for the Sales.Orders data set"),
+                                   repositoryHelper.getStartsWithRegex("Glossary Term 50"),
+                                   repositoryHelper.getExactMatchRegex("glossary term 5000 for the sales.orders data set", true),
+                                   repositoryHelper.getContainsRegex("Sales.Orders"),
+                                   repositoryHelper.getEndsWithRegex("data set"),
+                                   repositoryHelper.getContainsRegex("sales.orders", true),
+                                   "Glossary Term 5.*" };
+
+        for (String searchString : searchStrings)
+        {
+            P<?> predicate = compiler.compile("benchmarkProperty", searchString, GraphOMRSGraphFactory.MixedIndexMapping.String, true);
+            long matches   = 0;
+            long time      = 0;
+
+            for (int iteration = 0; iteration < BENCHMARK_ITERATIONS; iteration++)
+            {
+                long start = System.nanoTime();
+
+                for (String value : values)
+                {
+                    if (GraphOMRSSearchStringCompilerTest.testPredicate(predicate, value))
+                    {
+                        matches++;
+                    }
+                }
+
+                /*
+                 * The first iteration warms up the predicate.
+                 */
+                if (iteration > 0)
+                {
+                    time += System.nanoTime() - start;
+                }
+            }
+
+            System.out.println(compiler.getMatchStrategy(searchString, GraphOMRSGraphFactory.MixedIndexMapping.String, true) + " " +
+                                       searchString + ": " + (matches / BENCHMARK_ITERATIONS) + " matches, " +
+                                       (time / ((long) BENCHMARK_VALUES * (BENCHMARK_ITERATIONS - 1))) + " ns/value");
+        }
+    }
+}
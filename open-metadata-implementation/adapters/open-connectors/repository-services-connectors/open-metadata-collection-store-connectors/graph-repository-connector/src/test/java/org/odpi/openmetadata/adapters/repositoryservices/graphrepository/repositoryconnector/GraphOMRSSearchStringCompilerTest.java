@@ -0,0 +1,121 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSGraphFactory.MixedIndexMapping;
+import org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSSearchStringCompiler.MatchStrategy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Verify the strategy chosen by GraphOMRSSearchStringCompiler for each form of search string, and that the compiled
+ * predicate accepts exactly the values that the search string's regex accepts.
+ */
+public class GraphOMRSSearchStringCompilerTest
+{
+    /*
+     * The regex helper methods do not use the content manager.
+     */
+    static final OMRSRepositoryHelper repositoryHelper = new OMRSRepositoryContentHelper(null);
+
+    private static final GraphOMRSSearchStringCompiler compiler = new GraphOMRSSearchStringCompiler("TestRepository", repositoryHelper);
+
+    private static final List<String> values = List.of("Asset.1",
+                                                       "asset.1",
+                                                       "ASSET.1",
+                                                       "MyAsset.1",
+                                                       "Asset.10",
+                                                       "Asset-1",
+                                                       "AssetX1",
+                                                       "Asset",
+                                                       "An Asset.1 copy",
+                                                       "");
+
+
+    @DataProvider
+    public Object[][] searchStrings()
+    {
+        return new Object[][]
+                {
+                        { repositoryHelper.getExactMatchRegex("Asset.1"),          MixedIndexMapping.String,  true,  MatchStrategy.EXACT_MATCH    },
+                        { repositoryHelper.getExactMatchRegex("Asset.1"),          MixedIndexMapping.Default, true,  MatchStrategy.EXACT_MATCH    },
+                        { repositoryHelper.getExactMatchRegex("Asset.1"),          null,                      true,  MatchStrategy.EXACT_MATCH    },
+                        { repositoryHelper.getExactMatchRegex("Asset.1"),          MixedIndexMapping.String,  false, MatchStrategy.REGEX          },
+                        { repositoryHelper.getExactMatchRegex("Asset.1", true),    MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { repositoryHelper.getExactMatchRegex(""),                 MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { repositoryHelper.getExactMatchRegex(""),                 MixedIndexMapping.String,  false, MatchStrategy.REGEX          },
+                        { repositoryHelper.getExactMatchRegex("", true),           MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { repositoryHelper.getStartsWithRegex("Asset"),            MixedIndexMapping.String,  true,  MatchStrategy.PREFIX_MATCH   },
+                        { repositoryHelper.getStartsWithRegex("Asset."),           MixedIndexMapping.String,  true,  MatchStrategy.PREFIX_MATCH   },
+                        { repositoryHelper.getStartsWithRegex("asset", true),      MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { repositoryHelper.getContainsRegex("set.1"),              MixedIndexMapping.String,  true,  MatchStrategy.CONTAINS_REGEX },
+                        { repositoryHelper.getContainsRegex("set.1"),              MixedIndexMapping.String,  false, MatchStrategy.CONTAINS_REGEX },
+                        { repositoryHelper.getContainsRegex("SET.1", true),        MixedIndexMapping.String,  true,  MatchStrategy.CONTAINS_REGEX },
+                        { repositoryHelper.getEndsWithRegex(".1"),                 MixedIndexMapping.String,  true,  MatchStrategy.SUFFIX_REGEX   },
+                        { repositoryHelper.getEndsWithRegex("T.1", true),          MixedIndexMapping.String,  true,  MatchStrategy.SUFFIX_REGEX   },
+                        { "Asset.*1",                                              MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { "Asset.*1",                                              MixedIndexMapping.String,  false, MatchStrategy.REGEX          },
+                        { "(?i)asset.1",                                           MixedIndexMapping.String,  true,  MatchStrategy.REGEX          },
+                        { repositoryHelper.getContainsRegex("set"),                MixedIndexMapping.Text,    true,  MatchStrategy.TOKEN_REGEX    },
+                        { repositoryHelper.getExactMatchRegex("Asset.1"),          MixedIndexMapping.Text,    true,  MatchStrategy.TOKEN_REGEX    },
+                };
+    }
+
+
+    @Test(dataProvider = "searchStrings")
+    public void testMatchStrategy(String            searchString,
+                                  MixedIndexMapping mapping,
+                                  boolean           fullMatch,
+                                  MatchStrategy     expectedStrategy)
+    {
+        assertEquals(compiler.getMatchStrategy(searchString, mapping, fullMatch), expectedStrategy, searchString);
+    }
+
+
+    @Test(dataProvider = "searchStrings")
+    public void testPredicateMatchesRegex(String            searchString,
+                                          MixedIndexMapping mapping,
+                                          boolean           fullMatch,
+                                          MatchStrategy     expectedStrategy)
+    {
+        if (expectedStrategy == MatchStrategy.TOKEN_REGEX)
+        {
+            /*
+             * Text mapped properties are matched against tokens, so they do not give the same results as the regex.
+             */
+            return;
+        }
+
+        P<?>    predicate = compiler.compile("testProperty", searchString, mapping, fullMatch);
+        Pattern pattern   = Pattern.compile(searchString);
+
+        for (String value : values)
+        {
+            boolean expected = fullMatch ? pattern.matcher(value).matches() : pattern.matcher(value).find();
+
+            assertEquals(testPredicate(predicate, value), expected, "search string " + searchString + " (" + expectedStrategy + ") against " + value);
+        }
+    }
+
+
+    /**
+     * Evaluate a compiled predicate against a value.
+     *
+     * @param predicate compiled predicate
+     * @param value property value
+     * @return whether the value matches
+     */
+    @SuppressWarnings("unchecked")
+    static boolean testPredicate(P<?> predicate, String value)
+    {
+        return ((P<Object>) predicate).test(value);
+    }
+}
@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.ffdc;
+
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageSet;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+
+
+/**
+ * The InMemoryRepositoryAuditCode is used to define the message content for the Audit Log.
+ *
+ * The 5 fields in the enum are:
+ * <ul>
+ *     <li>Log Message Id - to uniquely identify the message</li>
+ *     <li>Severity - is this an event, decision, action, error or exception</li>
+ *     <li>Log Message Text - includes placeholder to allow additional values to be captured</li>
+ *     <li>SystemAction - describes the result of the situation</li>
+ *     <li>UserAction - describes how a user should correct the situation</li>
+ * </ul>
+ */
+public enum InMemoryRepositoryAuditCode implements AuditLogMessageSet
+{
+    DURABLE_STORE_RESTORED("OMRS-IN-MEMORY-REPOSITORY-0001",
+              OMRSAuditLogRecordSeverity.STARTUP,
+              "The in-memory repository {0} has restored {1} entities and {2} relationships from the snapshot and {3} journal records in directory {4}",
+              "The in-memory repository has been configured to save its content to the named directory.  " +
+                      "The content saved before the server last stopped has been reloaded into memory.",
+              "No action is required.  This message is for information."),
+
+    DURABLE_STORE_RESTORE_FAILED("OMRS-IN-MEMORY-REPOSITORY-0002",
+              OMRSAuditLogRecordSeverity.EXCEPTION,
+              "The in-memory repository {0} is unable to restore its content from directory {1}.  Message from {2} exception was {3}",
+              "The repository continues to run without saving its content.  Any changes made will be lost when the server stops.",
+              "Use the information from the exception to determine the cause of the error.  For example, is the directory name correct?  " +
+                      "Does the server have permission to read and write files in the directory?  " +
+                      "Once the cause of the error is corrected, restart the server."),
+
+    JOURNAL_WRITE_FAILED("OMRS-IN-MEMORY-REPOSITORY-0003",
+              OMRSAuditLogRecordSeverity.EXCEPTION,
+              "The in-memory repository {0} is unable to write a change to journal file {1}.  Message from {2} exception was {3}",
+              "The change has been made in memory.  It will be lost if the server stops before the next snapshot is successfully written.",
+              "Use the information from the exception to determine the cause of the error.  For example, is the file system full?  " +
+                      "Once the cause of the error is corrected, the repository will resume writing to the journal."),
+
+    SNAPSHOT_WRITE_FAILED("OMRS-IN-MEMORY-REPOSITORY-0004",
+              OMRSAuditLogRecordSeverity.EXCEPTION,
+              "The in-memory repository {0} is unable to write its snapshot to file {1}.  Message from {2} exception was {3}",
+              "The previous snapshot and the journal are retained so that no content is lost.  The journal continues to grow " +
+                      "until a snapshot is successfully written.",
+              "Use the information from the exception to determine the cause of the error.  For example, is the file system full?  " +
+                      "Once the cause of the error is corrected, the repository will write a new snapshot when the snapshot interval next expires."),
+
+    JOURNAL_INCOMPLETE("OMRS-IN-MEMORY-REPOSITORY-0005",
+              OMRSAuditLogRecordSeverity.ERROR,
+              "The journal file {0} for in-memory repository {1} ends with an incomplete record after {2} complete records",
+              "The incomplete record was being written when the server stopped.  It is ignored and the repository is restored " +
+                      "to the content described by the complete records.",
+              "Any change recorded in the incomplete record is lost.  If the repository is a member of a cohort, the change " +
+                      "will be restored through the normal refresh and replication processing."),
+
+    ;
+
+    private final AuditLogMessageDefinition messageDefinition;
+
+
+    /**
+     * The constructor for InMemoryRepositoryAuditCode expects to be passed one of the enumeration rows defined in
+     * InMemoryRepositoryAuditCode above.   For example:
+     *
+     *     InMemoryRepositoryAuditCode   auditCode = InMemoryRepositoryAuditCode.JOURNAL_WRITE_FAILED;
+     *
+     * This will expand out to the 4 parameters shown below.
+     *
+     * @param messageId unique Id for the message
+     * @param severity severity of the message
+     * @param message text for the message
+     * @param systemAction description of the action taken by the system when the condition happened
+     * @param userAction instructions for resolving the situation, if any
+     */
+    InMemoryRepositoryAuditCode(String                     messageId,
+                                OMRSAuditLogRecordSeverity severity,
+                                String                     message,
+                                String                     systemAction,
+                                String                     userAction)
+    {
+        messageDefinition = new AuditLogMessageDefinition(messageId,
+                                                          severity,
+                                                          message,
+                                                          systemAction,
+                                                          userAction);
+    }
+
+
+    /**
+     * Retrieve a message definition object for logging.  This method is used when there are no message inserts.
+     *
+     * @return message definition object.
+     */
+    @Override
+    public AuditLogMessageDefinition getMessageDefinition()
+    {
+        return messageDefinition;
+    }
+
+
+    /**
+     * Retrieve a message definition object for logging.  This method is used when there are values to be inserted into the message.
+     *
+     * @param params array of parameters (all strings).  They are inserted into the message according to the numbering in the message text.
+     * @return message definition object.
+     */
+    @Override
+    public AuditLogMessageDefinition getMessageDefinition(String ...params)
+    {
+        messageDefinition.setMessageParameters(params);
+        return messageDefinition;
+    }
+}
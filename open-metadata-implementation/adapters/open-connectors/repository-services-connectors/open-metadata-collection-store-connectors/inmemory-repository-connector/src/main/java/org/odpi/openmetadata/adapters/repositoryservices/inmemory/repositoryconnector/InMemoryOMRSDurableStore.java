@@ -0,0 +1,1169 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.ffdc.InMemoryRepositoryAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * InMemoryOMRSDurableStore saves the content of the in-memory repository to the file system so that it survives
+ * a restart of the server.  It uses these files in the configured directory, all named after the metadata collection id:
+ * <ul>
+ *     <li>A snapshot file holding the stored state of every entity and relationship (including their history).
+ *     It is a compressed sequence of length-prefixed JSON records.  A new snapshot is written to a temporary file
+ *     and then moved over the old one so there is always a complete snapshot on disk.</li>
+ *     <li>A journal file that is appended to each time an instance changes.  Each length-prefixed record holds the
+ *     new stored state of a single entity or relationship (or nothing if it has been purged) along with a
+ *     sequence number.  The record only holds the versions that the change added to the instance's history,
+ *     so the size of a record does not grow with the number of times the instance has been updated.</li>
+ *     <li>A previous journal file.  When the content for a new snapshot is captured, the journal is renamed to the
+ *     previous journal and a new journal is started.  The previous journal is deleted once the snapshot is written.</li>
+ * </ul>
+ * On restart, the snapshot is loaded and then the journal records with a later sequence number are replayed over it.
+ * The methods are called by the InMemoryOMRSMetadataStore while it holds its write lock, except for the writing of
+ * the snapshot which happens after the lock is released, or in the background if the snapshot is due because of the
+ * number of changes journaled.
+ */
+class InMemoryOMRSDurableStore
+{
+    private static final String snapshotFileSuffix = ".snapshot";
+    private static final String journalFileSuffix  = ".journal";
+    private static final String previousFileSuffix = ".previous";
+    private static final String tempFileSuffix     = ".tmp";
+
+    private static final int    snapshotMagicNumber   = 0x494D5353;
+    private static final int    snapshotFormatVersion = 1;
+
+    /**
+     * Default number of journal records written between snapshots.
+     */
+    static final int defaultSnapshotInterval = 10000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader OBJECT_READER = OBJECT_MAPPER.reader();
+    private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryOMRSDurableStore.class);
+
+    private final String   repositoryName;
+    private final String   directoryName;
+    private final File     snapshotFile;
+    private final File     journalFile;
+    private final File     previousJournalFile;
+    private final int      snapshotInterval;
+    private final AuditLog auditLog;
+
+    private final ExecutorService snapshotWriter     = Executors.newSingleThreadExecutor(this::newSnapshotWriterThread);
+    private final AtomicBoolean   snapshotInProgress = new AtomicBoolean(false);
+
+    private DataOutputStream journal                = null;
+    private long             sequenceNumber         = 0;
+    private volatile long    snapshotSequenceNumber = 0;
+    private int              journalRecordCount     = 0;
+    private boolean          journalFailing         = false;
+    private boolean          batchInProgress        = false;
+
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryName name of the repository - used for logging
+     * @param directoryName directory where the files are stored
+     * @param metadataCollectionId unique identifier of the repository's metadata collection - used to name the files
+     * @param snapshotInterval number of journal records written between snapshots
+     * @param auditLog logging destination
+     */
+    InMemoryOMRSDurableStore(String   repositoryName,
+                             String   directoryName,
+                             String   metadataCollectionId,
+                             int      snapshotInterval,
+                             AuditLog auditLog)
+    {
+        this.repositoryName = repositoryName;
+        this.directoryName = directoryName;
+        this.snapshotFile = new File(directoryName, metadataCollectionId + snapshotFileSuffix);
+        this.journalFile = new File(directoryName, metadataCollectionId + journalFileSuffix);
+        this.previousJournalFile = new File(directoryName, metadataCollectionId + journalFileSuffix + previousFileSuffix);
+        this.auditLog = auditLog;
+
+        if (snapshotInterval > 0)
+        {
+            this.snapshotInterval = snapshotInterval;
+        }
+        else
+        {
+            this.snapshotInterval = defaultSnapshotInterval;
+        }
+    }
+
+
+    /**
+     * Return the name of the directory where the files are stored.
+     *
+     * @return directory name
+     */
+    String getDirectoryName()
+    {
+        return directoryName;
+    }
+
+
+    /**
+     * Read the snapshot file (if it exists) and pass each stored instance to the appropriate loader.
+     *
+     * @param entityLoader receives each entity
+     * @param relationshipLoader receives each relationship
+     * @throws IOException the snapshot file is not readable
+     */
+    void loadSnapshot(Consumer<EntityImage>       entityLoader,
+                      Consumer<RelationshipImage> relationshipLoader) throws IOException
+    {
+        if (! snapshotFile.exists())
+        {
+            return;
+        }
+
+        try (DataInputStream snapshot = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))))
+        {
+            if ((snapshot.readInt() != snapshotMagicNumber) || (snapshot.readInt() != snapshotFormatVersion))
+            {
+                throw new IOException("File " + snapshotFile.getPath() + " is not an in-memory repository snapshot");
+            }
+
+            snapshotSequenceNumber = snapshot.readLong();
+            sequenceNumber = snapshotSequenceNumber;
+
+            int entityCount = snapshot.readInt();
+
+            for (int i = 0; i < entityCount; i++)
+            {
+                entityLoader.accept(OBJECT_READER.readValue(readRecord(snapshot), EntityImage.class));
+            }
+
+            int relationshipCount = snapshot.readInt();
+
+            for (int i = 0; i < relationshipCount; i++)
+            {
+                relationshipLoader.accept(OBJECT_READER.readValue(readRecord(snapshot), RelationshipImage.class));
+            }
+        }
+    }
+
+
+    /**
+     * Read the journal files (if they exist) and pass each record written after the snapshot to the loader.
+     * The previous journal is read first because it holds the older records.
+     *
+     * @param journalLoader receives each journal record
+     * @return number of records replayed
+     * @throws IOException a journal file is not readable
+     */
+    int replayJournal(Consumer<JournalRecord> journalLoader) throws IOException
+    {
+        return replayJournal(previousJournalFile, journalLoader) + replayJournal(journalFile, journalLoader);
+    }
+
+
+    /**
+     * Read a journal file (if it exists) and pass each record written after the snapshot to the loader.
+     * An incomplete record at the end of the journal (caused by the server stopping part way through
+     * writing it) is ignored.
+     *
+     * @param file journal file to read
+     * @param journalLoader receives each journal record
+     * @return number of records replayed
+     * @throws IOException the journal file is not readable
+     */
+    private int replayJournal(File                    file,
+                              Consumer<JournalRecord> journalLoader) throws IOException
+    {
+        final String methodName = "replayJournal";
+
+        int replayCount = 0;
+
+        if (! file.exists())
+        {
+            return replayCount;
+        }
+
+        try (DataInputStream journalInput = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+        {
+            int recordCount = 0;
+
+            while (true)
+            {
+                byte[] record;
+
+                try
+                {
+                    record = readRecord(journalInput);
+                }
+                catch (EOFException endOfJournal)
+                {
+                    if (endOfJournal.getMessage() != null)
+                    {
+                        auditLog.logMessage(methodName,
+                                            InMemoryRepositoryAuditCode.JOURNAL_INCOMPLETE.getMessageDefinition(file.getPath(),
+                                                                                                                repositoryName,
+                                                                                                                Integer.toString(recordCount)));
+                    }
+
+                    break;
+                }
+
+                recordCount++;
+
+                JournalRecord journalRecord = OBJECT_READER.readValue(record, JournalRecord.class);
+
+                if ((journalRecord.getSequenceNumber() > snapshotSequenceNumber) && (journalRecord.getSequenceNumber() > sequenceNumber))
+                {
+                    journalLoader.accept(journalRecord);
+                    sequenceNumber = journalRecord.getSequenceNumber();
+                    replayCount++;
+                }
+            }
+        }
+
+        return replayCount;
+    }
+
+
+    /**
+     * Open the journal ready to receive new records.  The directory is created if it does not exist.
+     *
+     * @throws IOException unable to create the directory or open the journal
+     */
+    void openJournal() throws IOException
+    {
+        File directory = new File(directoryName);
+
+        if ((! directory.exists()) && (! directory.mkdirs()))
+        {
+            throw new IOException("Unable to create directory " + directoryName);
+        }
+
+        journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, true)));
+    }
+
+
+    /**
+     * Add a record to the end of the journal.  The record is flushed to the file system before returning
+     * unless a batch is in progress, in which case the flush happens when the batch ends.
+     *
+     * @param journalRecord description of the change
+     * @return flag indicating that enough records have been written to the journal that a new snapshot is due
+     * and no other snapshot is being written
+     */
+    boolean appendToJournal(JournalRecord journalRecord)
+    {
+        final String methodName = "appendToJournal";
+
+        journalRecord.setSequenceNumber(++sequenceNumber);
+        journalRecordCount++;
+
+        try
+        {
+            if (journal == null)
+            {
+                throw new IOException("Journal " + journalFile.getPath() + " is not open");
+            }
+
+            byte[] record = OBJECT_WRITER.writeValueAsBytes(journalRecord);
+
+            journal.writeInt(record.length);
+            journal.write(record);
+
+            if (! batchInProgress)
+            {
+                journal.flush();
+            }
+
+            journalFailing = false;
+        }
+        catch (IOException error)
+        {
+            /*
+             * Only log the first failure in a sequence to avoid flooding the audit log.
+             */
+            if (! journalFailing)
+            {
+                logException(methodName, InMemoryRepositoryAuditCode.JOURNAL_WRITE_FAILED, journalFile, error);
+                journalFailing = true;
+            }
+        }
+
+        return (journalRecordCount >= snapshotInterval) && (! snapshotInProgress.get());
+    }
+
+
+    /**
+     * Start a batch of changes.  The journal records are buffered until the batch ends.
+     */
+    void startBatch()
+    {
+        batchInProgress = true;
+    }
+
+
+    /**
+     * End a batch of changes and flush its journal records to the file system.
+     */
+    void endBatch()
+    {
+        final String methodName = "endBatch";
+
+        batchInProgress = false;
+
+        if (journal != null)
+        {
+            try
+            {
+                journal.flush();
+            }
+            catch (IOException error)
+            {
+                if (! journalFailing)
+                {
+                    logException(methodName, InMemoryRepositoryAuditCode.JOURNAL_WRITE_FAILED, journalFile, error);
+                    journalFailing = true;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Capture the content for a new snapshot of the repository and start a new journal.  This is called while the
+     * store's write lock is held, so the instances are serialized here rather than when the snapshot is written.
+     * The records in the old journal are kept in the previous journal until the snapshot is written.
+     *
+     * @param entities stored state of all the entities
+     * @param relationships stored state of all the relationships
+     * @return content to pass to writeSnapshot or null if the instances could not be serialized
+     */
+    SnapshotContent captureSnapshot(Collection<EntityImage>       entities,
+                                    Collection<RelationshipImage> relationships)
+    {
+        final String methodName = "captureSnapshot";
+
+        List<byte[]> entityRecords       = new ArrayList<>(entities.size());
+        List<byte[]> relationshipRecords = new ArrayList<>(relationships.size());
+
+        try
+        {
+            for (EntityImage entityImage : entities)
+            {
+                entityRecords.add(OBJECT_WRITER.writeValueAsBytes(entityImage));
+            }
+
+            for (RelationshipImage relationshipImage : relationships)
+            {
+                relationshipRecords.add(OBJECT_WRITER.writeValueAsBytes(relationshipImage));
+            }
+        }
+        catch (IOException error)
+        {
+            logException(methodName, InMemoryRepositoryAuditCode.SNAPSHOT_WRITE_FAILED, snapshotFile, error);
+            journalRecordCount = 0;
+
+            return null;
+        }
+
+        rotateJournal();
+
+        return new SnapshotContent(sequenceNumber, entityRecords, relationshipRecords);
+    }
+
+
+    /**
+     * Move the records in the journal to the previous journal and open a new, empty journal.  If the previous
+     * journal still exists because the last snapshot could not be written, the records are added to the end of it.
+     */
+    private void rotateJournal()
+    {
+        final String methodName = "rotateJournal";
+
+        journalRecordCount = 0;
+
+        try
+        {
+            closeJournal();
+
+            if (journalFile.exists())
+            {
+                if (previousJournalFile.exists())
+                {
+                    try (FileOutputStream previousJournal = new FileOutputStream(previousJournalFile, true))
+                    {
+                        Files.copy(journalFile.toPath(), previousJournal);
+                    }
+
+                    Files.delete(journalFile.toPath());
+                }
+                else
+                {
+                    Files.move(journalFile.toPath(), previousJournalFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+
+            journal = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalFile, false)));
+            journalFailing = false;
+        }
+        catch (IOException error)
+        {
+            logException(methodName, InMemoryRepositoryAuditCode.JOURNAL_WRITE_FAILED, journalFile, error);
+            journalFailing = true;
+
+            /*
+             * Carry on adding to the old journal.  Its records are skipped on replay if the snapshot is written.
+             */
+            try
+            {
+                openJournal();
+            }
+            catch (IOException reopenError)
+            {
+                log.debug("Unable to reopen journal " + journalFile.getPath(), reopenError);
+            }
+        }
+    }
+
+
+    /**
+     * Write the snapshot in the background.  Only one snapshot is written at a time.
+     *
+     * @param snapshotContent content captured by captureSnapshot
+     */
+    void scheduleSnapshot(SnapshotContent snapshotContent)
+    {
+        if ((snapshotContent != null) && (snapshotInProgress.compareAndSet(false, true)))
+        {
+            try
+            {
+                snapshotWriter.execute(() ->
+                                       {
+                                           try
+                                           {
+                                               writeSnapshot(snapshotContent);
+                                           }
+                                           finally
+                                           {
+                                               snapshotInProgress.set(false);
+                                           }
+                                       });
+            }
+            catch (RejectedExecutionException error)
+            {
+                snapshotInProgress.set(false);
+                log.debug("Snapshot not written because the durable store is closed", error);
+            }
+        }
+    }
+
+
+    /**
+     * Write a new snapshot of the repository's content and then remove the previous journal since its records
+     * are all in the snapshot.  This is called without the store's write lock.
+     *
+     * @param snapshotContent content captured by captureSnapshot
+     * @return flag indicating whether the snapshot was written
+     */
+    synchronized boolean writeSnapshot(SnapshotContent snapshotContent)
+    {
+        final String methodName = "writeSnapshot";
+
+        if (snapshotContent == null)
+        {
+            return false;
+        }
+
+        File tempFile = new File(directoryName, snapshotFile.getName() + tempFileSuffix);
+
+        try
+        {
+            try (FileOutputStream fileOutput = new FileOutputStream(tempFile))
+            {
+                GZIPOutputStream compressedOutput = new GZIPOutputStream(new BufferedOutputStream(fileOutput));
+                DataOutputStream snapshot = new DataOutputStream(compressedOutput);
+
+                snapshot.writeInt(snapshotMagicNumber);
+                snapshot.writeInt(snapshotFormatVersion);
+                snapshot.writeLong(snapshotContent.sequenceNumber);
+
+                snapshot.writeInt(snapshotContent.entityRecords.size());
+
+                for (byte[] entityRecord : snapshotContent.entityRecords)
+                {
+                    writeRecord(snapshot, entityRecord);
+                }
+
+                snapshot.writeInt(snapshotContent.relationshipRecords.size());
+
+                for (byte[] relationshipRecord : snapshotContent.relationshipRecords)
+                {
+                    writeRecord(snapshot, relationshipRecord);
+                }
+
+                compressedOutput.finish();
+                snapshot.flush();
+                fileOutput.getFD().sync();
+            }
+
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            snapshotSequenceNumber = snapshotContent.sequenceNumber;
+        }
+        catch (IOException error)
+        {
+            logException(methodName, InMemoryRepositoryAuditCode.SNAPSHOT_WRITE_FAILED, snapshotFile, error);
+
+            return false;
+        }
+
+        /*
+         * The previous journal only holds records written before the content was captured so they are all in the
+         * snapshot.  If the server stops before this completes, the sequence numbers ensure the old records are
+         * skipped when the journal is replayed.
+         */
+        try
+        {
+            Files.deleteIfExists(previousJournalFile.toPath());
+        }
+        catch (IOException error)
+        {
+            log.debug("Unable to delete journal " + previousJournalFile.getPath(), error);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Wait for any snapshot being written in the background to complete.
+     */
+    void waitForSnapshot()
+    {
+        try
+        {
+            snapshotWriter.submit(() -> { }).get();
+        }
+        catch (RejectedExecutionException | ExecutionException error)
+        {
+            log.debug("Unable to wait for snapshot", error);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Close the journal.  No more records can be written until it is reopened.
+     */
+    void closeJournal()
+    {
+        if (journal != null)
+        {
+            try
+            {
+                journal.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Unable to close journal " + journalFile.getPath(), error);
+            }
+
+            journal = null;
+        }
+    }
+
+
+    /**
+     * Close the journal and stop the background snapshot writer once any snapshot it is writing is complete.
+     */
+    void close()
+    {
+        closeJournal();
+        snapshotWriter.shutdown();
+
+        try
+        {
+            if (! snapshotWriter.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                log.debug("Snapshot writer for " + repositoryName + " did not stop");
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Create the daemon thread that writes the snapshots in the background.
+     *
+     * @param runnable work for the thread
+     * @return new thread
+     */
+    private Thread newSnapshotWriterThread(Runnable runnable)
+    {
+        Thread thread = new Thread(runnable, "InMemoryRepositorySnapshotWriter-" + repositoryName);
+
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+
+    /**
+     * Log that the content of the repository has been restored.
+     *
+     * @param entityCount number of entities in the repository
+     * @param relationshipCount number of relationships in the repository
+     * @param journalRecordCount number of journal records replayed
+     */
+    void logRestore(int entityCount,
+                    int relationshipCount,
+                    int journalRecordCount)
+    {
+        final String methodName = "logRestore";
+
+        auditLog.logMessage(methodName,
+                            InMemoryRepositoryAuditCode.DURABLE_STORE_RESTORED.getMessageDefinition(repositoryName,
+                                                                                                    Integer.toString(entityCount),
+                                                                                                    Integer.toString(relationshipCount),
+                                                                                                    Integer.toString(journalRecordCount),
+                                                                                                    directoryName));
+    }
+
+
+    /**
+     * Log a problem writing one of the files.
+     *
+     * @param methodName calling method
+     * @param auditCode message to log
+     * @param file file in error
+     * @param error exception from the file system
+     */
+    private void logException(String                      methodName,
+                              InMemoryRepositoryAuditCode auditCode,
+                              File                        file,
+                              IOException                 error)
+    {
+        auditLog.logException(methodName,
+                              auditCode.getMessageDefinition(repositoryName,
+                                                             file.getPath(),
+                                                             error.getClass().getName(),
+                                                             error.getMessage()),
+                              error);
+    }
+
+
+    /**
+     * Write a length-prefixed record.
+     *
+     * @param output output stream
+     * @param record serialized record
+     * @throws IOException problem writing the stream
+     */
+    private void writeRecord(DataOutputStream output,
+                             byte[]           record) throws IOException
+    {
+        output.writeInt(record.length);
+        output.write(record);
+    }
+
+
+    /**
+     * Read a length-prefixed record.  An EOFException with no message means the stream ended cleanly between records;
+     * one with a message means the stream ended part way through a record.
+     *
+     * @param input input stream
+     * @return serialized record
+     * @throws IOException problem reading the stream
+     */
+    private byte[] readRecord(DataInputStream input) throws IOException
+    {
+        int recordLength = input.readInt();
+
+        if (recordLength < 0)
+        {
+            throw new EOFException("Invalid record length " + recordLength);
+        }
+
+        byte[] record = new byte[recordLength];
+
+        try
+        {
+            input.readFully(record);
+        }
+        catch (EOFException error)
+        {
+            throw new EOFException("Incomplete record of length " + recordLength);
+        }
+
+        return record;
+    }
+
+
+    /**
+     * EntityImage is the saved state of a stored entity.  In the snapshot, the entity history holds every previous
+     * version of the entity.  In the journal, it holds only the versions added to the front of the history by the change.
+     */
+    static class EntityImage
+    {
+        private String                      guid                          = null;
+        private EntityDetail                entity                        = null;
+        private EntityProxy                 entityProxy                   = null;
+        private List<EntityDetail>          entityHistory                 = null;
+        private Map<String, Classification> homeClassifications           = null;
+        private Map<String, Long>           deletedClassificationVersions = null;
+
+
+        /**
+         * Return the unique identifier of the entity.
+         *
+         * @return guid
+         */
+        public String getGuid()
+        {
+            return guid;
+        }
+
+
+        /**
+         * Set up the unique identifier of the entity.
+         *
+         * @param guid guid
+         */
+        public void setGuid(String guid)
+        {
+            this.guid = guid;
+        }
+
+
+        /**
+         * Return the latest version of the entity.
+         *
+         * @return entity or null if only a proxy is stored
+         */
+        public EntityDetail getEntity()
+        {
+            return entity;
+        }
+
+
+        /**
+         * Set up the latest version of the entity.
+         *
+         * @param entity entity
+         */
+        public void setEntity(EntityDetail entity)
+        {
+            this.entity = entity;
+        }
+
+
+        /**
+         * Return the latest version of the entity proxy.
+         *
+         * @return entity proxy
+         */
+        public EntityProxy getEntityProxy()
+        {
+            return entityProxy;
+        }
+
+
+        /**
+         * Set up the latest version of the entity proxy.
+         *
+         * @param entityProxy entity proxy
+         */
+        public void setEntityProxy(EntityProxy entityProxy)
+        {
+            this.entityProxy = entityProxy;
+        }
+
+
+        /**
+         * Return the previous versions of the entity, latest first.
+         *
+         * @return list of entities
+         */
+        public List<EntityDetail> getEntityHistory()
+        {
+            return entityHistory;
+        }
+
+
+        /**
+         * Set up the previous versions of the entity, latest first.
+         *
+         * @param entityHistory list of entities
+         */
+        public void setEntityHistory(List<EntityDetail> entityHistory)
+        {
+            this.entityHistory = entityHistory;
+        }
+
+
+        /**
+         * Return the latest version of each classification that belongs to the local metadata collection.
+         *
+         * @return map of classification name to classification
+         */
+        public Map<String, Classification> getHomeClassifications()
+        {
+            return homeClassifications;
+        }
+
+
+        /**
+         * Set up the latest version of each classification that belongs to the local metadata collection.
+         *
+         * @param homeClassifications map of classification name to classification
+         */
+        public void setHomeClassifications(Map<String, Classification> homeClassifications)
+        {
+            this.homeClassifications = homeClassifications;
+        }
+
+
+        /**
+         * Return the version number at which each home classification was deleted.
+         *
+         * @return map of classification name to version number
+         */
+        public Map<String, Long> getDeletedClassificationVersions()
+        {
+            return deletedClassificationVersions;
+        }
+
+
+        /**
+         * Set up the version number at which each home classification was deleted.
+         *
+         * @param deletedClassificationVersions map of classification name to version number
+         */
+        public void setDeletedClassificationVersions(Map<String, Long> deletedClassificationVersions)
+        {
+            this.deletedClassificationVersions = deletedClassificationVersions;
+        }
+    }
+
+
+    /**
+     * RelationshipImage is the saved state of a stored relationship.  In the snapshot, the relationship history holds
+     * every previous version of the relationship.  In the journal, it holds only the versions added to the front of the
+     * history by the change, and the appended history holds the versions added to the end of the history when the
+     * relationship is purged.
+     */
+    static class RelationshipImage
+    {
+        private String             guid                        = null;
+        private Relationship       relationship                = null;
+        private List<Relationship> relationshipHistory         = null;
+        private List<Relationship> appendedRelationshipHistory = null;
+        private Date               unilateralDeleteTime        = null;
+
+
+        /**
+         * Return the unique identifier of the relationship.
+         *
+         * @return guid
+         */
+        public String getGuid()
+        {
+            return guid;
+        }
+
+
+        /**
+         * Set up the unique identifier of the relationship.
+         *
+         * @param guid guid
+         */
+        public void setGuid(String guid)
+        {
+            this.guid = guid;
+        }
+
+
+        /**
+         * Return the latest version of the relationship.
+         *
+         * @return relationship or null if it has been purged
+         */
+        public Relationship getRelationship()
+        {
+            return relationship;
+        }
+
+
+        /**
+         * Set up the latest version of the relationship.
+         *
+         * @param relationship relationship
+         */
+        public void setRelationship(Relationship relationship)
+        {
+            this.relationship = relationship;
+        }
+
+
+        /**
+         * Return the previous versions of the relationship, latest first.
+         *
+         * @return list of relationships
+         */
+        public List<Relationship> getRelationshipHistory()
+        {
+            return relationshipHistory;
+        }
+
+
+        /**
+         * Set up the previous versions of the relationship, latest first.
+         *
+         * @param relationshipHistory list of relationships
+         */
+        public void setRelationshipHistory(List<Relationship> relationshipHistory)
+        {
+            this.relationshipHistory = relationshipHistory;
+        }
+
+
+        /**
+         * Return the versions added to the end of the history by this change.  Only used in the journal.
+         *
+         * @return list of relationships
+         */
+        public List<Relationship> getAppendedRelationshipHistory()
+        {
+            return appendedRelationshipHistory;
+        }
+
+
+        /**
+         * Set up the versions added to the end of the history by this change.  Only used in the journal.
+         *
+         * @param appendedRelationshipHistory list of relationships
+         */
+        public void setAppendedRelationshipHistory(List<Relationship> appendedRelationshipHistory)
+        {
+            this.appendedRelationshipHistory = appendedRelationshipHistory;
+        }
+
+
+        /**
+         * Return the time that the relationship was purged without an event from its home repository.
+         *
+         * @return date
+         */
+        public Date getUnilateralDeleteTime()
+        {
+            return unilateralDeleteTime;
+        }
+
+
+        /**
+         * Set up the time that the relationship was purged without an event from its home repository.
+         *
+         * @param unilateralDeleteTime date
+         */
+        public void setUnilateralDeleteTime(Date unilateralDeleteTime)
+        {
+            this.unilateralDeleteTime = unilateralDeleteTime;
+        }
+    }
+
+
+    /**
+     * JournalRecord describes a change to a single entity or relationship.  The image is null if the instance has been purged.
+     */
+    static class JournalRecord
+    {
+        private long              sequenceNumber    = 0;
+        private String            entityGUID        = null;
+        private EntityImage       entityImage       = null;
+        private String            relationshipGUID  = null;
+        private RelationshipImage relationshipImage = null;
+
+
+        /**
+         * Return the position of this record in the sequence of changes.
+         *
+         * @return sequence number
+         */
+        public long getSequenceNumber()
+        {
+            return sequenceNumber;
+        }
+
+
+        /**
+         * Set up the position of this record in the sequence of changes.
+         *
+         * @param sequenceNumber sequence number
+         */
+        public void setSequenceNumber(long sequenceNumber)
+        {
+            this.sequenceNumber = sequenceNumber;
+        }
+
+
+        /**
+         * Return the unique identifier of the changed entity.
+         *
+         * @return guid or null if a relationship changed
+         */
+        public String getEntityGUID()
+        {
+            return entityGUID;
+        }
+
+
+        /**
+         * Set up the unique identifier of the changed entity.
+         *
+         * @param entityGUID guid
+         */
+        public void setEntityGUID(String entityGUID)
+        {
+            this.entityGUID = entityGUID;
+        }
+
+
+        /**
+         * Return the new state of the entity.
+         *
+         * @return image or null if the entity has been purged
+         */
+        public EntityImage getEntityImage()
+        {
+            return entityImage;
+        }
+
+
+        /**
+         * Set up the new state of the entity.
+         *
+         * @param entityImage image
+         */
+        public void setEntityImage(EntityImage entityImage)
+        {
+            this.entityImage = entityImage;
+        }
+
+
+        /**
+         * Return the unique identifier of the changed relationship.
+         *
+         * @return guid or null if an entity changed
+         */
+        public String getRelationshipGUID()
+        {
+            return relationshipGUID;
+        }
+
+
+        /**
+         * Set up the unique identifier of the changed relationship.
+         *
+         * @param relationshipGUID guid
+         */
+        public void setRelationshipGUID(String relationshipGUID)
+        {
+            this.relationshipGUID = relationshipGUID;
+        }
+
+
+        /**
+         * Return the new state of the relationship.
+         *
+         * @return image or null if the relationship has been removed from the store
+         */
+        public RelationshipImage getRelationshipImage()
+        {
+            return relationshipImage;
+        }
+
+
+        /**
+         * Set up the new state of the relationship.
+         *
+         * @param relationshipImage image
+         */
+        public void setRelationshipImage(RelationshipImage relationshipImage)
+        {
+            this.relationshipImage = relationshipImage;
+        }
+    }
+
+
+    /**
+     * SnapshotContent is the content of the repository captured while the store's write lock is held.  The instances
+     * are serialized at capture time, so they are not affected by later changes while the snapshot is written.
+     */
+    static class SnapshotContent
+    {
+        private final long         sequenceNumber;
+        private final List<byte[]> entityRecords;
+        private final List<byte[]> relationshipRecords;
+
+
+        /**
+         * Constructor
+         *
+         * @param sequenceNumber sequence number of the last change included in the content
+         * @param entityRecords serialized entity images
+         * @param relationshipRecords serialized relationship images
+         */
+        SnapshotContent(long         sequenceNumber,
+                        List<byte[]> entityRecords,
+                        List<byte[]> relationshipRecords)
+        {
+            this.sequenceNumber = sequenceNumber;
+            this.entityRecords = entityRecords;
+            this.relationshipRecords = relationshipRecords;
+        }
+    }
+}
@@ -8,16 +8,29 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * InMemoryOMRSMetadataStore provides the in memory store for the InMemoryRepositoryConnector.
+ * <p>
+ * Access to the store is controlled by a read/write lock so that queries can run in parallel.  The current
+ * version of each instance is indexed by type, by classification name, by home metadata collection and (for relationships)
+ * by the GUIDs of the entities at each end.  The indexes are used to narrow down the instances that need to be checked
+ * by the queries.  Historical (asOfTime) queries still use a time-warped copy of the stores.
+ * <p>
+ * Optionally, the store can be backed by an InMemoryOMRSDurableStore.  Each change is then written to its journal
+ * while the write lock is held, and the content is restored from its files when the repository restarts.
  */
 class InMemoryOMRSMetadataStore
 {
@@ -28,6 +41,20 @@ class InMemoryOMRSMetadataStore
     private final Map<String, StoredEntity>       entityStore       = new HashMap<>();
     private final Map<String, StoredRelationship> relationshipStore = new HashMap<>();
 
+    /*
+     * Secondary indexes over the current version of the instances.  They map the index key to the set of instance GUIDs.
+     */
+    private final Map<String, Set<String>> entityTypeIndex                 = new HashMap<>();
+    private final Map<String, Set<String>> entityClassificationIndex       = new HashMap<>();
+    private final Map<String, Set<String>> entityMetadataCollectionIndex   = new HashMap<>();
+    private final Map<String, Set<String>> relationshipTypeIndex           = new HashMap<>();
+    private final Map<String, Set<String>> relationshipEntityIndex         = new HashMap<>();
+    private final Map<String, String>      typeNames                       = new HashMap<>();
+
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    private InMemoryOMRSDurableStore durableStore = null;
+
     private static final Logger log = LoggerFactory.getLogger(InMemoryOMRSMetadataStore.class);
 
 
@@ -94,16 +121,25 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String guid)
+    EntityDetail  getEntity(String guid)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
+        storeLock.readLock().lock();
 
-        if (storedEntity != null)
+        try
         {
-            return storedEntity.getEntity();
-        }
+            StoredEntity storedEntity = entityStore.get(guid);
 
-        return null;
+            if (storedEntity != null)
+            {
+                return storedEntity.getEntity();
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -113,23 +149,32 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntitySummary  getEntitySummary(String guid)
+    EntitySummary  getEntitySummary(String guid)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
+        storeLock.readLock().lock();
 
-        if (storedEntity != null)
+        try
         {
-            if (storedEntity.getEntity() != null)
-            {
-                return storedEntity.getEntity();
-            }
-            else
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity != null)
             {
-                return storedEntity.getEntityProxy();
+                if (storedEntity.getEntity() != null)
+                {
+                    return storedEntity.getEntity();
+                }
+                else
+                {
+                    return storedEntity.getEntityProxy();
+                }
             }
-        }
 
-        return null;
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -139,16 +184,55 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String guid)
+    EntityProxy  getEntityProxy(String guid)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity != null)
+            {
+                return storedEntity.getEntityProxy();
+            }
 
-        if (storedEntity != null)
+            return null;
+        }
+        finally
         {
-            return storedEntity.getEntityProxy();
+            storeLock.readLock().unlock();
         }
+    }
 
-        return null;
+
+    /**
+     * Return the entity identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the query (or null means now)
+     * @return entity object
+     */
+    EntityDetail  getEntity(String guid,
+                            Date   asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity != null)
+            {
+                return storedEntity.getEntity(asOfTime);
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -159,21 +243,130 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return entity store for the requested time
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+
+            for (StoredEntity storedEntity : entityStore.values())
+            {
+                EntityDetail entityDetail = storedEntity.getEntity(asOfTime);
+
+                if (entityDetail != null)
+                {
+                    timeWarpedEntityStore.put(entityDetail.getGUID(), entityDetail);
+                }
+            }
+
+            return timeWarpedEntityStore;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the entities that are candidates for a query.  For queries on the current state of the repository,
+     * the indexes are used to select only the entities of the requested type (or one of its subtypes) that have at
+     * least one of the requested classifications.  Historical queries return all entities active at the asOfTime.
+     * The caller is still responsible for checking each returned entity against the full search criteria.
+     *
+     * @param entityTypeGUID optional unique identifier of the type of entity (null means all types)
+     * @param classificationNames optional names of classifications; the entities must have at least one of them
+     * @param asOfTime time for the query (or null means now)
+     * @return candidate entities
+     */
+    Collection<EntityDetail> getCandidateEntities(String       entityTypeGUID,
+                                                  List<String> classificationNames,
+                                                  Date         asOfTime)
     {
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+        if (asOfTime != null)
+        {
+            return timeWarpEntityStore(asOfTime).values();
+        }
+
+        storeLock.readLock().lock();
 
-        for (StoredEntity storedEntity : entityStore.values())
+        try
         {
-            EntityDetail entityDetail = storedEntity.getEntity(asOfTime);
+            Set<String> candidateGUIDs = null;
 
-            if (entityDetail != null)
+            if (entityTypeGUID != null)
+            {
+                candidateGUIDs = getGUIDsForType(entityTypeIndex, entityTypeGUID);
+            }
+
+            if ((classificationNames != null) && (! classificationNames.isEmpty()))
+            {
+                Set<String> classifiedGUIDs = getGUIDsForClassifications(classificationNames);
+
+                if (candidateGUIDs == null)
+                {
+                    candidateGUIDs = classifiedGUIDs;
+                }
+                else
+                {
+                    candidateGUIDs = intersection(candidateGUIDs, classifiedGUIDs);
+                }
+            }
+
+            List<EntityDetail> candidates = new ArrayList<>();
+
+            if (candidateGUIDs == null)
+            {
+                for (StoredEntity storedEntity : entityStore.values())
+                {
+                    if (storedEntity.getEntity() != null)
+                    {
+                        candidates.add(storedEntity.getEntity());
+                    }
+                }
+            }
+            else
             {
-                timeWarpedEntityStore.put(entityDetail.getGUID(), entityDetail);
+                for (String guid : candidateGUIDs)
+                {
+                    StoredEntity storedEntity = entityStore.get(guid);
+
+                    if ((storedEntity != null) && (storedEntity.getEntity() != null))
+                    {
+                        candidates.add(storedEntity.getEntity());
+                    }
+                }
             }
+
+            return candidates;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
         }
+    }
+
+
+    /**
+     * Return the unique identifiers of the entities (or entity proxies) whose home is the requested metadata collection.
+     *
+     * @param metadataCollectionId unique identifier of the metadata collection
+     * @return set of entity GUIDs
+     */
+    Set<String> getEntityGUIDsForMetadataCollection(String metadataCollectionId)
+    {
+        storeLock.readLock().lock();
 
-        return timeWarpedEntityStore;
+        try
+        {
+            return new HashSet<>(entityMetadataCollectionIndex.getOrDefault(metadataCollectionId, Collections.emptySet()));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -183,16 +376,55 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    synchronized Relationship  getRelationship(String guid)
+    Relationship  getRelationship(String guid)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(guid);
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(guid);
+
+            if (storedRelationship != null)
+            {
+                return storedRelationship.getRelationship();
+            }
 
-        if (storedRelationship != null)
+            return null;
+        }
+        finally
         {
-            return storedRelationship.getRelationship();
+            storeLock.readLock().unlock();
         }
+    }
 
-        return null;
+
+    /**
+     * Return the relationship identified by the guid as it was at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the query (or null means now)
+     * @return relationship object
+     */
+    Relationship  getRelationship(String guid,
+                                  Date   asOfTime)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(guid);
+
+            if (storedRelationship != null)
+            {
+                return storedRelationship.getRelationship(asOfTime);
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -203,21 +435,100 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return relationship store for the requested time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+        storeLock.readLock().lock();
 
-        for (StoredRelationship storedRelationship : relationshipStore.values())
+        try
         {
-            Relationship relationship = storedRelationship.getRelationship(asOfTime);
+            Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
-            if (relationship != null)
+            for (StoredRelationship storedRelationship : relationshipStore.values())
+            {
+                Relationship relationship = storedRelationship.getRelationship(asOfTime);
+
+                if (relationship != null)
+                {
+                    timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
+                }
+            }
+
+            return timeWarpedRelationshipStore;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the relationships that are candidates for a query.  For queries on the current state of the repository,
+     * the indexes are used to select only the relationships of the requested type (or one of its subtypes).
+     * Historical queries return all relationships active at the asOfTime.  The caller is
+     * still responsible for checking each returned relationship against the full search criteria.
+     *
+     * @param relationshipTypeGUID optional unique identifier of the type of relationship (null means all types)
+     * @param asOfTime time for the query (or null means now)
+     * @return candidate relationships
+     */
+    Collection<Relationship> getCandidateRelationships(String relationshipTypeGUID,
+                                                       Date   asOfTime)
+    {
+        if ((asOfTime != null) || (relationshipTypeGUID == null))
+        {
+            return timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        storeLock.readLock().lock();
+
+        try
+        {
+            return getRelationships(getGUIDsForType(relationshipTypeIndex, relationshipTypeGUID));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the relationships that are attached to an entity.  For queries on the current state of the repository,
+     * the relationship end index is used.  Historical queries check all relationships active at the asOfTime.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param asOfTime time for the query (or null means now)
+     * @return candidate relationships
+     */
+    Collection<Relationship> getRelationshipsForEntity(String entityGUID,
+                                                       Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            List<Relationship> results = new ArrayList<>();
+
+            for (Relationship relationship : timeWarpRelationshipStore(asOfTime).values())
             {
-                timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
+                if (repositoryHelper.relatedEntity(repositoryName, entityGUID, relationship))
+                {
+                    results.add(relationship);
+                }
             }
+
+            return results;
         }
 
-        return timeWarpedRelationshipStore;
+        storeLock.readLock().lock();
+
+        try
+        {
+            return getRelationships(relationshipEntityIndex.getOrDefault(entityGUID, Collections.emptySet()));
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
     }
 
 
@@ -228,25 +539,37 @@ class InMemoryOMRSMetadataStore
      * @return entity with potentially updated GUID
      * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    EntityDetail createEntityInStore(EntityDetail entity) throws RepositoryErrorException
     {
-        StoredEntity newStoredEntity = new StoredEntity(entity);
+        storeLock.writeLock().lock();
 
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing entity.
-         * If this happens a new GUID is generated for the entity and the process repeats.
-         */
-        StoredEntity existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
+        try
+        {
+            StoredEntity newStoredEntity = new StoredEntity(entity);
 
-        while (existingStoredEntity != null)
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing entity.
+             * If this happens a new GUID is generated for the entity and the process repeats.
+             */
+            StoredEntity existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
+
+            while (existingStoredEntity != null)
+            {
+                entityStore.put(entity.getGUID(), existingStoredEntity);
+                entity.setGUID(UUID.randomUUID().toString());
+                newStoredEntity = new StoredEntity(entity);
+                existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
+            }
+
+            indexEntity(entity.getGUID(), newStoredEntity);
+            journalEntity(entity.getGUID());
+
+            return entity;
+        }
+        finally
         {
-            entityStore.put(entity.getGUID(), existingStoredEntity);
-            entity.setGUID(UUID.randomUUID().toString());
-            newStoredEntity = new StoredEntity(entity);
-            existingStoredEntity = entityStore.put(entity.getGUID(), newStoredEntity);
+            storeLock.writeLock().unlock();
         }
-
-        return entity;
     }
 
 
@@ -256,25 +579,37 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship relationship)
+    Relationship createRelationshipInStore(Relationship relationship)
     {
-        StoredRelationship newStoredRelationship = new StoredRelationship(relationship);
+        storeLock.writeLock().lock();
 
-        /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
-         */
-        StoredRelationship existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
+        try
+        {
+            StoredRelationship newStoredRelationship = new StoredRelationship(relationship);
+
+            /*
+             * There is a small chance the randomly generated GUID will clash with an existing relationship.
+             * If this happens a new GUID is generated for the relationship and the process repeats.
+             */
+            StoredRelationship existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
 
-        while (existingStoredRelationship != null)
+            while (existingStoredRelationship != null)
+            {
+                relationshipStore.put(relationship.getGUID(), existingStoredRelationship);
+                relationship.setGUID(UUID.randomUUID().toString());
+                newStoredRelationship = new StoredRelationship(relationship);
+                existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
+            }
+
+            indexRelationship(relationship.getGUID(), newStoredRelationship);
+            journalRelationship(relationship.getGUID());
+
+            return relationship;
+        }
+        finally
         {
-            relationshipStore.put(relationship.getGUID(), existingStoredRelationship);
-            relationship.setGUID(UUID.randomUUID().toString());
-            newStoredRelationship = new StoredRelationship(relationship);
-            existingStoredRelationship = relationshipStore.put(relationship.getGUID(), newStoredRelationship);
+            storeLock.writeLock().unlock();
         }
-
-        return relationship;
     }
 
 
@@ -284,18 +619,9 @@ class InMemoryOMRSMetadataStore
      * @param entityDetail - entity object to add
      * @throws RepositoryErrorException unable to create proxy
      */
-    synchronized void addEntityToStore(EntityDetail entityDetail) throws RepositoryErrorException
+    void addEntityToStore(EntityDetail entityDetail) throws RepositoryErrorException
     {
-        StoredEntity storedEntity = entityStore.get(entityDetail.getGUID());
-
-        if (storedEntity == null)
-        {
-            entityStore.put(entityDetail.getGUID(), new StoredEntity(entityDetail));
-        }
-        else
-        {
-            storedEntity.saveEntity(entityDetail);
-        }
+        this.updateEntityInStore(entityDetail);
     }
 
 
@@ -305,17 +631,30 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy entityProxy)
+    void addEntityProxyToStore(EntityProxy entityProxy)
     {
-        StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+        storeLock.writeLock().lock();
 
-        if (storedEntity == null)
+        try
         {
-            entityStore.put(entityProxy.getGUID(), new StoredEntity(entityProxy));
+            StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+
+            if (storedEntity == null)
+            {
+                storedEntity = new StoredEntity(entityProxy);
+                entityStore.put(entityProxy.getGUID(), storedEntity);
+            }
+            else
+            {
+                storedEntity.saveEntityProxy(entityProxy);
+            }
+
+            indexEntity(entityProxy.getGUID(), storedEntity);
+            journalEntity(entityProxy.getGUID());
         }
-        else
+        finally
         {
-            storedEntity.saveEntityProxy(entityProxy);
+            storeLock.writeLock().unlock();
         }
     }
 
@@ -325,18 +664,9 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - entity proxy object to add
      */
-    synchronized void addRelationshipToStore(Relationship relationship)
+    void addRelationshipToStore(Relationship relationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
-
-        if (storedRelationship == null)
-        {
-            relationshipStore.put(relationship.getGUID(), new StoredRelationship(relationship));
-        }
-        else
-        {
-            storedRelationship.saveRelationship(relationship);
-        }
+        this.updateRelationshipInStore(relationship);
     }
 
 
@@ -347,134 +677,864 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity) throws RepositoryErrorException
+    void updateEntityInStore(EntityDetail entity) throws RepositoryErrorException
     {
-        StoredEntity storedEntity = entityStore.get(entity.getGUID());
+        storeLock.writeLock().lock();
 
-        if (storedEntity == null)
+        try
         {
-            entityStore.put(entity.getGUID(), new StoredEntity(entity));
+            StoredEntity storedEntity = entityStore.get(entity.getGUID());
+
+            if (storedEntity == null)
+            {
+                storedEntity = new StoredEntity(entity);
+                entityStore.put(entity.getGUID(), storedEntity);
+            }
+            else
+            {
+                storedEntity.saveEntity(entity);
+            }
+
+            indexEntity(entity.getGUID(), storedEntity);
+            journalEntity(entity.getGUID());
         }
-        else
+        finally
         {
-            storedEntity.saveEntity(entity);
+            storeLock.writeLock().unlock();
         }
     }
 
 
     /**
-     * Maintain a classification within the entity proxy.
+     * Save a batch of reference copies.  The store is locked once for the whole batch and, if the store is durable,
+     * the journal is flushed once at the end rather than after each instance.  The entities are saved first and
+     * then the relationships along with the proxies for their ends.
+     *
+     * @param entities entities to save (may be null)
+     * @param relationships relationships to save (may be null)
+     * @throws RepositoryErrorException problem generating entity proxy - probably bad entity
+     */
+    void saveReferenceCopiesToStore(List<EntityDetail> entities,
+                                    List<Relationship> relationships) throws RepositoryErrorException
+    {
+        storeLock.writeLock().lock();
+
+        if (durableStore != null)
+        {
+            durableStore.startBatch();
+        }
+
+        try
+        {
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    this.updateEntityInStore(entity);
+                }
+            }
+
+            if (relationships != null)
+            {
+                for (Relationship relationship : relationships)
+                {
+                    this.addEntityProxyToStore(relationship.getEntityOneProxy());
+                    this.addEntityProxyToStore(relationship.getEntityTwoProxy());
+                    this.updateRelationshipInStore(relationship);
+                }
+            }
+        }
+        finally
+        {
+            if (durableStore != null)
+            {
+                durableStore.endBatch();
+            }
+
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Maintain a classification within the entity proxy.
+     *
+     * @param entityGUID unique identifier of entity
+     * @param classification classification to update
+     */
+    void saveClassification(String          entityGUID,
+                            Classification  classification)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(entityGUID);
+
+            if (storedEntity != null)
+            {
+                storedEntity.saveClassification(classification);
+                indexEntity(entityGUID, storedEntity);
+                journalEntity(entityGUID);
+            }
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Maintain a classification within the entity.
+     *
+     * @param entityDetail entity
+     * @param classificationName name of classification to remove
+     */
+    EntityDetail removeClassificationFromEntity(EntityDetail entityDetail,
+                                                String       classificationName)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(entityDetail.getGUID());
+
+            if (storedEntity != null)
+            {
+                EntityDetail updatedEntity = storedEntity.removeClassificationFromEntity(classificationName);
+
+                indexEntity(entityDetail.getGUID(), storedEntity);
+                journalEntity(entityDetail.getGUID());
+
+                return updatedEntity;
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Maintain a classification within the entity proxy.
+     *
+     * @param entityProxy entity
+     * @param classificationName name of classification to remove
+     */
+    Classification removeClassificationFromProxy(EntityProxy entityProxy,
+                                                 String      classificationName)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+
+            if (storedEntity != null)
+            {
+                Classification removedClassification = storedEntity.removeClassificationFromEntityProxy(classificationName);
+
+                indexEntity(entityProxy.getGUID(), storedEntity);
+                journalEntity(entityProxy.getGUID());
+
+                return removedClassification;
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Maintain a history of relationships as they are stored into the relationship store to ensure old version
+     * can be restored.  The history is maintained with the latest changes first in the list.
+     *
+     * @param relationship - new version of the relationship
+     */
+    void updateRelationshipInStore(Relationship relationship)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+
+            if (storedRelationship == null)
+            {
+                storedRelationship = new StoredRelationship(relationship);
+                relationshipStore.put(relationship.getGUID(), storedRelationship);
+            }
+            else
+            {
+                storedRelationship.saveRelationship(relationship);
+            }
+
+            indexRelationship(relationship.getGUID(), storedRelationship);
+            journalRelationship(relationship.getGUID());
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
+     * appears in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this relationship - or null if not found
+     */
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(guid);
+
+            if (storedRelationship != null)
+            {
+                return storedRelationship.retrievePreviousVersion();
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
+     * This is the first instance of this element that appears in the history.
+     *
+     * @param guid - unique identifier for the required element
+     * @return - previous version of this Entity - or null if not found
+     */
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity != null)
+            {
+                return storedEntity.retrievePreviousVersion();
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the list of home classifications for an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @return list of classifications or null
+     */
+    List<Classification> getHomeClassifications(String guid)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity != null)
+            {
+                return storedEntity.getHomeClassifications();
+            }
+
+            return null;
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the versions of the instance that where active between the "from" and "to" times.
+     *
+     * @param guid unique identifier of the instance
+     * @param fromTime starting time
+     * @param toTime ending time
+     * @param oldestFirst ordering
+     * @return list of instance versions
+     */
+    List<EntityDetail> getEntityHistory(String  guid,
+                                        Date    fromTime,
+                                        Date    toTime,
+                                        boolean oldestFirst)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.get(guid);
+
+            if (storedEntity == null)
+            {
+                return null;
+            }
+
+            return storedEntity.getEntityHistory(fromTime, toTime, oldestFirst);
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the versions of the instance that where active between the "from" and "to" times.
+     *
+     * @param guid unique identifier of the instance
+     * @param fromTime starting time
+     * @param toTime ending time
+     * @param oldestFirst ordering
+     * @return list of instance versions
+     */
+    List<Relationship> getRelationshipHistory(String  guid,
+                                              Date    fromTime,
+                                              Date    toTime,
+                                              boolean oldestFirst)
+    {
+        storeLock.readLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(guid);
+
+            if (storedRelationship == null)
+            {
+                return null;
+            }
+
+            return storedRelationship.getRelationshipHistory(fromTime, toTime, oldestFirst);
+        }
+        finally
+        {
+            storeLock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove all record of an entity - including its history.
+     *
+     * @param guid - entity to remove
+     */
+    void purgeEntityFromStore(String guid)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredEntity storedEntity = entityStore.remove(guid);
+
+            if (storedEntity != null)
+            {
+                unindexEntity(guid, storedEntity);
+                journalEntity(guid);
+            }
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove a relationship from the active store and add it to the history store.
+     * This occurs when an entity is deleted.
+     *
+     * @param relationship - relationship to remove
+     */
+    void removeRelationshipFromStore(Relationship     relationship)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+
+            if (storedRelationship == null)
+            {
+                storedRelationship = new StoredRelationship(relationship);
+
+                relationshipStore.put(relationship.getGUID(), storedRelationship);
+            }
+
+            storedRelationship.purgeRelationship();
+
+            unindexRelationship(relationship.getGUID(), storedRelationship);
+            journalRelationship(relationship.getGUID());
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Remove a reference relationship from the active store and add it to the history store.
+     *
+     * @param guid - relationship to remove
+     */
+    void purgeRelationshipFromStore(String guid)
+    {
+        storeLock.writeLock().lock();
+
+        try
+        {
+            StoredRelationship storedRelationship = relationshipStore.remove(guid);
+
+            if (storedRelationship != null)
+            {
+                unindexRelationship(guid, storedRelationship);
+                journalRelationship(guid);
+            }
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Restore the content saved in the durable store and then write each subsequent change to its journal.
+     * A fresh snapshot is written once the content is restored so the journal starts empty.  The content of the
+     * snapshot is captured under the write lock and written to the file system once the lock is released.
+     *
+     * @param durableStore files where the content is saved
+     * @throws IOException unable to restore the content - the store is left empty
+     */
+    void openDurableStore(InMemoryOMRSDurableStore durableStore) throws IOException
+    {
+        InMemoryOMRSDurableStore.SnapshotContent snapshotContent;
+
+        storeLock.writeLock().lock();
+
+        try
+        {
+            durableStore.loadSnapshot(entityImage -> restoreEntity(entityImage.getGuid(), entityImage),
+                                      relationshipImage -> restoreRelationship(relationshipImage.getGuid(), relationshipImage));
+
+            int journalRecordCount = durableStore.replayJournal(this::restoreJournalRecord);
+
+            durableStore.openJournal();
+            snapshotContent = durableStore.captureSnapshot(getEntityImages(), getRelationshipImages());
+            durableStore.logRestore(entityStore.size(), relationshipStore.size(), journalRecordCount);
+
+            this.durableStore = durableStore;
+        }
+        catch (IOException | RuntimeException error)
+        {
+            durableStore.close();
+
+            entityStore.clear();
+            relationshipStore.clear();
+            entityTypeIndex.clear();
+            entityClassificationIndex.clear();
+            entityMetadataCollectionIndex.clear();
+            relationshipTypeIndex.clear();
+            relationshipEntityIndex.clear();
+            typeNames.clear();
+
+            if (error instanceof IOException)
+            {
+                throw (IOException) error;
+            }
+
+            throw new IOException(error.getMessage(), error);
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+
+        durableStore.writeSnapshot(snapshotContent);
+    }
+
+
+    /**
+     * Write a final snapshot to the durable store (if any) and close it.  The content of the snapshot is captured
+     * under the write lock and written to the file system once the lock is released.
+     */
+    void closeDurableStore()
+    {
+        InMemoryOMRSDurableStore                 closingDurableStore;
+        InMemoryOMRSDurableStore.SnapshotContent snapshotContent = null;
+
+        storeLock.writeLock().lock();
+
+        try
+        {
+            closingDurableStore = durableStore;
+            durableStore = null;
+
+            if (closingDurableStore != null)
+            {
+                closingDurableStore.waitForSnapshot();
+                snapshotContent = closingDurableStore.captureSnapshot(getEntityImages(), getRelationshipImages());
+                closingDurableStore.closeJournal();
+            }
+        }
+        finally
+        {
+            storeLock.writeLock().unlock();
+        }
+
+        if (closingDurableStore != null)
+        {
+            closingDurableStore.writeSnapshot(snapshotContent);
+            closingDurableStore.close();
+        }
+    }
+
+
+    /*
+     * Durable store maintenance.  These methods are called with the write lock held.
+     */
+
+
+    /**
+     * Write the current state of an entity to the journal.  A new snapshot is written if one is due.
+     *
+     * @param guid unique identifier of the entity
+     */
+    private void journalEntity(String guid)
+    {
+        if (durableStore != null)
+        {
+            InMemoryOMRSDurableStore.JournalRecord journalRecord = new InMemoryOMRSDurableStore.JournalRecord();
+            StoredEntity                           storedEntity  = entityStore.get(guid);
+
+            journalRecord.setEntityGUID(guid);
+
+            if (storedEntity != null)
+            {
+                journalRecord.setEntityImage(storedEntity.getJournalImage(guid));
+            }
+
+            appendToJournal(journalRecord);
+        }
+    }
+
+
+    /**
+     * Write the current state of a relationship to the journal.  A new snapshot is written if one is due.
+     *
+     * @param guid unique identifier of the relationship
+     */
+    private void journalRelationship(String guid)
+    {
+        if (durableStore != null)
+        {
+            InMemoryOMRSDurableStore.JournalRecord journalRecord      = new InMemoryOMRSDurableStore.JournalRecord();
+            StoredRelationship                     storedRelationship = relationshipStore.get(guid);
+
+            journalRecord.setRelationshipGUID(guid);
+
+            if (storedRelationship != null)
+            {
+                journalRecord.setRelationshipImage(storedRelationship.getJournalImage(guid));
+            }
+
+            appendToJournal(journalRecord);
+        }
+    }
+
+
+    /**
+     * Add a record to the journal.  If enough changes have been journaled, the content of the store is captured
+     * and a new snapshot is written in the background.
+     *
+     * @param journalRecord description of the change
+     */
+    private void appendToJournal(InMemoryOMRSDurableStore.JournalRecord journalRecord)
+    {
+        if (durableStore.appendToJournal(journalRecord))
+        {
+            durableStore.scheduleSnapshot(durableStore.captureSnapshot(getEntityImages(), getRelationshipImages()));
+        }
+    }
+
+
+    /**
+     * Return the saved state of all entities.
+     *
+     * @return list of images
+     */
+    private List<InMemoryOMRSDurableStore.EntityImage> getEntityImages()
+    {
+        List<InMemoryOMRSDurableStore.EntityImage> entityImages = new ArrayList<>();
+
+        for (Map.Entry<String, StoredEntity> storedEntity : entityStore.entrySet())
+        {
+            entityImages.add(storedEntity.getValue().getImage(storedEntity.getKey()));
+        }
+
+        return entityImages;
+    }
+
+
+    /**
+     * Return the saved state of all relationships.
+     *
+     * @return list of images
+     */
+    private List<InMemoryOMRSDurableStore.RelationshipImage> getRelationshipImages()
+    {
+        List<InMemoryOMRSDurableStore.RelationshipImage> relationshipImages = new ArrayList<>();
+
+        for (Map.Entry<String, StoredRelationship> storedRelationship : relationshipStore.entrySet())
+        {
+            relationshipImages.add(storedRelationship.getValue().getImage(storedRelationship.getKey()));
+        }
+
+        return relationshipImages;
+    }
+
+
+    /**
+     * Apply a journal record to the store.
+     *
+     * @param journalRecord description of the change
+     */
+    private void restoreJournalRecord(InMemoryOMRSDurableStore.JournalRecord journalRecord)
+    {
+        if (journalRecord.getEntityGUID() != null)
+        {
+            restoreEntity(journalRecord.getEntityGUID(), journalRecord.getEntityImage());
+        }
+
+        if (journalRecord.getRelationshipGUID() != null)
+        {
+            restoreRelationship(journalRecord.getRelationshipGUID(), journalRecord.getRelationshipImage());
+        }
+    }
+
+
+    /**
+     * Replace the stored entity with its saved state.  The history in the image is added to the front of the
+     * existing entity's history.
+     *
+     * @param guid unique identifier of the entity
+     * @param entityImage saved state or null if the entity has been purged
+     */
+    private void restoreEntity(String                               guid,
+                               InMemoryOMRSDurableStore.EntityImage entityImage)
+    {
+        StoredEntity existingStoredEntity = entityStore.remove(guid);
+
+        if (existingStoredEntity != null)
+        {
+            unindexEntity(guid, existingStoredEntity);
+        }
+
+        if (entityImage != null)
+        {
+            StoredEntity storedEntity = new StoredEntity(entityImage, existingStoredEntity);
+
+            entityStore.put(guid, storedEntity);
+            indexEntity(guid, storedEntity);
+        }
+    }
+
+
+    /**
+     * Replace the stored relationship with its saved state.  The history in the image is merged with the
+     * existing relationship's history.
      *
-     * @param entityGUID unique identifier of entity
-     * @param classification classification to update
+     * @param guid unique identifier of the relationship
+     * @param relationshipImage saved state or null if the relationship has been purged
      */
-    synchronized void saveClassification(String          entityGUID,
-                                         Classification  classification)
+    private void restoreRelationship(String                                     guid,
+                                     InMemoryOMRSDurableStore.RelationshipImage relationshipImage)
     {
-        StoredEntity storedEntity = entityStore.get(entityGUID);
+        StoredRelationship existingStoredRelationship = relationshipStore.remove(guid);
+
+        if (existingStoredRelationship != null)
+        {
+            unindexRelationship(guid, existingStoredRelationship);
+        }
 
-        if (storedEntity != null)
+        if (relationshipImage != null)
         {
-           storedEntity.saveClassification(classification);
+            StoredRelationship storedRelationship = new StoredRelationship(relationshipImage, existingStoredRelationship);
+
+            relationshipStore.put(guid, storedRelationship);
+            indexRelationship(guid, storedRelationship);
         }
     }
 
 
+    /*
+     * Index maintenance.  These methods are called with the write lock held.
+     */
+
+
     /**
-     * Maintain a classification within the entity.
+     * Update the indexes for an entity after it has changed.  The index is based on the current version
+     * of the entity.  The home metadata collection is also recorded for entity proxies.
      *
-     * @param entityDetail entity
-     * @param classificationName name of classification to remove
+     * @param guid unique identifier of the entity
+     * @param storedEntity stored entity
      */
-    synchronized EntityDetail removeClassificationFromEntity(EntityDetail entityDetail,
-                                                             String       classificationName)
+    private void indexEntity(String       guid,
+                             StoredEntity storedEntity)
     {
-        StoredEntity storedEntity = entityStore.get(entityDetail.getGUID());
+        unindexEntity(guid, storedEntity);
+
+        EntityDetail  entity = storedEntity.getEntity();
+        EntitySummary entitySummary = entity;
 
-        if (storedEntity != null)
+        if (entitySummary == null)
         {
-            return storedEntity.removeClassificationFromEntity(classificationName);
+            entitySummary = storedEntity.getEntityProxy();
         }
 
-        return null;
+        if (entitySummary != null)
+        {
+            storedEntity.indexedMetadataCollectionId = entitySummary.getMetadataCollectionId();
+            addToIndex(entityMetadataCollectionIndex, storedEntity.indexedMetadataCollectionId, guid);
+        }
+
+        if (entity != null)
+        {
+            storedEntity.indexedTypeGUID = saveTypeName(entity.getType());
+            addToIndex(entityTypeIndex, storedEntity.indexedTypeGUID, guid);
+
+            if (entity.getClassifications() != null)
+            {
+                for (Classification classification : entity.getClassifications())
+                {
+                    if ((classification != null) && (classification.getName() != null))
+                    {
+                        storedEntity.indexedClassificationNames.add(classification.getName());
+                        addToIndex(entityClassificationIndex, classification.getName(), guid);
+                    }
+                }
+            }
+        }
     }
 
 
     /**
-     * Maintain a classification within the entity proxy.
+     * Remove an entity from the indexes.
      *
-     * @param entityProxy entity
-     * @param classificationName name of classification to remove
+     * @param guid unique identifier of the entity
+     * @param storedEntity stored entity
      */
-    synchronized Classification removeClassificationFromProxy(EntityProxy entityProxy,
-                                                              String      classificationName)
+    private void unindexEntity(String       guid,
+                               StoredEntity storedEntity)
     {
-        StoredEntity storedEntity = entityStore.get(entityProxy.getGUID());
+        removeFromIndex(entityTypeIndex, storedEntity.indexedTypeGUID, guid);
+        removeFromIndex(entityMetadataCollectionIndex, storedEntity.indexedMetadataCollectionId, guid);
 
-        if (storedEntity != null)
+        for (String classificationName : storedEntity.indexedClassificationNames)
         {
-            return storedEntity.removeClassificationFromEntityProxy(classificationName);
+            removeFromIndex(entityClassificationIndex, classificationName, guid);
         }
 
-        return null;
+        storedEntity.indexedTypeGUID = null;
+        storedEntity.indexedMetadataCollectionId = null;
+        storedEntity.indexedClassificationNames.clear();
     }
 
 
     /**
-     * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * Update the indexes for a relationship after it has changed.  The index is based on the current version
+     * of the relationship.
      *
-     * @param relationship - new version of the relationship
+     * @param guid unique identifier of the relationship
+     * @param storedRelationship stored relationship
      */
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    private void indexRelationship(String             guid,
+                                   StoredRelationship storedRelationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+        unindexRelationship(guid, storedRelationship);
 
-        if (storedRelationship == null)
-        {
-            relationshipStore.put(relationship.getGUID(), new StoredRelationship(relationship));
-        }
-        else
+        Relationship relationship = storedRelationship.relationship;
+
+        if (relationship != null)
         {
-            storedRelationship.saveRelationship(relationship);
+            storedRelationship.indexedTypeGUID = saveTypeName(relationship.getType());
+            addToIndex(relationshipTypeIndex, storedRelationship.indexedTypeGUID, guid);
+
+            if (relationship.getEntityOneProxy() != null)
+            {
+                storedRelationship.indexedEntityOneGUID = relationship.getEntityOneProxy().getGUID();
+                addToIndex(relationshipEntityIndex, storedRelationship.indexedEntityOneGUID, guid);
+            }
+
+            if (relationship.getEntityTwoProxy() != null)
+            {
+                storedRelationship.indexedEntityTwoGUID = relationship.getEntityTwoProxy().getGUID();
+                addToIndex(relationshipEntityIndex, storedRelationship.indexedEntityTwoGUID, guid);
+            }
         }
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Remove a relationship from the indexes.
      *
-     * @param guid - unique identifier for the required element
-     * @return - previous version of this relationship - or null if not found
+     * @param guid unique identifier of the relationship
+     * @param storedRelationship stored relationship
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    private void unindexRelationship(String             guid,
+                                     StoredRelationship storedRelationship)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(guid);
+        removeFromIndex(relationshipTypeIndex, storedRelationship.indexedTypeGUID, guid);
+        removeFromIndex(relationshipEntityIndex, storedRelationship.indexedEntityOneGUID, guid);
+        removeFromIndex(relationshipEntityIndex, storedRelationship.indexedEntityTwoGUID, guid);
 
-        if (storedRelationship != null)
-        {
-            return storedRelationship.retrievePreviousVersion();
-        }
-
-        return null;
+        storedRelationship.indexedTypeGUID = null;
+        storedRelationship.indexedEntityOneGUID = null;
+        storedRelationship.indexedEntityTwoGUID = null;
     }
 
 
     /**
-     * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * Remember the name of a type so that the type hierarchy can be checked when the type index is queried.
      *
-     * @param guid - unique identifier for the required element
-     * @return - previous version of this Entity - or null if not found
+     * @param instanceType type of an instance
+     * @return unique identifier of the type
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    private String saveTypeName(InstanceType instanceType)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
-
-        if (storedEntity != null)
+        if ((instanceType != null) && (instanceType.getTypeDefGUID() != null))
         {
-            return storedEntity.retrievePreviousVersion();
+            typeNames.put(instanceType.getTypeDefGUID(), instanceType.getTypeDefName());
+
+            return instanceType.getTypeDefGUID();
         }
 
         return null;
@@ -482,127 +1542,192 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return the list of home classifications for an entity.
+     * Add an instance to an index.
      *
-     * @param guid unique identifier of the entity
-     * @return list of classifications or null
+     * @param index index to update
+     * @param key index key
+     * @param guid unique identifier of the instance
      */
-    synchronized List<Classification> getHomeClassifications(String guid)
+    private void addToIndex(Map<String, Set<String>> index,
+                            String                   key,
+                            String                   guid)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
-
-        if (storedEntity != null)
+        if (key != null)
         {
-            return storedEntity.getHomeClassifications();
+            index.computeIfAbsent(key, newKey -> new HashSet<>()).add(guid);
         }
-
-        return null;
     }
 
 
     /**
-     * Return the versions of the instance that where active between the "from" and "to" times.
+     * Remove an instance from an index.
      *
+     * @param index index to update
+     * @param key index key
      * @param guid unique identifier of the instance
-     * @param fromTime starting time
-     * @param toTime ending time
-     * @param oldestFirst ordering
-     * @return list of instance versions
      */
-    synchronized List<EntityDetail> getEntityHistory(String  guid,
-                                                     Date    fromTime,
-                                                     Date    toTime,
-                                                     boolean oldestFirst)
+    private void removeFromIndex(Map<String, Set<String>> index,
+                                 String                   key,
+                                 String                   guid)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
-
-        if (storedEntity == null)
+        if (key != null)
         {
-            return null;
-        }
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                guids.remove(guid);
 
-        return storedEntity.getEntityHistory(fromTime, toTime, oldestFirst);
+                if (guids.isEmpty())
+                {
+                    index.remove(key);
+                }
+            }
+        }
     }
 
 
+    /*
+     * Index queries.  These methods are called with the read lock held.
+     */
+
+
     /**
-     * Return the versions of the instance that where active between the "from" and "to" times.
+     * Return the GUIDs of the instances that are of the requested type or one of its subtypes.
      *
-     * @param guid unique identifier of the instance
-     * @param fromTime starting time
-     * @param toTime ending time
-     * @param oldestFirst ordering
-     * @return list of instance versions
+     * @param typeIndex index to query
+     * @param expectedTypeGUID unique identifier of the requested type
+     * @return set of instance GUIDs
      */
-    synchronized  List<Relationship> getRelationshipHistory(String  guid,
-                                                            Date    fromTime,
-                                                            Date    toTime,
-                                                            boolean oldestFirst)
+    private Set<String> getGUIDsForType(Map<String, Set<String>> typeIndex,
+                                        String                   expectedTypeGUID)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(guid);
+        final String methodName = "getGUIDsForType";
+        final String parameterName = "typeGUID";
 
-        if (storedRelationship == null)
+        String expectedTypeName = typeNames.get(expectedTypeGUID);
+
+        if (expectedTypeName == null)
         {
-            return null;
+            try
+            {
+                TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, parameterName, expectedTypeGUID, methodName);
+
+                expectedTypeName = typeDef.getName();
+            }
+            catch (Exception error)
+            {
+                log.debug("Unable to resolve type " + expectedTypeGUID + ": " + error.getMessage());
+            }
+        }
+
+        Set<String> results = new HashSet<>();
+
+        for (String indexedTypeGUID : typeIndex.keySet())
+        {
+            if ((indexedTypeGUID.equals(expectedTypeGUID)) ||
+                        ((expectedTypeName != null) && (repositoryHelper.isTypeOf(repositoryName, typeNames.get(indexedTypeGUID), expectedTypeName))))
+            {
+                results.addAll(typeIndex.get(indexedTypeGUID));
+            }
         }
 
-        return storedRelationship.getRelationshipHistory(fromTime, toTime, oldestFirst);
+        return results;
     }
 
 
     /**
-     * Remove all record of an entity - including its history.
+     * Return the GUIDs of the entities that have at least one of the requested classifications.
      *
-     * @param guid - entity to remove
+     * @param classificationNames names of the classifications
+     * @return set of entity GUIDs
      */
-    synchronized void purgeEntityFromStore(String guid)
+    private Set<String> getGUIDsForClassifications(List<String> classificationNames)
     {
-        StoredEntity storedEntity = entityStore.get(guid);
+        if (classificationNames.size() == 1)
+        {
+            return entityClassificationIndex.getOrDefault(classificationNames.get(0), Collections.emptySet());
+        }
+
+        Set<String> results = new HashSet<>();
 
-        if (storedEntity != null)
+        for (String classificationName : classificationNames)
         {
-            entityStore.remove(guid);
+            Set<String> classifiedGUIDs = entityClassificationIndex.get(classificationName);
+
+            if (classifiedGUIDs != null)
+            {
+                results.addAll(classifiedGUIDs);
+            }
         }
+
+        return results;
     }
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
-     * This occurs when an entity is deleted.
+     * Return the entries that are in both sets.
      *
-     * @param relationship - relationship to remove
+     * @param set1 first set
+     * @param set2 second set
+     * @return new set
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    private Set<String> intersection(Set<String> set1,
+                                     Set<String> set2)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(relationship.getGUID());
+        Set<String> smallerSet = set1;
+        Set<String> largerSet  = set2;
 
-        if (storedRelationship == null)
+        if (set1.size() > set2.size())
         {
-            storedRelationship = new StoredRelationship(relationship);
+            smallerSet = set2;
+            largerSet  = set1;
+        }
 
-            relationshipStore.put(relationship.getGUID(), storedRelationship);
+        Set<String> results = new HashSet<>();
+
+        for (String guid : smallerSet)
+        {
+            if (largerSet.contains(guid))
+            {
+                results.add(guid);
+            }
         }
 
-        storedRelationship.purgeRelationship();
+        return results;
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Return the current version of the requested relationships.
      *
-     * @param guid - relationship to remove
+     * @param guids unique identifiers of the relationships
+     * @return list of relationships
      */
-    synchronized void purgeRelationshipFromStore(String guid)
+    private List<Relationship> getRelationships(Set<String> guids)
     {
-        StoredRelationship storedRelationship = relationshipStore.get(guid);
+        List<Relationship> results = new ArrayList<>();
 
-        if (storedRelationship != null)
+        for (String guid : guids)
         {
-            relationshipStore.remove(guid);
+            StoredRelationship storedRelationship = relationshipStore.get(guid);
+
+            if (storedRelationship != null)
+            {
+                Relationship relationship = storedRelationship.getRelationship();
+
+                if (relationship != null)
+                {
+                    results.add(relationship);
+                }
+            }
         }
+
+        return results;
     }
 
 
+
     /**
      * Provides storage for an entity, its proxy and classifications.  It is proactively keeping the stored entity
      * and entity proxy up-to-date with the latest known classifications.
@@ -615,6 +1740,18 @@ class InMemoryOMRSMetadataStore
         private EntityDetail entity = null;
         private EntityProxy  entityProxy = null;
 
+        /*
+         * The number of versions added to the front of the history since the entity was last journaled.
+         */
+        private int unjournaledHistoryCount = 0;
+
+        /*
+         * The index keys that this entity is currently registered under.
+         */
+        private String            indexedTypeGUID             = null;
+        private String            indexedMetadataCollectionId = null;
+        private final Set<String> indexedClassificationNames  = new HashSet<>();
+
         /**
          * Constructor for when the first element stored is an entity
          *
@@ -637,6 +1774,118 @@ class InMemoryOMRSMetadataStore
         }
 
 
+        /**
+         * Constructor for when the entity is restored from the durable store.  A journal record only holds the
+         * versions added to the history by the change, so they are placed in front of the history of the
+         * entity that it replaces.
+         *
+         * @param entityImage saved state of the entity
+         * @param previousStoredEntity stored entity that this image replaces - null if this is a new entity
+         */
+        StoredEntity(InMemoryOMRSDurableStore.EntityImage entityImage,
+                     StoredEntity                         previousStoredEntity)
+        {
+            this.entity = entityImage.getEntity();
+            this.entityProxy = entityImage.getEntityProxy();
+
+            if (entityImage.getEntityHistory() != null)
+            {
+                this.entityHistory.addAll(entityImage.getEntityHistory());
+            }
+
+            if (previousStoredEntity != null)
+            {
+                this.entityHistory.addAll(previousStoredEntity.entityHistory);
+            }
+
+            if (entityImage.getHomeClassifications() != null)
+            {
+                for (String classificationName : entityImage.getHomeClassifications().keySet())
+                {
+                    long deletedVersionNumber = 0;
+
+                    if ((entityImage.getDeletedClassificationVersions() != null) &&
+                                (entityImage.getDeletedClassificationVersions().get(classificationName) != null))
+                    {
+                        deletedVersionNumber = entityImage.getDeletedClassificationVersions().get(classificationName);
+                    }
+
+                    homeClassifications.put(classificationName,
+                                            new HomeClassification(entityImage.getHomeClassifications().get(classificationName),
+                                                                   deletedVersionNumber));
+                }
+            }
+        }
+
+
+        /**
+         * Return the saved state of this entity for the durable store.
+         *
+         * @param guid unique identifier of the entity
+         * @return image of the stored entity
+         */
+        InMemoryOMRSDurableStore.EntityImage getImage(String guid)
+        {
+            InMemoryOMRSDurableStore.EntityImage entityImage = new InMemoryOMRSDurableStore.EntityImage();
+
+            entityImage.setGuid(guid);
+            entityImage.setEntity(entity);
+            entityImage.setEntityProxy(entityProxy);
+
+            if (! entityHistory.isEmpty())
+            {
+                entityImage.setEntityHistory(new ArrayList<>(entityHistory));
+            }
+
+            if (! homeClassifications.isEmpty())
+            {
+                Map<String, Classification> latestClassifications = new HashMap<>();
+                Map<String, Long>           deletedVersionNumbers = new HashMap<>();
+
+                for (String classificationName : homeClassifications.keySet())
+                {
+                    HomeClassification homeClassification = homeClassifications.get(classificationName);
+
+                    latestClassifications.put(classificationName, homeClassification.latestClassification);
+                    deletedVersionNumbers.put(classificationName, homeClassification.deletedVersionNumber);
+                }
+
+                entityImage.setHomeClassifications(latestClassifications);
+                entityImage.setDeletedClassificationVersions(deletedVersionNumbers);
+            }
+
+            return entityImage;
+        }
+
+
+        /**
+         * Return the change to this entity for the journal.  This is the same as the saved state except that the
+         * history only holds the versions added since the entity was last journaled.
+         *
+         * @param guid unique identifier of the entity
+         * @return image of the change to the stored entity
+         */
+        InMemoryOMRSDurableStore.EntityImage getJournalImage(String guid)
+        {
+            InMemoryOMRSDurableStore.EntityImage entityImage = getImage(guid);
+
+            int newHistoryCount = Math.min(unjournaledHistoryCount, entityHistory.size());
+
+            if (newHistoryCount > 0)
+            {
+                entityImage.setEntityHistory(new ArrayList<>(entityHistory.subList(0, newHistoryCount)));
+            }
+            else
+            {
+                entityImage.setEntityHistory(null);
+            }
+
+            unjournaledHistoryCount = 0;
+
+            return entityImage;
+        }
+
+
         /**
          * Retrieve and save any classifications that belong to the local metadata collection.
          *
@@ -901,6 +2150,7 @@ class InMemoryOMRSMetadataStore
                 if (this.entity != null)
                 {
                     entityHistory.add(0, this.entity);
+                    unjournaledHistoryCount++;
                 }
 
                 this.entity = new EntityDetail(entity);
@@ -1162,6 +2412,20 @@ class InMemoryOMRSMetadataStore
             }
 
 
+            /**
+             * Constructor used when the classification is restored from the durable store.
+             *
+             * @param latestClassification active classification or null if the classification has been deleted
+             * @param deletedVersionNumber version of the classification when it was last deleted
+             */
+            HomeClassification(Classification latestClassification,
+                               long           deletedVersionNumber)
+            {
+                this.latestClassification = latestClassification;
+                this.deletedVersionNumber = deletedVersionNumber;
+            }
+
+
             /**
              * Return the saved classification (if any)
              *
@@ -1233,6 +2497,19 @@ class InMemoryOMRSMetadataStore
         private volatile Relationship relationship         = null;
         private volatile Date         unilateralDeleteTime = null;
 
+        /*
+         * The number of versions added to the front and to the end of the history since the relationship was last journaled.
+         */
+        private int unjournaledHistoryCount         = 0;
+        private int unjournaledAppendedHistoryCount = 0;
+
+        /*
+         * The index keys that this relationship is currently registered under.
+         */
+        private String indexedTypeGUID      = null;
+        private String indexedEntityOneGUID = null;
+        private String indexedEntityTwoGUID = null;
+
 
         /**
          * StoredRelationship is constructed with a valid relationship.  It may not be version 1.
@@ -1245,6 +2522,95 @@ class InMemoryOMRSMetadataStore
         }
 
 
+        /**
+         * Constructor for when the relationship is restored from the durable store.  A journal record only holds the
+         * versions added to the history by the change, so they are placed around the history of the relationship
+         * that it replaces.
+         *
+         * @param relationshipImage saved state of the relationship
+         * @param previousStoredRelationship stored relationship that this image replaces - null if this is a new relationship
+         */
+        StoredRelationship(InMemoryOMRSDurableStore.RelationshipImage relationshipImage,
+                           StoredRelationship                         previousStoredRelationship)
+        {
+            this.relationship = relationshipImage.getRelationship();
+            this.unilateralDeleteTime = relationshipImage.getUnilateralDeleteTime();
+
+            if (relationshipImage.getRelationshipHistory() != null)
+            {
+                this.relationshipHistory.addAll(relationshipImage.getRelationshipHistory());
+            }
+
+            if (previousStoredRelationship != null)
+            {
+                this.relationshipHistory.addAll(previousStoredRelationship.relationshipHistory);
+            }
+
+            if (relationshipImage.getAppendedRelationshipHistory() != null)
+            {
+                this.relationshipHistory.addAll(relationshipImage.getAppendedRelationshipHistory());
+            }
+        }
+
+
+        /**
+         * Return the saved state of this relationship for the durable store.
+         *
+         * @param guid unique identifier of the relationship
+         * @return image of the stored relationship
+         */
+        InMemoryOMRSDurableStore.RelationshipImage getImage(String guid)
+        {
+            InMemoryOMRSDurableStore.RelationshipImage relationshipImage = new InMemoryOMRSDurableStore.RelationshipImage();
+
+            relationshipImage.setGuid(guid);
+            relationshipImage.setRelationship(relationship);
+            relationshipImage.setUnilateralDeleteTime(unilateralDeleteTime);
+
+            if (! relationshipHistory.isEmpty())
+            {
+                relationshipImage.setRelationshipHistory(new ArrayList<>(relationshipHistory));
+            }
+
+            return relationshipImage;
+        }
+
+
+        /**
+         * Return the change to this relationship for the journal.  This is the same as the saved state except that the
+         * history only holds the versions added since the relationship was last journaled.
+         *
+         * @param guid unique identifier of the relationship
+         * @return image of the change to the stored relationship
+         */
+        InMemoryOMRSDurableStore.RelationshipImage getJournalImage(String guid)
+        {
+            InMemoryOMRSDurableStore.RelationshipImage relationshipImage = getImage(guid);
+
+            int historySize             = relationshipHistory.size();
+            int newHistoryCount         = Math.min(unjournaledHistoryCount, historySize);
+            int newAppendedHistoryCount = Math.min(unjournaledAppendedHistoryCount, historySize - newHistoryCount);
+
+            relationshipImage.setRelationshipHistory(null);
+
+            if (newHistoryCount > 0)
+            {
+                relationshipImage.setRelationshipHistory(new ArrayList<>(relationshipHistory.subList(0, newHistoryCount)));
+            }
+
+            if (newAppendedHistoryCount > 0)
+            {
+                relationshipImage.setAppendedRelationshipHistory(new ArrayList<>(relationshipHistory.subList(historySize - newAppendedHistoryCount,
+                                                                                                             historySize)));
+            }
+
+            unjournaledHistoryCount = 0;
+            unjournaledAppendedHistoryCount = 0;
+
+            return relationshipImage;
+        }
+
+
         /**
          * Save the new instance in the store and move the current instance to the front of the history.
          *
@@ -1255,6 +2621,7 @@ class InMemoryOMRSMetadataStore
             if (this.relationship != null)
             {
                 this.relationshipHistory.add(0, this.relationship);
+                unjournaledHistoryCount++;
             }
 
             this.relationship = refreshRelationshipProxies(relationship);
@@ -1270,6 +2637,7 @@ class InMemoryOMRSMetadataStore
             {
                 this.relationshipHistory.add(this.relationship);
                 this.unilateralDeleteTime = new Date();
+                unjournaledAppendedHistoryCount++;
             }
 
             this.relationship = null;
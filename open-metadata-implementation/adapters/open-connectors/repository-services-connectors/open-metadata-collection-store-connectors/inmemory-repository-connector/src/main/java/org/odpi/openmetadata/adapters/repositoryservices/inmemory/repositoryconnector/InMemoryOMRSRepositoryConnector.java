@@ -3,15 +3,26 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.adapters.repositoryservices.inmemory.ffdc.InMemoryRepositoryAuditCode;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.io.IOException;
+import java.util.Map;
+
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
  * other members of connected open metadata repository cohorts.
+ * <p>
+ * If the durableStoreDirectory configuration property is set, the instances are also saved to a snapshot file and
+ * journal in that directory so that they are restored when the server restarts.
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    private InMemoryOMRSMetadataCollection inMemoryMetadataCollection = null;
+
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -38,11 +49,85 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
-            super.metadataCollection = new InMemoryOMRSMetadataCollection(this,
-                                                                          super.serverName,
-                                                                          repositoryHelper,
-                                                                          repositoryValidator,
-                                                                          metadataCollectionId);
+            inMemoryMetadataCollection = new InMemoryOMRSMetadataCollection(this,
+                                                                            super.serverName,
+                                                                            repositoryHelper,
+                                                                            repositoryValidator,
+                                                                            metadataCollectionId);
+            super.metadataCollection = inMemoryMetadataCollection;
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.
+     * This is the point where any saved content is restored.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void start() throws ConnectorCheckedException
+    {
+        final String methodName = "start";
+
+        super.start();
+
+        Map<String, Object> configurationProperties = null;
+
+        if (connectionProperties != null)
+        {
+            configurationProperties = connectionProperties.getConfigurationProperties();
+        }
+
+        if ((inMemoryMetadataCollection != null) && (configurationProperties != null))
+        {
+            Object directoryName = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.DURABLE_STORE_DIRECTORY_PROPERTY);
+
+            if (directoryName != null)
+            {
+                int snapshotInterval = InMemoryOMRSDurableStore.defaultSnapshotInterval;
+
+                if (configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.SNAPSHOT_INTERVAL_PROPERTY) != null)
+                {
+                    snapshotInterval = Integer.parseInt(configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.SNAPSHOT_INTERVAL_PROPERTY).toString());
+                }
+
+                try
+                {
+                    inMemoryMetadataCollection.openDurableStore(new InMemoryOMRSDurableStore(super.serverName,
+                                                                                             directoryName.toString(),
+                                                                                             metadataCollectionId,
+                                                                                             snapshotInterval,
+                                                                                             auditLog));
+                }
+                catch (IOException error)
+                {
+                    auditLog.logException(methodName,
+                                          InMemoryRepositoryAuditCode.DURABLE_STORE_RESTORE_FAILED.getMessageDefinition(super.serverName,
+                                                                                                                        directoryName.toString(),
+                                                                                                                        error.getClass().getName(),
+                                                                                                                        error.getMessage()),
+                                          error);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  Any durable store is given a final
+     * snapshot and closed.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (inMemoryMetadataCollection != null)
+        {
+            inMemoryMetadataCollection.closeDurableStore();
+        }
+
+        super.disconnect();
+    }
+}
@@ -8,6 +8,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The InMemoryOMRSRepositoryConnectorProvider is the connector provider for the InMemoryOMRSRepositoryConnector.
@@ -44,6 +47,14 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
      */
     private static final Class<?> connectorClass       = InMemoryOMRSRepositoryConnector.class;
 
+    /*
+     * Names of configuration properties.  Setting durableStoreDirectory causes the instances to be saved to files in
+     * that directory so that they survive a restart.  The snapshotInterval is the number of changes that are written
+     * to the journal before a new snapshot is taken.
+     */
+    public  static final String DURABLE_STORE_DIRECTORY_PROPERTY = "durableStoreDirectory";
+    public  static final String SNAPSHOT_INTERVAL_PROPERTY       = "snapshotInterval";
+
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -69,6 +80,11 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
         connectorType.setDescription(connectorDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(DURABLE_STORE_DIRECTORY_PROPERTY);
+        recognizedConfigurationProperties.add(SNAPSHOT_INTERVAL_PROPERTY);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
 
         /*
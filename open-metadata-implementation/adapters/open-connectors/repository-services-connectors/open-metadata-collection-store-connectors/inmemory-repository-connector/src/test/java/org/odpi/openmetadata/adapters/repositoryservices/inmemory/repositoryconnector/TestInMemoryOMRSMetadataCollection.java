@@ -0,0 +1,181 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Verify that the in-memory metadata collection uses its classification index without losing entities that have
+ * only some of the requested classifications.
+ */
+public class TestInMemoryOMRSMetadataCollection
+{
+    private static final String TYPE_GUID        = "type-guid";
+    private static final String TYPE_NAME        = "TestType";
+    private static final String CLASSIFICATION_1 = "Confidentiality";
+    private static final String CLASSIFICATION_2 = "Criticality";
+    private static final String LOCAL_MC_ID      = "local-mc";
+    private static final String REMOTE_MC_ID     = "remote-mc";
+    private static final String USER_ID          = "testUser";
+
+    @Mock
+    private InMemoryOMRSRepositoryConnector parentConnector;
+
+    @Mock
+    private OMRSRepositoryHelper repositoryHelper;
+
+    @Mock
+    private OMRSRepositoryValidator repositoryValidator;
+
+    private InMemoryOMRSMetadataCollection metadataCollection;
+
+    @BeforeMethod
+    public void setup() throws Exception
+    {
+        MockitoAnnotations.openMocks(this);
+
+        when(repositoryValidator.verifyInstanceType(anyString(), any(), any(InstanceHeader.class))).thenReturn(true);
+        when(repositoryValidator.verifyInstanceHasRightStatus(any(), any())).thenReturn(true);
+        when(repositoryValidator.verifyMatchingInstancePropertyValues(any(), any(), any(), any())).thenReturn(true);
+        when(repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(anyString(), any(), any(), anyString())).thenReturn(true);
+
+        /*
+         * Like the repository content validator, an entity passes the classification check if it has any of the
+         * requested classifications.
+         */
+        when(repositoryValidator.verifyEntityIsClassified(any(), any())).thenAnswer(invocation -> isClassified(invocation.getArgument(0),
+                                                                                                                 invocation.getArgument(1)));
+        when(repositoryHelper.formatEntityResults(any(), anyInt(), any(), any(), anyInt())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        metadataCollection = new InMemoryOMRSMetadataCollection(parentConnector, "TestRepository", repositoryHelper, repositoryValidator, LOCAL_MC_ID);
+
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("1111", CLASSIFICATION_1));
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("2222", CLASSIFICATION_2));
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("3333", null));
+    }
+
+    @Test
+    void testFindEntitiesWithAnyClassification() throws Exception
+    {
+        List<EntityDetail> results = metadataCollection.findEntitiesByProperty(USER_ID,
+                                                                               TYPE_GUID,
+                                                                               null,
+                                                                               null,
+                                                                               0,
+                                                                               null,
+                                                                               List.of(CLASSIFICATION_1, CLASSIFICATION_2),
+                                                                               null,
+                                                                               null,
+                                                                               null,
+                                                                               0);
+
+        assertEquals(getGUIDs(results), Set.of("1111", "2222"));
+
+        results = metadataCollection.findEntitiesByProperty(USER_ID,
+                                                            TYPE_GUID,
+                                                            null,
+                                                            null,
+                                                            0,
+                                                            null,
+                                                            List.of(CLASSIFICATION_2),
+                                                            null,
+                                                            null,
+                                                            null,
+                                                            0);
+
+        assertEquals(getGUIDs(results), Set.of("2222"));
+    }
+
+    @Test
+    void testFindEntitiesByPropertyValueWithAnyClassification() throws Exception
+    {
+        List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(USER_ID,
+                                                                                    TYPE_GUID,
+                                                                                    ".*",
+                                                                                    0,
+                                                                                    null,
+                                                                                    List.of(CLASSIFICATION_1, CLASSIFICATION_2),
+                                                                                    null,
+                                                                                    null,
+                                                                                    null,
+                                                                                    0);
+
+        assertEquals(getGUIDs(results), Set.of("1111", "2222"));
+    }
+
+    private boolean isClassified(List<String> requiredClassifications, EntitySummary entity)
+    {
+        if ((requiredClassifications == null) || (requiredClassifications.isEmpty()))
+        {
+            return true;
+        }
+
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                if (requiredClassifications.contains(classification.getName()))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private Set<String> getGUIDs(List<EntityDetail> entities)
+    {
+        Set<String> guids = new HashSet<>();
+
+        if (entities != null)
+        {
+            for (EntityDetail entity : entities)
+            {
+                guids.add(entity.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+    private EntityDetail getEntity(String guid, String classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+        InstanceType type   = new InstanceType();
+
+        type.setTypeDefGUID(TYPE_GUID);
+        type.setTypeDefName(TYPE_NAME);
+
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setMetadataCollectionId(REMOTE_MC_ID);
+        entity.setVersion(1L);
+
+        if (classificationName != null)
+        {
+            Classification classification = new Classification();
+
+            classification.setName(classificationName);
+            classification.setMetadataCollectionId(REMOTE_MC_ID);
+            entity.setClassifications(List.of(classification));
+        }
+
+        return entity;
+    }
+}
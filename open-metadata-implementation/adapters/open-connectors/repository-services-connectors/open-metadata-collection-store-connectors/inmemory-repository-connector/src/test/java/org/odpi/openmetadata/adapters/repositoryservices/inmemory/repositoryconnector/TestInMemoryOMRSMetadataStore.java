@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String SUPER_TYPE_GUID = "super-type-guid";
+    private static final String SUPER_TYPE_NAME = "SuperType";
+    private static final String SUB_TYPE_GUID   = "sub-type-guid";
+    private static final String SUB_TYPE_NAME   = "SubType";
+    private static final String OTHER_TYPE_GUID = "other-type-guid";
+    private static final String OTHER_TYPE_NAME = "OtherType";
+    private static final String CLASSIFICATION  = "Confidentiality";
+    private static final String LOCAL_MC_ID     = "local-mc";
+    private static final String REMOTE_MC_ID    = "remote-mc";
+
+    @Mock
+    private OMRSRepositoryHelper repositoryHelper;
+
+    @Mock
+    private AuditLog auditLog;
+
+    private InMemoryOMRSMetadataStore store;
+
+    @BeforeMethod
+    public void setup() throws RepositoryErrorException
+    {
+        MockitoAnnotations.openMocks(this);
+
+        when(repositoryHelper.isTypeOf(anyString(), anyString(), anyString())).thenReturn(false);
+        when(repositoryHelper.isTypeOf(anyString(), eq(SUPER_TYPE_NAME), eq(SUPER_TYPE_NAME))).thenReturn(true);
+        when(repositoryHelper.isTypeOf(anyString(), eq(SUB_TYPE_NAME), eq(SUPER_TYPE_NAME))).thenReturn(true);
+        when(repositoryHelper.getNewEntityProxy(anyString(), any(EntityDetail.class))).thenAnswer(invocation -> new EntityProxy((EntitySummary) invocation.getArgument(1)));
+
+        store = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, LOCAL_MC_ID);
+    }
+
+    @Test
+    void testEntityIndexes() throws RepositoryErrorException
+    {
+        store.createEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+        store.createEntityInStore(getEntity("2222", SUB_TYPE_GUID, SUB_TYPE_NAME, REMOTE_MC_ID, CLASSIFICATION));
+        store.createEntityInStore(getEntity("3333", OTHER_TYPE_GUID, OTHER_TYPE_NAME, LOCAL_MC_ID, CLASSIFICATION));
+
+        assertEquals(getGUIDs(store.getCandidateEntities(null, null, null)), Set.of("1111", "2222", "3333"));
+        assertEquals(getGUIDs(store.getCandidateEntities(SUPER_TYPE_GUID, null, null)), Set.of("1111", "2222"));
+        assertEquals(getGUIDs(store.getCandidateEntities(SUB_TYPE_GUID, null, null)), Set.of("2222"));
+        assertEquals(getGUIDs(store.getCandidateEntities(null, List.of(CLASSIFICATION), null)), Set.of("2222", "3333"));
+        assertEquals(getGUIDs(store.getCandidateEntities(SUPER_TYPE_GUID, List.of(CLASSIFICATION), null)), Set.of("2222"));
+        assertEquals(getGUIDs(store.getCandidateEntities(null, List.of("Unknown", CLASSIFICATION), null)), Set.of("2222", "3333"));
+        assertEquals(getGUIDs(store.getCandidateEntities(SUPER_TYPE_GUID, List.of("Unknown", CLASSIFICATION), null)), Set.of("2222"));
+        assertEquals(store.getEntityGUIDsForMetadataCollection(LOCAL_MC_ID), Set.of("1111", "3333"));
+
+        /*
+         * Removing the classification and purging an entity must be reflected in the indexes.
+         */
+        store.updateEntityInStore(getEntity("3333", OTHER_TYPE_GUID, OTHER_TYPE_NAME, LOCAL_MC_ID, null));
+        store.purgeEntityFromStore("2222");
+
+        assertTrue(store.getCandidateEntities(null, List.of(CLASSIFICATION), null).isEmpty());
+        assertEquals(getGUIDs(store.getCandidateEntities(SUPER_TYPE_GUID, null, null)), Set.of("1111"));
+        assertTrue(store.getEntityGUIDsForMetadataCollection(REMOTE_MC_ID).isEmpty());
+    }
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        store.createRelationshipInStore(getRelationship("r1", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("r2", "2222", "3333"));
+
+        assertEquals(store.getRelationshipsForEntity("1111", null).size(), 1);
+        assertEquals(store.getRelationshipsForEntity("2222", null).size(), 2);
+        assertEquals(store.getCandidateRelationships(SUPER_TYPE_GUID, null).size(), 2);
+
+        store.purgeRelationshipFromStore("r1");
+
+        assertTrue(store.getRelationshipsForEntity("1111", null).isEmpty());
+        assertEquals(store.getRelationshipsForEntity("2222", null).size(), 1);
+    }
+
+    @Test
+    void testDurableStoreRestore() throws IOException, RepositoryErrorException
+    {
+        File directory = Files.createTempDirectory("inmemory").toFile();
+
+        /*
+         * The snapshot interval of 3 means the restore uses both the snapshot and the journal.
+         */
+        store.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 3, auditLog));
+
+        store.createEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+        store.createEntityInStore(getEntity("2222", SUB_TYPE_GUID, SUB_TYPE_NAME, REMOTE_MC_ID, CLASSIFICATION));
+        store.createRelationshipInStore(getRelationship("r1", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("r2", "2222", "3333"));
+        store.updateEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, CLASSIFICATION));
+        store.purgeRelationshipFromStore("r2");
+
+        InMemoryOMRSMetadataStore restoredStore = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, LOCAL_MC_ID);
+
+        restoredStore.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 3, auditLog));
+
+        assertEquals(getGUIDs(restoredStore.getCandidateEntities(null, List.of(CLASSIFICATION), null)), Set.of("1111", "2222"));
+        assertEquals(restoredStore.getEntityHistory("1111", null, null, false).size(), 2);
+        assertNotNull(restoredStore.getRelationship("r1"));
+        assertNull(restoredStore.getRelationship("r2"));
+        assertEquals(restoredStore.getRelationshipsForEntity("2222", null).size(), 1);
+
+        store.closeDurableStore();
+        restoredStore.closeDurableStore();
+    }
+
+    @Test
+    void testBatchSave() throws IOException, RepositoryErrorException
+    {
+        File directory = Files.createTempDirectory("inmemory").toFile();
+
+        store.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 100, auditLog));
+
+        store.saveReferenceCopiesToStore(List.of(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, REMOTE_MC_ID, null),
+                                                 getEntity("2222", SUB_TYPE_GUID, SUB_TYPE_NAME, REMOTE_MC_ID, CLASSIFICATION)),
+                                         List.of(getRelationship("r1", "1111", "2222"),
+                                                 getRelationship("r2", "2222", "3333")));
+
+        assertEquals(getGUIDs(store.getCandidateEntities(SUPER_TYPE_GUID, null, null)), Set.of("1111", "2222"));
+        assertEquals(store.getRelationshipsForEntity("2222", null).size(), 2);
+
+        /*
+         * The batch's journal records are flushed when the batch ends.
+         */
+        InMemoryOMRSMetadataStore restoredStore = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, LOCAL_MC_ID);
+
+        restoredStore.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 100, auditLog));
+
+        assertEquals(getGUIDs(restoredStore.getCandidateEntities(SUPER_TYPE_GUID, null, null)), Set.of("1111", "2222"));
+        assertEquals(restoredStore.getRelationshipsForEntity("2222", null).size(), 2);
+
+        store.closeDurableStore();
+        restoredStore.closeDurableStore();
+    }
+
+    @Test
+    void testJournalHoldsOnlyNewHistory() throws IOException, RepositoryErrorException
+    {
+        File directory   = Files.createTempDirectory("inmemory").toFile();
+        File journalFile = new File(directory, LOCAL_MC_ID + ".journal");
+
+        store.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 1000, auditLog));
+
+        store.createEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+        store.updateEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+
+        long firstUpdateLength = journalFile.length();
+
+        for (int i = 0; i < 49; i++)
+        {
+            store.updateEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+        }
+
+        /*
+         * Each record is about the same size because it only holds the version added to the history.
+         * If the whole history was journaled, the journal would be about 25 times larger.
+         */
+        assertTrue(journalFile.length() < firstUpdateLength * 60, "Journal length " + journalFile.length());
+
+        InMemoryOMRSMetadataStore restoredStore = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, LOCAL_MC_ID);
+
+        restoredStore.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 1000, auditLog));
+
+        assertEquals(restoredStore.getEntityHistory("1111", null, null, false).size(),
+                     store.getEntityHistory("1111", null, null, false).size());
+
+        store.closeDurableStore();
+        restoredStore.closeDurableStore();
+    }
+
+    @Test
+    void testHistoryRestoredFromSnapshotAndJournal() throws IOException, RepositoryErrorException
+    {
+        File                     directory    = Files.createTempDirectory("inmemory").toFile();
+        InMemoryOMRSDurableStore durableStore = new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 4, auditLog);
+
+        store.openDurableStore(durableStore);
+
+        /*
+         * The snapshots are written in the background while the updates continue, so the history is split
+         * between the snapshots and the journals.
+         */
+        store.createEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+        store.createRelationshipInStore(getRelationship("r1", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("r2", "1111", "3333"));
+
+        for (int i = 0; i < 10; i++)
+        {
+            store.updateEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, null));
+            store.updateRelationshipInStore(getRelationship("r1", "1111", "2222"));
+            store.updateRelationshipInStore(getRelationship("r2", "1111", "3333"));
+        }
+
+        store.removeRelationshipFromStore(getRelationship("r1", "1111", "2222"));
+        store.updateEntityInStore(getEntity("1111", SUPER_TYPE_GUID, SUPER_TYPE_NAME, LOCAL_MC_ID, CLASSIFICATION));
+
+        durableStore.waitForSnapshot();
+
+        assertTrue(new File(directory, LOCAL_MC_ID + ".snapshot").exists());
+
+        InMemoryOMRSMetadataStore restoredStore = new InMemoryOMRSMetadataStore("TestRepository", repositoryHelper, LOCAL_MC_ID);
+
+        restoredStore.openDurableStore(new InMemoryOMRSDurableStore("TestRepository", directory.getPath(), LOCAL_MC_ID, 4, auditLog));
+
+        assertEquals(restoredStore.getEntityHistory("1111", null, null, false).size(), 12);
+        assertEquals(restoredStore.getRelationshipHistory("r2", null, null, false).size(), 11);
+        assertNull(restoredStore.getRelationship("r1"));
+        assertEquals(restoredStore.getRelationshipsForEntity("1111", null).size(), 1);
+        assertEquals(getGUIDs(restoredStore.getCandidateEntities(null, List.of(CLASSIFICATION), null)), Set.of("1111"));
+
+        store.closeDurableStore();
+        restoredStore.closeDurableStore();
+
+        assertTrue(! new File(directory, LOCAL_MC_ID + ".journal.previous").exists());
+    }
+
+
+    private Set<String> getGUIDs(Collection<? extends InstanceHeader> instances)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+
+    private EntityDetail getEntity(String guid, String typeGUID, String typeName, String metadataCollectionId, String classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeGUID, typeName));
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setVersion(1L);
+
+        if (classificationName != null)
+        {
+            Classification classification = new Classification();
+
+            classification.setName(classificationName);
+            classification.setMetadataCollectionId(REMOTE_MC_ID);
+            entity.setClassifications(List.of(classification));
+        }
+
+        return entity;
+    }
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOneProxy = new EntityProxy();
+        EntityProxy  entityTwoProxy = new EntityProxy();
+
+        entityOneProxy.setGUID(entityOneGUID);
+        entityTwoProxy.setGUID(entityTwoGUID);
+
+        relationship.setGUID(guid);
+        relationship.setType(getType(SUPER_TYPE_GUID, SUPER_TYPE_NAME));
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+    private InstanceType getType(String typeGUID, String typeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeGUID);
+        type.setTypeDefName(typeName);
+
+        return type;
+    }
+}
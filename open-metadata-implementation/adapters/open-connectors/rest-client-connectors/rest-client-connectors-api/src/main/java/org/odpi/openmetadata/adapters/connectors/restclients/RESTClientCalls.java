@@ -4,8 +4,15 @@ package org.odpi.openmetadata.adapters.connectors.restclients;
 
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
- * RESTClientCalls provides a generic interface for calling REST Clients.
+ * RESTClientCalls provides a generic interface for calling REST Clients.  Each call has an asynchronous variant
+ * that returns a CompletableFuture so that a caller can issue several calls at once and combine the results.  If the call
+ * fails, the future completes exceptionally with a CompletionException wrapping the RESTServerException.
  */
 public interface RESTClientCalls
 {
@@ -138,4 +145,201 @@ public interface RESTClientCalls
                              String    urlTemplate,
                              Object    requestBody,
                              Object... params) throws RESTServerException;
+
+
+    /**
+     * Return the executor that runs the asynchronous calls.  Implementations should override this
+     * with an executor suited to blocking I/O.
+     *
+     * @return executor
+     */
+    default Executor getAsyncExecutor()
+    {
+        return ForkJoinPool.commonPool();
+    }
+
+
+    /**
+     * Issue a GET REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callGetRESTCallNoParamsAsync(String    methodName,
+                                                                  Class<T>  returnClass,
+                                                                  String    urlTemplate)
+    {
+        return callAsync(() -> callGetRESTCallNoParams(methodName, returnClass, urlTemplate));
+    }
+
+
+    /**
+     * Issue a GET REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object... params)
+    {
+        return callAsync(() -> callGetRESTCall(methodName, returnClass, urlTemplate, params));
+    }
+
+
+    /**
+     * Issue a POST REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPostRESTCallNoParamsAsync(String    methodName,
+                                                                   Class<T>  returnClass,
+                                                                   String    urlTemplate,
+                                                                   Object    requestBody)
+    {
+        return callAsync(() -> callPostRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a POST REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                           Class<T>  returnClass,
+                                                           String    urlTemplate,
+                                                           Object    requestBody,
+                                                           Object... params)
+    {
+        return callAsync(() -> callPostRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a PUT REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        return callAsync(() -> callPutRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a DELETE REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallNoParamsAsync(String    methodName,
+                                                                     Class<T>  returnClass,
+                                                                     String    urlTemplate,
+                                                                     Object    requestBody)
+    {
+        return callAsync(() -> callDeleteRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a DELETE REST call that returns a response object without waiting for the response.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                             Class<T>  returnClass,
+                                                             String    urlTemplate,
+                                                             Object    requestBody,
+                                                             Object... params)
+    {
+        return callAsync(() -> callDeleteRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Run a REST call on the asynchronous executor.
+     *
+     * @param <T> class name
+     * @param restCall call to make
+     * @return future for the response object
+     */
+    private <T> CompletableFuture<T> callAsync(RESTCall<T> restCall)
+    {
+        return CompletableFuture.supplyAsync(() ->
+                                             {
+                                                 try
+                                                 {
+                                                     return restCall.call();
+                                                 }
+                                                 catch (RESTServerException error)
+                                                 {
+                                                     throw new CompletionException(error);
+                                                 }
+                                             }, getAsyncExecutor());
+    }
+
+
+    /**
+     * RESTCall is one of the calls above, ready to run.
+     *
+     * @param <T> class name
+     */
+    @FunctionalInterface
+    interface RESTCall<T>
+    {
+        /**
+         * Issue the call.
+         *
+         * @return response object
+         * @throws RESTServerException something went wrong with the REST call stack.
+         */
+        T call() throws RESTServerException;
+    }
 }
@@ -0,0 +1,313 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.protocol.HttpContext;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * RESTClientConnectionPool holds the HTTP connections shared by all the SpringRESTClientConnectors running in the JVM.
+ * Since the clients in a server call the same few platforms, connections to each platform are kept open and reused
+ * rather than each client opening its own.  The pool is configured through system properties so that it can be tuned for the
+ * whole platform:
+ * <ul>
+ *     <li>egeria.rest.client.max.connections - maximum number of open connections (default 200)</li>
+ *     <li>egeria.rest.client.max.connections.per.host - maximum number of open connections to a single host and port (default 50)</li>
+ *     <li>egeria.rest.client.connect.timeout.ms - time allowed to open a connection (default 30000)</li>
+ *     <li>egeria.rest.client.read.timeout.ms - time allowed between packets of a response; 0 means no limit (default 0)</li>
+ *     <li>egeria.rest.client.keep.alive.ms - time that an unused connection is kept open (default 30000)</li>
+ * </ul>
+ * The https settings are the JVM defaults, including the trust store and those set by HttpHelper.noStrictSSL(), so
+ * connections are trusted in the same way as those made through HttpsURLConnection.
+ */
+final class RESTClientConnectionPool
+{
+    static final String maxConnectionsProperty        = "egeria.rest.client.max.connections";
+    static final String maxConnectionsPerHostProperty = "egeria.rest.client.max.connections.per.host";
+    static final String connectTimeoutProperty        = "egeria.rest.client.connect.timeout.ms";
+    static final String readTimeoutProperty           = "egeria.rest.client.read.timeout.ms";
+    static final String keepAliveProperty             = "egeria.rest.client.keep.alive.ms";
+
+    private static final int defaultMaxConnections        = 200;
+    private static final int defaultMaxConnectionsPerHost = 50;
+    private static final int defaultConnectTimeout        = 30000;
+    private static final int defaultReadTimeout           = 0;
+    private static final int defaultKeepAlive             = 30000;
+
+    private static final Logger log = LoggerFactory.getLogger(RESTClientConnectionPool.class);
+
+    private static volatile RESTClientConnectionPool sharedPool = null;
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final ExecutorService          asyncExecutor;
+
+
+    /**
+     * Return the pool shared by all clients, creating it on first use.
+     *
+     * @return connection pool
+     */
+    static RESTClientConnectionPool getSharedPool()
+    {
+        RESTClientConnectionPool pool = sharedPool;
+
+        if (pool == null)
+        {
+            synchronized (RESTClientConnectionPool.class)
+            {
+                pool = sharedPool;
+
+                if (pool == null)
+                {
+                    pool = new RESTClientConnectionPool();
+                    sharedPool = pool;
+                }
+            }
+        }
+
+        return pool;
+    }
+
+
+    /**
+     * Create the connection pool and the HTTP client that uses it.
+     */
+    private RESTClientConnectionPool()
+    {
+        int maxConnections        = getIntProperty(maxConnectionsProperty, defaultMaxConnections);
+        int maxConnectionsPerHost = getIntProperty(maxConnectionsPerHostProperty, defaultMaxConnectionsPerHost);
+        int connectTimeout        = getIntProperty(connectTimeoutProperty, defaultConnectTimeout);
+        int readTimeout           = getIntProperty(readTimeoutProperty, defaultReadTimeout);
+        int keepAlive             = getIntProperty(keepAliveProperty, defaultKeepAlive);
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                                                                                 .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                                                                                 .register("https", new DefaultSSLConnectionSocketFactory())
+                                                                                 .build();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(Math.max(1, maxConnections));
+        connectionManager.setDefaultMaxPerRoute(Math.max(1, Math.min(maxConnectionsPerHost, maxConnections)));
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout(connectTimeout)
+                                                   .setSocketTimeout(readTimeout)
+                                                   .build();
+
+        /*
+         * Cookies are not kept because the client is shared by all the servers on the platform.
+         */
+        CloseableHttpClient httpClient = HttpClients.custom()
+                                                    .setConnectionManager(connectionManager)
+                                                    .setDefaultRequestConfig(requestConfig)
+                                                    .setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+                                                    .setKeepAliveStrategy((response, context) ->
+                                                    {
+                                                        long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+                                                        if ((serverKeepAlive > 0) && (serverKeepAlive < keepAlive))
+                                                        {
+                                                            return serverKeepAlive;
+                                                        }
+
+                                                        return keepAlive;
+                                                    })
+                                                    .evictExpiredConnections()
+                                                    .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                                                    .disableCookieManagement()
+                                                    .build();
+
+        requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+
+        /*
+         * There is no point in running more asynchronous calls at once than there are connections.
+         */
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(connectionManager.getMaxTotal(),
+                                                             connectionManager.getMaxTotal(),
+                                                             60,
+                                                             TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(),
+                                                             new AsyncCallThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        asyncExecutor = executor;
+
+        log.debug("Created REST client connection pool with {} connections ({} per host), connect timeout {}ms, read timeout {}ms and keep alive {}ms.",
+                  connectionManager.getMaxTotal(),
+                  connectionManager.getDefaultMaxPerRoute(),
+                  connectTimeout,
+                  readTimeout,
+                  keepAlive);
+    }
+
+
+    /**
+     * Return the request factory that RestTemplates use to send requests through the pool.
+     *
+     * @return request factory
+     */
+    ClientHttpRequestFactory getRequestFactory()
+    {
+        return requestFactory;
+    }
+
+
+    /**
+     * Return the executor that runs asynchronous REST calls.
+     *
+     * @return executor
+     */
+    ExecutorService getAsyncExecutor()
+    {
+        return asyncExecutor;
+    }
+
+
+    /**
+     * Return the value of an integer system property.
+     *
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a number
+     * @return value
+     */
+    private static int getIntProperty(String propertyName,
+                                      int    defaultValue)
+    {
+        String propertyValue = System.getProperty(propertyName);
+
+        if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.trim());
+            }
+            catch (NumberFormatException error)
+            {
+                log.warn("Ignoring system property {} with value {} because it is not a number; using {}.",
+                         propertyName,
+                         propertyValue,
+                         defaultValue);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * DefaultSSLConnectionSocketFactory opens https connections using the JVM's default socket factory at the time
+     * the connection is made.  This means the trust store and strict.ssl settings configured when the platform starts are
+     * picked up even if the pool was created first.
+     */
+    private static class DefaultSSLConnectionSocketFactory implements LayeredConnectionSocketFactory
+    {
+        /**
+         * Return a socket factory using the current JVM settings.
+         *
+         * @return socket factory
+         */
+        private SSLConnectionSocketFactory getSocketFactory()
+        {
+            if (HttpHelper.isStrictSSL())
+            {
+                return new SSLConnectionSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory(),
+                                                      SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+            }
+
+            return new SSLConnectionSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory(),
+                                                  NoopHostnameVerifier.INSTANCE);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException
+        {
+            return getSocketFactory().createSocket(context);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Socket connectSocket(int               connectTimeout,
+                                    Socket            socket,
+                                    HttpHost          host,
+                                    InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress,
+                                    HttpContext       context) throws IOException
+        {
+            return getSocketFactory().connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Socket createLayeredSocket(Socket      socket,
+                                          String      target,
+                                          int         port,
+                                          HttpContext context) throws IOException
+        {
+            return getSocketFactory().createLayeredSocket(socket, target, port, context);
+        }
+    }
+
+
+    /**
+     * AsyncCallThreadFactory creates daemon threads for asynchronous REST calls so that they do not stop the JVM shutting down.
+     */
+    private static class AsyncCallThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "RESTClient-Async-" + threadCount.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -67,7 +68,11 @@ public class SpringRESTClientConnector extends RESTClientConnector
         DefaultUriBuilderFactory builderFactory = new DefaultUriBuilderFactory();
         builderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.VALUES_ONLY);
 
-        restTemplate = new RestTemplate();
+        /*
+         * All clients share one pool of connections so that connections to each platform are reused
+         * rather than opened for every call.
+         */
+        restTemplate = new RestTemplate(RESTClientConnectionPool.getSharedPool().getRequestFactory());
 
         restTemplate.setUriTemplateHandler(builderFactory);
 
@@ -77,6 +82,19 @@ public class SpringRESTClientConnector extends RESTClientConnector
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Return the executor that runs the asynchronous calls.  It is shared by all clients and runs no more calls
+     * at once than there are connections in the shared connection pool.
+     *
+     * @return executor
+     */
+    @Override
+    public Executor getAsyncExecutor()
+    {
+        return RESTClientConnectionPool.getSharedPool().getAsyncExecutor();
+    }
+
+
     /**
      * Initialize the connector.
      *
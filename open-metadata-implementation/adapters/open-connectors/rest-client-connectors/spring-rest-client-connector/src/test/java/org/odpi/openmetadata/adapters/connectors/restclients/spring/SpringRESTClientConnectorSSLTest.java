@@ -0,0 +1,219 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Verify that the shared connection pool checks the certificate and host name of an https server unless
+ * HttpHelper.noStrictSSL() has been called.  The server's certificate is generated with keytool when the test starts.
+ * The non-strict test runs last because noStrictSSL() can not be undone.
+ */
+public class SpringRESTClientConnectorSSLTest
+{
+    private static final char[] storePassword = "changeit".toCharArray();
+
+    private HttpsServer      server                 = null;
+    private Path             keyStoreDirectory      = null;
+    private SSLContext       trustingSSLContext     = null;
+    private SSLSocketFactory defaultSSLSocketFactory = null;
+    private HostnameVerifier defaultHostnameVerifier = null;
+    private int              serverPort             = 0;
+
+
+    @BeforeClass
+    public void startServer() throws Exception
+    {
+        keyStoreDirectory = Files.createTempDirectory("egeria-ssl-test");
+
+        File keyStoreFile = keyStoreDirectory.resolve("server.p12").toFile();
+        File keytool      = new File(System.getProperty("java.home"), "bin" + File.separator + "keytool");
+
+        if (! keytool.canExecute())
+        {
+            throw new SkipException("keytool not available in " + keytool.getParent());
+        }
+
+        Process keytoolProcess = new ProcessBuilder(keytool.getPath(),
+                                                    "-genkeypair",
+                                                    "-alias", "test",
+                                                    "-keyalg", "RSA",
+                                                    "-keysize", "2048",
+                                                    "-dname", "CN=egeria-test",
+                                                    "-validity", "2",
+                                                    "-storetype", "PKCS12",
+                                                    "-keystore", keyStoreFile.getPath(),
+                                                    "-storepass", new String(storePassword),
+                                                    "-keypass", new String(storePassword),
+                                                    "-ext", "SAN=dns:localhost").redirectErrorStream(true).start();
+
+        keytoolProcess.getInputStream().readAllBytes();
+
+        if ((! keytoolProcess.waitFor(60, TimeUnit.SECONDS)) || (keytoolProcess.exitValue() != 0))
+        {
+            throw new SkipException("keytool could not create a certificate");
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+
+        try (InputStream keyStoreStream = new FileInputStream(keyStoreFile))
+        {
+            keyStore.load(keyStoreStream, storePassword);
+        }
+
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, storePassword);
+
+        SSLContext serverSSLContext = SSLContext.getInstance("TLS");
+        serverSSLContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+
+        trustingSSLContext = SSLContext.getInstance("TLS");
+        trustingSSLContext.init(null, trustManagerFactory.getTrustManagers(), null);
+
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(serverSSLContext));
+        server.createContext("/hello", exchange ->
+        {
+            byte[] bodyBytes = "hello".getBytes(StandardCharsets.UTF_8);
+
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+            exchange.sendResponseHeaders(200, bodyBytes.length);
+
+            try (OutputStream responseBody = exchange.getResponseBody())
+            {
+                responseBody.write(bodyBytes);
+            }
+        });
+        server.start();
+
+        serverPort = server.getAddress().getPort();
+
+        defaultSSLSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        defaultHostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+    }
+
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() throws Exception
+    {
+        if (server != null)
+        {
+            server.stop(0);
+        }
+
+        if (defaultSSLSocketFactory != null)
+        {
+            HttpsURLConnection.setDefaultSSLSocketFactory(defaultSSLSocketFactory);
+            HttpsURLConnection.setDefaultHostnameVerifier(defaultHostnameVerifier);
+        }
+
+        if (keyStoreDirectory != null)
+        {
+            Files.deleteIfExists(keyStoreDirectory.resolve("server.p12"));
+            Files.deleteIfExists(keyStoreDirectory);
+        }
+    }
+
+
+    @Test(priority = 1)
+    public void testStrictSSLRejectsUntrustedCertificate()
+    {
+        assertTrue(HttpHelper.isStrictSSL());
+
+        String                    serverURL = "https://localhost:" + serverPort;
+        SpringRESTClientConnector client    = SpringRESTClientConnectorTest.getConnector(serverURL);
+
+        expectThrows(RESTServerException.class,
+                     () -> client.callGetRESTCallNoParams("testStrictSSLRejectsUntrustedCertificate", String.class, serverURL + "/hello"));
+
+        CompletableFuture<String> future = client.callGetRESTCallNoParamsAsync("testStrictSSLRejectsUntrustedCertificate",
+                                                                               String.class,
+                                                                               serverURL + "/hello");
+
+        CompletionException error = expectThrows(CompletionException.class, future::join);
+
+        assertTrue(error.getCause() instanceof RESTServerException, String.valueOf(error.getCause()));
+    }
+
+
+    @Test(priority = 2)
+    public void testStrictSSLAcceptsTrustedCertificate() throws Exception
+    {
+        HttpsURLConnection.setDefaultSSLSocketFactory(trustingSSLContext.getSocketFactory());
+
+        String                    serverURL = "https://localhost:" + serverPort;
+        SpringRESTClientConnector client    = SpringRESTClientConnectorTest.getConnector(serverURL);
+
+        assertEquals(client.callGetRESTCallNoParams("testStrictSSLAcceptsTrustedCertificate", String.class, serverURL + "/hello"), "hello");
+        assertEquals(client.callGetRESTCallNoParamsAsync("testStrictSSLAcceptsTrustedCertificate", String.class, serverURL + "/hello").join(),
+                     "hello");
+    }
+
+
+    @Test(priority = 3)
+    public void testStrictSSLChecksHostName()
+    {
+        HttpsURLConnection.setDefaultSSLSocketFactory(trustingSSLContext.getSocketFactory());
+
+        /*
+         * The certificate is trusted but only names localhost.
+         */
+        String                    serverURL = "https://127.0.0.1:" + serverPort;
+        SpringRESTClientConnector client    = SpringRESTClientConnectorTest.getConnector(serverURL);
+
+        expectThrows(RESTServerException.class,
+                     () -> client.callGetRESTCallNoParams("testStrictSSLChecksHostName", String.class, serverURL + "/hello"));
+    }
+
+
+    @Test(priority = 4)
+    public void testNoStrictSSLAcceptsAnyServer() throws Exception
+    {
+        HttpHelper.noStrictSSL();
+
+        assertFalse(HttpHelper.isStrictSSL());
+
+        String                    serverURL = "https://127.0.0.1:" + serverPort;
+        SpringRESTClientConnector client    = SpringRESTClientConnectorTest.getConnector(serverURL);
+
+        assertEquals(client.callGetRESTCallNoParams("testNoStrictSSLAcceptsAnyServer", String.class, serverURL + "/hello"), "hello");
+        assertEquals(client.callGetRESTCallNoParamsAsync("testNoStrictSSLAcceptsAnyServer", String.class, serverURL + "/hello").join(),
+                     "hello");
+    }
+}
@@ -0,0 +1,262 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Verify that SpringRESTClientConnectors share a pool of connections to a local HTTP server, run asynchronous calls
+ * at the same time, and report failures of asynchronous calls as a CompletionException wrapping a RESTServerException.
+ */
+public class SpringRESTClientConnectorTest
+{
+    private static final long slowResponseTimeMs = 200;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer      server         = null;
+    private ExecutorService serverExecutor = null;
+    private String          serverURL      = null;
+
+
+    @BeforeClass
+    public void startServer() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+
+        server.createContext("/hello", exchange -> sendResponse(exchange, 200, "hello"));
+        server.createContext("/echo", exchange -> sendResponse(exchange, 200, exchange.getRequestURI().getRawQuery()));
+        server.createContext("/slow", exchange ->
+        {
+            try
+            {
+                Thread.sleep(slowResponseTimeMs);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            sendResponse(exchange, 200, exchange.getRequestURI().getPath());
+        });
+        server.createContext("/error", exchange -> sendResponse(exchange, 500, "server error"));
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        serverURL = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+
+    @AfterClass
+    public void stopServer()
+    {
+        if (server != null)
+        {
+            server.stop(0);
+        }
+
+        if (serverExecutor != null)
+        {
+            serverExecutor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testConnectionsReused() throws Exception
+    {
+        SpringRESTClientConnector client1 = getConnector(serverURL);
+        SpringRESTClientConnector client2 = getConnector(serverURL);
+
+        assertSame(client1.getAsyncExecutor(), client2.getAsyncExecutor());
+
+        clientPorts.clear();
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(client1.callGetRESTCallNoParams("testConnectionsReused", String.class, serverURL + "/hello"), "hello");
+            assertEquals(client2.callGetRESTCallNoParams("testConnectionsReused", String.class, serverURL + "/hello"), "hello");
+        }
+
+        /*
+         * Sequential calls from different clients use the same connection from the shared pool.
+         */
+        assertEquals(clientPorts.size(), 1);
+    }
+
+
+    @Test
+    public void testAsyncCallsRunTogether()
+    {
+        SpringRESTClientConnector client = getConnector(serverURL);
+
+        final int callCount = 20;
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        long                            start   = System.currentTimeMillis();
+
+        for (int i = 0; i < callCount; i++)
+        {
+            futures.add(client.callGetRESTCallAsync("testAsyncCallsRunTogether", String.class, serverURL + "/slow/{0}", i));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        long elapsedTime = System.currentTimeMillis() - start;
+
+        Set<String> responses = new HashSet<>();
+
+        for (CompletableFuture<String> future : futures)
+        {
+            responses.add(future.join());
+        }
+
+        assertEquals(responses.size(), callCount);
+        assertTrue(responses.contains("/slow/19"));
+
+        /*
+         * The calls would take callCount * slowResponseTimeMs one after another.
+         */
+        assertTrue(elapsedTime < (callCount * slowResponseTimeMs) / 2, "Async calls took " + elapsedTime + "ms");
+    }
+
+
+    @Test
+    public void testAsyncServerErrorPropagated()
+    {
+        SpringRESTClientConnector client = getConnector(serverURL);
+
+        CompletableFuture<String> future = client.callGetRESTCallNoParamsAsync("testAsyncServerErrorPropagated", String.class, serverURL + "/error");
+
+        CompletionException error = expectThrows(CompletionException.class, future::join);
+
+        assertTrue(error.getCause() instanceof RESTServerException, String.valueOf(error.getCause()));
+        assertTrue(future.isCompletedExceptionally());
+
+        /*
+         * The synchronous call reports the same failure directly.
+         */
+        expectThrows(RESTServerException.class,
+                     () -> client.callGetRESTCallNoParams("testAsyncServerErrorPropagated", String.class, serverURL + "/error"));
+    }
+
+
+    @Test
+    public void testAsyncConnectionErrorPropagated() throws IOException
+    {
+        String closedURL;
+
+        try (ServerSocket unusedPort = new ServerSocket(0, 1, InetAddress.getLoopbackAddress()))
+        {
+            closedURL = "http://" + unusedPort.getInetAddress().getHostAddress() + ":" + unusedPort.getLocalPort();
+        }
+
+        SpringRESTClientConnector client = getConnector(closedURL);
+
+        CompletableFuture<String> future = client.callPostRESTCallNoParamsAsync("testAsyncConnectionErrorPropagated",
+                                                                                String.class,
+                                                                                closedURL + "/hello",
+                                                                                "request");
+
+        CompletionException error = expectThrows(CompletionException.class, future::join);
+
+        assertTrue(error.getCause() instanceof RESTServerException, String.valueOf(error.getCause()));
+    }
+
+
+    @Test
+    public void testPlusEncodedInParameters() throws Exception
+    {
+        SpringRESTClientConnector client = getConnector(serverURL);
+
+        assertEquals(client.callGetRESTCall("testPlusEncodedInParameters", String.class, serverURL + "/echo?searchString={0}", "name_0+7"),
+                     "searchString=name_0%2B7");
+    }
+
+
+    /**
+     * Return a connector for the local server.
+     *
+     * @param url platform URL root
+     * @return initialized connector
+     */
+    static SpringRESTClientConnector getConnector(String url)
+    {
+        try
+        {
+            SpringRESTClientConnector connector = new SpringRESTClientConnector();
+            Connection                connection = new Connection();
+            Endpoint                  endpoint = new Endpoint();
+
+            endpoint.setAddress(url);
+            endpoint.setDisplayName("TestServer");
+            connection.setEndpoint(endpoint);
+
+            connector.initialize("TestConnector", new ConnectionProperties(connection));
+
+            return connector;
+        }
+        catch (Exception error)
+        {
+            throw new AssertionError("Unable to create connector", error);
+        }
+    }
+
+
+    /**
+     * Send a text response with a content length so that the connection can be kept open.  The client's port is
+     * remembered to show which connection was used.
+     *
+     * @param exchange request and response
+     * @param statusCode HTTP status
+     * @param body response body
+     * @throws IOException problem sending the response
+     */
+    private void sendResponse(HttpExchange exchange,
+                              int          statusCode,
+                              String       body) throws IOException
+    {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+
+        byte[] bodyBytes = String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(statusCode, bodyBytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody())
+        {
+            responseBody.write(bodyBytes);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -25,9 +26,13 @@ public class EngineConfig extends AdminServicesConfigHeader
 {
     private static final long    serialVersionUID = 1L;
 
-    private String engineId            = UUID.randomUUID().toString();
-    private String engineQualifiedName = null;
-    private String engineUserId        = null;
+    private String               engineId              = UUID.randomUUID().toString();
+    private String               engineQualifiedName   = null;
+    private String               engineUserId          = null;
+    private int                  maxConcurrentServices = 0;
+    private int                  maxQueuedServices     = 0;
+    private Map<String, Integer> requestTypePriorities = null;
+    private boolean              useVirtualThreads     = false;
 
 
     /**
@@ -50,9 +55,13 @@ public class EngineConfig extends AdminServicesConfigHeader
 
         if (template != null)
         {
-            engineId            = template.getEngineId();
-            engineQualifiedName = template.getEngineQualifiedName();
-            engineUserId        = template.getEngineUserId();
+            engineId              = template.getEngineId();
+            engineQualifiedName   = template.getEngineQualifiedName();
+            engineUserId          = template.getEngineUserId();
+            maxConcurrentServices = template.getMaxConcurrentServices();
+            maxQueuedServices     = template.getMaxQueuedServices();
+            requestTypePriorities = template.getRequestTypePriorities();
+            useVirtualThreads     = template.getUseVirtualThreads();
         }
     }
 
@@ -126,6 +135,113 @@ public class EngineConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of governance services that the engine runs at the same time.
+     * Zero means use the engine host's default.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that the engine runs at the same time.
+     * Zero means use the engine host's default.
+     *
+     * @param maxConcurrentServices count
+     */
+    public void setMaxConcurrentServices(int maxConcurrentServices)
+    {
+        this.maxConcurrentServices = maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the maximum number of governance service requests that can be waiting for the engine to run them.
+     * Further requests are rejected, or wait for space if they come from a governance action or an asset scan.
+     * Zero means use the engine host's default.
+     *
+     * @return count
+     */
+    public int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance service requests that can be waiting for the engine to run them.
+     * Further requests are rejected, or wait for space if they come from a governance action or an asset scan.
+     * Zero means use the engine host's default.
+     *
+     * @param maxQueuedServices count
+     */
+    public void setMaxQueuedServices(int maxQueuedServices)
+    {
+        this.maxQueuedServices = maxQueuedServices;
+    }
+
+
+    /**
+     * Return the priority of each governance request type.  Waiting requests with a higher priority are run first.
+     * Request types that are not listed have a priority of zero.
+     *
+     * @return map of request type to priority
+     */
+    public Map<String, Integer> getRequestTypePriorities()
+    {
+        if (requestTypePriorities == null)
+        {
+            return null;
+        }
+        else if (requestTypePriorities.isEmpty())
+        {
+            return null;
+        }
+
+        return requestTypePriorities;
+    }
+
+
+    /**
+     * Set up the priority of each governance request type.  Waiting requests with a higher priority are run first.
+     * Request types that are not listed have a priority of zero.
+     *
+     * @param requestTypePriorities map of request type to priority
+     */
+    public void setRequestTypePriorities(Map<String, Integer> requestTypePriorities)
+    {
+        this.requestTypePriorities = requestTypePriorities;
+    }
+
+
+    /**
+     * Return whether the governance services should run on virtual threads.  This is ignored if the
+     * Java runtime does not support virtual threads.
+     *
+     * @return boolean flag
+     */
+    public boolean getUseVirtualThreads()
+    {
+        return useVirtualThreads;
+    }
+
+
+    /**
+     * Set up whether the governance services should run on virtual threads.  This is ignored if the
+     * Java runtime does not support virtual threads.
+     *
+     * @param useVirtualThreads boolean flag
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads)
+    {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -138,6 +254,10 @@ public class EngineConfig extends AdminServicesConfigHeader
                        "engineId=" + engineId +
                        ", engineQualifiedName='" + engineQualifiedName + '\'' +
                        ", engineUserId='" + engineUserId + '\'' +
+                       ", maxConcurrentServices=" + maxConcurrentServices +
+                       ", maxQueuedServices=" + maxQueuedServices +
+                       ", requestTypePriorities=" + requestTypePriorities +
+                       ", useVirtualThreads=" + useVirtualThreads +
                        '}';
     }
 
@@ -160,9 +280,13 @@ public class EngineConfig extends AdminServicesConfigHeader
             return false;
         }
         EngineConfig that = (EngineConfig) objectToCompare;
-        return Objects.equals(engineId, that.engineId) &&
+        return maxConcurrentServices == that.maxConcurrentServices &&
+                       maxQueuedServices == that.maxQueuedServices &&
+                       useVirtualThreads == that.useVirtualThreads &&
+                       Objects.equals(engineId, that.engineId) &&
                        Objects.equals(engineQualifiedName, that.engineQualifiedName) &&
-                       Objects.equals(engineUserId, that.engineUserId);
+                       Objects.equals(engineUserId, that.engineUserId) &&
+                       Objects.equals(requestTypePriorities, that.requestTypePriorities);
     }
 
 
@@ -174,6 +298,7 @@ public class EngineConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId());
+        return Objects.hash(getEngineId(), getEngineQualifiedName(), getEngineUserId(), getMaxConcurrentServices(),
+                            getMaxQueuedServices(), getRequestTypePriorities(), getUseVirtualThreads());
     }
 }
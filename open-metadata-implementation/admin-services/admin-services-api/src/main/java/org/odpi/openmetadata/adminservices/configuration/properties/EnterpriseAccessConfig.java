@@ -35,6 +35,10 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *     <li>
  *         remoteEnterpriseOMRSTopicConnection - connection for the remote (external) enterprise OMRS Topic connector.
  *     </li>
+ *     <li>
+ *         federatedRequestTimeout - the maximum time in milliseconds that each member of the connected cohorts has to
+ *                                 respond to a federated query.  Zero means use the default of 60 seconds.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -49,6 +53,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     private Connection                       enterpriseOMRSTopicConnection       = null;
     private OpenMetadataEventProtocolVersion enterpriseOMRSTopicProtocolVersion  = null;
     private Connection                       remoteEnterpriseOMRSTopicConnection = null;
+    private long                             federatedRequestTimeout             = 0;
 
 
     /**
@@ -76,6 +81,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
             this.enterpriseOMRSTopicConnection = template.getEnterpriseOMRSTopicConnection();
             this.enterpriseOMRSTopicProtocolVersion = template.getEnterpriseOMRSTopicProtocolVersion();
             this.remoteEnterpriseOMRSTopicConnection = template.getRemoteEnterpriseOMRSTopicConnection();
+            this.federatedRequestTimeout = template.getFederatedRequestTimeout();
         }
     }
 
@@ -219,6 +225,30 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum time in milliseconds that each member of the connected cohorts has to respond to a
+     * federated query.  Zero means use the default.
+     *
+     * @return milliseconds
+     */
+    public long getFederatedRequestTimeout()
+    {
+        return federatedRequestTimeout;
+    }
+
+
+    /**
+     * Set up the maximum time in milliseconds that each member of the connected cohorts has to respond to a
+     * federated query.  Zero means use the default.
+     *
+     * @param federatedRequestTimeout milliseconds
+     */
+    public void setFederatedRequestTimeout(long federatedRequestTimeout)
+    {
+        this.federatedRequestTimeout = federatedRequestTimeout;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -233,6 +263,7 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
                        ", enterpriseOMRSTopicConnection=" + enterpriseOMRSTopicConnection +
                        ", enterpriseOMRSTopicProtocolVersion=" + enterpriseOMRSTopicProtocolVersion +
                        ", remoteEnterpriseOMRSTopicConnection=" + remoteEnterpriseOMRSTopicConnection +
+                       ", federatedRequestTimeout=" + federatedRequestTimeout +
                        '}';
     }
 
@@ -259,7 +290,8 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
                        Objects.equals(enterpriseMetadataCollectionId, that.enterpriseMetadataCollectionId) &&
                        Objects.equals(enterpriseOMRSTopicConnection, that.enterpriseOMRSTopicConnection) &&
                        enterpriseOMRSTopicProtocolVersion == that.enterpriseOMRSTopicProtocolVersion &&
-                       Objects.equals(remoteEnterpriseOMRSTopicConnection, that.remoteEnterpriseOMRSTopicConnection);
+                       Objects.equals(remoteEnterpriseOMRSTopicConnection, that.remoteEnterpriseOMRSTopicConnection) &&
+                       federatedRequestTimeout == that.federatedRequestTimeout;
     }
 
 
@@ -273,6 +305,6 @@ public class EnterpriseAccessConfig extends AdminServicesConfigHeader
     public int hashCode()
     {
         return Objects.hash(enterpriseMetadataCollectionName, enterpriseMetadataCollectionId, enterpriseOMRSTopicConnection,
-                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection);
+                            enterpriseOMRSTopicProtocolVersion, remoteEnterpriseOMRSTopicConnection, federatedRequestTimeout);
     }
 }
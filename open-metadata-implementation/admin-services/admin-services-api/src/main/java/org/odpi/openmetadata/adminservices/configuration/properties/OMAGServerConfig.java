@@ -60,6 +60,12 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *
  *         The default value is 1000.
  *     </li>
+ *     <li>
+ *         integrationDaemonMaxRefreshThreads - the maximum number of integration connectors that an integration
+ *         daemon refreshes at the same time.
+ *
+ *         The default value is 10.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -81,6 +87,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     private static final String  defaultLocalServerURL                    = "https://localhost:9443";
     private static final String  defaultLocalServerUserId                 = "OMAGServer";
     private static final int     defaultMaxPageSize                       = 1000;
+    private static final int     defaultIntegrationDaemonMaxRefreshThreads = 10;
 
     /*
      * Configuration document version number - if not in document then assume V1.0.
@@ -103,6 +110,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     private EventBusConfig                  eventBusConfig                  = null;
     private List<AccessServiceConfig>       accessServicesConfig            = null;
     private List<IntegrationServiceConfig>  integrationServicesConfig       = null;
+    private int                             integrationDaemonMaxRefreshThreads = defaultIntegrationDaemonMaxRefreshThreads;
     private List<ViewServiceConfig>         viewServicesConfig              = null;
     private RepositoryServicesConfig        repositoryServicesConfig        = null;
     private ConformanceSuiteConfig          conformanceSuiteConfig          = null;
@@ -146,6 +154,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
             eventBusConfig                  = template.getEventBusConfig();
             accessServicesConfig            = template.getAccessServicesConfig();
             integrationServicesConfig       = template.getIntegrationServicesConfig();
+            integrationDaemonMaxRefreshThreads = template.getIntegrationDaemonMaxRefreshThreads();
             engineHostServicesConfig        = template.getEngineHostServicesConfig();
             viewServicesConfig              = template.getViewServicesConfig();
             repositoryServicesConfig        = template.getRepositoryServicesConfig();
@@ -471,6 +480,28 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the maximum number of integration connectors that the integration daemon refreshes at the same time.
+     *
+     * @return int number of threads
+     */
+    public int getIntegrationDaemonMaxRefreshThreads()
+    {
+        return integrationDaemonMaxRefreshThreads;
+    }
+
+
+    /**
+     * Set up the maximum number of integration connectors that the integration daemon refreshes at the same time.
+     *
+     * @param integrationDaemonMaxRefreshThreads int number of threads
+     */
+    public void setIntegrationDaemonMaxRefreshThreads(int integrationDaemonMaxRefreshThreads)
+    {
+        this.integrationDaemonMaxRefreshThreads = integrationDaemonMaxRefreshThreads;
+    }
+
+
     /**
      * Return the configuration for the registered Open Metadata View Services (OMVSs).
      *
@@ -647,6 +678,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
                        ", eventBusConfig=" + eventBusConfig +
                        ", accessServicesConfig=" + accessServicesConfig +
                        ", integrationServicesConfig=" + integrationServicesConfig +
+                       ", integrationDaemonMaxRefreshThreads=" + integrationDaemonMaxRefreshThreads +
                        ", engineHostServicesConfig=" + engineHostServicesConfig +
                        ", viewServicesConfig=" + viewServicesConfig +
                        ", repositoryServicesConfig=" + repositoryServicesConfig +
@@ -677,6 +709,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
         }
         OMAGServerConfig that = (OMAGServerConfig) objectToCompare;
         return getMaxPageSize() == that.getMaxPageSize() &&
+                       getIntegrationDaemonMaxRefreshThreads() == that.getIntegrationDaemonMaxRefreshThreads() &&
                        Objects.equals(getVersionId(), that.getVersionId()) &&
                        Objects.equals(getLocalServerId(), that.getLocalServerId()) &&
                        Objects.equals(getLocalServerName(), that.getLocalServerName()) &&
@@ -711,7 +744,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
         return Objects.hash(getVersionId(), getLocalServerId(), getLocalServerName(), getLocalServerDescription(), getLocalServerType(), getOrganizationName(),
                             getLocalServerURL(),
                             getLocalServerUserId(), getLocalServerPassword(), getMaxPageSize(), getServerSecurityConnection(), getEventBusConfig(),
-                            getAccessServicesConfig(), getIntegrationServicesConfig(), getEngineHostServicesConfig(), getViewServicesConfig(),
+                            getAccessServicesConfig(), getIntegrationServicesConfig(), getIntegrationDaemonMaxRefreshThreads(), getEngineHostServicesConfig(), getViewServicesConfig(),
                             getRepositoryServicesConfig(), getConformanceSuiteConfig(),
                             getOpenLineageServerConfig(),
                             getDataEngineProxyConfig(), getAuditTrail());
@@ -345,8 +345,10 @@ public class OMAGServerOperationalServices
                 /*
                  * Next initialize the Open Connector Framework (OCF) metadata services.  These services are only initialized
                  * if the enterprise repository services are enabled.  They support requests for metadata from connectors running
-                 * outside the metadata server.
+                 * outside the metadata server.  They also set up the anchor cache used by the generic handlers of this server.
+                 * The cache is kept up to date by the events from the enterprise topic connector.
                  */
+                OMRSTopicConnector      enterpriseTopicConnector = operationalRepositoryServices.getEnterpriseOMRSTopicConnector();
                 OMRSRepositoryConnector enterpriseRepositoryConnector
                         = operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceName());
 
@@ -360,6 +362,8 @@ public class OMAGServerOperationalServices
                     instance.setServerServiceActiveStatus(CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceName(), ServerActiveStatus.STARTING);
                     operationalOCFMetadataServices = new OCFMetadataOperationalServices(configuration.getLocalServerName(),
                                                                                         enterpriseRepositoryConnector,
+                                                                                        enterpriseTopicConnector,
+                                                                                        configuration.getAccessServicesConfig(),
                                                                                         operationalRepositoryServices.getAuditLog(
                                                                                                 CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceCode(),
                                                                                                 CommonServicesDescription.OCF_METADATA_MANAGEMENT.getServiceDevelopmentStatus(),
@@ -403,8 +407,6 @@ public class OMAGServerOperationalServices
                  * Each access service is given access to the events from open metadata repository cohorts that this server connects to.
                  * The enterprise topic connector supplies these events.  The access service registers a listener with it to receive them.
                  */
-                OMRSTopicConnector enterpriseTopicConnector = operationalRepositoryServices.getEnterpriseOMRSTopicConnector();
-
                 initializeAccessServices(instance,
                                          configuration.getAccessServicesConfig(),
                                          operationalRepositoryServices,
@@ -1097,7 +1099,8 @@ public class OMAGServerOperationalServices
                     = new IntegrationDaemonOperationalServices(configuration.getLocalServerName(),
                                                                configuration.getLocalServerUserId(),
                                                                configuration.getLocalServerPassword(),
-                                                               configuration.getMaxPageSize());
+                                                               configuration.getMaxPageSize(),
+                                                               configuration.getIntegrationDaemonMaxRefreshThreads());
 
             instance.setOperationalIntegrationDaemon(integrationDaemonOperationalServices);
             List<String> integrationServices = integrationDaemonOperationalServices.initialize(configuration.getIntegrationServicesConfig(),
@@ -8,6 +8,9 @@ import org.slf4j.Logger;
 /**
  * RESTCallLogger provides standard logging for REST API method invocations.  It logs
  * the start and end of the call and manages a timer so that the elapsed time of a call is logged.
+ * It also starts and ends the RESTCallScope that holds the objects that only live for the duration of the call.
+ * A call that throws before logging its return leaves its scope open until the HTTP request completes and
+ * the platform clears it.
  */
 public class RESTCallLogger
 {
@@ -39,6 +42,8 @@ public class RESTCallLogger
                                      String userId,
                                      String methodName)
     {
+        RESTCallScope.begin();
+
         if (log.isDebugEnabled())
         {
             RESTCallToken token = new RESTCallToken(serviceName, serverName, userId, methodName);
@@ -63,6 +68,8 @@ public class RESTCallLogger
     public void logRESTCallReturn(RESTCallToken  token,
                                   String         response)
     {
+        RESTCallScope.end();
+
         if (log.isDebugEnabled())
         {
             if (token != null)
@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.commonservices.ffdc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RESTCallScope holds objects that only live for the duration of a single inbound REST call, such as
+ * caches of the metadata read while processing the request.  The scope is attached to the thread
+ * running the call.  It is started and ended by the RESTCallLogger as it logs the start and return of the call.
+ * A REST call that is made from within another REST call on the same thread shares the outer call's scope, which is only
+ * ended when the outer call returns.  The platform also clears the scope when the HTTP request completes so that a
+ * call that failed before logging its return can not leak state into the next request served by the thread.
+ */
+public class RESTCallScope
+{
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+
+    /**
+     * Start a scope for the calling thread, or join the scope of the REST call that is already running on the thread.
+     */
+    public static void begin()
+    {
+        Scope scope = currentScope.get();
+
+        if (scope == null)
+        {
+            currentScope.set(new Scope());
+        }
+        else
+        {
+            scope.depth++;
+        }
+    }
+
+
+    /**
+     * End the scope for the calling thread.  The objects it holds are discarded when the outermost call ends.
+     */
+    public static void end()
+    {
+        Scope scope = currentScope.get();
+
+        if (scope != null)
+        {
+            scope.depth--;
+
+            if (scope.depth <= 0)
+            {
+                currentScope.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Discard the scope for the calling thread however many calls have started it.  This is called when the
+     * HTTP request completes.
+     */
+    public static void clear()
+    {
+        currentScope.remove();
+    }
+
+
+    /**
+     * Return whether the calling thread is processing a REST call.
+     *
+     * @return boolean
+     */
+    public static boolean isActive()
+    {
+        return currentScope.get() != null;
+    }
+
+
+    /**
+     * Return an object stored in the scope of the calling thread.
+     *
+     * @param attributeName name of the object
+     * @return object or null if there is no scope or no object of that name
+     */
+    public static Object getAttribute(String attributeName)
+    {
+        Scope scope = currentScope.get();
+
+        if (scope != null)
+        {
+            return scope.attributes.get(attributeName);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Store an object in the scope of the calling thread.  Nothing is stored if there is no scope.
+     *
+     * @param attributeName name of the object
+     * @param attributeValue object to store
+     * @return true if the object was stored
+     */
+    public static boolean setAttribute(String attributeName,
+                                       Object attributeValue)
+    {
+        Scope scope = currentScope.get();
+
+        if (scope != null)
+        {
+            scope.attributes.put(attributeName, attributeValue);
+            return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * The objects of a scope and the number of REST calls on the thread that are using it.
+     */
+    private static class Scope
+    {
+        private final Map<String, Object> attributes = new HashMap<>();
+        private       int                 depth      = 1;
+    }
+}
@@ -0,0 +1,113 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.ffdc;
+
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the RESTCallScope only holds objects between the start and return of a REST call.
+ */
+public class RESTCallScopeTest
+{
+    private static final String attributeName = "testAttribute";
+
+
+    /**
+     * Default constructor
+     */
+    public RESTCallScopeTest()
+    {
+
+    }
+
+
+    /**
+     * Validate that nothing is stored outside a REST call.
+     */
+    @Test public void testNoScope()
+    {
+        RESTCallScope.clear();
+
+        assertFalse(RESTCallScope.isActive());
+        assertFalse(RESTCallScope.setAttribute(attributeName, "value"));
+        assertNull(RESTCallScope.getAttribute(attributeName));
+    }
+
+
+    /**
+     * Validate that the RESTCallLogger starts and ends the scope.
+     */
+    @Test public void testScopeFollowsRESTCall()
+    {
+        RESTCallLogger restCallLogger = new RESTCallLogger(LoggerFactory.getLogger(RESTCallScopeTest.class), "testService");
+
+        RESTCallToken token = restCallLogger.logRESTCall("testServer", "testUser", "testScopeFollowsRESTCall");
+
+        assertTrue(RESTCallScope.isActive());
+        assertTrue(RESTCallScope.setAttribute(attributeName, "value"));
+        assertEquals(RESTCallScope.getAttribute(attributeName), "value");
+
+        restCallLogger.logRESTCallReturn(token, "response");
+
+        assertFalse(RESTCallScope.isActive());
+        assertNull(RESTCallScope.getAttribute(attributeName));
+    }
+
+
+    /**
+     * Validate that a REST call made from within another call shares its scope and does not end it.
+     */
+    @Test public void testNestedCallKeepsOuterScope()
+    {
+        RESTCallLogger restCallLogger = new RESTCallLogger(LoggerFactory.getLogger(RESTCallScopeTest.class), "testService");
+
+        RESTCallToken outerToken = restCallLogger.logRESTCall("testServer", "testUser", "outerCall");
+
+        RESTCallScope.setAttribute(attributeName, "value");
+
+        RESTCallToken innerToken = restCallLogger.logRESTCall("testServer", "testUser", "innerCall");
+
+        assertEquals(RESTCallScope.getAttribute(attributeName), "value");
+
+        restCallLogger.logRESTCallReturn(innerToken, "response");
+
+        assertTrue(RESTCallScope.isActive());
+        assertEquals(RESTCallScope.getAttribute(attributeName), "value");
+
+        restCallLogger.logRESTCallReturn(outerToken, "response");
+
+        assertFalse(RESTCallScope.isActive());
+    }
+
+
+    /**
+     * Validate that clearing the scope at the end of the HTTP request discards a scope left open by calls that
+     * did not log their return.
+     */
+    @Test public void testClearDiscardsUnfinishedCalls()
+    {
+        RESTCallScope.begin();
+        RESTCallScope.begin();
+        RESTCallScope.setAttribute(attributeName, "value");
+
+        RESTCallScope.clear();
+
+        assertFalse(RESTCallScope.isActive());
+        assertNull(RESTCallScope.getAttribute(attributeName));
+
+        RESTCallScope.begin();
+
+        assertTrue(RESTCallScope.isActive());
+        assertNull(RESTCallScope.getAttribute(attributeName));
+
+        RESTCallScope.end();
+
+        assertFalse(RESTCallScope.isActive());
+    }
+}
@@ -0,0 +1,729 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import org.odpi.openmetadata.commonservices.generichandlers.ffdc.GenericHandlersAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * AnchorGUIDCache remembers the anchor derived for elements that do not have an Anchors classification, so that
+ * OpenMetadataAPIGenericHandler does not need to walk the relationships from the element to its anchor on every request.
+ * There is one cache for each server.  It is set up by the OCF metadata services, which start before the access services,
+ * and listens to the OMRS instance events for the server.
+ * <p>
+ * Each cached anchor records the elements whose relationships were followed by the walk that derived it.  The result of
+ * the walk can only change if a relationship is added to, or removed from, one of these elements, or if one of them, or the
+ * anchor, is deleted or retyped.  So an event only drops the cached anchors that depend on the instances it describes.
+ * Only the results of requests for current, non-lineage, non-duplicate-processing views of the metadata are cached since
+ * these are the requests that the relationships seen in the events apply to.
+ * <p>
+ * The hit, miss and invalidation counts are published to the audit log every 100,000 requests
+ * and when the server shuts down.
+ */
+public class AnchorGUIDCache extends OMRSTopicListenerBase
+{
+    /**
+     * Name of the access service option that sets the number of elements held in the cache.  Zero turns the cache off.
+     */
+    public static final String ANCHOR_CACHE_SIZE_OPTION  = "AnchorCacheSize";
+
+    /**
+     * Number of elements held in the cache when it is not configured.
+     */
+    public static final int    DEFAULT_ANCHOR_CACHE_SIZE = 10000;
+
+    /*
+     * An effective time this close to the time of the request is treated as "now".
+     */
+    private static final long  currentTimeWindow         = 1000L;
+
+    /*
+     * Number of requests to the cache between each report of its statistics.
+     */
+    static final long          statisticsReportInterval  = 100000L;
+
+    private static final Map<String, AnchorGUIDCache> serverCaches = new ConcurrentHashMap<>();
+
+    private final String                              serverName;
+    private final int                                 maxCacheSize;
+    private final LinkedHashMap<String, CachedAnchor> cachedAnchors;
+    private final Map<String, Set<String>>            dependentElements = new HashMap<>();
+
+    private final AtomicLong hitCount         = new AtomicLong(0);
+    private final AtomicLong missCount        = new AtomicLong(0);
+    private final AtomicLong invalidatedCount = new AtomicLong(0);
+    private final AtomicLong changeCount      = new AtomicLong(0);
+
+
+    /**
+     * Create the anchor cache for a server and make it available to the handlers of that server.
+     *
+     * @param serverName name of the server
+     * @param maxCacheSize maximum number of elements to cache - zero or less means no cache
+     * @param serviceName name of the service creating the cache
+     * @param auditLog logging destination
+     * @return new cache or null if caching is turned off
+     */
+    public static AnchorGUIDCache createAnchorGUIDCache(String   serverName,
+                                                        int      maxCacheSize,
+                                                        String   serviceName,
+                                                        AuditLog auditLog)
+    {
+        if (maxCacheSize <= 0)
+        {
+            serverCaches.remove(serverName);
+            return null;
+        }
+
+        AnchorGUIDCache anchorGUIDCache = new AnchorGUIDCache(serverName, maxCacheSize, serviceName, auditLog);
+
+        serverCaches.put(serverName, anchorGUIDCache);
+
+        return anchorGUIDCache;
+    }
+
+
+    /**
+     * Return the anchor cache for a server.
+     *
+     * @param serverName name of the server
+     * @return cache or null if the server does not cache anchors
+     */
+    public static AnchorGUIDCache getAnchorGUIDCache(String serverName)
+    {
+        if (serverName == null)
+        {
+            return null;
+        }
+
+        return serverCaches.get(serverName);
+    }
+
+
+    /**
+     * Remove the anchor cache for a server as it shuts down.  The final statistics for the cache are published.
+     *
+     * @param serverName name of the server
+     */
+    public static void removeAnchorGUIDCache(String serverName)
+    {
+        if (serverName != null)
+        {
+            AnchorGUIDCache anchorGUIDCache = serverCaches.remove(serverName);
+
+            if (anchorGUIDCache != null)
+            {
+                anchorGUIDCache.publishStatistics();
+            }
+        }
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param serverName name of the server
+     * @param maxCacheSize maximum number of elements to cache
+     * @param serviceName name of the service creating the cache
+     * @param auditLog logging destination
+     */
+    private AnchorGUIDCache(String   serverName,
+                            int      maxCacheSize,
+                            String   serviceName,
+                            AuditLog auditLog)
+    {
+        super(serviceName, auditLog);
+
+        this.serverName    = serverName;
+        this.maxCacheSize  = maxCacheSize;
+        this.cachedAnchors = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnchor> eldest)
+            {
+                if (size() > AnchorGUIDCache.this.maxCacheSize)
+                {
+                    removeFromDependencies(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * Return the cached anchor for an element.  A result of null means the anchor is not known and needs to be derived.
+     * A cached anchor with a null anchorGUID means the element is known to have no anchor.
+     *
+     * @param elementGUID unique identifier of the element
+     * @param forLineage is this request for lineage
+     * @param forDuplicateProcessing is this request for duplicate processing
+     * @param effectiveTime effective time of the request
+     * @return cached anchor or null
+     */
+    CachedAnchor getCachedAnchor(String  elementGUID,
+                                 boolean forLineage,
+                                 boolean forDuplicateProcessing,
+                                 Date    effectiveTime)
+    {
+        if ((elementGUID == null) || (! isCacheable(forLineage, forDuplicateProcessing, effectiveTime)))
+        {
+            return null;
+        }
+
+        CachedAnchor cachedAnchor;
+
+        synchronized (this)
+        {
+            cachedAnchor = cachedAnchors.get(elementGUID);
+        }
+
+        long requestCount;
+
+        if (cachedAnchor == null)
+        {
+            requestCount = missCount.incrementAndGet() + hitCount.get();
+        }
+        else
+        {
+            requestCount = hitCount.incrementAndGet() + missCount.get();
+        }
+
+        if (requestCount % statisticsReportInterval == 0)
+        {
+            publishStatistics();
+        }
+
+        return cachedAnchor;
+    }
+
+
+    /**
+     * Save the anchor derived for an element.  The anchor is not saved if the metadata changed while it was being derived,
+     * since the walk may have seen the metadata from before the change.
+     *
+     * @param elementGUID unique identifier of the element
+     * @param anchorGUID unique identifier of the anchor, or null if the element has no anchor
+     * @param anchorTypeName type name of the anchor
+     * @param walkedGUIDs unique identifiers of the elements whose relationships were followed to derive the anchor
+     * @param startChangeCount result of getChangeCount() before the anchor was derived
+     * @param forLineage is this request for lineage
+     * @param forDuplicateProcessing is this request for duplicate processing
+     * @param effectiveTime effective time of the request
+     */
+    synchronized void cacheAnchor(String      elementGUID,
+                                  String      anchorGUID,
+                                  String      anchorTypeName,
+                                  Set<String> walkedGUIDs,
+                                  long        startChangeCount,
+                                  boolean     forLineage,
+                                  boolean     forDuplicateProcessing,
+                                  Date        effectiveTime)
+    {
+        if ((elementGUID == null) || (! isCacheable(forLineage, forDuplicateProcessing, effectiveTime)))
+        {
+            return;
+        }
+
+        if (changeCount.get() != startChangeCount)
+        {
+            return;
+        }
+
+        removeElement(elementGUID);
+
+        Set<String> dependencies = new HashSet<>();
+
+        dependencies.add(elementGUID);
+
+        if (walkedGUIDs != null)
+        {
+            dependencies.addAll(walkedGUIDs);
+        }
+
+        if (anchorGUID != null)
+        {
+            dependencies.add(anchorGUID);
+        }
+
+        for (String dependency : dependencies)
+        {
+            dependentElements.computeIfAbsent(dependency, newDependency -> new HashSet<>()).add(elementGUID);
+        }
+
+        cachedAnchors.put(elementGUID, new CachedAnchor(anchorGUID, anchorTypeName, dependencies));
+    }
+
+
+    /**
+     * Drop the cached anchors that may be affected by a change to an element's relationships or classifications.
+     * This is called by the handlers when they change the anchor of an element so that the cache is correct
+     * before the event for the change arrives.
+     *
+     * @param elementGUID unique identifier of the element
+     */
+    synchronized void invalidate(String elementGUID)
+    {
+        changeCount.incrementAndGet();
+
+        invalidateDependents(elementGUID);
+    }
+
+
+    /**
+     * Is the request one where the anchor can come from the cache?
+     *
+     * @param forLineage is this request for lineage
+     * @param forDuplicateProcessing is this request for duplicate processing
+     * @param effectiveTime effective time of the request
+     * @return boolean
+     */
+    private boolean isCacheable(boolean forLineage,
+                                boolean forDuplicateProcessing,
+                                Date    effectiveTime)
+    {
+        if ((forLineage) || (forDuplicateProcessing))
+        {
+            return false;
+        }
+
+        return (effectiveTime == null) || (Math.abs(System.currentTimeMillis() - effectiveTime.getTime()) < currentTimeWindow);
+    }
+
+
+    /**
+     * Drop the cached anchors of the elements whose walk to their anchor used an instance, or ended at it.
+     *
+     * @param instanceGUID unique identifier of the changed instance
+     */
+    private void invalidateDependents(String instanceGUID)
+    {
+        if (instanceGUID == null)
+        {
+            return;
+        }
+
+        Set<String> elementGUIDs = dependentElements.get(instanceGUID);
+
+        if (elementGUIDs != null)
+        {
+            for (String elementGUID : new ArrayList<>(elementGUIDs))
+            {
+                if (removeElement(elementGUID))
+                {
+                    invalidatedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Remove a single element from the cache.
+     *
+     * @param elementGUID unique identifier of the element
+     * @return true if the element was cached
+     */
+    private boolean removeElement(String elementGUID)
+    {
+        CachedAnchor cachedAnchor = cachedAnchors.remove(elementGUID);
+
+        if (cachedAnchor != null)
+        {
+            removeFromDependencies(elementGUID, cachedAnchor);
+            return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Remove an element from the index of the instances that cached anchors depend on.
+     *
+     * @param elementGUID unique identifier of the element
+     * @param cachedAnchor its cached anchor
+     */
+    private void removeFromDependencies(String       elementGUID,
+                                        CachedAnchor cachedAnchor)
+    {
+        for (String dependency : cachedAnchor.getDependencies())
+        {
+            Set<String> elementGUIDs = dependentElements.get(dependency);
+
+            if (elementGUIDs != null)
+            {
+                elementGUIDs.remove(elementGUID);
+
+                if (elementGUIDs.isEmpty())
+                {
+                    dependentElements.remove(dependency);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Drop the cached anchors affected by an instance event.
+     *
+     * @param instanceEvent inbound event
+     */
+    @Override
+    public void processInstanceEvent(OMRSInstanceEvent instanceEvent)
+    {
+        if ((instanceEvent == null) || (instanceEvent.getInstanceEventType() == null))
+        {
+            return;
+        }
+
+        OMRSInstanceEventType instanceEventType = instanceEvent.getInstanceEventType();
+
+        synchronized (this)
+        {
+            switch (instanceEventType)
+            {
+                case CLASSIFIED_ENTITY_EVENT:
+                case RECLASSIFIED_ENTITY_EVENT:
+                case DECLASSIFIED_ENTITY_EVENT:
+                    if (isAnchorsClassification(instanceEvent.getClassification()) || isAnchorsClassification(instanceEvent.getOriginalClassification()))
+                    {
+                        changeCount.incrementAndGet();
+                        invalidateDependents(getEntityGUID(instanceEvent));
+                    }
+                    break;
+
+                case DELETED_ENTITY_EVENT:
+                case PURGED_ENTITY_EVENT:
+                case DELETE_PURGED_ENTITY_EVENT:
+                case RESTORED_ENTITY_EVENT:
+                case UNDONE_ENTITY_EVENT:
+                case RETYPED_ENTITY_EVENT:
+                case RE_IDENTIFIED_ENTITY_EVENT:
+                    changeCount.incrementAndGet();
+                    invalidateDependents(getEntityGUID(instanceEvent));
+                    invalidateDependents(instanceEvent.getOriginalInstanceGUID());
+                    break;
+
+                case NEW_RELATIONSHIP_EVENT:
+                case UPDATED_RELATIONSHIP_EVENT:
+                case UNDONE_RELATIONSHIP_EVENT:
+                case DELETED_RELATIONSHIP_EVENT:
+                case PURGED_RELATIONSHIP_EVENT:
+                case DELETE_PURGED_RELATIONSHIP_EVENT:
+                case RESTORED_RELATIONSHIP_EVENT:
+                case RETYPED_RELATIONSHIP_EVENT:
+                case REFRESHED_RELATIONSHIP_EVENT:
+                    changeCount.incrementAndGet();
+                    invalidateRelationshipEnds(instanceEvent.getRelationship());
+                    break;
+
+                case BATCH_INSTANCES_EVENT:
+                    changeCount.incrementAndGet();
+                    invalidateBatch(instanceEvent.getInstanceBatch());
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Is this the Anchors classification?
+     *
+     * @param classification classification from the event
+     * @return boolean
+     */
+    private boolean isAnchorsClassification(Classification classification)
+    {
+        return (classification != null) && (OpenMetadataAPIMapper.ANCHORS_CLASSIFICATION_TYPE_NAME.equals(classification.getName()));
+    }
+
+
+    /**
+     * Return the unique identifier of the entity that an entity event is about.
+     *
+     * @param instanceEvent inbound event
+     * @return guid or null
+     */
+    private String getEntityGUID(OMRSInstanceEvent instanceEvent)
+    {
+        EntityDetail entity = instanceEvent.getEntity();
+
+        if (entity != null)
+        {
+            return entity.getGUID();
+        }
+
+        EntityProxy entityProxy = instanceEvent.getEntityProxy();
+
+        if (entityProxy != null)
+        {
+            return entityProxy.getGUID();
+        }
+
+        return instanceEvent.getInstanceGUID();
+    }
+
+
+    /**
+     * Drop the cached anchors that a change to a relationship may affect.  A walk to an anchor only follows the
+     * relationships of the elements it records, so only the cached anchors that depend on one of the ends are dropped.
+     *
+     * @param relationship relationship from the event
+     */
+    private void invalidateRelationshipEnds(Relationship relationship)
+    {
+        if (relationship != null)
+        {
+            EntityProxy end1 = relationship.getEntityOneProxy();
+            EntityProxy end2 = relationship.getEntityTwoProxy();
+
+            if (end1 != null)
+            {
+                invalidateDependents(end1.getGUID());
+            }
+
+            if (end2 != null)
+            {
+                invalidateDependents(end2.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Drop the cached anchors that depend on the entities or relationship ends in a batch of instances.
+     *
+     * @param instanceBatch instances from the event
+     */
+    private void invalidateBatch(InstanceGraph instanceBatch)
+    {
+        if (instanceBatch != null)
+        {
+            if (instanceBatch.getEntities() != null)
+            {
+                for (EntityDetail entity : instanceBatch.getEntities())
+                {
+                    if (entity != null)
+                    {
+                        invalidateDependents(entity.getGUID());
+                    }
+                }
+            }
+
+            if (instanceBatch.getRelationships() != null)
+            {
+                for (Relationship relationship : instanceBatch.getRelationships())
+                {
+                    invalidateRelationshipEnds(relationship);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Write the statistics for the cache to the audit log.
+     */
+    void publishStatistics()
+    {
+        final String actionDescription = "Anchor cache statistics";
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                GenericHandlersAuditCode.ANCHOR_CACHE_STATISTICS.getMessageDefinition(serverName,
+                                                                                                     Integer.toString(getCacheSize()),
+                                                                                                     Integer.toString(maxCacheSize),
+                                                                                                     Long.toString(getHitCount()),
+                                                                                                     Long.toString(getMissCount()),
+                                                                                                     Long.toString(getInvalidatedCount())));
+        }
+    }
+
+
+    /**
+     * Return the name of the server that the cache belongs to.
+     *
+     * @return server name
+     */
+    public String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Return the maximum number of elements that the cache holds.
+     *
+     * @return count
+     */
+    public int getMaxCacheSize()
+    {
+        return maxCacheSize;
+    }
+
+
+    /**
+     * Return the number of elements in the cache.
+     *
+     * @return count
+     */
+    public synchronized int getCacheSize()
+    {
+        return cachedAnchors.size();
+    }
+
+
+    /**
+     * Return the number of times an anchor was found in the cache.
+     *
+     * @return count
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Return the number of times an anchor had to be derived because it was not in the cache.
+     *
+     * @return count
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Return the number of cached anchors that have been dropped because of changes to the metadata.
+     *
+     * @return count
+     */
+    public long getInvalidatedCount()
+    {
+        return invalidatedCount.get();
+    }
+
+
+    /**
+     * Return the number of changes to the metadata that the cache has checked against its cached anchors.
+     * A handler reads this before deriving an anchor so that the cache can tell if the metadata changed during the walk.
+     *
+     * @return count
+     */
+    public long getChangeCount()
+    {
+        return changeCount.get();
+    }
+
+
+    /**
+     * Return the statistics for the cache.
+     *
+     * @return map of statistic name to value
+     */
+    public Map<String, Long> getStatistics()
+    {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+
+        statistics.put("cacheSize", (long) getCacheSize());
+        statistics.put("maxCacheSize", (long) maxCacheSize);
+        statistics.put("hitCount", getHitCount());
+        statistics.put("missCount", getMissCount());
+        statistics.put("invalidatedCount", getInvalidatedCount());
+        statistics.put("changeCount", getChangeCount());
+
+        return statistics;
+    }
+
+
+    /**
+     * CachedAnchor is the anchor derived for an element.
+     */
+    static class CachedAnchor
+    {
+        private final String      anchorGUID;
+        private final String      anchorTypeName;
+        private final Set<String> dependencies;
+
+
+        /**
+         * Constructor.
+         *
+         * @param anchorGUID unique identifier of the anchor, or null if the element has no anchor
+         * @param anchorTypeName type name of the anchor
+         * @param dependencies unique identifiers of the instances that the anchor was derived from
+         */
+        CachedAnchor(String      anchorGUID,
+                     String      anchorTypeName,
+                     Set<String> dependencies)
+        {
+            this.anchorGUID     = anchorGUID;
+            this.anchorTypeName = anchorTypeName;
+            this.dependencies   = dependencies;
+        }
+
+
+        /**
+         * Return the unique identifier of the anchor.
+         *
+         * @return guid or null if the element has no anchor
+         */
+        String getAnchorGUID()
+        {
+            return anchorGUID;
+        }
+
+
+        /**
+         * Return the type name of the anchor.
+         *
+         * @return type name
+         */
+        String getAnchorTypeName()
+        {
+            return anchorTypeName;
+        }
+
+
+        /**
+         * Return the unique identifiers of the instances that the anchor was derived from.  These are the element itself,
+         * the elements whose relationships were followed and the anchor.
+         *
+         * @return set of guids
+         */
+        Set<String> getDependencies()
+        {
+            return dependencies;
+        }
+    }
+}
@@ -55,6 +55,7 @@ public class OpenMetadataAPIGenericHandler<B>
     private static final Logger log = LoggerFactory.getLogger(OpenMetadataAPIGenericHandler.class);
 
     protected AuditLog                           auditLog;
+    protected AnchorGUIDCache                    anchorGUIDCache;
 
     private final static String supplementaryPropertiesQualifiedNamePostFix = " Supplementary Properties";
     private final static String supplementaryPropertiesGlossaryName = "Supplementary Properties Glossary";
@@ -117,6 +118,7 @@ public class OpenMetadataAPIGenericHandler<B>
         this.publishZones            = publishZones;
 
         this.auditLog                = auditLog;
+        this.anchorGUIDCache         = AnchorGUIDCache.getAnchorGUIDCache(serverName);
 
         this.errorHandler            = new RepositoryErrorHandler(repositoryHelper, serviceName, serverName, auditLog);
 
@@ -1882,6 +1884,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -1890,15 +1893,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException  there is a problem retrieving the instances from the property server or
      * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForSchemaType(String  userId,
-                                              String  schemaTypeGUID,
-                                              boolean forLineage,
-                                              boolean forDuplicateProcessing,
-                                              Date    effectiveTime,
-                                              String  methodName) throws InvalidParameterException,
-                                                                         PropertyServerException,
-                                                                         UserNotAuthorizedException
+    private String getAnchorGUIDForSchemaType(String      userId,
+                                              String      schemaTypeGUID,
+                                              boolean     forLineage,
+                                              boolean     forDuplicateProcessing,
+                                              Date        effectiveTime,
+                                              Set<String> walkedGUIDs,
+                                              String      methodName) throws InvalidParameterException,
+                                                                             PropertyServerException,
+                                                                             UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, schemaTypeGUID);
+
         /*
          * The most obvious test is that this schema type is attached directly to the asset.
          */
@@ -1936,7 +1942,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaAttribute(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaAttribute(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         /*
@@ -1956,7 +1962,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         /*
@@ -1976,7 +1982,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         relationship = repositoryHandler.getUniqueRelationshipByType(userId,
                                                                      schemaTypeGUID,
@@ -1992,7 +1998,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         /*
@@ -2012,7 +2018,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         relationship = repositoryHandler.getUniqueRelationshipByType(userId,
                                                                      schemaTypeGUID,
@@ -2028,7 +2034,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         relationship = repositoryHandler.getUniqueRelationshipByType(userId,
@@ -2045,7 +2051,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         relationship = repositoryHandler.getUniqueRelationshipByType(userId,
@@ -2062,7 +2068,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         /*
@@ -2104,6 +2110,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2112,15 +2119,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForSchemaAttribute(String  userId,
-                                                   String  attributeGUID,
-                                                   boolean forLineage,
-                                                   boolean forDuplicateProcessing,
-                                                   Date    effectiveTime,
-                                                   String  methodName) throws InvalidParameterException,
-                                                                              PropertyServerException,
-                                                                              UserNotAuthorizedException
+    private String getAnchorGUIDForSchemaAttribute(String      userId,
+                                                   String      attributeGUID,
+                                                   boolean     forLineage,
+                                                   boolean     forDuplicateProcessing,
+                                                   Date        effectiveTime,
+                                                   Set<String> walkedGUIDs,
+                                                   String      methodName) throws InvalidParameterException,
+                                                                                  PropertyServerException,
+                                                                                  UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, attributeGUID);
+
         /*
          * Is the schema attribute connected to a type.
          */
@@ -2138,7 +2148,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaType(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         /*
@@ -2160,7 +2170,7 @@ public class OpenMetadataAPIGenericHandler<B>
         {
             EntityProxy proxy = relationship.getEntityOneProxy();
 
-            return getAnchorGUIDForSchemaAttribute(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            return getAnchorGUIDForSchemaAttribute(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         return null;
@@ -2177,6 +2187,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2185,15 +2196,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForConnection(String  userId,
-                                              String  connectionGUID,
-                                              boolean forLineage,
-                                              boolean forDuplicateProcessing,
-                                              Date    effectiveTime,
-                                              String  methodName) throws InvalidParameterException,
-                                                                         PropertyServerException,
-                                                                         UserNotAuthorizedException
+    private String getAnchorGUIDForConnection(String      userId,
+                                              String      connectionGUID,
+                                              boolean     forLineage,
+                                              boolean     forDuplicateProcessing,
+                                              Date        effectiveTime,
+                                              Set<String> walkedGUIDs,
+                                              String      methodName) throws InvalidParameterException,
+                                                                             PropertyServerException,
+                                                                             UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, connectionGUID);
+
         /*
          * Is the connection connected to an asset?
          */
@@ -2230,6 +2244,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2238,15 +2253,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForLike(String  userId,
-                                        String  likeGUID,
-                                        boolean forLineage,
-                                        boolean forDuplicateProcessing,
-                                        Date    effectiveTime,
-                                        String  methodName) throws InvalidParameterException,
-                                                                   PropertyServerException,
-                                                                   UserNotAuthorizedException
+    private String getAnchorGUIDForLike(String      userId,
+                                        String      likeGUID,
+                                        boolean     forLineage,
+                                        boolean     forDuplicateProcessing,
+                                        Date        effectiveTime,
+                                        Set<String> walkedGUIDs,
+                                        String      methodName) throws InvalidParameterException,
+                                                                       PropertyServerException,
+                                                                       UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, likeGUID);
+
         /*
          * Is the like connected to a Referenceable?
          */
@@ -2282,6 +2300,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2290,15 +2309,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForRating(String  userId,
-                                          String  ratingGUID,
-                                          boolean forLineage,
-                                          boolean forDuplicateProcessing,
-                                          Date    effectiveTime,
-                                          String  methodName) throws InvalidParameterException,
-                                                                     PropertyServerException,
-                                                                     UserNotAuthorizedException
+    private String getAnchorGUIDForRating(String      userId,
+                                          String      ratingGUID,
+                                          boolean     forLineage,
+                                          boolean     forDuplicateProcessing,
+                                          Date        effectiveTime,
+                                          Set<String> walkedGUIDs,
+                                          String      methodName) throws InvalidParameterException,
+                                                                         PropertyServerException,
+                                                                         UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, ratingGUID);
+
         /*
          * Is the rating connected to a Referenceable?
          */
@@ -2334,6 +2356,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2342,15 +2365,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForOpenDiscoveryAnalysisReport(String  userId,
-                                                               String  reportGUID,
-                                                               boolean forLineage,
-                                                               boolean forDuplicateProcessing,
-                                                               Date    effectiveTime,
-                                                               String  methodName) throws InvalidParameterException,
-                                                                                          PropertyServerException,
-                                                                                          UserNotAuthorizedException
+    private String getAnchorGUIDForOpenDiscoveryAnalysisReport(String      userId,
+                                                               String      reportGUID,
+                                                               boolean     forLineage,
+                                                               boolean     forDuplicateProcessing,
+                                                               Date        effectiveTime,
+                                                               Set<String> walkedGUIDs,
+                                                               String      methodName) throws InvalidParameterException,
+                                                                                              PropertyServerException,
+                                                                                              UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, reportGUID);
+
         /*
          * Is the report connected to an Asset?
          */
@@ -2387,6 +2413,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2395,15 +2422,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForAnnotation(String  userId,
-                                              String  annotationGUID,
-                                              boolean forLineage,
-                                              boolean forDuplicateProcessing,
-                                              Date    effectiveTime,
-                                              String  methodName) throws InvalidParameterException,
-                                                                         PropertyServerException,
-                                                                         UserNotAuthorizedException
+    private String getAnchorGUIDForAnnotation(String      userId,
+                                              String      annotationGUID,
+                                              boolean     forLineage,
+                                              boolean     forDuplicateProcessing,
+                                              Date        effectiveTime,
+                                              Set<String> walkedGUIDs,
+                                              String      methodName) throws InvalidParameterException,
+                                                                             PropertyServerException,
+                                                                             UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, annotationGUID);
+
         /*
          * Is the annotation connected to anything?
          */
@@ -2430,11 +2460,11 @@ public class OpenMetadataAPIGenericHandler<B>
                     {
                         if (repositoryHelper.isTypeOf(serviceName, proxy.getType().getTypeDefName(), OpenMetadataAPIMapper.DISCOVERY_ANALYSIS_REPORT_TYPE_NAME))
                         {
-                            return this.getAnchorGUIDForOpenDiscoveryAnalysisReport(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                            return this.getAnchorGUIDForOpenDiscoveryAnalysisReport(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
                         }
                         else if (repositoryHelper.isTypeOf(serviceName, proxy.getType().getTypeDefName(), OpenMetadataAPIMapper.DATA_FIELD_TYPE_NAME))
                         {
-                            String parentAnchorGUID = this.getAnchorGUIDForDataField(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                            String parentAnchorGUID = this.getAnchorGUIDForDataField(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
 
                             if (parentAnchorGUID != null)
                             {
@@ -2443,7 +2473,7 @@ public class OpenMetadataAPIGenericHandler<B>
                         }
                         else if (repositoryHelper.isTypeOf(serviceName, proxy.getType().getTypeDefName(), OpenMetadataAPIMapper.ANNOTATION_TYPE_NAME))
                         {
-                            return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                            return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
                         }
                     }
                 }
@@ -2463,6 +2493,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2471,15 +2502,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the property server or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForAnnotationReview(String  userId,
-                                                    String  annotationReviewGUID,
-                                                    boolean forLineage,
-                                                    boolean forDuplicateProcessing,
-                                                    Date    effectiveTime,
-                                                    String  methodName) throws InvalidParameterException,
-                                                                               PropertyServerException,
-                                                                               UserNotAuthorizedException
+    private String getAnchorGUIDForAnnotationReview(String      userId,
+                                                    String      annotationReviewGUID,
+                                                    boolean     forLineage,
+                                                    boolean     forDuplicateProcessing,
+                                                    Date        effectiveTime,
+                                                    Set<String> walkedGUIDs,
+                                                    String      methodName) throws InvalidParameterException,
+                                                                                   PropertyServerException,
+                                                                                   UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, annotationReviewGUID);
+
         /*
          * Is the annotation review connected to an annotation?
          */
@@ -2499,7 +2533,7 @@ public class OpenMetadataAPIGenericHandler<B>
             EntityProxy proxy = relationship.getEntityOneProxy();
             if ((proxy != null) && (proxy.getGUID() != null))
             {
-                return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
             }
         }
 
@@ -2516,6 +2550,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached asset or null if there is no attached asset
@@ -2524,15 +2559,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException - there is a problem retrieving the asset properties from the repositories or
      * @throws UserNotAuthorizedException - the requesting user is not authorized to issue this request.
      */
-    private String getAnchorGUIDForDataField(String  userId,
-                                             String  dataFieldGUID,
-                                             boolean forLineage,
-                                             boolean forDuplicateProcessing,
-                                             Date    effectiveTime,
-                                             String  methodName) throws InvalidParameterException,
-                                                                        PropertyServerException,
-                                                                        UserNotAuthorizedException
+    private String getAnchorGUIDForDataField(String      userId,
+                                             String      dataFieldGUID,
+                                             boolean     forLineage,
+                                             boolean     forDuplicateProcessing,
+                                             Date        effectiveTime,
+                                             Set<String> walkedGUIDs,
+                                             String      methodName) throws InvalidParameterException,
+                                                                            PropertyServerException,
+                                                                            UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, dataFieldGUID);
+
         /*
          * Is the data field connected to an annotation?
          */
@@ -2552,7 +2590,7 @@ public class OpenMetadataAPIGenericHandler<B>
             EntityProxy proxy = relationship.getEntityOneProxy();
             if ((proxy != null) && (proxy.getGUID() != null))
             {
-                return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                return this.getAnchorGUIDForAnnotation(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
             }
         }
 
@@ -2570,6 +2608,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached anchor or null if there is no attached anchor
@@ -2578,15 +2617,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException  there is a problem retrieving the properties from the repositories
      * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request
      */
-    private String getAnchorGUIDForComment(String  userId,
-                                           String  commentGUID,
-                                           boolean forLineage,
-                                           boolean forDuplicateProcessing,
-                                           Date    effectiveTime,
-                                           String  methodName) throws InvalidParameterException,
-                                                                      PropertyServerException,
-                                                                      UserNotAuthorizedException
+    private String getAnchorGUIDForComment(String      userId,
+                                           String      commentGUID,
+                                           boolean     forLineage,
+                                           boolean     forDuplicateProcessing,
+                                           Date        effectiveTime,
+                                           Set<String> walkedGUIDs,
+                                           String      methodName) throws InvalidParameterException,
+                                                                          PropertyServerException,
+                                                                          UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, commentGUID);
+
         /*
          * Is the comment connected to anything?
          */
@@ -2614,7 +2656,7 @@ public class OpenMetadataAPIGenericHandler<B>
                         if ((! commentGUID.equals(proxy.getGUID())) &&
                             (repositoryHelper.isTypeOf(serviceName, proxy.getType().getTypeDefName(), OpenMetadataAPIMapper.COMMENT_TYPE_NAME)))
                         {
-                            String parentAnchorGUID = this.getAnchorGUIDForComment(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                            String parentAnchorGUID = this.getAnchorGUIDForComment(userId, proxy.getGUID(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
 
                             /*
                              * If the parent has no anchor then it is a detached chain of comments and the parent is the anchor.
@@ -2644,6 +2686,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached anchor or null if there is no attached anchor
@@ -2652,15 +2695,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException  there is a problem retrieving the properties from the repositories
      * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request
      */
-    private String getAnchorGUIDForGlossaryTerm(String  userId,
-                                                String  glossaryTermGUID,
-                                                boolean forLineage,
-                                                boolean forDuplicateProcessing,
-                                                Date    effectiveTime,
-                                                String  methodName) throws InvalidParameterException,
-                                                                           PropertyServerException,
-                                                                           UserNotAuthorizedException
+    private String getAnchorGUIDForGlossaryTerm(String      userId,
+                                                String      glossaryTermGUID,
+                                                boolean     forLineage,
+                                                boolean     forDuplicateProcessing,
+                                                Date        effectiveTime,
+                                                Set<String> walkedGUIDs,
+                                                String      methodName) throws InvalidParameterException,
+                                                                               PropertyServerException,
+                                                                               UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, glossaryTermGUID);
+
         /*
          * Is the Glossary Term connected to anything?
          */
@@ -2704,6 +2750,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      *
      * @return unique identifier of attached anchor or null if there is no attached anchor
@@ -2712,15 +2759,18 @@ public class OpenMetadataAPIGenericHandler<B>
      * @throws PropertyServerException  there is a problem retrieving the properties from the repositories
      * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request
      */
-    private String getAnchorGUIDForGlossaryCategory(String  userId,
-                                                    String  glossaryCategoryGUID,
-                                                    boolean forLineage,
-                                                    boolean forDuplicateProcessing,
-                                                    Date    effectiveTime,
-                                                    String  methodName) throws InvalidParameterException,
-                                                                               PropertyServerException,
-                                                                               UserNotAuthorizedException
+    private String getAnchorGUIDForGlossaryCategory(String      userId,
+                                                    String      glossaryCategoryGUID,
+                                                    boolean     forLineage,
+                                                    boolean     forDuplicateProcessing,
+                                                    Date        effectiveTime,
+                                                    Set<String> walkedGUIDs,
+                                                    String      methodName) throws InvalidParameterException,
+                                                                                   PropertyServerException,
+                                                                                   UserNotAuthorizedException
     {
+        this.recordAnchorWalk(walkedGUIDs, glossaryCategoryGUID);
+
         /*
          * Is the Glossary Category connected to anything?
          */
@@ -2765,20 +2815,22 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param forLineage the request is to support lineage retrieval this means entities with the Memento classification can be returned
      * @param forDuplicateProcessing the request is for duplicate processing and so must not deduplicate
      * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param walkedGUIDs collects the unique identifiers of the elements whose relationships are followed - may be null
      * @param methodName calling method
      * @return anchorGUID or null
      * @throws InvalidParameterException on of the properties is invalid which is suspicious since they have been validated earlier
      * @throws UserNotAuthorizedException the local server userId does not have access to the repository instances
      * @throws PropertyServerException something is wrong with the repository
      */
-    private String deriveAnchorGUID(String  targetGUID,
-                                    String  targetTypeName,
-                                    boolean forLineage,
-                                    boolean forDuplicateProcessing,
-                                    Date    effectiveTime,
-                                    String  methodName) throws InvalidParameterException,
-                                                               UserNotAuthorizedException,
-                                                               PropertyServerException
+    private String deriveAnchorGUID(String      targetGUID,
+                                    String      targetTypeName,
+                                    boolean     forLineage,
+                                    boolean     forDuplicateProcessing,
+                                    Date        effectiveTime,
+                                    Set<String> walkedGUIDs,
+                                    String      methodName) throws InvalidParameterException,
+                                                                   UserNotAuthorizedException,
+                                                                   PropertyServerException
     {
         String anchorGUID = null;
 
@@ -2788,57 +2840,73 @@ public class OpenMetadataAPIGenericHandler<B>
          */
         if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.SCHEMA_TYPE_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForSchemaType(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForSchemaType(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.SCHEMA_ATTRIBUTE_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForSchemaAttribute(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForSchemaAttribute(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.CONNECTION_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForConnection(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForConnection(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.COMMENT_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForComment(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForComment(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.RATING_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForRating(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForRating(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.LIKE_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForLike(localServerUserId, targetGUID, forLineage,forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForLike(localServerUserId, targetGUID, forLineage,forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.DISCOVERY_ANALYSIS_REPORT_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForOpenDiscoveryAnalysisReport(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForOpenDiscoveryAnalysisReport(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.ANNOTATION_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForAnnotation(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForAnnotation(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.ANNOTATION_REVIEW_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForAnnotationReview(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForAnnotationReview(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.DATA_FIELD_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForDataField(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForDataField(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.GLOSSARY_TERM_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForGlossaryTerm(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForGlossaryTerm(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
         else if (repositoryHelper.isTypeOf(serviceName, targetTypeName, OpenMetadataAPIMapper.GLOSSARY_CATEGORY_TYPE_NAME))
         {
-            anchorGUID = this.getAnchorGUIDForGlossaryCategory(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = this.getAnchorGUIDForGlossaryCategory(localServerUserId, targetGUID, forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
         }
 
         return anchorGUID;
     }
 
 
+    /**
+     * Remember that the walk to find an anchor has followed the relationships of an element.
+     *
+     * @param walkedGUIDs unique identifiers of the elements walked so far - null if they are not needed
+     * @param elementGUID unique identifier of the element being walked
+     */
+    private void recordAnchorWalk(Set<String> walkedGUIDs,
+                                  String      elementGUID)
+    {
+        if ((walkedGUIDs != null) && (elementGUID != null))
+        {
+            walkedGUIDs.add(elementGUID);
+        }
+    }
+
+
     /**
      * Validates that the current anchorGUID is correct and updates it if it is not.
      *
@@ -2871,7 +2939,7 @@ public class OpenMetadataAPIGenericHandler<B>
         /*
          * Find out the anchorGUID by following the relationships
          */
-        String newAnchorGUID = this.deriveAnchorGUID(targetGUID, targetTypeName, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+        String newAnchorGUID = this.deriveAnchorGUID(targetGUID, targetTypeName, forLineage, forDuplicateProcessing, effectiveTime, null, methodName);
 
         /*
          * The anchorGUID has changed
@@ -2879,6 +2947,15 @@ public class OpenMetadataAPIGenericHandler<B>
         if (((newAnchorGUID == null) && (originalAnchorGUID != null)) ||
             ((newAnchorGUID != null) && (! newAnchorGUID.equals(originalAnchorGUID))))
         {
+            /*
+             * The event for the change will also reach the anchor cache but the cache is corrected now so that
+             * requests that follow immediately do not see the old anchor.
+             */
+            if (anchorGUIDCache != null)
+            {
+                anchorGUIDCache.invalidate(targetGUID);
+            }
+
             EntityDetail targetElement = repositoryHandler.getEntityByGUID(localServerUserId,
                                                                            targetGUID,
                                                                            targetGUIDParameterName,
@@ -2940,7 +3017,7 @@ public class OpenMetadataAPIGenericHandler<B>
         /*
          * Find out the anchorGUID by following the relationships
          */
-        String newAnchorGUID = this.deriveAnchorGUID(targetGUID, targetTypeName, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+        String newAnchorGUID = this.deriveAnchorGUID(targetGUID, targetTypeName, forLineage, forDuplicateProcessing, effectiveTime, null, methodName);
 
         /*
          * The anchorGUID has changed
@@ -2948,6 +3025,15 @@ public class OpenMetadataAPIGenericHandler<B>
         if (((newAnchorGUID == null) && (originalAnchorGUID != null)) ||
             ((newAnchorGUID != null) && (! newAnchorGUID.equals(originalAnchorGUID))))
         {
+            /*
+             * The event for the change will also reach the anchor cache but the cache is corrected now so that
+             * requests that follow immediately do not see the old anchor.
+             */
+            if (anchorGUIDCache != null)
+            {
+                anchorGUIDCache.invalidate(targetGUID);
+            }
+
             if (targetElement != null)
             {
                 this.maintainAnchorGUIDInClassification(targetElement.getGUID(),
@@ -3134,14 +3220,44 @@ public class OpenMetadataAPIGenericHandler<B>
          */
         String anchorGUID = this.getAnchorGUIDFromAnchorsClassification(connectToEntity, methodName);
 
+        boolean     anchorDerived    = false;
+        Set<String> walkedGUIDs      = null;
+        long        cacheChangeCount = 0;
+
         if (anchorGUID == null)
         {
             /*
-             * The classification is missing - so walk the relationships to find the anchor if it exists.
+             * The classification is missing - so use the anchor cache or walk the relationships to find the anchor if it exists.
+             * The cache mostly saves the walk for elements that have no anchor, and for elements where the classification
+             * could not be stored.
              */
-            anchorGUID = deriveAnchorGUID(connectToGUID, connectToEntity.getType().getTypeDefName(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            AnchorGUIDCache.CachedAnchor cachedAnchor = null;
+
+            if (anchorGUIDCache != null)
+            {
+                cachedAnchor = anchorGUIDCache.getCachedAnchor(connectToGUID, forLineage, forDuplicateProcessing, effectiveTime);
+            }
+
+            if (cachedAnchor != null)
+            {
+                anchorGUID = cachedAnchor.getAnchorGUID();
+            }
+            else
+            {
+                /*
+                 * The elements visited by the walk are collected so that the cache knows which changes affect the result.
+                 */
+                if (anchorGUIDCache != null)
+                {
+                    walkedGUIDs      = new HashSet<>();
+                    cacheChangeCount = anchorGUIDCache.getChangeCount();
+                }
+
+                anchorGUID = deriveAnchorGUID(connectToGUID, connectToEntity.getType().getTypeDefName(), forLineage, forDuplicateProcessing, effectiveTime, walkedGUIDs, methodName);
+                anchorDerived = true;
+            }
 
-            if (anchorGUID != null)
+            if ((anchorDerived) && (anchorGUID != null))
             {
                 /*
                  * The anchor has been found so store it in the classification, so it is easy to find next time.
@@ -3179,6 +3295,35 @@ public class OpenMetadataAPIGenericHandler<B>
             }
         }
 
+        /*
+         * Remember the derived anchor (or the lack of one) once it is known to be valid.
+         */
+        if ((anchorDerived) && (anchorGUIDCache != null))
+        {
+            if ((anchorEntity != null) && (anchorEntity.getType() != null))
+            {
+                anchorGUIDCache.cacheAnchor(connectToGUID,
+                                            anchorGUID,
+                                            anchorEntity.getType().getTypeDefName(),
+                                            walkedGUIDs,
+                                            cacheChangeCount,
+                                            forLineage,
+                                            forDuplicateProcessing,
+                                            effectiveTime);
+            }
+            else if (anchorGUID == null)
+            {
+                anchorGUIDCache.cacheAnchor(connectToGUID,
+                                            null,
+                                            null,
+                                            walkedGUIDs,
+                                            cacheChangeCount,
+                                            forLineage,
+                                            forDuplicateProcessing,
+                                            effectiveTime);
+            }
+        }
+
         /*
          * Perform any special processing on the anchor entity
          */
@@ -7094,7 +7239,7 @@ public class OpenMetadataAPIGenericHandler<B>
                      * because it is a parent object.   If it now has no anchor then it can be
                      * deleted because it is a child object.
                      */
-                    String derivedAnchorGUID = this.deriveAnchorGUID(entity.getGUID(), entityTypeName, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                    String derivedAnchorGUID = this.deriveAnchorGUID(entity.getGUID(), entityTypeName, forLineage, forDuplicateProcessing, effectiveTime, null, methodName);
 
                     if (derivedAnchorGUID == null)
                     {
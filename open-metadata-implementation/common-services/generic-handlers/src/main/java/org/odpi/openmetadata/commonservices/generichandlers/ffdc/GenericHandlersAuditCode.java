@@ -132,6 +132,14 @@ public enum GenericHandlersAuditCode implements AuditLogMessageSet
                                     "The governance action's status has been updated as requested.",
                                     "Validate that the status change is valid."),
 
+    ANCHOR_CACHE_STATISTICS("OMAG-GENERIC-HANDLERS-0030",
+                            OMRSAuditLogRecordSeverity.PERFMON,
+                            "The anchor cache for server {0} holds {1} of a maximum of {2} elements.  {3} requests found the anchor in the cache, " +
+                                    "{4} requests had to derive it and {5} cached anchors have been dropped because of changes to the metadata",
+                            "The server periodically reports how well the cache of anchors derived for elements without an Anchors classification is working.  " +
+                                    "The statistics are also reported when the server shuts down.",
+                            "If most requests have to derive the anchor, consider increasing the AnchorCacheSize option of the access services."),
+
     ;
 
     private String                     logMessageId;
@@ -0,0 +1,477 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import org.odpi.openmetadata.commonservices.generichandlers.ffdc.GenericHandlersAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Verify that AnchorGUIDCache only drops the cached anchors that depend on the instances in a change, counts its
+ * hits and misses, and publishes its statistics to the audit log.
+ */
+public class AnchorGUIDCacheTest
+{
+    private static final String serverName = "TestServer";
+
+    private final List<AuditLogMessageDefinition> auditMessages = Collections.synchronizedList(new ArrayList<>());
+
+
+    @AfterMethod
+    public void removeCache()
+    {
+        AnchorGUIDCache.removeAnchorGUIDCache(serverName);
+        auditMessages.clear();
+    }
+
+
+    @Test
+    public void testCreateAndRemove()
+    {
+        assertNull(AnchorGUIDCache.createAnchorGUIDCache(serverName, 0, "Test", getAuditLog()));
+        assertNull(AnchorGUIDCache.getAnchorGUIDCache(serverName));
+
+        AnchorGUIDCache cache = getCache(10);
+
+        assertSame(AnchorGUIDCache.getAnchorGUIDCache(serverName), cache);
+        assertNull(AnchorGUIDCache.getAnchorGUIDCache(null));
+
+        AnchorGUIDCache.removeAnchorGUIDCache(serverName);
+
+        assertNull(AnchorGUIDCache.getAnchorGUIDCache(serverName));
+        assertStatisticsPublished(1);
+    }
+
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        assertNull(getCachedAnchor(cache, "attribute"));
+
+        cacheAnchor(cache, "attribute", "asset", "schemaType");
+        cacheAnchor(cache, "template", null);
+
+        AnchorGUIDCache.CachedAnchor cachedAnchor = getCachedAnchor(cache, "attribute");
+
+        assertNotNull(cachedAnchor);
+        assertEquals(cachedAnchor.getAnchorGUID(), "asset");
+        assertEquals(cachedAnchor.getAnchorTypeName(), "Asset");
+        assertEquals(cachedAnchor.getDependencies(), new HashSet<>(Arrays.asList("attribute", "schemaType", "asset")));
+
+        /*
+         * An element with no anchor is cached with a null anchor.
+         */
+        cachedAnchor = getCachedAnchor(cache, "template");
+
+        assertNotNull(cachedAnchor);
+        assertNull(cachedAnchor.getAnchorGUID());
+
+        assertEquals(cache.getHitCount(), 2L);
+        assertEquals(cache.getMissCount(), 1L);
+        assertEquals(cache.getCacheSize(), 2);
+        assertEquals(cache.getStatistics().get("hitCount"), Long.valueOf(2));
+        assertEquals(cache.getStatistics().get("missCount"), Long.valueOf(1));
+    }
+
+
+    @Test
+    public void testRequestsThatAreNotCached()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cache.cacheAnchor("lineage", "asset", "Asset", null, cache.getChangeCount(), true, false, null);
+        cache.cacheAnchor("duplicates", "asset", "Asset", null, cache.getChangeCount(), false, true, null);
+        cache.cacheAnchor("past", "asset", "Asset", null, cache.getChangeCount(), false, false, new Date(0));
+        cache.cacheAnchor("now", "asset", "Asset", null, cache.getChangeCount(), false, false, new Date());
+
+        assertEquals(cache.getCacheSize(), 1);
+        assertNull(cache.getCachedAnchor("now", true, false, null));
+        assertNull(cache.getCachedAnchor("now", false, true, null));
+        assertNull(cache.getCachedAnchor("now", false, false, new Date(0)));
+        assertNotNull(cache.getCachedAnchor("now", false, false, new Date()));
+
+        /*
+         * Requests that can not use the cache are not counted.
+         */
+        assertEquals(cache.getHitCount(), 1L);
+        assertEquals(cache.getMissCount(), 0L);
+    }
+
+
+    @Test
+    public void testUnrelatedRelationshipKeepsCache()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute", "asset", "schemaType");
+        cacheAnchor(cache, "template", null, "templateType");
+
+        for (OMRSInstanceEventType eventType : new OMRSInstanceEventType[] { OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                                                                             OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT,
+                                                                             OMRSInstanceEventType.PURGED_RELATIONSHIP_EVENT })
+        {
+            cache.processInstanceEvent(new OMRSInstanceEvent(eventType, getRelationship("term", "otherAsset")));
+        }
+
+        assertEquals(cache.getCacheSize(), 2);
+        assertEquals(cache.getInvalidatedCount(), 0L);
+        assertEquals(cache.getChangeCount(), 3L);
+    }
+
+
+    @Test
+    public void testRelationshipDropsDependentElements()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute1", "asset", "schemaType");
+        cacheAnchor(cache, "attribute2", "asset", "schemaType", "attribute1");
+        cacheAnchor(cache, "attribute3", "asset", "schemaType");
+        cacheAnchor(cache, "template1", null, "templateType");
+        cacheAnchor(cache, "template2", null, "otherTemplateType");
+
+        /*
+         * Nesting attribute1 somewhere else only affects the elements whose walk went through it.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT, getRelationship("schemaType2", "attribute1")));
+
+        assertNull(cache.getCachedAnchor("attribute1", false, false, null));
+        assertNull(cache.getCachedAnchor("attribute2", false, false, null));
+        assertNotNull(cache.getCachedAnchor("attribute3", false, false, null));
+        assertEquals(cache.getInvalidatedCount(), 2L);
+
+        /*
+         * Attaching an element's schema type to an asset drops the element that had no anchor, but not the other
+         * elements with no anchor.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT, getRelationship("asset2", "templateType")));
+
+        assertNull(cache.getCachedAnchor("template1", false, false, null));
+        assertNotNull(cache.getCachedAnchor("template2", false, false, null));
+        assertNotNull(cache.getCachedAnchor("attribute3", false, false, null));
+        assertEquals(cache.getInvalidatedCount(), 3L);
+    }
+
+
+    @Test
+    public void testEntityEvents()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute1", "asset", "schemaType");
+        cacheAnchor(cache, "attribute2", "asset2", "schemaType2");
+        cacheAnchor(cache, "attribute3", "asset3", "schemaType3");
+
+        /*
+         * Deleting the anchor drops the elements anchored to it.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_ENTITY_EVENT, getEntity("asset")));
+
+        assertNull(cache.getCachedAnchor("attribute1", false, false, null));
+        assertEquals(cache.getCacheSize(), 2);
+
+        /*
+         * Updates do not change the relationships so the cache is kept.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("schemaType2")));
+
+        assertEquals(cache.getCacheSize(), 2);
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.PURGED_ENTITY_EVENT, "typeGUID", "SchemaType", "schemaType2"));
+
+        assertNull(cache.getCachedAnchor("attribute2", false, false, null));
+
+        /*
+         * A classification other than Anchors does not affect the cache.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                                                         getEntity("attribute3"),
+                                                         null,
+                                                         getClassification("Confidentiality")));
+
+        assertNotNull(cache.getCachedAnchor("attribute3", false, false, null));
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                                                         getEntity("attribute3"),
+                                                         null,
+                                                         getClassification(OpenMetadataAPIMapper.ANCHORS_CLASSIFICATION_TYPE_NAME)));
+
+        assertNull(cache.getCachedAnchor("attribute3", false, false, null));
+        assertEquals(cache.getCacheSize(), 0);
+    }
+
+
+    @Test
+    public void testBatchEvent()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute1", "asset", "schemaType");
+        cacheAnchor(cache, "attribute2", "asset2", "schemaType2");
+        cacheAnchor(cache, "attribute3", "asset3", "schemaType3");
+
+        InstanceGraph batch = new InstanceGraph(Collections.singletonList(getEntity("asset")),
+                                                Collections.singletonList(getRelationship("schemaType2", "otherAttribute")));
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.BATCH_INSTANCES_EVENT, batch));
+
+        assertNull(cache.getCachedAnchor("attribute1", false, false, null));
+        assertNull(cache.getCachedAnchor("attribute2", false, false, null));
+        assertNotNull(cache.getCachedAnchor("attribute3", false, false, null));
+    }
+
+
+    @Test
+    public void testInvalidateFromHandler()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute1", null, "schemaType");
+        cacheAnchor(cache, "attribute2", null, "schemaType", "attribute1");
+        cacheAnchor(cache, "template", null, "templateType");
+
+        cache.invalidate("schemaType");
+
+        assertNull(cache.getCachedAnchor("attribute1", false, false, null));
+        assertNull(cache.getCachedAnchor("attribute2", false, false, null));
+        assertNotNull(cache.getCachedAnchor("template", false, false, null));
+    }
+
+
+    @Test
+    public void testChangeDuringWalk()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        long startChangeCount = cache.getChangeCount();
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT, getRelationship("asset", "schemaType")));
+
+        /*
+         * The walk may have seen the metadata from before the change, so its result is not cached.
+         */
+        cache.cacheAnchor("attribute", null, null, Collections.singleton("schemaType"), startChangeCount, false, false, null);
+
+        assertEquals(cache.getCacheSize(), 0);
+
+        cache.cacheAnchor("attribute", "asset", "Asset", Collections.singleton("schemaType"), cache.getChangeCount(), false, false, null);
+
+        assertEquals(cache.getCacheSize(), 1);
+    }
+
+
+    @Test
+    public void testEvictionUpdatesDependencies()
+    {
+        AnchorGUIDCache cache = getCache(2);
+
+        cacheAnchor(cache, "attribute1", "asset", "schemaType");
+        cacheAnchor(cache, "attribute2", "asset", "schemaType");
+        getCachedAnchor(cache, "attribute1");
+        cacheAnchor(cache, "attribute3", "asset", "schemaType");
+
+        /*
+         * attribute2 is the least recently used element.
+         */
+        assertEquals(cache.getCacheSize(), 2);
+        assertNull(cache.getCachedAnchor("attribute2", false, false, null));
+        assertNotNull(cache.getCachedAnchor("attribute1", false, false, null));
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_ENTITY_EVENT, getEntity("asset")));
+
+        assertEquals(cache.getCacheSize(), 0);
+        assertEquals(cache.getInvalidatedCount(), 2L);
+    }
+
+
+    @Test
+    public void testStatisticsPublishedPeriodically()
+    {
+        AnchorGUIDCache cache = getCache(10);
+
+        cacheAnchor(cache, "attribute", "asset", "schemaType");
+
+        for (long i = 1; i < AnchorGUIDCache.statisticsReportInterval; i++)
+        {
+            getCachedAnchor(cache, "attribute");
+        }
+
+        assertStatisticsPublished(0);
+
+        getCachedAnchor(cache, "other");
+
+        assertStatisticsPublished(1);
+    }
+
+
+    /**
+     * Return a new cache for the test server.
+     *
+     * @param maxCacheSize maximum number of elements
+     * @return cache
+     */
+    private AnchorGUIDCache getCache(int maxCacheSize)
+    {
+        return AnchorGUIDCache.createAnchorGUIDCache(serverName, maxCacheSize, "Test", getAuditLog());
+    }
+
+
+    /**
+     * Return an audit log that remembers the messages logged to it.
+     *
+     * @return audit log
+     */
+    private AuditLog getAuditLog()
+    {
+        return new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, "Test", "Test", null)
+        {
+            @Override
+            public void logMessage(String                    actionDescription,
+                                   AuditLogMessageDefinition messageDefinition)
+            {
+                auditMessages.add(messageDefinition);
+            }
+        };
+    }
+
+
+    /**
+     * Check the number of times the statistics have been published.
+     *
+     * @param expectedCount expected number of messages
+     */
+    private void assertStatisticsPublished(int expectedCount)
+    {
+        int count = 0;
+
+        synchronized (auditMessages)
+        {
+            for (AuditLogMessageDefinition messageDefinition : auditMessages)
+            {
+                if (GenericHandlersAuditCode.ANCHOR_CACHE_STATISTICS.getMessageDefinition().getMessageId().equals(messageDefinition.getMessageId()))
+                {
+                    count++;
+                }
+            }
+        }
+
+        assertEquals(count, expectedCount);
+    }
+
+
+    /**
+     * Cache the anchor for an element as if it was derived by walking through the supplied elements.
+     *
+     * @param cache cache
+     * @param elementGUID element
+     * @param anchorGUID anchor or null
+     * @param walkedGUIDs elements whose relationships were followed
+     */
+    private void cacheAnchor(AnchorGUIDCache cache,
+                             String          elementGUID,
+                             String          anchorGUID,
+                             String...       walkedGUIDs)
+    {
+        Set<String> walked = new HashSet<>(Arrays.asList(walkedGUIDs));
+
+        walked.add(elementGUID);
+
+        cache.cacheAnchor(elementGUID, anchorGUID, anchorGUID == null ? null : "Asset", walked, cache.getChangeCount(), false, false, null);
+    }
+
+
+    /**
+     * Look up an element for a request for the current metadata.
+     *
+     * @param cache cache
+     * @param elementGUID element
+     * @return cached anchor or null
+     */
+    private AnchorGUIDCache.CachedAnchor getCachedAnchor(AnchorGUIDCache cache,
+                                                         String          elementGUID)
+    {
+        return cache.getCachedAnchor(elementGUID, false, false, null);
+    }
+
+
+    /**
+     * Return a relationship between two entities.
+     *
+     * @param end1GUID guid of end 1
+     * @param end2GUID guid of end 2
+     * @return relationship
+     */
+    private Relationship getRelationship(String end1GUID,
+                                         String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+        EntityProxy  end1         = new EntityProxy();
+        EntityProxy  end2         = new EntityProxy();
+
+        end1.setGUID(end1GUID);
+        end2.setGUID(end2GUID);
+
+        relationship.setGUID(end1GUID + "-" + end2GUID);
+        relationship.setEntityOneProxy(end1);
+        relationship.setEntityTwoProxy(end2);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return an entity.
+     *
+     * @param guid unique identifier
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Return a classification.
+     *
+     * @param name classification name
+     * @return classification
+     */
+    private Classification getClassification(String name)
+    {
+        Classification classification = new Classification();
+
+        classification.setName(name);
+
+        return classification;
+    }
+}
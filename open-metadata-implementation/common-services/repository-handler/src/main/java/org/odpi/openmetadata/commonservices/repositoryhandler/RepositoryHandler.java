@@ -25,12 +25,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * RepositoryHandler issues common calls to the open metadata repository to retrieve and store metadata.  It converts the
  * repository service exceptions into access service exceptions.  It is also responsible for validating provenance
  * and ensuring elements are only returned if they have appropriate effectivity dates.  If no effectivity date is passed as a parameter,
  * then the time is assumed to be now. If a null effectivity date is supplied then it is assumed to be "any".
+ * While it is processing a REST call, the entities and relationships it reads are held in a RepositoryRequestCache so that
+ * repeated reads of the same instances during the call do not go back to the repository.  The number of reads served from
+ * these caches is logged to the audit log periodically.
  */
 public class RepositoryHandler
 {
@@ -44,6 +48,11 @@ public class RepositoryHandler
     private final int                     maxPageSize;
     private final AuditLog                auditLog;
 
+    static final long                     requestCacheStatisticsInterval = 100000L;
+
+    private final AtomicLong              requestCacheHitCount  = new AtomicLong(0);
+    private final AtomicLong              requestCacheMissCount = new AtomicLong(0);
+
     private static final Logger log = LoggerFactory.getLogger(RepositoryHandler.class);
 
 
@@ -131,7 +140,7 @@ public class RepositoryHandler
 
         try
         {
-            EntityDetail entity = metadataCollection.getEntityDetail(userId, guid);
+            EntityDetail entity = this.getEntityDetail(userId, guid);
 
             if (entity != null)
             {
@@ -733,6 +742,8 @@ public class RepositoryHandler
 
             try
             {
+                this.invalidateRequestCache(entityGUID);
+
                 EntityDetail newEntity = metadataCollection.updateEntityProperties(userId, entityGUID, newProperties);
 
                 if (newEntity == null)
@@ -1223,6 +1234,8 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.invalidateRequestCache(entityHeader.getGUID());
+
             EntityDetail newEntity = metadataCollection.updateEntityProperties(userId, entityHeader.getGUID(), properties);
 
             if (newEntity == null)
@@ -1322,6 +1335,8 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.invalidateRequestCache(entityGUID);
+
             EntityDetail newEntity = metadataCollection.updateEntityStatus(userId, entityGUID, instanceStatus);
 
             if (newEntity == null)
@@ -1412,6 +1427,8 @@ public class RepositoryHandler
             // create a proxy representation to allow classification of entities incoming from other metadata collections
             EntityProxy entityProxy = repositoryHelper.getNewEntityProxy(userId, entityDetail);
 
+            this.invalidateRequestCache(entityProxy.getGUID());
+
             Classification newClassification = metadataCollection.classifyEntity(userId,
                                                                                  entityProxy,
                                                                                  classificationTypeName,
@@ -1618,6 +1635,8 @@ public class RepositoryHandler
 
                 EntityProxy entityProxy = repositoryHelper.getNewEntityProxy(userId, entityDetail);
 
+                this.invalidateRequestCache(entityProxy.getGUID());
+
                 Classification newClassification = metadataCollection.updateEntityClassification(userId,
                                                                                                  entityProxy,
                                                                                                  classificationTypeName,
@@ -1767,6 +1786,8 @@ public class RepositoryHandler
                 // create a proxy representation to allow declassification of entities incoming from other metadata collections
                 EntityProxy entityProxy = repositoryHelper.getNewEntityProxy(userId, entityDetail);
 
+                this.invalidateRequestCache(entityProxy.getGUID());
+
                 Classification removedClassification = metadataCollection.declassifyEntity(userId, entityProxy, classificationTypeName);
 
                 if (removedClassification == null)
@@ -2088,6 +2109,8 @@ public class RepositoryHandler
 
         try
         {
+            this.invalidateRequestCache(obsoleteEntityGUID);
+
             metadataCollection.deleteEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
@@ -2134,6 +2157,8 @@ public class RepositoryHandler
 
         try
         {
+            this.invalidateRequestCache(obsoleteEntityGUID);
+
             metadataCollection.purgeEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
 
             auditLog.logMessage(methodName,
@@ -2177,6 +2202,8 @@ public class RepositoryHandler
 
         try
         {
+            this.invalidateRequestCache(deletedEntityGUID);
+
             EntityDetail entity = metadataCollection.restoreEntity(userId, deletedEntityGUID);
 
             if (entity != null)
@@ -3100,7 +3127,7 @@ public class RepositoryHandler
 
         try
         {
-            EntityDetail entity = metadataCollection.getEntityDetail(userId, guid);
+            EntityDetail entity = this.getEntityDetail(userId, guid);
 
             if ((entity == null) || (! this.isCorrectEffectiveTime(entity.getProperties(), effectiveTime)))
             {
@@ -4177,15 +4204,13 @@ public class RepositoryHandler
 
                     try
                     {
-                        List<Relationship> retrievedRelationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                                                 retrievingEntity.getGUID(),
-                                                                                                                 relationshipTypeGUID,
-                                                                                                                 startingFrom,
-                                                                                                                 null,
-                                                                                                                 null,
-                                                                                                                 sequencingPropertyName,
-                                                                                                                 sequencingOrder,
-                                                                                                                 pageSize);
+                        List<Relationship> retrievedRelationships = this.getRelationshipsForEntity(userId,
+                                                                                                   retrievingEntity.getGUID(),
+                                                                                                   relationshipTypeGUID,
+                                                                                                   startingFrom,
+                                                                                                   sequencingPropertyName,
+                                                                                                   sequencingOrder,
+                                                                                                   pageSize);
 
                         accumulator.addRelationships(startingProxy, retrievingEntity.getGUID(), filterRelationshipsByEntityEnd(retrievedRelationships, retrievingEntity, attachmentEntityEnd, forDuplicateProcessing));
                     }
@@ -4207,15 +4232,13 @@ public class RepositoryHandler
         {
             try
             {
-                List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                                startingEntity.getGUID(),
-                                                                                                relationshipTypeGUID,
-                                                                                                startingFrom,
-                                                                                                null,
-                                                                                                null,
-                                                                                                sequencingPropertyName,
-                                                                                                sequencingOrder,
-                                                                                                pageSize);
+                List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                                  startingEntity.getGUID(),
+                                                                                  relationshipTypeGUID,
+                                                                                  startingFrom,
+                                                                                  sequencingPropertyName,
+                                                                                  sequencingOrder,
+                                                                                  pageSize);
 
                 if ((relationships == null) || (relationships.isEmpty()))
                 {
@@ -5140,6 +5163,8 @@ public class RepositoryHandler
 
         try
         {
+            this.invalidateRequestCache(null);
+
             if (externalSourceGUID == null)
             {
                 return metadataCollection.addRelationship(userId,
@@ -5385,6 +5410,8 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.invalidateRequestCache(null);
+
             metadataCollection.deleteRelationship(userId,
                                                   relationship.getType().getTypeDefGUID(),
                                                   relationship.getType().getTypeDefName(),
@@ -5453,6 +5480,8 @@ public class RepositoryHandler
 
         try
         {
+            this.invalidateRequestCache(null);
+
             metadataCollection.purgeRelationship(userId,
                                                  relationshipTypeGUID,
                                                  relationshipTypeName,
@@ -5494,6 +5523,8 @@ public class RepositoryHandler
         {
             // check each end is active prior to attempting the restore
 
+            this.invalidateRequestCache(null);
+
             Relationship relationship = metadataCollection.restoreRelationship(userId, deletedRelationshipGUID);
             if (relationship != null)
             {
@@ -5700,6 +5731,8 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.invalidateRequestCache(null);
+
             return metadataCollection.updateRelationshipProperties(userId, relationship.getGUID(), relationshipProperties);
         }
         catch (UserNotAuthorizedException error)
@@ -5816,6 +5849,8 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.invalidateRequestCache(null);
+
             metadataCollection.updateRelationshipStatus(userId, relationshipGUID, instanceStatus);
         }
         catch (UserNotAuthorizedException | PropertyServerException error)
@@ -6120,6 +6155,214 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Retrieve an entity, using the copy already read during the current REST call if there is one.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException the guid is null
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException there is a problem with the repository
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException the entity is not known
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException only a proxy is stored for the entity
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException the user is not authorized
+     */
+    private EntityDetail getEntityDetail(String userId,
+                                         String guid) throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
+                                                             org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException,
+                                                             org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException,
+                                                             org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException,
+                                                             org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException
+    {
+        RepositoryRequestCache requestCache = RepositoryRequestCache.getRequestCache();
+
+        if (requestCache != null)
+        {
+            EntityDetail entity = requestCache.getEntity(metadataCollection, userId, guid);
+
+            if (entity != null)
+            {
+                this.countRequestCacheRead(true);
+                return entity;
+            }
+
+            this.countRequestCacheRead(false);
+        }
+
+        EntityDetail entity = metadataCollection.getEntityDetail(userId, guid);
+
+        if (requestCache != null)
+        {
+            requestCache.putEntity(metadataCollection, userId, guid, entity);
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Retrieve a page of the current relationships for an entity, using the page already read during the current REST call if there is one.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationship, or null for all types
+     * @param fromRelationshipElement starting element of the page
+     * @param sequencingProperty property used to order the results
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of results
+     * @return list of relationships (may be null)
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException a parameter is invalid
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException the relationship type is not known
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException there is a problem with the repository
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException the entity is not known
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.PropertyErrorException the sequencing property is not valid
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException the paging parameters are not valid
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException the repository does not support the request
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException the user is not authorized
+     */
+    private List<Relationship> getRelationshipsForEntity(String          userId,
+                                                         String          entityGUID,
+                                                         String          relationshipTypeGUID,
+                                                         int             fromRelationshipElement,
+                                                         String          sequencingProperty,
+                                                         SequencingOrder sequencingOrder,
+                                                         int             pageSize) throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.PropertyErrorException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException,
+                                                                                          org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException
+    {
+        RepositoryRequestCache requestCache = RepositoryRequestCache.getRequestCache();
+
+        if (requestCache != null)
+        {
+            List<Relationship> relationships = requestCache.getRelationships(metadataCollection,
+                                                                             userId,
+                                                                             entityGUID,
+                                                                             relationshipTypeGUID,
+                                                                             fromRelationshipElement,
+                                                                             sequencingProperty,
+                                                                             sequencingOrder,
+                                                                             pageSize);
+
+            if (relationships != null)
+            {
+                this.countRequestCacheRead(true);
+                return relationships;
+            }
+
+            this.countRequestCacheRead(false);
+        }
+
+        List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
+                                                                                        entityGUID,
+                                                                                        relationshipTypeGUID,
+                                                                                        fromRelationshipElement,
+                                                                                        null,
+                                                                                        null,
+                                                                                        sequencingProperty,
+                                                                                        sequencingOrder,
+                                                                                        pageSize);
+
+        if (requestCache != null)
+        {
+            requestCache.putRelationships(metadataCollection,
+                                          userId,
+                                          entityGUID,
+                                          relationshipTypeGUID,
+                                          fromRelationshipElement,
+                                          sequencingProperty,
+                                          sequencingOrder,
+                                          pageSize,
+                                          relationships);
+        }
+
+        return relationships;
+    }
+
+
+    /**
+     * Remove the instances affected by a change from the cache of the current REST call.
+     *
+     * @param entityGUID unique identifier of the changed entity, or null if a relationship is changing
+     */
+    private void invalidateRequestCache(String entityGUID)
+    {
+        RepositoryRequestCache requestCache = RepositoryRequestCache.getRequestCache();
+
+        if (requestCache != null)
+        {
+            requestCache.invalidate(entityGUID);
+        }
+    }
+
+
+    /**
+     * Count a read that used the cache of the current REST call and periodically log the counts.
+     *
+     * @param cacheHit was the result in the cache
+     */
+    private void countRequestCacheRead(boolean cacheHit)
+    {
+        long readCount;
+
+        if (cacheHit)
+        {
+            readCount = requestCacheHitCount.incrementAndGet() + requestCacheMissCount.get();
+        }
+        else
+        {
+            readCount = requestCacheMissCount.incrementAndGet() + requestCacheHitCount.get();
+        }
+
+        if (readCount % requestCacheStatisticsInterval == 0)
+        {
+            this.logRequestCacheStatistics();
+        }
+    }
+
+
+    /**
+     * Log the number of reads that were served from the caches of the REST calls and the number that went to the repository.
+     */
+    public void logRequestCacheStatistics()
+    {
+        final String actionDescription = "Log request cache statistics";
+
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                RepositoryHandlerAuditCode.REQUEST_CACHE_STATISTICS.getMessageDefinition(Long.toString(requestCacheHitCount.get()),
+                                                                                                         Long.toString(requestCacheMissCount.get())));
+        }
+    }
+
+
+    /**
+     * Return the number of repository calls that were avoided because the result had already been read during the same REST call.
+     *
+     * @return count
+     */
+    public long getRequestCacheHitCount()
+    {
+        return requestCacheHitCount.get();
+    }
+
+
+    /**
+     * Return the number of reads that had to call the repository because the result had not been read during the same REST call.
+     *
+     * @return count
+     */
+    public long getRequestCacheMissCount()
+    {
+        return requestCacheMissCount.get();
+    }
+
+
     /**
      * Return the metadata collection for the repository.  This is used by services that need function that is not
      * supported by this class.
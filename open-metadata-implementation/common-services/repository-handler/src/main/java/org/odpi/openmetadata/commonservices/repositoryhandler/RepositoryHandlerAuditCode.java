@@ -96,6 +96,14 @@ public enum RepositoryHandlerAuditCode implements AuditLogMessageSet
                           "The system is unable to process the request because none of the members of the connected cohort(s) support this function.",
                           "Add an Egeria native metadata repository to one of the connected cohorts.  This will provide the support that you need."),
 
+    REQUEST_CACHE_STATISTICS("OMAG-REPOSITORY-HANDLER-0011",
+                             OMRSAuditLogRecordSeverity.PERFMON,
+                             "The repository handler has read {0} instances from the caches of the REST calls it has processed and {1} instances from the repository",
+                             "The entities and relationships read while processing a REST call are cached until the call returns.  This message reports how many " +
+                                     "repository calls the cache has saved since the service started.  It is logged periodically.",
+                             "No specific action is required.  A low proportion of cached reads means that the REST calls of this service rarely read the same " +
+                                     "instance twice."),
+
     ;
 
     private final String                     logMessageId;
@@ -0,0 +1,315 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.commonservices.ffdc.RESTCallScope;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * RepositoryRequestCache holds the entities and relationships that RepositoryHandler has read while processing a single
+ * REST call.  A request often reads the same entity several times as it validates the request, checks anchors and security and
+ * converts the results.  The cache lives in the RESTCallScope of the call so it is discarded when the call returns.
+ * Any change made through a RepositoryHandler during the call removes the affected entries.  The number of entries is bounded
+ * so that a request that reads a large amount of metadata does not hold it all in memory.
+ */
+class RepositoryRequestCache
+{
+    private static final String scopeAttributeName = RepositoryRequestCache.class.getName();
+
+    static final int maxCachedEntities      = 500;
+    static final int maxCachedRelationships = 200;
+
+    /*
+     * The results are kept separately for each metadata collection since a request may use repository handlers
+     * connected to different repositories.
+     */
+    private final Map<OMRSMetadataCollection, CachedReads> cachedReads = new IdentityHashMap<>();
+
+
+    /**
+     * Return the cache for the REST call running on this thread.
+     *
+     * @return cache or null if the thread is not processing a REST call
+     */
+    static RepositoryRequestCache getRequestCache()
+    {
+        Object requestCache = RESTCallScope.getAttribute(scopeAttributeName);
+
+        if (requestCache instanceof RepositoryRequestCache)
+        {
+            return (RepositoryRequestCache) requestCache;
+        }
+
+        if (RESTCallScope.isActive())
+        {
+            RepositoryRequestCache newRequestCache = new RepositoryRequestCache();
+
+            RESTCallScope.setAttribute(scopeAttributeName, newRequestCache);
+
+            return newRequestCache;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return a cached entity.
+     *
+     * @param metadataCollection repository that the entity is read from
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return copy of the cached entity or null if it has not been read
+     */
+    EntityDetail getEntity(OMRSMetadataCollection metadataCollection,
+                           String                 userId,
+                           String                 guid)
+    {
+        CachedReads reads = cachedReads.get(metadataCollection);
+
+        if (reads != null)
+        {
+            EntityDetail entity = reads.entities.get(getEntityKey(userId, guid));
+
+            if (entity != null)
+            {
+                return new EntityDetail(entity);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save an entity that has been read.
+     *
+     * @param metadataCollection repository that the entity was read from
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @param entity retrieved entity
+     */
+    void putEntity(OMRSMetadataCollection metadataCollection,
+                   String                 userId,
+                   String                 guid,
+                   EntityDetail           entity)
+    {
+        if (entity != null)
+        {
+            getCachedReads(metadataCollection).entities.put(getEntityKey(userId, guid), new EntityDetail(entity));
+        }
+    }
+
+
+    /**
+     * Return a cached page of relationships for an entity.
+     *
+     * @param metadataCollection repository that the relationships are read from
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationship, or null for all types
+     * @param fromRelationshipElement starting element of the page
+     * @param sequencingProperty property used to order the results
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of results
+     * @return copy of the cached list or null if the relationships have not been read
+     */
+    List<Relationship> getRelationships(OMRSMetadataCollection metadataCollection,
+                                        String                 userId,
+                                        String                 entityGUID,
+                                        String                 relationshipTypeGUID,
+                                        int                    fromRelationshipElement,
+                                        String                 sequencingProperty,
+                                        SequencingOrder        sequencingOrder,
+                                        int                    pageSize)
+    {
+        CachedReads reads = cachedReads.get(metadataCollection);
+
+        if (reads != null)
+        {
+            String key = getRelationshipsKey(userId, entityGUID, relationshipTypeGUID, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+
+            if (reads.relationships.containsKey(key))
+            {
+                List<Relationship> relationships = reads.relationships.get(key);
+
+                if (relationships == null)
+                {
+                    return new ArrayList<>();
+                }
+
+                return new ArrayList<>(relationships);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save a page of relationships that has been read for an entity.
+     *
+     * @param metadataCollection repository that the relationships were read from
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationship, or null for all types
+     * @param fromRelationshipElement starting element of the page
+     * @param sequencingProperty property used to order the results
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of results
+     * @param relationships retrieved relationships (may be null)
+     */
+    void putRelationships(OMRSMetadataCollection metadataCollection,
+                          String                 userId,
+                          String                 entityGUID,
+                          String                 relationshipTypeGUID,
+                          int                    fromRelationshipElement,
+                          String                 sequencingProperty,
+                          SequencingOrder        sequencingOrder,
+                          int                    pageSize,
+                          List<Relationship>     relationships)
+    {
+        String key = getRelationshipsKey(userId, entityGUID, relationshipTypeGUID, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+
+        if (relationships == null)
+        {
+            getCachedReads(metadataCollection).relationships.put(key, null);
+        }
+        else
+        {
+            getCachedReads(metadataCollection).relationships.put(key, new ArrayList<>(relationships));
+        }
+    }
+
+
+    /**
+     * Remove the entries affected by a change to an entity.  The relationships are all removed because they hold
+     * proxies for the entities at each end that include their classifications.
+     *
+     * @param entityGUID unique identifier of the changed entity, or null if only relationships have changed
+     */
+    void invalidate(String entityGUID)
+    {
+        for (CachedReads reads : cachedReads.values())
+        {
+            if (entityGUID != null)
+            {
+                reads.entities.keySet().removeIf(key -> key.endsWith(":" + entityGUID));
+            }
+
+            reads.relationships.clear();
+        }
+    }
+
+
+    /**
+     * Return the cached reads for a metadata collection, creating them if needed.
+     *
+     * @param metadataCollection repository
+     * @return cached reads
+     */
+    private CachedReads getCachedReads(OMRSMetadataCollection metadataCollection)
+    {
+        return cachedReads.computeIfAbsent(metadataCollection, newMetadataCollection -> new CachedReads());
+    }
+
+
+    /**
+     * Return the key for an entity.  The user is part of the key since the repository may return different results
+     * to different users.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return key
+     */
+    private String getEntityKey(String userId,
+                                String guid)
+    {
+        return userId + ":" + guid;
+    }
+
+
+    /**
+     * Return the key for a page of relationships.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationship
+     * @param fromRelationshipElement starting element of the page
+     * @param sequencingProperty property used to order the results
+     * @param sequencingOrder order of the results
+     * @param pageSize maximum number of results
+     * @return key
+     */
+    private String getRelationshipsKey(String          userId,
+                                       String          entityGUID,
+                                       String          relationshipTypeGUID,
+                                       int             fromRelationshipElement,
+                                       String          sequencingProperty,
+                                       SequencingOrder sequencingOrder,
+                                       int             pageSize)
+    {
+        return userId + ":" + entityGUID + ":" + relationshipTypeGUID + ":" + fromRelationshipElement + ":" +
+                       sequencingProperty + ":" + sequencingOrder + ":" + pageSize;
+    }
+
+
+    /**
+     * CachedReads holds the entities and relationships read from one metadata collection.  The least recently used entries
+     * are dropped when the limits are reached.
+     */
+    private static class CachedReads
+    {
+        private final Map<String, EntityDetail>       entities      = new BoundedMap<>(maxCachedEntities);
+        private final Map<String, List<Relationship>> relationships = new BoundedMap<>(maxCachedRelationships);
+    }
+
+
+    /**
+     * BoundedMap is a map that drops its least recently used entry once it is full.
+     *
+     * @param <V> type of the values
+     */
+    private static class BoundedMap<V> extends LinkedHashMap<String, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+
+        /**
+         * Constructor.
+         *
+         * @param maxSize maximum number of entries
+         */
+        BoundedMap(int maxSize)
+        {
+            super(16, 0.75f, true);
+
+            this.maxSize = maxSize;
+        }
+
+
+        /**
+         * Drop the eldest entry once the map is full.
+         *
+         * @param eldest least recently used entry
+         * @return true if it should be removed
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest)
+        {
+            return size() > maxSize;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.commonservices.ffdc.RESTCallScope;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Verify that RepositoryHandler only reads an entity once during a REST call and reports how many reads came from the cache.
+ */
+public class RepositoryHandlerRequestCacheTest
+{
+    private static final String userId     = "testUser";
+    private static final String entityGUID = "testEntity";
+    private static final String methodName = "testMethod";
+
+    private final List<AuditLogMessageDefinition> auditMessages = Collections.synchronizedList(new ArrayList<>());
+
+
+    @AfterMethod
+    public void clearScope()
+    {
+        RESTCallScope.clear();
+        auditMessages.clear();
+    }
+
+
+    @Test
+    public void testReadsCachedDuringRESTCall() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection);
+
+        RESTCallScope.begin();
+
+        assertNotNull(repositoryHandler.validateEntityGUID(userId, entityGUID, "guid", null, methodName));
+        assertNotNull(repositoryHandler.validateEntityGUID(userId, entityGUID, "guid", null, methodName));
+
+        RESTCallScope.end();
+
+        verify(metadataCollection, times(1)).getEntityDetail(userId, entityGUID);
+        assertEquals(repositoryHandler.getRequestCacheHitCount(), 1L);
+        assertEquals(repositoryHandler.getRequestCacheMissCount(), 1L);
+
+        /*
+         * Outside a REST call every read goes to the repository and is not counted.
+         */
+        repositoryHandler.validateEntityGUID(userId, entityGUID, "guid", null, methodName);
+
+        verify(metadataCollection, times(2)).getEntityDetail(userId, entityGUID);
+        assertEquals(repositoryHandler.getRequestCacheHitCount(), 1L);
+        assertEquals(repositoryHandler.getRequestCacheMissCount(), 1L);
+    }
+
+
+    @Test
+    public void testStatisticsLogged() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection);
+
+        repositoryHandler.logRequestCacheStatistics();
+
+        assertEquals(getStatisticsMessages().size(), 1);
+
+        RESTCallScope.begin();
+
+        for (long i = 0; i < RepositoryHandler.requestCacheStatisticsInterval; i++)
+        {
+            repositoryHandler.validateEntityGUID(userId, entityGUID, "guid", null, methodName);
+        }
+
+        RESTCallScope.end();
+
+        List<AuditLogMessageDefinition> statisticsMessages = getStatisticsMessages();
+
+        assertEquals(statisticsMessages.size(), 2);
+        assertEquals(statisticsMessages.get(1).getMessageParams()[0], Long.toString(RepositoryHandler.requestCacheStatisticsInterval - 1));
+        assertEquals(statisticsMessages.get(1).getMessageParams()[1], "1");
+    }
+
+
+    /**
+     * Return a metadata collection that holds one entity.
+     *
+     * @return mock metadata collection
+     * @throws Exception not thrown by the mock
+     */
+    private OMRSMetadataCollection getMetadataCollection() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+        EntityDetail           entity             = new EntityDetail();
+
+        entity.setGUID(entityGUID);
+
+        when(metadataCollection.getEntityDetail(userId, entityGUID)).thenReturn(entity);
+
+        return metadataCollection;
+    }
+
+
+    /**
+     * Return a repository handler that logs to the test's audit log.
+     *
+     * @param metadataCollection repository
+     * @return repository handler
+     */
+    private RepositoryHandler getRepositoryHandler(OMRSMetadataCollection metadataCollection)
+    {
+        AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, "Test", "Test", null)
+        {
+            @Override
+            public void logMessage(String                    actionDescription,
+                                   AuditLogMessageDefinition messageDefinition)
+            {
+                auditMessages.add(messageDefinition);
+            }
+        };
+
+        return new RepositoryHandler(auditLog,
+                                     null,
+                                     new RepositoryErrorHandler(null, "TestService", "TestServer", auditLog),
+                                     metadataCollection,
+                                     100);
+    }
+
+
+    /**
+     * Return the request cache statistics that have been logged.
+     *
+     * @return messages
+     */
+    private List<AuditLogMessageDefinition> getStatisticsMessages()
+    {
+        List<AuditLogMessageDefinition> statisticsMessages = new ArrayList<>();
+        String                          messageId          = RepositoryHandlerAuditCode.REQUEST_CACHE_STATISTICS.getMessageDefinition().getMessageId();
+
+        synchronized (auditMessages)
+        {
+            for (AuditLogMessageDefinition messageDefinition : auditMessages)
+            {
+                if (messageId.equals(messageDefinition.getMessageId()))
+                {
+                    statisticsMessages.add(messageDefinition);
+                }
+            }
+        }
+
+        return statisticsMessages;
+    }
+}
@@ -95,7 +95,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, methodName, annotationTypes, discoveryServiceCache);
+            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, methodName, annotationTypes, discoveryServiceCache, false);
         }
 
         return null;
@@ -147,7 +147,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                 analysisParameters,
                                                 methodName + ": " + assetGUID,
                                                 annotationTypes,
-                                                discoveryServiceCache);
+                                                discoveryServiceCache,
+                                                true);
                         }
                     }
 
@@ -170,7 +171,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service using the governance engine's executor and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param governanceRequestType governance request type to use when calling the governance engine
@@ -229,8 +230,11 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date());
-            thread.start();
+            super.startGovernanceService(discoveryServiceHandler,
+                                         governanceRequestType,
+                                         governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date(),
+                                         true,
+                                         methodName);
 
             return discoveryServiceHandler;
         }
@@ -240,13 +244,15 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Run an instance of a discovery service using the governance engine's executor.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
      * @param suppliedAnalysisParameters parameters for the discovery
+     * @param firstAnalysisStep name of the first analysis step for the discovery service
      * @param annotationTypes types of annotations that can be returned
      * @param governanceServiceCache factory for discovery services.
+     * @param waitForSpace should the caller wait if the executor's queue is full rather than have the request rejected
      *
      * @return unique identifier for this request.
      *
@@ -259,10 +265,13 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                        Map<String, String>    suppliedAnalysisParameters,
                                        String                 firstAnalysisStep,
                                        List<String>           annotationTypes,
-                                       GovernanceServiceCache governanceServiceCache) throws InvalidParameterException,
-                                                                                             UserNotAuthorizedException,
-                                                                                             PropertyServerException
+                                       GovernanceServiceCache governanceServiceCache,
+                                       boolean                waitForSpace) throws InvalidParameterException,
+                                                                                   UserNotAuthorizedException,
+                                                                                   PropertyServerException
     {
+        final String methodName = "runDiscoveryService";
+
         DiscoveryServiceHandler discoveryServiceHandler = this.getDiscoveryServiceHandler(assetGUID,
                                                                                           discoveryRequestType,
                                                                                           suppliedAnalysisParameters,
@@ -271,8 +280,11 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date());
-        thread.start();
+        super.startGovernanceService(discoveryServiceHandler,
+                                     discoveryRequestType,
+                                     governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date(),
+                                     waitForSpace,
+                                     methodName);
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
@@ -91,7 +91,7 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service using the governance engine's executor and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param governanceRequestType governance request type to use when calling the governance engine
@@ -145,8 +145,11 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceListenerManager,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date());
-            thread.start();
+            super.startGovernanceService(governanceActionServiceHandler,
+                                         governanceRequestType,
+                                         governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date(),
+                                         true,
+                                         methodName);
 
             return governanceActionServiceHandler;
         }
@@ -63,7 +63,7 @@ public class RepositoryGovernanceEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service using the governance engine's executor and return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param governanceRequestType governance request type to use when calling the governance engine
@@ -102,8 +102,11 @@ public class RepositoryGovernanceEngineHandler extends GovernanceEngineHandler
                                                                                                                                governanceActionGUID,
                                                                                                                                governanceServiceCache);
 
-            Thread thread = new Thread(repositoryGovernanceServiceHandler, governanceServiceCache.getGovernanceServiceName() + new Date());
-            thread.start();
+            super.startGovernanceService(repositoryGovernanceServiceHandler,
+                                         governanceRequestType,
+                                         governanceServiceCache.getGovernanceServiceName() + new Date(),
+                                         true,
+                                         methodName);
 
             return repositoryGovernanceServiceHandler;
         }
@@ -2,17 +2,26 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.commonservices.ocf.metadatamanagement.admin;
 
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminAuditCode;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.commonservices.generichandlers.AnchorGUIDCache;
 import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInstanceException;
 import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.ffdc.OCFMetadataAuditCode;
 import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.server.OCFMetadataInstanceHandler;
 import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.server.OCFMetadataServicesInstance;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.List;
+
 
 /**
  * OCFMetadataOperationalServices initializes the REST Services that support the Open Connector Framework (OCF)
- * connected asset properties calls.
+ * connected asset properties calls.  Since these services start before the access services, they also set up the
+ * anchor cache that is shared by the generic handlers of the server.
  */
 public class OCFMetadataOperationalServices
 {
@@ -25,16 +34,22 @@ public class OCFMetadataOperationalServices
      *
      * @param serverName this server
      * @param repositoryConnector connector to repository
+     * @param enterpriseTopicConnector events from the cohort used to keep the anchor cache up to date - null means no anchor cache
+     * @param accessServiceConfigList configured access services whose AnchorCacheSize option sets the size of the anchor cache
      * @param auditLog logging destination
      * @param localServerUserId userId for server initiated requests
      * @param maxPageSize max number of results to return on single request.
      * @throws NewInstanceException unable to initialize
+     * @throws OMAGConfigurationErrorException the AnchorCacheSize option is not a number
      */
-    public OCFMetadataOperationalServices(String                   serverName,
-                                          OMRSRepositoryConnector  repositoryConnector,
-                                          AuditLog                 auditLog,
-                                          String                   localServerUserId,
-                                          int                      maxPageSize) throws NewInstanceException
+    public OCFMetadataOperationalServices(String                    serverName,
+                                          OMRSRepositoryConnector   repositoryConnector,
+                                          OMRSTopicConnector        enterpriseTopicConnector,
+                                          List<AccessServiceConfig> accessServiceConfigList,
+                                          AuditLog                  auditLog,
+                                          String                    localServerUserId,
+                                          int                       maxPageSize) throws NewInstanceException,
+                                                                                        OMAGConfigurationErrorException
     {
         this.serverName = serverName;
         this.auditLog = auditLog;
@@ -43,6 +58,11 @@ public class OCFMetadataOperationalServices
 
         auditLog.logMessage(actionDescription, OCFMetadataAuditCode.SERVICE_INITIALIZING.getMessageDefinition());
 
+        /*
+         * The handlers pick up the anchor cache when they are created so it is set up first.
+         */
+        this.initializeAnchorGUIDCache(enterpriseTopicConnector, accessServiceConfigList);
+
         try
         {
             auditLog.logMessage(actionDescription, OCFMetadataAuditCode.SERVICE_INITIALIZED.getMessageDefinition(serverName));
@@ -62,6 +82,83 @@ public class OCFMetadataOperationalServices
     }
 
 
+    /**
+     * Set up the cache of anchors used by the generic handlers of this server.  The cache is kept up to date from the
+     * events passed by the enterprise topic, so there is no cache if the server does not have one.  The size of the cache is the
+     * largest AnchorCacheSize option set on the access services.  A size of zero turns the cache off.
+     *
+     * @param enterpriseTopicConnector events from the cohort
+     * @param accessServiceConfigList configured access services
+     * @throws OMAGConfigurationErrorException the AnchorCacheSize option is not a number
+     */
+    private void initializeAnchorGUIDCache(OMRSTopicConnector        enterpriseTopicConnector,
+                                           List<AccessServiceConfig> accessServiceConfigList) throws OMAGConfigurationErrorException
+    {
+        final String methodName             = "initializeAnchorGUIDCache";
+        final String anchorCacheServiceName = "Anchor Cache";
+
+        if (enterpriseTopicConnector == null)
+        {
+            AnchorGUIDCache.removeAnchorGUIDCache(serverName);
+            return;
+        }
+
+        Integer anchorCacheSize = null;
+
+        if (accessServiceConfigList != null)
+        {
+            for (AccessServiceConfig accessServiceConfig : accessServiceConfigList)
+            {
+                if ((accessServiceConfig != null) && (accessServiceConfig.getAccessServiceOptions() != null))
+                {
+                    Object optionValue = accessServiceConfig.getAccessServiceOptions().get(AnchorGUIDCache.ANCHOR_CACHE_SIZE_OPTION);
+
+                    if (optionValue != null)
+                    {
+                        try
+                        {
+                            int optionCacheSize = Integer.parseInt(optionValue.toString());
+
+                            if ((anchorCacheSize == null) || (optionCacheSize > anchorCacheSize))
+                            {
+                                anchorCacheSize = optionCacheSize;
+                            }
+                        }
+                        catch (NumberFormatException error)
+                        {
+                            auditLog.logMessage(methodName,
+                                                OMAGAdminAuditCode.BAD_CONFIG_PROPERTY.getMessageDefinition(accessServiceConfig.getAccessServiceFullName(),
+                                                                                                            optionValue.toString(),
+                                                                                                            AnchorGUIDCache.ANCHOR_CACHE_SIZE_OPTION));
+
+                            throw new OMAGConfigurationErrorException(OMAGAdminErrorCode.BAD_CONFIG_PROPERTIES.getMessageDefinition(accessServiceConfig.getAccessServiceFullName(),
+                                                                                                                                    optionValue.toString(),
+                                                                                                                                    AnchorGUIDCache.ANCHOR_CACHE_SIZE_OPTION,
+                                                                                                                                    error.getClass().getName(),
+                                                                                                                                    error.getMessage()),
+                                                                      this.getClass().getName(),
+                                                                      methodName,
+                                                                      error);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (anchorCacheSize == null)
+        {
+            anchorCacheSize = AnchorGUIDCache.DEFAULT_ANCHOR_CACHE_SIZE;
+        }
+
+        AnchorGUIDCache anchorGUIDCache = AnchorGUIDCache.createAnchorGUIDCache(serverName, anchorCacheSize, anchorCacheServiceName, auditLog);
+
+        if (anchorGUIDCache != null)
+        {
+            enterpriseTopicConnector.registerListener(anchorGUIDCache, anchorCacheServiceName);
+        }
+    }
+
+
     /**
      * Shutdown the service.
      */
@@ -72,5 +169,7 @@ public class OCFMetadataOperationalServices
         this.auditLog.logMessage(actionDescription, OCFMetadataAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
 
         new OCFMetadataInstanceHandler().removeServerServiceInstance(serverName);
+
+        AnchorGUIDCache.removeAnchorGUIDCache(serverName);
     }
 }
@@ -241,6 +241,22 @@ public enum EngineHostServicesErrorCode implements ExceptionMessageSet
                                      "This is a configuration error.  Update the configuration for the engine host service to ensure governance engines are correctly " +
                                              "matched to the engine services.  Once the cause is resolved, restart the server."),
 
+    GOVERNANCE_SERVICE_QUEUE_FULL(400, "ENGINE-HOST-SERVICES-400-025",
+                                  "Governance engine {0} in engine host server {1} is unable to accept a request of type {2} because its queue of {3} waiting governance services is full",
+                                  "The governance service is not run and an exception is returned to the caller.",
+                                  "Retry the request once the governance engine has worked through its queue.  If this happens regularly, " +
+                                          "increase the maxConcurrentServices or maxQueuedServices in the engine's configuration and restart the server."),
+
+    GOVERNANCE_SERVICE_QUEUE_WAIT_INTERRUPTED(400, "ENGINE-HOST-SERVICES-400-026",
+                                  "Governance engine {0} in engine host server {1} did not accept a request of type {2} because the caller was interrupted while waiting for space in its queue",
+                                  "The governance service is not run and an exception is returned to the caller.  The interrupt is passed on to the calling thread.",
+                                  "This normally happens when the caller, or the engine host server, is shutting down.  Retry the request if it is still needed."),
+
+    GOVERNANCE_ENGINE_SHUT_DOWN(400, "ENGINE-HOST-SERVICES-400-027",
+                                  "Governance engine {0} in engine host server {1} is unable to accept a request of type {2} because it has been shut down",
+                                  "The governance service is not run and an exception is returned to the caller.",
+                                  "Retry the request once the engine host server has been restarted."),
+
     NO_OMAS_SERVER_URL(400,"ENGINE-HOST-SERVICES-400-102",
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
                        "The engine service is not able to locate the metadata server to retrieve the configuration for " +
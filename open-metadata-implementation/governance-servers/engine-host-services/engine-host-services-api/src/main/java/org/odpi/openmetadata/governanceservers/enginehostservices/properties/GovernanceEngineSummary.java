@@ -31,6 +31,11 @@ public class GovernanceEngineSummary implements Serializable
     private String                 governanceEngineDescription = null;
     private GovernanceEngineStatus governanceEngineStatus      = null;
     private List<String>           governanceRequestTypes      = null;
+    private int                    runningServiceCount         = 0;
+    private int                    queuedServiceCount          = 0;
+    private long                   rejectedServiceCount        = 0L;
+    private int                    maxConcurrentServices       = 0;
+    private int                    maxQueuedServices           = 0;
 
 
     /**
@@ -57,6 +62,11 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            runningServiceCount = template.getRunningServiceCount();
+            queuedServiceCount = template.getQueuedServiceCount();
+            rejectedServiceCount = template.getRejectedServiceCount();
+            maxConcurrentServices = template.getMaxConcurrentServices();
+            maxQueuedServices = template.getMaxQueuedServices();
         }
     }
 
@@ -224,6 +234,116 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the number of governance services that are currently running in this governance engine.
+     *
+     * @return count
+     */
+    public int getRunningServiceCount()
+    {
+        return runningServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are currently running in this governance engine.
+     *
+     * @param runningServiceCount count
+     */
+    public void setRunningServiceCount(int runningServiceCount)
+    {
+        this.runningServiceCount = runningServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that are waiting for this governance engine to run them.
+     *
+     * @return count
+     */
+    public int getQueuedServiceCount()
+    {
+        return queuedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are waiting for this governance engine to run them.
+     *
+     * @param queuedServiceCount count
+     */
+    public void setQueuedServiceCount(int queuedServiceCount)
+    {
+        this.queuedServiceCount = queuedServiceCount;
+    }
+
+
+    /**
+     * Return the number of requests that have been rejected because the governance engine's queue was full.
+     *
+     * @return count
+     */
+    public long getRejectedServiceCount()
+    {
+        return rejectedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of requests that have been rejected because the governance engine's queue was full.
+     *
+     * @param rejectedServiceCount count
+     */
+    public void setRejectedServiceCount(long rejectedServiceCount)
+    {
+        this.rejectedServiceCount = rejectedServiceCount;
+    }
+
+
+    /**
+     * Return the maximum number of governance services that this governance engine runs at the same time.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that this governance engine runs at the same time.
+     *
+     * @param maxConcurrentServices count
+     */
+    public void setMaxConcurrentServices(int maxConcurrentServices)
+    {
+        this.maxConcurrentServices = maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the maximum number of governance services that can wait for this governance engine to run them.
+     *
+     * @return count
+     */
+    public int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that can wait for this governance engine to run them.
+     *
+     * @param maxQueuedServices count
+     */
+    public void setMaxQueuedServices(int maxQueuedServices)
+    {
+        this.maxQueuedServices = maxQueuedServices;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +360,11 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", runningServiceCount=" + runningServiceCount +
+                       ", queuedServiceCount=" + queuedServiceCount +
+                       ", rejectedServiceCount=" + rejectedServiceCount +
+                       ", maxConcurrentServices=" + maxConcurrentServices +
+                       ", maxQueuedServices=" + maxQueuedServices +
                        '}';
     }
 
@@ -268,7 +393,12 @@ public class GovernanceEngineSummary implements Serializable
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
                 Objects.equals(governanceEngineDescription, that.governanceEngineDescription) &&
                 governanceEngineStatus == that.governanceEngineStatus &&
-                Objects.equals(governanceRequestTypes, that.governanceRequestTypes);
+                Objects.equals(governanceRequestTypes, that.governanceRequestTypes) &&
+                runningServiceCount == that.runningServiceCount &&
+                queuedServiceCount == that.queuedServiceCount &&
+                rejectedServiceCount == that.rejectedServiceCount &&
+                maxConcurrentServices == that.maxConcurrentServices &&
+                maxQueuedServices == that.maxQueuedServices;
     }
 
 
@@ -281,6 +411,7 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           runningServiceCount, queuedServiceCount, rejectedServiceCount, maxConcurrentServices, maxQueuedServices);
    }
 }
@@ -51,6 +51,7 @@ public abstract class GovernanceEngineHandler
     private final GovernanceEngineConfigurationClient configurationClient;        /* Initialized in constructor */
 
     private final GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
+    private final GovernanceServiceExecutor  governanceServiceExecutor;          /* Initialized in constructor */
 
 
     /**
@@ -87,6 +88,7 @@ public abstract class GovernanceEngineHandler
         this.serverClient = serverClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+        this.governanceServiceExecutor = new GovernanceServiceExecutor(engineConfig, serverName);
     }
 
 
@@ -121,6 +123,11 @@ public abstract class GovernanceEngineHandler
         }
 
         mySummary.setGovernanceRequestTypes(governanceServiceLookupTable.getGovernanceRequestTypes());
+        mySummary.setRunningServiceCount(governanceServiceExecutor.getRunningCount());
+        mySummary.setQueuedServiceCount(governanceServiceExecutor.getQueuedCount());
+        mySummary.setRejectedServiceCount(governanceServiceExecutor.getRejectedCount());
+        mySummary.setMaxConcurrentServices(governanceServiceExecutor.getMaxConcurrentServices());
+        mySummary.setMaxQueuedServices(governanceServiceExecutor.getMaxQueuedServices());
         mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.ASSIGNED);
 
         if (governanceEngineGUID != null)
@@ -365,6 +372,27 @@ public abstract class GovernanceEngineHandler
     }
 
 
+    /**
+     * Pass a governance service to the governance engine's executor to run.  It runs as soon as one of the
+     * engine's threads is free.
+     *
+     * @param governanceServiceHandler handler for the governance service
+     * @param governanceRequestType governance request type - determines the priority of the request
+     * @param threadName name to give the thread while the governance service is running
+     * @param waitForSpace should the caller wait if the executor's queue is full rather than have the request rejected
+     * @param methodName calling method
+     * @throws PropertyServerException the executor's queue is full, the executor is shut down or the wait for space was interrupted
+     */
+    protected void startGovernanceService(GovernanceServiceHandler governanceServiceHandler,
+                                          String                   governanceRequestType,
+                                          String                   threadName,
+                                          boolean                  waitForSpace,
+                                          String                   methodName) throws PropertyServerException
+    {
+        governanceServiceExecutor.submit(governanceServiceHandler, governanceRequestType, threadName, waitForSpace, methodName);
+    }
+
+
     /**
      * Retrieve the governance service for the requested type.
      *
@@ -476,7 +504,8 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Run an instance of a governance action service using the governance engine's executor and return the handler (for disconnect processing).
+     * The caller waits if the executor's queue is full.
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param governanceRequestType governance request type to use when calling the governance engine
@@ -535,5 +564,6 @@ public abstract class GovernanceEngineHandler
         governanceEngineGUID = null;
         governanceEngineProperties = null;
         governanceServiceLookupTable.clear();
+        governanceServiceExecutor.shutdown();
     }
 }
@@ -0,0 +1,432 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * GovernanceServiceExecutor runs the governance services for a single governance engine.  It has a fixed number of
+ * threads so that a burst of requests can not exhaust the engine host.  Requests that arrive while all threads are busy
+ * wait in a bounded queue, ordered by the priority of their governance request type and then by arrival.
+ * When the queue is full, a new request is either rejected or its caller waits until there is space.
+ * Requests made after the executor is shut down, and callers interrupted while they wait, receive their own
+ * exceptions so that they are not mistaken for a full queue.
+ */
+public class GovernanceServiceExecutor
+{
+    static final int defaultMaxConcurrentServices = 10;
+    static final int defaultMaxQueuedServices     = 100;
+
+    private final String               serverName;
+    private final String               governanceEngineName;
+    private final int                  maxConcurrentServices;
+    private final int                  maxQueuedServices;
+    private final Map<String, Integer> requestTypePriorities = new HashMap<>();
+    private final ThreadPoolExecutor   executor;
+    private final boolean              usingVirtualThreads;
+
+    private final AtomicLong    requestSequence = new AtomicLong(0);
+    private final AtomicInteger runningCount    = new AtomicInteger(0);
+    private final AtomicLong    rejectedCount   = new AtomicLong(0);
+    private final Object        queueSpace      = new Object();
+
+
+    /**
+     * Create the executor for a governance engine.
+     *
+     * @param engineConfig configuration for the governance engine
+     * @param serverName name of the engine host server - used for messages and thread names
+     */
+    GovernanceServiceExecutor(EngineConfig engineConfig,
+                              String       serverName)
+    {
+        this.serverName           = serverName;
+        this.governanceEngineName = engineConfig.getEngineQualifiedName();
+
+        if (engineConfig.getMaxConcurrentServices() > 0)
+        {
+            this.maxConcurrentServices = engineConfig.getMaxConcurrentServices();
+        }
+        else
+        {
+            this.maxConcurrentServices = defaultMaxConcurrentServices;
+        }
+
+        if (engineConfig.getMaxQueuedServices() > 0)
+        {
+            this.maxQueuedServices = engineConfig.getMaxQueuedServices();
+        }
+        else
+        {
+            this.maxQueuedServices = defaultMaxQueuedServices;
+        }
+
+        if (engineConfig.getRequestTypePriorities() != null)
+        {
+            this.requestTypePriorities.putAll(engineConfig.getRequestTypePriorities());
+        }
+
+        ThreadFactory threadFactory = null;
+
+        if (engineConfig.getUseVirtualThreads())
+        {
+            threadFactory = getVirtualThreadFactory();
+        }
+
+        this.usingVirtualThreads = (threadFactory != null);
+
+        if (threadFactory == null)
+        {
+            threadFactory = new GovernanceServiceThreadFactory();
+        }
+
+        /*
+         * The queue is unbounded as far as the thread pool is concerned, so it never starts more than the core threads.
+         * The bound on the queue is applied in submit().
+         */
+        this.executor = new ThreadPoolExecutor(maxConcurrentServices,
+                                               maxConcurrentServices,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new PriorityBlockingQueue<>(),
+                                               threadFactory);
+
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Return a factory for virtual threads if the Java runtime supports them.  Reflection is used so that
+     * the engine host still runs on older runtimes.
+     *
+     * @return thread factory or null if virtual threads are not supported
+     */
+    static ThreadFactory getVirtualThreadFactory()
+    {
+        try
+        {
+            Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(threadBuilder);
+        }
+        catch (Exception notSupported)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Queue a governance service to run.
+     *
+     * @param governanceService handler for the governance service
+     * @param governanceRequestType request type - used to determine the priority
+     * @param threadName name to give the thread while the governance service is running
+     * @param waitForSpace should the caller wait if the queue is full rather than have the request rejected
+     * @param methodName calling method
+     * @throws PropertyServerException the queue is full, the executor is shut down or the wait for space was interrupted
+     */
+    void submit(Runnable governanceService,
+                String   governanceRequestType,
+                String   threadName,
+                boolean  waitForSpace,
+                String   methodName) throws PropertyServerException
+    {
+        synchronized (queueSpace)
+        {
+            try
+            {
+                while ((waitForSpace) && (! executor.isShutdown()) && (executor.getQueue().size() >= maxQueuedServices))
+                {
+                    queueSpace.wait();
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_WAIT_INTERRUPTED.getMessageDefinition(governanceEngineName,
+                                                                                                                                             serverName,
+                                                                                                                                             governanceRequestType),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  interrupted);
+            }
+
+            if (executor.isShutdown())
+            {
+                throw getShutDownException(governanceRequestType, methodName, null);
+            }
+
+            if (executor.getQueue().size() >= maxQueuedServices)
+            {
+                rejectedCount.incrementAndGet();
+
+                throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_FULL.getMessageDefinition(governanceEngineName,
+                                                                                                                                 serverName,
+                                                                                                                                 governanceRequestType,
+                                                                                                                                 Integer.toString(maxQueuedServices)),
+                                                  this.getClass().getName(),
+                                                  methodName);
+            }
+
+            try
+            {
+                executor.execute(new QueuedGovernanceService(governanceService,
+                                                             getPriority(governanceRequestType),
+                                                             requestSequence.getAndIncrement(),
+                                                             threadName));
+            }
+            catch (RejectedExecutionException rejected)
+            {
+                /*
+                 * The queue is unbounded, so the executor only rejects requests once it is shut down.
+                 */
+                throw getShutDownException(governanceRequestType, methodName, rejected);
+            }
+        }
+    }
+
+
+    /**
+     * Return the exception for a request that arrives after the executor is shut down.
+     *
+     * @param governanceRequestType request type
+     * @param methodName calling method
+     * @param cause exception from the executor or null
+     * @return exception to throw
+     */
+    private PropertyServerException getShutDownException(String                     governanceRequestType,
+                                                         String                     methodName,
+                                                         RejectedExecutionException cause)
+    {
+        if (cause == null)
+        {
+            return new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_ENGINE_SHUT_DOWN.getMessageDefinition(governanceEngineName,
+                                                                                                                            serverName,
+                                                                                                                            governanceRequestType),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        return new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_ENGINE_SHUT_DOWN.getMessageDefinition(governanceEngineName,
+                                                                                                                        serverName,
+                                                                                                                        governanceRequestType),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           cause);
+    }
+
+
+    /**
+     * Return the priority for a governance request type.
+     *
+     * @param governanceRequestType request type
+     * @return priority - higher values run first
+     */
+    private int getPriority(String governanceRequestType)
+    {
+        if (governanceRequestType != null)
+        {
+            Integer priority = requestTypePriorities.get(governanceRequestType);
+
+            if (priority != null)
+            {
+                return priority;
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return count
+     */
+    int getRunningCount()
+    {
+        return runningCount.get();
+    }
+
+
+    /**
+     * Return the number of governance services that are waiting to run.
+     *
+     * @return count
+     */
+    int getQueuedCount()
+    {
+        return executor.getQueue().size();
+    }
+
+
+    /**
+     * Return the number of requests that were rejected because the queue was full.
+     *
+     * @return count
+     */
+    long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+
+    /**
+     * Return the maximum number of governance services that run at the same time.
+     *
+     * @return count
+     */
+    int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the maximum number of governance services that can wait to run.
+     *
+     * @return count
+     */
+    int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Return whether the governance services run on virtual threads.  This is only the case if they were
+     * requested in the configuration and the Java runtime supports them.
+     *
+     * @return boolean
+     */
+    boolean isUsingVirtualThreads()
+    {
+        return usingVirtualThreads;
+    }
+
+
+    /**
+     * Stop accepting new requests.  Services that are already queued or running are allowed to complete.
+     * Callers waiting for space in the queue are woken so that they receive an exception rather than wait forever.
+     */
+    void shutdown()
+    {
+        synchronized (queueSpace)
+        {
+            executor.shutdown();
+            queueSpace.notifyAll();
+        }
+    }
+
+
+    /**
+     * QueuedGovernanceService wraps a governance service while it waits in the queue.  The ordering runs higher
+     * priorities first and requests of the same priority in the order they arrived.
+     */
+    private class QueuedGovernanceService implements Runnable, Comparable<QueuedGovernanceService>
+    {
+        private final Runnable governanceService;
+        private final int      priority;
+        private final long     sequence;
+        private final String   threadName;
+
+
+        /**
+         * Constructor.
+         *
+         * @param governanceService handler for the governance service
+         * @param priority priority of the request type
+         * @param sequence order of arrival
+         * @param threadName name to give the thread while the governance service is running
+         */
+        QueuedGovernanceService(Runnable governanceService,
+                                int      priority,
+                                long     sequence,
+                                String   threadName)
+        {
+            this.governanceService = governanceService;
+            this.priority          = priority;
+            this.sequence          = sequence;
+            this.threadName        = threadName;
+        }
+
+
+        /**
+         * Run the governance service, naming the thread after it so that it can be identified in thread dumps.
+         */
+        @Override
+        public void run()
+        {
+            synchronized (queueSpace)
+            {
+                queueSpace.notifyAll();
+            }
+
+            Thread currentThread  = Thread.currentThread();
+            String poolThreadName = currentThread.getName();
+
+            runningCount.incrementAndGet();
+            currentThread.setName(threadName);
+
+            try
+            {
+                governanceService.run();
+            }
+            finally
+            {
+                currentThread.setName(poolThreadName);
+                runningCount.decrementAndGet();
+            }
+        }
+
+
+        /**
+         * Order the requests by priority and then arrival.
+         *
+         * @param other request to compare with
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(QueuedGovernanceService other)
+        {
+            if (this.priority != other.priority)
+            {
+                return Integer.compare(other.priority, this.priority);
+            }
+
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+
+    /**
+     * Creates the threads with names that identify the governance engine.
+     */
+    private class GovernanceServiceThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            final String threadName = "::GovernanceServiceThread::";
+
+            return new Thread(runnable, serverName + "::" + governanceEngineName + threadName + threadNumber.getAndIncrement());
+        }
+    }
+}
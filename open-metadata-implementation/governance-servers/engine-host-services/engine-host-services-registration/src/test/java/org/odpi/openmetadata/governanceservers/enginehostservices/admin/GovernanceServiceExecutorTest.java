@@ -0,0 +1,387 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Verify that GovernanceServiceExecutor runs governance services in priority order, applies back-pressure when
+ * its queue is full, reports shut down and interrupted requests with their own errors and falls back to
+ * platform threads when virtual threads are not available.
+ */
+public class GovernanceServiceExecutorTest
+{
+    private static final String serverName  = "TestEngineHost";
+    private static final String methodName  = "testMethod";
+    private static final String requestType = "test-request";
+
+
+    @Test
+    public void testPriorityOrder() throws Exception
+    {
+        Map<String, Integer> priorities = new HashMap<>();
+
+        priorities.put("high", 10);
+        priorities.put("low", -1);
+
+        GovernanceServiceExecutor executor = getExecutor(1, 10, priorities, false);
+        CountDownLatch            release  = new CountDownLatch(1);
+        CountDownLatch            finished = new CountDownLatch(5);
+        List<String>              runOrder = Collections.synchronizedList(new ArrayList<>());
+
+        try
+        {
+            submitBlockingService(executor, release);
+
+            /*
+             * The single thread is busy so these wait in the queue.  Request types with no priority have priority 0.
+             */
+            String[] governanceRequestTypes = { "low", "other", "high", null, "high" };
+
+            for (int i = 0; i < governanceRequestTypes.length; i++)
+            {
+                String governanceRequestType = governanceRequestTypes[i];
+
+                executor.submit(() -> {
+                                    runOrder.add(governanceRequestType);
+                                    finished.countDown();
+                                },
+                                governanceRequestType,
+                                "Service" + i,
+                                false,
+                                methodName);
+            }
+
+            assertEquals(executor.getQueuedCount(), 5);
+
+            release.countDown();
+
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            assertEquals(runOrder, Arrays.asList("high", "high", "other", null, "low"));
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testRejectWhenQueueFull() throws Exception
+    {
+        GovernanceServiceExecutor executor = getExecutor(1, 2, null, false);
+        CountDownLatch            release  = new CountDownLatch(1);
+
+        try
+        {
+            submitBlockingService(executor, release);
+
+            executor.submit(() -> {}, requestType, "Queued1", false, methodName);
+            executor.submit(() -> {}, requestType, "Queued2", false, methodName);
+
+            PropertyServerException error = expectThrows(PropertyServerException.class,
+                                                         () -> executor.submit(() -> {}, requestType, "Rejected", false, methodName));
+
+            assertErrorCode(error, EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_FULL);
+            assertEquals(executor.getRejectedCount(), 1L);
+            assertEquals(executor.getQueuedCount(), 2);
+            assertEquals(executor.getRunningCount(), 1);
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testWaitForSpace() throws Exception
+    {
+        GovernanceServiceExecutor executor = getExecutor(1, 1, null, false);
+        CountDownLatch            release  = new CountDownLatch(1);
+        CountDownLatch            ran      = new CountDownLatch(2);
+
+        try
+        {
+            submitBlockingService(executor, release);
+            executor.submit(ran::countDown, requestType, "Queued", false, methodName);
+
+            AtomicReference<Exception> submitError = new AtomicReference<>();
+            Thread                     submitter   = new Thread(() -> {
+                try
+                {
+                    executor.submit(ran::countDown, requestType, "Waiting", true, methodName);
+                }
+                catch (Exception error)
+                {
+                    submitError.set(error);
+                }
+            });
+
+            submitter.start();
+
+            /*
+             * The submitter waits while the queue is full rather than being rejected.
+             */
+            waitForState(submitter, Thread.State.WAITING);
+            assertTrue(submitter.isAlive());
+
+            release.countDown();
+            submitter.join(10000);
+
+            assertFalse(submitter.isAlive());
+            assertNull(submitError.get());
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+            assertEquals(executor.getRejectedCount(), 0L);
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testInterruptWhileWaiting() throws Exception
+    {
+        GovernanceServiceExecutor executor = getExecutor(1, 1, null, false);
+        CountDownLatch            release  = new CountDownLatch(1);
+
+        try
+        {
+            submitBlockingService(executor, release);
+            executor.submit(() -> {}, requestType, "Queued", false, methodName);
+
+            AtomicReference<Exception> submitError     = new AtomicReference<>();
+            AtomicBoolean              interruptedFlag = new AtomicBoolean(false);
+            Thread                     submitter       = new Thread(() -> {
+                try
+                {
+                    executor.submit(() -> {}, requestType, "Waiting", true, methodName);
+                }
+                catch (Exception error)
+                {
+                    submitError.set(error);
+                }
+
+                interruptedFlag.set(Thread.currentThread().isInterrupted());
+            });
+
+            submitter.start();
+            waitForState(submitter, Thread.State.WAITING);
+
+            submitter.interrupt();
+            submitter.join(10000);
+
+            assertTrue(submitError.get() instanceof PropertyServerException);
+            assertErrorCode((PropertyServerException) submitError.get(), EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_WAIT_INTERRUPTED);
+            assertTrue(interruptedFlag.get());
+            assertEquals(executor.getRejectedCount(), 0L);
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testSubmitAfterShutdown() throws Exception
+    {
+        GovernanceServiceExecutor executor = getExecutor(1, 1, null, false);
+        CountDownLatch            release  = new CountDownLatch(1);
+
+        try
+        {
+            submitBlockingService(executor, release);
+            executor.submit(() -> {}, requestType, "Queued", false, methodName);
+
+            /*
+             * A caller waiting for space is woken by the shutdown.
+             */
+            AtomicReference<Exception> submitError = new AtomicReference<>();
+            Thread                     submitter   = new Thread(() -> {
+                try
+                {
+                    executor.submit(() -> {}, requestType, "Waiting", true, methodName);
+                }
+                catch (Exception error)
+                {
+                    submitError.set(error);
+                }
+            });
+
+            submitter.start();
+            waitForState(submitter, Thread.State.WAITING);
+
+            executor.shutdown();
+            submitter.join(10000);
+
+            assertTrue(submitError.get() instanceof PropertyServerException);
+            assertErrorCode((PropertyServerException) submitError.get(), EngineHostServicesErrorCode.GOVERNANCE_ENGINE_SHUT_DOWN);
+
+            release.countDown();
+
+            PropertyServerException error = expectThrows(PropertyServerException.class,
+                                                         () -> executor.submit(() -> {}, requestType, "AfterShutdown", false, methodName));
+
+            assertErrorCode(error, EngineHostServicesErrorCode.GOVERNANCE_ENGINE_SHUT_DOWN);
+            assertEquals(executor.getRejectedCount(), 0L);
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void testVirtualThreadFallback() throws Exception
+    {
+        GovernanceServiceExecutor executor = getExecutor(2, 10, null, true);
+        CountDownLatch            ran      = new CountDownLatch(1);
+
+        try
+        {
+            /*
+             * Virtual threads are only used when the runtime supports them.  Otherwise, the executor falls
+             * back to platform threads and still runs the services.
+             */
+            boolean virtualThreadsSupported = (GovernanceServiceExecutor.getVirtualThreadFactory() != null);
+
+            assertEquals(executor.isUsingVirtualThreads(), virtualThreadsSupported);
+            assertEquals(getExecutor(2, 10, null, false).isUsingVirtualThreads(), false);
+
+            if (Runtime.version().feature() < 19)
+            {
+                assertFalse(virtualThreadsSupported);
+            }
+
+            executor.submit(ran::countDown, requestType, "VirtualOrNot", false, methodName);
+
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Return an executor with the requested limits.
+     *
+     * @param maxConcurrentServices maximum number of services running at the same time
+     * @param maxQueuedServices maximum number of services waiting to run
+     * @param priorities priority of each request type
+     * @param useVirtualThreads request virtual threads
+     * @return executor
+     */
+    private GovernanceServiceExecutor getExecutor(int                  maxConcurrentServices,
+                                                  int                  maxQueuedServices,
+                                                  Map<String, Integer> priorities,
+                                                  boolean              useVirtualThreads)
+    {
+        EngineConfig engineConfig = new EngineConfig();
+
+        engineConfig.setEngineQualifiedName("TestEngine");
+        engineConfig.setMaxConcurrentServices(maxConcurrentServices);
+        engineConfig.setMaxQueuedServices(maxQueuedServices);
+        engineConfig.setRequestTypePriorities(priorities);
+        engineConfig.setUseVirtualThreads(useVirtualThreads);
+
+        return new GovernanceServiceExecutor(engineConfig, serverName);
+    }
+
+
+    /**
+     * Submit a service that occupies a thread until it is released, and wait for it to start.
+     *
+     * @param executor executor
+     * @param release latch that ends the service
+     * @throws Exception the service did not start
+     */
+    private void submitBlockingService(GovernanceServiceExecutor executor,
+                                       CountDownLatch            release) throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.submit(() -> {
+                            started.countDown();
+
+                            try
+                            {
+                                release.await(30, TimeUnit.SECONDS);
+                            }
+                            catch (InterruptedException interrupted)
+                            {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        requestType,
+                        "Blocking",
+                        false,
+                        methodName);
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+
+    /**
+     * Wait for a thread to reach a state.
+     *
+     * @param thread thread
+     * @param state expected state
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void waitForState(Thread       thread,
+                              Thread.State state) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((thread.getState() != state) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(thread.getState(), state);
+    }
+
+
+    /**
+     * Check the error code of an exception.
+     *
+     * @param error exception
+     * @param errorCode expected error code
+     */
+    private void assertErrorCode(PropertyServerException     error,
+                                 EngineHostServicesErrorCode errorCode)
+    {
+        assertEquals(error.getReportedErrorMessageId(), errorCode.getMessageDefinition().getMessageId());
+    }
+}
@@ -36,6 +36,12 @@ public class IntegrationConnectorReport implements Serializable
     private long                       minMinutesBetweenRefresh = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
+    private long                       refreshCount             = 0L;
+    private long                       lastRefreshDuration      = 0L;
+    private long                       maxRefreshDuration       = 0L;
+    private long                       refreshOverrunCount      = 0L;
+    private long                       lastRefreshQueueLag      = 0L;
+    private long                       maxRefreshQueueLag       = 0L;
 
 
     /**
@@ -65,6 +71,12 @@ public class IntegrationConnectorReport implements Serializable
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
+            refreshCount             = template.getRefreshCount();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            maxRefreshDuration       = template.getMaxRefreshDuration();
+            refreshOverrunCount      = template.getRefreshOverrunCount();
+            lastRefreshQueueLag      = template.getLastRefreshQueueLag();
+            maxRefreshQueueLag       = template.getMaxRefreshQueueLag();
         }
     }
 
@@ -296,6 +308,140 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the number of times that the connector's refresh method has been called.
+     *
+     * @return count
+     */
+    public long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+    /**
+     * Set up the number of times that the connector's refresh method has been called.
+     *
+     * @param refreshCount count
+     */
+    public void setRefreshCount(long refreshCount)
+    {
+        this.refreshCount = refreshCount;
+    }
+
+
+    /**
+     * Return how long the last call to the connector's refresh method took.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up how long the last call to the connector's refresh method took.
+     *
+     * @param lastRefreshDuration milliseconds
+     */
+    public void setLastRefreshDuration(long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the longest time that a call to the connector's refresh method has taken.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration;
+    }
+
+
+    /**
+     * Set up the longest time that a call to the connector's refresh method has taken.
+     *
+     * @param maxRefreshDuration milliseconds
+     */
+    public void setMaxRefreshDuration(long maxRefreshDuration)
+    {
+        this.maxRefreshDuration = maxRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of refresh calls that took longer than the minimum time between refreshes.
+     * These overruns delay the connector's next refresh.
+     *
+     * @return count
+     */
+    public long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
+    /**
+     * Set up the number of refresh calls that took longer than the minimum time between refreshes.
+     * These overruns delay the connector's next refresh.
+     *
+     * @param refreshOverrunCount count
+     */
+    public void setRefreshOverrunCount(long refreshOverrunCount)
+    {
+        this.refreshOverrunCount = refreshOverrunCount;
+    }
+
+
+    /**
+     * Return how long the last scheduled refresh waited for a free refresh thread after it became due.
+     *
+     * @return milliseconds
+     */
+    public long getLastRefreshQueueLag()
+    {
+        return lastRefreshQueueLag;
+    }
+
+
+    /**
+     * Set up how long the last scheduled refresh waited for a free refresh thread after it became due.
+     *
+     * @param lastRefreshQueueLag milliseconds
+     */
+    public void setLastRefreshQueueLag(long lastRefreshQueueLag)
+    {
+        this.lastRefreshQueueLag = lastRefreshQueueLag;
+    }
+
+
+    /**
+     * Return the longest time that a scheduled refresh has waited for a free refresh thread after it became due.
+     *
+     * @return milliseconds
+     */
+    public long getMaxRefreshQueueLag()
+    {
+        return maxRefreshQueueLag;
+    }
+
+
+    /**
+     * Set up the longest time that a scheduled refresh has waited for a free refresh thread after it became due.
+     *
+     * @param maxRefreshQueueLag milliseconds
+     */
+    public void setMaxRefreshQueueLag(long maxRefreshQueueLag)
+    {
+        this.maxRefreshQueueLag = maxRefreshQueueLag;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -315,6 +461,12 @@ public class IntegrationConnectorReport implements Serializable
                        ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
                        ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                        ", statistics=" + statistics +
+                       ", refreshCount=" + refreshCount +
+                       ", lastRefreshDuration=" + lastRefreshDuration +
+                       ", maxRefreshDuration=" + maxRefreshDuration +
+                       ", refreshOverrunCount=" + refreshOverrunCount +
+                       ", lastRefreshQueueLag=" + lastRefreshQueueLag +
+                       ", maxRefreshQueueLag=" + maxRefreshQueueLag +
                        '}';
     }
 
@@ -338,6 +490,12 @@ public class IntegrationConnectorReport implements Serializable
         }
         IntegrationConnectorReport that = (IntegrationConnectorReport) objectToCompare;
         return minMinutesBetweenRefresh == that.minMinutesBetweenRefresh &&
+                       refreshCount == that.refreshCount &&
+                       lastRefreshDuration == that.lastRefreshDuration &&
+                       maxRefreshDuration == that.maxRefreshDuration &&
+                       refreshOverrunCount == that.refreshOverrunCount &&
+                       lastRefreshQueueLag == that.lastRefreshQueueLag &&
+                       maxRefreshQueueLag == that.maxRefreshQueueLag &&
                        Objects.equals(connectorId, that.connectorId) &&
                        Objects.equals(connectorName, that.connectorName) &&
                        Objects.equals(connection, that.connection) &&
@@ -359,6 +517,7 @@ public class IntegrationConnectorReport implements Serializable
     public int hashCode()
     {
         return Objects.hash(connectorId, connectorName, connection, connectorInstanceId, connectorStatus, lastStatusChange,
-                            lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+                            lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics, refreshCount,
+                            lastRefreshDuration, maxRefreshDuration, refreshOverrunCount, lastRefreshQueueLag, maxRefreshQueueLag);
     }
 }
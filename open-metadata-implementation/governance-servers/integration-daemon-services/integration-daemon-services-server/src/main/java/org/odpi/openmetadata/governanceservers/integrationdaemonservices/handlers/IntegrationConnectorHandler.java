@@ -59,6 +59,17 @@ public class IntegrationConnectorHandler implements Serializable
     private String                              failingExceptionMessage             = null;
     private Date                                lastRefreshTime                     = null;
 
+    /*
+     * Refresh statistics - these are read without locking the handler so that a report can be produced while
+     * a long-running refresh is in progress.
+     */
+    private volatile long refreshCount        = 0L;
+    private volatile long lastRefreshDuration = 0L;
+    private volatile long maxRefreshDuration  = 0L;
+    private volatile long refreshOverrunCount = 0L;
+    private volatile long lastRefreshQueueLag = 0L;
+    private volatile long maxRefreshQueueLag  = 0L;
+
 
     /**
      * Constructor creates the integration connector and manages it state.
@@ -218,6 +229,89 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the number of times that the connector's refresh method has been called.
+     *
+     * @return count
+     */
+    long getRefreshCount()
+    {
+        return refreshCount;
+    }
+
+
+    /**
+     * Return how long the last call to the connector's refresh method took.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the longest time that a call to the connector's refresh method has taken.
+     *
+     * @return milliseconds
+     */
+    long getMaxRefreshDuration()
+    {
+        return maxRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of refresh calls that took longer than the minimum time between refreshes.
+     *
+     * @return count
+     */
+    long getRefreshOverrunCount()
+    {
+        return refreshOverrunCount;
+    }
+
+
+    /**
+     * Return how long the last scheduled refresh waited for a free refresh thread after it became due.
+     *
+     * @return milliseconds
+     */
+    long getLastRefreshQueueLag()
+    {
+        return lastRefreshQueueLag;
+    }
+
+
+    /**
+     * Return the longest time that a scheduled refresh has waited for a free refresh thread after it became due.
+     *
+     * @return milliseconds
+     */
+    long getMaxRefreshQueueLag()
+    {
+        return maxRefreshQueueLag;
+    }
+
+
+    /**
+     * Record how long a scheduled refresh waited for a free refresh thread after it became due.
+     * This is called by the integration daemon's refresh scheduler.
+     *
+     * @param queueLag milliseconds
+     */
+    public void recordRefreshQueueLag(long queueLag)
+    {
+        lastRefreshQueueLag = queueLag;
+
+        if (queueLag > maxRefreshQueueLag)
+        {
+            maxRefreshQueueLag = queueLag;
+        }
+    }
+
+
     /**
      * Return the connector described in the connection object.
      *
@@ -486,10 +580,12 @@ public class IntegrationConnectorHandler implements Serializable
 
                 integrationConnector.refresh();
 
+                Date refreshEnd = new Date();
+
+                this.recordRefreshDuration(refreshEnd.getTime() - refreshStart.getTime());
+
                 if (auditLog != null)
                 {
-                    Date refreshEnd = new Date();
-
                     auditLog.logMessage(actionDescription,
                                         IntegrationDaemonServicesAuditCode.DAEMON_CONNECTOR_REFRESH_COMPLETE.getMessageDefinition(integrationConnectorName,
                                                                                                                                   integrationDaemonName,
@@ -506,6 +602,29 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Update the refresh statistics after a successful call to refresh.  A refresh that takes longer than the
+     * minimum time between refreshes is counted as an overrun.
+     *
+     * @param refreshDuration milliseconds
+     */
+    private void recordRefreshDuration(long refreshDuration)
+    {
+        refreshCount++;
+        lastRefreshDuration = refreshDuration;
+
+        if (refreshDuration > maxRefreshDuration)
+        {
+            maxRefreshDuration = refreshDuration;
+        }
+
+        if ((minMinutesBetweenRefresh > 0) && (refreshDuration > minMinutesBetweenRefresh * 60000))
+        {
+            refreshOverrunCount++;
+        }
+    }
+
+
     /**
      * Shutdown the connector handler.
      *
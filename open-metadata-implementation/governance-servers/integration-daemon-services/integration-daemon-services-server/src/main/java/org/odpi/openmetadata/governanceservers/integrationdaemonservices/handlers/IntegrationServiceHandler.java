@@ -149,6 +149,12 @@ public class IntegrationServiceHandler
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
+                    connectorReport.setRefreshCount(connectorHandler.getRefreshCount());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setMaxRefreshDuration(connectorHandler.getMaxRefreshDuration());
+                    connectorReport.setRefreshOverrunCount(connectorHandler.getRefreshOverrunCount());
+                    connectorReport.setLastRefreshQueueLag(connectorHandler.getLastRefreshQueueLag());
+                    connectorReport.setMaxRefreshQueueLag(connectorHandler.getMaxRefreshQueueLag());
 
                     connectorReports.add(connectorReport);
                 }
@@ -33,6 +33,7 @@ public class IntegrationDaemonOperationalServices
     private String                         localServerUserId;             /* Initialized in constructor */
     private String                         localServerPassword;           /* Initialized in constructor */
     private int                            maxPageSize;                   /* Initialized in constructor */
+    private int                            maxRefreshThreads;             /* Initialized in constructor */
 
 
     private AuditLog                        auditLog                  = null;
@@ -47,16 +48,19 @@ public class IntegrationDaemonOperationalServices
      * @param localServerUserId user id for this server to use on REST calls if processing inbound messages.
      * @param localServerPassword user password for this server to use on REST calls if processing inbound messages.
      * @param maxPageSize maximum number of records that can be requested on the pageSize parameter
+     * @param maxRefreshThreads maximum number of integration connectors that are refreshed at the same time
      */
     public IntegrationDaemonOperationalServices(String localServerName,
                                                 String localServerUserId,
                                                 String localServerPassword,
-                                                int    maxPageSize)
+                                                int    maxPageSize,
+                                                int    maxRefreshThreads)
     {
         this.localServerName       = localServerName;
         this.localServerUserId     = localServerUserId;
         this.localServerPassword   = localServerPassword;
         this.maxPageSize           = maxPageSize;
+        this.maxRefreshThreads     = maxRefreshThreads;
     }
 
 
@@ -167,6 +171,7 @@ public class IntegrationDaemonOperationalServices
              */
             IntegrationDaemonThread integrationDaemonThread = new IntegrationDaemonThread(localServerName,
                                                                                           daemonConnectorHandlers,
+                                                                                          maxRefreshThreads,
                                                                                           auditLog);
 
             integrationDaemonThread.start();
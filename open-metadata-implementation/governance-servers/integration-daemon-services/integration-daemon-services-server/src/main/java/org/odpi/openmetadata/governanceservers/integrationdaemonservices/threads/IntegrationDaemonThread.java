@@ -11,23 +11,51 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ *
+ * Each connector has one entry in a queue ordered by the time its next refresh is due.  This thread waits
+ * for the earliest entry to fall due and passes it to a pool of refresh threads, so a slow connector only
+ * delays its own refresh.  A connector's entry is only returned to the queue once its refresh has completed,
+ * so refreshes of the same connector never overlap.
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /*
+     * How long to wait before retrying a connector that has not completed its first refresh.
+     */
+    static final long retryInterval = 1000L;
+
+    /*
+     * How often to check a connector that is only refreshed at start up, in case it has been restarted
+     * through the REST API and needs its first refresh again.
+     */
+    static final long restartCheckInterval = 60000L;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
+    private int                               maxRefreshThreads;
     private AuditLog                          auditLog;
 
-
-    private final AtomicBoolean running = new AtomicBoolean(false);
+    /*
+     * The queue and running flag are package-private so that the scheduling can be tested without running the thread.
+     */
+    final DelayQueue<ScheduledRefresh> refreshQueue = new DelayQueue<>();
+    final AtomicBoolean                running      = new AtomicBoolean(false);
 
 
     /**
@@ -35,14 +63,17 @@ public class IntegrationDaemonThread implements Runnable
      *
      * @param integrationDaemonName name of this integration daemon server
      * @param connectorHandlers wrapper for the connector.
+     * @param maxRefreshThreads upper limit on the number of connectors that are refreshed at the same time
      * @param auditLog logging destination
      */
     public IntegrationDaemonThread(String                            integrationDaemonName,
                                    List<IntegrationConnectorHandler> connectorHandlers,
+                                   int                               maxRefreshThreads,
                                    AuditLog                          auditLog)
     {
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
+        this.maxRefreshThreads     = maxRefreshThreads;
         this.auditLog              = auditLog;
     }
 
@@ -81,43 +112,43 @@ public class IntegrationDaemonThread implements Runnable
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
-        while (running.get())
+        int connectorCount = 0;
+
+        for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
         {
-            Date now = new Date();
+            if (connectorHandler != null)
+            {
+                refreshQueue.add(new ScheduledRefresh(connectorHandler, System.currentTimeMillis()));
+                connectorCount++;
+            }
+        }
+
+        ExecutorService refreshThreads = Executors.newFixedThreadPool(Math.max(1, Math.min(connectorCount, maxRefreshThreads)),
+                                                                      new RefreshThreadFactory());
 
-            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+        try
+        {
+            while (running.get())
             {
-                if (connectorHandler != null)
+                /*
+                 * The poll times out regularly so that a request to stop is noticed.
+                 */
+                ScheduledRefresh scheduledRefresh = refreshQueue.poll(retryInterval, TimeUnit.MILLISECONDS);
+
+                if (scheduledRefresh != null)
                 {
-                    try
-                    {
-                        if (connectorHandler.getLastRefreshTime() == null)
-                        {
-                            connectorHandler.refreshConnector(actionDescription, true);
-                        }
-                        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
-                        {
-                            long nextRefreshTime =
-                                    connectorHandler.getLastRefreshTime().getTime() +
-                                            (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
-
-                            if (nextRefreshTime < now.getTime())
-                            {
-                                connectorHandler.refreshConnector(actionDescription, false);
-                            }
-                        }
-                    }
-                    catch (Exception error)
-                    {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                  error.getClass().getName(),
-                                                                                                                                  error.getMessage()));
-                    }
+                    refreshThreads.execute(() -> this.refreshConnector(actionDescription, scheduledRefresh));
                 }
             }
-
-            waitToRetry();
+        }
+        catch (InterruptedException | RejectedExecutionException error)
+        {
+            log.error("Integration daemon thread interrupted", error);
+        }
+        finally
+        {
+            refreshThreads.shutdown();
+            refreshQueue.clear();
         }
 
         auditLog.logMessage(actionDescription,
@@ -127,19 +158,171 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Wait before retrying ...
+     * Refresh a connector if it is due and add it back to the queue with the time of its next refresh.
+     * This runs on one of the refresh threads.
+     *
+     * @param actionDescription caller's activity
+     * @param scheduledRefresh queue entry for the connector
      */
-    private void waitToRetry()
+    void refreshConnector(String           actionDescription,
+                          ScheduledRefresh scheduledRefresh)
     {
-        final int  sleepTime = 1000;
+        IntegrationConnectorHandler connectorHandler = scheduledRefresh.connectorHandler;
 
         try
         {
-            Thread.sleep(sleepTime);
+            /*
+             * The connector may have been refreshed through the REST API since this entry was queued,
+             * so the refresh times are checked again.
+             */
+            Date lastRefreshTime = connectorHandler.getLastRefreshTime();
+
+            if (lastRefreshTime == null)
+            {
+                connectorHandler.recordRefreshQueueLag(System.currentTimeMillis() - scheduledRefresh.refreshDue);
+                connectorHandler.refreshConnector(actionDescription, true);
+            }
+            else if ((connectorHandler.getMinMinutesBetweenRefresh() > 0) &&
+                     (getNextRefreshTime(connectorHandler, lastRefreshTime) <= System.currentTimeMillis()))
+            {
+                connectorHandler.recordRefreshQueueLag(System.currentTimeMillis() - scheduledRefresh.refreshDue);
+                connectorHandler.refreshConnector(actionDescription, false);
+            }
         }
         catch (Exception error)
         {
-            log.error("Ignored exception from sleep - probably ok", error);
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+
+        if (running.get())
+        {
+            refreshQueue.add(new ScheduledRefresh(connectorHandler, getNextScheduledTime(connectorHandler, System.currentTimeMillis())));
+        }
+    }
+
+
+    /**
+     * Return the time that the connector is next due to be refreshed based on its last refresh.
+     *
+     * @param connectorHandler connector
+     * @param lastRefreshTime time of the last refresh
+     * @return milliseconds since the epoch
+     */
+    private long getNextRefreshTime(IntegrationConnectorHandler connectorHandler,
+                                    Date                        lastRefreshTime)
+    {
+        return lastRefreshTime.getTime() + (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
+    }
+
+
+    /**
+     * Return the time that the connector's entry should next come off the queue.
+     *
+     * @param connectorHandler connector
+     * @param now current time in milliseconds since the epoch
+     * @return milliseconds since the epoch
+     */
+    long getNextScheduledTime(IntegrationConnectorHandler connectorHandler,
+                              long                        now)
+    {
+        Date lastRefreshTime = connectorHandler.getLastRefreshTime();
+
+        if (lastRefreshTime == null)
+        {
+            return now + retryInterval;
+        }
+        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
+        {
+            return Math.max(now, getNextRefreshTime(connectorHandler, lastRefreshTime));
+        }
+        else
+        {
+            return now + restartCheckInterval;
+        }
+    }
+
+
+    /**
+     * ScheduledRefresh is an entry in the refresh queue.  It becomes available when its connector's refresh is due.
+     */
+    static class ScheduledRefresh implements Delayed
+    {
+        private final IntegrationConnectorHandler connectorHandler;
+        private final long                        refreshDue;
+
+
+        /**
+         * Constructor.
+         *
+         * @param connectorHandler connector to refresh
+         * @param refreshDue time that the refresh is due in milliseconds since the epoch
+         */
+        ScheduledRefresh(IntegrationConnectorHandler connectorHandler,
+                         long                        refreshDue)
+        {
+            this.connectorHandler = connectorHandler;
+            this.refreshDue       = refreshDue;
+        }
+
+
+        /**
+         * Return the connector to refresh.
+         *
+         * @return connector handler
+         */
+        IntegrationConnectorHandler getConnectorHandler()
+        {
+            return connectorHandler;
+        }
+
+
+        /**
+         * Return the time remaining until the refresh is due.
+         *
+         * @param unit time unit for the result
+         * @return remaining time
+         */
+        @Override
+        public long getDelay(TimeUnit unit)
+        {
+            return unit.convert(refreshDue - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+
+        /**
+         * Order the entries by the time that the refresh is due.
+         *
+         * @param other entry to compare with
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(Delayed other)
+        {
+            return Long.compare(this.getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+
+    /**
+     * Creates the refresh threads with names that identify the integration daemon.
+     */
+    private class RefreshThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            final String threadName = "::IntegrationConnectorRefresh::";
+
+            Thread thread = new Thread(runnable, integrationDaemonName + threadName + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
         }
     }
 }
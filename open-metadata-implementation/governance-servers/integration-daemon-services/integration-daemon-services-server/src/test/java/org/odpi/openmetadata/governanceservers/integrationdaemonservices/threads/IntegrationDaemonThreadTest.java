@@ -0,0 +1,368 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.integrationdaemonservices.threads;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handlers.IntegrationConnectorHandler;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify how IntegrationDaemonThread schedules the refresh of its connectors: the time each connector's entry
+ * is put back on the queue, which entries refresh their connector, and that a slow connector does not delay
+ * the others.
+ */
+public class IntegrationDaemonThreadTest
+{
+    private static final String actionDescription = "Test refresh";
+    private static final long   minute            = 60000L;
+
+
+    @Test
+    public void testNextScheduledTime()
+    {
+        IntegrationDaemonThread     daemonThread     = getDaemonThread(new ArrayList<>(), 1);
+        long                        now              = System.currentTimeMillis();
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(null, 5);
+
+        /*
+         * Not refreshed yet, so retry soon.
+         */
+        assertEquals(daemonThread.getNextScheduledTime(connectorHandler, now), now + IntegrationDaemonThread.retryInterval);
+
+        /*
+         * Refreshed a minute ago, so due four minutes from now.
+         */
+        when(connectorHandler.getLastRefreshTime()).thenReturn(new Date(now - minute));
+        assertEquals(daemonThread.getNextScheduledTime(connectorHandler, now), now + 4 * minute);
+
+        /*
+         * Overdue, so due now.
+         */
+        when(connectorHandler.getLastRefreshTime()).thenReturn(new Date(now - 10 * minute));
+        assertEquals(daemonThread.getNextScheduledTime(connectorHandler, now), now);
+
+        /*
+         * Only refreshed at start up, so only checked occasionally in case it is restarted.
+         */
+        when(connectorHandler.getMinMinutesBetweenRefresh()).thenReturn(0L);
+        assertEquals(daemonThread.getNextScheduledTime(connectorHandler, now), now + IntegrationDaemonThread.restartCheckInterval);
+    }
+
+
+    @Test
+    public void testFirstRefresh()
+    {
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(null, 5);
+        IntegrationDaemonThread     daemonThread     = getRunningDaemonThread(connectorHandler);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, System.currentTimeMillis()));
+
+        verify(connectorHandler).refreshConnector(actionDescription, true);
+        verify(connectorHandler).recordRefreshQueueLag(anyLong());
+        assertRequeued(daemonThread, connectorHandler, 5 * minute);
+    }
+
+
+    @Test
+    public void testRefreshNotDueYet()
+    {
+        /*
+         * The connector was refreshed through the REST API a minute after its entry was queued.
+         */
+        long                        now              = System.currentTimeMillis();
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(new Date(now - minute), 5);
+        IntegrationDaemonThread     daemonThread     = getRunningDaemonThread(connectorHandler);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, now - 2 * minute));
+
+        verify(connectorHandler, never()).refreshConnector(anyString(), anyBoolean());
+        verify(connectorHandler, never()).recordRefreshQueueLag(anyLong());
+        assertRequeued(daemonThread, connectorHandler, 4 * minute);
+    }
+
+
+    @Test
+    public void testRefreshDue()
+    {
+        long                        now              = System.currentTimeMillis();
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(new Date(now - 5 * minute), 5);
+        IntegrationDaemonThread     daemonThread     = getRunningDaemonThread(connectorHandler);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, now));
+
+        verify(connectorHandler).refreshConnector(actionDescription, false);
+        verify(connectorHandler).recordRefreshQueueLag(anyLong());
+        assertRequeued(daemonThread, connectorHandler, 5 * minute);
+    }
+
+
+    @Test
+    public void testStartUpOnlyConnector()
+    {
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(new Date(), 0);
+        IntegrationDaemonThread     daemonThread     = getRunningDaemonThread(connectorHandler);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, System.currentTimeMillis()));
+
+        verify(connectorHandler, never()).refreshConnector(anyString(), anyBoolean());
+        assertRequeued(daemonThread, connectorHandler, IntegrationDaemonThread.restartCheckInterval);
+    }
+
+
+    @Test
+    public void testFailedRefreshIsRequeued()
+    {
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(null, 5);
+        AuditLog                    auditLog         = mock(AuditLog.class);
+        IntegrationDaemonThread     daemonThread     = new IntegrationDaemonThread("TestDaemon", Arrays.asList(connectorHandler), 1, auditLog);
+
+        doThrow(new IllegalStateException("Test failure")).when(connectorHandler).refreshConnector(anyString(), anyBoolean());
+        daemonThread.running.set(true);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, System.currentTimeMillis()));
+
+        verify(auditLog).logMessage(eq(actionDescription), any());
+        assertRequeued(daemonThread, connectorHandler, IntegrationDaemonThread.retryInterval);
+    }
+
+
+    @Test
+    public void testNotRequeuedAfterStop()
+    {
+        IntegrationConnectorHandler connectorHandler = getConnectorHandler(null, 5);
+        IntegrationDaemonThread     daemonThread     = getDaemonThread(Arrays.asList(connectorHandler), 1);
+
+        daemonThread.refreshConnector(actionDescription, new IntegrationDaemonThread.ScheduledRefresh(connectorHandler, System.currentTimeMillis()));
+
+        verify(connectorHandler).refreshConnector(actionDescription, true);
+        assertTrue(daemonThread.refreshQueue.isEmpty());
+    }
+
+
+    @Test
+    public void testQueueOrder()
+    {
+        IntegrationDaemonThread     daemonThread = getDaemonThread(new ArrayList<>(), 1);
+        long                        now          = System.currentTimeMillis();
+        IntegrationConnectorHandler later        = getConnectorHandler(null, 5);
+        IntegrationConnectorHandler overdue      = getConnectorHandler(null, 5);
+        IntegrationConnectorHandler due          = getConnectorHandler(null, 5);
+
+        daemonThread.refreshQueue.add(new IntegrationDaemonThread.ScheduledRefresh(later, now + minute));
+        daemonThread.refreshQueue.add(new IntegrationDaemonThread.ScheduledRefresh(due, now));
+        daemonThread.refreshQueue.add(new IntegrationDaemonThread.ScheduledRefresh(overdue, now - minute));
+
+        /*
+         * The entries come off the queue in the order they are due, and only once they are due.
+         */
+        assertSame(getConnectorHandler(daemonThread.refreshQueue.poll()), overdue);
+        assertSame(getConnectorHandler(daemonThread.refreshQueue.poll()), due);
+        assertNull(daemonThread.refreshQueue.poll());
+        assertEquals(daemonThread.refreshQueue.size(), 1);
+    }
+
+
+    @Test
+    public void testSlowConnectorDoesNotDelayOthers() throws InterruptedException
+    {
+        CountDownLatch              releaseSlowConnector = new CountDownLatch(1);
+        CountDownLatch              fastRefreshes        = new CountDownLatch(2);
+        CountDownLatch              slowRefreshStarted   = new CountDownLatch(1);
+        AtomicInteger               activeRefreshes      = new AtomicInteger(0);
+        AtomicInteger               maxActiveRefreshes   = new AtomicInteger(0);
+        IntegrationConnectorHandler slowConnector        = getRefreshingConnectorHandler(slowRefreshStarted, releaseSlowConnector, activeRefreshes, maxActiveRefreshes);
+        IntegrationConnectorHandler firstConnector       = getRefreshingConnectorHandler(fastRefreshes, null, activeRefreshes, maxActiveRefreshes);
+        IntegrationConnectorHandler secondConnector      = getRefreshingConnectorHandler(fastRefreshes, null, activeRefreshes, maxActiveRefreshes);
+        IntegrationDaemonThread     daemonThread         = getDaemonThread(Arrays.asList(slowConnector, firstConnector, secondConnector), 2);
+
+        Thread thread = new Thread(daemonThread, "TestDaemon::IntegrationDaemonThread");
+        thread.start();
+
+        try
+        {
+            /*
+             * The slow connector holds one of the two refresh threads; the others are refreshed on the second.
+             * The refreshes are awaited through latches because refreshConnector is synchronized, so verifying
+             * it with a timeout would block the refresh threads.
+             */
+            assertTrue(slowRefreshStarted.await(10, TimeUnit.SECONDS));
+            assertTrue(fastRefreshes.await(10, TimeUnit.SECONDS));
+            assertEquals(releaseSlowConnector.getCount(), 1L);
+        }
+        finally
+        {
+            releaseSlowConnector.countDown();
+            daemonThread.stop();
+            thread.join(10000);
+        }
+
+        assertFalse(thread.isAlive());
+        assertTrue(maxActiveRefreshes.get() <= 2);
+
+        /*
+         * Each connector is only refreshed at start up, so it is refreshed once.
+         */
+        verify(slowConnector, times(1)).refreshConnector(anyString(), eq(true));
+        verify(firstConnector, times(1)).refreshConnector(anyString(), eq(true));
+        verify(secondConnector, times(1)).refreshConnector(anyString(), eq(true));
+    }
+
+
+    /**
+     * Return a daemon thread that has not been started.
+     *
+     * @param connectorHandlers connectors
+     * @param maxRefreshThreads maximum number of connectors refreshed at the same time
+     * @return daemon thread
+     */
+    private IntegrationDaemonThread getDaemonThread(List<IntegrationConnectorHandler> connectorHandlers,
+                                                    int                               maxRefreshThreads)
+    {
+        return new IntegrationDaemonThread("TestDaemon", connectorHandlers, maxRefreshThreads, mock(AuditLog.class));
+    }
+
+
+    /**
+     * Return a daemon thread that accepts entries back onto its queue without running the scheduling loop.
+     *
+     * @param connectorHandler connector
+     * @return daemon thread
+     */
+    private IntegrationDaemonThread getRunningDaemonThread(IntegrationConnectorHandler connectorHandler)
+    {
+        IntegrationDaemonThread daemonThread = getDaemonThread(Arrays.asList(connectorHandler), 1);
+
+        daemonThread.running.set(true);
+
+        return daemonThread;
+    }
+
+
+    /**
+     * Return a connector whose refresh records the time of the refresh.
+     *
+     * @param lastRefreshTime time of the last refresh or null
+     * @param minMinutesBetweenRefresh minutes between refreshes or 0 for start up only
+     * @return connector handler
+     */
+    private IntegrationConnectorHandler getConnectorHandler(Date lastRefreshTime,
+                                                            long minMinutesBetweenRefresh)
+    {
+        IntegrationConnectorHandler connectorHandler = mock(IntegrationConnectorHandler.class);
+        AtomicReference<Date>       refreshTime      = new AtomicReference<>(lastRefreshTime);
+
+        when(connectorHandler.getLastRefreshTime()).thenAnswer(invocation -> refreshTime.get());
+        when(connectorHandler.getMinMinutesBetweenRefresh()).thenReturn(minMinutesBetweenRefresh);
+        doAnswer(invocation -> {
+            refreshTime.set(new Date());
+            return null;
+        }).when(connectorHandler).refreshConnector(anyString(), anyBoolean());
+
+        return connectorHandler;
+    }
+
+
+    /**
+     * Return a connector that is only refreshed at start up and counts the refreshes running at the same time.
+     *
+     * @param started latch counted down when the refresh starts
+     * @param release latch to wait for during the refresh, or null
+     * @param activeRefreshes refreshes running now
+     * @param maxActiveRefreshes most refreshes running at the same time
+     * @return connector handler
+     */
+    private IntegrationConnectorHandler getRefreshingConnectorHandler(CountDownLatch started,
+                                                                      CountDownLatch release,
+                                                                      AtomicInteger  activeRefreshes,
+                                                                      AtomicInteger  maxActiveRefreshes)
+    {
+        IntegrationConnectorHandler connectorHandler = mock(IntegrationConnectorHandler.class);
+        AtomicReference<Date>       refreshTime      = new AtomicReference<>(null);
+
+        when(connectorHandler.getLastRefreshTime()).thenAnswer(invocation -> refreshTime.get());
+        when(connectorHandler.getMinMinutesBetweenRefresh()).thenReturn(0L);
+        doAnswer(invocation -> {
+            maxActiveRefreshes.accumulateAndGet(activeRefreshes.incrementAndGet(), Math::max);
+            started.countDown();
+
+            try
+            {
+                if (release != null)
+                {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+
+                refreshTime.set(new Date());
+            }
+            finally
+            {
+                activeRefreshes.decrementAndGet();
+            }
+
+            return null;
+        }).when(connectorHandler).refreshConnector(anyString(), anyBoolean());
+
+        return connectorHandler;
+    }
+
+
+    /**
+     * Check that the connector has been put back on the queue, due after the expected delay.
+     *
+     * @param daemonThread daemon thread
+     * @param connectorHandler connector
+     * @param expectedDelay expected delay in milliseconds
+     */
+    private void assertRequeued(IntegrationDaemonThread     daemonThread,
+                                IntegrationConnectorHandler connectorHandler,
+                                long                        expectedDelay)
+    {
+        IntegrationDaemonThread.ScheduledRefresh scheduledRefresh = daemonThread.refreshQueue.peek();
+
+        assertEquals(daemonThread.refreshQueue.size(), 1);
+        assertSame(getConnectorHandler(scheduledRefresh), connectorHandler);
+
+        long delay = scheduledRefresh.getDelay(TimeUnit.MILLISECONDS);
+
+        assertTrue((delay <= expectedDelay) && (delay > expectedDelay - 5000), "delay " + delay + " expected " + expectedDelay);
+    }
+
+
+    /**
+     * Return the connector of a queue entry.
+     *
+     * @param scheduledRefresh queue entry
+     * @return connector handler
+     */
+    private IntegrationConnectorHandler getConnectorHandler(IntegrationDaemonThread.ScheduledRefresh scheduledRefresh)
+    {
+        return scheduledRefresh == null ? null : scheduledRefresh.getConnectorHandler();
+    }
+}
@@ -27,6 +27,7 @@ public class LineageVerticesAndEdges implements Serializable {
 
     private Set<LineageVertex> lineageVertices;
     private Set<LineageEdge> lineageEdges;
+    private boolean truncated = false;
 
     public LineageVerticesAndEdges(){}
 
@@ -51,11 +52,30 @@ public class LineageVerticesAndEdges implements Serializable {
         return lineageEdges;
     }
 
+    /**
+     * Set whether the lineage graph was cut short because the query reached its depth or vertex limit.
+     *
+     * @param truncated true if only part of the lineage graph is returned
+     */
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    /**
+     * Return whether the lineage graph was cut short because the query reached its depth or vertex limit.
+     *
+     * @return true if only part of the lineage graph is returned
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
     @Override
     public String toString() {
         return "LineageVerticesAndEdges{" +
                 "lineageVertices=" + lineageVertices +
                 ", lineageEdges=" + lineageEdges +
+                ", truncated=" + truncated +
                 '}';
     }
 }
@@ -3,20 +3,34 @@
 
 package org.odpi.openmetadata.integrationservices.search.connector;
 
+import org.odpi.openmetadata.accessservices.assetcatalog.AssetCatalog;
 import org.odpi.openmetadata.accessservices.assetcatalog.eventclient.AssetCatalogEventClient;
+import org.odpi.openmetadata.accessservices.assetcatalog.model.Elements;
+import org.odpi.openmetadata.accessservices.assetcatalog.model.rest.body.SearchParameters;
+import org.odpi.openmetadata.accessservices.assetcatalog.model.rest.responses.AssetListResponse;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.integrationservices.search.ffdc.SearchIntegratorErrorCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * SearchIntegratorContext provides a wrapper around the Asset Catalog OMAS client.
  * It provides the simplified interface to open metadata needed by the SearchIntegratorConnector.
  */
 public class SearchIntegratorContext {
+    private static final String ALL_ASSETS_SEARCH_CRITERIA = ".*";
+
     private String userId;
     private String assetManagerGUID;
     private String assetManagerName;
     private String connectorName;
     private String integrationServiceName;
     private AuditLog auditLog;
+    private AssetCatalog assetCatalogClient;
     private AssetCatalogEventClient eventClient;
 
 
@@ -34,12 +48,71 @@ public class SearchIntegratorContext {
     public SearchIntegratorContext(String userId, String assetManagerGUID, String assetManagerName, String connectorName,
                                    AssetCatalogEventClient assetCatalogEventClient, String integrationServiceName, AuditLog auditLog) {
 
+        this(userId, assetManagerGUID, assetManagerName, connectorName, null, assetCatalogEventClient, integrationServiceName, auditLog);
+    }
+
+
+    /**
+     * Create a new context for a connector that is able to retrieve assets from the Asset Catalog OMAS.
+     *
+     * @param userId                 integration daemon's userId
+     * @param assetManagerGUID       unique identifier of the software server capability for the asset manager
+     * @param assetManagerName       unique name of the software server capability for the asset manager
+     * @param connectorName          name of the connector using this context
+     * @param assetCatalogClient     client to call the Asset Catalog OMAS REST API
+     * @param assetCatalogEventClient client to access the Asset Catalog OMAS out topic
+     * @param integrationServiceName name of this service
+     * @param auditLog               logging destination
+     */
+    public SearchIntegratorContext(String userId, String assetManagerGUID, String assetManagerName, String connectorName,
+                                   AssetCatalog assetCatalogClient, AssetCatalogEventClient assetCatalogEventClient,
+                                   String integrationServiceName, AuditLog auditLog) {
+
         this.userId = userId;
         this.assetManagerGUID = assetManagerGUID;
         this.assetManagerName = assetManagerName;
         this.connectorName = connectorName;
         this.integrationServiceName = integrationServiceName;
         this.auditLog = auditLog;
+        this.assetCatalogClient = assetCatalogClient;
         this.eventClient = assetCatalogEventClient;
     }
+
+
+    /**
+     * Return a page of the assets of the requested type known to the Asset Catalog OMAS.  Paging through all the pages
+     * returns every asset of the type that is visible to the Asset Catalog OMAS, which is how a connector rebuilds its copy
+     * of the catalog.
+     *
+     * @param assetTypeName name of the type of asset to return; subtypes are included
+     * @param startFrom     index of the first asset to return
+     * @param pageSize      maximum number of assets to return
+     * @return list of assets; an empty list means there are no more assets
+     * @throws InvalidParameterException one of the parameters is invalid
+     * @throws PropertyServerException   there is a problem retrieving the assets or this context has no Asset Catalog OMAS client
+     */
+    public List<Elements> getAssets(String assetTypeName, int startFrom, int pageSize) throws InvalidParameterException,
+                                                                                              PropertyServerException {
+        final String methodName = "getAssets";
+
+        if (assetCatalogClient == null) {
+            throw new PropertyServerException(SearchIntegratorErrorCode.NO_ASSET_CATALOG_CLIENT.getMessageDefinition(connectorName, methodName),
+                    this.getClass().getName(),
+                    methodName);
+        }
+
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.setEntityTypes(Collections.singletonList(assetTypeName));
+        searchParameters.setFrom(startFrom);
+        searchParameters.setPageSize(pageSize);
+        searchParameters.setExactMatch(true);
+
+        AssetListResponse response = assetCatalogClient.searchByType(userId, ALL_ASSETS_SEARCH_CRITERIA, searchParameters);
+
+        if ((response == null) || (response.getElementsList() == null)) {
+            return new ArrayList<>();
+        }
+
+        return response.getElementsList();
+    }
 }
@@ -39,6 +39,11 @@ public enum SearchIntegratorErrorCode implements ExceptionMessageSet {
             "The integration connector is running but does not have a context.  This is a timing issue in the integration daemon.",
             "Gather information about the connector's configuration, the types of metadata it was integrating, the audit log messages " +
                     "from the integration daemon and its partner metadata server.  Then contact the Egeria community to get help."),
+
+    NO_ASSET_CATALOG_CLIENT(500, "OMIS-SEARCH-INTEGRATOR-500-002",
+            "The context for integration connector {0} has no client for the Asset Catalog OMAS so method {1} can not retrieve assets",
+            "The request fails because the context was created without a REST client for the Asset Catalog OMAS.",
+            "Create the context with the Asset Catalog OMAS client.  This is normally done by the Search Integrator OMIS context manager."),
     ;
 
 
@@ -35,6 +35,7 @@ import java.util.Map;
 public class SearchIntegratorContextManager extends IntegrationContextManager
 {
     private ExternalAssetManagerClient        assetManagerClient = null;
+    private AssetCatalog                      assetCatalogClient;
     private AssetCatalogEventClient           assetCatalogEventClient;
     private AssetCatalogOutTopicEventListener eventListener;
 
@@ -81,11 +82,10 @@ public class SearchIntegratorContextManager extends IntegrationContextManager
     @Override
     public void createClients() throws InvalidParameterException {
         final String methodName = "createClients";
-        AssetCatalog restClient;
         if (localServerPassword == null) {
-            restClient = new AssetCatalog(partnerOMASServerName, partnerOMASPlatformRootURL);
+            assetCatalogClient = new AssetCatalog(partnerOMASServerName, partnerOMASPlatformRootURL);
         } else {
-            restClient = new AssetCatalog(partnerOMASServerName,
+            assetCatalogClient = new AssetCatalog(partnerOMASServerName,
                     partnerOMASPlatformRootURL,
                     localServerUserId,
                     localServerPassword);
@@ -93,7 +93,7 @@ public class SearchIntegratorContextManager extends IntegrationContextManager
 
         assetCatalogEventClient = new AssetCatalogEventClient(partnerOMASServerName,
                 partnerOMASPlatformRootURL,
-                restClient,
+                assetCatalogClient,
                 maxPageSize,
                 auditLog,
                 localServerUserId);
@@ -215,6 +215,7 @@ public class SearchIntegratorContextManager extends IntegrationContextManager
                     metadataSourceGUID,
                     metadataSourceQualifiedName,
                     connectorName,
+                    assetCatalogClient,
                     assetCatalogEventClient,
                     IntegrationServiceDescription.SEARCH_INTEGRATOR_OMIS.getIntegrationServiceFullName(),
                     auditLog));
@@ -8,12 +8,15 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OMRSAuditLogDestination provides information needed to log records to the configured audit log destinations
@@ -24,6 +27,11 @@ public class OMRSAuditLogDestination extends AuditLogDestination
     private final OMRSAuditLogRecordOriginator omrsOriginator = new OMRSAuditLogRecordOriginator();
     private       List<OMRSAuditLogStore>      auditLogStores = null;
 
+    /*
+     * Audit log stores configured with a delivery queue receive their log records on their own thread.
+     */
+    private final Map<OMRSAuditLogStore, OMRSAuditLogStoreDelivery> storeDeliveries = new IdentityHashMap<>();
+
     private static final Logger log = LoggerFactory.getLogger(OMRSAuditLogDestination.class);
 
 
@@ -64,6 +72,22 @@ public class OMRSAuditLogDestination extends AuditLogDestination
         if (auditLogStores != null)
         {
             this.auditLogStores = new ArrayList<>(auditLogStores);
+
+            for (OMRSAuditLogStore auditLogStore : auditLogStores)
+            {
+                if (auditLogStore instanceof OMRSAuditLogStoreConnectorBase)
+                {
+                    OMRSAuditLogStoreConnectorBase storeConnector = (OMRSAuditLogStoreConnectorBase) auditLogStore;
+
+                    if (storeConnector.getDeliveryQueueSize() > 0)
+                    {
+                        storeDeliveries.put(auditLogStore, new OMRSAuditLogStoreDelivery(auditLogStore,
+                                                                                          storeConnector.getDeliveryQueueSize(),
+                                                                                          storeConnector.getOverflowPolicy(),
+                                                                                          storeConnector.getSampleRate()));
+                    }
+                }
+            }
         }
     }
 
@@ -117,13 +141,22 @@ public class OMRSAuditLogDestination extends AuditLogDestination
             {
                 if (auditLogStore != null)
                 {
-                    try
+                    OMRSAuditLogStoreDelivery storeDelivery = storeDeliveries.get(auditLogStore);
+
+                    if (storeDelivery != null)
                     {
-                        auditLogStore.storeLogRecord(new OMRSAuditLogRecord(logRecord));
+                        storeDelivery.addLogRecord(new OMRSAuditLogRecord(logRecord));
                     }
-                    catch (Exception error)
+                    else
                     {
-                        log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
+                        try
+                        {
+                            auditLogStore.storeLogRecord(new OMRSAuditLogRecord(logRecord));
+                        }
+                        catch (Exception error)
+                        {
+                            log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
+                        }
                     }
                 }
             }
@@ -131,6 +164,19 @@ public class OMRSAuditLogDestination extends AuditLogDestination
     }
 
 
+    /**
+     * Pass any queued log records to their audit log stores and stop the delivery threads.  Log records
+     * added after this call are passed to the audit log stores synchronously.
+     */
+    public void shutdown()
+    {
+        for (OMRSAuditLogStoreDelivery storeDelivery : storeDeliveries.values())
+        {
+            storeDelivery.shutdown();
+        }
+    }
+
+
     /**
      * Return information about the audit log stores configured for this server.
      *
@@ -156,6 +202,15 @@ public class OMRSAuditLogDestination extends AuditLogDestination
                     auditLogStoreReport.setSupportedSeverities((auditLogStore.getSupportedSeverities()));
                     auditLogStoreReport.setImplementationClass(auditLogStore.getClass().getName());
 
+                    OMRSAuditLogStoreDelivery storeDelivery = storeDeliveries.get(auditLogStore);
+
+                    if (storeDelivery != null)
+                    {
+                        auditLogStoreReport.setOverflowPolicy(storeDelivery.getOverflowPolicy().getName());
+                        auditLogStoreReport.setQueuedRecordCount(storeDelivery.getQueuedRecordCount());
+                        auditLogStoreReport.setDroppedRecordCount(storeDelivery.getDroppedRecordCount());
+                    }
+
                     storeReportList.add(auditLogStoreReport);
                 }
             }
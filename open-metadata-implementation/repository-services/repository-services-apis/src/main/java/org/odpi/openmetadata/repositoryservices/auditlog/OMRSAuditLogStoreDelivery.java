@@ -0,0 +1,316 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogOverflowPolicy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OMRSAuditLogStoreDelivery passes log records to an audit log store on its own thread so that a slow store
+ * does not delay the threads that are logging.  The log records wait in a bounded queue and are taken
+ * from it in batches.  What happens when the queue is full is controlled by the store's overflow policy.
+ * <p>
+ * Once the delivery is shut down, any new log records are passed to the store on the logging thread.
+ * Calls to the store are serialized, so if the delivery thread is still busy with a slow store when
+ * the shutdown wait expires, the logging threads wait their turn rather than calling the store concurrently.
+ * </p>
+ */
+class OMRSAuditLogStoreDelivery implements Runnable
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSAuditLogStoreDelivery.class);
+
+    private static final int  maxBatchSize     = 100;
+    private static final long pollInterval     = 1000;
+    private static final long maxShutdownWait  = 10000;
+
+    /*
+     * These severities are dropped first by the DROP_LOWEST_SEVERITY policy.
+     */
+    private static final Set<String> lowSeverities = Set.of(OMRSAuditLogRecordSeverity.INFO.getName(),
+                                                            OMRSAuditLogRecordSeverity.EVENT.getName(),
+                                                            OMRSAuditLogRecordSeverity.TRACE.getName(),
+                                                            OMRSAuditLogRecordSeverity.PERFMON.getName());
+
+    private final OMRSAuditLogStore                  auditLogStore;
+    private final BlockingQueue<OMRSAuditLogRecord> logRecords;
+    private final OMRSAuditLogOverflowPolicy         overflowPolicy;
+    private final int                                sampleRate;
+    private final AtomicLong                         droppedRecordCount  = new AtomicLong(0);
+    private final AtomicLong                         overflowRecordCount = new AtomicLong(0);
+    private final Thread                             deliveryThread;
+    private final long                               shutdownWait;
+    private final Object                             storeLock = new Object();
+
+    private volatile boolean running = true;
+
+
+    /**
+     * Constructor starts the delivery thread.
+     *
+     * @param auditLogStore store to receive the log records
+     * @param queueSize maximum number of log records waiting to be delivered
+     * @param overflowPolicy what to do when the queue is full
+     * @param sampleRate proportion of log records kept by the SAMPLE policy
+     */
+    OMRSAuditLogStoreDelivery(OMRSAuditLogStore          auditLogStore,
+                              int                        queueSize,
+                              OMRSAuditLogOverflowPolicy overflowPolicy,
+                              int                        sampleRate)
+    {
+        this(auditLogStore, queueSize, overflowPolicy, sampleRate, maxShutdownWait);
+    }
+
+
+    /**
+     * Constructor starts the delivery thread.
+     *
+     * @param auditLogStore store to receive the log records
+     * @param queueSize maximum number of log records waiting to be delivered
+     * @param overflowPolicy what to do when the queue is full
+     * @param sampleRate proportion of log records kept by the SAMPLE policy
+     * @param shutdownWait milliseconds to wait for the delivery thread to finish on shutdown
+     */
+    OMRSAuditLogStoreDelivery(OMRSAuditLogStore          auditLogStore,
+                              int                        queueSize,
+                              OMRSAuditLogOverflowPolicy overflowPolicy,
+                              int                        sampleRate,
+                              long                       shutdownWait)
+    {
+        this.auditLogStore  = auditLogStore;
+        this.shutdownWait   = shutdownWait;
+        this.logRecords     = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate     = sampleRate;
+
+        this.deliveryThread = new Thread(this, "AuditLogDelivery: " + auditLogStore.getDestinationName());
+        this.deliveryThread.setDaemon(true);
+        this.deliveryThread.start();
+    }
+
+
+    /**
+     * Queue a log record for delivery, applying the overflow policy if the queue is full.
+     *
+     * @param logRecord log record
+     */
+    void addLogRecord(OMRSAuditLogRecord logRecord)
+    {
+        if (! running)
+        {
+            this.deliver(logRecord);
+        }
+        else if (! logRecords.offer(logRecord))
+        {
+            switch (overflowPolicy)
+            {
+                case DROP_LOWEST_SEVERITY:
+                    if (lowSeverities.contains(logRecord.getSeverity()))
+                    {
+                        droppedRecordCount.incrementAndGet();
+                    }
+                    else if (! this.replaceLowSeverityRecord(logRecord))
+                    {
+                        this.waitForSpace(logRecord);
+                    }
+                    break;
+
+                case SAMPLE:
+                    if (overflowRecordCount.incrementAndGet() % sampleRate == 0)
+                    {
+                        this.waitForSpace(logRecord);
+                    }
+                    else
+                    {
+                        droppedRecordCount.incrementAndGet();
+                    }
+                    break;
+
+                default:
+                    this.waitForSpace(logRecord);
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * Remove a queued log record with a low severity and queue the new log record in its place.
+     *
+     * @param logRecord log record to queue
+     * @return whether the log record was queued
+     */
+    private boolean replaceLowSeverityRecord(OMRSAuditLogRecord logRecord)
+    {
+        for (OMRSAuditLogRecord queuedRecord : logRecords)
+        {
+            if ((lowSeverities.contains(queuedRecord.getSeverity())) && (logRecords.remove(queuedRecord)))
+            {
+                droppedRecordCount.incrementAndGet();
+
+                if (logRecords.offer(logRecord))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Wait for space in the queue.  If the delivery is shut down while waiting, the log record is delivered
+     * on this thread.
+     *
+     * @param logRecord log record to queue
+     */
+    private void waitForSpace(OMRSAuditLogRecord logRecord)
+    {
+        try
+        {
+            while (! logRecords.offer(logRecord, pollInterval, TimeUnit.MILLISECONDS))
+            {
+                if (! running)
+                {
+                    this.deliver(logRecord);
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            droppedRecordCount.incrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * The delivery thread takes batches of log records from the queue and passes them to the store.
+     */
+    @Override
+    public void run()
+    {
+        List<OMRSAuditLogRecord> batch = new ArrayList<>();
+
+        while (running || (! logRecords.isEmpty()))
+        {
+            try
+            {
+                OMRSAuditLogRecord firstRecord = logRecords.poll(pollInterval, TimeUnit.MILLISECONDS);
+
+                if (firstRecord != null)
+                {
+                    batch.add(firstRecord);
+                    logRecords.drainTo(batch, maxBatchSize - 1);
+
+                    for (OMRSAuditLogRecord logRecord : batch)
+                    {
+                        this.deliver(logRecord);
+                    }
+
+                    batch.clear();
+                }
+            }
+            catch (InterruptedException interrupted)
+            {
+                log.debug("Audit log delivery thread interrupted");
+            }
+        }
+    }
+
+
+    /**
+     * Pass a log record to the store.  Only one thread calls the store at a time, since the delivery
+     * thread may still be running after shutdown gives up waiting for it.
+     *
+     * @param logRecord log record
+     */
+    private void deliver(OMRSAuditLogRecord logRecord)
+    {
+        synchronized (storeLock)
+        {
+            try
+            {
+                auditLogStore.storeLogRecord(logRecord);
+            }
+            catch (Exception error)
+            {
+                log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
+            }
+        }
+    }
+
+
+    /**
+     * Deliver the queued log records and stop the delivery thread.
+     */
+    void shutdown()
+    {
+        running = false;
+
+        try
+        {
+            deliveryThread.join(shutdownWait);
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        /*
+         * Pick up any log records queued as the thread was stopping.  If the thread is still busy, these
+         * calls wait for it to finish with the store.
+         */
+        OMRSAuditLogRecord logRecord;
+
+        while ((logRecord = logRecords.poll()) != null)
+        {
+            this.deliver(logRecord);
+        }
+    }
+
+
+    /**
+     * Return the overflow policy.
+     *
+     * @return policy
+     */
+    OMRSAuditLogOverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Return the number of log records waiting to be delivered.
+     *
+     * @return count
+     */
+    long getQueuedRecordCount()
+    {
+        return logRecords.size();
+    }
+
+
+    /**
+     * Return the number of log records dropped because the queue was full.
+     *
+     * @return count
+     */
+    long getDroppedRecordCount()
+    {
+        return droppedRecordCount.get();
+    }
+}
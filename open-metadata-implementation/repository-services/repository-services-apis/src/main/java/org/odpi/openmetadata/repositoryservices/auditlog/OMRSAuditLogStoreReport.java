@@ -28,6 +28,9 @@ public class OMRSAuditLogStoreReport implements Serializable
     private String       destinationName     = null;
     private List<String> supportedSeverities = null;
     private String       implementationClass = null;
+    private String       overflowPolicy      = null;
+    private Long         queuedRecordCount   = null;
+    private Long         droppedRecordCount  = null;
 
 
     /**
@@ -50,6 +53,9 @@ public class OMRSAuditLogStoreReport implements Serializable
             destinationName = template.getDestinationName();
             supportedSeverities = template.getSupportedSeverities();
             implementationClass = template.getImplementationClass();
+            overflowPolicy = template.getOverflowPolicy();
+            queuedRecordCount = template.getQueuedRecordCount();
+            droppedRecordCount = template.getDroppedRecordCount();
         }
     }
 
@@ -129,6 +135,76 @@ public class OMRSAuditLogStoreReport implements Serializable
     }
 
 
+    /**
+     * Return the overflow policy used when the queue of log records for this audit log store is full.
+     * This is null if the log records are passed to the store synchronously.
+     *
+     * @return policy name
+     */
+    public String getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Set up the overflow policy used when the queue of log records for this audit log store is full.
+     * This is null if the log records are passed to the store synchronously.
+     *
+     * @param overflowPolicy policy name
+     */
+    public void setOverflowPolicy(String overflowPolicy)
+    {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * Return the number of log records waiting to be passed to this audit log store.
+     * This is null if the log records are passed to the store synchronously.
+     *
+     * @return count
+     */
+    public Long getQueuedRecordCount()
+    {
+        return queuedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of log records waiting to be passed to this audit log store.
+     *
+     * @param queuedRecordCount count
+     */
+    public void setQueuedRecordCount(Long queuedRecordCount)
+    {
+        this.queuedRecordCount = queuedRecordCount;
+    }
+
+
+    /**
+     * Return the number of log records that were not passed to this audit log store because its queue was full.
+     * This is null if the log records are passed to the store synchronously.
+     *
+     * @return count
+     */
+    public Long getDroppedRecordCount()
+    {
+        return droppedRecordCount;
+    }
+
+
+    /**
+     * Set up the number of log records that were not passed to this audit log store because its queue was full.
+     *
+     * @param droppedRecordCount count
+     */
+    public void setDroppedRecordCount(Long droppedRecordCount)
+    {
+        this.droppedRecordCount = droppedRecordCount;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -141,6 +217,9 @@ public class OMRSAuditLogStoreReport implements Serializable
                 "destinationName='" + destinationName + '\'' +
                 ", supportedSeverities=" + supportedSeverities +
                 ", implementationClass='" + implementationClass + '\'' +
+                ", overflowPolicy='" + overflowPolicy + '\'' +
+                ", queuedRecordCount=" + queuedRecordCount +
+                ", droppedRecordCount=" + droppedRecordCount +
                 '}';
     }
 
@@ -165,7 +244,10 @@ public class OMRSAuditLogStoreReport implements Serializable
         OMRSAuditLogStoreReport that = (OMRSAuditLogStoreReport) objectToCompare;
         return Objects.equals(destinationName, that.destinationName) &&
                 Objects.equals(supportedSeverities, that.supportedSeverities) &&
-                Objects.equals(implementationClass, that.implementationClass);
+                Objects.equals(implementationClass, that.implementationClass) &&
+                Objects.equals(overflowPolicy, that.overflowPolicy) &&
+                Objects.equals(queuedRecordCount, that.queuedRecordCount) &&
+                Objects.equals(droppedRecordCount, that.droppedRecordCount);
     }
 
 
@@ -177,6 +259,7 @@ public class OMRSAuditLogStoreReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(destinationName, supportedSeverities, implementationClass);
+        return Objects.hash(destinationName, supportedSeverities, implementationClass, overflowPolicy, queuedRecordCount,
+                            droppedRecordCount);
     }
 }
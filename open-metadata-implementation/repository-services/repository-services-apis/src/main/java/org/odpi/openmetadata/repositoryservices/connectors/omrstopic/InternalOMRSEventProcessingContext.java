@@ -3,7 +3,10 @@
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEventState;
 import org.odpi.openmetadata.repositoryservices.events.future.CompletedFuture;
 import org.odpi.openmetadata.repositoryservices.events.future.CompoundFuture;
 import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
@@ -14,13 +17,23 @@ import org.odpi.openmetadata.repositoryservices.events.future.OMRSFutureImpl;
  * processed asynchronously so that the consumer can correctly record when the message has been
  * completely processed.  This class is not considered part of the Egeria public
  * API and may change without notice.  
+ * <p>
+ * A listener that passes the event to other threads defers the completion of the distribution of the
+ * event until these threads have finished.  The context is shared with these threads so that the
+ * asynchronous processing they start is recorded against the same event.
  */
 public class InternalOMRSEventProcessingContext
 {
     private static final ThreadLocal<InternalOMRSEventProcessingContext> INSTANCE = new ThreadLocal<>();
 
     //unique identifier for the current message
-    private String currentMessageId;
+    private volatile String currentMessageId;
+
+    //the event being distributed
+    private volatile IncomingEvent currentEvent;
+
+    //the distribution by the calling thread plus any deferred distributions that have not completed
+    private final AtomicInteger outstandingDistributions = new AtomicInteger(1);
     
     private final CompoundFuture processingResult = new CompoundFuture();
     
@@ -81,6 +94,22 @@ public class InternalOMRSEventProcessingContext
         return instance;
     }
     
+    /**
+     * Sets the {@link InternalOMRSEventProcessingContext} for the current thread.  This is used to
+     * share the context of an event with the threads that it is passed to.
+     *
+     * @param instance context to use, or null to clear it
+     * @return the context that the thread was using before
+     */
+    static InternalOMRSEventProcessingContext setInstance(InternalOMRSEventProcessingContext instance)
+    {
+        InternalOMRSEventProcessingContext previousInstance = INSTANCE.get();
+
+        INSTANCE.set(instance);
+
+        return previousInstance;
+    }
+
     /**
      * Clears the {@link InternalOMRSEventProcessingContext} for the
      * current thread.
@@ -109,4 +138,40 @@ public class InternalOMRSEventProcessingContext
     public void setCurrentMessageId(String messageId) { 
         this.currentMessageId = messageId;
     }
+
+    /**
+     * Sets the event that is being distributed to the topic listeners.
+     *
+     * @param event the incoming event
+     */
+    public void setCurrentEvent(IncomingEvent event) {
+        this.currentEvent = event;
+    }
+
+    /**
+     * Records that the event has been passed to another thread for distribution.  The event is
+     * not marked as distributed until {@link #completeDistribution()} has been called for
+     * each deferred distribution as well as by the thread that received the event.
+     */
+    public void deferDistribution() {
+        outstandingDistributions.incrementAndGet();
+    }
+
+    /**
+     * Records that a distribution of the event has finished.  Once all have finished, the
+     * asynchronous processing results are added to the event and it is marked as distributed to
+     * all topic listeners.
+     */
+    public void completeDistribution() {
+        if (outstandingDistributions.decrementAndGet() == 0) {
+            IncomingEvent event = currentEvent;
+
+            if (event != null) {
+                //record any asynchronous processing being done by consumers before changing the
+                //state so that the event is not seen as complete too early
+                event.addAsyncProcessingResult(getOverallAsyncProcessingResult());
+                event.setState(IncomingEventState.DISTRIBUTED_TO_ALL_TOPIC_LISTENERS);
+            }
+        }
+    }
 }
@@ -0,0 +1,205 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+
+import java.io.Serializable;
+
+/**
+ * OMRSEventEncoding defines how the OMRSTopicConnector encodes the OMRS events that it sends to the cohort topic.
+ * <p>
+ *     JSON is the original encoding and is understood by every member of the cohort.  It is sent as text without
+ *     a content type.  The other encodings are binary and are sent with their content type.  Event bus connectors
+ *     that support binary events (such as Kafka) send the bytes unchanged and carry the content type in a header
+ *     on the message.  Event bus connectors that only carry text send the content type as a prefix in front of the
+ *     base64 encoded bytes.  Either way, the receiving OMRSTopicConnector detects the encoding of each event and
+ *     selects the right decoder.  A server is able to receive events in any of the encodings, whatever encoding it
+ *     is configured to send.  This means the members of a cohort can be upgraded one at a time and then, once they
+ *     all understand the new encoding, configured to send it.
+ * </p>
+ * <ul>
+ *     <li>JSON - the event is sent as JSON text.</li>
+ *     <li>SMILE - the event is sent as Smile (binary JSON).  This is smaller and faster to produce and parse
+ *     than JSON text because the repeated property names are shared rather than parsed for every occurrence.</li>
+ * </ul>
+ */
+public enum OMRSEventEncoding implements Serializable
+{
+    JSON  (0, "JSON",  "application/json",            "Event is encoded as JSON text."),
+    SMILE (1, "SMILE", "application/x-jackson-smile", "Event is encoded as Smile (binary JSON) and sent with its content type.");
+
+    private static final long     serialVersionUID = 1L;
+
+    private final int    ordinal;
+    private final String name;
+    private final String contentType;
+    private final String description;
+
+
+    /**
+     * Typical Constructor
+     *
+     * @param ordinal index number
+     * @param name short name used in the configuration properties
+     * @param contentType content type that describes the encoded event
+     * @param description longer explanation
+     */
+    OMRSEventEncoding(int ordinal, String name, String contentType, String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.contentType = contentType;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the encoding that matches the supplied name (case is ignored).
+     *
+     * @param name name of the encoding from the configuration properties
+     * @return matching encoding or null if the name is not recognized
+     */
+    public static OMRSEventEncoding getEncoding(String name)
+    {
+        if (name != null)
+        {
+            for (OMRSEventEncoding encoding : OMRSEventEncoding.values())
+            {
+                if (encoding.getName().equalsIgnoreCase(name.trim()))
+                {
+                    return encoding;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the encoding that matches the content type of a binary event received from the cohort topic.
+     *
+     * @param contentType content type supplied with the event
+     * @return matching encoding or JSON if the content type is not recognized
+     */
+    public static OMRSEventEncoding getContentTypeEncoding(String contentType)
+    {
+        if (contentType != null)
+        {
+            for (OMRSEventEncoding encoding : OMRSEventEncoding.values())
+            {
+                if (encoding.getContentType().equalsIgnoreCase(contentType.trim()))
+                {
+                    return encoding;
+                }
+            }
+        }
+
+        return JSON;
+    }
+
+
+    /**
+     * Return the encoding of a text event received from the cohort topic.  Events without a recognized
+     * content-type prefix are assumed to be JSON since this is how they are sent by older members of the cohort.
+     *
+     * @param event event received from the cohort topic
+     * @return encoding of the event
+     */
+    public static OMRSEventEncoding getEventEncoding(String event)
+    {
+        if ((event != null) && (! event.startsWith("{")))
+        {
+            for (OMRSEventEncoding encoding : OMRSEventEncoding.values())
+            {
+                String header = encoding.getHeader();
+
+                if ((header != null) && (event.startsWith(header)))
+                {
+                    return encoding;
+                }
+            }
+        }
+
+        return JSON;
+    }
+
+
+    /**
+     * Return the code for this enum instance
+     *
+     * @return int code
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the default symbol for this enum instance.
+     *
+     * @return String default symbol
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the content type of events sent with this encoding.
+     *
+     * @return String content type
+     */
+    public String getContentType()
+    {
+        return contentType;
+    }
+
+
+    /**
+     * Return the prefix placed at the start of the text form of events sent with this encoding.  JSON events have
+     * no prefix.
+     *
+     * @return String header or null
+     */
+    public String getHeader()
+    {
+        if (this == JSON)
+        {
+            return null;
+        }
+
+        return contentType + IncomingEvent.base64Separator;
+    }
+
+
+    /**
+     * Return the default description for this enum instance.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSEventEncoding{" +
+                "ordinal=" + ordinal +
+                ", name='" + name + '\'' +
+                ", contentType='" + contentType + '\'' +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.auditlog.ComponentDescription;
@@ -13,8 +15,10 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
@@ -27,8 +31,11 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorExc
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -43,6 +50,15 @@ import java.util.concurrent.CompletionException;
  *     internal open metadata components that expect to receive OMRS Events.
  * </p>
  * <p>
+ *     The payloads are JSON by default.  The eventEncoding configuration property can select an alternative
+ *     binary encoding for outbound events (see OMRSEventEncoding).  Inbound events are decoded according to their
+ *     content type so that members using different encodings can co-exist in the cohort.
+ * </p>
+ * <p>
+ *     Inbound events are passed to the listeners by an OMRSTopicEventDispatcher.  This processes the events for
+ *     different instances in parallel while keeping the events for each instance in order.
+ * </p>
+ * <p>
  *     OMRSTopicConnector implements 3 interfaces:
  * </p>
  * <ul>
@@ -70,6 +86,14 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     private static final ObjectReader OBJECT_READER = OBJECT_MAPPER.reader();
     private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
 
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(SmileFactory.builder()
+                                                                                  .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                                                                                  .build());
+    private static final ObjectReader SMILE_READER = SMILE_MAPPER.reader();
+    private static final ObjectWriter SMILE_WRITER = SMILE_MAPPER.writer();
+
+    private static final int          defaultMaxInFlightEvents = 1000;
+
     private List<Connector> embeddedConnectors = null;
 
     private final List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
@@ -78,6 +102,8 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
     private String                    topicName = "<Unknown>";
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
+    private OMRSEventEncoding         eventEncoding        = OMRSEventEncoding.JSON;
+    private OMRSTopicEventDispatcher  eventDispatcher      = null;
 
     protected AuditLog auditLog = null;
 
@@ -307,6 +333,9 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         }
         else
         {
+            this.setEventEncoding(methodName);
+            this.createEventDispatcher();
+
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 eventBusConnector.start();
@@ -322,6 +351,197 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Select the encoding for outbound events from the configuration properties.  An unrecognized
+     * value is logged and the default JSON encoding is used.
+     *
+     * @param methodName calling method
+     */
+    private void setEventEncoding(String methodName)
+    {
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object encodingProperty = configurationProperties.get(OMRSTopicProvider.EVENT_ENCODING_PROPERTY);
+
+                if (encodingProperty != null)
+                {
+                    OMRSEventEncoding encoding = OMRSEventEncoding.getEncoding(encodingProperty.toString());
+
+                    if (encoding == null)
+                    {
+                        if (auditLog != null)
+                        {
+                            auditLog.logMessage(methodName,
+                                                OMRSAuditCode.UNKNOWN_EVENT_ENCODING.getMessageDefinition(topicName,
+                                                                                                          encodingProperty.toString()));
+                        }
+                    }
+                    else
+                    {
+                        eventEncoding = encoding;
+
+                        if ((auditLog != null) && (encoding != OMRSEventEncoding.JSON))
+                        {
+                            auditLog.logMessage(methodName,
+                                                OMRSAuditCode.OMRS_TOPIC_EVENT_ENCODING.getMessageDefinition(topicName,
+                                                                                                             encoding.getName(),
+                                                                                                             encoding.getContentType()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Create the dispatcher for inbound events using the settings from the configuration properties.
+     * If the number of dispatch threads is set to 0, no dispatcher is created and events are passed to
+     * each listener in turn on the event bus connector's thread.
+     */
+    private void createEventDispatcher()
+    {
+        int dispatchThreads   = Runtime.getRuntime().availableProcessors();
+        int maxInFlightEvents = defaultMaxInFlightEvents;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object dispatchThreadsProperty = configurationProperties.get(OMRSTopicProvider.EVENT_DISPATCH_THREADS_PROPERTY);
+
+                if ((dispatchThreadsProperty instanceof Integer) && ((Integer)dispatchThreadsProperty >= 0))
+                {
+                    dispatchThreads = (Integer)dispatchThreadsProperty;
+                }
+
+                Object maxInFlightEventsProperty = configurationProperties.get(OMRSTopicProvider.MAX_IN_FLIGHT_EVENTS_PROPERTY);
+
+                if ((maxInFlightEventsProperty instanceof Integer) && ((Integer)maxInFlightEventsProperty > 0))
+                {
+                    maxInFlightEvents = (Integer)maxInFlightEventsProperty;
+                }
+            }
+        }
+
+        if (dispatchThreads > 0)
+        {
+            log.debug("OMRSTopicConnector for topic " + topicName + " dispatching events with " + dispatchThreads +
+                              " threads and up to " + maxInFlightEvents + " events in flight");
+
+            eventDispatcher = new OMRSTopicEventDispatcher(topicName, dispatchThreads, maxInFlightEvents);
+        }
+    }
+
+
+    /**
+     * Return the key used to partition an inbound event across the dispatch threads.  Instance events are
+     * partitioned by instance GUID.  Other events, and instance events that cover many instances, return null
+     * which means they are processed once all preceding events have completed.
+     *
+     * @param event inbound event
+     * @return partition key or null
+     */
+    static String getPartitionKey(OMRSEventV1 event)
+    {
+        if ((event.getEventCategory() == OMRSEventCategory.INSTANCE) && (event.getInstanceEventSection() != null))
+        {
+            return event.getInstanceEventSection().getInstanceGUID();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Encode an event as text for the cohort topic.  JSON events are sent without a prefix so that they can be
+     * read by every member of the cohort.  The binary encodings are returned in their text form: the content type
+     * followed by the base64 encoded bytes.  This is the form that a binary event takes on an event bus that only
+     * carries text.
+     *
+     * @param event event to encode
+     * @param encoding encoding to use
+     * @return encoded event
+     * @throws IOException the event can not be serialized
+     */
+    static String encodeEvent(OMRSEventBean     event,
+                              OMRSEventEncoding encoding) throws IOException
+    {
+        if (encoding == OMRSEventEncoding.JSON)
+        {
+            return OBJECT_WRITER.writeValueAsString(event);
+        }
+
+        return IncomingEvent.getTextEvent(encodeBinaryEvent(event, encoding), encoding.getContentType());
+    }
+
+
+    /**
+     * Encode an event using one of the binary encodings.
+     *
+     * @param event event to encode
+     * @param encoding binary encoding to use
+     * @return encoded event
+     * @throws IOException the event can not be serialized
+     */
+    static byte[] encodeBinaryEvent(OMRSEventBean     event,
+                                    OMRSEventEncoding encoding) throws IOException
+    {
+        if (encoding == OMRSEventEncoding.SMILE)
+        {
+            return SMILE_WRITER.writeValueAsBytes(event);
+        }
+
+        return OBJECT_WRITER.writeValueAsBytes(event);
+    }
+
+
+    /**
+     * Decode a text event received from the cohort topic using the encoding described by its content-type prefix.
+     *
+     * @param event event received from the topic
+     * @return event bean
+     * @throws IOException the event can not be parsed
+     */
+    static OMRSEventBean decodeEvent(String event) throws IOException
+    {
+        OMRSEventEncoding encoding = OMRSEventEncoding.getEventEncoding(event);
+
+        if (encoding != OMRSEventEncoding.JSON)
+        {
+            return decodeEvent(Base64.getDecoder().decode(event.substring(encoding.getHeader().length())), encoding.getContentType());
+        }
+
+        return OBJECT_READER.readValue(event, OMRSEventBean.class);
+    }
+
+
+    /**
+     * Decode a binary event received from the cohort topic using the encoding described by its content type.
+     *
+     * @param event event received from the topic
+     * @param contentType content type supplied with the event
+     * @return event bean
+     * @throws IOException the event can not be parsed
+     */
+    static OMRSEventBean decodeEvent(byte[] event,
+                                     String contentType) throws IOException
+    {
+        if (OMRSEventEncoding.getContentTypeEncoding(contentType) == OMRSEventEncoding.SMILE)
+        {
+            return SMILE_READER.readValue(event, OMRSEventBean.class);
+        }
+
+        return OBJECT_READER.readValue(event, OMRSEventBean.class);
+    }
+
+
     /**
      * Log that this connector does not support the requested event protocol.
      * This protocol level is requested in the configuration.
@@ -441,21 +661,38 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         final String methodName = "sendEventTask";
         try
         {
-            String eventString = OBJECT_WRITER.writeValueAsString(event);
+            String eventString = null;
+            byte[] binaryEvent = null;
+
+            if (eventEncoding == OMRSEventEncoding.JSON)
+            {
+                eventString = encodeEvent(event, eventEncoding);
+            }
+            else
+            {
+                binaryEvent = encodeBinaryEvent(event, eventEncoding);
+            }
 
             if ((auditLog != null) && logEvent)
             {
                 auditLog.logMessage(methodName,
                         OMRSAuditCode.OUTBOUND_TOPIC_EVENT.getMessageDefinition(event.getEventCategory().getName(),
                                 topicName),
-                        eventString);
+                        eventString == null ? event.toString() : eventString);
             }
 
             for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
             {
                 if (eventBusConnector != null)
                 {
-                    eventBusConnector.sendEvent(eventString);
+                    if (binaryEvent != null)
+                    {
+                        eventBusConnector.sendEvent(binaryEvent, eventEncoding.getContentType());
+                    }
+                    else
+                    {
+                        eventBusConnector.sendEvent(eventString);
+                    }
                 }
             }
         }
@@ -483,18 +720,17 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     public void processEvent(String event)
     {
         final String actionDescription = "Process an OMRS Event";
-        final String methodName = "processEvent";
 
         if (event != null)
         {
             OMRSEventBean   eventBean = null;
 
             /*
-             * Parse the string (JSON) event into a bean.
+             * Parse the string (JSON or encoded) event into a bean.
              */
             try
             {
-                eventBean = OBJECT_READER.readValue(event, OMRSEventBean.class);
+                eventBean = decodeEvent(event);
             }
             catch (Exception   exception)
             {
@@ -506,43 +742,161 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                 }
             }
 
+            this.distributeEventBean(event, eventBean);
+        }
+        else
+        {
+            log.debug("Unable to process null events");
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_EVENT_TO_PROCESS.getMessageDefinition(connectionName));
+            }
+        }
+    }
+
 
-            /*
-             * If the event bean is successfully created then pass it on to the registered listeners.
-             */
-            if (eventBean instanceof OMRSEventV1)
+    /**
+     * Receives binary events from the real topic, decodes them into event objects and passes them on to
+     * the OMRSTopicListeners registered with this connector.
+     *
+     * @param event inbound event
+     * @param contentType content type of the event
+     */
+    @Override
+    public void processEvent(byte[] event,
+                             String contentType)
+    {
+        final String actionDescription = "Process an OMRS Event";
+
+        if (event != null)
+        {
+            OMRSEventBean   eventBean = null;
+
+            try
+            {
+                eventBean = decodeEvent(event, contentType);
+            }
+            catch (Exception   exception)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
+                if (auditLog != null)
                 {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
+                    auditLog.logException(actionDescription,
+                                          OMRSAuditCode.EVENT_PARSING_ERROR.getMessageDefinition(IncomingEvent.getTextEvent(event, contentType),
+                                                                                                 exception.toString()),
+                                          exception);
+                }
+            }
 
-                        if (auditLog != null)
-                        {
-                            auditLog.logException(methodName,
-                                                  OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
-                                                                                                            error.toString(),
-                                                                                                            topicListener.toString()),
-                                                  event,
-                                                  error);
-                        }
-                    }
-                });
+            if (eventBean != null)
+            {
+                this.distributeEventBean(eventBean.toString(), eventBean);
             }
         }
         else
         {
-            log.debug("Unable to process null events");
+            this.processEvent((String) null);
+        }
+    }
+
+
+    /**
+     * If the event bean was successfully created then pass it on to the registered listeners.
+     *
+     * @param event inbound event as received from the topic (or a description of it) for logging
+     * @param eventBean parsed event
+     */
+    private void distributeEventBean(String        event,
+                                     OMRSEventBean eventBean)
+    {
+        if (eventBean instanceof OMRSEventV1)
+        {
+            OMRSEventV1    eventV1       = (OMRSEventV1) eventBean;
+            List<Runnable> listenerTasks = new ArrayList<>();
+
+            if (eventDispatcher != null)
+            {
+                InternalOMRSEventProcessingContext context = InternalOMRSEventProcessingContext.getInstance();
+
+                for (OMRSTopicListener topicListener : internalTopicListeners)
+                {
+                    listenerTasks.add(getDispatchedListenerTask(context, () -> this.processOMRSEvent(event, eventV1, topicListener)));
+                }
+
+                eventDispatcher.dispatch(getPartitionKey(eventV1), listenerTasks);
+            }
+            else
+            {
+                for (OMRSTopicListener topicListener : internalTopicListeners)
+                {
+                    this.processOMRSEvent(event, eventV1, topicListener);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Wrap the task that passes an event to a listener so that it can run on a dispatch thread.  The event
+     * processing context of the event bus connector's thread is used while the task runs, so the
+     * asynchronous processing that the listener starts is recorded against the event.  The event is not
+     * marked as distributed until every task has finished.
+     *
+     * @param context processing context of the incoming event
+     * @param listenerTask task that passes the event to a listener
+     * @return task to pass to the dispatcher
+     */
+    private Runnable getDispatchedListenerTask(InternalOMRSEventProcessingContext context,
+                                               Runnable                           listenerTask)
+    {
+        context.deferDistribution();
+
+        return () ->
+        {
+            InternalOMRSEventProcessingContext threadContext = InternalOMRSEventProcessingContext.setInstance(context);
+
+            try
+            {
+                listenerTask.run();
+            }
+            finally
+            {
+                InternalOMRSEventProcessingContext.setInstance(threadContext);
+                context.completeDistribution();
+            }
+        };
+    }
+
+
+    /**
+     * Pass an inbound event to one of the listeners, logging any error that it returns.
+     *
+     * @param event inbound event as received from the topic
+     * @param eventBean parsed event
+     * @param topicListener listener that will receive the event.
+     */
+    private void processOMRSEvent(String             event,
+                                  OMRSEventV1        eventBean,
+                                  OMRSTopicListener  topicListener)
+    {
+        final String methodName = "processEvent";
+
+        try
+        {
+            this.processOMRSEvent(eventBean, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            log.debug("Unable to pass event to one of the topic listeners");
 
             if (auditLog != null)
             {
-                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_EVENT_TO_PROCESS.getMessageDefinition(connectionName));
+                auditLog.logException(methodName,
+                                      OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
+                                                                                                error.toString(),
+                                                                                                topicListener.toString()),
+                                      event,
+                                      error);
             }
         }
     }
@@ -630,6 +984,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        if (eventDispatcher != null)
+        {
+            eventDispatcher.shutdown();
+        }
+
         if (auditLog != null)
         {
             auditLog.logMessage(actionDescription,
@@ -0,0 +1,331 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OMRSTopicEventDispatcher passes the inbound events received by the OMRSTopicConnector to its listeners
+ * using a dedicated pool of threads.
+ * <p>
+ *     Each listener has its own set of queues (lanes) - one for each partition.  An event is placed on the lane
+ *     selected by its partition key (the instance GUID) for each listener.  The events on a lane are processed
+ *     one at a time in the order they were received, so the events for the same instance are seen in order
+ *     by each listener while events for different instances, and different listeners, are processed in parallel.
+ *     A slow listener only delays its own lanes.
+ * </p>
+ * <p>
+ *     Events without a partition key (such as registry and type events) act as a barrier.  The dispatcher
+ *     waits for all of the events in flight to complete and then passes the event to each listener on
+ *     the calling thread.  This means, for example, that a new type is known to the listeners before the
+ *     instances of that type that follow it.
+ * </p>
+ * <p>
+ *     The number of listener deliveries that are queued or running is limited by the maximum in-flight count.
+ *     When this limit is reached, the calling thread (the event bus connector's thread) waits which in turn
+ *     slows the rate that events are taken from the topic.
+ * </p>
+ */
+class OMRSTopicEventDispatcher
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTopicEventDispatcher.class);
+
+    /*
+     * The maximum number of events processed by a lane before its thread is returned to the pool.
+     * This prevents a busy lane from starving the others.
+     */
+    private static final int maxLaneBatchSize = 64;
+
+    private final String             topicName;
+    private final int                partitionCount;
+    private final int                maxInFlightEvents;
+    private final Semaphore          inFlightEvents;
+    private final ThreadPoolExecutor dispatchPool;
+    private final List<SerialLane[]> listenerLanes = new ArrayList<>();
+
+
+    /**
+     * Constructor supplies the configuration of the dispatcher.
+     *
+     * @param topicName name of the topic - used to name the threads
+     * @param dispatchThreads number of threads that pass events to the listeners - this is also the number of partitions
+     * @param maxInFlightEvents maximum number of listener deliveries that can be queued or running at any one time
+     */
+    OMRSTopicEventDispatcher(String topicName,
+                             int    dispatchThreads,
+                             int    maxInFlightEvents)
+    {
+        this.topicName         = topicName;
+        this.partitionCount    = dispatchThreads;
+        this.maxInFlightEvents = maxInFlightEvents;
+        this.inFlightEvents    = new Semaphore(maxInFlightEvents, true);
+        this.dispatchPool      = new ThreadPoolExecutor(dispatchThreads,
+                                                        dispatchThreads,
+                                                        60,
+                                                        TimeUnit.SECONDS,
+                                                        new LinkedBlockingQueue<>(),
+                                                        new DispatchThreadFactory(topicName));
+
+        this.dispatchPool.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Pass an event to the listeners.  There is one task for each listener, in the order that the listeners
+     * registered.
+     *
+     * @param partitionKey key used to select the lane for the event - null means the event is a barrier
+     * @param listenerTasks tasks that pass the event to each listener
+     */
+    void dispatch(String         partitionKey,
+                  List<Runnable> listenerTasks)
+    {
+        if (partitionKey == null)
+        {
+            this.dispatchBarrierEvent(listenerTasks);
+        }
+        else
+        {
+            int partition = Math.floorMod(partitionKey.hashCode(), partitionCount);
+
+            for (int listenerIndex = 0; listenerIndex < listenerTasks.size(); listenerIndex++)
+            {
+                Runnable listenerTask = listenerTasks.get(listenerIndex);
+
+                try
+                {
+                    inFlightEvents.acquire();
+                }
+                catch (InterruptedException interrupted)
+                {
+                    /*
+                     * Deliver the event on this thread rather than lose it.
+                     */
+                    Thread.currentThread().interrupt();
+                    listenerTask.run();
+                    continue;
+                }
+
+                this.getLane(listenerIndex, partition).submit(listenerTask);
+            }
+        }
+    }
+
+
+    /**
+     * Wait for all events in flight to be processed and then pass the event to each listener on the calling thread.
+     *
+     * @param listenerTasks tasks that pass the event to each listener
+     */
+    private void dispatchBarrierEvent(List<Runnable> listenerTasks)
+    {
+        boolean quiesced = false;
+
+        try
+        {
+            inFlightEvents.acquire(maxInFlightEvents);
+            quiesced = true;
+        }
+        catch (InterruptedException interrupted)
+        {
+            log.debug("Interrupted waiting for in-flight events on topic " + topicName);
+            Thread.currentThread().interrupt();
+        }
+
+        try
+        {
+            for (Runnable listenerTask : listenerTasks)
+            {
+                listenerTask.run();
+            }
+        }
+        finally
+        {
+            if (quiesced)
+            {
+                inFlightEvents.release(maxInFlightEvents);
+            }
+        }
+    }
+
+
+    /**
+     * Return the lane for a listener and partition, creating the lanes for new listeners as needed.
+     *
+     * @param listenerIndex position of the listener
+     * @param partition partition of the event
+     * @return lane
+     */
+    private synchronized SerialLane getLane(int listenerIndex,
+                                            int partition)
+    {
+        while (listenerLanes.size() <= listenerIndex)
+        {
+            SerialLane[] lanes = new SerialLane[partitionCount];
+
+            for (int i = 0; i < partitionCount; i++)
+            {
+                lanes[i] = new SerialLane();
+            }
+
+            listenerLanes.add(lanes);
+        }
+
+        return listenerLanes.get(listenerIndex)[partition];
+    }
+
+
+    /**
+     * Return the number of listener deliveries that are queued or running.
+     *
+     * @return count
+     */
+    int getInFlightEventCount()
+    {
+        return maxInFlightEvents - inFlightEvents.availablePermits();
+    }
+
+
+    /**
+     * Stop accepting new work.  Events that are already queued are delivered by the pool threads
+     * (or the caller if the pool has stopped).
+     */
+    void shutdown()
+    {
+        dispatchPool.shutdown();
+    }
+
+
+    /**
+     * A lane is a queue of tasks that are run one at a time, in order, using the dispatch pool.
+     * It only occupies a pool thread while it has work.
+     */
+    private class SerialLane implements Runnable
+    {
+        private final Queue<Runnable> tasks     = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean   scheduled = new AtomicBoolean(false);
+
+
+        /**
+         * Add a task to the lane.
+         *
+         * @param task task to run
+         */
+        void submit(Runnable task)
+        {
+            tasks.add(task);
+            this.schedule();
+        }
+
+
+        /**
+         * Request a pool thread if the lane is not already running.
+         */
+        private void schedule()
+        {
+            if (scheduled.compareAndSet(false, true))
+            {
+                try
+                {
+                    dispatchPool.execute(this);
+                }
+                catch (RejectedExecutionException shutdown)
+                {
+                    /*
+                     * The connector is disconnecting - complete the work on this thread.
+                     */
+                    this.run();
+                }
+            }
+        }
+
+
+        /**
+         * Process the queued tasks in order.
+         */
+        @Override
+        public void run()
+        {
+            int      processed = 0;
+            Runnable task;
+
+            while ((processed < maxLaneBatchSize) && ((task = tasks.poll()) != null))
+            {
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    inFlightEvents.release();
+                }
+
+                processed++;
+            }
+
+            scheduled.set(false);
+
+            /*
+             * A task may have been added after the queue was found empty and before the lane was
+             * marked as not scheduled.
+             */
+            if (! tasks.isEmpty())
+            {
+                this.schedule();
+            }
+        }
+    }
+
+
+    /**
+     * Names the dispatch threads after the topic and marks them as daemon threads so they do not
+     * prevent the platform from shutting down.
+     */
+    private static class DispatchThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String        threadNamePrefix;
+
+
+        /**
+         * Constructor sets up the thread name.
+         *
+         * @param topicName name of the topic
+         */
+        DispatchThreadFactory(String topicName)
+        {
+            this.threadNamePrefix = "OMRSTopicEventDispatcher[" + topicName + "]-";
+        }
+
+
+        /**
+         * Create a new dispatch thread.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
@@ -11,6 +11,27 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
  */
 public class OMRSTopicProvider extends ConnectorProviderBase
 {
+    /**
+     * Name of the configuration property that selects the encoding of outbound events.  The value is the name of
+     * one of the values of OMRSEventEncoding, for example "SMILE".  The default is "JSON".  Inbound events are
+     * decoded using the content-type header on each event so this property only needs to be changed once every
+     * member of the cohort is able to decode the new encoding.
+     */
+    public static final String EVENT_ENCODING_PROPERTY = "eventEncoding";
+
+    /**
+     * Name of the configuration property that sets the number of threads used to pass inbound events to the
+     * listeners.  Events are partitioned across these threads by instance GUID.  The default is the number of
+     * processors.  A value of 0 passes each event to the listeners in turn on the event bus connector's thread.
+     */
+    public static final String EVENT_DISPATCH_THREADS_PROPERTY = "eventDispatchThreads";
+
+    /**
+     * Name of the configuration property that sets the maximum number of inbound event deliveries to listeners that
+     * can be queued or running at any one time.  The default is 1000.
+     */
+    public static final String MAX_IN_FLIGHT_EVENTS_PROPERTY = "maxInFlightEvents";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -15,6 +16,11 @@ import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
  */
 public class IncomingEvent
 {
+    /**
+     * Separates the content type from the base64 encoded bytes in the text form of a binary event.
+     */
+    public static final String base64Separator = ";base64,";
+
     /*
      * Unique identifier for the message
      */
@@ -24,6 +30,8 @@ public class IncomingEvent
     private volatile IncomingEventState currentState = IncomingEventState.CREATED;
     
     private final String json;
+    private final byte[] payload;
+    private final String contentType;
     private final List<OMRSFuture> asyncProcessingResults = Collections.synchronizedList(new ArrayList<>()); 
     
     /**
@@ -35,8 +43,41 @@ public class IncomingEvent
     public IncomingEvent(String json, String messageId)
     {
         this.json = json;
+        this.payload = null;
+        this.contentType = null;
         this.messageId = messageId;
     }
+
+
+    /**
+     * Constructor for a binary event.
+     *
+     * @param payload the encoded event
+     * @param contentType the content type that describes the encoding
+     * @param messageId identifier
+     */
+    public IncomingEvent(byte[] payload, String contentType, String messageId)
+    {
+        this.json = null;
+        this.payload = payload;
+        this.contentType = contentType;
+        this.messageId = messageId;
+    }
+
+
+    /**
+     * Return the text form of a binary event.  This is the content type, followed by ";base64," and
+     * the base64 encoded bytes of the event.  It is used when a binary event passes through an event bus or
+     * listener that only handles text.
+     *
+     * @param payload the encoded event
+     * @param contentType the content type that describes the encoding
+     * @return text form of the event
+     */
+    public static String getTextEvent(byte[] payload, String contentType)
+    {
+        return contentType + base64Separator + Base64.getEncoder().encodeToString(payload);
+    }
     
     /**
      * Gets the json for the event
@@ -44,10 +85,35 @@ public class IncomingEvent
      * @return Json String
      */
     public String getJson() {
+        if (payload != null)
+        {
+            return getTextEvent(payload, contentType);
+        }
+
         return json;
     }
 
 
+    /**
+     * Gets the encoded bytes of a binary event.
+     *
+     * @return bytes or null if this is a text event
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+
+    /**
+     * Gets the content type of a binary event.
+     *
+     * @return content type or null if this is a text event
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+
     /**
      * Adds a {@link Future} for the processing of this event by some
      * {@link OMRSInstanceEventProcessor}
@@ -29,4 +29,20 @@ public interface OpenMetadataTopic
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
      */
     void sendEvent(String event) throws ConnectorCheckedException;
+
+
+    /**
+     * Sends the supplied binary event to the topic.  The content type describes the encoding of the event and is
+     * passed to the listeners on the receiving side.  Event bus connectors that are only able to send text
+     * send the event as the content type followed by the base64 encoded bytes (see IncomingEvent.getTextEvent()).
+     *
+     * @param event  encoded event
+     * @param contentType  content type of the encoded event
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     */
+    default void sendEvent(byte[] event,
+                           String contentType) throws ConnectorCheckedException
+    {
+        sendEvent(IncomingEvent.getTextEvent(event, contentType));
+    }
 }
@@ -2,10 +2,16 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
@@ -26,7 +32,12 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should call the protected deliverEvent() method.  This adds the event to the
+ *         incoming event queue and wakes the listener thread, which drains the queue in batches and passes each
+ *         event to the registered listeners.  The queue holds at most incomingEventQueueSize events, and
+ *         deliverEvent() waits for space once it is full, so the connector should stop receiving events while
+ *         isIncomingEventQueueFull() returns true.  (Older implementations may instead override
+ *         checkForIncomingEvents(), which is called each time the listener thread wakes.)
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -42,8 +53,9 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 {
     private static final Logger       log      = LoggerFactory.getLogger(OpenMetadataTopicConnector.class);
 
-    private static final String       defaultThreadName = "OpenMetadataTopicListener";
-    private static final String       defaultTopicName  = "OpenMetadataTopic";
+    private static final String       defaultThreadName   = "OpenMetadataTopicListener";
+    private static final String       defaultTopicName    = "OpenMetadataTopic";
+    private static final int          defaultMaxQueueSize = 10000;
 
     private volatile boolean keepRunning = false;
 
@@ -51,6 +63,30 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                                listenerThreadName = defaultThreadName;
     private String                                topicName          = defaultTopicName;
     private int                                   sleepTime          = 100;
+    private int                                   maxEventBatchSize  = 100;
+    private int                                   maxQueueSize       = defaultMaxQueueSize;
+    /*
+     * Events delivered by the concrete connector wait here for the listener thread.  The queue is replaced
+     * with one of the configured capacity when the connector starts.
+     */
+    private volatile BlockingQueue<IncomingEvent> incomingEventQueue = new LinkedBlockingQueue<>(defaultMaxQueueSize);
+
+    /*
+     * Events sent by the listener thread itself (for example, by a listener that sends an event to the same topic)
+     * while the queue is full.  The listener thread cannot wait for space in the queue since it is the thread that
+     * empties it.  Instead, it moves the queued events here, followed by its own event, and distributes them
+     * before the next events from the queue.  This list is only used by the listener thread.
+     */
+    private final Deque<IncomingEvent> listenerThreadEvents = new ArrayDeque<>();
+    private volatile Thread            listenerThread       = null;
+
+    /*
+     * Metrics for the events that have passed through the queue.
+     */
+    private final AtomicLong distributedEventCount = new AtomicLong(0);
+    private final AtomicLong totalEventLag         = new AtomicLong(0);
+    private final AtomicLong maxEventLag           = new AtomicLong(0);
+    private final AtomicLong lastEventLag          = new AtomicLong(0);
 
     protected AuditLog auditLog = null;
 
@@ -93,7 +129,9 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
 
     /**
-     * This is the method called by the listener thread when it starts.
+     * This is the method called by the listener thread when it starts.  Each time round the loop, it
+     * distributes any events returned by checkForIncomingEvents() and then waits for events to be delivered to the
+     * incoming event queue.  The wait ends as soon as an event arrives, or after the sleep time if there is nothing to do.
      */
     public void run()
     {
@@ -128,7 +166,25 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                while (! listenerThreadEvents.isEmpty())
+                {
+                    this.distributeQueuedEvent(listenerThreadEvents.poll());
+                }
+
+                IncomingEvent firstEvent = incomingEventQueue.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                if (firstEvent != null)
+                {
+                    List<IncomingEvent> eventBatch = new ArrayList<>();
+
+                    eventBatch.add(firstEvent);
+                    incomingEventQueue.drainTo(eventBatch, maxEventBatchSize - 1);
+
+                    for (IncomingEvent event : eventBatch)
+                    {
+                        this.distributeQueuedEvent(event);
+                    }
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -145,6 +201,26 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Distribute an event from the incoming event queue and record how long it waited.
+     *
+     * @param event event to distribute
+     */
+    private void distributeQueuedEvent(IncomingEvent event)
+    {
+        try
+        {
+            this.distributeEvent(event);
+        }
+        catch (Throwable   error)
+        {
+            log.error("Bad exception from distributeEvent", error);
+        }
+
+        this.recordEventLag(event);
+    }
+
+
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
      *
@@ -155,12 +231,23 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
         InternalOMRSEventProcessingContext.clear();
-        InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId(event.getMessageId());
+
+        InternalOMRSEventProcessingContext context = InternalOMRSEventProcessingContext.getInstance();
+
+        context.setCurrentMessageId(event.getMessageId());
+        context.setCurrentEvent(event);
         for (OpenMetadataTopicListener  topicListener : topicListeners)
         {
             try
             {
-                topicListener.processEvent(event.getJson());
+                if (event.getPayload() != null)
+                {
+                    topicListener.processEvent(event.getPayload(), event.getContentType());
+                }
+                else
+                {
+                    topicListener.processEvent(event.getJson());
+                }
             }
             catch (Exception  error)
             {
@@ -179,12 +266,139 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         //Change the state once all listeners have at least seen the event
         //The listeners may be processing the event asynchronously.  In that case,
         //they will add Futures to the event to allow us to know when the processing
-        //is truly complete.
-        event.setState(IncomingEventState.DISTRIBUTED_TO_ALL_TOPIC_LISTENERS);
-        
-        //record any asynchronous processing being done by consumers
-        InternalOMRSEventProcessingContext context = InternalOMRSEventProcessingContext.getInstance();
-        event.addAsyncProcessingResult(context.getOverallAsyncProcessingResult());
+        //is truly complete.  Listeners that pass the event to other threads defer the
+        //change of state until those threads have finished with it.
+        context.completeDistribution();
+    }
+
+
+    /**
+     * Update the metrics with the time that the event took to pass through this connector.
+     *
+     * @param event event that has been distributed
+     */
+    private void recordEventLag(IncomingEvent event)
+    {
+        long eventLag = System.currentTimeMillis() - event.getCreationTime();
+
+        distributedEventCount.incrementAndGet();
+        totalEventLag.addAndGet(eventLag);
+        lastEventLag.set(eventLag);
+        maxEventLag.accumulateAndGet(eventLag, Math::max);
+    }
+
+
+    /**
+     * Pass an event received from the eventing/messaging layer to the listener thread.  The event is added to the
+     * incoming event queue and the listener thread is woken to distribute it.  If the queue is full, this method
+     * waits until the listener thread makes space, so the concrete connector should use isIncomingEventQueueFull()
+     * to decide when to stop receiving new events.  An event sent by the listener thread itself never waits since
+     * the listener thread is the one emptying the queue.
+     *
+     * @param event event to distribute
+     */
+    protected void deliverEvent(IncomingEvent event)
+    {
+        if (event != null)
+        {
+            if (Thread.currentThread() == listenerThread)
+            {
+                if ((! listenerThreadEvents.isEmpty()) || (! incomingEventQueue.offer(event)))
+                {
+                    incomingEventQueue.drainTo(listenerThreadEvents);
+                    listenerThreadEvents.add(event);
+                }
+            }
+            else
+            {
+                try
+                {
+                    incomingEventQueue.put(event);
+                }
+                catch (InterruptedException error)
+                {
+                    log.error("Event " + event.getMessageId() + " not delivered to topic " + topicName + " because the sender was interrupted");
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the incoming event queue has reached its configured size.  This is the signal to the
+     * concrete connector that it should pause the receipt of events until the listener thread catches up.
+     *
+     * @return boolean flag
+     */
+    protected boolean isIncomingEventQueueFull()
+    {
+        return incomingEventQueue.remainingCapacity() == 0;
+    }
+
+
+    /**
+     * Return the number of events waiting in the incoming event queue.
+     *
+     * @return count of events
+     */
+    public int getIncomingEventQueueDepth()
+    {
+        return incomingEventQueue.size();
+    }
+
+
+    /**
+     * Return the number of events that have been distributed from the incoming event queue.
+     *
+     * @return count of events
+     */
+    public long getDistributedEventCount()
+    {
+        return distributedEventCount.get();
+    }
+
+
+    /**
+     * Return the average time between an event being received by this connector and it being distributed
+     * to all listeners.
+     *
+     * @return milliseconds
+     */
+    public long getAverageEventLag()
+    {
+        long count = distributedEventCount.get();
+
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        return totalEventLag.get() / count;
+    }
+
+
+    /**
+     * Return the longest time between an event being received by this connector and it being distributed
+     * to all listeners.
+     *
+     * @return milliseconds
+     */
+    public long getMaxEventLag()
+    {
+        return maxEventLag.get();
+    }
+
+
+    /**
+     * Return the time between the most recently distributed event being received by this connector and it being
+     * distributed to all listeners.
+     *
+     * @return milliseconds
+     */
+    public long getLastEventLag()
+    {
+        return lastEventLag.get();
     }
 
 
@@ -277,16 +491,38 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
             if (configurationProperties != null)
             {
-                Object   sleepTime = configurationProperties.get("sleepTime");
+                Object   sleepTime = configurationProperties.get(OpenMetadataTopicProvider.sleepTimeProperty);
 
                 if (sleepTime instanceof Integer)
                 {
                     this.sleepTime = (Integer)sleepTime;
                 }
+
+                Object   maxEventBatchSize = configurationProperties.get(OpenMetadataTopicProvider.maxEventBatchSizeProperty);
+
+                if ((maxEventBatchSize instanceof Integer) && ((Integer)maxEventBatchSize > 0))
+                {
+                    this.maxEventBatchSize = (Integer)maxEventBatchSize;
+                }
+
+                Object   maxQueueSize = configurationProperties.get(OpenMetadataTopicProvider.incomingEventQueueSizeProperty);
+
+                if ((maxQueueSize instanceof Integer) && ((Integer)maxQueueSize > 0))
+                {
+                    this.maxQueueSize = (Integer)maxQueueSize;
+                }
             }
         }
 
-        Thread listenerThread = new Thread(this, listenerThreadName);
+        if (this.maxQueueSize != defaultMaxQueueSize)
+        {
+            BlockingQueue<IncomingEvent> configuredQueue = new LinkedBlockingQueue<>(this.maxQueueSize);
+
+            incomingEventQueue.drainTo(configuredQueue, this.maxQueueSize);
+            incomingEventQueue = configuredQueue;
+        }
+
+        listenerThread = new Thread(this, listenerThreadName);
         listenerThread.start();
     }
 
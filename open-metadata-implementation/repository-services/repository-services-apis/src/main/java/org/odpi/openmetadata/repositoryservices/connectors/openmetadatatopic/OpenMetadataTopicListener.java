@@ -15,4 +15,18 @@ public interface OpenMetadataTopicListener
      * @param event inbound event
      */
     void processEvent(String event);
+
+
+    /**
+     * Method to pass a binary event received on topic.  Listeners that only process text events receive the
+     * content type followed by the base64 encoded bytes (see IncomingEvent.getTextEvent()).
+     *
+     * @param event inbound event
+     * @param contentType content type of the event
+     */
+    default void processEvent(byte[] event,
+                              String contentType)
+    {
+        processEvent(IncomingEvent.getTextEvent(event, contentType));
+    }
 }
@@ -11,7 +11,12 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
  */
 public abstract class OpenMetadataTopicProvider extends ConnectorProviderBase
 {
-    protected static final String  sleepTimeProperty = "sleepTime";
+    /*
+     * The incomingEventQueueSize is the capacity of the queue of events waiting for the listener thread.
+     */
+    protected static final String  sleepTimeProperty              = "sleepTime";
+    protected static final String  maxEventBatchSizeProperty      = "maxEventBatchSize";
+    protected static final String  incomingEventQueueSizeProperty = "incomingEventQueueSize";
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -0,0 +1,59 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.List;
+
+
+/**
+ * OpenMetadataArchiveStreamHandler receives the contents of an open metadata archive as it is read by a
+ * StreamingOpenMetadataArchiveStore.  The archive properties are always passed first.  The type store follows and then
+ * the instances are passed in chunks, in the order they appear in the archive.
+ */
+public interface OpenMetadataArchiveStreamHandler
+{
+    /**
+     * Process the header of the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Process the type definitions from the archive.
+     *
+     * @param archiveTypeStore type store
+     */
+    void processArchiveTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore);
+
+
+    /**
+     * Process the next chunk of entities from the archive.
+     *
+     * @param entities list of entities
+     */
+    void processEntities(List<EntityDetail> entities);
+
+
+    /**
+     * Process the next chunk of relationships from the archive.
+     *
+     * @param relationships list of relationships
+     */
+    void processRelationships(List<Relationship> relationships);
+
+
+    /**
+     * Process the next chunk of classifications from the archive.
+     *
+     * @param classifications list of classifications
+     */
+    void processClassifications(List<ClassificationEntityExtension> classifications);
+}
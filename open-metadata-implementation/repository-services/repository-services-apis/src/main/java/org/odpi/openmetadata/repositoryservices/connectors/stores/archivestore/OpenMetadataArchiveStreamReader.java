@@ -0,0 +1,332 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * OpenMetadataArchiveStreamReader reads an open metadata archive in its JSON form, passing the contents to an
+ * OpenMetadataArchiveStreamHandler as they are read.  Only one chunk of instances is held in memory at a time.
+ * The archive may be compressed with gzip.  It is detected from the first bytes of the stream.
+ * <p>
+ * The handler always receives the archive properties first.  Archives written by Egeria have the properties, type store and
+ * instance store in that order.  If another tool writes the properties after the other sections, those sections are held
+ * in memory until the properties are read.
+ */
+public class OpenMetadataArchiveStreamReader
+{
+    public static final int defaultChunkSize = 1000;
+
+    private static final String archivePropertiesName    = "archiveProperties";
+    private static final String archiveTypeStoreName     = "archiveTypeStore";
+    private static final String archiveInstanceStoreName = "archiveInstanceStore";
+    private static final String entitiesName             = "entities";
+    private static final String relationshipsName        = "relationships";
+    private static final String classificationsName      = "classifications";
+
+    private static final int gzipMagicFirstByte  = 0x1f;
+    private static final int gzipMagicSecondByte = 0x8b;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int chunkSize;
+
+
+    /**
+     * Constructor
+     *
+     * @param chunkSize maximum number of instances passed to the handler in each call
+     */
+    public OpenMetadataArchiveStreamReader(int chunkSize)
+    {
+        if (chunkSize > 0)
+        {
+            this.chunkSize = chunkSize;
+        }
+        else
+        {
+            this.chunkSize = defaultChunkSize;
+        }
+    }
+
+
+    /**
+     * Return a stream of the JSON content of an archive, decompressing it if it is compressed with gzip.
+     *
+     * @param archiveStream stream of the stored archive
+     * @return stream of JSON
+     * @throws IOException the stream can not be read
+     */
+    public static InputStream getArchiveInputStream(InputStream archiveStream) throws IOException
+    {
+        BufferedInputStream bufferedStream = new BufferedInputStream(archiveStream);
+
+        bufferedStream.mark(2);
+
+        int firstByte  = bufferedStream.read();
+        int secondByte = bufferedStream.read();
+
+        bufferedStream.reset();
+
+        if ((firstByte == gzipMagicFirstByte) && (secondByte == gzipMagicSecondByte))
+        {
+            return new GZIPInputStream(bufferedStream);
+        }
+
+        return bufferedStream;
+    }
+
+
+    /**
+     * Read the archive, passing its contents to the handler.  The stream is closed once it has been read.
+     *
+     * @param archiveStream stream of the stored archive
+     * @param handler receiver of the contents of the archive
+     * @throws IOException the stream can not be read or does not contain an open metadata archive
+     */
+    public void readArchive(InputStream                      archiveStream,
+                            OpenMetadataArchiveStreamHandler handler) throws IOException
+    {
+        OrderedHandler orderedHandler = new OrderedHandler(handler);
+
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(getArchiveInputStream(archiveStream)))
+        {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+            {
+                throw new IOException("The content does not start with a JSON object so it is not an open metadata archive");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if (archivePropertiesName.equals(fieldName))
+                {
+                    orderedHandler.processArchiveProperties(OBJECT_MAPPER.readValue(parser, OpenMetadataArchiveProperties.class));
+                }
+                else if (archiveTypeStoreName.equals(fieldName))
+                {
+                    orderedHandler.processArchiveTypeStore(OBJECT_MAPPER.readValue(parser, OpenMetadataArchiveTypeStore.class));
+                }
+                else if (archiveInstanceStoreName.equals(fieldName))
+                {
+                    readInstanceStore(parser, orderedHandler);
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Read the instance store, passing its instances to the handler in chunks.
+     *
+     * @param parser parser positioned at the start of the instance store
+     * @param handler receiver of the instances
+     * @throws IOException the instance store is not valid
+     */
+    private void readInstanceStore(JsonParser                       parser,
+                                   OpenMetadataArchiveStreamHandler handler) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            if (entitiesName.equals(fieldName))
+            {
+                readInstances(parser, EntityDetail.class, handler::processEntities);
+            }
+            else if (relationshipsName.equals(fieldName))
+            {
+                readInstances(parser, Relationship.class, handler::processRelationships);
+            }
+            else if (classificationsName.equals(fieldName))
+            {
+                readInstances(parser, ClassificationEntityExtension.class, handler::processClassifications);
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+    }
+
+
+    /**
+     * Read a list of instances, passing them to the handler in chunks.  Null entries are skipped.
+     *
+     * @param parser parser positioned at the start of the list
+     * @param instanceClass class of the instances
+     * @param chunkHandler receiver of each chunk
+     * @param <T> class of the instances
+     * @throws IOException the list is not valid
+     */
+    private <T> void readInstances(JsonParser        parser,
+                                   Class<T>          instanceClass,
+                                   Consumer<List<T>> chunkHandler) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+        {
+            parser.skipChildren();
+            return;
+        }
+
+        List<T> chunk = new ArrayList<>();
+
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+        {
+            T instance = OBJECT_MAPPER.readValue(parser, instanceClass);
+
+            if (instance != null)
+            {
+                chunk.add(instance);
+
+                if (chunk.size() >= chunkSize)
+                {
+                    chunkHandler.accept(chunk);
+                    chunk = new ArrayList<>();
+                }
+            }
+        }
+
+        if (! chunk.isEmpty())
+        {
+            chunkHandler.accept(chunk);
+        }
+    }
+
+
+    /**
+     * OrderedHandler makes sure the archive properties are passed to the handler before any other content.
+     * Content read before the properties is held until they arrive.  If the archive has no properties the held
+     * content is never passed on.
+     */
+    private static class OrderedHandler implements OpenMetadataArchiveStreamHandler
+    {
+        private final OpenMetadataArchiveStreamHandler handler;
+        private final List<Runnable>                   heldContent = new ArrayList<>();
+        private boolean                                propertiesProcessed = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param handler handler to pass the content to
+         */
+        OrderedHandler(OpenMetadataArchiveStreamHandler handler)
+        {
+            this.handler = handler;
+        }
+
+
+        /**
+         * Pass on the content if the properties have been processed, otherwise hold it.
+         *
+         * @param content call to the handler
+         */
+        private void processContent(Runnable content)
+        {
+            if (propertiesProcessed)
+            {
+                content.run();
+            }
+            else
+            {
+                heldContent.add(content);
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            if ((archiveProperties != null) && (! propertiesProcessed))
+            {
+                handler.processArchiveProperties(archiveProperties);
+                propertiesProcessed = true;
+
+                for (Runnable content : heldContent)
+                {
+                    content.run();
+                }
+
+                heldContent.clear();
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processArchiveTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            if (archiveTypeStore != null)
+            {
+                processContent(() -> handler.processArchiveTypeStore(archiveTypeStore));
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            processContent(() -> handler.processEntities(entities));
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            processContent(() -> handler.processRelationships(relationships));
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            processContent(() -> handler.processClassifications(classifications));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import java.io.IOException;
+
+
+/**
+ * StreamingOpenMetadataArchiveStore is an optional interface for an archive store connector that is able to pass
+ * the contents of its archive to a handler as the archive is read, rather than returning the whole archive as one object.
+ * This means that large archives can be loaded without holding their contents in memory.
+ */
+public interface StreamingOpenMetadataArchiveStore
+{
+    /**
+     * Read the archive, passing its contents to the handler.
+     *
+     * @param handler receiver of the contents of the archive
+     * @param chunkSize maximum number of instances passed to the handler in each call
+     * @throws IOException the archive could not be read.  Some of the contents may have been passed to the handler.
+     */
+    void processArchiveContents(OpenMetadataArchiveStreamHandler handler,
+                                int                              chunkSize) throws IOException;
+}
@@ -0,0 +1,116 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore;
+
+import java.io.Serializable;
+
+/**
+ * OMRSAuditLogOverflowPolicy defines what happens when an audit log store is configured for asynchronous
+ * delivery and its queue of log records is full.
+ * <ul>
+ *     <li>BLOCK - the thread that is logging waits for space in the queue.  No log records are lost.</li>
+ *     <li>DROP_LOWEST_SEVERITY - log records with a low severity (Information, Event, Trace and PerfMon) are
+ *     dropped to make space for the other log records.  The thread that is logging only waits if the queue is full
+ *     of log records that can not be dropped.</li>
+ *     <li>SAMPLE - one in every sampleRate log records waits for space in the queue and the rest are dropped.</li>
+ * </ul>
+ */
+public enum OMRSAuditLogOverflowPolicy implements Serializable
+{
+    BLOCK                (0, "BLOCK",                "The logging thread waits until there is space in the queue."),
+    DROP_LOWEST_SEVERITY (1, "DROP_LOWEST_SEVERITY", "Low severity log records are dropped to make space for the others."),
+    SAMPLE               (2, "SAMPLE",               "A sample of the log records waits for space in the queue and the rest are dropped.");
+
+    private static final long     serialVersionUID = 1L;
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Typical Constructor
+     *
+     * @param ordinal index number
+     * @param name short name used in the configuration properties
+     * @param description longer explanation
+     */
+    OMRSAuditLogOverflowPolicy(int ordinal, String name, String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the policy that matches the supplied name (case is ignored).
+     *
+     * @param name name of the policy from the configuration properties
+     * @return matching policy or null if the name is not recognized
+     */
+    public static OMRSAuditLogOverflowPolicy getPolicy(String name)
+    {
+        if (name != null)
+        {
+            for (OMRSAuditLogOverflowPolicy policy : OMRSAuditLogOverflowPolicy.values())
+            {
+                if (policy.getName().equalsIgnoreCase(name.trim()))
+                {
+                    return policy;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the code for this enum instance
+     *
+     * @return int code
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the default symbol for this enum instance.
+     *
+     * @return String default symbol
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the default description for this enum instance.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSAuditLogOverflowPolicy{" +
+                "ordinal=" + ordinal +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
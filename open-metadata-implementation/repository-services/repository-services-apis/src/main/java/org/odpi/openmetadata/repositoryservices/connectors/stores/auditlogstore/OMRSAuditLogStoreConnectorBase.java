@@ -33,8 +33,13 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
 
     private static final ObjectWriter OBJECT_WRITER = new ObjectMapper().writer();
 
-    private String        destinationName = "<Unknown";
-    private List<String>  supportedSeverities = null;
+    private static final int defaultSampleRate = 10;
+
+    private String                     destinationName     = "<Unknown";
+    private List<String>               supportedSeverities = null;
+    private int                        deliveryQueueSize   = 0;
+    private OMRSAuditLogOverflowPolicy overflowPolicy      = OMRSAuditLogOverflowPolicy.BLOCK;
+    private int                        sampleRate          = defaultSampleRate;
 
 
     /**
@@ -67,6 +72,41 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
     }
 
 
+    /**
+     * Return the size of the queue used to pass log records to this destination on a separate thread.
+     * Zero means the log records are passed to the destination on the thread that is logging.
+     *
+     * @return number of log records
+     */
+    public int getDeliveryQueueSize()
+    {
+        return deliveryQueueSize;
+    }
+
+
+    /**
+     * Return what happens when the delivery queue is full.
+     *
+     * @return overflow policy
+     */
+    public OMRSAuditLogOverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Return the proportion of log records kept when the delivery queue is full and the overflow policy is SAMPLE.
+     * For example, 10 means one in every 10 log records is kept.
+     *
+     * @return sample rate
+     */
+    public int getSampleRate()
+    {
+        return sampleRate;
+    }
+
+
     /**
      * Store the audit log record in the audit log store.
      *
@@ -374,6 +414,36 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
                         }
                     }
                 }
+
+                Object deliveryQueueSizeProperty = configurationProperties.get(OMRSAuditLogStoreProviderBase.deliveryQueueSizeProperty);
+
+                if ((deliveryQueueSizeProperty instanceof Integer) && ((Integer)deliveryQueueSizeProperty > 0))
+                {
+                    deliveryQueueSize = (Integer)deliveryQueueSizeProperty;
+                }
+
+                Object overflowPolicyProperty = configurationProperties.get(OMRSAuditLogStoreProviderBase.overflowPolicyProperty);
+
+                if (overflowPolicyProperty != null)
+                {
+                    OMRSAuditLogOverflowPolicy policy = OMRSAuditLogOverflowPolicy.getPolicy(overflowPolicyProperty.toString());
+
+                    if (policy != null)
+                    {
+                        overflowPolicy = policy;
+                    }
+                    else
+                    {
+                        log.debug("Ignored unknown overflow policy {} for audit log destination {}", overflowPolicyProperty, destinationName);
+                    }
+                }
+
+                Object sampleRateProperty = configurationProperties.get(OMRSAuditLogStoreProviderBase.sampleRateProperty);
+
+                if ((sampleRateProperty instanceof Integer) && ((Integer)sampleRateProperty > 0))
+                {
+                    sampleRate = (Integer)sampleRateProperty;
+                }
             }
         }
     }
@@ -17,6 +17,9 @@ import java.util.List;
 public abstract class OMRSAuditLogStoreProviderBase extends ConnectorProviderBase
 {
     public static final String  supportedSeveritiesProperty = "supportedSeverities";
+    public static final String  deliveryQueueSizeProperty   = "deliveryQueueSize";
+    public static final String  overflowPolicyProperty      = "overflowPolicy";
+    public static final String  sampleRateProperty          = "sampleRate";
 
     /**
      * Default Constructor
@@ -39,6 +42,9 @@ public abstract class OMRSAuditLogStoreProviderBase extends ConnectorProviderBas
         List<String> recognizedConfigurationProperties = new ArrayList<>();
 
         recognizedConfigurationProperties.add(supportedSeveritiesProperty);
+        recognizedConfigurationProperties.add(deliveryQueueSizeProperty);
+        recognizedConfigurationProperties.add(overflowPolicyProperty);
+        recognizedConfigurationProperties.add(sampleRateProperty);
 
         return recognizedConfigurationProperties;
     }
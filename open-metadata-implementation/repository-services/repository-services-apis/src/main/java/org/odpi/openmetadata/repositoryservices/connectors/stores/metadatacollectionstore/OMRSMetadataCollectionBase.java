@@ -6157,6 +6157,67 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the instances passed to saveInstanceReferenceCopies() and return the ones to save.
+     * Instances from the local metadata collection are ignored, just as they are by the default
+     * implementation of saveInstanceReferenceCopies().
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances instances to save.
+     * @param methodName calling method
+     * @return instance graph containing the valid reference copies
+     * @throws InvalidParameterException one of the instances is invalid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected InstanceGraph referenceInstancesParameterValidation(String        userId,
+                                                                  InstanceGraph instances,
+                                                                  String        methodName) throws InvalidParameterException,
+                                                                                                   RepositoryErrorException,
+                                                                                                   UserNotAuthorizedException
+    {
+        final String entityParameterName       = "instances.entities";
+        final String relationshipParameterName = "instances.relationships";
+
+        this.basicRequestValidation(userId, methodName);
+
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        if (instances != null)
+        {
+            if (instances.getEntities() != null)
+            {
+                for (EntityDetail entity : instances.getEntities())
+                {
+                    if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                    {
+                        this.referenceInstanceParameterValidation(userId, entity, entityParameterName, methodName);
+
+                        entities.add(entity);
+                    }
+                }
+            }
+
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
+                {
+                    if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                    {
+                        this.referenceInstanceParameterValidation(userId, relationship, relationshipParameterName, methodName);
+
+                        relationships.add(relationship);
+                    }
+                }
+            }
+        }
+
+        return new InstanceGraph(entities, relationships);
+    }
+
+
     /**
      * Save the entity as a reference copy.  The id of the home metadata collection is already set up in the
      * entity.
@@ -3,16 +3,17 @@
 
 package org.odpi.openmetadata.repositoryservices.events.future;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * {@link OMRSFuture} which has a list of child futures.  It
  * is not complete until all of its child futures have completed.
+ * Futures can be added by several threads.
  */
 public class CompoundFuture implements OMRSFuture {
     
-    private final List<OMRSFuture> children = new ArrayList<>();
+    private final List<OMRSFuture> children = new CopyOnWriteArrayList<>();
    
     /**
      * Adds a future whose result should be included
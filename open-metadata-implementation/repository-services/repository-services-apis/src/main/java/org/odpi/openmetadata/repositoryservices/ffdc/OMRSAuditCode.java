@@ -362,6 +362,21 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                 "The connector will not be able to support access to the open metadata repositories connected via the cohort.",
                                 "Review the message to discover why the connector failed to start."),
 
+    OMRS_TOPIC_EVENT_ENCODING("OMRS-AUDIT-0044",
+                              OMRSAuditLogRecordSeverity.STARTUP,
+                              "The OMRS Topic Connector is sending events to topic {0} using the {1} encoding with content type {2}",
+                              "The OMRS Topic Connector has been configured to send events in an encoding other than JSON.  " +
+                                      "It continues to accept events in any of the supported encodings.",
+                              "Verify that every member of the cohort is able to decode events in this encoding.  Members " +
+                                      "running older versions of the OMRS only understand JSON and will report parsing errors."),
+
+    UNKNOWN_EVENT_ENCODING("OMRS-AUDIT-0045",
+                           OMRSAuditLogRecordSeverity.ERROR,
+                           "The OMRS Topic Connector for topic {0} has been configured with an unknown event encoding of {1}",
+                           "The OMRS Topic Connector sends its events using the JSON encoding.",
+                           "Correct the eventEncoding configuration property in the connection for the cohort topic.  " +
+                                   "The supported values are JSON and SMILE."),
+
     PROCESSING_ARCHIVE("OMRS-AUDIT-0050",
                        OMRSAuditLogRecordSeverity.INFO,
                        "The Open Metadata Repository Services (OMRS) is about to process open metadata archive {0}",
@@ -407,6 +422,13 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                               "or a Repository Proxy that connects to a third party repository that supports this type of metadata.  " +
                               "Detail of the different types of servers are found in the admin guide."),
 
+    ARCHIVE_READ_FAILED("OMRS-AUDIT-0056",
+                        OMRSAuditLogRecordSeverity.EXCEPTION,
+                        "The Open Metadata Repository Services (OMRS) was unable to finish reading open metadata archive {0} because of a {1} exception with message {2}; {3} types and {4} instances had been processed",
+                        "The local server stops processing the open metadata archive.  The types and instances processed before the error remain in the repository.",
+                        "Use the exception message to determine why the archive could not be read.  Correct or replace the archive and load it again.  " +
+                                "Content that has already been loaded is recognized as a duplicate and ignored."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -948,6 +970,12 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                        "The local server is processing a federated query to all members of the connected cohorts.  However one of the members is not responding correctly and so it has been skipped from the call. The remote server is probably not running, or has been incorrectly configured.",
                                        "Validate the availability and configuration of the remote server.  It may be a temporary failure due to an outage in the network or the server itself.  However, if the remote server is not configured correctly, or has changed its metadata collection id, then this wil lbe a permanent error and this server will not be included in the federated query until it is fixed."),
 
+    FEDERATED_REQUEST_TIMEOUT("OMRS-AUDIT-0402",
+                              OMRSAuditLogRecordSeverity.ACTION,
+                              "Repository {0} did not respond to federated request {1} within {2} milliseconds and its results have been excluded",
+                              "The local server is processing a federated query to all members of the connected cohorts in parallel.  However one of the members did not respond before the timeout expired and so its request has been cancelled.  The results from the other members are returned to the caller.",
+                              "Validate the availability and performance of the remote server.  If the remote server is simply slow for this type of request then consider increasing the federatedRequestTimeout property in the enterprise access configuration of this server."),
+
     PROCESS_UNKNOWN_EVENT("OMRS-AUDIT-8001",
                           OMRSAuditLogRecordSeverity.ERROR,
                           "Received unknown event: {0}",
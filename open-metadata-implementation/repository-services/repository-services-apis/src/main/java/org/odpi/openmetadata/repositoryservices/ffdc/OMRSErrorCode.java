@@ -579,6 +579,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    NEGATIVE_AUDIT_LOG_PAGING(400, "OMRS-AUDIT-LOG-400-009",
+            "The Audit Log destination {0} has been passed a negative value of {1} for the {2} parameter of the {3} query",
+            "The system is unable to process the query request because the paging parameters are invalid.",
+            "The offset and maximumRecords parameters must be zero or greater.  Correct the caller's code and retry the query."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -0,0 +1,218 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogOverflowPolicy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that OMRSAuditLogStoreDelivery passes log records to the store in order and applies its overflow
+ * policy when the queue is full.
+ */
+public class TestOMRSAuditLogStoreDelivery
+{
+    private static final int queueSize = 5;
+
+
+    /**
+     * Audit log store that holds on to the first log record until it is released so the queue can be filled.
+     */
+    private static class GatedAuditLogStore extends OMRSAuditLogStoreConnectorBase
+    {
+        private final CountDownLatch firstRecordReceived = new CountDownLatch(1);
+        private final CountDownLatch release             = new CountDownLatch(1);
+        private final List<String>   storedRecords       = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger  activeCalls         = new AtomicInteger(0);
+        private final AtomicInteger  maxActiveCalls      = new AtomicInteger(0);
+
+
+        @Override
+        public String storeLogRecord(OMRSAuditLogRecord logRecord)
+        {
+            maxActiveCalls.accumulateAndGet(activeCalls.incrementAndGet(), Math::max);
+            firstRecordReceived.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            storedRecords.add(logRecord.getGUID());
+            activeCalls.decrementAndGet();
+
+            return logRecord.getGUID();
+        }
+    }
+
+
+    /**
+     * Create a log record.
+     *
+     * @param guid identifier
+     * @param severity severity name
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(String guid, OMRSAuditLogRecordSeverity severity)
+    {
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(guid);
+        logRecord.setSeverity(severity.getName());
+
+        return logRecord;
+    }
+
+
+    /**
+     * Fill the queue so that the next log record overflows.  The first log record is held by the store
+     * and the rest wait in the queue.
+     *
+     * @param store audit log store
+     * @param delivery delivery under test
+     * @param severity severity of the queued log records
+     * @throws InterruptedException the test was interrupted
+     */
+    private void fillQueue(GatedAuditLogStore        store,
+                           OMRSAuditLogStoreDelivery delivery,
+                           OMRSAuditLogRecordSeverity severity) throws InterruptedException
+    {
+        delivery.addLogRecord(getLogRecord("held", severity));
+        assertTrue(store.firstRecordReceived.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < queueSize; i++)
+        {
+            delivery.addLogRecord(getLogRecord("queued-" + i, severity));
+        }
+
+        assertEquals(delivery.getQueuedRecordCount(), queueSize);
+    }
+
+
+    @Test
+    void testDropLowestSeverity() throws InterruptedException
+    {
+        GatedAuditLogStore        store    = new GatedAuditLogStore();
+        OMRSAuditLogStoreDelivery delivery = new OMRSAuditLogStoreDelivery(store,
+                                                                           queueSize,
+                                                                           OMRSAuditLogOverflowPolicy.DROP_LOWEST_SEVERITY,
+                                                                           1);
+
+        fillQueue(store, delivery, OMRSAuditLogRecordSeverity.INFO);
+
+        /*
+         * A low severity log record is dropped; an error replaces the oldest queued low severity log record.
+         */
+        delivery.addLogRecord(getLogRecord("dropped", OMRSAuditLogRecordSeverity.TRACE));
+        delivery.addLogRecord(getLogRecord("error", OMRSAuditLogRecordSeverity.ERROR));
+
+        assertEquals(delivery.getDroppedRecordCount(), 2);
+        assertEquals(delivery.getQueuedRecordCount(), queueSize);
+
+        store.release.countDown();
+        delivery.shutdown();
+
+        assertEquals(store.storedRecords, List.of("held", "queued-1", "queued-2", "queued-3", "queued-4", "error"));
+        assertEquals(delivery.getQueuedRecordCount(), 0);
+    }
+
+
+    @Test
+    void testSample() throws InterruptedException
+    {
+        GatedAuditLogStore        store    = new GatedAuditLogStore();
+        OMRSAuditLogStoreDelivery delivery = new OMRSAuditLogStoreDelivery(store,
+                                                                           queueSize,
+                                                                           OMRSAuditLogOverflowPolicy.SAMPLE,
+                                                                           4);
+
+        fillQueue(store, delivery, OMRSAuditLogRecordSeverity.ERROR);
+
+        /*
+         * Only one in four of the overflowing log records waits for space, so the fourth blocks until
+         * the store is released.
+         */
+        for (int i = 1; i < 4; i++)
+        {
+            delivery.addLogRecord(getLogRecord("overflow-" + i, OMRSAuditLogRecordSeverity.ERROR));
+        }
+
+        assertEquals(delivery.getDroppedRecordCount(), 3);
+
+        store.release.countDown();
+        delivery.addLogRecord(getLogRecord("overflow-4", OMRSAuditLogRecordSeverity.ERROR));
+        delivery.shutdown();
+
+        assertEquals(store.storedRecords.size(), queueSize + 2);
+        assertEquals(store.storedRecords.get(queueSize + 1), "overflow-4");
+    }
+
+
+    @Test
+    void testDeliveryAfterShutdown() throws InterruptedException
+    {
+        GatedAuditLogStore        store    = new GatedAuditLogStore();
+        OMRSAuditLogStoreDelivery delivery = new OMRSAuditLogStoreDelivery(store,
+                                                                           queueSize,
+                                                                           OMRSAuditLogOverflowPolicy.BLOCK,
+                                                                           1);
+
+        store.release.countDown();
+        delivery.addLogRecord(getLogRecord("first", OMRSAuditLogRecordSeverity.ERROR));
+        delivery.shutdown();
+        delivery.addLogRecord(getLogRecord("second", OMRSAuditLogRecordSeverity.ERROR));
+
+        assertEquals(store.storedRecords, List.of("first", "second"));
+        assertEquals(delivery.getDroppedRecordCount(), 0);
+    }
+
+
+    @Test
+    void testDeliveryAfterShutdownTimeout() throws InterruptedException
+    {
+        GatedAuditLogStore        store    = new GatedAuditLogStore();
+        OMRSAuditLogStoreDelivery delivery = new OMRSAuditLogStoreDelivery(store,
+                                                                           queueSize,
+                                                                           OMRSAuditLogOverflowPolicy.BLOCK,
+                                                                           1,
+                                                                           100);
+
+        /*
+         * The store holds the first log record past the shutdown wait, so the log records added after
+         * shutdown must wait for the delivery thread rather than call the store alongside it.
+         */
+        fillQueue(store, delivery, OMRSAuditLogRecordSeverity.ERROR);
+
+        Thread shutdownThread = new Thread(delivery::shutdown);
+        Thread loggingThread  = new Thread(() -> delivery.addLogRecord(getLogRecord("after", OMRSAuditLogRecordSeverity.ERROR)));
+
+        shutdownThread.start();
+        shutdownThread.join(1000);
+        loggingThread.start();
+        loggingThread.join(200);
+
+        store.release.countDown();
+        shutdownThread.join(10000);
+        loggingThread.join(10000);
+
+        assertEquals(store.maxActiveCalls.get(), 1);
+        assertEquals(store.storedRecords.size(), queueSize + 2);
+        assertEquals(delivery.getQueuedRecordCount(), 0);
+    }
+}
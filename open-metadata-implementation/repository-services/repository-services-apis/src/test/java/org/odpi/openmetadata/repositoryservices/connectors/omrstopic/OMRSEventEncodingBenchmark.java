@@ -0,0 +1,87 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * OMRSEventEncodingBenchmark compares the payload size and the encode/decode cost of the event encodings for a
+ * batch of typical instance events.  It is not part of the unit tests since the timings depend on the machine.
+ * Run it from the IDE or with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.mainClass=org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSEventEncodingBenchmark -Dexec.classpathScope=test
+ * </pre>
+ */
+public class OMRSEventEncodingBenchmark
+{
+    private static final int BENCHMARK_EVENTS     = 500;
+    private static final int BENCHMARK_ITERATIONS = 10;
+
+
+    /**
+     * Run the benchmark and print the results.
+     *
+     * @param args not used
+     * @throws IOException serialization problem
+     */
+    public static void main(String[] args) throws IOException
+    {
+        List<OMRSEventV1> events = new ArrayList<>();
+
+        for (int i = 0; i < BENCHMARK_EVENTS; i++)
+        {
+            events.add(OMRSTopicConnectorTest.getInstanceEvent(i));
+        }
+
+        for (OMRSEventEncoding encoding : OMRSEventEncoding.values())
+        {
+            long payloadSize = 0;
+            long encodeTime  = 0;
+            long decodeTime  = 0;
+
+            for (int iteration = 0; iteration < BENCHMARK_ITERATIONS; iteration++)
+            {
+                List<byte[]> encodedEvents = new ArrayList<>();
+
+                long start = System.nanoTime();
+
+                for (OMRSEventV1 event : events)
+                {
+                    encodedEvents.add(OMRSTopicConnector.encodeBinaryEvent(event, encoding));
+                }
+
+                long encoded = System.nanoTime();
+
+                for (byte[] encodedEvent : encodedEvents)
+                {
+                    OMRSTopicConnector.decodeEvent(encodedEvent, encoding.getContentType());
+                }
+
+                /*
+                 * The first iteration warms up the serializers.
+                 */
+                if (iteration > 0)
+                {
+                    encodeTime += encoded - start;
+                    decodeTime += System.nanoTime() - encoded;
+                }
+                else
+                {
+                    for (byte[] encodedEvent : encodedEvents)
+                    {
+                        payloadSize += encodedEvent.length;
+                    }
+                }
+            }
+
+            System.out.println(encoding.getName() + ": average payload " + (payloadSize / BENCHMARK_EVENTS) + " bytes, encode " +
+                                       (encodeTime / ((long) BENCHMARK_EVENTS * (BENCHMARK_ITERATIONS - 1))) + " ns/event, decode " +
+                                       (decodeTime / ((long) BENCHMARK_EVENTS * (BENCHMARK_ITERATIONS - 1))) + " ns/event");
+        }
+    }
+}
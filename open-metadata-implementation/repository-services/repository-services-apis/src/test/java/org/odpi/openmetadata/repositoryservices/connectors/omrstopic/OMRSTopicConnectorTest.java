@@ -0,0 +1,267 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.frameworks.connectors.Connector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate the encoding and decoding of events on the cohort topic.
+ */
+public class OMRSTopicConnectorTest
+{
+    @Test
+    void testEncodingNames()
+    {
+        assertEquals(OMRSEventEncoding.getEncoding("smile"), OMRSEventEncoding.SMILE);
+        assertEquals(OMRSEventEncoding.getEncoding(" JSON "), OMRSEventEncoding.JSON);
+        assertNull(OMRSEventEncoding.getEncoding("avro"));
+        assertNull(OMRSEventEncoding.getEncoding(null));
+        assertNull(OMRSEventEncoding.JSON.getHeader());
+    }
+
+
+    @Test
+    void testRoundTrip() throws IOException
+    {
+        OMRSEventV1 event = getInstanceEvent(1);
+
+        for (OMRSEventEncoding encoding : OMRSEventEncoding.values())
+        {
+            String encodedEvent = OMRSTopicConnector.encodeEvent(event, encoding);
+
+            assertEquals(OMRSEventEncoding.getEventEncoding(encodedEvent), encoding);
+
+            OMRSEventBean decodedEvent = OMRSTopicConnector.decodeEvent(encodedEvent);
+
+            assertTrue(decodedEvent instanceof OMRSEventV1);
+            assertEquals(OMRSTopicConnector.encodeEvent(decodedEvent, OMRSEventEncoding.JSON),
+                         OMRSTopicConnector.encodeEvent(event, OMRSEventEncoding.JSON));
+        }
+
+        /*
+         * Events from older members have no header and must still be accepted.
+         */
+        String legacyEvent = OMRSTopicConnector.encodeEvent(event, OMRSEventEncoding.JSON);
+
+        assertTrue(legacyEvent.startsWith("{"));
+        assertTrue(OMRSTopicConnector.decodeEvent(legacyEvent) instanceof OMRSEventV1);
+    }
+
+
+    @Test
+    void testBinaryRoundTrip() throws IOException
+    {
+        OMRSEventV1 event     = getInstanceEvent(1);
+        String      jsonEvent = OMRSTopicConnector.encodeEvent(event, OMRSEventEncoding.JSON);
+        byte[]      smile     = OMRSTopicConnector.encodeBinaryEvent(event, OMRSEventEncoding.SMILE);
+
+        /*
+         * The binary event is sent without base64 wrapping and is decoded using its content type.
+         */
+        assertTrue(smile.length < jsonEvent.length());
+        assertEquals(OMRSEventEncoding.getContentTypeEncoding("application/x-jackson-smile"), OMRSEventEncoding.SMILE);
+        assertEquals(OMRSEventEncoding.getContentTypeEncoding(null), OMRSEventEncoding.JSON);
+        assertEquals(OMRSTopicConnector.encodeEvent(OMRSTopicConnector.decodeEvent(smile, OMRSEventEncoding.SMILE.getContentType()),
+                                                    OMRSEventEncoding.JSON),
+                     jsonEvent);
+
+        /*
+         * A binary event that passes through a text-only event bus is still decoded.
+         */
+        String textEvent = IncomingEvent.getTextEvent(smile, OMRSEventEncoding.SMILE.getContentType());
+
+        assertEquals(textEvent, OMRSTopicConnector.encodeEvent(event, OMRSEventEncoding.SMILE));
+        assertEquals(OMRSTopicConnector.encodeEvent(OMRSTopicConnector.decodeEvent(textEvent), OMRSEventEncoding.JSON), jsonEvent);
+    }
+
+
+    @Test
+    void testDispatchedEventProcessing() throws Exception
+    {
+        CountDownLatch            received        = new CountDownLatch(2);
+        CountDownLatch            release         = new CountDownLatch(1);
+        CompletableFuture<Void>   asyncProcessing = new CompletableFuture<>();
+        List<String>              messageIds      = new CopyOnWriteArrayList<>();
+        MockTopicConnector        topicConnector  = new MockTopicConnector();
+        OMRSTopicConnector        connector       = new OMRSTopicConnector();
+
+        topicConnector.initialize("testTopic", new ConnectionProperties(new Connection()));
+        Connection connection = new Connection();
+
+        connection.setConfigurationProperties(Map.of(OMRSTopicProvider.EVENT_DISPATCH_THREADS_PROPERTY, 2));
+        connector.initialize("test", new ConnectionProperties(connection));
+        connector.setAuditLog(new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null));
+
+        /*
+         * Two listeners so the event is passed to two lanes.  The first starts asynchronous processing.
+         */
+        for (int listener = 0; listener < 2; listener++)
+        {
+            boolean startsAsyncProcessing = (listener == 0);
+
+            connector.registerListener(new OMRSTopicListenerBase("test")
+            {
+                @Override
+                public void processInstanceEvent(OMRSInstanceEvent instanceEvent)
+                {
+                    messageIds.add(OMRSEventProcessingContext.getCurrentMessageId());
+
+                    if (startsAsyncProcessing)
+                    {
+                        OMRSEventProcessingContext.addAsyncProcessingResult(asyncProcessing);
+                    }
+
+                    received.countDown();
+
+                    try
+                    {
+                        release.await();
+                    }
+                    catch (InterruptedException error)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, "test");
+        }
+
+        connector.initializeEmbeddedConnectors(List.of((Connector) topicConnector));
+        connector.start();
+
+        IncomingEvent event = new IncomingEvent(OMRSTopicConnector.encodeEvent(getInstanceEvent(1), OMRSEventEncoding.JSON), "message-1");
+
+        topicConnector.receiveEvent(event);
+
+        /*
+         * The listeners run on the dispatch threads with the context of the event.  The event is not
+         * complete while they are running, or while the processing they started is outstanding.
+         */
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(messageIds, List.of("message-1", "message-1"));
+        assertFalse(event.isFullyProcessed());
+
+        release.countDown();
+        Thread.sleep(200);
+        assertFalse(event.isFullyProcessed());
+
+        asyncProcessing.complete(null);
+
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((! event.isFullyProcessed()) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(event.isFullyProcessed());
+
+        connector.disconnect();
+    }
+
+
+    static OMRSEventV1 getInstanceEvent(int index)
+    {
+        EntityDetail       entity     = new EntityDetail();
+        InstanceType       type       = new InstanceType();
+        InstanceProperties properties = new InstanceProperties();
+
+        type.setTypeDefGUID("1449911c-4f44-4c22-abc0-7540154feefb");
+        type.setTypeDefName("GlossaryTerm");
+        type.setTypeDefVersion(1L);
+        type.setTypeDefCategory(TypeDefCategory.ENTITY_DEF);
+
+        properties.setProperty("qualifiedName", getStringProperty("GlossaryTerm::Sales::CustomerNumber" + index));
+        properties.setProperty("displayName", getStringProperty("Customer Number " + index));
+        properties.setProperty("summary", getStringProperty("The unique identifier of a customer."));
+        properties.setProperty("description", getStringProperty("Every customer is allocated a number when they " +
+                                                                        "first place an order.  The number is never reused."));
+
+        entity.setGUID(UUID.randomUUID().toString());
+        entity.setType(type);
+        entity.setMetadataCollectionId("2b7f1ca1-1c2e-4e0b-bb6f-0fc73b1c5e3f");
+        entity.setMetadataCollectionName("cocoMDS1");
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setCreatedBy("erinoverview");
+        entity.setCreateTime(new Date());
+        entity.setVersion(index);
+        entity.setProperties(properties);
+
+        OMRSInstanceEvent   instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT, entity);
+        OMRSEventOriginator originator    = new OMRSEventOriginator();
+
+        originator.setMetadataCollectionId(entity.getMetadataCollectionId());
+        originator.setServerName("cocoMDS1");
+        originator.setServerType("Metadata Access Store");
+        originator.setOrganizationName("Coco Pharmaceuticals");
+        instanceEvent.setEventOriginator(originator);
+
+        return instanceEvent.getOMRSEventV1();
+    }
+
+
+    /**
+     * MockTopicConnector passes received events to the OMRSTopicConnector through the incoming event queue.
+     */
+    private static class MockTopicConnector extends OpenMetadataTopicConnector
+    {
+        /**
+         * Simulate the receipt of an event from the event bus.
+         *
+         * @param event incoming event
+         */
+        void receiveEvent(IncomingEvent event)
+        {
+            super.deliverEvent(event);
+        }
+
+
+        @Override
+        public void sendEvent(String event)
+        {
+        }
+    }
+
+
+    private static PrimitivePropertyValue getStringProperty(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+        propertyValue.setTypeName("string");
+
+        return propertyValue;
+    }
+}
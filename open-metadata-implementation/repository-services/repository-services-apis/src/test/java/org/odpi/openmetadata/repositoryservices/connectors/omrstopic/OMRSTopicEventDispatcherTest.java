@@ -0,0 +1,139 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Validate that the OMRSTopicEventDispatcher keeps the events for an instance in order while
+ * processing other work in parallel.
+ */
+public class OMRSTopicEventDispatcherTest
+{
+    private static final int INSTANCES          = 20;
+    private static final int EVENTS_PER_INSTANCE = 50;
+
+
+    @Test
+    void testOrderPerInstance() throws InterruptedException
+    {
+        OMRSTopicEventDispatcher dispatcher = new OMRSTopicEventDispatcher("testTopic", 4, 100);
+
+        Map<String, List<Integer>> receivedEvents = new ConcurrentHashMap<>();
+        CountDownLatch             allReceived    = new CountDownLatch(INSTANCES * EVENTS_PER_INSTANCE * 2);
+
+        for (int event = 0; event < EVENTS_PER_INSTANCE; event++)
+        {
+            for (int instance = 0; instance < INSTANCES; instance++)
+            {
+                String         guid          = "guid-" + instance;
+                int            sequence      = event;
+                List<Runnable> listenerTasks = new ArrayList<>();
+
+                for (int listener = 0; listener < 2; listener++)
+                {
+                    String key = listener + ":" + guid;
+
+                    listenerTasks.add(() ->
+                                      {
+                                          receivedEvents.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                                          allReceived.countDown();
+                                      });
+                }
+
+                dispatcher.dispatch(guid, listenerTasks);
+            }
+        }
+
+        assertTrue(allReceived.await(30, TimeUnit.SECONDS));
+        assertEquals(receivedEvents.size(), INSTANCES * 2);
+
+        for (List<Integer> sequences : receivedEvents.values())
+        {
+            for (int i = 0; i < EVENTS_PER_INSTANCE; i++)
+            {
+                assertEquals(sequences.get(i).intValue(), i);
+            }
+        }
+
+        dispatcher.shutdown();
+    }
+
+
+    @Test
+    void testSlowListener() throws InterruptedException
+    {
+        OMRSTopicEventDispatcher dispatcher = new OMRSTopicEventDispatcher("testTopic", 2, 100);
+
+        CountDownLatch releaseSlowListener = new CountDownLatch(1);
+        CountDownLatch fastListenerDone    = new CountDownLatch(10);
+
+        for (int event = 0; event < 10; event++)
+        {
+            List<Runnable> listenerTasks = new ArrayList<>();
+
+            listenerTasks.add(() ->
+                              {
+                                  try
+                                  {
+                                      releaseSlowListener.await();
+                                  }
+                                  catch (InterruptedException interrupted)
+                                  {
+                                      Thread.currentThread().interrupt();
+                                  }
+                              });
+            listenerTasks.add(fastListenerDone::countDown);
+
+            dispatcher.dispatch("guid", listenerTasks);
+        }
+
+        /*
+         * The second listener receives all of its events while the first is still blocked on the first event.
+         */
+        assertTrue(fastListenerDone.await(30, TimeUnit.SECONDS));
+        assertEquals(dispatcher.getInFlightEventCount(), 10);
+
+        releaseSlowListener.countDown();
+        dispatcher.shutdown();
+    }
+
+
+    @Test
+    void testBarrierEvent()
+    {
+        OMRSTopicEventDispatcher dispatcher = new OMRSTopicEventDispatcher("testTopic", 4, 10);
+
+        AtomicInteger processedEvents = new AtomicInteger(0);
+
+        for (int instance = 0; instance < 50; instance++)
+        {
+            dispatcher.dispatch("guid-" + instance, Collections.singletonList(processedEvents::incrementAndGet));
+        }
+
+        /*
+         * The barrier event runs on this thread once every preceding event has completed.
+         */
+        List<Integer> countAtBarrier = new ArrayList<>();
+
+        dispatcher.dispatch(null, Collections.singletonList(() -> countAtBarrier.add(processedEvents.get())));
+
+        assertEquals(countAtBarrier, Collections.singletonList(50));
+        assertEquals(dispatcher.getInFlightEventCount(), 0);
+
+        dispatcher.shutdown();
+    }
+}
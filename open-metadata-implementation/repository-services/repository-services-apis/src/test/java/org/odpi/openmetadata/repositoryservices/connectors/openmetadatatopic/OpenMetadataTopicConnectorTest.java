@@ -0,0 +1,190 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * OpenMetadataTopicConnectorTest tests the delivery of events through the incoming event queue.
+ */
+public class OpenMetadataTopicConnectorTest
+{
+    @Test public void testDeliverEvent() throws Exception
+    {
+        final int eventCount = 250;
+
+        CountDownLatch       received       = new CountDownLatch(eventCount);
+        List<String>         receivedEvents = new CopyOnWriteArrayList<>();
+        MockTopicConnector   connector      = new MockTopicConnector();
+
+        connector.registerListener(event ->
+                                   {
+                                       receivedEvents.add(event);
+                                       received.countDown();
+                                   });
+        connector.start();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            connector.sendEvent("event-" + i);
+        }
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(receivedEvents.get(0), "event-0");
+        assertEquals(receivedEvents.get(eventCount - 1), "event-" + (eventCount - 1));
+        assertEquals(connector.getIncomingEventQueueDepth(), 0);
+
+        connector.disconnect();
+    }
+
+
+    @Test public void testQueueCapacity() throws Exception
+    {
+        final int queueSize  = 5;
+        final int eventCount = 20;
+
+        CountDownLatch       firstEventReceived = new CountDownLatch(1);
+        CountDownLatch       release            = new CountDownLatch(1);
+        CountDownLatch       received           = new CountDownLatch(eventCount);
+        List<String>         receivedEvents     = new CopyOnWriteArrayList<>();
+        MockTopicConnector   connector          = new MockTopicConnector();
+
+        connector.initialize("test", new ConnectionProperties(getConnection(queueSize)));
+        connector.registerListener(event ->
+                                   {
+                                       firstEventReceived.countDown();
+
+                                       try
+                                       {
+                                           release.await();
+                                       }
+                                       catch (InterruptedException error)
+                                       {
+                                           Thread.currentThread().interrupt();
+                                       }
+
+                                       receivedEvents.add(event);
+                                       received.countDown();
+                                   });
+        connector.start();
+
+        Thread sender = new Thread(() ->
+                                   {
+                                       for (int i = 0; i < eventCount; i++)
+                                       {
+                                           connector.sendEvent("event-" + i);
+                                       }
+                                   });
+        sender.start();
+
+        /*
+         * The listener is blocked on the first event so the sender waits once the queue is full.
+         */
+        assertTrue(firstEventReceived.await(10, TimeUnit.SECONDS));
+
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while ((! connector.isIncomingEventQueueFull()) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(connector.isIncomingEventQueueFull());
+        assertEquals(connector.getIncomingEventQueueDepth(), queueSize);
+        assertTrue(sender.isAlive());
+
+        release.countDown();
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        sender.join(10000);
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            assertEquals(receivedEvents.get(i), "event-" + i);
+        }
+
+        connector.disconnect();
+    }
+
+
+    @Test public void testListenerSendsWhileQueueFull() throws Exception
+    {
+        final int queueSize = 2;
+
+        CountDownLatch       received       = new CountDownLatch(10);
+        List<String>         receivedEvents = new CopyOnWriteArrayList<>();
+        MockTopicConnector   connector      = new MockTopicConnector();
+
+        connector.initialize("test", new ConnectionProperties(getConnection(queueSize)));
+
+        /*
+         * Each of the first events causes the listener to send more events to the same topic than the queue can hold.
+         */
+        connector.registerListener(event ->
+                                   {
+                                       receivedEvents.add(event);
+
+                                       if (event.equals("start"))
+                                       {
+                                           for (int i = 0; i < 9; i++)
+                                           {
+                                               connector.sendEvent("event-" + i);
+                                           }
+                                       }
+
+                                       received.countDown();
+                                   });
+        connector.start();
+        connector.sendEvent("start");
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(receivedEvents.get(0), "start");
+
+        for (int i = 0; i < 9; i++)
+        {
+            assertEquals(receivedEvents.get(i + 1), "event-" + i);
+        }
+
+        connector.disconnect();
+    }
+
+
+    /**
+     * Return a connection with the size of the incoming event queue set.
+     *
+     * @param queueSize maximum number of events in the queue
+     * @return connection
+     */
+    private Connection getConnection(int queueSize)
+    {
+        Connection connection = new Connection();
+
+        connection.setConfigurationProperties(Map.of(OpenMetadataTopicProvider.incomingEventQueueSizeProperty, queueSize));
+
+        return connection;
+    }
+
+
+    /**
+     * MockTopicConnector delivers each event sent straight back to the listener thread.
+     */
+    private static class MockTopicConnector extends OpenMetadataTopicConnector
+    {
+        @Override
+        public void sendEvent(String event)
+        {
+            super.deliverEvent(new IncomingEvent(event, event));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the OpenMetadataArchiveStreamReader passes the contents of an archive to its handler in order
+ * and in chunks.
+ */
+public class OpenMetadataArchiveStreamReaderTest
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+
+    /**
+     * Default constructor
+     */
+    public OpenMetadataArchiveStreamReaderTest()
+    {
+    }
+
+
+    /**
+     * Return a filled in archive
+     *
+     * @return archive
+     */
+    private OpenMetadataArchive getTestArchive()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("TestArchiveGUID");
+        archiveProperties.setArchiveName("TestArchiveName");
+
+        OpenMetadataArchiveTypeStore typeStore         = new OpenMetadataArchiveTypeStore();
+        List<AttributeTypeDef>       attributeTypeDefs = new ArrayList<>();
+
+        attributeTypeDefs.add(new PrimitiveDef());
+        typeStore.setAttributeTypeDefs(attributeTypeDefs);
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID("TestEntity" + i);
+            entities.add(entity);
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+        {
+            Relationship relationship = new Relationship();
+
+            relationship.setGUID("TestRelationship" + i);
+            relationships.add(relationship);
+        }
+
+        List<ClassificationEntityExtension> classifications = new ArrayList<>();
+
+        classifications.add(new ClassificationEntityExtension());
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+        instanceStore.setEntities(entities);
+        instanceStore.setRelationships(relationships);
+        instanceStore.setClassifications(classifications);
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(typeStore);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Validate the calls made to the handler for the test archive.
+     *
+     * @param handler handler that received the archive
+     */
+    private void validateHandler(RecordingHandler handler)
+    {
+        assertEquals(handler.calls.get(0), "properties:TestArchiveName");
+        assertEquals(handler.calls.get(1), "types:1");
+        assertEquals(handler.calls.get(2), "entities:2");
+        assertEquals(handler.calls.get(3), "entities:2");
+        assertEquals(handler.calls.get(4), "entities:1");
+        assertEquals(handler.calls.get(5), "relationships:2");
+        assertEquals(handler.calls.get(6), "relationships:1");
+        assertEquals(handler.calls.get(7), "classifications:1");
+        assertEquals(handler.calls.size(), 8);
+    }
+
+
+    /**
+     * Validate that a JSON archive is passed to the handler in chunks.
+     *
+     * @throws IOException problem reading the archive
+     */
+    @Test public void testJSONArchive() throws IOException
+    {
+        byte[]           archiveBytes = OBJECT_MAPPER.writeValueAsBytes(getTestArchive());
+        RecordingHandler handler      = new RecordingHandler();
+
+        new OpenMetadataArchiveStreamReader(2).readArchive(new ByteArrayInputStream(archiveBytes), handler);
+
+        validateHandler(handler);
+    }
+
+
+    /**
+     * Validate that a gzip compressed archive is detected and decompressed.
+     *
+     * @throws IOException problem reading the archive
+     */
+    @Test public void testGZIPArchive() throws IOException
+    {
+        ByteArrayOutputStream compressedBytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressedBytes))
+        {
+            OBJECT_MAPPER.writeValue(gzipStream, getTestArchive());
+        }
+
+        RecordingHandler handler = new RecordingHandler();
+
+        new OpenMetadataArchiveStreamReader(2).readArchive(new ByteArrayInputStream(compressedBytes.toByteArray()), handler);
+
+        validateHandler(handler);
+    }
+
+
+    /**
+     * Validate that the properties are passed first even when they are at the end of the archive.
+     *
+     * @throws IOException problem reading the archive
+     */
+    @Test public void testPropertiesAtEnd() throws IOException
+    {
+        OpenMetadataArchive archive = getTestArchive();
+
+        String instanceStoreJSON = OBJECT_MAPPER.writeValueAsString(archive.getArchiveInstanceStore());
+        String typeStoreJSON     = OBJECT_MAPPER.writeValueAsString(archive.getArchiveTypeStore());
+        String propertiesJSON    = OBJECT_MAPPER.writeValueAsString(archive.getArchiveProperties());
+        String archiveJSON       = "{\"archiveTypeStore\":" + typeStoreJSON +
+                                   ",\"archiveInstanceStore\":" + instanceStoreJSON +
+                                   ",\"archiveProperties\":" + propertiesJSON + "}";
+
+        RecordingHandler handler = new RecordingHandler();
+
+        new OpenMetadataArchiveStreamReader(2).readArchive(new ByteArrayInputStream(archiveJSON.getBytes(StandardCharsets.UTF_8)), handler);
+
+        validateHandler(handler);
+    }
+
+
+    /**
+     * Validate that nothing is passed to the handler if the archive has no properties.
+     *
+     * @throws IOException problem reading the archive
+     */
+    @Test public void testNoProperties() throws IOException
+    {
+        OpenMetadataArchive archive = getTestArchive();
+
+        archive.setArchiveProperties(null);
+
+        RecordingHandler handler = new RecordingHandler();
+
+        new OpenMetadataArchiveStreamReader(2).readArchive(new ByteArrayInputStream(OBJECT_MAPPER.writeValueAsBytes(archive)), handler);
+
+        assertTrue(handler.calls.isEmpty());
+    }
+
+
+    /**
+     * Validate that content that is not an archive is rejected.
+     */
+    @Test public void testNotAnArchive()
+    {
+        RecordingHandler handler = new RecordingHandler();
+
+        try
+        {
+            new OpenMetadataArchiveStreamReader(2).readArchive(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), handler);
+            assertTrue(false);
+        }
+        catch (IOException expected)
+        {
+            assertTrue(handler.calls.isEmpty());
+        }
+    }
+
+
+    /**
+     * RecordingHandler records the calls made to it.
+     */
+    private static class RecordingHandler implements OpenMetadataArchiveStreamHandler
+    {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            calls.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+        @Override
+        public void processArchiveTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            calls.add("types:" + archiveTypeStore.getAttributeTypeDefs().size());
+        }
+
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            calls.add("entities:" + entities.size());
+        }
+
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            calls.add("relationships:" + relationships.size());
+        }
+
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            calls.add("classifications:" + classifications.size());
+        }
+    }
+}
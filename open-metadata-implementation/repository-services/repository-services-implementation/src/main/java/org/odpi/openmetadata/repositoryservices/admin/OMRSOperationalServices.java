@@ -87,6 +87,7 @@ public class OMRSOperationalServices
     private OMRSEnterpriseConnectorManager enterpriseConnectorManager          = null;
     private String                         enterpriseMetadataCollectionId      = null;
     private String                         enterpriseMetadataCollectionName    = null;
+    private long                           federatedRequestTimeout             = 0;
     private OMRSTopicConnector             enterpriseOMRSTopicConnector        = null;
     private OMRSTopicConnector             remoteEnterpriseOMRSTopicConnector  = null;
     private LocalOMRSRepositoryConnector   localRepositoryConnector            = null;
@@ -171,6 +172,7 @@ public class OMRSOperationalServices
 
                 omrsRepositoryConnector.setCallingServiceName(callingServiceName);
                 omrsRepositoryConnector.setMaxPageSize(maxPageSize);
+                omrsRepositoryConnector.setRepositoryTimeout(federatedRequestTimeout);
 
                 auditLog.logMessage(actionDescription, OMRSAuditCode.NEW_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
 
@@ -745,6 +747,7 @@ public class OMRSOperationalServices
              */
             enterpriseMetadataCollectionId = enterpriseAccessConfig.getEnterpriseMetadataCollectionId();
             enterpriseMetadataCollectionName = enterpriseAccessConfig.getEnterpriseMetadataCollectionName();
+            federatedRequestTimeout = enterpriseAccessConfig.getFederatedRequestTimeout();
         }
 
         return enterpriseConnectorManager;
@@ -1014,6 +1017,14 @@ public class OMRSOperationalServices
 
         auditLog.logMessage(actionDescription, OMRSAuditCode.OMRS_DISCONNECTED.getMessageDefinition());
 
+        /*
+         * Flush any log records still queued for the audit log stores.
+         */
+        if (auditLogDestination != null)
+        {
+            auditLogDestination.shutdown();
+        }
+
         return true;
     }
 
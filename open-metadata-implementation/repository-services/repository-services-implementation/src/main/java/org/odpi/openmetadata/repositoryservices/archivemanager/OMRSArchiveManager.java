@@ -13,6 +13,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.p
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamHandler;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.StreamingOpenMetadataArchiveStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
@@ -20,16 +23,31 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessor
 import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSInstanceEventProcessor;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
  * An open metadata archive provides pre-built definitions for types and metadata instances.
+ * Archives from stores that support streaming are loaded a chunk at a time, with the instances in each chunk
+ * shared between a small number of loader threads.
  */
 public class OMRSArchiveManager
 {
+    private static final int archiveChunkSize         = OpenMetadataArchiveStreamReader.defaultChunkSize;
+    private static final int archiveLoaderThreadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int minimumParallelLoadSize  = 100;
+
     private String                                  localMetadataCollectionId   = null;
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
@@ -134,7 +152,8 @@ public class OMRSArchiveManager
 
     /**
      * Unpack and process the contents an open metadata archive store, passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  The open metadata types are processed as a single batch by the repository
+     * content manager because there are many of them and no other types are in use when the server starts.
      */
     private void processOpenMetadataTypes()
     {
@@ -142,13 +161,17 @@ public class OMRSArchiveManager
         OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
 
         repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
-        processOpenMetadataArchive(openMetadataTypes, "Open Metadata Types", repositoryContentManager, localInstanceEventProcessor);
+        repositoryContentManager.processTypeDefBatch(() -> processOpenMetadataArchive(openMetadataTypes,
+                                                                                      "Open Metadata Types",
+                                                                                      repositoryContentManager,
+                                                                                      localInstanceEventProcessor));
     }
 
 
     /**
      * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  Archive stores that support streaming pass their contents in chunks as they are read
+     * so that the whole archive is never held in memory.
      *
      * @param archiveStore open metadata archive  to process
      * @param archiveSource source of the archive - such as file name
@@ -160,7 +183,26 @@ public class OMRSArchiveManager
                                                  OMRSTypeDefEventProcessorInterface   typeDefProcessor,
                                                  OMRSInstanceEventProcessorInterface  instanceProcessor)
     {
-        if (archiveStore != null)
+        if (archiveStore instanceof StreamingOpenMetadataArchiveStore)
+        {
+            ArchiveContentLoader archiveContentLoader = new ArchiveContentLoader(archiveSource, typeDefProcessor, instanceProcessor);
+
+            try
+            {
+                ((StreamingOpenMetadataArchiveStore) archiveStore).processArchiveContents(archiveContentLoader, archiveChunkSize);
+
+                archiveContentLoader.complete();
+            }
+            catch (IOException error)
+            {
+                archiveContentLoader.fail(error);
+            }
+            finally
+            {
+                archiveContentLoader.close();
+            }
+        }
+        else if (archiveStore != null)
         {
             /*
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
@@ -196,40 +238,37 @@ public class OMRSArchiveManager
                                             OMRSTypeDefEventProcessorInterface    typeDefProcessor,
                                             OMRSInstanceEventProcessorInterface   instanceProcessor)
     {
-        final String     actionDescription = "Process Open Metadata Archive";
-
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
+        ArchiveContentLoader archiveContentLoader = new ArchiveContentLoader(archiveSource, typeDefProcessor, instanceProcessor);
 
-        if (archiveProperties != null)
+        try
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
-
+            OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
 
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
-
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
+            if (archiveProperties != null)
+            {
+                OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
+                OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
 
+                archiveContentLoader.processArchiveProperties(archiveProperties);
 
-            if (archiveTypeStore != null)
-            {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
-            }
+                if (archiveTypeStore != null)
+                {
+                    archiveContentLoader.processArchiveTypeStore(archiveTypeStore);
+                }
 
-            if (archiveInstanceStore != null)
-            {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                if (archiveInstanceStore != null)
+                {
+                    archiveContentLoader.processEntities(archiveInstanceStore.getEntities());
+                    archiveContentLoader.processRelationships(archiveInstanceStore.getRelationships());
+                    archiveContentLoader.processClassifications(archiveInstanceStore.getClassifications());
+                }
             }
 
-            auditLog.logMessage(actionDescription,
-                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
-                                                                                     Integer.toString(instanceCount),
-                                                                                     archiveProperties.getArchiveName()));
+            archiveContentLoader.complete();
         }
-        else
+        finally
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            archiveContentLoader.close();
         }
     }
 
@@ -343,200 +382,146 @@ public class OMRSArchiveManager
 
 
     /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
+     * Pass an entity from the instance store of an archive to the local repository.
      *
      * It is possible that this archive has been processed before
      * and so any duplicates detected are ignored.  However, conflicting instances are detected.
      * Any problems found in applying the archive contents are recorded on the audit log.
      *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
+     * @param archiveContext details of the archive used to set up the instance
+     * @param instanceProcessor the processor to add the instances to the local repository
+     * @param entity entity to process
      */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
+    private void processEntity(ArchiveInstanceContext              archiveContext,
+                               OMRSInstanceEventProcessorInterface instanceProcessor,
+                               EntityDetail                        entity)
     {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
-
-        if (instanceProcessor != null)
-        {
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 archiveVersion             = archiveProperties.getArchiveVersion();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
+        this.setInstanceAuditHeader(localMetadataCollectionId,
+                                    archiveContext.homeMetadataCollectionId,
+                                    archiveContext.archiveName,
+                                    archiveContext.originatorName,
+                                    archiveContext.archiveCreationTime,
+                                    archiveContext.provenanceType,
+                                    archiveContext.originatorLicense,
+                                    entity);
 
-            String archiveId = originatorName + " (" + archiveVersion + ")";
+        /*
+         * There is no need to support delete in archive because the elements are
+         * reference copies and can be deleted from the receiving repositories.
+         */
+        if (entity.getVersion() == 1L)
+        {
+            instanceProcessor.processNewEntityEvent(archiveContext.archiveId,
+                                                    archiveContext.homeMetadataCollectionId,
+                                                    archiveContext.archiveName,
+                                                    archiveContext.originatorServerType,
+                                                    archiveContext.originatorOrganizationName,
+                                                    entity);
+        }
+        else
+        {
+            instanceProcessor.processUpdatedEntityEvent(archiveContext.archiveId,
+                                                        archiveContext.homeMetadataCollectionId,
+                                                        archiveContext.archiveName,
+                                                        archiveContext.originatorServerType,
+                                                        archiveContext.originatorOrganizationName,
+                                                        null,
+                                                        entity);
+        }
+    }
 
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
-            {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
-            }
-            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
-            {
-                provenanceType       = InstanceProvenanceType.LOCAL_COHORT;
-                originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
-            }
 
-            if (entities != null)
-            {
-                for (EntityDetail entity : entities)
-                {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
+    /**
+     * Pass a relationship from the instance store of an archive to the local repository.
+     *
+     * @param archiveContext details of the archive used to set up the instance
+     * @param instanceProcessor the processor to add the instances to the local repository
+     * @param relationship relationship to process
+     */
+    private void processRelationship(ArchiveInstanceContext              archiveContext,
+                                     OMRSInstanceEventProcessorInterface instanceProcessor,
+                                     Relationship                        relationship)
+    {
+        this.setInstanceAuditHeader(localMetadataCollectionId,
+                                    archiveContext.homeMetadataCollectionId,
+                                    archiveContext.archiveName,
+                                    archiveContext.originatorName,
+                                    archiveContext.archiveCreationTime,
+                                    archiveContext.provenanceType,
+                                    archiveContext.originatorLicense,
+                                    relationship);
 
-                        /*
-                         * There is no need to support delete in archive because the elements are
-                         * reference copies and can be deleted from the receiving repositories.
-                         */
-                        if (entity.getVersion() == 1L)
-                        {
-                            instanceProcessor.processNewEntityEvent(archiveId,
-                                                                    homeMetadataCollectionId,
-                                                                    archiveName,
-                                                                    originatorServerType,
-                                                                    originatorOrganizationName,
-                                                                    entity);
-                        }
-                        else
-                        {
-                            instanceProcessor.processUpdatedEntityEvent(archiveId,
-                                                                        homeMetadataCollectionId,
-                                                                        archiveName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        null,
-                                                                        entity);
-                        }
+        /*
+         * There is no need to support delete in archive because the elements are
+         * reference copies and can be deleted from the receiving repositories.
+         */
+        if (relationship.getVersion() == 1L)
+        {
+            instanceProcessor.processNewRelationshipEvent(archiveContext.archiveId,
+                                                          archiveContext.homeMetadataCollectionId,
+                                                          archiveContext.archiveName,
+                                                          archiveContext.originatorServerType,
+                                                          archiveContext.originatorOrganizationName,
+                                                          relationship);
+        }
+        else
+        {
+            instanceProcessor.processUpdatedRelationshipEvent(archiveContext.archiveId,
+                                                              archiveContext.homeMetadataCollectionId,
+                                                              archiveContext.archiveName,
+                                                              archiveContext.originatorServerType,
+                                                              archiveContext.originatorOrganizationName,
+                                                              null,
+                                                              relationship);
+        }
+    }
 
-                        instanceCount++;
-                    }
-                }
-            }
 
-            if (relationships != null)
-            {
-                for (Relationship relationship : relationships)
-                {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        /*
-                         * There is no need to support delete in archive because the elements are
-                         * reference copies and can be deleted from the receiving repositories.
-                         */
-                        if (relationship.getVersion() == 1L)
-                        {
-                            instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                          homeMetadataCollectionId,
-                                                                          archiveName,
-                                                                          originatorServerType,
-                                                                          originatorOrganizationName,
-                                                                          relationship);
-                        }
-                        else
-                        {
-                            instanceProcessor.processUpdatedRelationshipEvent(archiveId,
-                                                                              homeMetadataCollectionId,
-                                                                              archiveName,
-                                                                              originatorServerType,
-                                                                              originatorOrganizationName,
-                                                                              null,
-                                                                              relationship);
-                        }
+    /**
+     * Pass a classification from the instance store of an archive to the local repository.
+     *
+     * @param archiveContext details of the archive used to set up the instance
+     * @param classificationInstanceProcessor the processor to add the instances to the local repository
+     * @param classificationEntityExtension classification and the entity it belongs to
+     */
+    private void processClassification(ArchiveInstanceContext                            archiveContext,
+                                       OMRSInstanceEventProcessorClassificationExtension classificationInstanceProcessor,
+                                       ClassificationEntityExtension                     classificationEntityExtension)
+    {
+        Classification classification = classificationEntityExtension.getClassification();
 
-                        instanceCount ++;
-                    }
-                }
-            }
+        this.setInstanceAuditHeader(localMetadataCollectionId,
+                                    archiveContext.homeMetadataCollectionId,
+                                    archiveContext.archiveName,
+                                    archiveContext.originatorName,
+                                    archiveContext.archiveCreationTime,
+                                    archiveContext.provenanceType,
+                                    archiveContext.originatorLicense,
+                                    classification);
 
-            if (instanceProcessor instanceof OMRSInstanceEventProcessorClassificationExtension)
-            {
-                OMRSInstanceEventProcessorClassificationExtension classificationInstanceProcessor = (OMRSInstanceEventProcessorClassificationExtension)instanceProcessor;
+        classificationEntityExtension.setClassification(classification);
 
-                if (classifications != null)
-                {
-                    for (ClassificationEntityExtension classificationEntityExtension : classifications)
-                    {
-                        if (classificationEntityExtension != null)
-                        {
-                            Classification classification = classificationEntityExtension.getClassification();
-
-                            this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                        homeMetadataCollectionId,
-                                                        archiveName,
-                                                        originatorName,
-                                                        archiveCreationTime,
-                                                        provenanceType,
-                                                        originatorLicense,
-                                                        classification);
-
-                            classificationEntityExtension.setClassification(classification);
-
-                            if (classification.getVersion() == 1L)
-                            {
-                                classificationInstanceProcessor.processClassifiedEntityEvent(archiveId,
-                                                                                             homeMetadataCollectionId,
-                                                                                             archiveName,
-                                                                                             originatorServerType,
-                                                                                             originatorOrganizationName,
-                                                                                             classificationEntityExtension.getEntityToClassify(),
-                                                                                             classification);
-                            }
-                            else
-                            {
-                                classificationInstanceProcessor.processReclassifiedEntityEvent(archiveId,
-                                                                                               homeMetadataCollectionId,
-                                                                                               archiveName,
-                                                                                               originatorServerType,
-                                                                                               originatorOrganizationName,
-                                                                                               classificationEntityExtension.getEntityToClassify(),
-                                                                                               null,
-                                                                                               classification);
-                            }
-
-                            instanceCount ++;
-                        }
-                    }
-                }
-            }
+        if (classification.getVersion() == 1L)
+        {
+            classificationInstanceProcessor.processClassifiedEntityEvent(archiveContext.archiveId,
+                                                                         archiveContext.homeMetadataCollectionId,
+                                                                         archiveContext.archiveName,
+                                                                         archiveContext.originatorServerType,
+                                                                         archiveContext.originatorOrganizationName,
+                                                                         classificationEntityExtension.getEntityToClassify(),
+                                                                         classification);
         }
         else
         {
-            final String actionDescription = "Processing instances from archive";
-
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
+            classificationInstanceProcessor.processReclassifiedEntityEvent(archiveContext.archiveId,
+                                                                           archiveContext.homeMetadataCollectionId,
+                                                                           archiveContext.archiveName,
+                                                                           archiveContext.originatorServerType,
+                                                                           archiveContext.originatorOrganizationName,
+                                                                           classificationEntityExtension.getEntityToClassify(),
+                                                                           null,
+                                                                           classification);
         }
-
-        return instanceCount;
     }
 
 
@@ -620,4 +605,417 @@ public class OMRSArchiveManager
             instance.setVersion(1L);
         }
     }
+
+
+    /**
+     * ArchiveInstanceContext holds the values from the archive properties that are used to set up each instance
+     * from the archive and the events that pass them to the local repository.
+     */
+    private static class ArchiveInstanceContext
+    {
+        private final String                 archiveId;
+        private final String                 homeMetadataCollectionId;
+        private final String                 archiveName;
+        private final String                 originatorServerType;
+        private final InstanceProvenanceType provenanceType;
+        private final Date                   archiveCreationTime;
+        private final String                 originatorName;
+        private final String                 originatorOrganizationName;
+        private final String                 originatorLicense;
+
+
+        /**
+         * Constructor
+         *
+         * @param archiveProperties properties of the archive
+         */
+        ArchiveInstanceContext(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
+            this.archiveName                = archiveProperties.getArchiveName();
+            this.archiveCreationTime        = archiveProperties.getCreationDate();
+            this.originatorName             = archiveProperties.getOriginatorName();
+            this.originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            this.originatorLicense          = archiveProperties.getOriginatorLicense();
+            this.archiveId                  = originatorName + " (" + archiveProperties.getArchiveVersion() + ")";
+
+            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+            {
+                this.provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
+                this.originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+            }
+            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
+            {
+                this.provenanceType       = InstanceProvenanceType.LOCAL_COHORT;
+                this.originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
+            }
+            else
+            {
+                this.provenanceType       = InstanceProvenanceType.CONTENT_PACK;
+                this.originatorServerType = OpenMetadataArchiveType.CONTENT_PACK.getName();
+            }
+        }
+    }
+
+
+    /**
+     * ArchiveContentLoader passes the contents of an archive to the local repository as they are received.  The types are
+     * processed in the order they are received.  Each chunk of instances is split between the loader threads by the
+     * unique identifier of the instance (or, for classifications, the entity being classified) so that the updates to
+     * a single instance are applied in the order they appear in the archive.  A chunk is complete before the next one is
+     * started, which means all entities are loaded before their relationships and classifications.
+     */
+    private class ArchiveContentLoader implements OpenMetadataArchiveStreamHandler
+    {
+        private final String                              archiveSource;
+        private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private final OMRSInstanceEventProcessorInterface instanceProcessor;
+        private final AtomicInteger                       instanceCount = new AtomicInteger(0);
+
+        private OpenMetadataArchiveProperties archiveProperties         = null;
+        private ArchiveInstanceContext        archiveContext            = null;
+        private int                           typeCount                 = 0;
+        private boolean                       noInstanceProcessorLogged = false;
+        private ExecutorService               loaderThreads             = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param archiveSource source of the archive - such as file name
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor processor of instances that have been found in the archive.  It may be null
+         *                          if there is no local repository configured for this server.
+         */
+        ArchiveContentLoader(String                              archiveSource,
+                             OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                             OMRSInstanceEventProcessorInterface instanceProcessor)
+        {
+            this.archiveSource     = archiveSource;
+            this.typeDefProcessor  = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            final String actionDescription = "Process Open Metadata Archive";
+
+            this.archiveProperties = archiveProperties;
+            this.archiveContext    = new ArchiveInstanceContext(archiveProperties);
+
+            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processArchiveTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            if ((archiveProperties != null) && (archiveTypeStore != null))
+            {
+                typeCount += processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processEntities(List<EntityDetail> entities)
+        {
+            if (isReadyForInstances())
+            {
+                loadInstances(entities,
+                              EntityDetail::getGUID,
+                              entity -> processEntity(archiveContext, instanceProcessor, entity));
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processRelationships(List<Relationship> relationships)
+        {
+            if (isReadyForInstances())
+            {
+                loadInstances(relationships,
+                              Relationship::getGUID,
+                              relationship -> processRelationship(archiveContext, instanceProcessor, relationship));
+            }
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void processClassifications(List<ClassificationEntityExtension> classifications)
+        {
+            if ((isReadyForInstances()) && (instanceProcessor instanceof OMRSInstanceEventProcessorClassificationExtension))
+            {
+                OMRSInstanceEventProcessorClassificationExtension classificationInstanceProcessor = (OMRSInstanceEventProcessorClassificationExtension)instanceProcessor;
+
+                loadInstances(classifications,
+                              classification -> classification.getEntityToClassify() == null ? null : classification.getEntityToClassify().getGUID(),
+                              classification -> processClassification(archiveContext, classificationInstanceProcessor, classification));
+            }
+        }
+
+
+        /**
+         * Log the completion of the archive.
+         */
+        void complete()
+        {
+            final String actionDescription = "Process Open Metadata Archive";
+
+            if (archiveProperties != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount.get()),
+                                                                                         archiveProperties.getArchiveName()));
+            }
+            else
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            }
+        }
+
+
+        /**
+         * Log that the archive could not be read to the end.
+         *
+         * @param error exception from the archive store
+         */
+        void fail(IOException error)
+        {
+            final String actionDescription = "Process Open Metadata Archive";
+
+            String archiveName = archiveSource;
+
+            if ((archiveProperties != null) && (archiveProperties.getArchiveName() != null))
+            {
+                archiveName = archiveProperties.getArchiveName();
+            }
+
+            auditLog.logException(actionDescription,
+                                  OMRSAuditCode.ARCHIVE_READ_FAILED.getMessageDefinition(archiveName,
+                                                                                         error.getClass().getName(),
+                                                                                         error.getMessage(),
+                                                                                         Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount.get())),
+                                  error);
+        }
+
+
+        /**
+         * Stop the loader threads.
+         */
+        void close()
+        {
+            if (loaderThreads != null)
+            {
+                loaderThreads.shutdown();
+                loaderThreads = null;
+            }
+        }
+
+
+        /**
+         * Check that instances can be passed to the local repository.  If there is no instance processor, this is
+         * logged once for the archive.
+         *
+         * @return flag indicating whether to process the instances
+         */
+        private boolean isReadyForInstances()
+        {
+            if (archiveContext == null)
+            {
+                return false;
+            }
+
+            if (instanceProcessor == null)
+            {
+                if (! noInstanceProcessorLogged)
+                {
+                    final String actionDescription = "Processing instances from archive";
+
+                    auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
+                    noInstanceProcessorLogged = true;
+                }
+
+                return false;
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Pass a chunk of instances to the local repository.  Small chunks are processed on the calling thread.
+         * Larger chunks are split between the loader threads so that all instances with the same unique identifier are
+         * processed by the same thread in their original order.  The method returns when the whole chunk is processed.
+         *
+         * @param instances chunk of instances
+         * @param getGUID function returning the unique identifier that the instance is partitioned by
+         * @param loader function to process a single instance
+         * @param <T> type of instance
+         */
+        private <T> void loadInstances(List<T>             instances,
+                                       Function<T, String> getGUID,
+                                       Consumer<T>         loader)
+        {
+            if ((instances == null) || (instances.isEmpty()))
+            {
+                return;
+            }
+
+            if ((archiveLoaderThreadCount == 1) || (instances.size() < minimumParallelLoadSize))
+            {
+                loadPartition(instances, loader);
+                return;
+            }
+
+            List<List<T>> partitions = new ArrayList<>();
+
+            for (int i = 0; i < archiveLoaderThreadCount; i++)
+            {
+                partitions.add(new ArrayList<>());
+            }
+
+            for (T instance : instances)
+            {
+                if (instance != null)
+                {
+                    String guid = getGUID.apply(instance);
+                    int    partition = 0;
+
+                    if (guid != null)
+                    {
+                        partition = Math.floorMod(guid.hashCode(), archiveLoaderThreadCount);
+                    }
+
+                    partitions.get(partition).add(instance);
+                }
+            }
+
+            if (loaderThreads == null)
+            {
+                loaderThreads = Executors.newFixedThreadPool(archiveLoaderThreadCount, new ArchiveLoaderThreadFactory());
+            }
+
+            List<Future<?>> results = new ArrayList<>();
+
+            for (List<T> partition : partitions)
+            {
+                if (! partition.isEmpty())
+                {
+                    results.add(loaderThreads.submit(() -> loadPartition(partition, loader)));
+                }
+            }
+
+            /*
+             * All partitions are allowed to finish before any error is passed to the caller so
+             * that no thread is still updating the repository once this method returns.
+             */
+            RuntimeException firstError = null;
+
+            for (Future<?> result : results)
+            {
+                try
+                {
+                    result.get();
+                }
+                catch (ExecutionException error)
+                {
+                    if (firstError == null)
+                    {
+                        if (error.getCause() instanceof RuntimeException)
+                        {
+                            firstError = (RuntimeException) error.getCause();
+                        }
+                        else if (error.getCause() instanceof Error)
+                        {
+                            throw (Error) error.getCause();
+                        }
+                        else
+                        {
+                            firstError = new IllegalStateException(error.getCause());
+                        }
+                    }
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+
+                    if (firstError == null)
+                    {
+                        firstError = new IllegalStateException(error);
+                    }
+                }
+            }
+
+            if (firstError != null)
+            {
+                throw firstError;
+            }
+        }
+
+
+        /**
+         * Process a list of instances in order.
+         *
+         * @param instances list of instances
+         * @param loader function to process a single instance
+         * @param <T> type of instance
+         */
+        private <T> void loadPartition(List<T>     instances,
+                                       Consumer<T> loader)
+        {
+            for (T instance : instances)
+            {
+                if (instance != null)
+                {
+                    loader.accept(instance);
+                    instanceCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * ArchiveLoaderThreadFactory creates daemon threads with recognizable names for loading archive instances.
+     */
+    private static class ArchiveLoaderThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        /**
+         * Create a new loader thread.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "OMRSArchiveLoader-" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
 }
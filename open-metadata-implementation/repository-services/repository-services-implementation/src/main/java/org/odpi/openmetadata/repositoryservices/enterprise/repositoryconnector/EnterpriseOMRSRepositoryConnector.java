@@ -13,13 +13,17 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederatedResponseStatistics;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -47,6 +51,9 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
     private String callingServiceName = null;
 
+    private long                              repositoryTimeout  = ParallelFederationControl.defaultRepositoryTimeout;
+    private final FederatedResponseStatistics responseStatistics = new FederatedResponseStatistics();
+
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
     /**
@@ -106,6 +113,76 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Set up the maximum time that each member of the cohort has to respond to a federated request
+     * that is issued to all members in parallel.
+     *
+     * @param repositoryTimeout time in milliseconds - zero or less means use the default
+     */
+    public void setRepositoryTimeout(long repositoryTimeout)
+    {
+        if (repositoryTimeout > 0)
+        {
+            this.repositoryTimeout = repositoryTimeout;
+        }
+        else
+        {
+            this.repositoryTimeout = ParallelFederationControl.defaultRepositoryTimeout;
+        }
+    }
+
+
+    /**
+     * Return the maximum time that each member of the cohort has to respond to a federated request
+     * that is issued to all members in parallel.
+     *
+     * @return time in milliseconds
+     */
+    public long getRepositoryTimeout()
+    {
+        return repositoryTimeout;
+    }
+
+
+    /**
+     * Return the response times of the members of the cohort for the federated requests issued in parallel.
+     *
+     * @return statistics object
+     */
+    public FederatedResponseStatistics getResponseStatistics()
+    {
+        return responseStatistics;
+    }
+
+
+    /**
+     * Retrieve all the statistics gathered by the connector.  This includes the response times
+     * of each member of the cohort.
+     *
+     * @return name-value pairs for the statistics
+     */
+    @Override
+    public Map<String, Object> getConnectorStatistics()
+    {
+        Map<String, Object> statistics       = super.getConnectorStatistics();
+        Map<String, Object> federatedResults = responseStatistics.getStatisticValues();
+
+        if (federatedResults.isEmpty())
+        {
+            return statistics;
+        }
+
+        if (statistics == null)
+        {
+            statistics = new HashMap<>();
+        }
+
+        statistics.putAll(federatedResults);
+
+        return statistics;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
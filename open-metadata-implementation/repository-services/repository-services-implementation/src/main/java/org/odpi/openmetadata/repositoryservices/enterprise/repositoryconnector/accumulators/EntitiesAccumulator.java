@@ -111,6 +111,11 @@ public class EntitiesAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addEntities(List<EntityDetail>   entities,
                                          String               metadataCollectionId)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         if (entities != null)
         {
             for (EntityDetail entity : entities)
@@ -9,7 +9,9 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and combine results.
@@ -22,6 +24,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     private int                        responsesRequired  = 0;
     private final Map<String, Integer> resultsContributed = new HashMap<>();
     private boolean                    resultsReturned = false;
+    private final Set<String>          excludedMetadataCollections = new HashSet<>();
 
 
     /**
@@ -77,6 +80,34 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     }
 
 
+    /**
+     * Stop accepting results and exceptions from a repository.  This is called when the request to the repository
+     * is cancelled because it did not respond in time.  The request may still complete on its worker thread,
+     * so anything it returns after this call is ignored.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     */
+    public synchronized void excludeRepository(String metadataCollectionId)
+    {
+        if (metadataCollectionId != null)
+        {
+            excludedMetadataCollections.add(metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Return whether the responses from a repository are ignored because its request was cancelled.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     * @return boolean flag
+     */
+    synchronized boolean isExcluded(String metadataCollectionId)
+    {
+        return (metadataCollectionId != null) && (excludedMetadataCollections.contains(metadataCollectionId));
+    }
+
+
     /**
      * This records the completion of the request to a single repository.
      *
@@ -116,6 +147,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                       metadataCollectionId,
                                               ClassificationErrorException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         classificationErrorException = exception;
     }
@@ -130,6 +166,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                  metadataCollectionId,
                                               EntityNotKnownException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         entityNotKnownException = exception;
     }
@@ -145,6 +186,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                        metadataCollectionId,
                                               FunctionNotSupportedException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         functionNotSupportedException = exception;
     }
@@ -159,6 +205,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                    metadataCollectionId,
                                               InvalidParameterException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         invalidParameterException = exception;
     }
@@ -173,6 +224,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String               metadataCollectionId,
                                               PagingErrorException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         pagingErrorException = exception;
     }
@@ -187,6 +243,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                 metadataCollectionId,
                                               PropertyErrorException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         propertyErrorException = exception;
     }
@@ -201,6 +262,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                        metadataCollectionId,
                                               RelationshipNotKnownException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         relationshipNotKnownException = exception;
     }
@@ -215,6 +281,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                   metadataCollectionId,
                                               RepositoryErrorException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         repositoryErrorException = exception;
     }
@@ -229,6 +300,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String             metadataCollectionId,
                                               TypeErrorException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         typeErrorException = exception;
     }
@@ -243,6 +319,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               UserNotAuthorizedException exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         userNotAuthorizedException = exception;
     }
@@ -259,6 +340,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
                                                      String     metadataCollectionId,
                                                      Exception  exception)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         anotherException = exception;
 
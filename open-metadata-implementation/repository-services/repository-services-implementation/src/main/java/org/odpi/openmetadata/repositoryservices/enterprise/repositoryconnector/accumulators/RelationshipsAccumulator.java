@@ -85,6 +85,11 @@ public class RelationshipsAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addRelationships(List<Relationship>   relationships,
                                               String               metadataCollectionId)
     {
+        if (isExcluded(metadataCollectionId))
+        {
+            return;
+        }
+
         if (relationships != null)
         {
             for (Relationship relationship : relationships)
@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FederatedResponseStatistics records how long each member of the connected cohorts takes to respond to the
+ * federated requests issued by the parallel federation control of an enterprise connector.  The statistics are keyed
+ * by the metadata collection id of the repository.  A repository that times out before its metadata collection id
+ * is known is recorded under its repository name.  The enterprise connector returns these values
+ * with its connector statistics.
+ */
+public class FederatedResponseStatistics
+{
+    private static final String unknownRepository = "<unknown>";
+    private static final String statisticPrefix   = "federatedResponse.";
+
+    private final Map<String, RepositoryResponseStatistics> repositoryStatistics = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    public FederatedResponseStatistics()
+    {
+    }
+
+
+    /**
+     * Record the time taken for a repository to respond to a federated request.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param repositoryName name of the repository
+     * @param responseTime elapsed time in milliseconds
+     */
+    public void recordResponse(String metadataCollectionId,
+                               String repositoryName,
+                               long   responseTime)
+    {
+        this.getRepositoryStatistics(metadataCollectionId, repositoryName).recordResponse(responseTime);
+    }
+
+
+    /**
+     * Record that a repository did not respond to a federated request before the timeout expired.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection - null if the repository
+     *                             did not return it before the timeout
+     * @param repositoryName name of the repository
+     */
+    public void recordTimeout(String metadataCollectionId,
+                              String repositoryName)
+    {
+        this.getRepositoryStatistics(metadataCollectionId, repositoryName).recordTimeout();
+    }
+
+
+    /**
+     * Return the statistics for a specific repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return statistics or null if this repository has not been called in parallel
+     */
+    public RepositoryResponseStatistics getStatistics(String metadataCollectionId)
+    {
+        if (metadataCollectionId == null)
+        {
+            return null;
+        }
+
+        return repositoryStatistics.get(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the statistics for all repositories that have been called in parallel.
+     *
+     * @return map of metadata collection id (or repository name) to statistics
+     */
+    public Map<String, RepositoryResponseStatistics> getAllStatistics()
+    {
+        return Map.copyOf(repositoryStatistics);
+    }
+
+
+    /**
+     * Return the statistics as name-value pairs that can be added to the connector statistics.
+     * The names are of the form federatedResponse.{repositoryName}.{statistic}.
+     *
+     * @return map of statistic name to value
+     */
+    public Map<String, Object> getStatisticValues()
+    {
+        Map<String, Object> statisticValues = new HashMap<>();
+
+        for (String key : repositoryStatistics.keySet())
+        {
+            RepositoryResponseStatistics statistics = repositoryStatistics.get(key);
+
+            String repositoryName = statistics.getRepositoryName();
+
+            if (repositoryName == null)
+            {
+                repositoryName = key;
+            }
+
+            String namePrefix = statisticPrefix + repositoryName + ".";
+
+            statisticValues.put(namePrefix + "requestCount", statistics.getRequestCount());
+            statisticValues.put(namePrefix + "timeoutCount", statistics.getTimeoutCount());
+            statisticValues.put(namePrefix + "averageResponseTime", statistics.getAverageResponseTime());
+            statisticValues.put(namePrefix + "maxResponseTime", statistics.getMaxResponseTime());
+            statisticValues.put(namePrefix + "lastResponseTime", statistics.getLastResponseTime());
+        }
+
+        return statisticValues;
+    }
+
+
+    /**
+     * Locate the statistics for a repository, creating them if this is the first time it is called.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param repositoryName name of the repository
+     * @return statistics object
+     */
+    private RepositoryResponseStatistics getRepositoryStatistics(String metadataCollectionId,
+                                                                 String repositoryName)
+    {
+        String key = metadataCollectionId;
+
+        if (key == null)
+        {
+            key = repositoryName;
+        }
+
+        if (key == null)
+        {
+            key = unknownRepository;
+        }
+
+        return repositoryStatistics.computeIfAbsent(key, newKey -> new RepositoryResponseStatistics(metadataCollectionId, repositoryName));
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FederatedResponseStatistics{" +
+                       "repositoryStatistics=" + repositoryStatistics +
+                       '}';
+    }
+}
@@ -105,4 +105,38 @@ public abstract class FederationControlBase implements FederationControl
             return null;
         }
     }
+
+
+    /**
+     * Once all repositories have been called, the executor may choose to augment each result element by making
+     * another sweep of the repositories.
+     *
+     * @param executor command that has gathered the results
+     * @throws RepositoryErrorException null metadata collection
+     */
+    void augmentResults(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        List<String> resultGUIDs = executor.getResultsForAugmentation();
+
+        if ((resultGUIDs != null) && (cohortConnectors != null))
+        {
+            for (String resultGUID : resultGUIDs)
+            {
+                for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+                {
+                    if (cohortConnector != null)
+                    {
+                        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                        String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+                        if (metadataCollectionId != null)
+                        {
+                            executor.augmentResultFromRepository(resultGUID, metadataCollectionId, metadataCollection);
+                        }
+                    }
+                }
+            }
+        }
+    }
 }
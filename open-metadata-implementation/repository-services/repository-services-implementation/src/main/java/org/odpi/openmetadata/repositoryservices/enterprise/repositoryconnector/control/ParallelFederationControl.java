@@ -3,19 +3,71 @@
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * Executors that can be cloned (typically the queries) have a clone issued to each cohort member at the same time
+ * so the elapsed time of the request is that of the slowest member rather than the sum of all of them.  The results
+ * are combined in the shared accumulator of the executor.  Members that do not respond within the repository timeout
+ * have their request cancelled and are excluded from the results.  Anything they return after the timeout is ignored
+ * by the accumulator.
+ * <p>
+ * Executors that are not cloneable (such as those that stop at the first repository that can satisfy the request)
+ * are passed to the sequential federation control.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses the sequential federation control since the worker threads are not implemented.
+    private static final Logger log = LoggerFactory.getLogger(ParallelFederationControl.class);
+
+    /*
+     * The default time that a single cohort member has to respond to a request.
+     */
+    public static final long defaultRepositoryTimeout = 60000;
+
+    /*
+     * The worker pool is shared by all enterprise connectors in the JVM.  It is bounded in both the number of threads and the
+     * queue of waiting requests.  When it is saturated, the calling thread issues the request itself which
+     * throttles the callers.
+     */
+    private static final int                maxWorkerThreads = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int                maxQueuedRequests = maxWorkerThreads * 16;
+    private static final ThreadPoolExecutor workerPool = new ThreadPoolExecutor(maxWorkerThreads,
+                                                                                maxWorkerThreads,
+                                                                                60,
+                                                                                TimeUnit.SECONDS,
+                                                                                new ArrayBlockingQueue<>(maxQueuedRequests),
+                                                                                new WorkerThreadFactory(),
+                                                                                new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static
+    {
+        workerPool.allowCoreThreadTimeOut(true);
+    }
+
     private final SequentialFederationControl sequentialFederationControl;
+    private final long                        repositoryTimeout;
+    private final FederatedResponseStatistics responseStatistics;
+
 
     /**
      * Constructor for a federated query
@@ -29,10 +81,62 @@ public class ParallelFederationControl extends FederationControlBase
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      AuditLog                      auditLog,
                                      String                        methodName)
+    {
+        this(userId, cohortConnectors, auditLog, methodName, defaultRepositoryTimeout);
+    }
+
+
+    /**
+     * Constructor for a federated query with a specific timeout for each repository.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param auditLog logging destination
+     * @param methodName calling method
+     * @param repositoryTimeout maximum time in milliseconds that each repository has to respond
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     AuditLog                      auditLog,
+                                     String                        methodName,
+                                     long                          repositoryTimeout)
+    {
+        this(userId, cohortConnectors, auditLog, methodName, repositoryTimeout, null);
+    }
+
+
+    /**
+     * Constructor for a federated query with a specific timeout for each repository that records the response
+     * time of each repository.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param auditLog logging destination
+     * @param methodName calling method
+     * @param repositoryTimeout maximum time in milliseconds that each repository has to respond
+     * @param responseStatistics destination for the response statistics - may be null
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     AuditLog                      auditLog,
+                                     String                        methodName,
+                                     long                          repositoryTimeout,
+                                     FederatedResponseStatistics   responseStatistics)
     {
         super(userId, cohortConnectors, auditLog, methodName);
 
-        sequentialFederationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+        this.responseStatistics = responseStatistics;
+
+        this.sequentialFederationControl = new SequentialFederationControl(userId, cohortConnectors, auditLog, methodName);
+
+        if (repositoryTimeout > 0)
+        {
+            this.repositoryTimeout = repositoryTimeout;
+        }
+        else
+        {
+            this.repositoryTimeout = defaultRepositoryTimeout;
+        }
     }
 
 
@@ -45,6 +149,227 @@ public class ParallelFederationControl extends FederationControlBase
      */
     public void executeCommand(RepositoryExecutor executor) throws RepositoryErrorException
     {
-        sequentialFederationControl.executeCommand(executor);
+        if ((! (executor instanceof CloneableRepositoryExecutor)) || (cohortConnectors == null) || (cohortConnectors.size() < 2))
+        {
+            /*
+             * There is nothing to be gained by starting worker threads.
+             */
+            sequentialFederationControl.executeCommand(executor);
+            return;
+        }
+
+        /*
+         * This is the first sweep of the repositories - used to gather the results.  The original executor is used
+         * for the first repository and a clone for each of the others.  They all share the same accumulator.
+         */
+        List<RepositoryRequest> requests = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                RepositoryExecutor requestExecutor = executor;
+
+                if (! requests.isEmpty())
+                {
+                    requestExecutor = (RepositoryExecutor)((CloneableRepositoryExecutor)executor).getClone();
+                }
+
+                RepositoryRequest request = new RepositoryRequest(cohortConnector, (CloneableRepositoryExecutor)requestExecutor);
+
+                request.future = workerPool.submit(request::call);
+                requests.add(request);
+            }
+        }
+
+        this.waitForResponses(requests);
+
+        /*
+         * All repositories have been called.
+         * The executor may choose to augment each result element by making another sweep of the repositories.
+         */
+        super.augmentResults(executor);
+    }
+
+
+    /**
+     * Wait for each repository to respond.  Any repository that has not responded by the time the timeout
+     * expires has its request cancelled.
+     *
+     * @param requests requests issued to the worker pool
+     * @throws RepositoryErrorException problem with the state of one of the repositories
+     */
+    private void waitForResponses(List<RepositoryRequest> requests) throws RepositoryErrorException
+    {
+        long deadline = System.currentTimeMillis() + repositoryTimeout;
+
+        for (RepositoryRequest request : requests)
+        {
+            try
+            {
+                request.future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException timeout)
+            {
+                request.cancel();
+
+                if (responseStatistics != null)
+                {
+                    responseStatistics.recordTimeout(request.metadataCollectionId, request.cohortConnector.getRepositoryName());
+                }
+
+                auditLog.logMessage(methodName,
+                                    OMRSAuditCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition(request.cohortConnector.getRepositoryName(),
+                                                                                                 methodName,
+                                                                                                 Long.toString(repositoryTimeout)));
+            }
+            catch (ExecutionException error)
+            {
+                if (error.getCause() instanceof RepositoryErrorException)
+                {
+                    this.cancelRequests(requests);
+
+                    throw (RepositoryErrorException) error.getCause();
+                }
+
+                log.debug("Unexpected exception from federated request " + methodName, error.getCause());
+            }
+            catch (CancellationException cancelled)
+            {
+                log.debug("Federated request " + methodName + " was cancelled");
+            }
+            catch (InterruptedException interrupted)
+            {
+                this.cancelRequests(requests);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Cancel any requests that are still running.
+     *
+     * @param requests requests issued to the worker pool
+     */
+    private void cancelRequests(List<RepositoryRequest> requests)
+    {
+        for (RepositoryRequest request : requests)
+        {
+            if (! request.future.isDone())
+            {
+                request.cancel();
+            }
+        }
+    }
+
+
+    /**
+     * RepositoryRequest manages the call from a single executor to a single repository.
+     */
+    private class RepositoryRequest
+    {
+        private final OMRSRepositoryConnector     cohortConnector;
+        private final CloneableRepositoryExecutor executor;
+        private volatile String                   metadataCollectionId = null;
+        private volatile boolean                  cancelled = false;
+        private Future<Boolean>                   future = null;
+
+
+        /**
+         * Constructor
+         *
+         * @param cohortConnector connector to the repository
+         * @param executor executor to run against the repository
+         */
+        RepositoryRequest(OMRSRepositoryConnector     cohortConnector,
+                          CloneableRepositoryExecutor executor)
+        {
+            this.cohortConnector = cohortConnector;
+            this.executor = executor;
+        }
+
+
+        /**
+         * Cancel the request, typically because the repository did not respond in time.  The repository may not
+         * respond to the interrupt, so any results it returns later are excluded from the accumulator.
+         * If the metadata collection id is not yet known, the cancelled flag stops the request from being issued.
+         */
+        void cancel()
+        {
+            cancelled = true;
+
+            future.cancel(true);
+
+            executor.excludeRepository(metadataCollectionId);
+        }
+
+
+        /**
+         * Issue the request to the repository on a worker thread.
+         *
+         * @return result of the executor
+         * @throws RepositoryErrorException null metadata collection
+         */
+        Boolean call() throws RepositoryErrorException
+        {
+            long startTime = System.currentTimeMillis();
+
+            OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+            metadataCollectionId = validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+            if (cancelled)
+            {
+                /*
+                 * The request was cancelled while retrieving the metadata collection id so the accumulator could not exclude
+                 * this repository.  Skip the request.
+                 */
+                return false;
+            }
+
+            if (metadataCollectionId != null)
+            {
+                boolean result = ((RepositoryExecutor)executor).issueRequestToRepository(metadataCollectionId, metadataCollection);
+                long    responseTime = System.currentTimeMillis() - startTime;
+
+                if ((responseStatistics != null) && (! cancelled))
+                {
+                    responseStatistics.recordResponse(metadataCollectionId, cohortConnector.getRepositoryName(), responseTime);
+                }
+
+                log.debug("Repository " + cohortConnector.getRepositoryName() + " responded to " + methodName + " in " + responseTime + "ms");
+
+                return result;
+            }
+
+            return false;
+        }
+    }
+
+
+    /**
+     * WorkerThreadFactory creates daemon threads with recognizable names for the worker pool.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory
+    {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        /**
+         * Create a new worker thread.
+         *
+         * @param runnable work for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "EnterpriseFederationWorker-" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
     }
 }
@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RepositoryResponseStatistics records how long a single member of the connected cohorts takes to respond to the
+ * federated requests issued by the parallel federation control, and how often it fails to respond in time.
+ */
+public class RepositoryResponseStatistics
+{
+    private final String     metadataCollectionId;
+    private final String     repositoryName;
+    private final AtomicLong requestCount      = new AtomicLong(0);
+    private final AtomicLong timeoutCount      = new AtomicLong(0);
+    private final AtomicLong totalResponseTime = new AtomicLong(0);
+    private final AtomicLong maxResponseTime   = new AtomicLong(0);
+    private final AtomicLong lastResponseTime  = new AtomicLong(0);
+
+
+    /**
+     * Constructor for a single repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection (may be null if the
+     *                             repository did not respond in time to return it)
+     * @param repositoryName name of the repository
+     */
+    RepositoryResponseStatistics(String metadataCollectionId,
+                                 String repositoryName)
+    {
+        this.metadataCollectionId = metadataCollectionId;
+        this.repositoryName = repositoryName;
+    }
+
+
+    /**
+     * Record the time taken for the repository to respond to a federated request.
+     *
+     * @param responseTime elapsed time in milliseconds
+     */
+    void recordResponse(long responseTime)
+    {
+        requestCount.incrementAndGet();
+        totalResponseTime.addAndGet(responseTime);
+        lastResponseTime.set(responseTime);
+        maxResponseTime.accumulateAndGet(responseTime, Math::max);
+    }
+
+
+    /**
+     * Record that the repository did not respond to a federated request before the timeout expired.
+     */
+    void recordTimeout()
+    {
+        timeoutCount.incrementAndGet();
+    }
+
+
+    /**
+     * Return the metadata collection id of the repository.
+     *
+     * @return unique identifier or null if it is not known
+     */
+    public String getMetadataCollectionId()
+    {
+        return metadataCollectionId;
+    }
+
+
+    /**
+     * Return the name of the repository.
+     *
+     * @return name
+     */
+    public String getRepositoryName()
+    {
+        return repositoryName;
+    }
+
+
+    /**
+     * Return the number of requests that this repository has responded to.
+     *
+     * @return count
+     */
+    public long getRequestCount()
+    {
+        return requestCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that were cancelled because this repository did not respond in time.
+     *
+     * @return count
+     */
+    public long getTimeoutCount()
+    {
+        return timeoutCount.get();
+    }
+
+
+    /**
+     * Return the average time that this repository took to respond.
+     *
+     * @return milliseconds
+     */
+    public long getAverageResponseTime()
+    {
+        long count = requestCount.get();
+
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        return totalResponseTime.get() / count;
+    }
+
+
+    /**
+     * Return the longest time that this repository took to respond.
+     *
+     * @return milliseconds
+     */
+    public long getMaxResponseTime()
+    {
+        return maxResponseTime.get();
+    }
+
+
+    /**
+     * Return the time that this repository took to respond to the most recent request.
+     *
+     * @return milliseconds
+     */
+    public long getLastResponseTime()
+    {
+        return lastResponseTime.get();
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "RepositoryResponseStatistics{" +
+                       "metadataCollectionId='" + metadataCollectionId + '\'' +
+                       ", repositoryName='" + repositoryName + '\'' +
+                       ", requestCount=" + getRequestCount() +
+                       ", timeoutCount=" + getTimeoutCount() +
+                       ", averageResponseTime=" + getAverageResponseTime() +
+                       ", maxResponseTime=" + getMaxResponseTime() +
+                       ", lastResponseTime=" + getLastResponseTime() +
+                       '}';
+    }
+}
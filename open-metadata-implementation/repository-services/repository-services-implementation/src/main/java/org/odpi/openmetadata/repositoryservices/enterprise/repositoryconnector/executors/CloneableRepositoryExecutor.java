@@ -14,4 +14,14 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Ignore any results that the repository returns from now on.  This is called when the request to the
+     * repository is cancelled, since the clone may still be running.  As the accumulator is shared, this affects
+     * the original executor and all of its clones.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     */
+    void excludeRepository(String metadataCollectionId);
 }
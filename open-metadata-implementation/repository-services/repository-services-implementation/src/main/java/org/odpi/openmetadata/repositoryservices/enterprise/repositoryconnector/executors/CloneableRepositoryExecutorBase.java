@@ -11,12 +11,36 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private final QueryAccumulatorBase sharedAccumulator;
+
+
+    /**
+     * Constructor registers the executor with the shared accumulator.
+     *
+     * @param userId calling user
+     * @param methodName calling method
+     * @param accumulator location for the results
+     */
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.sharedAccumulator = accumulator;
+
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Ignore any results that the repository returns from now on.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     */
+    @Override
+    public void excludeRepository(String metadataCollectionId)
+    {
+        sharedAccumulator.excludeRepository(metadataCollectionId);
+    }
 }
@@ -269,9 +269,16 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
 
         validateRepositoryContentManager(methodName);
 
-        return repositoryContentManager.getSuperTypes(sourceName,
-                                                      typeDefName,
-                                                      methodName);
+        List<TypeDefLink> superTypes = repositoryContentManager.getSuperTypes(sourceName,
+                                                                              typeDefName,
+                                                                              methodName);
+
+        if (superTypes == null)
+        {
+            return null;
+        }
+
+        return new ArrayList<>(superTypes);
     }
 
     /**
@@ -546,27 +553,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
 
         validateRepositoryContentManager(methodName);
 
-        List<String>  subTypeNames = new ArrayList<>();
-        List<TypeDef> typeDefs = repositoryContentManager.getKnownTypeDefs();
-
-        if (typeDefs != null)
-        {
-            for (TypeDef typeDef : typeDefs)
-            {
-                if (typeDef != null)
-                {
-                    if (! superTypeName.equals(typeDef.getName()))
-                    {
-                        if (repositoryContentManager.isTypeOf(sourceName,
-                                                              typeDef.getName(),
-                                                              superTypeName))
-                        {
-                            subTypeNames.add(typeDef.getName());
-                        }
-                    }
-                }
-            }
-        }
+        List<String>  subTypeNames = new ArrayList<>(repositoryContentManager.getSubTypeNames(superTypeName));
 
         if (subTypeNames.isEmpty())
         {
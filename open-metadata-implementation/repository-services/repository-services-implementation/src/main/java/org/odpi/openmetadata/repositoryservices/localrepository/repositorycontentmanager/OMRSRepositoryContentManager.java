@@ -53,6 +53,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * OMRSRepositoryContentManager supports an in-memory cache of TypeDefs for the local server.  It is used by the OMRS
@@ -84,18 +85,22 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private OMRSRepositoryEventManager      outboundRepositoryEventManager = null;
     private String                          openTypesOriginGUID            = null;
 
-    private final Map<String, TypeDef>            knownTypeDefGUIDs              = new HashMap<>();
-    private final Map<String, TypeDef>            knownTypeDefNames              = new HashMap<>();
-    private final Map<String, AttributeTypeDef>   knownAttributeTypeDefGUIDs     = new HashMap<>();
-    private final Map<String, AttributeTypeDef>   knownAttributeTypeDefNames     = new HashMap<>();
-    private final Map<String, TypeDef>            activeTypeDefGUIDs             = new HashMap<>();
-    private final Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
-    private final Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
-    private final Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private final Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
-    private final Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private final Map<String, String>             metadataCollectionNames        = new HashMap<>();
-    private final Map<String, Set<String>>        knownPropertyToTypeDefNames    = new HashMap<>();
+
+    /*
+     * The types are held in an immutable snapshot that is replaced each time the types change.  Readers
+     * use the current snapshot without locking.  Changes are made one at a time under typeDefUpdateLock.
+     */
+    private final    Object                       typeDefUpdateLock              = new Object();
+    private volatile OMRSTypeDefSnapshot          typeDefSnapshot                = new OMRSTypeDefSnapshot();
+
+    /*
+     * Set while a batch of types is being processed by typeDefBatchThread.  Its changes are made to
+     * typeDefBatchBuilder and are only visible to that thread until the batch completes.
+     */
+    private volatile Thread                       typeDefBatchThread             = null;
+    private OMRSTypeDefSnapshot.Builder           typeDefBatchBuilder            = null;
+    private OMRSTypeDefSnapshot                   typeDefBatchSnapshot           = null;
 
 
     /*
@@ -184,21 +189,99 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     private void cacheTypeDef(String  sourceName, TypeDef      newTypeDef, boolean isLocallySupported)
     {
-        knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-        knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+        this.updateTypeDefSnapshot(builder -> builder.putTypeDef(newTypeDef, isLocallySupported));
 
         if (isLocallySupported)
         {
-            activeTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
-            activeTypeDefNames.put(newTypeDef.getName(), newTypeDef);
-
             log.debug("New Active Type {} from {}. Full TypeDef: {}", newTypeDef.getName(), sourceName, newTypeDef);
         }
         else
         {
             log.debug("New Known Type {} from {}. Full TypeDef: {}", newTypeDef.getName(), sourceName, newTypeDef);
         }
-        cacheTypeDefPropertyLookup(sourceName, newTypeDef);
+    }
+
+
+    /**
+     * Replace the type snapshot with a changed copy.  The change is made under the update lock so that
+     * concurrent changes are not lost.  Readers continue to use the previous snapshot until the new one
+     * is in place.  Changes made by the thread running a batch of types go to the batch's builder.
+     *
+     * @param update function that applies the change to a builder for the new snapshot
+     */
+    private void updateTypeDefSnapshot(UnaryOperator<OMRSTypeDefSnapshot.Builder> update)
+    {
+        synchronized (typeDefUpdateLock)
+        {
+            if (typeDefBatchThread == Thread.currentThread())
+            {
+                typeDefBatchSnapshot = update.apply(typeDefBatchBuilder).build();
+            }
+            else
+            {
+                typeDefSnapshot = update.apply(typeDefSnapshot.toBuilder()).build();
+            }
+        }
+    }
+
+
+    /**
+     * Return the current types.  The thread running a batch of types sees the changes it has made so far.
+     * Other threads see the snapshot from before the batch started.
+     *
+     * @return snapshot of the types
+     */
+    private OMRSTypeDefSnapshot getTypeDefSnapshot()
+    {
+        if (typeDefBatchThread == Thread.currentThread())
+        {
+            return typeDefBatchSnapshot;
+        }
+
+        return typeDefSnapshot;
+    }
+
+
+    /**
+     * Run a batch of type processing, such as loading the open metadata types when the server starts.  The changes
+     * are made to a single builder and the new snapshot replaces the old one when the batch is complete, so other
+     * threads see either none or all of the batch's types.  The thread running the batch sees each change as it is made.  Changes from
+     * other threads wait until the batch is complete.
+     *
+     * @param typeDefBatch processing that adds or updates the types
+     */
+    public void processTypeDefBatch(Runnable typeDefBatch)
+    {
+        synchronized (typeDefUpdateLock)
+        {
+            if (typeDefBatchThread == Thread.currentThread())
+            {
+                /*
+                 * Already running in a batch.
+                 */
+                typeDefBatch.run();
+                return;
+            }
+
+            typeDefBatchBuilder  = typeDefSnapshot.toBuilder();
+            typeDefBatchSnapshot = typeDefBatchBuilder.build();
+            typeDefBatchThread   = Thread.currentThread();
+
+            try
+            {
+                typeDefBatch.run();
+            }
+            finally
+            {
+                /*
+                 * The types processed before any failure are in the repository so they are kept.
+                 */
+                typeDefSnapshot      = typeDefBatchBuilder.build();
+                typeDefBatchThread   = null;
+                typeDefBatchBuilder  = null;
+                typeDefBatchSnapshot = null;
+            }
+        }
     }
 
 
@@ -228,33 +311,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
-    /**
-     * Cache a lookup of the TypeDef's properties by their name, to the names of the TypeDefs in which a property by
-     * that name is defined.
-     *
-     * @param sourceName source of the request (used for logging)
-     * @param typeDef TypeDef structure describing the new TypeDef.
-     */
-    private void cacheTypeDefPropertyLookup(String sourceName, TypeDef typeDef)
-    {
-        // retrieve all properties on the newTypeDef
-        String                     typeDefName                   = typeDef.getName();
-        List<TypeDefAttribute>     propertiesDefinition          = typeDef.getPropertiesDefinition();
-
-        if (propertiesDefinition != null)
-        {
-            // for each property, add this typeDef's GUID as one that defines a property with this name
-            for (TypeDefAttribute property : propertiesDefinition)
-            {
-                String propertyName = property.getAttributeName();
-                knownPropertyToTypeDefNames.computeIfAbsent(propertyName, k -> new HashSet<>());
-                knownPropertyToTypeDefNames.get(propertyName).add(typeDefName);
-                log.debug("Cached property '{}' from {}, for lookup under TypeDef: {}", propertyName, sourceName, typeDefName);
-            }
-        }
-    }
-
-
     /**
      * Remove a definition of a TypeDef.
      *
@@ -268,38 +324,9 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                 String  obsoleteTypeDefName,
                                 boolean isLocallySupported)
     {
-        knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-        knownTypeDefNames.remove(obsoleteTypeDefName);
-
-        if (isLocallySupported)
-        {
-            activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            activeTypeDefNames.remove(obsoleteTypeDefName);
-        }
+        this.updateTypeDefSnapshot(builder -> builder.removeTypeDef(obsoleteTypeDefGUID, obsoleteTypeDefName, isLocallySupported));
 
         log.debug("Removed Type {} from {}", obsoleteTypeDefName, sourceName);
-        uncacheTypeDefPropertyLookup(sourceName, obsoleteTypeDefName);
-    }
-
-
-    /**
-     * Remove a TypeDef from the reverse property lookup.
-     *
-     * @param sourceName source of the request (used for logging)
-     * @param typeDefName unique name for the type.
-     */
-    private void uncacheTypeDefPropertyLookup(String sourceName, String typeDefName)
-    {
-        // Not much choice but to iterate through the entire Map...
-        for (String propertyName : knownPropertyToTypeDefNames.keySet())
-        {
-            // ... but the removal operation at least is idempotent (no need to first check it is present in the Set)
-            boolean removed = knownPropertyToTypeDefNames.get(propertyName).remove(typeDefName);
-            if (removed)
-            {
-                log.debug("Removed Type {} from {}, from reverse-lookup of property: {}", typeDefName, sourceName, propertyName);
-            }
-        }
     }
 
 
@@ -327,14 +354,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                        AttributeTypeDef newAttributeTypeDef,
                                        boolean          isLocallySupported)
     {
-        knownAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-        knownAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
+        this.updateTypeDefSnapshot(builder -> builder.putAttributeTypeDef(newAttributeTypeDef, isLocallySupported));
 
         if (isLocallySupported)
         {
-            activeAttributeTypeDefGUIDs.put(newAttributeTypeDef.getGUID(), newAttributeTypeDef);
-            activeAttributeTypeDefNames.put(newAttributeTypeDef.getName(), newAttributeTypeDef);
-
             if (log.isDebugEnabled())
             {
                 log.debug("New Active Attribute Type " + newAttributeTypeDef.getName() + " from " + sourceName+ ". Full AttributeTypeDef: " + newAttributeTypeDef);
@@ -375,14 +398,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
-            knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-            knownTypeDefNames.remove(obsoleteTypeDefName);
+            boolean isLocallySupported = (localRepositoryConnector != null);
 
-            if (localRepositoryConnector != null)
-            {
-                activeTypeDefGUIDs.remove(obsoleteTypeDefGUID);
-                activeTypeDefNames.remove(obsoleteTypeDefName);
+            this.updateTypeDefSnapshot(builder -> builder.removeTypeDef(obsoleteTypeDefGUID, obsoleteTypeDefName, isLocallySupported));
 
+            if (isLocallySupported)
+            {
                 log.debug("Deleted Active TypeDef " + obsoleteTypeDefName + " from " + sourceName);
             }
         }
@@ -403,14 +424,14 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, obsoleteAttributeTypeDefGUID, obsoleteAttributeTypeDefName))
         {
-            knownAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-            knownAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
+            boolean isLocallySupported = (localRepositoryConnector != null);
 
-            if (localRepositoryConnector != null)
-            {
-                activeAttributeTypeDefGUIDs.remove(obsoleteAttributeTypeDefGUID);
-                activeAttributeTypeDefNames.remove(obsoleteAttributeTypeDefName);
+            this.updateTypeDefSnapshot(builder -> builder.removeAttributeTypeDef(obsoleteAttributeTypeDefGUID,
+                                                                                 obsoleteAttributeTypeDefName,
+                                                                                 isLocallySupported));
 
+            if (isLocallySupported)
+            {
                 if (log.isDebugEnabled())
                 {
                     log.debug("Deleted Active AttributeTypeDef " + obsoleteAttributeTypeDefName + " from " + sourceName);
@@ -533,12 +554,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the superTypes for a type.  The results are worked out once for each version of the types.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
      * @param methodName calling method
-     * @return list of supertype links or null if top level
+     * @return read only list of supertype links or null if top level
      */
     public List<TypeDefLink>   getSuperTypes(String    sourceName,
                                               String    typeName,
@@ -546,80 +567,23 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         final String  thisMethodName = "getSuperTypes";
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        List<TypeDefLink>   typeHierarchy = this.getTypeDefSnapshot().getSuperTypes(typeName);
 
         if (typeHierarchy == null)
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
-            {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
-
-                while (superTypeLink != null)
-                {
-                    String superTypeName = superTypeLink.getName();
-
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
-
-                        typeHierarchy.add(superTypeLink);
-
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
-
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink);
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
-
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName + "(" + typeName + ")");
-            }
+            log.error(typeName + " type, or one of its super types, is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName + "(" + typeName + ")");
         }
 
         if (typeHierarchy.isEmpty())
         {
             /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
+             * This type has no supertypes.
              */
             return null;
         }
         else
         {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
             return typeHierarchy;
         }
     }
@@ -792,7 +756,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (isValidTypeCategory(sourceName, category, typeName, methodName))
         {
-            InstanceType    instanceType = knownInstanceTypes.get(typeName);
+            OMRSTypeDefSnapshot typeDefs     = this.getTypeDefSnapshot();
+            InstanceType        instanceType = typeDefs.getInstanceType(typeName);
 
             if (instanceType != null)
             {
@@ -802,7 +767,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * The instance type has not yet been created. (They are created lazily.)
              */
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = typeDefs.getKnownTypeDefNames().get(typeName);
 
             if (typeDef != null)
             {
@@ -845,7 +810,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                         /*
                          * Retrieve the TypeDef for this super type
                          */
-                        TypeDef         superTypeDef  = knownTypeDefNames.get(superTypeName);
+                        TypeDef         superTypeDef  = typeDefs.getKnownTypeDefNames().get(superTypeName);
 
                         if (superTypeDef != null)
                         {
@@ -883,7 +848,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 /*
                  * Cache the instance type for next time
                  */
-                knownInstanceTypes.put(typeName, instanceType);
+                typeDefs.setInstanceType(typeName, instanceType);
 
                 return instanceType;
             }
@@ -936,7 +901,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeName);
 
         if (typeDef != null)
         {
@@ -988,7 +953,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             if ((isValidTypeCategory(sourceName, TypeDefCategory.CLASSIFICATION_DEF, classificationTypeName, methodName)) &&
                 (isValidTypeCategory(sourceName, TypeDefCategory.ENTITY_DEF, entityTypeName, methodName)))
             {
-                ClassificationDef  classificationTypeDef = (ClassificationDef) knownTypeDefNames.get(classificationTypeName);
+                ClassificationDef  classificationTypeDef = (ClassificationDef) this.getTypeDefSnapshot().getKnownTypeDefNames().get(classificationTypeName);
 
                 if (classificationTypeDef != null)
                 {
@@ -1013,15 +978,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                          * supertype can introduce.
                          */
                         Set<String> entityTypes = new HashSet<>();
-                        TypeDef typeDef = getTypeDefByName(entityTypeName);
                         entityTypes.add(entityTypeName);
 
-                        while (typeDef.getSuperType() !=null)
+                        List<TypeDefLink> superTypes = this.getSuperTypes(sourceName, entityTypeName, methodName);
+
+                        if (superTypes != null)
                         {
-                            TypeDefLink superTypeLink=typeDef.getSuperType();
-                            String parentName= superTypeLink.getName();
-                            entityTypes.add(parentName);
-                            typeDef  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
+                            for (TypeDefLink superTypeLink : superTypes)
+                            {
+                                entityTypes.add(superTypeLink.getName());
+                            }
                         }
 
                         for (TypeDefLink  allowedEntityDefLink : entityDefs)
@@ -1078,7 +1044,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             this.throwContentManagerLogicError(sourceName, thisMethodName, originalMethodName);
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeName);
+        TypeDef   typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeName);
 
         if (typeDef == null)
         {
@@ -1149,15 +1115,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     TypeDefGallery   getActiveTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        OMRSTypeDefSnapshot          typeDefs                     = this.getTypeDefSnapshot();
 
-        if (! activeAttributeTypeDefNames.isEmpty())
+        if (! typeDefs.getActiveAttributeTypeDefNames().isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(activeAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(typeDefs.getActiveAttributeTypeDefNames().values()));
         }
 
-        if (! activeTypeDefNames.isEmpty())
+        if (! typeDefs.getActiveTypeDefNames().isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(activeTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(typeDefs.getActiveTypeDefNames().values()));
         }
 
         return typeDefGallery;
@@ -1172,10 +1139,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     List<TypeDef>  getActiveTypeDefs()
     {
         List<TypeDef> results = null;
+        Map<String, TypeDef> typeDefs = this.getTypeDefSnapshot().getActiveTypeDefGUIDs();
 
-        if (! activeTypeDefGUIDs.isEmpty())
+        if (! typeDefs.isEmpty())
         {
-            results = new ArrayList<>(activeTypeDefGUIDs.values());
+            results = new ArrayList<>(typeDefs.values());
         }
 
         return results;
@@ -1190,10 +1158,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     List<AttributeTypeDef>  getActiveAttributeTypeDefs()
     {
         List<AttributeTypeDef> results = null;
+        Map<String, AttributeTypeDef> typeDefs = this.getTypeDefSnapshot().getActiveAttributeTypeDefGUIDs();
 
-        if (! activeAttributeTypeDefGUIDs.isEmpty())
+        if (! typeDefs.isEmpty())
         {
-            results = new ArrayList<>(activeAttributeTypeDefGUIDs.values());
+            results = new ArrayList<>(typeDefs.values());
         }
 
         return results;
@@ -1208,15 +1177,16 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     TypeDefGallery   getKnownTypeDefGallery()
     {
         TypeDefGallery               typeDefGallery               = new TypeDefGallery();
+        OMRSTypeDefSnapshot          typeDefs                     = this.getTypeDefSnapshot();
 
-        if (! knownAttributeTypeDefNames.isEmpty())
+        if (! typeDefs.getKnownAttributeTypeDefNames().isEmpty())
         {
-            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(knownAttributeTypeDefNames.values()));
+            typeDefGallery.setAttributeTypeDefs(new ArrayList<>(typeDefs.getKnownAttributeTypeDefNames().values()));
         }
 
-        if (! knownTypeDefNames.isEmpty())
+        if (! typeDefs.getKnownTypeDefNames().isEmpty())
         {
-            typeDefGallery.setTypeDefs(new ArrayList<>(knownTypeDefNames.values()));
+            typeDefGallery.setTypeDefs(new ArrayList<>(typeDefs.getKnownTypeDefNames().values()));
         }
 
         return typeDefGallery;
@@ -1231,10 +1201,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     List<TypeDef>  getKnownTypeDefs()
     {
         List<TypeDef> results = null;
+        Map<String, TypeDef> typeDefs = this.getTypeDefSnapshot().getKnownTypeDefGUIDs();
 
-        if (! knownTypeDefGUIDs.isEmpty())
+        if (! typeDefs.isEmpty())
         {
-            results = new ArrayList<>(knownTypeDefGUIDs.values());
+            results = new ArrayList<>(typeDefs.values());
         }
 
         return results;
@@ -1249,10 +1220,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     List<AttributeTypeDef>  getKnownAttributeTypeDefs()
     {
         List<AttributeTypeDef> results = null;
+        Map<String, AttributeTypeDef> typeDefs = this.getTypeDefSnapshot().getKnownAttributeTypeDefGUIDs();
 
-        if (! knownAttributeTypeDefGUIDs.isEmpty())
+        if (! typeDefs.isEmpty())
         {
-            results = new ArrayList<>(knownAttributeTypeDefGUIDs.values());
+            results = new ArrayList<>(typeDefs.values());
         }
 
         return results;
@@ -1269,7 +1241,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     TypeDef  getTypeDefByName(String    typeDefName)
     {
-        return knownTypeDefNames.get(typeDefName);
+        return this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeDefName);
     }
 
 
@@ -1283,7 +1255,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      */
     AttributeTypeDef getAttributeTypeDefByName(String    attributeTypeDefName)
     {
-        return knownAttributeTypeDefNames.get(attributeTypeDefName);
+        return this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(attributeTypeDefName);
     }
 
 
@@ -1308,7 +1280,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (typeDefGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeDefGUID);
+            TypeDef typeDef = this.getTypeDefSnapshot().getKnownTypeDefGUIDs().get(typeDefGUID);
 
             if (typeDef == null)
             {
@@ -1346,7 +1318,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (attributeTypeDefGUID != null)
         {
-            AttributeTypeDef attributeTypeDef = knownAttributeTypeDefGUIDs.get(attributeTypeDefGUID);
+            AttributeTypeDef attributeTypeDef = this.getTypeDefSnapshot().getKnownAttributeTypeDefGUIDs().get(attributeTypeDefGUID);
 
             if (attributeTypeDef == null)
             {
@@ -1388,7 +1360,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeDefGUID, typeDefName))
         {
-            return knownTypeDefNames.get(typeDefName);
+            return this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeDefName);
         }
         else
         {
@@ -1425,7 +1397,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
         if (validTypeId(sourceName, attributeTypeDefGUID, attributeTypeDefName))
         {
-            return knownAttributeTypeDefNames.get(attributeTypeDefName);
+            return this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(attributeTypeDefName);
         }
         else
         {
@@ -1538,36 +1510,60 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return null;
         }
 
-        List<TypeDefAttribute>    propertiesDefinition = typeDef.getPropertiesDefinition();
+        OMRSTypeDefSnapshot    typeDefs = this.getTypeDefSnapshot();
+        List<TypeDefAttribute> propertiesDefinition;
 
-        /*
-         * If propertiesDefinition is null, it means the TypeDef has no properties defined.  However, the superType
-         * may have properties defined, and so we need an array to accumulate the property definitions into.
-         */
-        if (propertiesDefinition == null)
+        if (typeDefs.getKnownTypeDefNames().get(typeDef.getName()) == typeDef)
         {
-            propertiesDefinition = new ArrayList<>();
+            /*
+             * This is the cached TypeDef, so the result can be taken from the snapshot.
+             */
+            propertiesDefinition = typeDefs.getAllProperties(typeDef.getName());
         }
-
-        /*
-         * Work up the TypeDef hierarchy extracting the property definitions.
-         */
-        TypeDefLink            superTypeLink = typeDef.getSuperType();
-
-        while (superTypeLink != null)
+        else
         {
-            TypeDef                superTypeDef                  = this.knownTypeDefGUIDs.get(superTypeLink.getGUID());
-            List<TypeDefAttribute> superTypePropertiesDefinition = superTypeDef.getPropertiesDefinition();
+            /*
+             * The TypeDef has come from elsewhere, so its own properties are combined with those of its
+             * cached super type.
+             */
+            propertiesDefinition = typeDef.getPropertiesDefinition();
 
-            if (superTypePropertiesDefinition != null)
+            if (propertiesDefinition == null)
             {
-                propertiesDefinition.addAll(superTypePropertiesDefinition);
+                propertiesDefinition = new ArrayList<>();
+            }
+
+            if (typeDef.getSuperType() != null)
+            {
+                List<TypeDefAttribute> superTypePropertiesDefinition = typeDefs.getAllProperties(typeDef.getSuperType().getName());
+
+                if (superTypePropertiesDefinition != null)
+                {
+                    propertiesDefinition.addAll(superTypePropertiesDefinition);
+                }
             }
+        }
 
-            superTypeLink = superTypeDef.getSuperType();
+        if (propertiesDefinition == null)
+        {
+            log.error(typeDef.getName() + " type, or one of its super types, is not known in TypeDef cache");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
+            return null;
         }
 
-        return propertiesDefinition;
+        return new ArrayList<>(propertiesDefinition);
+    }
+
+
+    /**
+     * Return the names of all the types that inherit from the supplied type, at any depth.
+     *
+     * @param superTypeName name of the super type
+     * @return set of type names (empty if there are no subtypes)
+     */
+    Set<String> getSubTypeNames(String superTypeName)
+    {
+        return this.getTypeDefSnapshot().getSubTypeNames(superTypeName);
     }
 
 
@@ -1591,7 +1587,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return null;
         }
 
-        return knownPropertyToTypeDefNames.getOrDefault(propertyName, null);
+        return this.getTypeDefSnapshot().getTypeDefNamesForProperty(propertyName);
     }
 
 
@@ -1617,7 +1613,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    this.updateTypeDefSnapshot(builder -> builder.putTypeDefName(typeDef));
                 }
             }
             else
@@ -1652,7 +1648,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, attributeTypeDef.getGUID(), attributeTypeDef.getName()))
                 {
-                    knownAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
+                    this.updateTypeDefSnapshot(builder -> builder.putAttributeTypeDefName(attributeTypeDef));
                 }
             }
             else
@@ -1677,7 +1673,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
+            TypeDef typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
@@ -1712,7 +1708,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            TypeDef typeDef = knownTypeDefGUIDs.get(typeGUID);
+            TypeDef typeDef = this.getTypeDefSnapshot().getKnownTypeDefGUIDs().get(typeGUID);
             if (typeDef != null)
             {
                 String originGUID = typeDef.getOrigin();
@@ -1738,11 +1734,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = knownTypeDefNames.get(typeName);
+            TypeDef  typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1780,12 +1776,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (knownTypeDefGUIDs.get(typeGUID) != null)
+            if (this.getTypeDefSnapshot().getKnownTypeDefGUIDs().get(typeGUID) != null)
             {
                 return true;
             }
 
-            return knownAttributeTypeDefGUIDs.get(typeGUID) != null;
+            return this.getTypeDefSnapshot().getKnownAttributeTypeDefGUIDs().get(typeGUID) != null;
         }
 
         return false;
@@ -1804,11 +1800,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (this.validTypeId(sourceName, typeGUID, typeName))
         {
-            TypeDef  typeDef = activeTypeDefNames.get(typeName);
+            TypeDef  typeDef = this.getTypeDefSnapshot().getActiveTypeDefNames().get(typeName);
 
             if (typeDef == null)
             {
-                AttributeTypeDef  attributeTypeDef = activeAttributeTypeDefNames.get(typeName);
+                AttributeTypeDef  attributeTypeDef = this.getTypeDefSnapshot().getActiveAttributeTypeDefNames().get(typeName);
 
                 if (attributeTypeDef == null)
                 {
@@ -1845,12 +1841,12 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     {
         if (typeGUID != null)
         {
-            if (activeTypeDefGUIDs.get(typeGUID) != null)
+            if (this.getTypeDefSnapshot().getActiveTypeDefGUIDs().get(typeGUID) != null)
             {
                 return true;
             }
 
-            return activeAttributeTypeDefGUIDs.get(typeGUID) != null;
+            return this.getTypeDefSnapshot().getActiveAttributeTypeDefGUIDs().get(typeGUID) != null;
         }
 
         return false;
@@ -1887,7 +1883,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef typeDef = knownTypeDefNames.get(typeName);
+        TypeDef typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeName);
 
         if (typeDef != null)
         {
@@ -1910,7 +1906,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * This TypeDef is unknown so see if it is an AttributeTypeDef
              */
-            AttributeTypeDef   attributeTypeDef = knownAttributeTypeDefNames.get(typeName);
+            AttributeTypeDef   attributeTypeDef = this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(typeName);
 
             if (attributeTypeDef == null)
             {
@@ -2088,7 +2084,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeDefName);
 
         if (typeDef != null)
         {
@@ -2253,7 +2249,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        AttributeTypeDef          attributeTypeDef = knownAttributeTypeDefNames.get(attributeTypeDefName);
+        AttributeTypeDef          attributeTypeDef = this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(attributeTypeDefName);
 
         if (attributeTypeDef != null)
         {
@@ -2296,7 +2292,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        TypeDef   typeDef = knownTypeDefNames.get(typeDefName);
+        TypeDef   typeDef = this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeDefName);
 
         if (typeDef == null)
         {
@@ -2341,7 +2337,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return false;
         }
 
-        AttributeTypeDef   attributeTypeDef = knownAttributeTypeDefNames.get(attributeTypeDefName);
+        AttributeTypeDef   attributeTypeDef = this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(attributeTypeDefName);
 
         if (attributeTypeDef == null)
         {
@@ -2683,7 +2679,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
             if (metadataCollection != null)
             {
-                TypeDef currentTypeDef = activeTypeDefNames.get(typeDef.getName());
+                TypeDef currentTypeDef = this.getTypeDefSnapshot().getActiveTypeDefNames().get(typeDef.getName());
 
                 /*
                  * If we have already processed this type then the incoming event is an obsolete one.
@@ -2804,7 +2800,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                        localRepositoryConnector.getOrganizationName(),
                                                                        typeDef,
                                                                        originatorMetadataCollectionId,
-                                                                       knownTypeDefNames.get(typeDef.getName()),
+                                                                       this.getTypeDefSnapshot().getKnownTypeDefNames().get(typeDef.getName()),
                                                                        error.getReportedErrorMessage());
         }
         catch (InvalidTypeDefException error)
@@ -2894,8 +2890,6 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                      */
                     this.cacheAttributeTypeDef(sourceName, attributeTypeDef, true);
 
-                    activeAttributeTypeDefNames.put(attributeTypeDef.getName(), attributeTypeDef);
-
                     auditLog.logMessage(actionDescription,
                                         OMRSAuditCode.NEW_TYPE_ADDED.getMessageDefinition(attributeTypeDef.getName(),
                                                                                           attributeTypeDef.getGUID(),
@@ -2986,7 +2980,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                                                                 localRepositoryConnector.getOrganizationName(),
                                                                                 attributeTypeDef,
                                                                                 originatorMetadataCollectionId,
-                                                                                knownAttributeTypeDefNames.get(
+                                                                                this.getTypeDefSnapshot().getKnownAttributeTypeDefNames().get(
                                                                                         attributeTypeDef.getName()),
                                                                                 null);
         }
@@ -3066,7 +3060,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                 /*
                  * There is a valid local repository
                  */
-                TypeDef currentTypeDef = activeTypeDefNames.get(typeDefPatch.getTypeDefName());
+                TypeDef currentTypeDef = this.getTypeDefSnapshot().getActiveTypeDefNames().get(typeDefPatch.getTypeDefName());
 
                 if (currentTypeDef != null)
                 {
@@ -0,0 +1,711 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OMRSTypeDefMap is the read only map used by OMRSTypeDefSnapshot.  Adding or removing an entry returns a new map
+ * and leaves this one unchanged.  The new map shares all of the unchanged content with the old one, so a change
+ * costs a handful of small array copies rather than a copy of the whole map.  This keeps the cost of building
+ * a new snapshot for each type change independent of the number of types.
+ * <p>
+ * The entries are held in a hash array mapped trie.  Each level of the trie uses five bits of the key's hash to
+ * pick one of up to 32 children.  Keys with identical hashes are held together in a collision node.
+ * Null keys and values are not stored.
+ * </p>
+ *
+ * @param <V> type of the values
+ */
+final class OMRSTypeDefMap<V> extends AbstractMap<String, V>
+{
+    private static final int bitsPerLevel = 5;
+    private static final int levelMask    = 0x1f;
+
+    private static final OMRSTypeDefMap<?> emptyMap = new OMRSTypeDefMap<>(null, 0);
+
+    private final Node<V> root;
+    private final int     size;
+
+
+    /**
+     * Constructor used when the content changes.
+     *
+     * @param root top node of the trie or null if the map is empty
+     * @param size number of entries
+     */
+    private OMRSTypeDefMap(Node<V> root,
+                           int     size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+
+    /**
+     * Return the empty map.
+     *
+     * @param <V> type of the values
+     * @return empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <V> OMRSTypeDefMap<V> empty()
+    {
+        return (OMRSTypeDefMap<V>) emptyMap;
+    }
+
+
+    /**
+     * Return a map with the same content as this map, plus the supplied entry.  Any existing value for the key
+     * is replaced.
+     *
+     * @param key unique key
+     * @param value value to store
+     * @return new map, or this map if it already holds this value for the key or the key or value is null
+     */
+    OMRSTypeDefMap<V> plus(String key,
+                           V      value)
+    {
+        if ((key == null) || (value == null))
+        {
+            return this;
+        }
+
+        int       hash  = hash(key);
+        boolean[] added = new boolean[1];
+        Node<V>   newRoot;
+
+        if (root == null)
+        {
+            newRoot = new BitmapNode<V>(0, new Object[0]).put(key, hash, value, 0, added);
+        }
+        else
+        {
+            newRoot = root.put(key, hash, value, 0, added);
+        }
+
+        if (newRoot == root)
+        {
+            return this;
+        }
+
+        return new OMRSTypeDefMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+
+    /**
+     * Return a map with the same content as this map, minus the entry for the supplied key.
+     *
+     * @param key unique key
+     * @return new map, or this map if the key is not present
+     */
+    OMRSTypeDefMap<V> minus(String key)
+    {
+        if ((root == null) || (key == null))
+        {
+            return this;
+        }
+
+        Node<V> newRoot = root.remove(key, hash(key), 0);
+
+        if (newRoot == root)
+        {
+            return this;
+        }
+
+        if (newRoot == null)
+        {
+            return empty();
+        }
+
+        return new OMRSTypeDefMap<>(newRoot, size - 1);
+    }
+
+
+    /**
+     * Return the value stored for the key.
+     *
+     * @param key unique key
+     * @return value or null if the key is not present
+     */
+    @Override
+    public V get(Object key)
+    {
+        Map.Entry<String, V> entry = this.getEntry(key);
+
+        if (entry == null)
+        {
+            return null;
+        }
+
+        return entry.getValue();
+    }
+
+
+    /**
+     * Return whether there is a value stored for the key.
+     *
+     * @param key unique key
+     * @return boolean
+     */
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return this.getEntry(key) != null;
+    }
+
+
+    /**
+     * Return the number of entries in the map.
+     *
+     * @return count
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+
+    /**
+     * Return the entries in the map.  The set is read only.
+     *
+     * @return set of entries
+     */
+    @Override
+    public Set<Map.Entry<String, V>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator()
+            {
+                if (root == null)
+                {
+                    return Collections.emptyIterator();
+                }
+
+                List<Map.Entry<String, V>> entries = new ArrayList<>(size);
+
+                root.addEntries(entries);
+
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+
+    /**
+     * Locate the entry for the key.
+     *
+     * @param key unique key
+     * @return entry or null if the key is not present
+     */
+    private Map.Entry<String, V> getEntry(Object key)
+    {
+        if ((root == null) || (! (key instanceof String)))
+        {
+            return null;
+        }
+
+        String stringKey = (String) key;
+
+        return root.get(stringKey, hash(stringKey), 0);
+    }
+
+
+    /**
+     * Spread the bits of the key's hash code so the first levels of the trie are evenly used.
+     *
+     * @param key unique key
+     * @return hash
+     */
+    private static int hash(String key)
+    {
+        int hashCode = key.hashCode();
+
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+
+    /**
+     * Return the index of a child at the level of the trie indicated by shift.
+     *
+     * @param hash hash of the key
+     * @param shift number of hash bits used by the levels above
+     * @return index from 0 to 31
+     */
+    private static int levelIndex(int hash,
+                                  int shift)
+    {
+        return (hash >>> shift) & levelMask;
+    }
+
+
+    /**
+     * A node in the trie.  Nodes are never changed once they are created.
+     *
+     * @param <V> type of the values
+     */
+    private abstract static class Node<V>
+    {
+        /**
+         * Locate the entry for the key.
+         *
+         * @param key unique key
+         * @param hash hash of the key
+         * @param shift number of hash bits used by the levels above
+         * @return entry or null if the key is not present
+         */
+        abstract Map.Entry<String, V> get(String key, int hash, int shift);
+
+
+        /**
+         * Return a node with the entry added.
+         *
+         * @param key unique key
+         * @param hash hash of the key
+         * @param value value to store
+         * @param shift number of hash bits used by the levels above
+         * @param added set to true if the key was not already present
+         * @return new node or this node if it already holds this value for the key
+         */
+        abstract Node<V> put(String key, int hash, V value, int shift, boolean[] added);
+
+
+        /**
+         * Return a node without the entry for the key.
+         *
+         * @param key unique key
+         * @param hash hash of the key
+         * @param shift number of hash bits used by the levels above
+         * @return new node, this node if the key is not present, or null if the node is now empty
+         */
+        abstract Node<V> remove(String key, int hash, int shift);
+
+
+        /**
+         * Add all the entries under this node to the list.
+         *
+         * @param entries list to add to
+         */
+        abstract void addEntries(List<Map.Entry<String, V>> entries);
+    }
+
+
+    /**
+     * A branch of the trie.  The bitmap shows which of the 32 possible children are present and the children
+     * array holds just those children, in index order.  Each child is either an entry or another node.
+     *
+     * @param <V> type of the values
+     */
+    private static final class BitmapNode<V> extends Node<V>
+    {
+        private final int      bitmap;
+        private final Object[] children;
+
+
+        /**
+         * Constructor
+         *
+         * @param bitmap children that are present
+         * @param children entries and nodes
+         */
+        BitmapNode(int      bitmap,
+                   Object[] children)
+        {
+            this.bitmap   = bitmap;
+            this.children = children;
+        }
+
+
+        /**
+         * Return the position of a child in the children array.
+         *
+         * @param bit bit for the child in the bitmap
+         * @return array index
+         */
+        private int arrayIndex(int bit)
+        {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, V> get(String key, int hash, int shift)
+        {
+            int bit = 1 << levelIndex(hash, shift);
+
+            if ((bitmap & bit) == 0)
+            {
+                return null;
+            }
+
+            Object child = children[this.arrayIndex(bit)];
+
+            if (child instanceof Node)
+            {
+                return ((Node<V>) child).get(key, hash, shift + bitsPerLevel);
+            }
+
+            Map.Entry<String, V> entry = (Map.Entry<String, V>) child;
+
+            if (key.equals(entry.getKey()))
+            {
+                return entry;
+            }
+
+            return null;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<V> put(String key, int hash, V value, int shift, boolean[] added)
+        {
+            int bit   = 1 << levelIndex(hash, shift);
+            int index = this.arrayIndex(bit);
+
+            if ((bitmap & bit) == 0)
+            {
+                Object[] newChildren = new Object[children.length + 1];
+
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newChildren[index] = new SimpleImmutableEntry<>(key, value);
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+
+                added[0] = true;
+
+                return new BitmapNode<>(bitmap | bit, newChildren);
+            }
+
+            Object child = children[index];
+            Object newChild;
+
+            if (child instanceof Node)
+            {
+                newChild = ((Node<V>) child).put(key, hash, value, shift + bitsPerLevel, added);
+            }
+            else
+            {
+                Map.Entry<String, V> entry = (Map.Entry<String, V>) child;
+
+                if (key.equals(entry.getKey()))
+                {
+                    if (entry.getValue() == value)
+                    {
+                        return this;
+                    }
+
+                    newChild = new SimpleImmutableEntry<>(key, value);
+                }
+                else
+                {
+                    newChild = merge(entry, new SimpleImmutableEntry<>(key, value), hash, shift + bitsPerLevel);
+                    added[0] = true;
+                }
+            }
+
+            if (newChild == child)
+            {
+                return this;
+            }
+
+            Object[] newChildren = children.clone();
+
+            newChildren[index] = newChild;
+
+            return new BitmapNode<>(bitmap, newChildren);
+        }
+
+
+        /**
+         * Create the node that holds two entries whose keys share the same path down to this level.
+         *
+         * @param existingEntry entry already in the trie
+         * @param newEntry entry being added
+         * @param newHash hash of the new entry's key
+         * @param shift number of hash bits used by the levels above the new node
+         * @param <V> type of the values
+         * @return new node
+         */
+        private static <V> Node<V> merge(Map.Entry<String, V> existingEntry,
+                                         Map.Entry<String, V> newEntry,
+                                         int                  newHash,
+                                         int                  shift)
+        {
+            int existingHash = hash(existingEntry.getKey());
+
+            if (existingHash == newHash)
+            {
+                return new CollisionNode<>(newHash, new Object[]{ existingEntry, newEntry });
+            }
+
+            int existingIndex = levelIndex(existingHash, shift);
+            int newIndex      = levelIndex(newHash, shift);
+
+            if (existingIndex == newIndex)
+            {
+                return new BitmapNode<>(1 << newIndex, new Object[]{ merge(existingEntry, newEntry, newHash, shift + bitsPerLevel) });
+            }
+
+            Object[] newChildren = (existingIndex < newIndex) ? new Object[]{ existingEntry, newEntry }
+                                                              : new Object[]{ newEntry, existingEntry };
+
+            return new BitmapNode<>((1 << existingIndex) | (1 << newIndex), newChildren);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<V> remove(String key, int hash, int shift)
+        {
+            int bit = 1 << levelIndex(hash, shift);
+
+            if ((bitmap & bit) == 0)
+            {
+                return this;
+            }
+
+            int    index = this.arrayIndex(bit);
+            Object child = children[index];
+
+            if (child instanceof Node)
+            {
+                Node<V> newChild = ((Node<V>) child).remove(key, hash, shift + bitsPerLevel);
+
+                if (newChild == child)
+                {
+                    return this;
+                }
+
+                if (newChild != null)
+                {
+                    Object[] newChildren = children.clone();
+
+                    newChildren[index] = newChild;
+
+                    return new BitmapNode<>(bitmap, newChildren);
+                }
+            }
+            else if (! key.equals(((Map.Entry<String, V>) child).getKey()))
+            {
+                return this;
+            }
+
+            if (children.length == 1)
+            {
+                return null;
+            }
+
+            Object[] newChildren = new Object[children.length - 1];
+
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+
+            return new BitmapNode<>(bitmap & ~bit, newChildren);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        void addEntries(List<Map.Entry<String, V>> entries)
+        {
+            for (Object child : children)
+            {
+                if (child instanceof Node)
+                {
+                    ((Node<V>) child).addEntries(entries);
+                }
+                else
+                {
+                    entries.add((Map.Entry<String, V>) child);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Holds the entries whose keys have the same hash.
+     *
+     * @param <V> type of the values
+     */
+    private static final class CollisionNode<V> extends Node<V>
+    {
+        private final int      hash;
+        private final Object[] entries;
+
+
+        /**
+         * Constructor
+         *
+         * @param hash hash shared by all the keys
+         * @param entries entries
+         */
+        CollisionNode(int      hash,
+                      Object[] entries)
+        {
+            this.hash    = hash;
+            this.entries = entries;
+        }
+
+
+        /**
+         * Return the position of the key's entry.
+         *
+         * @param key unique key
+         * @return array index or -1 if the key is not present
+         */
+        @SuppressWarnings("unchecked")
+        private int indexOf(String key)
+        {
+            for (int i = 0; i < entries.length; i++)
+            {
+                if (key.equals(((Map.Entry<String, V>) entries[i]).getKey()))
+                {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, V> get(String key, int hash, int shift)
+        {
+            if (hash != this.hash)
+            {
+                return null;
+            }
+
+            int index = this.indexOf(key);
+
+            if (index < 0)
+            {
+                return null;
+            }
+
+            return (Map.Entry<String, V>) entries[index];
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<V> put(String key, int hash, V value, int shift, boolean[] added)
+        {
+            if (hash != this.hash)
+            {
+                /*
+                 * Push this node down a level under a branch that can hold the new key as well.
+                 */
+                BitmapNode<V> branch = new BitmapNode<>(1 << levelIndex(this.hash, shift), new Object[]{ this });
+
+                return branch.put(key, hash, value, shift, added);
+            }
+
+            int index = this.indexOf(key);
+
+            Object[] newEntries;
+
+            if (index < 0)
+            {
+                newEntries = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, entries.length);
+                newEntries[entries.length] = new SimpleImmutableEntry<>(key, value);
+                added[0] = true;
+            }
+            else if (((Map.Entry<String, V>) entries[index]).getValue() == value)
+            {
+                return this;
+            }
+            else
+            {
+                newEntries = entries.clone();
+                newEntries[index] = new SimpleImmutableEntry<>(key, value);
+            }
+
+            return new CollisionNode<>(hash, newEntries);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        Node<V> remove(String key, int hash, int shift)
+        {
+            if (hash != this.hash)
+            {
+                return this;
+            }
+
+            int index = this.indexOf(key);
+
+            if (index < 0)
+            {
+                return this;
+            }
+
+            if (entries.length == 1)
+            {
+                return null;
+            }
+
+            Object[] newEntries = new Object[entries.length - 1];
+
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, entries.length - index - 1);
+
+            return new CollisionNode<>(hash, newEntries);
+        }
+
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        void addEntries(List<Map.Entry<String, V>> entries)
+        {
+            for (Object entry : this.entries)
+            {
+                entries.add((Map.Entry<String, V>) entry);
+            }
+        }
+    }
+}
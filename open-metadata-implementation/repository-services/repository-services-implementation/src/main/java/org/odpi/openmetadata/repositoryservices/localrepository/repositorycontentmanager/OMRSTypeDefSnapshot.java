@@ -0,0 +1,579 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OMRSTypeDefSnapshot is an immutable copy of the types known to the OMRSRepositoryContentManager.
+ * The repository content manager builds a new snapshot each time a type is added, updated or removed and
+ * swaps it in as a single step.  This means the many threads validating instances can read the types
+ * without locking, and always see a consistent set of types.
+ * <p>
+ * Information derived from the type hierarchy (supertypes, the full list of attributes, subtypes and the
+ * property name lookup) is worked out the first time it is requested and then kept for the life of the snapshot.
+ * It is thrown away with the snapshot when the types change.
+ * </p>
+ * <p>
+ * The maps of types are OMRSTypeDefMaps.  A changed snapshot shares the unchanged parts of these maps with the
+ * snapshot it was built from, so making a change does not mean copying every type.
+ * </p>
+ */
+final class OMRSTypeDefSnapshot
+{
+    private final OMRSTypeDefMap<TypeDef>           knownTypeDefGUIDs;
+    private final OMRSTypeDefMap<TypeDef>           knownTypeDefNames;
+    private final OMRSTypeDefMap<AttributeTypeDef>  knownAttributeTypeDefGUIDs;
+    private final OMRSTypeDefMap<AttributeTypeDef>  knownAttributeTypeDefNames;
+    private final OMRSTypeDefMap<TypeDef>           activeTypeDefGUIDs;
+    private final OMRSTypeDefMap<TypeDef>           activeTypeDefNames;
+    private final OMRSTypeDefMap<AttributeTypeDef>  activeAttributeTypeDefGUIDs;
+    private final OMRSTypeDefMap<AttributeTypeDef>  activeAttributeTypeDefNames;
+
+    /*
+     * Derived from the TypeDefs above as they are needed.
+     */
+    private final Map<String, List<TypeDefLink>>      superTypes    = new ConcurrentHashMap<>();
+    private final Map<String, List<TypeDefAttribute>> allProperties = new ConcurrentHashMap<>();
+    private final Map<String, InstanceType>           instanceTypes = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Set<String>> subTypeNames              = null;
+    private volatile Map<String, Set<String>> propertyToTypeDefNames    = null;
+
+
+    /**
+     * Constructor for an empty snapshot.
+     */
+    OMRSTypeDefSnapshot()
+    {
+        this(new Builder());
+    }
+
+
+    /**
+     * Constructor used by the builder.
+     *
+     * @param builder builder containing the new content.
+     */
+    private OMRSTypeDefSnapshot(Builder builder)
+    {
+        this.knownTypeDefGUIDs           = builder.knownTypeDefGUIDs;
+        this.knownTypeDefNames           = builder.knownTypeDefNames;
+        this.knownAttributeTypeDefGUIDs  = builder.knownAttributeTypeDefGUIDs;
+        this.knownAttributeTypeDefNames  = builder.knownAttributeTypeDefNames;
+        this.activeTypeDefGUIDs          = builder.activeTypeDefGUIDs;
+        this.activeTypeDefNames          = builder.activeTypeDefNames;
+        this.activeAttributeTypeDefGUIDs = builder.activeAttributeTypeDefGUIDs;
+        this.activeAttributeTypeDefNames = builder.activeAttributeTypeDefNames;
+    }
+
+
+    /**
+     * Return a builder that starts with the content of this snapshot.
+     *
+     * @return builder
+     */
+    Builder toBuilder()
+    {
+        return new Builder(this);
+    }
+
+
+    /**
+     * Return the TypeDefs known to the server by unique identifier.
+     *
+     * @return read only map
+     */
+    Map<String, TypeDef> getKnownTypeDefGUIDs()
+    {
+        return knownTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the TypeDefs known to the server by name.
+     *
+     * @return read only map
+     */
+    Map<String, TypeDef> getKnownTypeDefNames()
+    {
+        return knownTypeDefNames;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs known to the server by unique identifier.
+     *
+     * @return read only map
+     */
+    Map<String, AttributeTypeDef> getKnownAttributeTypeDefGUIDs()
+    {
+        return knownAttributeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs known to the server by name.
+     *
+     * @return read only map
+     */
+    Map<String, AttributeTypeDef> getKnownAttributeTypeDefNames()
+    {
+        return knownAttributeTypeDefNames;
+    }
+
+
+    /**
+     * Return the TypeDefs supported by the local repository by unique identifier.
+     *
+     * @return read only map
+     */
+    Map<String, TypeDef> getActiveTypeDefGUIDs()
+    {
+        return activeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the TypeDefs supported by the local repository by name.
+     *
+     * @return read only map
+     */
+    Map<String, TypeDef> getActiveTypeDefNames()
+    {
+        return activeTypeDefNames;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs supported by the local repository by unique identifier.
+     *
+     * @return read only map
+     */
+    Map<String, AttributeTypeDef> getActiveAttributeTypeDefGUIDs()
+    {
+        return activeAttributeTypeDefGUIDs;
+    }
+
+
+    /**
+     * Return the AttributeTypeDefs supported by the local repository by name.
+     *
+     * @return read only map
+     */
+    Map<String, AttributeTypeDef> getActiveAttributeTypeDefNames()
+    {
+        return activeAttributeTypeDefNames;
+    }
+
+
+    /**
+     * Return the chain of supertypes for a type, starting with its immediate supertype.
+     *
+     * @param typeName name of the type
+     * @return read only list of links (empty if the type is top-level) or null if the type, or one of its
+     * supertypes, is not known
+     */
+    List<TypeDefLink> getSuperTypes(String typeName)
+    {
+        if (typeName == null)
+        {
+            return null;
+        }
+
+        List<TypeDefLink> typeHierarchy = superTypes.get(typeName);
+
+        if (typeHierarchy == null)
+        {
+            TypeDef typeDef = knownTypeDefNames.get(typeName);
+
+            if (typeDef == null)
+            {
+                return null;
+            }
+
+            List<TypeDefLink> superTypeLinks = new ArrayList<>();
+            Set<String>       visitedNames   = new HashSet<>();
+            TypeDefLink       superTypeLink  = typeDef.getSuperType();
+
+            visitedNames.add(typeName);
+
+            while (superTypeLink != null)
+            {
+                String  superTypeName = superTypeLink.getName();
+                TypeDef superTypeDef  = knownTypeDefNames.get(superTypeName);
+
+                if ((superTypeDef == null) || (! visitedNames.add(superTypeName)))
+                {
+                    /*
+                     * The supertype is missing, or the hierarchy loops back on itself.
+                     */
+                    return null;
+                }
+
+                superTypeLinks.add(superTypeLink);
+                superTypeLink = superTypeDef.getSuperType();
+            }
+
+            typeHierarchy = Collections.unmodifiableList(superTypeLinks);
+            superTypes.put(typeName, typeHierarchy);
+        }
+
+        return typeHierarchy;
+    }
+
+
+    /**
+     * Return the attributes defined by a type and all of its supertypes.  The type's own attributes come first.
+     *
+     * @param typeName name of the type
+     * @return read only list of attributes or null if the type, or one of its supertypes, is not known.
+     * The attributes are shared and must not be changed.
+     */
+    List<TypeDefAttribute> getAllProperties(String typeName)
+    {
+        if (typeName == null)
+        {
+            return null;
+        }
+
+        List<TypeDefAttribute> typeDefAttributes = allProperties.get(typeName);
+
+        if (typeDefAttributes == null)
+        {
+            List<TypeDefLink> typeHierarchy = this.getSuperTypes(typeName);
+
+            if (typeHierarchy == null)
+            {
+                return null;
+            }
+
+            List<TypeDefAttribute> attributes = new ArrayList<>();
+
+            this.addAttributes(knownTypeDefNames.get(typeName), attributes);
+
+            for (TypeDefLink superTypeLink : typeHierarchy)
+            {
+                this.addAttributes(knownTypeDefNames.get(superTypeLink.getName()), attributes);
+            }
+
+            typeDefAttributes = Collections.unmodifiableList(attributes);
+            allProperties.put(typeName, typeDefAttributes);
+        }
+
+        return typeDefAttributes;
+    }
+
+
+    /**
+     * Add the attributes defined directly by a TypeDef to the list.
+     *
+     * @param typeDef type definition
+     * @param attributes list to add to
+     */
+    private void addAttributes(TypeDef                typeDef,
+                               List<TypeDefAttribute> attributes)
+    {
+        List<TypeDefAttribute> propertiesDefinition = typeDef.getPropertiesDefinition();
+
+        if (propertiesDefinition != null)
+        {
+            attributes.addAll(propertiesDefinition);
+        }
+    }
+
+
+    /**
+     * Return the names of all the types that inherit from the named type, at any depth.
+     *
+     * @param typeName name of the supertype
+     * @return read only set of names (empty if there are no subtypes)
+     */
+    Set<String> getSubTypeNames(String typeName)
+    {
+        Map<String, Set<String>> subTypeMap = subTypeNames;
+
+        if (subTypeMap == null)
+        {
+            Map<String, Set<String>> newSubTypeMap = new HashMap<>();
+
+            for (String knownTypeName : knownTypeDefNames.keySet())
+            {
+                List<TypeDefLink> typeHierarchy = this.getSuperTypes(knownTypeName);
+
+                if (typeHierarchy != null)
+                {
+                    for (TypeDefLink superTypeLink : typeHierarchy)
+                    {
+                        newSubTypeMap.computeIfAbsent(superTypeLink.getName(), k -> new HashSet<>()).add(knownTypeName);
+                    }
+                }
+            }
+
+            newSubTypeMap.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+
+            subTypeMap = newSubTypeMap;
+            subTypeNames = subTypeMap;
+        }
+
+        return subTypeMap.getOrDefault(typeName, Collections.emptySet());
+    }
+
+
+    /**
+     * Return the names of the TypeDefs that directly define a property with the supplied name.
+     *
+     * @param propertyName name of the property
+     * @return read only set of TypeDef names or null if no TypeDef defines the property
+     */
+    Set<String> getTypeDefNamesForProperty(String propertyName)
+    {
+        Map<String, Set<String>> propertyMap = propertyToTypeDefNames;
+
+        if (propertyMap == null)
+        {
+            Map<String, Set<String>> newPropertyMap = new HashMap<>();
+
+            for (TypeDef typeDef : knownTypeDefNames.values())
+            {
+                List<TypeDefAttribute> propertiesDefinition = typeDef.getPropertiesDefinition();
+
+                if (propertiesDefinition != null)
+                {
+                    for (TypeDefAttribute property : propertiesDefinition)
+                    {
+                        newPropertyMap.computeIfAbsent(property.getAttributeName(), k -> new HashSet<>()).add(typeDef.getName());
+                    }
+                }
+            }
+
+            newPropertyMap.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+
+            propertyMap = newPropertyMap;
+            propertyToTypeDefNames = propertyMap;
+        }
+
+        return propertyMap.get(propertyName);
+    }
+
+
+    /**
+     * Return the instance type previously built for the named type.
+     *
+     * @param typeName name of the type
+     * @return instance type or null if it has not been built yet
+     */
+    InstanceType getInstanceType(String typeName)
+    {
+        return instanceTypes.get(typeName);
+    }
+
+
+    /**
+     * Keep the instance type built for the named type.
+     *
+     * @param typeName name of the type
+     * @param instanceType instance type
+     */
+    void setInstanceType(String       typeName,
+                         InstanceType instanceType)
+    {
+        instanceTypes.put(typeName, instanceType);
+    }
+
+
+    /**
+     * Builder is used to make a changed copy of a snapshot.  It starts with the maps of the snapshot it copies and
+     * replaces them with changed maps as it goes, so it never changes the original snapshot.  It is only used by
+     * one thread at a time.
+     */
+    static class Builder
+    {
+        private OMRSTypeDefMap<TypeDef>           knownTypeDefGUIDs;
+        private OMRSTypeDefMap<TypeDef>           knownTypeDefNames;
+        private OMRSTypeDefMap<AttributeTypeDef>  knownAttributeTypeDefGUIDs;
+        private OMRSTypeDefMap<AttributeTypeDef>  knownAttributeTypeDefNames;
+        private OMRSTypeDefMap<TypeDef>           activeTypeDefGUIDs;
+        private OMRSTypeDefMap<TypeDef>           activeTypeDefNames;
+        private OMRSTypeDefMap<AttributeTypeDef>  activeAttributeTypeDefGUIDs;
+        private OMRSTypeDefMap<AttributeTypeDef>  activeAttributeTypeDefNames;
+
+
+        /**
+         * Constructor for an empty builder.
+         */
+        private Builder()
+        {
+            knownTypeDefGUIDs           = OMRSTypeDefMap.empty();
+            knownTypeDefNames           = OMRSTypeDefMap.empty();
+            knownAttributeTypeDefGUIDs  = OMRSTypeDefMap.empty();
+            knownAttributeTypeDefNames  = OMRSTypeDefMap.empty();
+            activeTypeDefGUIDs          = OMRSTypeDefMap.empty();
+            activeTypeDefNames          = OMRSTypeDefMap.empty();
+            activeAttributeTypeDefGUIDs = OMRSTypeDefMap.empty();
+            activeAttributeTypeDefNames = OMRSTypeDefMap.empty();
+        }
+
+
+        /**
+         * Constructor starts with the content of an existing snapshot.
+         *
+         * @param template snapshot to copy
+         */
+        private Builder(OMRSTypeDefSnapshot template)
+        {
+            knownTypeDefGUIDs           = template.knownTypeDefGUIDs;
+            knownTypeDefNames           = template.knownTypeDefNames;
+            knownAttributeTypeDefGUIDs  = template.knownAttributeTypeDefGUIDs;
+            knownAttributeTypeDefNames  = template.knownAttributeTypeDefNames;
+            activeTypeDefGUIDs          = template.activeTypeDefGUIDs;
+            activeTypeDefNames          = template.activeTypeDefNames;
+            activeAttributeTypeDefGUIDs = template.activeAttributeTypeDefGUIDs;
+            activeAttributeTypeDefNames = template.activeAttributeTypeDefNames;
+        }
+
+
+        /**
+         * Add or replace a TypeDef.
+         *
+         * @param typeDef type definition
+         * @param isLocallySupported indicates whether the TypeDef is supported by the local repository.
+         * @return this builder
+         */
+        Builder putTypeDef(TypeDef typeDef, boolean isLocallySupported)
+        {
+            knownTypeDefGUIDs = knownTypeDefGUIDs.plus(typeDef.getGUID(), typeDef);
+            knownTypeDefNames = knownTypeDefNames.plus(typeDef.getName(), typeDef);
+
+            if (isLocallySupported)
+            {
+                activeTypeDefGUIDs = activeTypeDefGUIDs.plus(typeDef.getGUID(), typeDef);
+                activeTypeDefNames = activeTypeDefNames.plus(typeDef.getName(), typeDef);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Add a TypeDef that is only known by name.  This is used for the types returned from the
+         * members of the cohort.
+         *
+         * @param typeDef type definition
+         * @return this builder
+         */
+        Builder putTypeDefName(TypeDef typeDef)
+        {
+            knownTypeDefNames = knownTypeDefNames.plus(typeDef.getName(), typeDef);
+
+            return this;
+        }
+
+
+        /**
+         * Remove a TypeDef.
+         *
+         * @param typeDefGUID unique identifier of the type
+         * @param typeDefName unique name of the type
+         * @param isLocallySupported indicates whether the TypeDef should also be removed from the active types.
+         * @return this builder
+         */
+        Builder removeTypeDef(String typeDefGUID, String typeDefName, boolean isLocallySupported)
+        {
+            knownTypeDefGUIDs = knownTypeDefGUIDs.minus(typeDefGUID);
+            knownTypeDefNames = knownTypeDefNames.minus(typeDefName);
+
+            if (isLocallySupported)
+            {
+                activeTypeDefGUIDs = activeTypeDefGUIDs.minus(typeDefGUID);
+                activeTypeDefNames = activeTypeDefNames.minus(typeDefName);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Add or replace an AttributeTypeDef.
+         *
+         * @param attributeTypeDef type definition
+         * @param isLocallySupported indicates whether the AttributeTypeDef is supported by the local repository.
+         * @return this builder
+         */
+        Builder putAttributeTypeDef(AttributeTypeDef attributeTypeDef, boolean isLocallySupported)
+        {
+            knownAttributeTypeDefGUIDs = knownAttributeTypeDefGUIDs.plus(attributeTypeDef.getGUID(), attributeTypeDef);
+            knownAttributeTypeDefNames = knownAttributeTypeDefNames.plus(attributeTypeDef.getName(), attributeTypeDef);
+
+            if (isLocallySupported)
+            {
+                activeAttributeTypeDefGUIDs = activeAttributeTypeDefGUIDs.plus(attributeTypeDef.getGUID(), attributeTypeDef);
+                activeAttributeTypeDefNames = activeAttributeTypeDefNames.plus(attributeTypeDef.getName(), attributeTypeDef);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Add an AttributeTypeDef that is only known by name.  This is used for the types returned from the
+         * members of the cohort.
+         *
+         * @param attributeTypeDef type definition
+         * @return this builder
+         */
+        Builder putAttributeTypeDefName(AttributeTypeDef attributeTypeDef)
+        {
+            knownAttributeTypeDefNames = knownAttributeTypeDefNames.plus(attributeTypeDef.getName(), attributeTypeDef);
+
+            return this;
+        }
+
+
+        /**
+         * Remove an AttributeTypeDef.
+         *
+         * @param attributeTypeDefGUID unique identifier of the type
+         * @param attributeTypeDefName unique name of the type
+         * @param isLocallySupported indicates whether the AttributeTypeDef should also be removed from the active types.
+         * @return this builder
+         */
+        Builder removeAttributeTypeDef(String attributeTypeDefGUID, String attributeTypeDefName, boolean isLocallySupported)
+        {
+            knownAttributeTypeDefGUIDs = knownAttributeTypeDefGUIDs.minus(attributeTypeDefGUID);
+            knownAttributeTypeDefNames = knownAttributeTypeDefNames.minus(attributeTypeDefName);
+
+            if (isLocallySupported)
+            {
+                activeAttributeTypeDefGUIDs = activeAttributeTypeDefGUIDs.minus(attributeTypeDefGUID);
+                activeAttributeTypeDefNames = activeAttributeTypeDefNames.minus(attributeTypeDefName);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Create the new snapshot.
+         *
+         * @return snapshot
+         */
+        OMRSTypeDefSnapshot build()
+        {
+            return new OMRSTypeDefSnapshot(this);
+        }
+    }
+}
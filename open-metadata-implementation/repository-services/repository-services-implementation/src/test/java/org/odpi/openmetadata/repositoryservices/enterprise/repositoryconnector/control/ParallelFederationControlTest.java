@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.GetAllTypesExecutor;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the parallel federation control combines the results from each repository, cancels the repositories
+ * that do not respond in time and ignores anything they return after the timeout.
+ */
+public class ParallelFederationControlTest
+{
+    private static final String userId     = "testUser";
+    private static final String methodName = "getAllTypes";
+    private static final long   timeout    = 200;
+
+    private final AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+
+
+    @Test
+    public void testResultsFromAllRepositoriesCombined() throws Exception
+    {
+        FederatedResponseStatistics statistics = new FederatedResponseStatistics();
+        StubRepositoryConnector     repositoryA = new StubRepositoryConnector("RepositoryA", "collection-a", null, null);
+        StubRepositoryConnector     repositoryB = new StubRepositoryConnector("RepositoryB", "collection-b", null, null);
+        GetAllTypesExecutor         executor = new GetAllTypesExecutor(userId, methodName, null, auditLog, null);
+
+        new ParallelFederationControl(userId, List.of(repositoryA, repositoryB), auditLog, methodName, timeout, statistics).executeCommand(executor);
+
+        assertEquals(getTypeGUIDs(executor), List.of("type-collection-a", "type-collection-b"));
+        assertEquals(statistics.getStatistics("collection-a").getRequestCount(), 1);
+        assertEquals(statistics.getStatistics("collection-b").getRequestCount(), 1);
+        assertEquals(statistics.getStatistics("collection-b").getTimeoutCount(), 0);
+    }
+
+
+    @Test
+    public void testLateResultsExcludedAfterTimeout() throws Exception
+    {
+        FederatedResponseStatistics statistics = new FederatedResponseStatistics();
+        CountDownLatch              release = new CountDownLatch(1);
+        StubRepositoryConnector     repositoryA = new StubRepositoryConnector("RepositoryA", "collection-a", null, null);
+        StubRepositoryConnector     slowRepository = new StubRepositoryConnector("SlowRepository", "collection-slow", null, release);
+        GetAllTypesExecutor         executor = new GetAllTypesExecutor(userId, methodName, null, auditLog, null);
+
+        try
+        {
+            long startTime = System.currentTimeMillis();
+
+            new ParallelFederationControl(userId, List.of(repositoryA, slowRepository), auditLog, methodName, timeout, statistics).executeCommand(executor);
+
+            assertTrue(System.currentTimeMillis() - startTime < 5000, "The control waited for the slow repository");
+        }
+        finally
+        {
+            release.countDown();
+        }
+
+        slowRepository.awaitTypesReturned();
+        Thread.sleep(timeout);
+
+        assertEquals(slowRepository.getAllTypesCount.get(), 1);
+        assertEquals(getTypeGUIDs(executor), List.of("type-collection-a"));
+        assertEquals(statistics.getStatistics("collection-slow").getTimeoutCount(), 1);
+        assertEquals(statistics.getStatistics("collection-slow").getRequestCount(), 0);
+        assertEquals(statistics.getStatistics("collection-a").getRequestCount(), 1);
+    }
+
+
+    @Test
+    public void testRequestSkippedWhenCancelledBeforeMetadataCollectionIdKnown() throws Exception
+    {
+        FederatedResponseStatistics statistics = new FederatedResponseStatistics();
+        CountDownLatch              release = new CountDownLatch(1);
+        StubRepositoryConnector     repositoryA = new StubRepositoryConnector("RepositoryA", "collection-a", null, null);
+        StubRepositoryConnector     slowRepository = new StubRepositoryConnector("SlowRepository", "collection-slow", release, null);
+        GetAllTypesExecutor         executor = new GetAllTypesExecutor(userId, methodName, null, auditLog, null);
+
+        try
+        {
+            new ParallelFederationControl(userId, List.of(repositoryA, slowRepository), auditLog, methodName, timeout, statistics).executeCommand(executor);
+        }
+        finally
+        {
+            release.countDown();
+        }
+
+        slowRepository.awaitMetadataCollectionIdReturned();
+        Thread.sleep(timeout);
+
+        assertEquals(slowRepository.getAllTypesCount.get(), 0);
+        assertEquals(getTypeGUIDs(executor), List.of("type-collection-a"));
+        assertNull(statistics.getStatistics("collection-slow"));
+
+        RepositoryResponseStatistics slowStatistics = statistics.getAllStatistics().get("SlowRepository");
+
+        assertNotNull(slowStatistics);
+        assertNull(slowStatistics.getMetadataCollectionId());
+        assertEquals(slowStatistics.getTimeoutCount(), 1);
+    }
+
+
+    @Test
+    public void testStatisticsWithUnknownRepository()
+    {
+        FederatedResponseStatistics statistics = new FederatedResponseStatistics();
+
+        statistics.recordTimeout(null, null);
+        statistics.recordResponse("collection-a", "RepositoryA", 10);
+        statistics.recordResponse("collection-a", "RepositoryA", 30);
+
+        assertEquals(statistics.getAllStatistics().get("<unknown>").getTimeoutCount(), 1);
+        assertNull(statistics.getStatistics(null));
+
+        Map<String, Object> values = statistics.getStatisticValues();
+
+        assertEquals(values.get("federatedResponse.RepositoryA.requestCount"), 2L);
+        assertEquals(values.get("federatedResponse.RepositoryA.averageResponseTime"), 20L);
+        assertEquals(values.get("federatedResponse.RepositoryA.maxResponseTime"), 30L);
+        assertEquals(values.get("federatedResponse.<unknown>.timeoutCount"), 1L);
+    }
+
+
+    /**
+     * Return the sorted GUIDs of the types returned by the executor.
+     *
+     * @param executor executor that has run
+     * @return list of GUIDs
+     * @throws Exception problem extracting the results
+     */
+    private List<String> getTypeGUIDs(GetAllTypesExecutor executor) throws Exception
+    {
+        List<String>   guids = new ArrayList<>();
+        TypeDefGallery results = executor.getResults();
+
+        if ((results != null) && (results.getTypeDefs() != null))
+        {
+            for (TypeDef typeDef : results.getTypeDefs())
+            {
+                guids.add(typeDef.getGUID());
+            }
+        }
+
+        Collections.sort(guids);
+
+        return guids;
+    }
+
+
+    /**
+     * Wait for a latch ignoring interrupts, like a remote call that does not respond to cancellation.
+     *
+     * @param latch latch to wait for
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch)
+    {
+        boolean interrupted = false;
+
+        while (latch.getCount() > 0)
+        {
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException error)
+            {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * StubRepositoryConnector returns a metadata collection that returns a single type.  It can be made to block
+     * while returning its metadata collection id or its types.
+     */
+    private static class StubRepositoryConnector extends OMRSRepositoryConnector
+    {
+        private final String                 repositoryName;
+        private final OMRSMetadataCollection stubMetadataCollection;
+        private final AtomicInteger          getAllTypesCount = new AtomicInteger(0);
+        private final CountDownLatch         idReturned       = new CountDownLatch(1);
+        private final CountDownLatch         typesReturned    = new CountDownLatch(1);
+
+
+        StubRepositoryConnector(String         repositoryName,
+                                String         metadataCollectionId,
+                                CountDownLatch blockMetadataCollectionId,
+                                CountDownLatch blockGetAllTypes)
+        {
+            this.repositoryName = repositoryName;
+            this.stubMetadataCollection = new OMRSMetadataCollectionBase(this, repositoryName, null, null, metadataCollectionId)
+            {
+                @Override
+                public String getMetadataCollectionId(String userId)
+                {
+                    if (blockMetadataCollectionId != null)
+                    {
+                        awaitUninterruptibly(blockMetadataCollectionId);
+                    }
+
+                    idReturned.countDown();
+
+                    return metadataCollectionId;
+                }
+
+
+                @Override
+                public TypeDefGallery getAllTypes(String userId)
+                {
+                    getAllTypesCount.incrementAndGet();
+
+                    if (blockGetAllTypes != null)
+                    {
+                        awaitUninterruptibly(blockGetAllTypes);
+                    }
+
+                    EntityDef typeDef = new EntityDef();
+
+                    typeDef.setGUID("type-" + metadataCollectionId);
+                    typeDef.setName("Type" + metadataCollectionId);
+
+                    TypeDefGallery gallery = new TypeDefGallery();
+
+                    gallery.setTypeDefs(List.of(typeDef));
+
+                    typesReturned.countDown();
+
+                    return gallery;
+                }
+            };
+        }
+
+
+        @Override
+        public String getRepositoryName()
+        {
+            return repositoryName;
+        }
+
+
+        @Override
+        public OMRSMetadataCollection getMetadataCollection()
+        {
+            return stubMetadataCollection;
+        }
+
+
+        void awaitMetadataCollectionIdReturned() throws InterruptedException
+        {
+            idReturned.await();
+        }
+
+
+        void awaitTypesReturned() throws InterruptedException
+        {
+            typesReturned.await();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+
+
+/**
+ * OMRSRepositoryContentManagerBenchmark compares the time taken to load the open metadata types into the
+ * repository content manager type by type and as a single batch.  It is not part of the unit tests since the
+ * timings depend on the machine.  Run it from the IDE or with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.mainClass=org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManagerBenchmark -Dexec.classpathScope=test
+ * </pre>
+ */
+public class OMRSRepositoryContentManagerBenchmark
+{
+    private static final int BENCHMARK_ITERATIONS = 10;
+
+
+    /**
+     * Run the benchmark and print the results.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args)
+    {
+        long typeByTypeTime = 0;
+        long batchTime      = 0;
+
+        for (int iteration = 0; iteration < BENCHMARK_ITERATIONS; iteration++)
+        {
+            OpenMetadataArchiveTypeStore typeByTypeTypeStore = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+            OpenMetadataArchiveTypeStore batchTypeStore      = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+
+            OMRSRepositoryContentManager typeByTypeContentManager = OMRSRepositoryContentManagerTest.getOpenMetadataTypesContentManager();
+            OMRSRepositoryContentManager batchContentManager      = OMRSRepositoryContentManagerTest.getOpenMetadataTypesContentManager();
+
+            long start = System.nanoTime();
+
+            OMRSRepositoryContentManagerTest.loadTypes(typeByTypeContentManager, typeByTypeTypeStore);
+
+            long typeByTypeLoaded = System.nanoTime();
+
+            batchContentManager.processTypeDefBatch(() -> OMRSRepositoryContentManagerTest.loadTypes(batchContentManager, batchTypeStore));
+
+            /*
+             * The first iteration warms up the content manager.
+             */
+            if (iteration > 0)
+            {
+                typeByTypeTime += typeByTypeLoaded - start;
+                batchTime      += System.nanoTime() - typeByTypeLoaded;
+            }
+        }
+
+        int measuredIterations = BENCHMARK_ITERATIONS - 1;
+
+        System.out.println("Open metadata types loaded type by type in " + (typeByTypeTime / measuredIterations / 1000000) +
+                                   " ms and as a batch in " + (batchTime / measuredIterations / 1000000) + " ms");
+    }
+}
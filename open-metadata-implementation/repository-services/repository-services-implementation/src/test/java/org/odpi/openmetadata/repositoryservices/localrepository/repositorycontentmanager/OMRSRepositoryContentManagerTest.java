@@ -4,18 +4,29 @@ package org.odpi.openmetadata.repositoryservices.localrepository.repositoryconte
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.ComponentDevelopmentStatus;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 public class OMRSRepositoryContentManagerTest
 {
@@ -45,4 +56,227 @@ public class OMRSRepositoryContentManagerTest
         assertEquals(instanceType.getTypeDefName(), "EntityType1");
         assertEquals(instanceType.getTypeDefGUID(), entityDefGUID);
     }
+
+
+    /**
+     * Create an entity type with a single attribute.
+     *
+     * @param name name of the type
+     * @param attributeName name of the attribute
+     * @param superType super type or null
+     * @return new type
+     */
+    private EntityDef getEntityDef(String name, String attributeName, EntityDef superType)
+    {
+        EntityDef entityDef = new EntityDef();
+        entityDef.setName(name);
+        entityDef.setVersion(1);
+        entityDef.setVersionName("1.0");
+        entityDef.setGUID(UUID.randomUUID().toString());
+
+        TypeDefAttribute attribute = new TypeDefAttribute();
+        attribute.setAttributeName(attributeName);
+
+        List<TypeDefAttribute> attributes = new ArrayList<>();
+        attributes.add(attribute);
+        entityDef.setPropertiesDefinition(attributes);
+
+        if (superType != null)
+        {
+            TypeDefLink superTypeLink = new TypeDefLink();
+            superTypeLink.setGUID(superType.getGUID());
+            superTypeLink.setName(superType.getName());
+            entityDef.setSuperType(superTypeLink);
+        }
+
+        return entityDef;
+    }
+
+
+    @Test
+    public void testTypeHierarchy()
+    {
+        AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+        OMRSRepositoryContentManager testSubject = new OMRSRepositoryContentManager("testserver", auditLog);
+
+        EntityDef top    = getEntityDef("Top", "qualifiedName", null);
+        EntityDef middle = getEntityDef("Middle", "name", top);
+        EntityDef bottom = getEntityDef("Bottom", "owner", middle);
+
+        testSubject.addTypeDef("unittest", top);
+        testSubject.addTypeDef("unittest", middle);
+        testSubject.addTypeDef("unittest", bottom);
+
+        List<TypeDefLink> superTypes = testSubject.getSuperTypes("unittest", "Bottom", "testTypeHierarchy");
+
+        assertEquals(superTypes.size(), 2);
+        assertEquals(superTypes.get(0).getName(), "Middle");
+        assertEquals(superTypes.get(1).getName(), "Top");
+        assertNull(testSubject.getSuperTypes("unittest", "Top", "testTypeHierarchy"));
+
+        List<TypeDefAttribute> attributes = testSubject.getAllPropertiesForTypeDef("unittest", bottom, "testTypeHierarchy");
+
+        assertEquals(attributes.size(), 3);
+        assertEquals(attributes.get(0).getAttributeName(), "owner");
+        assertEquals(attributes.get(2).getAttributeName(), "qualifiedName");
+
+        assertEquals(testSubject.getSubTypeNames("Top"), Set.of("Middle", "Bottom"));
+        assertTrue(testSubject.getSubTypeNames("Bottom").isEmpty());
+        assertEquals(testSubject.getAllTypeDefsForProperty("unittest", "name", "testTypeHierarchy"), Set.of("Middle"));
+        assertTrue(testSubject.isTypeOf("unittest", "Bottom", "Top"));
+
+        /*
+         * An update to a type replaces the information derived from it.
+         */
+        testSubject.updateTypeDef("unittest", getEntityDef("Middle", "displayName", top));
+
+        assertEquals(testSubject.getAllPropertiesForTypeDef("unittest", bottom, "testTypeHierarchy").get(1).getAttributeName(),
+                     "displayName");
+        assertNull(testSubject.getAllTypeDefsForProperty("unittest", "name", "testTypeHierarchy"));
+    }
+
+
+    @Test
+    public void testTypeDefBatch() throws InterruptedException
+    {
+        AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+        OMRSRepositoryContentManager testSubject = new OMRSRepositoryContentManager("testserver", auditLog);
+
+        EntityDef top    = getEntityDef("Top", "qualifiedName", null);
+        EntityDef bottom = getEntityDef("Bottom", "owner", top);
+
+        testSubject.addTypeDef("unittest", top);
+
+        List<String> otherThreadTypeNames = new ArrayList<>();
+
+        testSubject.processTypeDefBatch(() ->
+        {
+            testSubject.addTypeDef("unittest", bottom);
+
+            /*
+             * The thread running the batch sees its own changes straight away.
+             */
+            assertTrue(testSubject.isTypeOf("unittest", "Bottom", "Top"));
+            assertEquals(testSubject.getSubTypeNames("Top"), Set.of("Bottom"));
+
+            /*
+             * Other threads do not see them until the batch is complete.
+             */
+            Thread otherThread = new Thread(() -> otherThreadTypeNames.addAll(getTypeNames(testSubject.getKnownTypeDefs())));
+
+            otherThread.start();
+
+            try
+            {
+                otherThread.join();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertEquals(otherThreadTypeNames, List.of("Top"));
+
+        List<String> typeNamesAfterBatch = new ArrayList<>();
+        Thread       otherThread         = new Thread(() -> typeNamesAfterBatch.addAll(getTypeNames(testSubject.getKnownTypeDefs())));
+
+        otherThread.start();
+        otherThread.join();
+
+        assertEquals(Set.copyOf(typeNamesAfterBatch), Set.of("Top", "Bottom"));
+    }
+
+
+    @Test
+    public void testOpenMetadataTypesBatch()
+    {
+        /*
+         * The open metadata types are loaded type by type and then as a batch.  Both should give the same result.
+         * OMRSRepositoryContentManagerBenchmark compares the time taken.
+         */
+        OMRSRepositoryContentManager typeByTypeContentManager = getOpenMetadataTypesContentManager();
+        OMRSRepositoryContentManager batchContentManager      = getOpenMetadataTypesContentManager();
+        OpenMetadataArchiveTypeStore typeByTypeTypeStore      = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+        OpenMetadataArchiveTypeStore batchTypeStore           = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+
+        loadTypes(typeByTypeContentManager, typeByTypeTypeStore);
+        batchContentManager.processTypeDefBatch(() -> loadTypes(batchContentManager, batchTypeStore));
+
+        List<TypeDef> typeByTypeTypeDefs = typeByTypeContentManager.getKnownTypeDefs();
+
+        assertTrue(typeByTypeTypeDefs.size() > 0);
+        assertEquals(Set.copyOf(getTypeNames(batchContentManager.getKnownTypeDefs())), Set.copyOf(getTypeNames(typeByTypeTypeDefs)));
+        assertEquals(batchContentManager.getKnownAttributeTypeDefs().size(), typeByTypeContentManager.getKnownAttributeTypeDefs().size());
+
+        for (TypeDef typeDef : typeByTypeTypeDefs)
+        {
+            assertEquals(batchContentManager.getTypeDefByName(typeDef.getName()).getVersion(), typeDef.getVersion());
+            assertEquals(batchContentManager.getSubTypeNames(typeDef.getName()), typeByTypeContentManager.getSubTypeNames(typeDef.getName()));
+        }
+    }
+
+
+    /**
+     * Return a content manager for loading the open metadata types.
+     *
+     * @return content manager
+     */
+    static OMRSRepositoryContentManager getOpenMetadataTypesContentManager()
+    {
+        AuditLog auditLog = new AuditLog(null, 1, ComponentDevelopmentStatus.IN_DEVELOPMENT, null, null, null);
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testserver", auditLog);
+
+        contentManager.setOpenMetadataTypesOriginGUID(new OpenMetadataTypesArchive().getArchiveGUID());
+
+        return contentManager;
+    }
+
+
+    /**
+     * Pass the types from an archive to the content manager in the same order as the archive manager.
+     *
+     * @param contentManager content manager
+     * @param typeStore types from the archive
+     */
+    static void loadTypes(OMRSRepositoryContentManager contentManager,
+                          OpenMetadataArchiveTypeStore typeStore)
+    {
+        for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+        {
+            contentManager.processNewAttributeTypeDefEvent("unittest", null, null, null, null, attributeTypeDef);
+        }
+
+        for (TypeDef typeDef : typeStore.getNewTypeDefs())
+        {
+            contentManager.processNewTypeDefEvent("unittest", null, null, null, null, typeDef);
+        }
+
+        for (TypeDefPatch typeDefPatch : typeStore.getTypeDefPatches())
+        {
+            contentManager.processUpdatedTypeDefEvent("unittest", null, null, null, null, typeDefPatch);
+        }
+    }
+
+
+    /**
+     * Return the names of a list of types.
+     *
+     * @param typeDefs types
+     * @return names
+     */
+    private List<String> getTypeNames(List<TypeDef> typeDefs)
+    {
+        List<String> typeNames = new ArrayList<>();
+
+        if (typeDefs != null)
+        {
+            for (TypeDef typeDef : typeDefs)
+            {
+                typeNames.add(typeDef.getName());
+            }
+        }
+
+        return typeNames;
+    }
 }
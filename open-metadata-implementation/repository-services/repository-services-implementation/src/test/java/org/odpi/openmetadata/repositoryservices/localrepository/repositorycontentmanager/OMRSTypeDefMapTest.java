@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Verify that OMRSTypeDefMap behaves like a map and that changes never affect the maps they were made from.
+ */
+public class OMRSTypeDefMapTest
+{
+    @Test
+    public void testAgainstHashMap()
+    {
+        Random                        random      = new Random(42);
+        Map<String, Integer>          expected    = new HashMap<>();
+        OMRSTypeDefMap<Integer>       actual      = OMRSTypeDefMap.empty();
+        List<Map<String, Integer>>    oldExpected = new ArrayList<>();
+        List<OMRSTypeDefMap<Integer>> oldActual   = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++)
+        {
+            String key = "Type" + random.nextInt(2000);
+
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(key);
+                actual = actual.minus(key);
+            }
+            else
+            {
+                expected.put(key, i);
+                actual = actual.plus(key, i);
+            }
+
+            if (i % 500 == 0)
+            {
+                oldExpected.add(new HashMap<>(expected));
+                oldActual.add(actual);
+            }
+        }
+
+        assertEquals(actual, expected);
+        assertEquals(actual.size(), expected.size());
+
+        for (String key : expected.keySet())
+        {
+            assertTrue(actual.containsKey(key));
+            assertEquals(actual.get(key), expected.get(key));
+        }
+
+        /*
+         * The earlier versions are unchanged by the later changes.
+         */
+        for (int i = 0; i < oldActual.size(); i++)
+        {
+            assertEquals(oldActual.get(i), oldExpected.get(i));
+        }
+
+        /*
+         * Removing everything returns to an empty map.
+         */
+        for (String key : expected.keySet())
+        {
+            actual = actual.minus(key);
+        }
+
+        assertTrue(actual.isEmpty());
+        assertFalse(actual.entrySet().iterator().hasNext());
+    }
+
+
+    @Test
+    public void testCollidingKeys()
+    {
+        /*
+         * "Aa" and "BB" have the same hash code.
+         */
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        OMRSTypeDefMap<String> map = OMRSTypeDefMap.<String>empty().plus("Aa", "first").plus("BB", "second").plus("C", "third");
+
+        assertEquals(map.size(), 3);
+        assertEquals(map.get("Aa"), "first");
+        assertEquals(map.get("BB"), "second");
+
+        OMRSTypeDefMap<String> updated = map.plus("BB", "updated");
+
+        assertEquals(updated.get("BB"), "updated");
+        assertEquals(updated.size(), 3);
+        assertEquals(map.get("BB"), "second");
+
+        OMRSTypeDefMap<String> removed = updated.minus("Aa");
+
+        assertNull(removed.get("Aa"));
+        assertEquals(removed.get("BB"), "updated");
+        assertEquals(removed.size(), 2);
+        assertEquals(updated.get("Aa"), "first");
+    }
+
+
+    @Test
+    public void testUnchangedMaps()
+    {
+        OMRSTypeDefMap<String> map = OMRSTypeDefMap.<String>empty().plus("Asset", "value");
+
+        assertSame(map.plus("Asset", "value"), map);
+        assertSame(map.minus("Referenceable"), map);
+        assertSame(map.plus(null, "value"), map);
+        assertNull(map.get(null));
+        assertNull(map.get(42));
+
+        expectThrows(UnsupportedOperationException.class, () -> map.put("Referenceable", "value"));
+        expectThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("changed"));
+    }
+}
@@ -233,4 +233,20 @@ public class OMAGServerPlatform
         return registrationBean;
     }
 
+    /**
+     * Initialization of RESTCallScopeFilter.  It clears the per-call state that the REST services keep on the request
+     * thread once each request completes.
+     * @return bean of an initialized FilterRegistrationBean
+     */
+    @Bean
+    public FilterRegistrationBean<RESTCallScopeFilter> getRESTCallScopeFilter() {
+        FilterRegistrationBean<RESTCallScopeFilter> registrationBean = new FilterRegistrationBean<>();
+
+        registrationBean.setFilter(new RESTCallScopeFilter());
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(0);
+
+        return registrationBean;
+    }
+
 }
@@ -0,0 +1,46 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.serverchassis.springboot;
+
+import org.odpi.openmetadata.commonservices.ffdc.RESTCallScope;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * RESTCallScopeFilter clears the RESTCallScope of the request thread when an HTTP request completes.  The scope is
+ * started and ended by the RESTCallLogger in each REST service, but a call that throws before logging its return
+ * would otherwise leave its scope, and the metadata cached in it, on the pooled thread for the next request.
+ */
+public class RESTCallScopeFilter implements Filter
+{
+    /**
+     * Run the request and discard any scope it leaves behind.
+     *
+     * @param servletRequest inbound request
+     * @param servletResponse response
+     * @param filterChain rest of the filters and the REST service
+     * @throws IOException error from the request
+     * @throws ServletException error from the request
+     */
+    @Override
+    public void doFilter(ServletRequest  servletRequest,
+                         ServletResponse servletResponse,
+                         FilterChain     filterChain) throws IOException, ServletException
+    {
+        RESTCallScope.clear();
+
+        try
+        {
+            filterChain.doFilter(servletRequest, servletResponse);
+        }
+        finally
+        {
+            RESTCallScope.clear();
+        }
+    }
+}